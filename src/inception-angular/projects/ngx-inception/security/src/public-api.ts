@@ -37,6 +37,7 @@ export * from './services/user-directory-parameter';
 export * from './services/user-directory-summaries';
 export * from './services/user-directory-summary';
 export * from './services/user-directory-type';
+export * from './services/user-memberships-request';
 export * from './services/user-sort-by';
 export * from './services/user-status';
 export * from './services/users';
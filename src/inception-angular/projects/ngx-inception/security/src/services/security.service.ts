@@ -56,6 +56,7 @@ import {UserDirectoryCapabilities} from './user-directory-capabilities';
 import {UserDirectorySummaries} from './user-directory-summaries';
 import {UserDirectorySummary} from './user-directory-summary';
 import {UserDirectoryType} from './user-directory-type';
+import {UserMembershipsRequest} from './user-memberships-request';
 import {UserSortBy} from './user-sort-by';
 import {Users} from './users';
 
@@ -572,6 +573,32 @@ export class SecurityService {
     );
   }
 
+  /**
+   * Retrieve the names of the groups the users are members of.
+   *
+   * @param userDirectoryId The ID for the user directory.
+   * @param usernames       The usernames for the users.
+   *
+   * @return The names of the groups the users are members of keyed by username.
+   */
+  getGroupNamesForUsers(
+    userDirectoryId: string,
+    usernames: string[]
+  ): Observable<Record<string, string[]>> {
+    return this.httpClient
+    .post<Record<string, string[]>>(
+      this.config.apiUrlPrefix + '/security/user-directories/' + userDirectoryId +
+      '/user-group-names',
+      new UserMembershipsRequest(usernames),
+      {reportProgress: true}
+    )
+    .pipe(
+      catchError(
+        SecurityService.handleApiError('Failed to retrieve the group names for the users.')
+      )
+    );
+  }
+
   /**
    * Retrieve the groups.
    *
@@ -794,6 +821,32 @@ export class SecurityService {
     );
   }
 
+  /**
+   * Retrieve the codes for the roles that have been assigned to the users.
+   *
+   * @param userDirectoryId The ID for the user directory.
+   * @param usernames       The usernames for the users.
+   *
+   * @return The codes for the roles that have been assigned to the users keyed by username.
+   */
+  getRoleCodesForUsers(
+    userDirectoryId: string,
+    usernames: string[]
+  ): Observable<Record<string, string[]>> {
+    return this.httpClient
+    .post<Record<string, string[]>>(
+      this.config.apiUrlPrefix + '/security/user-directories/' + userDirectoryId +
+      '/user-role-codes',
+      new UserMembershipsRequest(usernames),
+      {reportProgress: true}
+    )
+    .pipe(
+      catchError(
+        SecurityService.handleApiError('Failed to retrieve the role codes for the users.')
+      )
+    );
+  }
+
   /**
    * Retrieve all the roles.
    *
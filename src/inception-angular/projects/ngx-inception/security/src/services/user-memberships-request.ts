@@ -0,0 +1,37 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/**
+ * The UserMembershipsRequest class holds the information for a request to retrieve the group
+ * memberships or role assignments for a number of users.
+ *
+ * @author Marcus Portmann
+ */
+export class UserMembershipsRequest {
+  /**
+   * The usernames for the users.
+   */
+  usernames: string[];
+
+  /**
+   * Constructs a new UserMembershipsRequest.
+   *
+   * @param usernames The usernames for the users.
+   */
+  constructor(usernames: string[]) {
+    this.usernames = usernames;
+  }
+}
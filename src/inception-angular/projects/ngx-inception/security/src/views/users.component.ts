@@ -55,7 +55,10 @@ export class UsersComponent extends StatefulListView<UsersListExtras> implements
 
   readonly defaultSortActive = 'username';
 
-  readonly displayedColumns = ['name', 'username', 'actions'] as const;
+  readonly displayedColumns = ['name', 'username', 'groups', 'roles', 'actions'] as const;
+
+  /** The names of the groups the users on the current page are members of keyed by username. */
+  groupNames: Record<string, string[]> = {};
 
   @HostBinding('class') hostClass = 'flex flex-column flex-fill';
 
@@ -68,6 +71,9 @@ export class UsersComponent extends StatefulListView<UsersListExtras> implements
   @ViewChild(TableFilterComponent, {static: true})
   override tableFilter!: TableFilterComponent;
 
+  /** The codes for the roles assigned to the users on the current page keyed by username. */
+  roleCodes: Record<string, string[]> = {};
+
   readonly title = $localize`:@@security_users_title:Users`;
 
   userDirectories: UserDirectorySummary[] = [];
@@ -220,6 +226,8 @@ export class UsersComponent extends StatefulListView<UsersListExtras> implements
     this.userDirectoryId$.next(null);
     this.userDirectoryCapabilities$.next(null);
     this.userDirectories = [];
+    this.groupNames = {};
+    this.roleCodes = {};
     this.dataSource.clear();
 
     if (this.userDirectorySelect) {
@@ -342,6 +350,39 @@ export class UsersComponent extends StatefulListView<UsersListExtras> implements
         }
 
         this.changeDetectorRef.markForCheck();
+      }),
+      switchMap((users) => this.loadUserMemberships(userDirectoryId, users))
+    );
+  }
+
+  private loadUserMemberships(userDirectoryId: string, users: Users): Observable<Users> {
+    const usernames = users.users.map((user) => user.username);
+
+    if (usernames.length === 0) {
+      this.groupNames = {};
+      this.roleCodes = {};
+      return of(users);
+    }
+
+    // Retrieve the memberships for all the users on the page with a single request per lookup
+    return forkJoin({
+      groupNames: this.securityService.getGroupNamesForUsers(userDirectoryId, usernames),
+      roleCodes: this.securityService.getRoleCodesForUsers(userDirectoryId, usernames)
+    })
+    .pipe(
+      tap(({groupNames, roleCodes}) => {
+        this.groupNames = groupNames;
+        this.roleCodes = roleCodes;
+      }),
+      catchError((error: Error) => {
+        console.error('Failed to load the group names and role codes for the users:', error);
+        this.groupNames = {};
+        this.roleCodes = {};
+        return of(null);
+      }),
+      map(() => {
+        this.changeDetectorRef.markForCheck();
+        return users;
       })
     );
   }
@@ -16,6 +16,8 @@
 
 package digital.inception.api;
 
+import digital.inception.core.api.AccessModel;
+import digital.inception.core.api.AccessModelProvider;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -35,8 +37,8 @@ import org.springframework.util.StringUtils;
 @SuppressWarnings("unused")
 public abstract class SecureApiController extends AbstractApiControllerBase {
 
-  /** The code for the Administrator role. */
-  private static final String ADMINISTRATOR_ROLE_CODE = "Administrator";
+  /** The empty access model for requests that are not authenticated. */
+  private static final AccessModel NO_ACCESS = new AccessModel(List.of(), List.of(), List.of());
 
   /** Is API security enabled for the Inception Framework? */
   private final boolean isSecurityEnabled;
@@ -67,6 +69,35 @@ public abstract class SecureApiController extends AbstractApiControllerBase {
     this.isSecurityEnabled = isSecurityEnabled;
   }
 
+  /**
+   * Returns the access model for the user associated with the authenticated request.
+   *
+   * <p>The access model precomputed when the request was authenticated is returned if available.
+   * Otherwise, it is built from the granted authorities for the authenticated principal.
+   *
+   * @return the access model for the user associated with the authenticated request, which grants
+   *     no access if the request is not authenticated
+   */
+  protected AccessModel getAccessModel() {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+    // Could not retrieve the currently authenticated principal
+    if ((authentication == null) || (!authentication.isAuthenticated())) {
+      return NO_ACCESS;
+    }
+
+    if (authentication instanceof AccessModelProvider accessModelProvider) {
+      AccessModel accessModel = accessModelProvider.getAccessModel();
+
+      if (accessModel != null) {
+        return accessModel;
+      }
+    }
+
+    return AccessModel.fromAuthorities(
+        authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+  }
+
   /**
    * Returns the name of the authenticated principal or {@code "unknown"} if the name of the
    * authenticated principal could not be retrieved.
@@ -209,7 +240,7 @@ public abstract class SecureApiController extends AbstractApiControllerBase {
    *     function identified by the specified function code or {@code false} otherwise
    */
   protected boolean hasAccessToFunction(String functionCode) {
-    return hasAuthority("FUNCTION_" + functionCode);
+    return getAccessModel().hasAccessToFunction(functionCode);
   }
 
   /**
@@ -222,30 +253,8 @@ public abstract class SecureApiController extends AbstractApiControllerBase {
   @SuppressWarnings("BooleanMethodIsAlwaysInverted")
   protected boolean hasAccessToTenant(UUID tenantId) {
     if (isSecurityEnabled) {
-      if (tenantId == null) {
-        return false;
-      }
-
-      Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-
-      // Could not retrieve the currently authenticated principal
-      if (authentication == null) {
-        return false;
-      }
-
-      // If the user is not authenticated then they cannot have access
-      if (!authentication.isAuthenticated()) {
-        return false;
-      }
-
-      // If the user has the "Administrator" role they always have access
-      if (hasRole(ADMINISTRATOR_ROLE_CODE)) {
-        return true;
-      }
-
-      List<UUID> tenantIds = getUUIDValuesForAuthoritiesWithPrefix(authentication, "TENANT_");
-
-      return tenantIds.contains(tenantId);
+      // Users with the "Administrator" role always have access
+      return getAccessModel().hasAccessToTenant(tenantId);
     } else {
       return true;
     }
@@ -292,7 +301,7 @@ public abstract class SecureApiController extends AbstractApiControllerBase {
    *     role or {@code false} otherwise
    */
   protected boolean hasRole(String roleName) {
-    return hasAuthority("ROLE_" + roleName);
+    return getAccessModel().hasRole(roleName);
   }
 
   /**
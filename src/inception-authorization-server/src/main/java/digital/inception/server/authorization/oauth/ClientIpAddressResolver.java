@@ -0,0 +1,121 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package digital.inception.server.authorization.oauth;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * The {@code ClientIpAddressResolver} class resolves the IP address of the client that sent a
+ * request to the OAuth token endpoint.
+ *
+ * <p>The {@code X-Forwarded-For} header is only trusted when the request was received from one of
+ * the trusted proxies configured using the {@code inception.authorization-server.trusted-proxies}
+ * property, which accepts IP addresses and CIDR ranges. The header is walked from right to left,
+ * skipping the trusted proxies, and the first untrusted address is the client IP address. Addresses
+ * to the left of it were supplied by the client and are ignored. When no trusted proxies are
+ * configured the remote address of the connection is used.
+ *
+ * @author Marcus Portmann
+ */
+@Component
+public class ClientIpAddressResolver {
+
+  /** The name of the HTTP header used by proxies to identify the originating client. */
+  public static final String X_FORWARDED_FOR_HEADER = "X-Forwarded-For";
+
+  /** The matchers for the trusted proxies. */
+  private final List<IpAddressMatcher> trustedProxies;
+
+  /**
+   * Constructs a new {@code ClientIpAddressResolver}.
+   *
+   * @param trustedProxies the IP addresses and CIDR ranges for the trusted proxies
+   */
+  public ClientIpAddressResolver(
+      @Value("${inception.authorization-server.trusted-proxies:}") List<String> trustedProxies) {
+    this.trustedProxies =
+        trustedProxies.stream()
+            .filter(StringUtils::hasText)
+            .map(trustedProxy -> new IpAddressMatcher(trustedProxy.trim()))
+            .toList();
+  }
+
+  /**
+   * Resolve the IP address of the client that sent the request.
+   *
+   * @param request the HTTP servlet request
+   * @return the IP address of the client that sent the request
+   */
+  public String resolve(HttpServletRequest request) {
+    String clientIpAddress = request.getRemoteAddr();
+
+    if (!isTrustedProxy(clientIpAddress)) {
+      return clientIpAddress;
+    }
+
+    List<String> forwardedIpAddresses = new ArrayList<>();
+
+    Enumeration<String> headers = request.getHeaders(X_FORWARDED_FOR_HEADER);
+
+    if (headers != null) {
+      for (String header : Collections.list(headers)) {
+        for (String forwardedIpAddress : StringUtils.commaDelimitedListToStringArray(header)) {
+          if (StringUtils.hasText(forwardedIpAddress)) {
+            forwardedIpAddresses.add(forwardedIpAddress.trim());
+          }
+        }
+      }
+    }
+
+    for (int i = forwardedIpAddresses.size() - 1; i >= 0; i--) {
+      clientIpAddress = forwardedIpAddresses.get(i);
+
+      if (!isTrustedProxy(clientIpAddress)) {
+        return clientIpAddress;
+      }
+    }
+
+    return clientIpAddress;
+  }
+
+  private boolean isTrustedProxy(String ipAddress) {
+    if (!StringUtils.hasText(ipAddress)) {
+      return false;
+    }
+
+    for (IpAddressMatcher trustedProxy : trustedProxies) {
+      try {
+        if (trustedProxy.matches(ipAddress)) {
+          return true;
+        }
+      } catch (IllegalArgumentException ignored) {
+        // The address is not a valid IP address and cannot be a trusted proxy
+        return false;
+      }
+    }
+
+    return false;
+  }
+}
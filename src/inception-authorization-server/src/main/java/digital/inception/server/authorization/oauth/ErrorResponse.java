@@ -17,6 +17,7 @@
 package digital.inception.server.authorization.oauth;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import digital.inception.json.JsonUtil;
 import org.springframework.http.HttpStatus;
@@ -74,6 +75,7 @@ public abstract class ErrorResponse extends Response {
    * @return the body for the OAuth2 response
    */
   @Override
+  @JsonIgnore
   public String getBody() {
     try {
       return JsonUtil.getObjectMapper().writeValueAsString(this);
@@ -0,0 +1,94 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package digital.inception.server.authorization.oauth;
+
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.ConsumptionProbe;
+import io.github.bucket4j.distributed.proxy.ProxyManager;
+import io.github.bucket4j.grid.hazelcast.Bucket4jHazelcast;
+import java.time.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationContext;
+
+/**
+ * The {@code HazelcastRateLimitBuckets} class holds the token buckets used to rate limit requests
+ * to the OAuth token endpoint in a Hazelcast distributed map, so that the limits apply across all
+ * the instances of the authorization server in the cluster.
+ *
+ * <p>This class is only loaded when the Hazelcast rate limiting mode is enabled, so Hazelcast is
+ * an optional dependency. The buckets are updated atomically on the cluster member that owns them
+ * using entry processors, and unused buckets are removed by Hazelcast after the idle timeout.
+ *
+ * @author Marcus Portmann
+ */
+final class HazelcastRateLimitBuckets implements RateLimitBuckets {
+
+  /* Logger */
+  private static final Logger log = LoggerFactory.getLogger(HazelcastRateLimitBuckets.class);
+
+  /** The proxy manager for the distributed token buckets. */
+  private final ProxyManager<String> proxyManager;
+
+  /**
+   * Constructs a new {@code HazelcastRateLimitBuckets}.
+   *
+   * @param applicationContext the Spring application context used to retrieve the Hazelcast
+   *     instance
+   * @param mapName the name of the Hazelcast distributed map used to store the buckets
+   * @param idleTimeout the idle timeout after which an unused bucket is removed
+   */
+  HazelcastRateLimitBuckets(
+      ApplicationContext applicationContext, String mapName, Duration idleTimeout) {
+    HazelcastInstance hazelcastInstance = applicationContext.getBean(HazelcastInstance.class);
+
+    try {
+      hazelcastInstance
+          .getConfig()
+          .addMapConfig(
+              new MapConfig(mapName)
+                  .setMaxIdleSeconds((int) Math.max(1, idleTimeout.toSeconds())));
+    } catch (Throwable e) {
+      log.warn(
+          "Failed to configure the max idle time for the Hazelcast distributed map ("
+              + mapName
+              + ") used to store the OAuth token endpoint rate limit buckets",
+          e);
+    }
+
+    IMap<String, byte[]> map = hazelcastInstance.getMap(mapName);
+
+    this.proxyManager = Bucket4jHazelcast.entryProcessorBasedBuilder(map).build();
+  }
+
+  @Override
+  public Bucket getBucket(String key, Bandwidth limit) {
+    return proxyManager
+        .builder()
+        .build(key, () -> BucketConfiguration.builder().addLimit(limit).build());
+  }
+
+  @Override
+  public ConsumptionProbe tryConsume(String key, Bandwidth limit) {
+    return getBucket(key, limit).tryConsumeAndReturnRemaining(1);
+  }
+}
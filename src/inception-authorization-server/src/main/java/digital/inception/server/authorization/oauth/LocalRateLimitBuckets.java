@@ -0,0 +1,131 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package digital.inception.server.authorization.oauth;
+
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.ConsumptionProbe;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The {@code LocalRateLimitBuckets} class holds the token buckets used to rate limit requests to
+ * the OAuth token endpoint in a bounded, in-memory map local to this JVM.
+ *
+ * <p>Buckets that have not been used for the idle timeout are removed when the map reaches its
+ * maximum size. Since the idle timeout is at least the time taken to refill a bucket completely,
+ * removing an idle bucket does not reset a limit. If the map is still full, the least recently
+ * used tenth of the buckets are removed.
+ *
+ * @author Marcus Portmann
+ */
+final class LocalRateLimitBuckets implements RateLimitBuckets {
+
+  /** The token buckets keyed by rate limit key. */
+  private final Map<String, LocalBucket> buckets = new ConcurrentHashMap<>();
+
+  /** The idle timeout in nanoseconds after which an unused bucket may be removed. */
+  private final long idleTimeout;
+
+  /** The maximum number of buckets. */
+  private final int maxSize;
+
+  /**
+   * Constructs a new {@code LocalRateLimitBuckets}.
+   *
+   * @param maxSize the maximum number of buckets
+   * @param idleTimeout the idle timeout after which an unused bucket may be removed
+   */
+  LocalRateLimitBuckets(int maxSize, Duration idleTimeout) {
+    this.maxSize = Math.max(1, maxSize);
+    this.idleTimeout = idleTimeout.toNanos();
+  }
+
+  @Override
+  public Bucket getBucket(String key, Bandwidth limit) {
+    return Bucket.builder().addLimit(limit).build();
+  }
+
+  /**
+   * Returns the number of buckets.
+   *
+   * @return the number of buckets
+   */
+  public int size() {
+    return buckets.size();
+  }
+
+  @Override
+  public ConsumptionProbe tryConsume(String key, Bandwidth limit) {
+    long now = System.nanoTime();
+
+    LocalBucket localBucket = buckets.get(key);
+
+    if (localBucket == null) {
+      if (buckets.size() >= maxSize) {
+        evict(now);
+      }
+
+      localBucket =
+          buckets.computeIfAbsent(
+              key, ignored -> new LocalBucket(Bucket.builder().addLimit(limit).build()));
+    }
+
+    localBucket.lastUsed = now;
+
+    return localBucket.bucket.tryConsumeAndReturnRemaining(1);
+  }
+
+  private synchronized void evict(long now) {
+    if (buckets.size() < maxSize) {
+      return;
+    }
+
+    buckets.values().removeIf(localBucket -> (now - localBucket.lastUsed) >= idleTimeout);
+
+    if (buckets.size() >= maxSize) {
+      buckets.entrySet().stream()
+          .sorted(Comparator.comparingLong(entry -> entry.getValue().lastUsed))
+          .limit(Math.max(1, maxSize / 10))
+          .map(Map.Entry::getKey)
+          .toList()
+          .forEach(buckets::remove);
+    }
+  }
+
+  /** A token bucket and the time it was last used. */
+  private static final class LocalBucket {
+
+    /** The token bucket. */
+    private final Bucket bucket;
+
+    /** The value of {@code System.nanoTime()} when the bucket was last used. */
+    private volatile long lastUsed;
+
+    /**
+     * Constructs a new {@code LocalBucket}.
+     *
+     * @param bucket the token bucket
+     */
+    LocalBucket(Bucket bucket) {
+      this.bucket = bucket;
+      this.lastUsed = System.nanoTime();
+    }
+  }
+}
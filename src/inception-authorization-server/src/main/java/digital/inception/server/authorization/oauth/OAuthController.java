@@ -26,16 +26,13 @@ import digital.inception.server.authorization.token.OAuth2AccessToken;
 import digital.inception.server.authorization.token.OAuth2RefreshToken;
 import digital.inception.server.authorization.token.RefreshedOAuth2Tokens;
 import digital.inception.server.authorization.token.TokenService;
-import io.github.bucket4j.Bucket;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.servlet.http.HttpServletRequest;
-import java.time.Duration;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -60,37 +57,36 @@ public class OAuthController {
   /* Logger */
   private static final Logger log = LoggerFactory.getLogger(OAuthController.class);
 
+  /* The resolver used to resolve the IP address of the client that sent a request */
+  private final ClientIpAddressResolver clientIpAddressResolver;
+
   /* Security Service */
   private final SecurityService securityService;
 
   /* Token Service */
   private final TokenService tokenService;
 
-  /* The bucket used to limit the issuing of tokens */
-  private final Bucket tokensIssuedRateLimitBucket;
+  /* The rate limiter used to limit requests to the token endpoint */
+  private final TokenRateLimiter tokenRateLimiter;
 
   /**
    * Constructs a new {@code OAuthController}.
    *
    * @param securityService the Security Service
    * @param tokenService the Token Service
-   * @param tokensIssuedPerSecond the number of tokens that can be issued per second
+   * @param tokenRateLimiter the rate limiter used to limit requests to the token endpoint
+   * @param clientIpAddressResolver the resolver used to resolve the IP address of the client that
+   *     sent a request
    */
   public OAuthController(
       SecurityService securityService,
       TokenService tokenService,
-      @Value("${inception.authorization-server.limits.tokens-issued-per-second:10}")
-          int tokensIssuedPerSecond) {
+      TokenRateLimiter tokenRateLimiter,
+      ClientIpAddressResolver clientIpAddressResolver) {
     this.securityService = securityService;
     this.tokenService = tokenService;
-    this.tokensIssuedRateLimitBucket =
-        Bucket.builder()
-            .addLimit(
-                limit ->
-                    limit
-                        .capacity(tokensIssuedPerSecond * 60L)
-                        .refillGreedy(tokensIssuedPerSecond * 60L, Duration.ofMinutes(1)))
-            .build();
+    this.tokenRateLimiter = tokenRateLimiter;
+    this.clientIpAddressResolver = clientIpAddressResolver;
   }
 
   /**
@@ -103,9 +99,19 @@ public class OAuthController {
   @PostMapping(value = "/token", produces = MediaType.APPLICATION_JSON_VALUE)
   public ResponseEntity<String> token(
       HttpServletRequest request, @RequestParam Map<String, String> parameters) {
-    if (!tokensIssuedRateLimitBucket.tryConsume(1)) {
+    String grantType = parameters.get(GrantRequest.GRANT_TYPE_PARAMETER);
+
+    long retryAfter =
+        tokenRateLimiter.tryAcquire(
+            clientIpAddressResolver.resolve(request),
+            parameters.get(GrantRequest.CLIENT_ID_PARAMETER),
+            ResourceOwnerPasswordCredentialsGrantRequest.GRANT_TYPE.equals(grantType)
+                ? parameters.get(ResourceOwnerPasswordCredentialsGrantRequest.USERNAME_PARAMETER)
+                : null);
+
+    if (retryAfter > 0) {
       HttpHeaders tooManyRequestsHeaders = new HttpHeaders();
-      tooManyRequestsHeaders.set("Retry-After", "60");
+      tooManyRequestsHeaders.set("Retry-After", Long.toString(retryAfter));
 
       String errorResponse =
           "{\"error\": \"temporarily_unavailable\", \"error_description\": \"Rate limit exceeded. Please try again later.\"}";
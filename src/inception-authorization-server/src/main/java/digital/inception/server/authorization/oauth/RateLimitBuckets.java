@@ -0,0 +1,52 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package digital.inception.server.authorization.oauth;
+
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.ConsumptionProbe;
+
+/**
+ * The {@code RateLimitBuckets} interface provides access to the token buckets, keyed by rate limit
+ * key, used to rate limit requests to the OAuth token endpoint.
+ *
+ * @author Marcus Portmann
+ */
+interface RateLimitBuckets {
+
+  /**
+   * Returns the token bucket for the key, creating the bucket with the limit if it does not exist.
+   *
+   * <p>The bucket is intended to be retained by the caller and is never evicted from the buckets
+   * held locally, so it is suitable for limits that are not keyed by request.
+   *
+   * @param key the rate limit key
+   * @param limit the limit for the bucket
+   * @return the token bucket for the key
+   */
+  Bucket getBucket(String key, Bandwidth limit);
+
+  /**
+   * Try to consume a token from the bucket for the key, creating the bucket with the limit if it
+   * does not exist.
+   *
+   * @param key the rate limit key
+   * @param limit the limit for the bucket
+   * @return the result of the attempt to consume a token
+   */
+  ConsumptionProbe tryConsume(String key, Bandwidth limit);
+}
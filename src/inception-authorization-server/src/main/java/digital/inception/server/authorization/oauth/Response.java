@@ -16,6 +16,7 @@
 
 package digital.inception.server.authorization.oauth;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import org.springframework.http.HttpStatus;
 
 /**
@@ -50,6 +51,7 @@ public abstract class Response {
    *
    * @return the HTTP status that should be returned for the OAuth2 response
    */
+  @JsonIgnore
   public HttpStatus getStatus() {
     return status;
   }
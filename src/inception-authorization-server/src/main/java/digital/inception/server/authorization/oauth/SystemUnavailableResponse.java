@@ -17,6 +17,7 @@
 package digital.inception.server.authorization.oauth;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import digital.inception.core.time.ApplicationClock;
 import digital.inception.core.util.ISO8601Util;
@@ -103,7 +104,7 @@ public class SystemUnavailableResponse extends Response {
    * @return the body for the OAuth2 response
    */
   @Override
-  @JsonProperty
+  @JsonIgnore
   public String getBody() {
     try {
       return JsonUtil.getObjectMapper().writeValueAsString(this);
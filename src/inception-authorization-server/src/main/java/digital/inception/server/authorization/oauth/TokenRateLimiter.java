@@ -0,0 +1,279 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package digital.inception.server.authorization.oauth;
+
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.ConsumptionProbe;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * The {@code TokenRateLimiter} class rate limits requests to the OAuth token endpoint.
+ *
+ * <p>Requests are limited per source IP address, per client ID and, for the Resource Owner
+ * Password Credentials Grant, per username and source IP address, before the global limit on the
+ * number of tokens issued is applied. The username limit is keyed on the source IP address as well
+ * so that requests for a username from one source cannot lock the user out everywhere else.
+ *
+ * <p>The token buckets are held in a bounded, in-memory map local to this JVM or, when the {@code
+ * inception.authorization-server.limits.mode} property is set to {@code hazelcast}, in a Hazelcast
+ * distributed map shared by all the instances of the authorization server in the cluster, in which
+ * case the global limit also applies across the cluster.
+ *
+ * <p>A limit of zero or less disables the corresponding keyed limit.
+ *
+ * @author Marcus Portmann
+ */
+@Component
+public class TokenRateLimiter {
+
+  /** The key for the global token bucket used to limit the issuing of tokens. */
+  private static final String GLOBAL_KEY = "global";
+
+  /** The period over which the token buckets are refilled. */
+  private static final Duration REFILL_PERIOD = Duration.ofMinutes(1);
+
+  /* Logger */
+  private static final Logger log = LoggerFactory.getLogger(TokenRateLimiter.class);
+
+  /** The keyed token buckets. */
+  private final RateLimitBuckets buckets;
+
+  /**
+   * The token bucket, local to this JVM, used to limit the issuing of tokens if the global token
+   * bucket is unavailable.
+   */
+  private final Bucket fallbackTokensIssuedRateLimitBucket;
+
+  /** The limits for the keyed token buckets. */
+  private final Map<KeyType, Bandwidth> limits = new EnumMap<>(KeyType.class);
+
+  /** The counters for the requests rejected by the rate limiter. */
+  private final Map<KeyType, Counter> rejections = new EnumMap<>(KeyType.class);
+
+  /** The global token bucket used to limit the issuing of tokens. */
+  private final Bucket tokensIssuedRateLimitBucket;
+
+  /**
+   * Constructs a new {@code TokenRateLimiter}.
+   *
+   * @param applicationContext the Spring application context
+   * @param meterRegistryProvider the provider for the optional meter registry
+   * @param tokensIssuedPerSecond the number of tokens that can be issued per second
+   * @param clientIdRequestsPerMinute the number of token requests per minute for a client ID
+   * @param usernameRequestsPerMinute the number of token requests per minute for a username from
+   *     a source IP address
+   * @param ipAddressRequestsPerMinute the number of token requests per minute for a source IP
+   *     address
+   * @param maxKeys the maximum number of keyed token buckets held locally
+   * @param mode the rate limiting mode, either {@code local} or {@code hazelcast}
+   * @param hazelcastMapName the name of the Hazelcast distributed map used to store the keyed
+   *     token buckets when the rate limiting mode is {@code hazelcast}
+   */
+  public TokenRateLimiter(
+      ApplicationContext applicationContext,
+      ObjectProvider<MeterRegistry> meterRegistryProvider,
+      @Value("${inception.authorization-server.limits.tokens-issued-per-second:10}")
+          int tokensIssuedPerSecond,
+      @Value("${inception.authorization-server.limits.client-id.requests-per-minute:600}")
+          int clientIdRequestsPerMinute,
+      @Value("${inception.authorization-server.limits.username.requests-per-minute:20}")
+          int usernameRequestsPerMinute,
+      @Value("${inception.authorization-server.limits.ip-address.requests-per-minute:120}")
+          int ipAddressRequestsPerMinute,
+      @Value("${inception.authorization-server.limits.max-keys:100000}") int maxKeys,
+      @Value("${inception.authorization-server.limits.mode:local}") String mode,
+      @Value(
+              "${inception.authorization-server.limits.hazelcast.map-name:"
+                  + "inception-oauth-token-rate-limits}")
+          String hazelcastMapName) {
+    MeterRegistry meterRegistry = meterRegistryProvider.getIfAvailable();
+
+    if (clientIdRequestsPerMinute > 0) {
+      limits.put(KeyType.CLIENT_ID, newLimit(clientIdRequestsPerMinute));
+    }
+
+    if (usernameRequestsPerMinute > 0) {
+      limits.put(KeyType.USERNAME, newLimit(usernameRequestsPerMinute));
+    }
+
+    if (ipAddressRequestsPerMinute > 0) {
+      limits.put(KeyType.IP_ADDRESS, newLimit(ipAddressRequestsPerMinute));
+    }
+
+    if ("hazelcast".equalsIgnoreCase(mode)) {
+      log.info(
+          "Using the Hazelcast distributed map ("
+              + hazelcastMapName
+              + ") to store the OAuth token endpoint rate limit buckets");
+
+      this.buckets =
+          new HazelcastRateLimitBuckets(applicationContext, hazelcastMapName, REFILL_PERIOD);
+    } else {
+      LocalRateLimitBuckets localRateLimitBuckets =
+          new LocalRateLimitBuckets(maxKeys, REFILL_PERIOD);
+
+      if (meterRegistry != null) {
+        Gauge.builder(
+                "inception.authorization-server.oauth.token.rate-limit.buckets",
+                localRateLimitBuckets,
+                LocalRateLimitBuckets::size)
+            .description("The number of OAuth token endpoint rate limit buckets held locally")
+            .register(meterRegistry);
+      }
+
+      this.buckets = localRateLimitBuckets;
+    }
+
+    Bandwidth tokensIssuedLimit = newLimit(tokensIssuedPerSecond * 60L);
+
+    this.tokensIssuedRateLimitBucket = buckets.getBucket(GLOBAL_KEY, tokensIssuedLimit);
+    this.fallbackTokensIssuedRateLimitBucket = Bucket.builder().addLimit(tokensIssuedLimit).build();
+
+    if (meterRegistry != null) {
+      for (KeyType keyType : KeyType.values()) {
+        rejections.put(
+            keyType,
+            Counter.builder("inception.authorization-server.oauth.token.rate-limit.rejections")
+                .description("The number of token requests rejected by the rate limiter")
+                .tag("key_type", keyType.code)
+                .register(meterRegistry));
+      }
+    }
+  }
+
+  /**
+   * Try to acquire permission to process a request to the OAuth token endpoint.
+   *
+   * @param ipAddress the source IP address for the request
+   * @param clientId the optional client ID for the request
+   * @param username the optional username for the request
+   * @return zero if the request may proceed or the number of seconds after which the request may
+   *     be retried if the request has been rate limited
+   */
+  public long tryAcquire(String ipAddress, String clientId, String username) {
+    long retryAfter = tryConsume(KeyType.IP_ADDRESS, ipAddress);
+
+    if (retryAfter == 0) {
+      retryAfter = tryConsume(KeyType.CLIENT_ID, clientId);
+    }
+
+    if (retryAfter == 0) {
+      retryAfter =
+          tryConsume(
+              KeyType.USERNAME,
+              StringUtils.hasText(username)
+                  ? ipAddress + ":" + username.toLowerCase(Locale.ENGLISH)
+                  : null);
+    }
+
+    if (retryAfter == 0) {
+      ConsumptionProbe probe;
+
+      try {
+        probe = tokensIssuedRateLimitBucket.tryConsumeAndReturnRemaining(1);
+      } catch (Throwable e) {
+        // Apply the global limit locally if the distributed token bucket is unavailable
+        log.warn("Failed to apply the global OAuth token endpoint rate limit", e);
+        probe = fallbackTokensIssuedRateLimitBucket.tryConsumeAndReturnRemaining(1);
+      }
+
+      retryAfter = toRetryAfter(probe);
+
+      if (retryAfter > 0) {
+        reject(KeyType.GLOBAL);
+      }
+    }
+
+    return retryAfter;
+  }
+
+  private static Bandwidth newLimit(long requestsPerMinute) {
+    return Bandwidth.builder()
+        .capacity(requestsPerMinute)
+        .refillGreedy(requestsPerMinute, REFILL_PERIOD)
+        .build();
+  }
+
+  private static long toRetryAfter(ConsumptionProbe probe) {
+    if (probe.isConsumed()) {
+      return 0;
+    }
+
+    return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(probe.getNanosToWaitForRefill() - 1) + 1);
+  }
+
+  private void reject(KeyType keyType) {
+    Counter counter = rejections.get(keyType);
+
+    if (counter != null) {
+      counter.increment();
+    }
+  }
+
+  private long tryConsume(KeyType keyType, String key) {
+    Bandwidth limit = limits.get(keyType);
+
+    if ((limit == null) || (!StringUtils.hasText(key))) {
+      return 0;
+    }
+
+    long retryAfter;
+
+    try {
+      retryAfter = toRetryAfter(buckets.tryConsume(keyType.code + ":" + key, limit));
+    } catch (Throwable e) {
+      // Fail open if the distributed token buckets are unavailable, the global limit still applies
+      log.warn("Failed to apply the OAuth token endpoint rate limit for the " + keyType.code, e);
+      return 0;
+    }
+
+    if (retryAfter > 0) {
+      reject(keyType);
+    }
+
+    return retryAfter;
+  }
+
+  /** The types of key used to rate limit requests to the OAuth token endpoint. */
+  private enum KeyType {
+    GLOBAL(GLOBAL_KEY),
+    CLIENT_ID("client_id"),
+    USERNAME("username"),
+    IP_ADDRESS("ip_address");
+
+    private final String code;
+
+    KeyType(String code) {
+      this.code = code;
+    }
+  }
+}
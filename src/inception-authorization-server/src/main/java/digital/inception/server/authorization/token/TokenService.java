@@ -25,15 +25,13 @@ import com.nimbusds.jwt.SignedJWT;
 import digital.inception.core.exception.ServiceUnavailableException;
 import digital.inception.core.util.ResourceException;
 import digital.inception.core.util.ResourceUtil;
-import digital.inception.security.model.User;
+import digital.inception.security.exception.UserNotFoundException;
+import digital.inception.security.model.AuthorizationContext;
 import digital.inception.security.service.SecurityService;
 import java.security.interfaces.RSAPrivateKey;
 import java.security.interfaces.RSAPublicKey;
 import java.time.Instant;
-import java.util.List;
-import java.util.Optional;
 import java.util.Set;
-import java.util.UUID;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.ApplicationContext;
@@ -86,6 +84,9 @@ public class TokenService {
   /* The public JWK for the RSA public key used to verify the JWTs. */
   private RSAKey jwtRsaPublicKeyJwk;
 
+  /* The verifier for the JWTs signed using the RSA private key. */
+  private RSASSAVerifier jwtRsaVerifier;
+
   /**
    * Constructs a new {@code TokenService}.
    *
@@ -156,6 +157,8 @@ public class TokenService {
       try {
         this.jwtRsaPublicKey =
             ResourceUtil.getRSAPublicKeyResource(resourceLoader, jwtRsaPublicKeyLocation);
+
+        this.jwtRsaVerifier = new RSASSAVerifier(this.jwtRsaPublicKey);
       } catch (Throwable e) {
         log.error(
             "Failed to initialize the JWT RSA public key (" + jwtRsaPublicKeyLocation + ")", e);
@@ -284,11 +287,14 @@ public class TokenService {
   public RefreshedOAuth2Tokens refreshOAuth2Tokens(String encodedOAuth2RefreshToken)
       throws InvalidOAuth2RefreshTokenException, ServiceUnavailableException {
     try {
-      SignedJWT signedJWT = SignedJWT.parse(encodedOAuth2RefreshToken);
+      if (jwtRsaVerifier == null) {
+        throw new ServiceUnavailableException(
+            "Failed to refresh the OAuth tokens: The JWT RSA public key has not been initialized");
+      }
 
-      RSASSAVerifier verifier = new RSASSAVerifier(jwtRsaPublicKey);
+      SignedJWT signedJWT = SignedJWT.parse(encodedOAuth2RefreshToken);
 
-      if (!signedJWT.verify(verifier)) {
+      if (!signedJWT.verify(jwtRsaVerifier)) {
         throw new InvalidOAuth2RefreshTokenException();
       }
 
@@ -316,7 +322,7 @@ public class TokenService {
 
         return new RefreshedOAuth2Tokens(accessToken, refreshToken);
       }
-    } catch (InvalidOAuth2RefreshTokenException e) {
+    } catch (InvalidOAuth2RefreshTokenException | ServiceUnavailableException e) {
       throw e;
     } catch (Throwable e) {
       throw new ServiceUnavailableException("Failed to refresh the OAuth tokens", e);
@@ -330,39 +336,23 @@ public class TokenService {
   private OAuth2AccessToken createOAuth2AccessToken(String username, Set<String> scopes)
       throws TokenCreationException {
     try {
-      Optional<UUID> userDirectoryIdOptional = securityService.getUserDirectoryIdForUser(username);
-
-      if (userDirectoryIdOptional.isEmpty()) {
-        throw new TokenCreationException(
-            "Failed to retrieve the user directory ID for the user (" + username + ")");
-      } else {
-        UUID userDirectoryId = userDirectoryIdOptional.get();
-
-        // Retrieve the details for the user
-        User user = securityService.getUser(userDirectoryId, username);
-
-        // Retrieve the function codes for the user
-        List<String> functionCodes =
-            securityService.getFunctionCodesForUser(userDirectoryId, username);
-
-        // Retrieve the list of IDs for the tenants the user is associated with
-        List<UUID> tenantIds = securityService.getTenantIdsForUserDirectory(userDirectoryId);
-
-        // Retrieve the list of roles for the user
-        List<String> roleCodes = securityService.getRoleCodesForUser(userDirectoryId, username);
-
-        // Build the OAuth2 access token
-        return OAuth2AccessToken.build(
-            user,
-            roleCodes,
-            functionCodes,
-            tenantIds,
-            scopes,
-            issuer,
-            ACCESS_TOKEN_VALIDITY,
-            jwtRsaKeyId,
-            jwtRsaPrivateKey);
-      }
+      // Retrieve the user, roles, functions and tenants for the user in a single pass
+      AuthorizationContext authorizationContext = securityService.getAuthorizationContext(username);
+
+      // Build the OAuth2 access token
+      return OAuth2AccessToken.build(
+          authorizationContext.user(),
+          authorizationContext.roleCodes(),
+          authorizationContext.functionCodes(),
+          authorizationContext.tenantIds(),
+          scopes,
+          issuer,
+          ACCESS_TOKEN_VALIDITY,
+          jwtRsaKeyId,
+          jwtRsaPrivateKey);
+    } catch (UserNotFoundException e) {
+      throw new TokenCreationException(
+          "Failed to retrieve the user directory ID for the user (" + username + ")");
     } catch (Throwable e) {
       throw new TokenCreationException("Failed to create the OAuth2 access token", e);
     }
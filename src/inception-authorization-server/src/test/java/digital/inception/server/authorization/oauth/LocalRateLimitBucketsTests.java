@@ -0,0 +1,92 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package digital.inception.server.authorization.oauth;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.bucket4j.Bandwidth;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The {@code LocalRateLimitBucketsTests} class contains the JUnit tests for the {@code
+ * LocalRateLimitBuckets} class.
+ *
+ * @author Marcus Portmann
+ */
+public class LocalRateLimitBucketsTests {
+
+  private static final Bandwidth LIMIT =
+      Bandwidth.builder().capacity(2).refillGreedy(2, Duration.ofMinutes(1)).build();
+
+  /** Test that the least recently used buckets are removed when the buckets are not idle. */
+  @Test
+  public void evictLeastRecentlyUsedTest() {
+    LocalRateLimitBuckets buckets = new LocalRateLimitBuckets(10, Duration.ofHours(1));
+
+    for (int i = 0; i < 10; i++) {
+      buckets.tryConsume("key" + i, LIMIT);
+    }
+
+    assertEquals(10, buckets.size());
+
+    buckets.tryConsume("key0", LIMIT);
+
+    assertTrue(buckets.tryConsume("key10", LIMIT).isConsumed());
+    assertEquals(10, buckets.size());
+
+    // The least recently used bucket was removed and is recreated with a full limit
+    assertTrue(buckets.tryConsume("key1", LIMIT).isConsumed());
+    assertTrue(buckets.tryConsume("key1", LIMIT).isConsumed());
+
+    // The most recently used bucket was retained and has exhausted its limit
+    assertFalse(buckets.tryConsume("key0", LIMIT).isConsumed());
+  }
+
+  /** Test that idle buckets are removed when the maximum number of buckets is reached. */
+  @Test
+  public void evictIdleTest() {
+    LocalRateLimitBuckets buckets = new LocalRateLimitBuckets(3, Duration.ZERO);
+
+    buckets.tryConsume("key1", LIMIT);
+    buckets.tryConsume("key2", LIMIT);
+    buckets.tryConsume("key3", LIMIT);
+
+    assertEquals(3, buckets.size());
+
+    buckets.tryConsume("key4", LIMIT);
+
+    assertEquals(1, buckets.size());
+  }
+
+  /** Test that a bucket is limited independently of the buckets for other keys. */
+  @Test
+  public void limitTest() {
+    LocalRateLimitBuckets buckets = new LocalRateLimitBuckets(100, Duration.ofMinutes(1));
+
+    assertTrue(buckets.tryConsume("key1", LIMIT).isConsumed());
+    assertTrue(buckets.tryConsume("key1", LIMIT).isConsumed());
+    assertFalse(buckets.tryConsume("key1", LIMIT).isConsumed());
+    assertTrue(buckets.tryConsume("key1", LIMIT).getNanosToWaitForRefill() > 0);
+
+    assertTrue(buckets.tryConsume("key2", LIMIT).isConsumed());
+
+    assertEquals(2, buckets.size());
+  }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package digital.inception.server.authorization.oauth;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+/**
+ * The {@code OAuthControllerTests} class contains the JUnit tests for the rate limiting applied by
+ * the {@code OAuthController} class.
+ *
+ * @author Marcus Portmann
+ */
+public class OAuthControllerTests {
+
+  private static final String TRUSTED_PROXY = "10.0.0.1";
+
+  /** Test that the forwarded client IP address is used when the request is from a trusted proxy. */
+  @Test
+  public void forwardedClientIpAddressTest() {
+    OAuthController oAuthController = newOAuthController();
+
+    assertEquals(HttpStatus.BAD_REQUEST, token(oAuthController, TRUSTED_PROXY, "192.0.2.1"));
+    assertEquals(HttpStatus.BAD_REQUEST, token(oAuthController, TRUSTED_PROXY, "192.0.2.1"));
+
+    ResponseEntity<String> response =
+        oAuthController.token(newRequest(TRUSTED_PROXY, "192.0.2.1"), Map.of());
+
+    assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+    assertTrue(Long.parseLong(response.getHeaders().getFirst("Retry-After")) > 0);
+    assertTrue(response.getBody().contains("temporarily_unavailable"));
+
+    // Requests from other clients behind the same proxy are not limited
+    assertEquals(HttpStatus.BAD_REQUEST, token(oAuthController, TRUSTED_PROXY, "192.0.2.2"));
+
+    // Trusted proxies to the right of the client are skipped
+    assertEquals(
+        HttpStatus.BAD_REQUEST,
+        token(oAuthController, TRUSTED_PROXY, "192.0.2.3, " + TRUSTED_PROXY));
+    assertEquals(
+        HttpStatus.BAD_REQUEST,
+        token(oAuthController, TRUSTED_PROXY, "192.0.2.3, " + TRUSTED_PROXY));
+    assertEquals(
+        HttpStatus.TOO_MANY_REQUESTS,
+        token(oAuthController, TRUSTED_PROXY, "192.0.2.3, " + TRUSTED_PROXY));
+  }
+
+  /** Test that a request that is not rate limited is processed. */
+  @Test
+  public void invalidRequestTest() {
+    ResponseEntity<String> response =
+        newOAuthController().token(newRequest("192.0.2.1", "198.51.100.1"), Map.of());
+
+    assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    assertTrue(response.getBody().contains("\"error\":\"invalid_request\""));
+    assertFalse(response.getBody().contains("\"status\""));
+  }
+
+  /** Test that addresses supplied by the client to the left of the client IP are ignored. */
+  @Test
+  public void spoofedForwardedForEntriesTest() {
+    OAuthController oAuthController = newOAuthController();
+
+    assertEquals(
+        HttpStatus.BAD_REQUEST, token(oAuthController, TRUSTED_PROXY, "198.51.100.1, 192.0.2.1"));
+    assertEquals(
+        HttpStatus.BAD_REQUEST, token(oAuthController, TRUSTED_PROXY, "198.51.100.2, 192.0.2.1"));
+    assertEquals(
+        HttpStatus.TOO_MANY_REQUESTS,
+        token(oAuthController, TRUSTED_PROXY, "198.51.100.3, 192.0.2.1"));
+  }
+
+  /** Test that the header is ignored when the request is not from a trusted proxy. */
+  @Test
+  public void untrustedProxyTest() {
+    OAuthController oAuthController = newOAuthController();
+
+    assertEquals(HttpStatus.BAD_REQUEST, token(oAuthController, "192.0.2.1", "198.51.100.1"));
+    assertEquals(HttpStatus.BAD_REQUEST, token(oAuthController, "192.0.2.1", "198.51.100.2"));
+    assertEquals(
+        HttpStatus.TOO_MANY_REQUESTS, token(oAuthController, "192.0.2.1", "198.51.100.3"));
+  }
+
+  private static OAuthController newOAuthController() {
+    StaticListableBeanFactory beanFactory =
+        new StaticListableBeanFactory(Map.of("meterRegistry", new SimpleMeterRegistry()));
+
+    TokenRateLimiter tokenRateLimiter =
+        new TokenRateLimiter(
+            null,
+            beanFactory.getBeanProvider(MeterRegistry.class),
+            10,
+            600,
+            20,
+            2,
+            100,
+            "local",
+            "inception-oauth-token-rate-limits");
+
+    return new OAuthController(
+        null, null, tokenRateLimiter, new ClientIpAddressResolver(List.of(TRUSTED_PROXY)));
+  }
+
+  private static MockHttpServletRequest newRequest(String remoteAddress, String forwardedFor) {
+    MockHttpServletRequest request = new MockHttpServletRequest("POST", "/oauth/token");
+    request.setRemoteAddr(remoteAddress);
+    request.addHeader(ClientIpAddressResolver.X_FORWARDED_FOR_HEADER, forwardedFor);
+    return request;
+  }
+
+  private static HttpStatus token(
+      OAuthController oAuthController, String remoteAddress, String forwardedFor) {
+    // The requests have no grant type so the requests that are not rate limited are rejected
+    return HttpStatus.valueOf(
+        oAuthController
+            .token(newRequest(remoteAddress, forwardedFor), Map.of())
+            .getStatusCode()
+            .value());
+  }
+}
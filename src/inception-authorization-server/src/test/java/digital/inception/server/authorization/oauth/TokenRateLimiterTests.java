@@ -0,0 +1,176 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package digital.inception.server.authorization.oauth;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.JoinConfig;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.support.StaticApplicationContext;
+
+/**
+ * The {@code TokenRateLimiterTests} class contains the JUnit tests for the {@code
+ * TokenRateLimiter} class.
+ *
+ * @author Marcus Portmann
+ */
+public class TokenRateLimiterTests {
+
+  /** Test that the client ID limit is applied across source IP addresses. */
+  @Test
+  public void clientIdLimitTest() {
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    TokenRateLimiter tokenRateLimiter =
+        newTokenRateLimiter(null, meterRegistry, "local", 10, 2, 20);
+
+    assertEquals(0, tokenRateLimiter.tryAcquire("192.0.2.1", "client", null));
+    assertEquals(0, tokenRateLimiter.tryAcquire("192.0.2.2", "client", null));
+    assertTrue(tokenRateLimiter.tryAcquire("192.0.2.3", "client", null) > 0);
+
+    assertEquals(
+        1.0,
+        meterRegistry
+            .get("inception.authorization-server.oauth.token.rate-limit.rejections")
+            .tag("key_type", "client_id")
+            .counter()
+            .count());
+
+    // The three source IP address buckets and the client ID bucket are held locally
+    assertEquals(
+        4.0,
+        meterRegistry
+            .get("inception.authorization-server.oauth.token.rate-limit.buckets")
+            .gauge()
+            .value());
+  }
+
+  /**
+   * Test that the keyed and global limits are shared by the rate limiters for all the instances of
+   * the authorization server when the token buckets are held in Hazelcast.
+   */
+  @Test
+  public void hazelcastModeTest() {
+    Config config = new Config();
+    config.setClusterName("token-rate-limiter-tests-" + UUID.randomUUID());
+    config.setProperty("hazelcast.phone.home.enabled", "false");
+
+    JoinConfig joinConfig = config.getNetworkConfig().getJoin();
+    joinConfig.getAutoDetectionConfig().setEnabled(false);
+    joinConfig.getMulticastConfig().setEnabled(false);
+
+    HazelcastInstance hazelcastInstance = Hazelcast.newHazelcastInstance(config);
+
+    try (StaticApplicationContext applicationContext = new StaticApplicationContext()) {
+      applicationContext.getBeanFactory().registerSingleton("hazelcastInstance", hazelcastInstance);
+      applicationContext.refresh();
+
+      SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+      // Two rate limiters sharing the Hazelcast instance stand in for two instances
+      TokenRateLimiter firstTokenRateLimiter =
+          newTokenRateLimiter(applicationContext, meterRegistry, "hazelcast", 1, 2, 20);
+      TokenRateLimiter secondTokenRateLimiter =
+          newTokenRateLimiter(applicationContext, meterRegistry, "hazelcast", 1, 2, 20);
+
+      assertEquals(0, firstTokenRateLimiter.tryAcquire("192.0.2.1", "client", null));
+      assertEquals(0, secondTokenRateLimiter.tryAcquire("192.0.2.2", "client", null));
+      assertTrue(firstTokenRateLimiter.tryAcquire("192.0.2.3", "client", null) > 0);
+
+      // Exhaust the remaining 58 of the 60 tokens that may be issued per minute
+      for (int i = 0; i < 29; i++) {
+        assertEquals(0, firstTokenRateLimiter.tryAcquire("192.0.2.10", null, null));
+        assertEquals(0, secondTokenRateLimiter.tryAcquire("192.0.2.11", null, null));
+      }
+
+      assertTrue(secondTokenRateLimiter.tryAcquire("192.0.2.12", null, null) > 0);
+
+      assertEquals(
+          1.0,
+          meterRegistry
+              .get("inception.authorization-server.oauth.token.rate-limit.rejections")
+              .tag("key_type", "global")
+              .counter()
+              .count());
+
+      // The token buckets are not held locally so the number of buckets is not reported
+      assertNull(
+          meterRegistry
+              .find("inception.authorization-server.oauth.token.rate-limit.buckets")
+              .gauge());
+    } finally {
+      hazelcastInstance.shutdown();
+    }
+  }
+
+  /** Test that the username limit is keyed on the username and the source IP address. */
+  @Test
+  public void usernameLimitTest() {
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    TokenRateLimiter tokenRateLimiter =
+        newTokenRateLimiter(null, meterRegistry, "local", 10, 600, 2);
+
+    assertEquals(0, tokenRateLimiter.tryAcquire("192.0.2.1", null, "Administrator"));
+    assertEquals(0, tokenRateLimiter.tryAcquire("192.0.2.1", null, "administrator"));
+    assertTrue(tokenRateLimiter.tryAcquire("192.0.2.1", null, "ADMINISTRATOR") > 0);
+
+    // Requests for the same username from another source IP address are not limited
+    assertEquals(0, tokenRateLimiter.tryAcquire("192.0.2.2", null, "administrator"));
+
+    assertEquals(
+        1.0,
+        meterRegistry
+            .get("inception.authorization-server.oauth.token.rate-limit.rejections")
+            .tag("key_type", "username")
+            .counter()
+            .count());
+  }
+
+  private static TokenRateLimiter newTokenRateLimiter(
+      ApplicationContext applicationContext,
+      MeterRegistry meterRegistry,
+      String mode,
+      int tokensIssuedPerSecond,
+      int clientIdRequestsPerMinute,
+      int usernameRequestsPerMinute) {
+    StaticListableBeanFactory beanFactory =
+        new StaticListableBeanFactory(Map.of("meterRegistry", meterRegistry));
+
+    return new TokenRateLimiter(
+        applicationContext,
+        beanFactory.getBeanProvider(MeterRegistry.class),
+        tokensIssuedPerSecond,
+        clientIdRequestsPerMinute,
+        usernameRequestsPerMinute,
+        120,
+        100,
+        mode,
+        "inception-oauth-token-rate-limits");
+  }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package digital.inception.core.api;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * The {@code AccessModel} class holds the precomputed access for an authenticated principal, i.e.
+ * the codes for the roles and functions assigned to the principal, the IDs for the tenants the
+ * principal has access to, and whether the principal is an administrator.
+ *
+ * <p>The access model is built once when a request is authenticated, so that role, function and
+ * tenant checks are constant-time lookups rather than scans of the granted authorities. Role and
+ * function codes are matched case-insensitively.
+ *
+ * @author Marcus Portmann
+ */
+public final class AccessModel implements Serializable {
+
+  /** The code for the Administrator role. */
+  public static final String ADMINISTRATOR_ROLE_CODE = "Administrator";
+
+  /** The prefix for function authorities. */
+  public static final String FUNCTION_AUTHORITY_PREFIX = "FUNCTION_";
+
+  /** The prefix for role authorities. */
+  public static final String ROLE_AUTHORITY_PREFIX = "ROLE_";
+
+  /** The prefix for tenant authorities. */
+  public static final String TENANT_AUTHORITY_PREFIX = "TENANT_";
+
+  @Serial private static final long serialVersionUID = 1000000;
+
+  /** Does the principal have the Administrator role? */
+  private final boolean administrator;
+
+  /** The lowercase codes for the functions assigned to the principal. */
+  private final Set<String> functionCodes;
+
+  /** The lowercase codes for the roles assigned to the principal. */
+  private final Set<String> roleCodes;
+
+  /** The IDs for the tenants the principal has access to. */
+  private final Set<UUID> tenantIds;
+
+  /**
+   * Constructs a new {@code AccessModel}.
+   *
+   * @param roleCodes the codes for the roles assigned to the principal
+   * @param functionCodes the codes for the functions assigned to the principal
+   * @param tenantIds the IDs for the tenants the principal has access to
+   */
+  public AccessModel(
+      Iterable<String> roleCodes, Iterable<String> functionCodes, Iterable<UUID> tenantIds) {
+    this.roleCodes = toLowerCaseSet(roleCodes);
+    this.functionCodes = toLowerCaseSet(functionCodes);
+
+    Set<UUID> tenantIdSet = new HashSet<>();
+    tenantIds.forEach(tenantIdSet::add);
+    this.tenantIds = Set.copyOf(tenantIdSet);
+
+    this.administrator = this.roleCodes.contains(toLowerCase(ADMINISTRATOR_ROLE_CODE));
+  }
+
+  /**
+   * Build the access model from the names of the granted authorities for a principal.
+   *
+   * <p>Authorities with the {@code ROLE_}, {@code FUNCTION_} and {@code TENANT_} prefixes provide
+   * the role codes, function codes and tenant IDs respectively. Tenant authorities whose value is
+   * not a valid UUID are ignored.
+   *
+   * @param authorities the names of the granted authorities for the principal
+   * @return the access model
+   */
+  public static AccessModel fromAuthorities(Iterable<String> authorities) {
+    Set<String> roleCodes = new HashSet<>();
+    Set<String> functionCodes = new HashSet<>();
+    Set<UUID> tenantIds = new HashSet<>();
+
+    for (String authority : authorities) {
+      if (authority == null) {
+        continue;
+      }
+
+      if (authority.startsWith(ROLE_AUTHORITY_PREFIX)) {
+        roleCodes.add(authority.substring(ROLE_AUTHORITY_PREFIX.length()));
+      } else if (authority.startsWith(FUNCTION_AUTHORITY_PREFIX)) {
+        functionCodes.add(authority.substring(FUNCTION_AUTHORITY_PREFIX.length()));
+      } else if (authority.startsWith(TENANT_AUTHORITY_PREFIX)) {
+        try {
+          tenantIds.add(UUID.fromString(authority.substring(TENANT_AUTHORITY_PREFIX.length())));
+        } catch (Throwable ignored) {
+        }
+      }
+    }
+
+    return new AccessModel(roleCodes, functionCodes, tenantIds);
+  }
+
+  private static String toLowerCase(String code) {
+    return code.toLowerCase(Locale.ROOT);
+  }
+
+  private static Set<String> toLowerCaseSet(Iterable<String> codes) {
+    Set<String> lowerCaseCodes = new HashSet<>();
+
+    for (String code : codes) {
+      if (code != null) {
+        lowerCaseCodes.add(toLowerCase(code));
+      }
+    }
+
+    return Set.copyOf(lowerCaseCodes);
+  }
+
+  /**
+   * Returns the IDs for the tenants the principal has access to.
+   *
+   * @return the IDs for the tenants the principal has access to
+   */
+  public Set<UUID> getTenantIds() {
+    return tenantIds;
+  }
+
+  /**
+   * Returns whether the principal has access to the function.
+   *
+   * @param functionCode the code for the function
+   * @return {@code true} if the principal has access to the function or {@code false} otherwise
+   */
+  public boolean hasAccessToFunction(String functionCode) {
+    return (functionCode != null) && functionCodes.contains(toLowerCase(functionCode));
+  }
+
+  /**
+   * Returns whether the principal has access to the tenant, which is always the case for an
+   * administrator.
+   *
+   * @param tenantId the ID for the tenant
+   * @return {@code true} if the principal has access to the tenant or {@code false} otherwise
+   */
+  public boolean hasAccessToTenant(UUID tenantId) {
+    return (tenantId != null) && (administrator || tenantIds.contains(tenantId));
+  }
+
+  /**
+   * Returns whether the principal has the role.
+   *
+   * @param roleCode the code for the role
+   * @return {@code true} if the principal has the role or {@code false} otherwise
+   */
+  public boolean hasRole(String roleCode) {
+    return (roleCode != null) && roleCodes.contains(toLowerCase(roleCode));
+  }
+
+  /**
+   * Returns whether the principal has the Administrator role.
+   *
+   * @return {@code true} if the principal has the Administrator role or {@code false} otherwise
+   */
+  public boolean isAdministrator() {
+    return administrator;
+  }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package digital.inception.core.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * The {@code CursorUtil} class is a utility class which provides methods for encoding the fields
+ * that identify a position in the results of a paginated search as an opaque, URL-safe cursor and
+ * decoding them again.
+ *
+ * <p>The fields are joined using a NUL separator and encoded using unpadded Base64URL. Only the
+ * last field may contain the separator, so free-form values, e.g. the value of a sort property,
+ * should be placed last.
+ *
+ * @author Marcus Portmann
+ */
+public final class CursorUtil {
+
+  /** The separator between the fields in an encoded cursor. */
+  private static final String SEPARATOR = "\0";
+
+  /** Private constructor to prevent instantiation. */
+  private CursorUtil() {}
+
+  /**
+   * Decode the opaque cursor.
+   *
+   * @param cursor the opaque cursor
+   * @param numberOfFields the maximum number of fields to decode, where the last field holds the
+   *     remainder of the cursor
+   * @return the fields for the cursor, which may be fewer than the maximum number of fields
+   * @throws IllegalArgumentException if the cursor is not valid Base64URL
+   */
+  public static String[] decode(String cursor, int numberOfFields) {
+    return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+        .split(SEPARATOR, numberOfFields);
+  }
+
+  /**
+   * Encode the fields as an opaque URL-safe cursor.
+   *
+   * @param fields the fields for the cursor
+   * @return the opaque URL-safe cursor
+   */
+  public static String encode(String... fields) {
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(String.join(SEPARATOR, fields).getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package digital.inception.core.util;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * The {@code LruCache} class implements a bounded, in-memory cache, local to this JVM, that evicts
+ * the least recently used entries once it is full and expires entries after a fixed time-to-live.
+ *
+ * <p>Every operation takes constant time. Larger caches are split into independently locked
+ * segments, selected by the hash of the key, so that concurrent callers rarely contend for the
+ * same lock. Each segment evicts its own least recently used entry, so the eviction order is only
+ * approximately least recently used across the whole cache.
+ *
+ * <p>Use this class for caches whose keys or values cannot be serialized or must not be shared
+ * between application instances. Use the Spring {@code CacheManager} for everything else.
+ *
+ * @param <K> the type of key
+ * @param <V> the type of value
+ * @author Marcus Portmann
+ */
+public final class LruCache<K, V> {
+
+  /** The minimum number of entries for each segment when the cache is split into segments. */
+  private static final int MINIMUM_SEGMENT_SIZE = 256;
+
+  /** The maximum number of segments. */
+  private static final int MAXIMUM_SEGMENTS = 16;
+
+  /** The segments. */
+  private final Segment<K, V>[] segments;
+
+  /** The time-to-live for the entries in nanoseconds. */
+  private final long timeToLive;
+
+  /**
+   * Constructs a new {@code LruCache}.
+   *
+   * @param maximumSize the maximum number of entries
+   * @param timeToLive the time-to-live for the entries
+   */
+  @SuppressWarnings("unchecked")
+  public LruCache(int maximumSize, Duration timeToLive) {
+    if (maximumSize <= 0) {
+      throw new IllegalArgumentException("The maximum size must be greater than zero");
+    }
+
+    if (timeToLive.isNegative() || timeToLive.isZero()) {
+      throw new IllegalArgumentException("The time-to-live must be greater than zero");
+    }
+
+    this.timeToLive = timeToLive.toNanos();
+
+    int numberOfSegments =
+        Math.max(1, Math.min(MAXIMUM_SEGMENTS, maximumSize / MINIMUM_SEGMENT_SIZE));
+
+    this.segments = new Segment[numberOfSegments];
+
+    for (int i = 0; i < numberOfSegments; i++) {
+      // Distribute the remainder so the segment sizes add up to the maximum size
+      segments[i] =
+          new Segment<>(
+              (maximumSize / numberOfSegments) + ((i < (maximumSize % numberOfSegments)) ? 1 : 0));
+    }
+  }
+
+  /** Remove all the entries. */
+  public void clear() {
+    for (Segment<K, V> segment : segments) {
+      synchronized (segment) {
+        segment.clear();
+      }
+    }
+  }
+
+  /**
+   * Retrieve the value for the key.
+   *
+   * @param key the key
+   * @return the value for the key or {@code null} if there is no entry for the key or the entry
+   *     has expired
+   */
+  public V get(K key) {
+    Segment<K, V> segment = getSegment(key);
+
+    synchronized (segment) {
+      Entry<V> entry = segment.get(key);
+
+      if (entry == null) {
+        return null;
+      }
+
+      if ((System.nanoTime() - entry.expires()) >= 0) {
+        segment.remove(key);
+
+        return null;
+      }
+
+      return entry.value();
+    }
+  }
+
+  /**
+   * Add or replace the entry for the key, evicting the least recently used entry in the segment
+   * for the key if the segment is full.
+   *
+   * @param key the key
+   * @param value the value
+   */
+  public void put(K key, V value) {
+    Segment<K, V> segment = getSegment(key);
+
+    Entry<V> entry = new Entry<>(value, System.nanoTime() + timeToLive);
+
+    synchronized (segment) {
+      segment.put(key, entry);
+    }
+  }
+
+  /**
+   * Remove the entry for the key.
+   *
+   * @param key the key
+   */
+  public void remove(K key) {
+    Segment<K, V> segment = getSegment(key);
+
+    synchronized (segment) {
+      segment.remove(key);
+    }
+  }
+
+  /**
+   * Remove the entries whose values match the predicate.
+   *
+   * <p>This method scans every entry, so it should only be used for infrequent bulk invalidation.
+   *
+   * @param predicate the predicate used to select the values to remove
+   */
+  public void removeIf(Predicate<V> predicate) {
+    for (Segment<K, V> segment : segments) {
+      synchronized (segment) {
+        segment.values().removeIf(entry -> predicate.test(entry.value()));
+      }
+    }
+  }
+
+  /**
+   * Returns the number of entries, including any entries that have expired but have not been
+   * removed yet.
+   *
+   * @return the number of entries
+   */
+  public int size() {
+    int size = 0;
+
+    for (Segment<K, V> segment : segments) {
+      synchronized (segment) {
+        size += segment.size();
+      }
+    }
+
+    return size;
+  }
+
+  private Segment<K, V> getSegment(K key) {
+    if (segments.length == 1) {
+      return segments[0];
+    }
+
+    int hash = key.hashCode();
+
+    // Spread the higher bits of the hash so that they influence the selected segment
+    hash ^= (hash >>> 16);
+
+    return segments[Math.floorMod(hash, segments.length)];
+  }
+
+  /**
+   * An entry.
+   *
+   * @param value the value
+   * @param expires the value of {@code System.nanoTime()} when the entry expires
+   * @param <V> the type of value
+   */
+  private record Entry<V>(V value, long expires) {}
+
+  /**
+   * A segment, which holds its entries in access order and evicts its least recently used entry
+   * once it is full. A segment is not thread-safe and must be locked by the caller.
+   *
+   * @param <K> the type of key
+   * @param <V> the type of value
+   */
+  private static final class Segment<K, V> extends LinkedHashMap<K, Entry<V>> {
+
+    /** The maximum number of entries for the segment. */
+    private final int maximumSize;
+
+    /**
+     * Constructs a new {@code Segment}.
+     *
+     * @param maximumSize the maximum number of entries for the segment
+     */
+    Segment(int maximumSize) {
+      super(16, 0.75f, true);
+
+      this.maximumSize = maximumSize;
+    }
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+      return size() > maximumSize;
+    }
+  }
+}
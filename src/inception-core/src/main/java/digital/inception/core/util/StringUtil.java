@@ -17,6 +17,10 @@
 
 package digital.inception.core.util;
 
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
 /**
  * The {@code StringUtil} class is a utility class which provides methods for performing operations
  * on strings.
@@ -25,6 +29,13 @@ package digital.inception.core.util;
  */
 public final class StringUtil {
 
+  /** The pattern used to match combining diacritical marks after Unicode decomposition. */
+  private static final Pattern COMBINING_DIACRITICAL_MARKS_PATTERN =
+      Pattern.compile("\\p{InCombiningDiacriticalMarks}+");
+
+  /** The pattern used to match one or more whitespace characters. */
+  private static final Pattern WHITESPACE_PATTERN = Pattern.compile("\\s+");
+
   /** Private constructor to prevent instantiation. */
   private StringUtil() {}
 
@@ -43,4 +54,30 @@ public final class StringUtil {
   public static boolean equalsIgnoreCase(String a, String b) {
     return a == null ? b == null : a.equalsIgnoreCase(b);
   }
+
+  /**
+   * Returns the search-normalized form of a string.
+   *
+   * <p>The string is decomposed using Unicode NFD normalization, combining diacritical marks are
+   * removed, the result is lower-cased using the root locale, and runs of whitespace are collapsed
+   * to a single space. For example, {@code "  José  Müller "} is normalized to {@code "jose
+   * muller"}. The same normalization must be applied to stored values and search terms so that
+   * indexed equality and {@code LIKE} comparisons are accent and case insensitive.
+   *
+   * @param value the string to normalize, may be {@code null}
+   * @return the search-normalized form of the string or {@code null} if the string is {@code null}
+   */
+  public static String normalizeForSearch(String value) {
+    if (value == null) {
+      return null;
+    }
+
+    String normalized = Normalizer.normalize(value, Normalizer.Form.NFD);
+
+    normalized = COMBINING_DIACRITICAL_MARKS_PATTERN.matcher(normalized).replaceAll("");
+
+    normalized = normalized.toLowerCase(Locale.ROOT);
+
+    return WHITESPACE_PATTERN.matcher(normalized).replaceAll(" ").trim();
+  }
 }
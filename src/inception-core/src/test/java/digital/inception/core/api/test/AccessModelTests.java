@@ -0,0 +1,112 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package digital.inception.core.api.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import digital.inception.core.api.AccessModel;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The {@code AccessModelTests} class contains the JUnit tests for the {@code AccessModel} class.
+ *
+ * @author Marcus Portmann
+ */
+public class AccessModelTests {
+
+  /** Test the role, function and tenant checks for an administrator. */
+  @Test
+  public void administratorTest() {
+    AccessModel accessModel = new AccessModel(List.of("administrator"), List.of(), List.of());
+
+    assertTrue(accessModel.isAdministrator());
+    assertTrue(accessModel.hasRole(AccessModel.ADMINISTRATOR_ROLE_CODE));
+    assertTrue(accessModel.hasAccessToTenant(UUID.randomUUID()));
+    assertFalse(accessModel.hasAccessToTenant(null));
+    assertFalse(accessModel.hasAccessToFunction("Party.PartyAdministration"));
+  }
+
+  /** Test that role and function codes are matched case-insensitively. */
+  @Test
+  public void caseInsensitiveMatchingTest() {
+    AccessModel accessModel =
+        new AccessModel(
+            Arrays.asList("TenantAdministrator", null),
+            List.of("Party.PartyAdministration"),
+            List.of());
+
+    assertTrue(accessModel.hasRole("tenantadministrator"));
+    assertTrue(accessModel.hasRole("TENANTADMINISTRATOR"));
+    assertTrue(accessModel.hasAccessToFunction("party.partyadministration"));
+    assertFalse(accessModel.hasRole(null));
+    assertFalse(accessModel.hasAccessToFunction(null));
+    assertFalse(accessModel.hasRole("Tenant"));
+  }
+
+  /** Test building the access model from the granted authorities. */
+  @Test
+  public void fromAuthoritiesTest() {
+    UUID tenantId = UUID.randomUUID();
+
+    AccessModel accessModel =
+        AccessModel.fromAuthorities(
+            Arrays.asList(
+                "ROLE_TenantAdministrator",
+                "FUNCTION_Party.PartyAdministration",
+                "TENANT_" + tenantId,
+                "TENANT_not-a-uuid",
+                "USER_DIRECTORY_ID_ " + UUID.randomUUID(),
+                "SCOPE_openid",
+                null));
+
+    assertTrue(accessModel.hasRole("TenantAdministrator"));
+    assertTrue(accessModel.hasAccessToFunction("Party.PartyAdministration"));
+    assertFalse(accessModel.hasRole("Party.PartyAdministration"));
+    assertFalse(accessModel.hasAccessToFunction("TenantAdministrator"));
+    assertFalse(accessModel.isAdministrator());
+    assertEquals(Set.of(tenantId), accessModel.getTenantIds());
+    assertTrue(accessModel.hasAccessToTenant(tenantId));
+    assertFalse(accessModel.hasAccessToTenant(UUID.randomUUID()));
+  }
+
+  /** Test that the access model does not change when the sets it was built from change. */
+  @Test
+  public void immutabilityTest() {
+    Set<String> roleCodes = new HashSet<>(List.of("TenantAdministrator"));
+    Set<UUID> tenantIds = new HashSet<>();
+
+    AccessModel accessModel = new AccessModel(roleCodes, List.of(), tenantIds);
+
+    roleCodes.add("Administrator");
+    tenantIds.add(UUID.randomUUID());
+
+    assertFalse(accessModel.hasRole("Administrator"));
+    assertFalse(accessModel.isAdministrator());
+    assertTrue(accessModel.getTenantIds().isEmpty());
+    assertThrows(
+        UnsupportedOperationException.class,
+        () -> accessModel.getTenantIds().add(UUID.randomUUID()));
+  }
+}
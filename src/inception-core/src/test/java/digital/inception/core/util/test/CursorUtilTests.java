@@ -0,0 +1,56 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package digital.inception.core.util.test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import digital.inception.core.util.CursorUtil;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The {@code CursorUtilTests} class.
+ *
+ * @author Marcus Portmann
+ */
+public class CursorUtilTests {
+
+  @Test
+  @DisplayName("Encoded cursors are URL-safe and decode to the original fields")
+  void encodeAndDecode() {
+    String cursor = CursorUtil.encode("k", "name", "asc", "Smith & Sons/Ltd?");
+
+    assertTrue(cursor.matches("[A-Za-z0-9_-]+"));
+    assertArrayEquals(
+        new String[] {"k", "name", "asc", "Smith & Sons/Ltd?"}, CursorUtil.decode(cursor, 4));
+  }
+
+  @Test
+  @DisplayName("Invalid Base64URL is rejected")
+  void invalidCursorRejected() {
+    assertThrows(IllegalArgumentException.class, () -> CursorUtil.decode("not+base64/", 2));
+  }
+
+  @Test
+  @DisplayName("The last field keeps any separators it contains")
+  void lastFieldKeepsSeparators() {
+    String cursor = CursorUtil.encode("id", "a\0b");
+
+    assertArrayEquals(new String[] {"id", "a\0b"}, CursorUtil.decode(cursor, 2));
+  }
+}
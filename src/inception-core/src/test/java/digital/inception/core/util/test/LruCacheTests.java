@@ -0,0 +1,100 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package digital.inception.core.util.test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import digital.inception.core.util.LruCache;
+import java.time.Duration;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The {@code LruCacheTests} class.
+ *
+ * @author Marcus Portmann
+ */
+public class LruCacheTests {
+
+  @Test
+  @DisplayName("Entries expire once their time-to-live has elapsed")
+  void entriesExpire() throws Exception {
+    LruCache<String, String> cache = new LruCache<>(10, Duration.ofMillis(100));
+    cache.put("a", "1");
+    assertEquals("1", cache.get("a"));
+
+    Thread.sleep(200);
+
+    assertNull(cache.get("a"));
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  @DisplayName("Invalid maximum sizes and time-to-live values are rejected")
+  void invalidArgumentsRejected() {
+    assertThrows(IllegalArgumentException.class, () -> new LruCache<>(0, Duration.ofMinutes(1)));
+    assertThrows(IllegalArgumentException.class, () -> new LruCache<>(10, Duration.ZERO));
+  }
+
+  @Test
+  @DisplayName("The least recently used entry is evicted once the cache is full")
+  void leastRecentlyUsedEntryEvicted() {
+    LruCache<String, String> cache = new LruCache<>(2, Duration.ofMinutes(1));
+    cache.put("a", "1");
+    cache.put("b", "2");
+    assertEquals("1", cache.get("a"));
+    cache.put("c", "3");
+
+    assertEquals(2, cache.size());
+    assertEquals("1", cache.get("a"));
+    assertNull(cache.get("b"));
+    assertEquals("3", cache.get("c"));
+  }
+
+  @Test
+  @DisplayName("Removed, filtered and cleared entries are no longer returned")
+  void removeAndClear() {
+    LruCache<String, String> cache = new LruCache<>(10, Duration.ofMinutes(1));
+    cache.put("a", "1");
+    cache.put("b", "2");
+    cache.put("c", "3");
+
+    cache.remove("a");
+    assertNull(cache.get("a"));
+
+    cache.removeIf("2"::equals);
+    assertNull(cache.get("b"));
+    assertEquals("3", cache.get("c"));
+
+    cache.clear();
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  @DisplayName("A segmented cache never holds more than its maximum size")
+  void segmentedCacheBounded() {
+    LruCache<Integer, Integer> cache = new LruCache<>(1000, Duration.ofMinutes(1));
+
+    for (int i = 0; i < 10000; i++) {
+      cache.put(i, i);
+    }
+
+    assertTrue(cache.size() <= 1000);
+    assertEquals(9999, cache.get(9999));
+  }
+}
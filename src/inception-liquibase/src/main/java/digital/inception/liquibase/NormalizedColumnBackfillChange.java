@@ -0,0 +1,286 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package digital.inception.liquibase;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.stream.Collectors;
+import liquibase.change.custom.CustomTaskChange;
+import liquibase.database.Database;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.CustomChangeException;
+import liquibase.exception.ValidationErrors;
+import liquibase.resource.ResourceAccessor;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * The {@code NormalizedColumnBackfillChange} class implements a Liquibase custom change that
+ * populates normalized copies of column values using the same Java normalization the application
+ * applies when it writes the rows.
+ *
+ * <p>Backfilling with database functions such as {@code lower()} produces values that differ from
+ * the application for non-ASCII data and is not portable across the supported databases, so the
+ * rows are read, normalized in Java and updated in batches instead.
+ *
+ * <p>The change is configured with the following parameters:
+ *
+ * <ul>
+ *   <li>{@code tableName} - the name of the table
+ *   <li>{@code keyColumns} - the comma-separated names of the primary key columns
+ *   <li>{@code sourceColumns} - the comma-separated names of the columns to normalize
+ *   <li>{@code targetColumns} - the comma-separated names of the columns to populate, in the same
+ *       order as the source columns
+ *   <li>{@code normalizer} - the fully qualified name of a public static method that takes a
+ *       {@code String} and returns the normalized {@code String}, e.g. {@code
+ *       digital.inception.core.util.StringUtil.normalizeForSearch}
+ * </ul>
+ *
+ * @author Marcus Portmann
+ */
+public class NormalizedColumnBackfillChange implements CustomTaskChange {
+
+  /** The number of rows updated per batch. */
+  private static final int BATCH_SIZE = 1000;
+
+  /** The comma-separated names of the primary key columns. */
+  private String keyColumns;
+
+  /** The fully qualified name of the static method used to normalize the values. */
+  private String normalizer;
+
+  /** The number of rows that were updated. */
+  private int numberOfRowsUpdated;
+
+  /** The comma-separated names of the columns to normalize. */
+  private String sourceColumns;
+
+  /** The name of the table. */
+  private String tableName;
+
+  /** The comma-separated names of the columns to populate. */
+  private String targetColumns;
+
+  /** Constructs a new {@code NormalizedColumnBackfillChange}. */
+  public NormalizedColumnBackfillChange() {}
+
+  @Override
+  public void execute(Database database) throws CustomChangeException {
+    List<String> keyColumnNames = splitColumnNames(keyColumns);
+    List<String> sourceColumnNames = splitColumnNames(sourceColumns);
+    List<String> targetColumnNames = splitColumnNames(targetColumns);
+
+    String escapedTableName = database.escapeTableName(null, null, tableName);
+
+    String selectSql =
+        "SELECT "
+            + escapeColumnNames(database, keyColumnNames, ", ")
+            + ", "
+            + escapeColumnNames(database, sourceColumnNames, ", ")
+            + " FROM "
+            + escapedTableName;
+
+    String updateSql =
+        "UPDATE "
+            + escapedTableName
+            + " SET "
+            + escapeColumnNames(database, targetColumnNames, " = ?, ")
+            + " = ? WHERE "
+            + escapeColumnNames(database, keyColumnNames, " = ? AND ")
+            + " = ?";
+
+    try {
+      Method normalizerMethod = getNormalizerMethod();
+
+      JdbcConnection connection = (JdbcConnection) database.getConnection();
+
+      try (PreparedStatement selectStatement = connection.prepareStatement(selectSql);
+          PreparedStatement updateStatement = connection.prepareStatement(updateSql);
+          ResultSet resultSet = selectStatement.executeQuery()) {
+        int batchSize = 0;
+
+        while (resultSet.next()) {
+          int parameterIndex = 1;
+
+          for (int i = 0; i < sourceColumnNames.size(); i++) {
+            String value = resultSet.getString(keyColumnNames.size() + i + 1);
+
+            updateStatement.setString(
+                parameterIndex++, (String) normalizerMethod.invoke(null, value));
+          }
+
+          for (int i = 0; i < keyColumnNames.size(); i++) {
+            updateStatement.setObject(parameterIndex++, resultSet.getObject(i + 1));
+          }
+
+          updateStatement.addBatch();
+
+          if (++batchSize == BATCH_SIZE) {
+            updateStatement.executeBatch();
+            numberOfRowsUpdated += batchSize;
+            batchSize = 0;
+          }
+        }
+
+        if (batchSize > 0) {
+          updateStatement.executeBatch();
+          numberOfRowsUpdated += batchSize;
+        }
+      }
+    } catch (Throwable e) {
+      throw new CustomChangeException(
+          "Failed to backfill the normalized columns ("
+              + targetColumns
+              + ") for the table ("
+              + tableName
+              + ")",
+          e);
+    }
+  }
+
+  @Override
+  public String getConfirmationMessage() {
+    return "Backfilled the normalized columns ("
+        + targetColumns
+        + ") for "
+        + numberOfRowsUpdated
+        + " rows in the table ("
+        + tableName
+        + ")";
+  }
+
+  @Override
+  public void setFileOpener(ResourceAccessor resourceAccessor) {}
+
+  /**
+   * Set the comma-separated names of the primary key columns.
+   *
+   * @param keyColumns the comma-separated names of the primary key columns
+   */
+  public void setKeyColumns(String keyColumns) {
+    this.keyColumns = keyColumns;
+  }
+
+  /**
+   * Set the fully qualified name of the static method used to normalize the values.
+   *
+   * @param normalizer the fully qualified name of the static method used to normalize the values
+   */
+  public void setNormalizer(String normalizer) {
+    this.normalizer = normalizer;
+  }
+
+  /**
+   * Set the comma-separated names of the columns to normalize.
+   *
+   * @param sourceColumns the comma-separated names of the columns to normalize
+   */
+  public void setSourceColumns(String sourceColumns) {
+    this.sourceColumns = sourceColumns;
+  }
+
+  /**
+   * Set the name of the table.
+   *
+   * @param tableName the name of the table
+   */
+  public void setTableName(String tableName) {
+    this.tableName = tableName;
+  }
+
+  /**
+   * Set the comma-separated names of the columns to populate.
+   *
+   * @param targetColumns the comma-separated names of the columns to populate
+   */
+  public void setTargetColumns(String targetColumns) {
+    this.targetColumns = targetColumns;
+  }
+
+  @Override
+  public void setUp() {}
+
+  @Override
+  public ValidationErrors validate(Database database) {
+    ValidationErrors validationErrors = new ValidationErrors();
+
+    validationErrors.checkRequiredField("tableName", tableName);
+    validationErrors.checkRequiredField("keyColumns", keyColumns);
+    validationErrors.checkRequiredField("sourceColumns", sourceColumns);
+    validationErrors.checkRequiredField("targetColumns", targetColumns);
+    validationErrors.checkRequiredField("normalizer", normalizer);
+
+    if (validationErrors.hasErrors()) {
+      return validationErrors;
+    }
+
+    if (splitColumnNames(sourceColumns).size() != splitColumnNames(targetColumns).size()) {
+      validationErrors.addError(
+          "The number of source columns ("
+              + sourceColumns
+              + ") does not match the number of target columns ("
+              + targetColumns
+              + ")");
+    }
+
+    try {
+      getNormalizerMethod();
+    } catch (Throwable e) {
+      validationErrors.addError("Invalid normalizer (" + normalizer + "): " + e.getMessage());
+    }
+
+    return validationErrors;
+  }
+
+  private static String escapeColumnNames(
+      Database database, List<String> columnNames, String delimiter) {
+    return columnNames.stream()
+        .map(columnName -> database.escapeColumnName(null, null, null, columnName))
+        .collect(Collectors.joining(delimiter));
+  }
+
+  private static List<String> splitColumnNames(String columnNames) {
+    return List.of(StringUtils.tokenizeToStringArray(columnNames, ","));
+  }
+
+  private Method getNormalizerMethod() throws ClassNotFoundException, NoSuchMethodException {
+    int index = normalizer.lastIndexOf('.');
+
+    if (index < 1) {
+      throw new IllegalArgumentException("Invalid normalizer (" + normalizer + ")");
+    }
+
+    Class<?> normalizerClass =
+        ClassUtils.forName(normalizer.substring(0, index), ClassUtils.getDefaultClassLoader());
+
+    Method normalizerMethod =
+        normalizerClass.getMethod(normalizer.substring(index + 1), String.class);
+
+    if ((!Modifier.isStatic(normalizerMethod.getModifiers()))
+        || (normalizerMethod.getReturnType() != String.class)) {
+      throw new IllegalArgumentException(
+          "The normalizer ("
+              + normalizer
+              + ") must be a public static method that takes and returns a String");
+    }
+
+    return normalizerMethod;
+  }
+}
@@ -18,6 +18,7 @@ package digital.inception.mail;
 
 import digital.inception.core.CoreConfiguration;
 import digital.inception.jpa.JpaUtil;
+import java.util.concurrent.Executor;
 import javax.sql.DataSource;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.ApplicationContext;
@@ -26,6 +27,8 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 /**
  * The {@code MailConfiguration} class provides the Spring configuration for the Mail module.
@@ -37,6 +40,7 @@ import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
 @EnableJpaRepositories(
     basePackages = {"digital.inception.mail.persistence.jpa"},
     entityManagerFactoryRef = "mailEntityManagerFactory")
+@EnableScheduling
 public class MailConfiguration {
 
   /** Constructs a new {@code MailConfiguration}. */
@@ -56,4 +60,22 @@ public class MailConfiguration {
     return JpaUtil.createEntityManager(
         applicationContext, "mail", dataSource, "digital.inception.mail");
   }
+
+  /**
+   * Returns the dedicated {@code ThreadPoolTaskExecutor} used to trigger mail sending
+   * asynchronously.
+   *
+   * @return the dedicated {@code ThreadPoolTaskExecutor} used to trigger mail sending
+   *     asynchronously
+   */
+  @Bean
+  public Executor triggerMailSendingExecutor() {
+    ThreadPoolTaskExecutor threadPoolTaskExecutor = new ThreadPoolTaskExecutor();
+    threadPoolTaskExecutor.setCorePoolSize(1);
+    threadPoolTaskExecutor.setMaxPoolSize(2);
+    threadPoolTaskExecutor.setQueueCapacity(100);
+    threadPoolTaskExecutor.setThreadNamePrefix("trigger-mail-sending-task-");
+    threadPoolTaskExecutor.initialize();
+    return threadPoolTaskExecutor;
+  }
 }
@@ -0,0 +1,529 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package digital.inception.mail.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.github.f4b6a3.uuid.UuidCreator;
+import digital.inception.core.xml.OffsetDateTimeAdapter;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlElement;
+import jakarta.xml.bind.annotation.XmlRootElement;
+import jakarta.xml.bind.annotation.XmlSchemaType;
+import jakarta.xml.bind.annotation.XmlType;
+import jakarta.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.OffsetDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * The {@code Mail} class holds the information for a mail that has been queued for sending.
+ *
+ * <p>A separate mail is queued for each recipient domain so that the per-domain concurrency and
+ * rate limits can be applied when the mail is sent. The {@code to} header for each mail contains
+ * all the recipients, but the mail is only delivered to the recipients for its domain.
+ *
+ * @author Marcus Portmann
+ */
+@Schema(description = "A mail that has been queued for sending")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonPropertyOrder({
+  "id",
+  "to",
+  "domain",
+  "from",
+  "fromName",
+  "subject",
+  "body",
+  "contentType",
+  "status",
+  "sendAttempts",
+  "nextSendAttempt",
+  "lockName",
+  "lastProcessed"
+})
+@XmlRootElement(name = "Mail", namespace = "https://inception.digital/mail")
+@XmlType(
+    name = "Mail",
+    namespace = "https://inception.digital/mail",
+    propOrder = {
+      "id",
+      "to",
+      "domain",
+      "from",
+      "fromName",
+      "subject",
+      "body",
+      "contentType",
+      "status",
+      "sendAttempts",
+      "nextSendAttempt",
+      "lockName",
+      "lastProcessed"
+    })
+@XmlAccessorType(XmlAccessType.FIELD)
+@Entity
+@Table(name = "mail_mails")
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class Mail implements Serializable {
+
+  @Serial private static final long serialVersionUID = 1000000;
+
+  /** The body for the mail. */
+  @Schema(description = "The body for the mail", requiredMode = Schema.RequiredMode.REQUIRED)
+  @JsonProperty(required = true)
+  @XmlElement(name = "Body", required = true)
+  @NotNull
+  @Lob
+  @Column(name = "body", nullable = false)
+  private String body;
+
+  /** The content type for the body of the mail. */
+  @Schema(
+      description = "The content type for the body of the mail",
+      requiredMode = Schema.RequiredMode.REQUIRED)
+  @JsonProperty(required = true)
+  @XmlElement(name = "ContentType", required = true)
+  @NotNull
+  @Column(name = "content_type", length = 50, nullable = false)
+  private MailTemplateContentType contentType;
+
+  /** The domain for the recipients the mail will be delivered to. */
+  @Schema(
+      description = "The domain for the recipients the mail will be delivered to",
+      requiredMode = Schema.RequiredMode.REQUIRED)
+  @JsonProperty(required = true)
+  @XmlElement(name = "Domain", required = true)
+  @NotBlank
+  @Size(max = 255)
+  @Column(name = "domain", length = 255, nullable = false)
+  private String domain;
+
+  /** The from email address. */
+  @Schema(description = "The from email address", requiredMode = Schema.RequiredMode.REQUIRED)
+  @JsonProperty(required = true)
+  @XmlElement(name = "From", required = true)
+  @NotBlank
+  @Size(max = 320)
+  @Column(name = "from_address", length = 320, nullable = false)
+  private String from;
+
+  /** The from email name. */
+  @Schema(description = "The from email name", requiredMode = Schema.RequiredMode.REQUIRED)
+  @JsonProperty(required = true)
+  @XmlElement(name = "FromName", required = true)
+  @NotBlank
+  @Size(max = 100)
+  @Column(name = "from_name", length = 100, nullable = false)
+  private String fromName;
+
+  /** The ID for the mail. */
+  @Schema(description = "The ID for the mail", requiredMode = Schema.RequiredMode.REQUIRED)
+  @JsonProperty(required = true)
+  @XmlElement(name = "Id", required = true)
+  @NotNull
+  @Id
+  @Column(name = "id", nullable = false)
+  private UUID id;
+
+  /** The date and time the last attempt was made to send the mail. */
+  @Schema(description = "The date and time the last attempt was made to send the mail")
+  @JsonProperty
+  @XmlElement(name = "LastProcessed")
+  @XmlJavaTypeAdapter(OffsetDateTimeAdapter.class)
+  @XmlSchemaType(name = "dateTime")
+  @Column(name = "last_processed")
+  private OffsetDateTime lastProcessed;
+
+  /** The name of the entity that has locked the mail for sending. */
+  @Schema(description = "The name of the entity that has locked the mail for sending")
+  @JsonProperty
+  @XmlElement(name = "LockName")
+  @Size(min = 1, max = 100)
+  @Column(name = "lock_name", length = 100)
+  private String lockName;
+
+  /** The date and time the next attempt will be made to send the mail. */
+  @Schema(description = "The date and time the next attempt will be made to send the mail")
+  @JsonProperty
+  @XmlElement(name = "NextSendAttempt")
+  @XmlJavaTypeAdapter(OffsetDateTimeAdapter.class)
+  @XmlSchemaType(name = "dateTime")
+  @Column(name = "next_send_attempt")
+  private OffsetDateTime nextSendAttempt;
+
+  /** The number of times that the sending of the mail was attempted. */
+  @Schema(description = "The number of times that the sending of the mail was attempted")
+  @JsonProperty
+  @XmlElement(name = "SendAttempts")
+  @Column(name = "send_attempts")
+  private Integer sendAttempts;
+
+  /** The status of the mail. */
+  @Schema(description = "The status of the mail", requiredMode = Schema.RequiredMode.REQUIRED)
+  @JsonProperty(required = true)
+  @XmlElement(name = "Status", required = true)
+  @NotNull
+  @Column(name = "status", length = 50, nullable = false)
+  private MailStatus status;
+
+  /** The subject for the mail. */
+  @Schema(description = "The subject for the mail", requiredMode = Schema.RequiredMode.REQUIRED)
+  @JsonProperty(required = true)
+  @XmlElement(name = "Subject", required = true)
+  @NotBlank
+  @Size(max = 1000)
+  @Column(name = "subject", length = 1000, nullable = false)
+  private String subject;
+
+  /** The comma-separated list of email addresses to send the mail to. */
+  @Schema(
+      description = "The comma-separated list of email addresses to send the mail to",
+      requiredMode = Schema.RequiredMode.REQUIRED)
+  @JsonProperty(required = true)
+  @XmlElement(name = "To", required = true)
+  @NotBlank
+  @Size(max = 4000)
+  @Column(name = "to_addresses", length = 4000, nullable = false)
+  private String to;
+
+  /** Constructs a new {@code Mail}. */
+  public Mail() {}
+
+  /**
+   * Constructs a new {@code Mail}.
+   *
+   * @param to the comma-separated list of email addresses to send the mail to
+   * @param domain the domain for the recipients the mail will be delivered to
+   * @param from the from email address
+   * @param fromName the from email name
+   * @param subject the subject for the mail
+   * @param body the body for the mail
+   * @param contentType the content type for the body of the mail
+   * @param status the status of the mail
+   */
+  public Mail(
+      String to,
+      String domain,
+      String from,
+      String fromName,
+      String subject,
+      String body,
+      MailTemplateContentType contentType,
+      MailStatus status) {
+    this.id = UuidCreator.getTimeOrderedEpoch();
+    this.to = to;
+    this.domain = domain;
+    this.from = from;
+    this.fromName = fromName;
+    this.subject = subject;
+    this.body = body;
+    this.contentType = contentType;
+    this.status = status;
+  }
+
+  /**
+   * Indicates whether some other object is "equal to" this one.
+   *
+   * @param object the reference object with which to compare
+   * @return {@code true} if this object is the same as the object argument, otherwise {@code false}
+   */
+  @Override
+  public boolean equals(Object object) {
+    if (this == object) {
+      return true;
+    }
+
+    if (object == null) {
+      return false;
+    }
+
+    if (getClass() != object.getClass()) {
+      return false;
+    }
+
+    Mail other = (Mail) object;
+
+    return Objects.equals(id, other.id);
+  }
+
+  /**
+   * Returns the body for the mail.
+   *
+   * @return the body for the mail
+   */
+  public String getBody() {
+    return body;
+  }
+
+  /**
+   * Returns the content type for the body of the mail.
+   *
+   * @return the content type for the body of the mail
+   */
+  public MailTemplateContentType getContentType() {
+    return contentType;
+  }
+
+  /**
+   * Returns the domain for the recipients the mail will be delivered to.
+   *
+   * @return the domain for the recipients the mail will be delivered to
+   */
+  public String getDomain() {
+    return domain;
+  }
+
+  /**
+   * Returns the from email address.
+   *
+   * @return the from email address
+   */
+  public String getFrom() {
+    return from;
+  }
+
+  /**
+   * Returns the from email name.
+   *
+   * @return the from email name
+   */
+  public String getFromName() {
+    return fromName;
+  }
+
+  /**
+   * Returns the ID for the mail.
+   *
+   * @return the ID for the mail
+   */
+  public UUID getId() {
+    return id;
+  }
+
+  /**
+   * Returns the date and time the last attempt was made to send the mail.
+   *
+   * @return the date and time the last attempt was made to send the mail
+   */
+  public OffsetDateTime getLastProcessed() {
+    return lastProcessed;
+  }
+
+  /**
+   * Returns the name of the entity that has locked the mail for sending.
+   *
+   * @return the name of the entity that has locked the mail for sending
+   */
+  public String getLockName() {
+    return lockName;
+  }
+
+  /**
+   * Returns the date and time the next attempt will be made to send the mail.
+   *
+   * @return the date and time the next attempt will be made to send the mail
+   */
+  public OffsetDateTime getNextSendAttempt() {
+    return nextSendAttempt;
+  }
+
+  /**
+   * Returns the number of times that the sending of the mail was attempted.
+   *
+   * @return the number of times that the sending of the mail was attempted
+   */
+  public Integer getSendAttempts() {
+    return sendAttempts;
+  }
+
+  /**
+   * Returns the status of the mail.
+   *
+   * @return the status of the mail
+   */
+  public MailStatus getStatus() {
+    return status;
+  }
+
+  /**
+   * Returns the subject for the mail.
+   *
+   * @return the subject for the mail
+   */
+  public String getSubject() {
+    return subject;
+  }
+
+  /**
+   * Returns the comma-separated list of email addresses to send the mail to.
+   *
+   * @return the comma-separated list of email addresses to send the mail to
+   */
+  public String getTo() {
+    return to;
+  }
+
+  /**
+   * Returns a hash code value for the object.
+   *
+   * @return a hash code value for the object
+   */
+  @Override
+  public int hashCode() {
+    return (id == null) ? 0 : id.hashCode();
+  }
+
+  /** Increment the number of times that the sending of the mail was attempted. */
+  public void incrementSendAttempts() {
+    if (sendAttempts == null) {
+      sendAttempts = 1;
+    } else {
+      sendAttempts++;
+    }
+  }
+
+  /**
+   * Sets the body for the mail.
+   *
+   * @param body the body for the mail
+   */
+  public void setBody(String body) {
+    this.body = body;
+  }
+
+  /**
+   * Sets the content type for the body of the mail.
+   *
+   * @param contentType the content type for the body of the mail
+   */
+  public void setContentType(MailTemplateContentType contentType) {
+    this.contentType = contentType;
+  }
+
+  /**
+   * Sets the domain for the recipients the mail will be delivered to.
+   *
+   * @param domain the domain for the recipients the mail will be delivered to
+   */
+  public void setDomain(String domain) {
+    this.domain = domain;
+  }
+
+  /**
+   * Sets the from email address.
+   *
+   * @param from the from email address
+   */
+  public void setFrom(String from) {
+    this.from = from;
+  }
+
+  /**
+   * Sets the from email name.
+   *
+   * @param fromName the from email name
+   */
+  public void setFromName(String fromName) {
+    this.fromName = fromName;
+  }
+
+  /**
+   * Sets the ID for the mail.
+   *
+   * @param id the ID for the mail
+   */
+  public void setId(UUID id) {
+    this.id = id;
+  }
+
+  /**
+   * Sets the date and time the last attempt was made to send the mail.
+   *
+   * @param lastProcessed the date and time the last attempt was made to send the mail
+   */
+  public void setLastProcessed(OffsetDateTime lastProcessed) {
+    this.lastProcessed = lastProcessed;
+  }
+
+  /**
+   * Sets the name of the entity that has locked the mail for sending.
+   *
+   * @param lockName the name of the entity that has locked the mail for sending
+   */
+  public void setLockName(String lockName) {
+    this.lockName = lockName;
+  }
+
+  /**
+   * Sets the date and time the next attempt will be made to send the mail.
+   *
+   * @param nextSendAttempt the date and time the next attempt will be made to send the mail
+   */
+  public void setNextSendAttempt(OffsetDateTime nextSendAttempt) {
+    this.nextSendAttempt = nextSendAttempt;
+  }
+
+  /**
+   * Sets the number of times that the sending of the mail was attempted.
+   *
+   * @param sendAttempts the number of times that the sending of the mail was attempted
+   */
+  public void setSendAttempts(Integer sendAttempts) {
+    this.sendAttempts = sendAttempts;
+  }
+
+  /**
+   * Sets the status of the mail.
+   *
+   * @param status the status of the mail
+   */
+  public void setStatus(MailStatus status) {
+    this.status = status;
+  }
+
+  /**
+   * Sets the subject for the mail.
+   *
+   * @param subject the subject for the mail
+   */
+  public void setSubject(String subject) {
+    this.subject = subject;
+  }
+
+  /**
+   * Sets the comma-separated list of email addresses to send the mail to.
+   *
+   * @param to the comma-separated list of email addresses to send the mail to
+   */
+  public void setTo(String to) {
+    this.to = to;
+  }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package digital.inception.mail.model;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+import digital.inception.core.model.CodeEnum;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.xml.bind.annotation.XmlEnum;
+import jakarta.xml.bind.annotation.XmlEnumValue;
+import jakarta.xml.bind.annotation.XmlType;
+
+/**
+ * The {@code MailStatus} enumeration defines the possible statuses for a mail.
+ *
+ * @author Marcus Portmann
+ */
+@Schema(description = "The mail status")
+@XmlEnum
+@XmlType(name = "MailStatus", namespace = "https://inception.digital/mail")
+public enum MailStatus implements CodeEnum {
+  /** Unknown. */
+  @XmlEnumValue("Unknown")
+  UNKNOWN("unknown", "Unknown"),
+
+  /** Queued. */
+  @XmlEnumValue("Queued")
+  QUEUED("queued", "Queued"),
+
+  /** Sending. */
+  @XmlEnumValue("Sending")
+  SENDING("sending", "Sending"),
+
+  /** Sent. */
+  @XmlEnumValue("Sent")
+  SENT("sent", "Sent"),
+
+  /** Failed. */
+  @XmlEnumValue("Failed")
+  FAILED("failed", "Failed");
+
+  private final String code;
+
+  private final String description;
+
+  MailStatus(String code, String description) {
+    this.code = code;
+    this.description = description;
+  }
+
+  /**
+   * Returns the code for the mail status.
+   *
+   * @return the code for the mail status
+   */
+  @JsonValue
+  public String code() {
+    return code;
+  }
+
+  /**
+   * Returns the description for the mail status.
+   *
+   * @return the description for the mail status
+   */
+  public String description() {
+    return description;
+  }
+
+  /**
+   * Returns the string representation of the enumeration value.
+   *
+   * @return the string representation of the enumeration value
+   */
+  public String toString() {
+    return code;
+  }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package digital.inception.mail.persistence.jpa;
+
+import digital.inception.mail.model.Mail;
+import digital.inception.mail.model.MailStatus;
+import jakarta.persistence.LockModeType;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * The {@code MailRepository} interface declares the persistence for the {@code Mail} domain type.
+ *
+ * @author Marcus Portmann
+ */
+public interface MailRepository extends JpaRepository<Mail, UUID> {
+
+  /**
+   * Returns the number of mails with the specified statuses.
+   *
+   * @param statuses the statuses
+   * @return the number of mails with the specified statuses
+   */
+  long countByStatusIn(Collection<MailStatus> statuses);
+
+  /**
+   * Find the mails queued for sending.
+   *
+   * @param sendBefore the date and time used to select the mails whose next send attempt is due
+   * @param pageable the pagination information
+   * @return the mails queued for sending
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query(
+      "select m from Mail m where m.status = digital.inception.mail.model.MailStatus.QUEUED "
+          + "and (m.nextSendAttempt <= :sendBefore or m.nextSendAttempt is null) "
+          + "order by m.id")
+  List<Mail> findMailsQueuedForSendingForWrite(
+      @Param("sendBefore") OffsetDateTime sendBefore, Pageable pageable);
+
+  /**
+   * Lock the mails for sending.
+   *
+   * @param mailIds the IDs for the mails
+   * @param lockName the name of the lock
+   * @param when the date and time the mails are locked for sending
+   */
+  @Transactional
+  @Modifying(clearAutomatically = true, flushAutomatically = true)
+  @Query(
+      "update Mail m set m.lockName = :lockName, "
+          + "m.status = digital.inception.mail.model.MailStatus.SENDING, "
+          + "m.sendAttempts = coalesce(m.sendAttempts, 0) + 1, m.lastProcessed = :when "
+          + "where m.id in :mailIds")
+  void lockMailsForSending(
+      @Param("mailIds") Collection<UUID> mailIds,
+      @Param("lockName") String lockName,
+      @Param("when") OffsetDateTime when);
+
+  /**
+   * Reset the mail locks with the specified status.
+   *
+   * @param status the status
+   * @param newStatus the new status for the mails
+   * @param lockName the lock name
+   */
+  @Transactional
+  @Modifying(clearAutomatically = true, flushAutomatically = true)
+  @Query(
+      "update Mail m set m.status = :newStatus, m.lockName = null "
+          + "where m.lockName = :lockName and m.status = :status")
+  void resetMailLocks(
+      @Param("status") MailStatus status,
+      @Param("newStatus") MailStatus newStatus,
+      @Param("lockName") String lockName);
+
+  /**
+   * Unlock the mail.
+   *
+   * @param mailId the ID for the mail
+   * @param status the status for the mail
+   * @param nextSendAttempt the date and time the next attempt will be made to send the mail
+   */
+  @Transactional
+  @Modifying(clearAutomatically = true, flushAutomatically = true)
+  @Query(
+      "update Mail m set m.status = :status, m.lockName = null, "
+          + "m.nextSendAttempt = :nextSendAttempt where m.id = :mailId")
+  void unlockMail(
+      @Param("mailId") UUID mailId,
+      @Param("status") MailStatus status,
+      @Param("nextSendAttempt") OffsetDateTime nextSendAttempt);
+}
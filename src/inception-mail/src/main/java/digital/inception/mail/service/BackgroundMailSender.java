@@ -0,0 +1,595 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package digital.inception.mail.service;
+
+import digital.inception.core.time.ApplicationClock;
+import digital.inception.mail.model.Mail;
+import digital.inception.mail.model.MailStatus;
+import digital.inception.mail.model.MailTemplateContentType;
+import digital.inception.mail.service.SMTPTransportPool.PooledTransport;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.Address;
+import jakarta.mail.Message;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.internet.AddressException;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.NoSuchBeanDefinitionException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationContext;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * The {@code BackgroundMailSender} class implements the Background Mail Sender, which sends the
+ * mails queued for sending using a pool of long-lived SMTP transports.
+ *
+ * <p>The queued mails are locked and sent in batches. The mails in a batch are grouped by their
+ * recipient domain and sent by at most {@code inception.mail.sender.domain-maximum-concurrency}
+ * workers per domain, with the sends for each domain spaced to respect the {@code
+ * inception.mail.sender.domain-rate-limit}. Mails that fail with a transient error are re-queued
+ * with an exponential backoff delay until the maximum number of send attempts is reached.
+ *
+ * @author Marcus Portmann
+ */
+@Service
+@SuppressWarnings("unused")
+public class BackgroundMailSender {
+
+  /* Logger */
+  private static final Logger log = LoggerFactory.getLogger(BackgroundMailSender.class);
+
+  /** The Spring application context. */
+  private final ApplicationContext applicationContext;
+
+  /** The Mail Service. */
+  private final MailService mailService;
+
+  /** The meter registry used to export the mail sending metrics. */
+  private final MeterRegistry meterRegistry;
+
+  /** The number of mails queued for sending. */
+  private final AtomicLong queueDepth = new AtomicLong();
+
+  /** Are the queued mails currently being sent? */
+  private final AtomicBoolean sending = new AtomicBoolean();
+
+  /** Was sending requested while the queued mails were being sent? */
+  private final AtomicBoolean sendingRequested = new AtomicBoolean();
+
+  /** The maximum number of mails that will be locked and sent in a single batch. */
+  @Value("${inception.mail.sender.batch-size:100}")
+  private int batchSize;
+
+  /** The maximum time in milliseconds an SMTP connection can be idle before it is closed. */
+  @Value("${inception.mail.sender.connection-idle-timeout:60000}")
+  private long connectionIdleTimeout;
+
+  /** The maximum number of mails that will be sent concurrently for a recipient domain. */
+  @Value("${inception.mail.sender.domain-maximum-concurrency:2}")
+  private int domainMaximumConcurrency;
+
+  /**
+   * The maximum number of mails per second that will be sent for a recipient domain, where zero
+   * indicates no limit.
+   */
+  @Value("${inception.mail.sender.domain-rate-limit:10}")
+  private int domainRateLimit;
+
+  /** The executor used to send the queued mails. */
+  private ExecutorService executor;
+
+  /** The Java mail sender. */
+  private JavaMailSender javaMailSender;
+
+  /** The maximum number of concurrent SMTP connections. */
+  @Value("${inception.mail.sender.maximum-connections:4}")
+  private int maximumConnections;
+
+  /** The maximum number of mails that will be sent using a single SMTP connection. */
+  @Value("${inception.mail.sender.maximum-messages-per-connection:100}")
+  private int maximumMessagesPerConnection;
+
+  /** The initial delay in milliseconds to wait before re-attempting to send a mail. */
+  @Value("${inception.mail.sender.retry-initial-delay:60000}")
+  private long retryInitialDelay;
+
+  /** The maximum delay in milliseconds to wait before re-attempting to send a mail. */
+  @Value("${inception.mail.sender.retry-maximum-delay:3600000}")
+  private long retryMaximumDelay;
+
+  /** The timer for the mails that could not be sent and have been marked as failed. */
+  private Timer sendFailedTimer;
+
+  /** The timer for the mails that could not be sent and have been re-queued. */
+  private Timer sendRetryTimer;
+
+  /** The timer for the mails that were sent successfully. */
+  private Timer sendSuccessTimer;
+
+  /** The pool of SMTP transports used to send the queued mails. */
+  private SMTPTransportPool transportPool;
+
+  /**
+   * Constructs a new {@code BackgroundMailSender}.
+   *
+   * @param applicationContext the Spring application context
+   * @param mailService the Mail Service
+   * @param meterRegistryProvider the provider for the optional meter registry used to export the
+   *     mail sending metrics
+   */
+  public BackgroundMailSender(
+      ApplicationContext applicationContext,
+      MailService mailService,
+      ObjectProvider<MeterRegistry> meterRegistryProvider) {
+    this.applicationContext = applicationContext;
+    this.mailService = mailService;
+    this.meterRegistry = meterRegistryProvider.getIfAvailable();
+  }
+
+  /** Shutdown the Background Mail Sender. */
+  @PreDestroy
+  public void destroy() {
+    if (executor != null) {
+      executor.shutdownNow();
+    }
+
+    if (transportPool != null) {
+      transportPool.close();
+    }
+  }
+
+  /** Initialize the Background Mail Sender. */
+  @PostConstruct
+  public void init() {
+    log.info("Initializing the Background Mail Sender");
+
+    /*
+     * Reset any locks for mails that were previously being sent by the background mail sender.
+     */
+    try {
+      log.info("Resetting the locks for the mails being sent");
+
+      mailService.resetMailLocks(MailStatus.SENDING, MailStatus.QUEUED);
+    } catch (Throwable e) {
+      log.error("Failed to reset the locks for the mails being sent", e);
+    }
+
+    try {
+      javaMailSender = applicationContext.getBean(JavaMailSender.class);
+    } catch (NoSuchBeanDefinitionException ignored) {
+      log.warn("No JavaMailSender implementation found, queued mails will not be sent");
+    }
+
+    if (javaMailSender instanceof JavaMailSenderImpl javaMailSenderImpl) {
+      transportPool =
+          new SMTPTransportPool(
+              javaMailSenderImpl,
+              maximumConnections,
+              maximumMessagesPerConnection,
+              connectionIdleTimeout);
+    } else if (javaMailSender != null) {
+      log.warn(
+          "The JavaMailSender implementation ("
+              + javaMailSender.getClass().getName()
+              + ") does not support SMTP connection pooling");
+    }
+
+    executor =
+        Executors.newFixedThreadPool(
+            Math.max(1, maximumConnections), new MailSenderThreadFactory());
+
+    bindMetrics();
+  }
+
+  /** Send the mails queued for sending. */
+  @Scheduled(cron = "0 * * * * *")
+  public void sendMails() {
+    try {
+      if (javaMailSender == null) {
+        return;
+      }
+
+      // If the queued mails are already being sent then ensure another pass is made
+      if (!sending.compareAndSet(false, true)) {
+        sendingRequested.set(true);
+        return;
+      }
+
+      try {
+        do {
+          sendingRequested.set(false);
+
+          sendQueuedMails();
+        } while (sendingRequested.get());
+      } finally {
+        sending.set(false);
+      }
+    } finally {
+      updateQueueDepth();
+    }
+  }
+
+  private static String getDomain(InternetAddress address) {
+    String emailAddress = address.getAddress();
+
+    return emailAddress.substring(emailAddress.lastIndexOf('@') + 1);
+  }
+
+  private static boolean isPermanentFailure(Throwable cause) {
+    if (cause instanceof AddressException) {
+      return true;
+    }
+
+    // The mail was rejected for all its recipients and cannot be re-sent to any of them
+    if (cause instanceof SendFailedException sendFailedException) {
+      Address[] validUnsentAddresses = sendFailedException.getValidUnsentAddresses();
+
+      return (validUnsentAddresses == null) || (validUnsentAddresses.length == 0);
+    }
+
+    return false;
+  }
+
+  private void bindMetrics() {
+    if (meterRegistry == null) {
+      return;
+    }
+
+    Gauge.builder("inception.mail.queue.depth", queueDepth, AtomicLong::get)
+        .description("The number of mails queued for sending")
+        .register(meterRegistry);
+
+    sendSuccessTimer = buildSendTimer("sent");
+    sendRetryTimer = buildSendTimer("retry");
+    sendFailedTimer = buildSendTimer("failed");
+
+    if (transportPool != null) {
+      Gauge.builder(
+              "inception.mail.transports.idle",
+              transportPool,
+              SMTPTransportPool::getIdleTransports)
+          .description("The number of idle SMTP connections")
+          .register(meterRegistry);
+
+      FunctionCounter.builder(
+              "inception.mail.transports.connected",
+              transportPool,
+              SMTPTransportPool::getConnectedTransports)
+          .description("The total number of SMTP connections that have been established")
+          .register(meterRegistry);
+    }
+  }
+
+  private Timer buildSendTimer(String outcome) {
+    return Timer.builder("inception.mail.send.duration")
+        .description("The time taken to send a queued mail")
+        .tag("outcome", outcome)
+        .publishPercentiles(0.5, 0.95, 0.99)
+        .register(meterRegistry);
+  }
+
+  private MimeMessage createMimeMessage(Mail mail) throws Exception {
+    MimeMessage mimeMessage = javaMailSender.createMimeMessage();
+
+    MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, true);
+
+    helper.setFrom(new InternetAddress(mail.getFrom(), mail.getFromName()));
+
+    helper.setTo(InternetAddress.parse(mail.getTo()));
+
+    helper.setSubject(mail.getSubject());
+
+    helper.setText(mail.getBody(), mail.getContentType() == MailTemplateContentType.HTML);
+
+    return helper.getMimeMessage();
+  }
+
+  private Address[] getRecipients(Mail mail) throws AddressException {
+    return Arrays.stream(InternetAddress.parse(mail.getTo()))
+        .filter(address -> mail.getDomain().equalsIgnoreCase(getDomain(address)))
+        .toArray(Address[]::new);
+  }
+
+  private long getRetryDelay(int sendAttempts) {
+    long maximumRetryDelay = Math.max(1000, Math.max(retryInitialDelay, retryMaximumDelay));
+
+    long retryDelay = Math.max(1000, retryInitialDelay);
+
+    for (int i = 1; (i < sendAttempts) && (retryDelay < maximumRetryDelay); i++) {
+      retryDelay *= 2;
+    }
+
+    return Math.min(retryDelay, maximumRetryDelay);
+  }
+
+  private void handleSendFailure(Mail mail, Throwable cause) {
+    try {
+      int sendAttempts = (mail.getSendAttempts() == null) ? 1 : mail.getSendAttempts();
+
+      /*
+       * If the mail was permanently rejected or has exceeded the maximum number of send attempts
+       * then unlock it and set its status to "Failed" otherwise unlock it and set its status to
+       * "Queued" with an exponential backoff delay before the next send attempt.
+       */
+      if (isPermanentFailure(cause) || (sendAttempts >= mailService.getMaximumSendAttempts())) {
+        log.error(
+            "Failed to send the queued mail ("
+                + mail.getId()
+                + ") after "
+                + sendAttempts
+                + " attempt(s), the mail will be marked as FAILED",
+            cause);
+
+        mailService.unlockMail(mail.getId(), MailStatus.FAILED, null);
+      } else {
+        long retryDelay = getRetryDelay(sendAttempts);
+
+        log.warn(
+            "Failed to send the queued mail ("
+                + mail.getId()
+                + "), sending will be re-attempted in "
+                + retryDelay
+                + " ms: "
+                + cause.getMessage());
+
+        mailService.unlockMail(
+            mail.getId(),
+            MailStatus.QUEUED,
+            ApplicationClock.offsetNow().plus(retryDelay, ChronoUnit.MILLIS));
+      }
+    } catch (Throwable e) {
+      log.error(
+          "Failed to unlock and set the status for the queued mail (%s)".formatted(mail.getId()),
+          e);
+    }
+  }
+
+  private void recordSend(Timer timer, long started) {
+    if (timer != null) {
+      timer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  private void sendDomainMails(Queue<Mail> mails, DomainRateLimiter rateLimiter) {
+    PooledTransport pooledTransport = null;
+
+    try {
+      Mail mail;
+
+      while ((mail = mails.poll()) != null) {
+        if ((transportPool != null) && (pooledTransport == null)) {
+          try {
+            pooledTransport = transportPool.borrowTransport();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+          } catch (Throwable e) {
+            // The mail server is unavailable so re-queue all the remaining mails for the domain
+            do {
+              handleSendFailure(mail, e);
+            } while ((mail = mails.poll()) != null);
+
+            return;
+          }
+        }
+
+        try {
+          rateLimiter.acquire();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+
+        long started = System.nanoTime();
+
+        try {
+          if (log.isDebugEnabled()) {
+            log.debug("Sending the queued mail (%s)".formatted(mail.getId()));
+          }
+
+          MimeMessage mimeMessage = createMimeMessage(mail);
+
+          Address[] recipients = getRecipients(mail);
+
+          if (pooledTransport != null) {
+            pooledTransport.send(mimeMessage, recipients);
+          } else {
+            // Without connection pooling the mail can only be sent to the recipients in its headers
+            mimeMessage.setRecipients(Message.RecipientType.TO, recipients);
+
+            javaMailSender.send(mimeMessage);
+          }
+
+          recordSend(sendSuccessTimer, started);
+        } catch (Throwable e) {
+          recordSend(isPermanentFailure(e) ? sendFailedTimer : sendRetryTimer, started);
+
+          if ((pooledTransport != null) && (!PooledTransport.isReusableAfter(e))) {
+            transportPool.returnTransport(pooledTransport, false);
+            pooledTransport = null;
+          }
+
+          handleSendFailure(mail, e);
+
+          continue;
+        }
+
+        try {
+          mailService.deleteMail(mail.getId());
+        } catch (Throwable e) {
+          log.error("Failed to delete the sent mail (%s)".formatted(mail.getId()), e);
+        }
+      }
+    } finally {
+      if (pooledTransport != null) {
+        transportPool.returnTransport(pooledTransport, true);
+      }
+    }
+  }
+
+  private void sendQueuedMails() {
+    // The rate limiters are shared by all the batches sent during this pass
+    Map<String, DomainRateLimiter> rateLimiters = new HashMap<>();
+
+    long sendInterval = (domainRateLimit > 0) ? (TimeUnit.SECONDS.toNanos(1) / domainRateLimit) : 0;
+
+    while (true) {
+      // Retrieve and lock the next batch of mails queued for sending
+      List<Mail> mails;
+
+      try {
+        mails = mailService.getNextMailsQueuedForSending(Math.max(1, batchSize));
+
+        if (mails.isEmpty()) {
+          if (log.isDebugEnabled()) {
+            log.debug("No mails queued for sending");
+          }
+
+          return;
+        }
+      } catch (Throwable e) {
+        log.error("Failed to retrieve the next mails queued for sending", e);
+        return;
+      }
+
+      // Group the mails by recipient domain and send each group using a limited number of workers
+      Map<String, Queue<Mail>> mailsByDomain = new LinkedHashMap<>();
+
+      for (Mail mail : mails) {
+        mailsByDomain
+            .computeIfAbsent(mail.getDomain(), domain -> new ConcurrentLinkedQueue<>())
+            .add(mail);
+      }
+
+      List<CompletableFuture<Void>> workers = new ArrayList<>();
+
+      try {
+        for (Map.Entry<String, Queue<Mail>> domainMails : mailsByDomain.entrySet()) {
+          DomainRateLimiter rateLimiter =
+              rateLimiters.computeIfAbsent(
+                  domainMails.getKey(), domain -> new DomainRateLimiter(sendInterval));
+
+          int numberOfWorkers =
+              Math.min(Math.max(1, domainMaximumConcurrency), domainMails.getValue().size());
+
+          for (int i = 0; i < numberOfWorkers; i++) {
+            workers.add(
+                CompletableFuture.runAsync(
+                    () -> sendDomainMails(domainMails.getValue(), rateLimiter), executor));
+          }
+        }
+
+        CompletableFuture.allOf(workers.toArray(new CompletableFuture[0])).join();
+      } catch (Throwable e) {
+        log.error("Failed to send the batch of queued mails", e);
+        return;
+      }
+    }
+  }
+
+  private void updateQueueDepth() {
+    try {
+      queueDepth.set(mailService.getNumberOfMailsQueuedForSending());
+    } catch (Throwable e) {
+      log.error("Failed to retrieve the number of mails queued for sending", e);
+    }
+  }
+
+  /**
+   * The {@code DomainRateLimiter} class spaces the sends for a recipient domain so that they do not
+   * exceed the rate limit for the domain.
+   */
+  private static final class DomainRateLimiter {
+
+    /** The minimum interval in nanoseconds between sends, where zero indicates no limit. */
+    private final long sendInterval;
+
+    /** The time in nanoseconds when the next send is permitted. */
+    private long nextSendTime = System.nanoTime();
+
+    DomainRateLimiter(long sendInterval) {
+      this.sendInterval = sendInterval;
+    }
+
+    void acquire() throws InterruptedException {
+      if (sendInterval <= 0) {
+        return;
+      }
+
+      long waitTime;
+
+      synchronized (this) {
+        long now = System.nanoTime();
+
+        if (nextSendTime - now < 0) {
+          nextSendTime = now;
+        }
+
+        waitTime = nextSendTime - now;
+
+        nextSendTime += sendInterval;
+      }
+
+      if (waitTime > 0) {
+        TimeUnit.NANOSECONDS.sleep(waitTime);
+      }
+    }
+  }
+
+  private static class MailSenderThreadFactory implements ThreadFactory {
+
+    private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+    @Override
+    public Thread newThread(@Nonnull Runnable runnable) {
+      Thread thread =
+          new Thread(runnable, "background-mail-sender-" + threadNumber.getAndIncrement());
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+}
@@ -20,11 +20,14 @@ import digital.inception.core.exception.InvalidArgumentException;
 import digital.inception.core.exception.ServiceUnavailableException;
 import digital.inception.mail.exception.DuplicateMailTemplateException;
 import digital.inception.mail.exception.MailTemplateNotFoundException;
+import digital.inception.mail.model.Mail;
+import digital.inception.mail.model.MailStatus;
 import digital.inception.mail.model.MailTemplate;
 import digital.inception.mail.model.MailTemplateSummary;
 import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 /**
  * The {@code MailService} interface defines the functionality provided by a Mail Service
@@ -48,6 +51,15 @@ public interface MailService {
   MailTemplate createMailTemplate(MailTemplate mailTemplate)
       throws InvalidArgumentException, DuplicateMailTemplateException, ServiceUnavailableException;
 
+  /**
+   * Delete the mail.
+   *
+   * @param mailId the ID for the mail
+   * @throws InvalidArgumentException if an argument is invalid
+   * @throws ServiceUnavailableException if the mail could not be deleted
+   */
+  void deleteMail(UUID mailId) throws InvalidArgumentException, ServiceUnavailableException;
+
   /**
    * Delete the mail template.
    *
@@ -124,6 +136,36 @@ public interface MailService {
    */
   List<MailTemplate> getMailTemplates() throws ServiceUnavailableException;
 
+  /**
+   * Returns the maximum number of send attempts for a mail.
+   *
+   * @return the maximum number of send attempts for a mail
+   */
+  int getMaximumSendAttempts();
+
+  /**
+   * Retrieve the next mails that have been queued for sending.
+   *
+   * <p>The mails will be locked to prevent duplicate sending.
+   *
+   * @param maximumMails the maximum number of mails to retrieve
+   * @return the next mails that have been queued for sending
+   * @throws InvalidArgumentException if an argument is invalid
+   * @throws ServiceUnavailableException if the next mails queued for sending could not be
+   *     retrieved
+   */
+  List<Mail> getNextMailsQueuedForSending(int maximumMails)
+      throws InvalidArgumentException, ServiceUnavailableException;
+
+  /**
+   * Returns the number of mails queued for sending.
+   *
+   * @return the number of mails queued for sending
+   * @throws ServiceUnavailableException if the number of mails queued for sending could not be
+   *     retrieved
+   */
+  long getNumberOfMailsQueuedForSending() throws ServiceUnavailableException;
+
   /**
    * Check whether the mail template exists.
    *
@@ -148,7 +190,47 @@ public interface MailService {
       throws InvalidArgumentException, ServiceUnavailableException;
 
   /**
-   * Send a mail.
+   * Queue a mail for sending.
+   *
+   * <p>The mail template is processed when the mail is queued and a separate mail is queued for
+   * each recipient domain. The queued mails are sent asynchronously, after the current transaction
+   * commits, by the {@link BackgroundMailSender}.
+   *
+   * @param to the list of email addresses to send the mail to
+   * @param subject the subject for the mail
+   * @param from the from email address
+   * @param fromName the from email name
+   * @param mailTemplateId the ID for the mail template
+   * @param mailTemplateParameters the parameters to apply to the mail template
+   * @throws InvalidArgumentException if an argument is invalid
+   * @throws MailTemplateNotFoundException if the mail template could not be found
+   * @throws ServiceUnavailableException if the mail could not be queued for sending
+   */
+  void queueMail(
+      List<String> to,
+      String subject,
+      String from,
+      String fromName,
+      String mailTemplateId,
+      Map<String, String> mailTemplateParameters)
+      throws InvalidArgumentException, MailTemplateNotFoundException, ServiceUnavailableException;
+
+  /**
+   * Reset the mail locks.
+   *
+   * @param status the current status of the mails that have been locked
+   * @param newStatus the new status for the mails that have been unlocked
+   * @throws InvalidArgumentException if an argument is invalid
+   * @throws ServiceUnavailableException if the mail locks could not be reset
+   */
+  void resetMailLocks(MailStatus status, MailStatus newStatus)
+      throws InvalidArgumentException, ServiceUnavailableException;
+
+  /**
+   * Send a mail synchronously.
+   *
+   * <p>The mail is sent on the calling thread using a new connection to the mail server. Use
+   * {@link #queueMail(List, String, String, String, String, Map)} to send large numbers of mails.
    *
    * @param to the list of email addresses to send the mail to
    * @param subject the subject for the mail
@@ -169,6 +251,22 @@ public interface MailService {
       Map<String, String> mailTemplateParameters)
       throws InvalidArgumentException, MailTemplateNotFoundException, ServiceUnavailableException;
 
+  /** Trigger the asynchronous sending of the mails queued for sending. */
+  void triggerMailSending();
+
+  /**
+   * Unlock a locked mail.
+   *
+   * @param mailId the ID for the mail
+   * @param status the new status for the unlocked mail
+   * @param nextSendAttempt the date and time the next attempt will be made to send the mail or
+   *     {@code null} if the mail should be sent as soon as possible
+   * @throws InvalidArgumentException if an argument is invalid
+   * @throws ServiceUnavailableException if the mail could not be unlocked
+   */
+  void unlockMail(UUID mailId, MailStatus status, OffsetDateTime nextSendAttempt)
+      throws InvalidArgumentException, ServiceUnavailableException;
+
   /**
    * Update the mail template.
    *
@@ -19,11 +19,16 @@ package digital.inception.mail.service;
 import digital.inception.core.exception.InvalidArgumentException;
 import digital.inception.core.exception.ServiceUnavailableException;
 import digital.inception.core.service.AbstractServiceBase;
+import digital.inception.core.time.ApplicationClock;
+import digital.inception.core.util.ServiceUtil;
 import digital.inception.mail.exception.DuplicateMailTemplateException;
 import digital.inception.mail.exception.MailTemplateNotFoundException;
+import digital.inception.mail.model.Mail;
+import digital.inception.mail.model.MailStatus;
 import digital.inception.mail.model.MailTemplate;
 import digital.inception.mail.model.MailTemplateContentType;
 import digital.inception.mail.model.MailTemplateSummary;
+import digital.inception.mail.persistence.jpa.MailRepository;
 import digital.inception.mail.persistence.jpa.MailTemplateRepository;
 import digital.inception.mail.persistence.jpa.MailTemplateSummaryRepository;
 import freemarker.cache.TemplateLoader;
@@ -33,6 +38,7 @@ import freemarker.cache.TemplateLookupStrategy;
 import freemarker.template.Configuration;
 import freemarker.template.Template;
 import jakarta.annotation.PostConstruct;
+import jakarta.mail.internet.AddressException;
 import jakarta.mail.internet.InternetAddress;
 import jakarta.mail.internet.MimeMessage;
 import java.io.IOException;
@@ -41,17 +47,28 @@ import java.io.StringReader;
 import java.io.StringWriter;
 import java.nio.charset.StandardCharsets;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
 import org.springframework.beans.factory.NoSuchBeanDefinitionException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.StringUtils;
 
 /**
@@ -63,9 +80,21 @@ import org.springframework.util.StringUtils;
 @SuppressWarnings({"unused"})
 public class MailServiceImpl extends AbstractServiceBase implements MailService {
 
+  /** The maximum length of the comma-separated list of email addresses to send a mail to. */
+  private static final int MAXIMUM_TO_LENGTH = 4000;
+
+  /** The Spring application event publisher. */
+  private final ApplicationEventPublisher applicationEventPublisher;
+
   /** The Apache FreeMarker configuration., */
   private final Configuration freeMarkerConfiguration;
 
+  /* The name of the Mail Service instance. */
+  private final String instanceName = ServiceUtil.getServiceInstanceName("MailService");
+
+  /** The Mail Repository. */
+  private final MailRepository mailRepository;
+
   /** The Mail Template Repository. */
   private final MailTemplateRepository mailTemplateRepository;
 
@@ -75,19 +104,29 @@ public class MailServiceImpl extends AbstractServiceBase implements MailService
   /** The Java mail sender. */
   private JavaMailSender javaMailSender;
 
+  /** The maximum number of times sending will be attempted for a mail. */
+  @Value("${inception.mail.max-send-attempts:10}")
+  private int maximumSendAttempts;
+
   /**
    * Constructs a new {@code MailServiceImpl}.
    *
    * @param applicationContext the Spring {@link ApplicationContext}
+   * @param applicationEventPublisher the Spring application event publisher
+   * @param mailRepository the Mail Repository
    * @param mailTemplateRepository the Mail Template Repository
    * @param mailTemplateSummaryRepository the Mail Template Summary Repository
    */
   public MailServiceImpl(
       ApplicationContext applicationContext,
+      ApplicationEventPublisher applicationEventPublisher,
+      MailRepository mailRepository,
       MailTemplateRepository mailTemplateRepository,
       MailTemplateSummaryRepository mailTemplateSummaryRepository) {
     super(applicationContext);
 
+    this.applicationEventPublisher = applicationEventPublisher;
+    this.mailRepository = mailRepository;
     this.mailTemplateRepository = mailTemplateRepository;
     this.mailTemplateSummaryRepository = mailTemplateSummaryRepository;
 
@@ -129,6 +168,19 @@ public class MailServiceImpl extends AbstractServiceBase implements MailService
     }
   }
 
+  @Override
+  public void deleteMail(UUID mailId) throws InvalidArgumentException, ServiceUnavailableException {
+    if (mailId == null) {
+      throw new InvalidArgumentException("mailId");
+    }
+
+    try {
+      mailRepository.deleteById(mailId);
+    } catch (Throwable e) {
+      throw new ServiceUnavailableException("Failed to delete the mail (" + mailId + ")", e);
+    }
+  }
+
   @Override
   @CacheEvict(cacheNames = "mailTemplate", key = "#mailTemplateId")
   public void deleteMailTemplate(String mailTemplateId)
@@ -275,6 +327,58 @@ public class MailServiceImpl extends AbstractServiceBase implements MailService
     }
   }
 
+  @Override
+  public int getMaximumSendAttempts() {
+    return maximumSendAttempts;
+  }
+
+  @Override
+  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  public List<Mail> getNextMailsQueuedForSending(int maximumMails)
+      throws InvalidArgumentException, ServiceUnavailableException {
+    if (maximumMails <= 0) {
+      throw new InvalidArgumentException("maximumMails");
+    }
+
+    try {
+      OffsetDateTime when = ApplicationClock.offsetNow();
+
+      List<Mail> mails =
+          mailRepository.findMailsQueuedForSendingForWrite(when, PageRequest.of(0, maximumMails));
+
+      if (mails.isEmpty()) {
+        return mails;
+      }
+
+      mailRepository.lockMailsForSending(
+          mails.stream().map(Mail::getId).toList(), instanceName, when);
+
+      // The persistence context was cleared when the mails were locked so they are now detached
+      for (Mail mail : mails) {
+        mail.setStatus(MailStatus.SENDING);
+        mail.setLockName(instanceName);
+        mail.incrementSendAttempts();
+        mail.setLastProcessed(when);
+      }
+
+      return mails;
+    } catch (Throwable e) {
+      throw new ServiceUnavailableException(
+          "Failed to retrieve the next mails that have been queued for sending from the database",
+          e);
+    }
+  }
+
+  @Override
+  public long getNumberOfMailsQueuedForSending() throws ServiceUnavailableException {
+    try {
+      return mailRepository.countByStatusIn(List.of(MailStatus.QUEUED, MailStatus.SENDING));
+    } catch (Throwable e) {
+      throw new ServiceUnavailableException(
+          "Failed to retrieve the number of mails queued for sending", e);
+    }
+  }
+
   /** Initialize the Mail Service. */
   @PostConstruct
   public void init() {
@@ -324,6 +428,129 @@ public class MailServiceImpl extends AbstractServiceBase implements MailService
     }
   }
 
+  @Override
+  @Transactional
+  public void queueMail(
+      List<String> to,
+      String subject,
+      String from,
+      String fromName,
+      String mailTemplateId,
+      Map<String, String> mailTemplateParameters)
+      throws InvalidArgumentException, MailTemplateNotFoundException, ServiceUnavailableException {
+    if ((to == null) || to.isEmpty()) {
+      throw new InvalidArgumentException("to");
+    }
+
+    if (!StringUtils.hasText(subject)) {
+      throw new InvalidArgumentException("subject");
+    }
+
+    if (!StringUtils.hasText(from)) {
+      throw new InvalidArgumentException("from");
+    }
+
+    if (!StringUtils.hasText(fromName)) {
+      throw new InvalidArgumentException("fromName");
+    }
+
+    if (!StringUtils.hasText(mailTemplateId)) {
+      throw new InvalidArgumentException("mailTemplateId");
+    }
+
+    if (mailTemplateParameters == null) {
+      throw new InvalidArgumentException("mailTemplateParameters");
+    }
+
+    InternetAddress[] toAddresses;
+
+    try {
+      toAddresses = InternetAddress.parse(String.join(",", to), true);
+    } catch (AddressException ignored) {
+      throw new InvalidArgumentException("to");
+    }
+
+    String toHeader = InternetAddress.toString(toAddresses);
+
+    if ((toAddresses.length == 0) || (toHeader.length() > MAXIMUM_TO_LENGTH)) {
+      throw new InvalidArgumentException("to");
+    }
+
+    for (InternetAddress toAddress : toAddresses) {
+      if (toAddress.getAddress().lastIndexOf('@') < 1) {
+        throw new InvalidArgumentException("to");
+      }
+    }
+
+    try {
+      // Retrieve the mail template
+      Optional<MailTemplate> mailTemplateOptional = mailTemplateRepository.findById(mailTemplateId);
+
+      if (mailTemplateOptional.isEmpty()) {
+        throw new MailTemplateNotFoundException(mailTemplateId);
+      }
+
+      MailTemplate mailTemplate = mailTemplateOptional.get();
+
+      String body = processMailTemplate(mailTemplate.getId(), mailTemplateParameters);
+
+      /*
+       * Queue a separate mail for each recipient domain so the per-domain concurrency and rate
+       * limits can be applied by the Background Mail Sender.
+       */
+      Map<String, Mail> mailsByDomain = new LinkedHashMap<>();
+
+      for (InternetAddress toAddress : toAddresses) {
+        String domain = getDomain(toAddress);
+
+        mailsByDomain.computeIfAbsent(
+            domain,
+            key ->
+                new Mail(
+                    toHeader,
+                    key,
+                    from,
+                    fromName,
+                    subject,
+                    body,
+                    mailTemplate.getContentType(),
+                    MailStatus.QUEUED));
+      }
+
+      mailRepository.saveAll(new ArrayList<>(mailsByDomain.values()));
+
+      triggerMailSending();
+    } catch (MailTemplateNotFoundException e) {
+      throw e;
+    } catch (Throwable e) {
+      throw new ServiceUnavailableException("Failed to queue the mail for sending", e);
+    }
+  }
+
+  @Override
+  public void resetMailLocks(MailStatus status, MailStatus newStatus)
+      throws InvalidArgumentException, ServiceUnavailableException {
+    if (status == null) {
+      throw new InvalidArgumentException("status");
+    }
+
+    if (newStatus == null) {
+      throw new InvalidArgumentException("newStatus");
+    }
+
+    try {
+      mailRepository.resetMailLocks(status, newStatus, instanceName);
+    } catch (Throwable e) {
+      throw new ServiceUnavailableException(
+          "Failed to reset the locks for the mails with the status ("
+              + status
+              + ") that have been locked using the lock name ("
+              + instanceName
+              + ")",
+          e);
+    }
+  }
+
   @Override
   public void sendMail(
       List<String> to,
@@ -394,6 +621,42 @@ public class MailServiceImpl extends AbstractServiceBase implements MailService
     }
   }
 
+  @Override
+  public void triggerMailSending() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              // Fire-and-forget trigger *after* the TX is really committed
+              applicationEventPublisher.publishEvent(new TriggerMailSendingEvent());
+            }
+          });
+    } else {
+      applicationEventPublisher.publishEvent(new TriggerMailSendingEvent());
+    }
+  }
+
+  @Override
+  public void unlockMail(UUID mailId, MailStatus status, OffsetDateTime nextSendAttempt)
+      throws InvalidArgumentException, ServiceUnavailableException {
+    if (mailId == null) {
+      throw new InvalidArgumentException("mailId");
+    }
+
+    if (status == null) {
+      throw new InvalidArgumentException("status");
+    }
+
+    try {
+      mailRepository.unlockMail(mailId, status, nextSendAttempt);
+    } catch (Throwable e) {
+      throw new ServiceUnavailableException(
+          "Failed to unlock and set the status for the mail (" + mailId + ") to (" + status + ")",
+          e);
+    }
+  }
+
   @Override
   @CachePut(cacheNames = "mailTemplate", key = "#mailTemplate.id")
   public MailTemplate updateMailTemplate(MailTemplate mailTemplate)
@@ -423,6 +686,12 @@ public class MailServiceImpl extends AbstractServiceBase implements MailService
     }
   }
 
+  private static String getDomain(InternetAddress address) {
+    String emailAddress = address.getAddress();
+
+    return emailAddress.substring(emailAddress.lastIndexOf('@') + 1).toLowerCase(Locale.ROOT);
+  }
+
   /**
    * The {@code FreeMarkerTemplateLoader} class implements the Apache FreeMarker template loader.
    *
@@ -551,4 +820,7 @@ public class MailServiceImpl extends AbstractServiceBase implements MailService
       }
     }
   }
+
+  /** The {@code TriggerMailSendingEvent} record. */
+  public record TriggerMailSendingEvent() {}
 }
@@ -0,0 +1,278 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package digital.inception.mail.service;
+
+import jakarta.mail.Address;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import java.util.Date;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.util.StringUtils;
+
+/**
+ * The {@code SMTPTransportPool} class implements a pool of long-lived, connected SMTP transports
+ * that are reused to send multiple messages per connection, avoiding a new TCP connection and TLS
+ * handshake for every message.
+ *
+ * <p>The transports are created using the session and connection settings for a {@link
+ * JavaMailSenderImpl}. A transport is closed once it has sent the maximum number of messages per
+ * connection, has been idle for longer than the maximum idle time, or fails with an error that is
+ * not specific to the recipients for a message.
+ *
+ * @author Marcus Portmann
+ */
+final class SMTPTransportPool implements AutoCloseable {
+
+  /* Logger */
+  private static final Logger log = LoggerFactory.getLogger(SMTPTransportPool.class);
+
+  /** The number of transports that have been connected. */
+  private final AtomicLong connectedTransports = new AtomicLong();
+
+  /** The idle transports, with the most recently used transport first. */
+  private final BlockingDeque<PooledTransport> idleTransports = new LinkedBlockingDeque<>();
+
+  /** The Java mail sender providing the session and connection settings for the transports. */
+  private final JavaMailSenderImpl javaMailSender;
+
+  /** The maximum time in nanoseconds a transport can be idle before it is closed. */
+  private final long maximumIdleTime;
+
+  /** The maximum number of messages that will be sent using a single transport. */
+  private final int maximumMessagesPerConnection;
+
+  /** The permits limiting the number of transports that can be borrowed at the same time. */
+  private final Semaphore permits;
+
+  /** Is the pool closed? */
+  private volatile boolean closed;
+
+  /**
+   * Constructs a new {@code SMTPTransportPool}.
+   *
+   * @param javaMailSender the Java mail sender providing the session and connection settings for
+   *     the transports
+   * @param maximumSize the maximum number of transports that can be borrowed at the same time
+   * @param maximumMessagesPerConnection the maximum number of messages that will be sent using a
+   *     single transport
+   * @param maximumIdleTime the maximum time in milliseconds a transport can be idle before it is
+   *     closed
+   */
+  SMTPTransportPool(
+      JavaMailSenderImpl javaMailSender,
+      int maximumSize,
+      int maximumMessagesPerConnection,
+      long maximumIdleTime) {
+    this.javaMailSender = javaMailSender;
+    this.permits = new Semaphore(Math.max(1, maximumSize));
+    this.maximumMessagesPerConnection = Math.max(1, maximumMessagesPerConnection);
+    this.maximumIdleTime = TimeUnit.MILLISECONDS.toNanos(Math.max(0, maximumIdleTime));
+  }
+
+  /**
+   * Borrow a connected transport from the pool, waiting if the maximum number of transports have
+   * already been borrowed.
+   *
+   * <p>The transport must be returned to the pool using {@link #returnTransport(PooledTransport,
+   * boolean)}.
+   *
+   * @return the connected transport
+   * @throws InterruptedException if the thread is interrupted while waiting for a transport
+   * @throws MessagingException if a new transport could not be connected
+   */
+  PooledTransport borrowTransport() throws InterruptedException, MessagingException {
+    if (closed) {
+      throw new IllegalStateException("The SMTP transport pool has been closed");
+    }
+
+    permits.acquire();
+
+    try {
+      PooledTransport pooledTransport;
+
+      while ((pooledTransport = idleTransports.pollFirst()) != null) {
+        if (pooledTransport.isReusable(maximumIdleTime)) {
+          return pooledTransport;
+        }
+
+        pooledTransport.close();
+      }
+
+      return connect();
+    } catch (Throwable e) {
+      permits.release();
+      throw e;
+    }
+  }
+
+  /** Close the pool and all the idle transports. */
+  @Override
+  public void close() {
+    closed = true;
+
+    PooledTransport pooledTransport;
+
+    while ((pooledTransport = idleTransports.pollFirst()) != null) {
+      pooledTransport.close();
+    }
+  }
+
+  /**
+   * Returns the number of transports that have been connected.
+   *
+   * @return the number of transports that have been connected
+   */
+  long getConnectedTransports() {
+    return connectedTransports.get();
+  }
+
+  /**
+   * Returns the number of idle transports.
+   *
+   * @return the number of idle transports
+   */
+  int getIdleTransports() {
+    return idleTransports.size();
+  }
+
+  /**
+   * Return a borrowed transport to the pool.
+   *
+   * @param pooledTransport the borrowed transport
+   * @param reusable {@code true} if the transport can be reused or {@code false} if it should be
+   *     closed
+   */
+  void returnTransport(PooledTransport pooledTransport, boolean reusable) {
+    try {
+      if (reusable && (!closed) && (pooledTransport.messagesSent < maximumMessagesPerConnection)) {
+        pooledTransport.lastUsed = System.nanoTime();
+        idleTransports.offerFirst(pooledTransport);
+      } else {
+        pooledTransport.close();
+      }
+    } finally {
+      permits.release();
+    }
+  }
+
+  private PooledTransport connect() throws MessagingException {
+    String protocol = javaMailSender.getProtocol();
+
+    Transport transport =
+        javaMailSender.getSession().getTransport(StringUtils.hasText(protocol) ? protocol : "smtp");
+
+    String username = javaMailSender.getUsername();
+    String password = javaMailSender.getPassword();
+
+    transport.connect(
+        javaMailSender.getHost(),
+        javaMailSender.getPort(),
+        StringUtils.hasLength(username) ? username : null,
+        StringUtils.hasLength(password) ? password : null);
+
+    connectedTransports.incrementAndGet();
+
+    if (log.isDebugEnabled()) {
+      log.debug(
+          "Connected a new SMTP transport to the mail server ({}:{})",
+          javaMailSender.getHost(),
+          javaMailSender.getPort());
+    }
+
+    return new PooledTransport(transport);
+  }
+
+  /**
+   * The {@code PooledTransport} class holds a connected transport that has been borrowed from the
+   * pool.
+   *
+   * @author Marcus Portmann
+   */
+  static final class PooledTransport {
+
+    /** The connected transport. */
+    private final Transport transport;
+
+    /** The time in nanoseconds the transport was last returned to the pool. */
+    private long lastUsed;
+
+    /** The number of messages that have been sent using the transport. */
+    private int messagesSent;
+
+    /**
+     * Constructs a new {@code PooledTransport}.
+     *
+     * @param transport the connected transport
+     */
+    private PooledTransport(Transport transport) {
+      this.transport = transport;
+      this.lastUsed = System.nanoTime();
+    }
+
+    /**
+     * Returns whether the error that occurred while sending a message using the transport was
+     * specific to the message, in which case the transport can still be reused.
+     *
+     * @param cause the error that occurred while sending a message
+     * @return {@code true} if the transport can still be reused or {@code false} otherwise
+     */
+    static boolean isReusableAfter(Throwable cause) {
+      return cause instanceof SendFailedException;
+    }
+
+    /**
+     * Send the message to the recipients using the transport.
+     *
+     * @param message the message
+     * @param recipients the recipients to deliver the message to, which may be a subset of the
+     *     recipients in the headers for the message
+     * @throws MessagingException if the message could not be sent
+     */
+    void send(MimeMessage message, Address[] recipients) throws MessagingException {
+      if (message.getSentDate() == null) {
+        message.setSentDate(new Date());
+      }
+
+      message.saveChanges();
+
+      messagesSent++;
+
+      transport.sendMessage(message, recipients);
+    }
+
+    private void close() {
+      try {
+        transport.close();
+      } catch (Throwable e) {
+        log.debug("Failed to close the SMTP transport", e);
+      }
+    }
+
+    private boolean isReusable(long maximumIdleTime) {
+      return ((System.nanoTime() - lastUsed) < maximumIdleTime) && transport.isConnected();
+    }
+  }
+}
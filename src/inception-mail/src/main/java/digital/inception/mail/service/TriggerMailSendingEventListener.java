@@ -0,0 +1,59 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package digital.inception.mail.service;
+
+import digital.inception.mail.service.MailServiceImpl.TriggerMailSendingEvent;
+import java.util.concurrent.RejectedExecutionException;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+/**
+ * The {@code TriggerMailSendingEventListener} class.
+ *
+ * @author Marcus Portmann
+ */
+@Component
+public class TriggerMailSendingEventListener {
+
+  /** The Background Mail Sender. */
+  private final BackgroundMailSender backgroundMailSender;
+
+  /**
+   * Constructs a new {@code TriggerMailSendingEventListener}
+   *
+   * @param backgroundMailSender the Background Mail Sender
+   */
+  public TriggerMailSendingEventListener(BackgroundMailSender backgroundMailSender) {
+    this.backgroundMailSender = backgroundMailSender;
+  }
+
+  /**
+   * Handle the event to trigger mail sending
+   *
+   * @param triggerMailSendingEvent the event to trigger mail sending
+   */
+  @Async("triggerMailSendingExecutor")
+  @EventListener
+  @SuppressWarnings("unused")
+  public void onMailSendingTriggered(TriggerMailSendingEvent triggerMailSendingEvent) {
+    try {
+      backgroundMailSender.sendMails();
+    } catch (RejectedExecutionException ignored) {
+    }
+  }
+}
@@ -21,6 +21,10 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.GreenMailUtil;
+import com.icegreen.greenmail.util.ServerSetup;
+import digital.inception.core.exception.InvalidArgumentException;
 import digital.inception.core.util.ResourceUtil;
 import digital.inception.mail.exception.MailTemplateNotFoundException;
 import digital.inception.mail.model.MailTemplate;
@@ -29,10 +33,18 @@ import digital.inception.mail.model.MailTemplateSummary;
 import digital.inception.mail.service.MailService;
 import digital.inception.test.InceptionExtension;
 import digital.inception.test.TestConfiguration;
+import jakarta.mail.Address;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -67,6 +79,78 @@ public class MailServiceTests {
   /** The Mail Service. */
   @Autowired private MailService mailService;
 
+  /**
+   * Test that the queued mails are sent by the Background Mail Sender, using the pooled SMTP
+   * transports, with a separate mail sent for each recipient domain.
+   */
+  @Test
+  public void backgroundMailSenderTest() throws Exception {
+    // Start a GreenMail server listening on the host and port used by the Java mail sender
+    GreenMail greenMail =
+        new GreenMail(new ServerSetup(2500, "127.0.0.1", ServerSetup.PROTOCOL_SMTP));
+
+    greenMail.setUser("inception", "inception");
+
+    greenMail.start();
+
+    MailTemplate mailTemplate = getTestMailTemplateDetails();
+
+    try {
+      mailService.createMailTemplate(mailTemplate);
+
+      Map<String, String> mapTemplateParameters = new HashMap<>();
+      mapTemplateParameters.put("name", "Joe Bloggs");
+
+      String subject = "Test Background Mail Sender Subject " + UUID.randomUUID();
+
+      // Queueing the mails triggers sending once the mails have been committed
+      mailService.queueMail(
+          List.of("test1@test.com", "test2@test.com", "test@example.com"),
+          subject,
+          "no-reply@inception.digital",
+          "Inception",
+          mailTemplate.getId(),
+          mapTemplateParameters);
+
+      List<MimeMessage> receivedMessages = List.of();
+
+      for (int i = 0; (i < 300) && (receivedMessages.size() < 3); i++) {
+        Thread.sleep(100);
+
+        receivedMessages = getReceivedMessages(greenMail, subject);
+      }
+
+      assertEquals(
+          3, receivedMessages.size(), "The correct number of queued mails were not received");
+
+      Set<String> recipients = new HashSet<>();
+
+      for (MimeMessage receivedMessage : receivedMessages) {
+        for (Address recipient : receivedMessage.getAllRecipients()) {
+          recipients.add(((InternetAddress) recipient).getAddress());
+        }
+
+        assertEquals(
+            "no-reply@inception.digital",
+            ((InternetAddress) receivedMessage.getFrom()[0]).getAddress(),
+            "The correct sender was not found for the received mail");
+        assertTrue(
+            GreenMailUtil.getBody(receivedMessage).contains("Joe Bloggs"),
+            "The rendered mail template was not found in the received mail");
+      }
+
+      // Each recipient domain is sent a separate mail addressed only to its own recipients
+      assertEquals(
+          Set.of("test1@test.com", "test2@test.com", "test@example.com"),
+          recipients,
+          "The correct recipients were not found for the received mails");
+    } finally {
+      mailService.deleteMailTemplate(mailTemplate.getId());
+
+      greenMail.stop();
+    }
+  }
+
   /** Test the mail template functionality. */
   @Test
   public void mailTemplateTest() throws Exception {
@@ -137,6 +221,61 @@ public class MailServiceTests {
     }
   }
 
+  /** Test the queue mail functionality. */
+  @Test
+  public void queueMailTest() throws Exception {
+    MailTemplate mailTemplate = getTestMailTemplateDetails();
+
+    mailService.createMailTemplate(mailTemplate);
+
+    Map<String, String> mapTemplateParameters = new HashMap<>();
+    mapTemplateParameters.put("name", "Joe Bloggs");
+
+    long numberOfMailsQueuedForSending = mailService.getNumberOfMailsQueuedForSending();
+
+    // A separate mail is queued for each recipient domain
+    mailService.queueMail(
+        List.of("test1@test.com", "test2@test.com", "test@example.com"),
+        "Test Subject",
+        "no-reply@inception.digital",
+        "Inception",
+        mailTemplate.getId(),
+        mapTemplateParameters);
+
+    assertEquals(
+        numberOfMailsQueuedForSending + 2,
+        mailService.getNumberOfMailsQueuedForSending(),
+        "The correct number of mails queued for sending was not retrieved");
+
+    try {
+      mailService.queueMail(
+          List.of("test"),
+          "Test Subject",
+          "no-reply@inception.digital",
+          "Inception",
+          mailTemplate.getId(),
+          mapTemplateParameters);
+
+      fail("A mail was queued for sending with an invalid email address");
+    } catch (InvalidArgumentException ignored) {
+    }
+
+    try {
+      mailService.queueMail(
+          List.of("test@test.com"),
+          "Test Subject",
+          "no-reply@inception.digital",
+          "Inception",
+          "UnknownMailTemplate",
+          mapTemplateParameters);
+
+      fail("A mail was queued for sending using a mail template that does not exist");
+    } catch (MailTemplateNotFoundException ignored) {
+    }
+
+    mailService.deleteMailTemplate(mailTemplate.getId());
+  }
+
   /** Test the send mail functionality. */
   // @Test
   public void sendMailTest() throws Exception {
@@ -171,6 +310,19 @@ public class MailServiceTests {
     return mailTemplate;
   }
 
+  private static List<MimeMessage> getReceivedMessages(GreenMail greenMail, String subject)
+      throws MessagingException {
+    List<MimeMessage> receivedMessages = new ArrayList<>();
+
+    for (MimeMessage receivedMessage : greenMail.getReceivedMessages()) {
+      if (subject.equals(receivedMessage.getSubject())) {
+        receivedMessages.add(receivedMessage);
+      }
+    }
+
+    return receivedMessages;
+  }
+
   private void compareMailTemplateToMailTemplateSummary(
       MailTemplate mailTemplate, MailTemplateSummary mailTemplateSummary) {
     assertEquals(
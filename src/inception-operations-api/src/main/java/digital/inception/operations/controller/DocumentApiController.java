@@ -49,6 +49,7 @@ import digital.inception.operations.model.SearchDocumentsRequest;
 import digital.inception.operations.model.UpdateDocumentNoteRequest;
 import digital.inception.operations.model.UpdateDocumentRequest;
 import digital.inception.operations.model.UpdateDocumentTemplateRequest;
+import digital.inception.operations.model.UploadDocumentRequest;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -60,6 +61,7 @@ import java.util.List;
 import java.util.UUID;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -67,7 +69,10 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * The {@code DocumentApiController} interface.
@@ -944,6 +949,76 @@ public interface DocumentApiController {
           UUID documentId)
       throws InvalidArgumentException, DocumentNotFoundException, ServiceUnavailableException;
 
+  /**
+   * Retrieve the data for the document.
+   *
+   * <p>The data is streamed to the client in chunks as it is read from the blob store, so the
+   * document is never held in memory in its entirety.
+   *
+   * @param tenantId the ID for the tenant
+   * @param documentId the ID for the document
+   * @return the data for the document
+   * @throws InvalidArgumentException if an argument is invalid
+   * @throws DocumentNotFoundException if the document could not be found
+   * @throws ServiceUnavailableException if the data for the document could not be retrieved
+   */
+  @Operation(
+      summary = "Retrieve the data for the document",
+      description = "Retrieve the data for the document")
+  @ApiResponses(
+      value = {
+        @ApiResponse(responseCode = "200", description = "The data for the document was retrieved"),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid argument",
+            content =
+                @Content(
+                    mediaType = "application/problem+json",
+                    schema = @Schema(implementation = ProblemDetails.class))),
+        @ApiResponse(
+            responseCode = "403",
+            description = "Access denied",
+            content =
+                @Content(
+                    mediaType = "application/problem+json",
+                    schema = @Schema(implementation = ProblemDetails.class))),
+        @ApiResponse(
+            responseCode = "404",
+            description = "The document could not be found",
+            content =
+                @Content(
+                    mediaType = "application/problem+json",
+                    schema = @Schema(implementation = ProblemDetails.class))),
+        @ApiResponse(
+            responseCode = "500",
+            description =
+                "An error has occurred and the request could not be processed at this time",
+            content =
+                @Content(
+                    mediaType = "application/problem+json",
+                    schema = @Schema(implementation = ProblemDetails.class)))
+      })
+  @RequestMapping(
+      value = "/documents/{documentId}/data",
+      method = RequestMethod.GET,
+      produces = MediaType.ALL_VALUE)
+  @PreAuthorize(
+      "isSecurityDisabled() or hasRole('Administrator') or hasRole('WorkflowEngine') or hasAuthority('FUNCTION_Operations.OperationsAdministration') or hasAuthority('FUNCTION_Operations.DocumentAdministration') or hasAuthority('FUNCTION_Operations.Indexing')")
+  ResponseEntity<StreamingResponseBody> getDocumentData(
+      @Parameter(
+              name = "Tenant-ID",
+              description = "The ID for the tenant",
+              example = "00000000-0000-0000-0000-000000000000")
+          @RequestHeader(
+              name = "Tenant-ID",
+              defaultValue = "00000000-0000-0000-0000-000000000000",
+              required = false)
+          UUID tenantId,
+      @Parameter(name = "documentId", description = "The ID for the document", required = true)
+          @PathVariable
+          UUID documentId)
+      throws InvalidArgumentException, DocumentNotFoundException, ServiceUnavailableException;
+
   /**
    * Retrieve the document definition.
    *
@@ -2182,4 +2257,83 @@ public interface DocumentApiController {
       throws InvalidArgumentException,
           DocumentTemplateCategoryNotFoundException,
           ServiceUnavailableException;
+
+  /**
+   * Upload the document.
+   *
+   * <p>The data for the document is uploaded as a multipart file, which is streamed to the blob
+   * store, so documents of any size are uploaded with constant memory.
+   *
+   * @param tenantId the ID for the tenant
+   * @param uploadDocumentRequest the request to upload the document
+   * @param data the data for the document
+   * @return the ID for the document
+   * @throws InvalidArgumentException if an argument is invalid
+   * @throws DocumentDefinitionNotFoundException if the document definition could not be found
+   * @throws ServiceUnavailableException if the document could not be uploaded
+   */
+  @Operation(summary = "Upload the document", description = "Upload the document")
+  @ApiResponses(
+      value = {
+        @ApiResponse(responseCode = "200", description = "The document was uploaded"),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid argument",
+            content =
+                @Content(
+                    mediaType = "application/problem+json",
+                    schema = @Schema(implementation = ProblemDetails.class))),
+        @ApiResponse(
+            responseCode = "403",
+            description = "Access denied",
+            content =
+                @Content(
+                    mediaType = "application/problem+json",
+                    schema = @Schema(implementation = ProblemDetails.class))),
+        @ApiResponse(
+            responseCode = "404",
+            description = "The document definition could not be found",
+            content =
+                @Content(
+                    mediaType = "application/problem+json",
+                    schema = @Schema(implementation = ProblemDetails.class))),
+        @ApiResponse(
+            responseCode = "500",
+            description =
+                "An error has occurred and the request could not be processed at this time",
+            content =
+                @Content(
+                    mediaType = "application/problem+json",
+                    schema = @Schema(implementation = ProblemDetails.class)))
+      })
+  @RequestMapping(
+      value = "/upload-document",
+      method = RequestMethod.POST,
+      consumes = MediaType.MULTIPART_FORM_DATA_VALUE,
+      produces = MediaType.APPLICATION_JSON_VALUE)
+  @ResponseStatus(HttpStatus.OK)
+  @PreAuthorize(
+      "isSecurityDisabled() or hasRole('Administrator') or hasRole('WorkflowEngine') or hasAuthority('FUNCTION_Operations.OperationsAdministration') or hasAuthority('FUNCTION_Operations.DocumentAdministration') or hasAuthority('FUNCTION_Operations.Indexing')")
+  UUID uploadDocument(
+      @Parameter(
+              name = "Tenant-ID",
+              description = "The ID for the tenant",
+              example = "00000000-0000-0000-0000-000000000000")
+          @RequestHeader(
+              name = "Tenant-ID",
+              defaultValue = "00000000-0000-0000-0000-000000000000",
+              required = false)
+          UUID tenantId,
+      @Parameter(
+              name = "uploadDocumentRequest",
+              description = "The request to upload the document",
+              required = true)
+          @RequestPart("uploadDocumentRequest")
+          UploadDocumentRequest uploadDocumentRequest,
+      @Parameter(name = "data", description = "The data for the document", required = true)
+          @RequestPart("data")
+          MultipartFile data)
+      throws InvalidArgumentException,
+          DocumentDefinitionNotFoundException,
+          ServiceUnavailableException;
 }
@@ -41,6 +41,7 @@ import digital.inception.operations.model.DocumentNote;
 import digital.inception.operations.model.DocumentNoteSortBy;
 import digital.inception.operations.model.DocumentNotes;
 import digital.inception.operations.model.DocumentSummaries;
+import digital.inception.operations.model.DocumentSummary;
 import digital.inception.operations.model.DocumentTemplate;
 import digital.inception.operations.model.DocumentTemplateCategory;
 import digital.inception.operations.model.DocumentTemplateSortBy;
@@ -50,15 +51,25 @@ import digital.inception.operations.model.SearchDocumentsRequest;
 import digital.inception.operations.model.UpdateDocumentNoteRequest;
 import digital.inception.operations.model.UpdateDocumentRequest;
 import digital.inception.operations.model.UpdateDocumentTemplateRequest;
+import digital.inception.operations.model.UploadDocumentRequest;
 import digital.inception.operations.service.DocumentService;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
 import org.springframework.context.ApplicationContext;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * The {@code DocumentApiControllerImpl} class.
@@ -256,6 +267,48 @@ public class DocumentApiControllerImpl extends SecureApiController
     return documentService.getDocument(tenantId, documentId);
   }
 
+  @Override
+  public ResponseEntity<StreamingResponseBody> getDocumentData(UUID tenantId, UUID documentId)
+      throws InvalidArgumentException, DocumentNotFoundException, ServiceUnavailableException {
+    tenantId = (tenantId == null) ? TenantUtil.DEFAULT_TENANT_ID : tenantId;
+
+    if ((!hasAccessToFunction("Operations.OperationsAdministration"))
+        && (!hasAccessToFunction("Operations.DocumentAdministration"))
+        && (!hasAccessToTenant(tenantId))) {
+      throw new AccessDeniedException("Access denied to the tenant (" + tenantId + ")");
+    }
+
+    // Retrieve the summary first so a missing document is reported before the response starts
+    DocumentSummary documentSummary = documentService.getDocumentSummary(tenantId, documentId);
+
+    UUID documentTenantId = tenantId;
+
+    StreamingResponseBody responseBody =
+        outputStream -> {
+          try {
+            documentService.writeDocumentData(documentTenantId, documentId, outputStream);
+          } catch (Throwable e) {
+            throw new IOException(
+                "Failed to stream the data for the document ("
+                    + documentId
+                    + ") for the tenant ("
+                    + documentTenantId
+                    + ")",
+                e);
+          }
+        };
+
+    return ResponseEntity.ok()
+        .contentType(MediaType.parseMediaType(documentSummary.getFileType().mimeType()))
+        .header(
+            HttpHeaders.CONTENT_DISPOSITION,
+            ContentDisposition.attachment()
+                .filename(documentSummary.getName(), StandardCharsets.UTF_8)
+                .build()
+                .toString())
+        .body(responseBody);
+  }
+
   @Override
   public DocumentDefinition getDocumentDefinition(String documentDefinitionId)
       throws InvalidArgumentException,
@@ -537,4 +590,31 @@ public class DocumentApiControllerImpl extends SecureApiController
 
     documentService.updateDocumentTemplateCategory(documentTemplateCategory);
   }
+
+  @Override
+  public UUID uploadDocument(
+      UUID tenantId, UploadDocumentRequest uploadDocumentRequest, MultipartFile data)
+      throws InvalidArgumentException,
+          DocumentDefinitionNotFoundException,
+          ServiceUnavailableException {
+    tenantId = (tenantId == null) ? TenantUtil.DEFAULT_TENANT_ID : tenantId;
+
+    if ((!hasAccessToFunction("Operations.OperationsAdministration"))
+        && (!hasAccessToFunction("Operations.DocumentAdministration"))
+        && (!hasAccessToTenant(tenantId))) {
+      throw new AccessDeniedException("Access denied to the tenant (" + tenantId + ")");
+    }
+
+    if ((data == null) || data.isEmpty()) {
+      throw new InvalidArgumentException("data");
+    }
+
+    try (InputStream inputStream = data.getInputStream()) {
+      return documentService.uploadDocument(
+          tenantId, uploadDocumentRequest, inputStream, getAuthenticationName());
+    } catch (IOException e) {
+      throw new ServiceUnavailableException(
+          "Failed to read the uploaded data for the document for the tenant (" + tenantId + ")", e);
+    }
+  }
 }
@@ -62,6 +62,7 @@ import java.util.List;
 import java.util.UUID;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -70,6 +71,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * The {@code InteractionApiController} interface.
@@ -903,6 +905,93 @@ public interface InteractionApiController {
           InteractionAttachmentNotFoundException,
           ServiceUnavailableException;
 
+  /**
+   * Retrieve the data for the interaction attachment.
+   *
+   * <p>The data is streamed to the client in chunks as it is read from the blob store, so the
+   * interaction attachment is never held in memory in its entirety.
+   *
+   * @param tenantId the ID for the tenant
+   * @param interactionId the ID for the interaction
+   * @param interactionAttachmentId the ID for the interaction attachment
+   * @return the data for the interaction attachment
+   * @throws InvalidArgumentException if an argument is invalid
+   * @throws InteractionNotFoundException if the interaction could not be found
+   * @throws InteractionAttachmentNotFoundException if the interaction attachment could not be found
+   * @throws ServiceUnavailableException if the data for the interaction attachment could not be
+   *     retrieved
+   */
+  @Operation(
+      summary = "Retrieve the data for the interaction attachment",
+      description = "Retrieve the data for the interaction attachment")
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "The data for the interaction attachment was retrieved"),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid argument",
+            content =
+                @Content(
+                    mediaType = "application/problem+json",
+                    schema = @Schema(implementation = ProblemDetails.class))),
+        @ApiResponse(
+            responseCode = "403",
+            description = "Access denied",
+            content =
+                @Content(
+                    mediaType = "application/problem+json",
+                    schema = @Schema(implementation = ProblemDetails.class))),
+        @ApiResponse(
+            responseCode = "404",
+            description = "The interaction or interaction attachment could not be found",
+            content =
+                @Content(
+                    mediaType = "application/problem+json",
+                    schema = @Schema(implementation = ProblemDetails.class))),
+        @ApiResponse(
+            responseCode = "500",
+            description =
+                "An error has occurred and the request could not be processed at this time",
+            content =
+                @Content(
+                    mediaType = "application/problem+json",
+                    schema = @Schema(implementation = ProblemDetails.class)))
+      })
+  @RequestMapping(
+      value = "/interactions/{interactionId}/attachments/{interactionAttachmentId}/data",
+      method = RequestMethod.GET,
+      produces = MediaType.ALL_VALUE)
+  @PreAuthorize(
+      "isSecurityDisabled() or hasRole('Administrator') or hasRole('WorkflowEngine') or hasAuthority('FUNCTION_Operations.OperationsAdministration') or hasAuthority('FUNCTION_Operations.InteractionAdministration') or hasAuthority('FUNCTION_Operations.Indexing')")
+  ResponseEntity<StreamingResponseBody> getInteractionAttachmentData(
+      @Parameter(
+              name = "Tenant-ID",
+              description = "The ID for the tenant",
+              example = "00000000-0000-0000-0000-000000000000")
+          @RequestHeader(
+              name = "Tenant-ID",
+              defaultValue = "00000000-0000-0000-0000-000000000000",
+              required = false)
+          UUID tenantId,
+      @Parameter(
+              name = "interactionId",
+              description = "The ID for the interaction",
+              required = true)
+          @PathVariable
+          UUID interactionId,
+      @Parameter(
+              name = "interactionAttachmentId",
+              description = "The ID for the interaction attachment",
+              required = true)
+          @PathVariable
+          UUID interactionAttachmentId)
+      throws InvalidArgumentException,
+          InteractionNotFoundException,
+          InteractionAttachmentNotFoundException,
+          ServiceUnavailableException;
+
   /**
    * Retrieve the summaries for the interaction attachments for the interaction.
    *
@@ -39,6 +39,7 @@ import digital.inception.operations.model.Interaction;
 import digital.inception.operations.model.InteractionAttachment;
 import digital.inception.operations.model.InteractionAttachmentSortBy;
 import digital.inception.operations.model.InteractionAttachmentSummaries;
+import digital.inception.operations.model.InteractionAttachmentSummary;
 import digital.inception.operations.model.InteractionDirection;
 import digital.inception.operations.model.InteractionNote;
 import digital.inception.operations.model.InteractionNoteSortBy;
@@ -55,14 +56,21 @@ import digital.inception.operations.model.SearchInteractionsRequest;
 import digital.inception.operations.model.TransferInteractionRequest;
 import digital.inception.operations.model.UpdateInteractionNoteRequest;
 import digital.inception.operations.service.InteractionService;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
 import org.springframework.context.ApplicationContext;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * The {@code InteractionApiControllerImpl} class.
@@ -367,6 +375,70 @@ public class InteractionApiControllerImpl extends SecureApiController
     return interactionAttachment;
   }
 
+  @Override
+  public ResponseEntity<StreamingResponseBody> getInteractionAttachmentData(
+      UUID tenantId, UUID interactionId, UUID interactionAttachmentId)
+      throws InvalidArgumentException,
+          InteractionNotFoundException,
+          InteractionAttachmentNotFoundException,
+          ServiceUnavailableException {
+    tenantId = (tenantId == null) ? TenantUtil.DEFAULT_TENANT_ID : tenantId;
+
+    if ((!hasAccessToFunction("Operations.OperationsAdministration"))
+        && (!hasAccessToFunction("Operations.InteractionAdministration"))
+        && (!hasAccessToTenant(tenantId))) {
+      throw new AccessDeniedException("Access denied to the tenant (" + tenantId + ")");
+    }
+
+    UUID interactionSourceId =
+        interactionService.getInteractionSourceIdForInteraction(tenantId, interactionId);
+
+    if ((!hasAccessToFunction("Operations.OperationsAdministration"))
+        && (!hasAccessToFunction("Operations.InteractionAdministration"))
+        && (!hasInteractionSourcePermission(
+            tenantId, interactionSourceId, InteractionPermissionType.RETRIEVE_INTERACTION))) {
+      throw new AccessDeniedException(
+          "Access denied to the interaction source (" + interactionSourceId + ")");
+    }
+
+    // Retrieve the summary first so a missing attachment is reported before the response is sent
+    InteractionAttachmentSummary interactionAttachmentSummary =
+        interactionService.getInteractionAttachmentSummary(tenantId, interactionAttachmentId);
+
+    if (!Objects.equals(interactionAttachmentSummary.getInteractionId(), interactionId)) {
+      throw new InteractionAttachmentNotFoundException(interactionAttachmentId);
+    }
+
+    UUID interactionAttachmentTenantId = tenantId;
+
+    StreamingResponseBody responseBody =
+        outputStream -> {
+          try {
+            interactionService.writeInteractionAttachmentData(
+                interactionAttachmentTenantId, interactionAttachmentId, outputStream);
+          } catch (Throwable e) {
+            throw new IOException(
+                "Failed to stream the data for the interaction attachment ("
+                    + interactionAttachmentId
+                    + ") for the tenant ("
+                    + interactionAttachmentTenantId
+                    + ")",
+                e);
+          }
+        };
+
+    return ResponseEntity.ok()
+        .contentType(
+            MediaType.parseMediaType(interactionAttachmentSummary.getFileType().mimeType()))
+        .header(
+            HttpHeaders.CONTENT_DISPOSITION,
+            ContentDisposition.attachment()
+                .filename(interactionAttachmentSummary.getName(), StandardCharsets.UTF_8)
+                .build()
+                .toString())
+        .body(responseBody);
+  }
+
   @Override
   public InteractionAttachmentSummaries getInteractionAttachmentSummaries(
       UUID tenantId,
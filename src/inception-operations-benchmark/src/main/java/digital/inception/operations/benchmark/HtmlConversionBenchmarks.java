@@ -0,0 +1,148 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package digital.inception.operations.benchmark;
+
+import digital.inception.operations.util.HtmlToMarkdown;
+import digital.inception.operations.util.HtmlToSimplifiedHtml;
+import digital.inception.operations.util.StreamingHtmlToMarkdown;
+import digital.inception.operations.util.StreamingHtmlToSimplifiedHtml;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The {@code HtmlConversionBenchmarks} class contains the JMH benchmarks for the DOM-based {@code
+ * HtmlToSimplifiedHtml} and {@code HtmlToMarkdown} converters and the {@code
+ * StreamingHtmlToSimplifiedHtml} and {@code StreamingHtmlToMarkdown} converters.
+ *
+ * <p>The benchmarks convert a large newsletter-style HTML email body, which is generated once per
+ * trial by repeating an Outlook-style message body in a table. Run the benchmarks with the JMH
+ * {@code gc} profiler to compare the memory allocated per conversion.
+ *
+ * @author Marcus Portmann
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class HtmlConversionBenchmarks {
+
+  /** The Outlook-style message body that is repeated to generate the HTML. */
+  private static final String MESSAGE_BODY =
+      """
+      <div class="WordSection1"><p class="MsoNormal"><span style="font-size:11.0pt;\
+      font-family:&quot;Calibri&quot;,sans-serif;color:#1F497D">Good morning,<o:p></o:p></span>\
+      </p><p class="MsoNormal"><span style="font-size:11.0pt">Please find the “latest” \
+      statement attached. Contact us at <a href="mailto:support@example.com">\
+      support@example.com</a> or visit <a href="https://www.example.com/statements?id=1234">\
+      our website</a> for more information.<o:p></o:p></span></p><p class="MsoNormal">&nbsp;\
+      </p><table class="MsoNormalTable" border="0" cellspacing="0" cellpadding="0"><tr>\
+      <td style="padding:0cm 5.4pt"><p class="MsoNormal"><b><span style="color:#002060">\
+      Account</span></b></p></td><td style="padding:0cm 5.4pt"><p class="MsoNormal">\
+      <span>1234567890</span></p></td></tr><tr><td><p class="MsoNormal"><b>Balance</b></p>\
+      </td><td><p class="MsoNormal"><span>R 1&nbsp;234.56</span></p></td></tr></table>\
+      <ul><li>First item</li><li>Second item</li></ul><p class="MsoNormal">Kind regards,<br>\
+      <i>The Example Team</i><img width="120" height="40" src="cid:image001.png@01DA0000">\
+      </p></div>""";
+
+  /** The approximate size in MB of the generated HTML. */
+  @Param({"4"})
+  public int sizeInMegabytes;
+
+  private String html;
+
+  /** Constructs a new {@code HtmlConversionBenchmarks}. */
+  public HtmlConversionBenchmarks() {}
+
+  /**
+   * Benchmark the conversion of the HTML using the DOM-based converter.
+   *
+   * @return the simplified HTML
+   */
+  @Benchmark
+  public String domConversion() {
+    return HtmlToSimplifiedHtml.convertToSimplifiedHtml(html);
+  }
+
+  /**
+   * Benchmark the conversion of the HTML to Markdown using the DOM-based converter.
+   *
+   * @return the Markdown
+   */
+  @Benchmark
+  public String domMarkdownConversion() {
+    return HtmlToMarkdown.convertToMarkdown(html);
+  }
+
+  /**
+   * Generate the HTML and confirm that the DOM-based and streaming converters produce the same
+   * simplified HTML and the same Markdown.
+   */
+  @Setup(Level.Trial)
+  public void setup() {
+    StringBuilder buffer = new StringBuilder("<html><body><table>");
+
+    while (buffer.length() < (sizeInMegabytes * 1024 * 1024)) {
+      buffer.append("<tr><td>").append(MESSAGE_BODY).append("</td></tr>");
+    }
+
+    buffer.append("</table></body></html>");
+
+    html = buffer.toString();
+
+    if (!HtmlToSimplifiedHtml.convertToSimplifiedHtml(html).equals(streamingConversion())) {
+      throw new IllegalStateException("The simplified HTML produced by the converters differs");
+    }
+
+    if (!HtmlToMarkdown.convertToMarkdown(html).equals(streamingMarkdownConversion())) {
+      throw new IllegalStateException("The Markdown produced by the converters differs");
+    }
+  }
+
+  /**
+   * Benchmark the conversion of the HTML using the streaming converter.
+   *
+   * @return the simplified HTML
+   */
+  @Benchmark
+  public String streamingConversion() {
+    return StreamingHtmlToSimplifiedHtml.convertToSimplifiedHtml(new StringReader(html));
+  }
+
+  /**
+   * Benchmark the conversion of the HTML to Markdown using the streaming converter.
+   *
+   * @return the Markdown
+   */
+  @Benchmark
+  public String streamingMarkdownConversion() {
+    return StreamingHtmlToMarkdown.convertToMarkdown(new StringReader(html));
+  }
+}
@@ -0,0 +1,288 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package digital.inception.operations.benchmark;
+
+import digital.inception.core.util.MimeData;
+import digital.inception.operations.util.MessageContent;
+import digital.inception.operations.util.MessageUtil;
+import jakarta.activation.DataHandler;
+import jakarta.mail.Message;
+import jakarta.mail.Session;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeBodyPart;
+import jakarta.mail.internet.MimeMessage;
+import jakarta.mail.internet.MimeMultipart;
+import jakarta.mail.util.ByteArrayDataSource;
+import jakarta.mail.util.SharedFileInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The {@code MessageIngestionBenchmarks} class contains the JMH benchmarks for the ingestion of
+ * email messages during mailbox synchronization.
+ *
+ * <p>The {@code separateTraversals} benchmark retrieves the content and the attachments for a
+ * message in separate traversals and loads the data for each attachment into memory before it is
+ * copied to the blob store. The {@code singlePass} benchmark uses {@code
+ * MessageUtil.ingestMessage}, which streams the content for the message and the data for each
+ * attachment while it is hashed.
+ *
+ * <p>A corpus of synthetic {@code .eml} files, each with HTML and plain text alternatives and a
+ * number of attachments of different sizes, is generated in a temporary directory once per trial.
+ * The messages are read using a {@code SharedFileInputStream} so that, as with an IMAP message,
+ * the data for the parts is only read when it is accessed. The blob store is simulated by hashing
+ * the data for each attachment while copying it to a null output stream. Each invocation ingests
+ * the next message in the corpus. Run the benchmarks with the JMH {@code gc} profiler to compare
+ * the memory allocated per message.
+ *
+ * @author Marcus Portmann
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class MessageIngestionBenchmarks {
+
+  /** The size in KB of the largest attachment for each message. */
+  @Param({"4096"})
+  public int maximumAttachmentSize;
+
+  /** The number of messages in the corpus. */
+  @Param({"20"})
+  public int numberOfMessages;
+
+  private List<Path> corpus;
+
+  private Path corpusDirectory;
+
+  private int nextMessage;
+
+  private Session session;
+
+  /** Constructs a new {@code MessageIngestionBenchmarks}. */
+  public MessageIngestionBenchmarks() {}
+
+  /**
+   * Benchmark the ingestion of a message using separate traversals for the content and the
+   * attachments, with the data for each attachment loaded into memory.
+   *
+   * @return the hash for the content for the message followed by the hashes for the attachments
+   * @throws Exception if the message could not be ingested
+   */
+  @Benchmark
+  public List<String> separateTraversals() throws Exception {
+    return ingestUsingSeparateTraversals(nextMessage());
+  }
+
+  /**
+   * Generate the corpus of messages and confirm that both approaches produce the same content and
+   * hashes for each message.
+   *
+   * @throws Exception if the corpus could not be generated
+   */
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    session = Session.getInstance(new Properties());
+    corpusDirectory = Files.createTempDirectory("message-ingestion-benchmarks-");
+    corpus = createCorpus();
+
+    for (Path path : corpus) {
+      if (!ingestUsingSeparateTraversals(path).equals(ingestUsingSinglePass(path))) {
+        throw new IllegalStateException(
+            "The content and attachments for the message (" + path + ") do not match");
+      }
+    }
+  }
+
+  /**
+   * Benchmark the ingestion of a message using {@code MessageUtil.ingestMessage}, with the data
+   * for each attachment streamed while it is hashed.
+   *
+   * @return the hash for the content for the message followed by the hashes for the attachments
+   * @throws Exception if the message could not be ingested
+   */
+  @Benchmark
+  public List<String> singlePass() throws Exception {
+    return ingestUsingSinglePass(nextMessage());
+  }
+
+  /**
+   * Delete the corpus of messages.
+   *
+   * @throws Exception if the corpus could not be deleted
+   */
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    try (Stream<Path> paths = Files.walk(corpusDirectory)) {
+      paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+    }
+  }
+
+  private List<Path> createCorpus() throws Exception {
+    Random random = new Random(42);
+
+    List<Path> messages = new ArrayList<>();
+
+    for (int i = 0; i < numberOfMessages; i++) {
+      MimeMessage message = new MimeMessage(session);
+      message.setFrom(new InternetAddress("sender" + i + "@example.com"));
+      message.setRecipient(Message.RecipientType.TO, new InternetAddress("inbox@example.com"));
+      message.setSubject("Synthetic message " + i);
+      message.setHeader("Message-ID", "<synthetic-" + i + "@example.com>");
+
+      MimeMultipart alternativeMultipart = new MimeMultipart("alternative");
+
+      MimeBodyPart plainTextBodyPart = new MimeBodyPart();
+      plainTextBodyPart.setText("Plain text content for message " + i, "UTF-8");
+      alternativeMultipart.addBodyPart(plainTextBodyPart);
+
+      MimeBodyPart htmlBodyPart = new MimeBodyPart();
+      htmlBodyPart.setContent(
+          "<html><body><p>HTML content for message " + i + "</p></body></html>",
+          "text/html; charset=UTF-8");
+      alternativeMultipart.addBodyPart(htmlBodyPart);
+
+      MimeBodyPart alternativeBodyPart = new MimeBodyPart();
+      alternativeBodyPart.setContent(alternativeMultipart);
+
+      MimeMultipart mixedMultipart = new MimeMultipart("mixed");
+      mixedMultipart.addBodyPart(alternativeBodyPart);
+
+      // Add attachments with sizes from 16 KB up to the maximum attachment size
+      for (int size = 16 * 1024; size <= maximumAttachmentSize * 1024; size *= 4) {
+        byte[] data = new byte[size];
+        random.nextBytes(data);
+
+        MimeBodyPart attachmentBodyPart = new MimeBodyPart();
+        attachmentBodyPart.setDataHandler(
+            new DataHandler(new ByteArrayDataSource(data, "application/pdf")));
+        attachmentBodyPart.setFileName("Attachment-" + size + ".pdf");
+        attachmentBodyPart.setDisposition(MimeBodyPart.ATTACHMENT);
+        mixedMultipart.addBodyPart(attachmentBodyPart);
+      }
+
+      MimeBodyPart textAttachmentBodyPart = new MimeBodyPart();
+      textAttachmentBodyPart.setText("Column1,Column2\n" + i + "," + i, "UTF-8");
+      textAttachmentBodyPart.setHeader("Content-Type", "text/csv; name=Data.csv");
+      textAttachmentBodyPart.setDisposition(MimeBodyPart.ATTACHMENT);
+      mixedMultipart.addBodyPart(textAttachmentBodyPart);
+
+      message.setContent(mixedMultipart);
+      message.saveChanges();
+
+      Path path = corpusDirectory.resolve("Message-" + i + ".eml");
+
+      try (OutputStream outputStream = Files.newOutputStream(path)) {
+        message.writeTo(outputStream);
+      }
+
+      messages.add(path);
+    }
+
+    return messages;
+  }
+
+  private static String hashWhileCopying(InputStream inputStream) throws Exception {
+    MessageDigest digest = MessageDigest.getInstance("SHA-256");
+
+    try (OutputStream outputStream =
+        new DigestOutputStream(OutputStream.nullOutputStream(), digest)) {
+      inputStream.transferTo(outputStream);
+    }
+
+    return HexFormat.of().formatHex(digest.digest());
+  }
+
+  private List<String> ingestUsingSeparateTraversals(Path path) throws Exception {
+    try (SharedFileInputStream inputStream = new SharedFileInputStream(path.toFile())) {
+      MimeMessage message = new MimeMessage(session, inputStream);
+
+      List<String> hashes = new ArrayList<>();
+      hashes.add(MessageUtil.getMessageContent(message).getHash());
+
+      for (MimeData attachment : MessageUtil.getMessageAttachments(message, 0)) {
+        String hash = attachment.getHash();
+
+        if (!hash.equals(hashWhileCopying(new ByteArrayInputStream(attachment.getData())))) {
+          throw new IllegalStateException("The hashes for the attachment do not match");
+        }
+
+        hashes.add(hash);
+      }
+
+      return hashes;
+    }
+  }
+
+  private List<String> ingestUsingSinglePass(Path path) throws Exception {
+    try (SharedFileInputStream inputStream = new SharedFileInputStream(path.toFile())) {
+      MimeMessage message = new MimeMessage(session, inputStream);
+
+      List<String> hashes = new ArrayList<>();
+      hashes.add(null);
+
+      MessageContent messageContent =
+          MessageUtil.ingestMessage(
+              message,
+              0,
+              (mimeType, attachmentInputStream) ->
+                  hashes.add(hashWhileCopying(attachmentInputStream)));
+
+      try (InputStream contentInputStream = messageContent.getInputStream()) {
+        hashes.set(0, hashWhileCopying(contentInputStream));
+      }
+
+      return hashes;
+    }
+  }
+
+  private Path nextMessage() {
+    Path path = corpus.get(nextMessage);
+
+    nextMessage = (nextMessage + 1) % corpus.size();
+
+    return path;
+  }
+}
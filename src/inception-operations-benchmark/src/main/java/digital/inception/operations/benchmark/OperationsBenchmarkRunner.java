@@ -0,0 +1,60 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package digital.inception.operations.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * The {@code OperationsBenchmarkRunner} class runs the JMH operations benchmarks and writes the
+ * results as JSON so that they can be compared between releases.
+ *
+ * <p>Usage: {@code OperationsBenchmarkRunner [resultFile] [includeRegex]}, where the result file
+ * defaults to {@code target/operations-benchmarks.json} and the include regular expression
+ * defaults to all the benchmarks in the {@code digital.inception.operations.benchmark} package,
+ * e.g. {@code MessageIngestionBenchmarks\..*} to only run the message ingestion benchmarks.
+ *
+ * @author Marcus Portmann
+ */
+public final class OperationsBenchmarkRunner {
+
+  private OperationsBenchmarkRunner() {}
+
+  /**
+   * The main method.
+   *
+   * @param args the command-line arguments
+   * @throws Exception if the benchmarks could not be run
+   */
+  public static void main(String[] args) throws Exception {
+    String resultFile = (args.length > 0) ? args[0] : "target/operations-benchmarks.json";
+    String includeRegex =
+        (args.length > 1)
+            ? args[1]
+            : OperationsBenchmarkRunner.class.getPackageName().replace(".", "\\.") + "\\..*";
+
+    new Runner(
+            new OptionsBuilder()
+                .include(includeRegex)
+                .resultFormat(ResultFormatType.JSON)
+                .result(resultFile)
+                .build())
+        .run();
+  }
+}
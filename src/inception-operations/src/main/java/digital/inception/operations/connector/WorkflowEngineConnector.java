@@ -16,6 +16,7 @@
 
 package digital.inception.operations.connector;
 
+import digital.inception.operations.model.Event;
 import digital.inception.operations.model.EventType;
 import digital.inception.operations.model.FormDefinition;
 import digital.inception.operations.model.ValidWorkflowDefinitionAttribute;
@@ -24,7 +25,9 @@ import digital.inception.operations.model.WorkflowDefinition;
 import digital.inception.operations.model.WorkflowFormType;
 import digital.inception.operations.model.WorkflowStatus;
 import digital.inception.operations.model.WorkflowVariable;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -111,6 +114,40 @@ public interface WorkflowEngineConnector {
       String engineInstanceId)
       throws WorkflowEngineConnectorException;
 
+  /**
+   * Retrieve the statuses of the workflows, associated with the same workflow definition, from the
+   * workflow engine.
+   *
+   * <p>The default implementation retrieves the status of each workflow individually. Workflow
+   * engine connectors that can retrieve the statuses of multiple workflows with a single request to
+   * the workflow engine should override this method.
+   *
+   * @param workflowDefinition the workflow definition
+   * @param tenantId the ID for the tenant
+   * @param engineInstanceIds the IDs for the corresponding process or case instances in the
+   *     workflow engine for the workflows keyed by workflow ID
+   * @return the statuses of the workflows retrieved from the workflow engine keyed by workflow ID
+   * @throws WorkflowEngineConnectorException if the statuses of the workflows could not be
+   *     retrieved from the workflow engine
+   */
+  default Map<UUID, WorkflowStatus> getWorkflowStatuses(
+      WorkflowDefinition workflowDefinition, UUID tenantId, Map<UUID, String> engineInstanceIds)
+      throws WorkflowEngineConnectorException {
+    Map<UUID, WorkflowStatus> workflowStatuses = new HashMap<>();
+
+    for (Map.Entry<UUID, String> engineInstanceId : engineInstanceIds.entrySet()) {
+      workflowStatuses.put(
+          engineInstanceId.getKey(),
+          getWorkflowStatus(
+              workflowDefinition,
+              tenantId,
+              engineInstanceId.getKey(),
+              engineInstanceId.getValue()));
+    }
+
+    return workflowStatuses;
+  }
+
   /**
    * Process the workflow document event.
    *
@@ -132,6 +169,39 @@ public interface WorkflowEngineConnector {
       EventType eventType)
       throws WorkflowEngineConnectorException;
 
+  /**
+   * Process the workflow document events for the workflow.
+   *
+   * <p>The default implementation processes each workflow document event individually. Workflow
+   * engine connectors that can deliver several events to the corresponding process or case instance
+   * with a single request should override this method.
+   *
+   * @param workflowDefinition the workflow definition
+   * @param tenantId the ID for the tenant
+   * @param workflowId the ID for the workflow
+   * @param engineInstanceId the ID for the corresponding process or case instance in the workflow
+   *     engine for the workflow
+   * @param events the workflow document events for the workflow in the order they occurred
+   * @throws WorkflowEngineConnectorException if the workflow document events could not be processed
+   */
+  default void processWorkflowDocumentEvents(
+      WorkflowDefinition workflowDefinition,
+      UUID tenantId,
+      UUID workflowId,
+      String engineInstanceId,
+      List<Event> events)
+      throws WorkflowEngineConnectorException {
+    for (Event event : events) {
+      processWorkflowDocumentEvent(
+          workflowDefinition,
+          tenantId,
+          workflowId,
+          engineInstanceId,
+          event.getObjectId(),
+          event.getType());
+    }
+  }
+
   /**
    * Start a workflow.
    *
@@ -0,0 +1,220 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package digital.inception.operations.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlElement;
+import jakarta.xml.bind.annotation.XmlRootElement;
+import jakarta.xml.bind.annotation.XmlType;
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.UUID;
+
+/**
+ * The {@code ActiveWorkflow} class holds the information required to verify the status of an
+ * active workflow with the workflow engine it is associated with.
+ *
+ * @author Marcus Portmann
+ */
+@Schema(description = "An active workflow")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonPropertyOrder({"id", "tenantId", "definitionId", "definitionVersion", "engineInstanceId"})
+@XmlRootElement(name = "ActiveWorkflow", namespace = "https://inception.digital/operations")
+@XmlType(
+    name = "ActiveWorkflow",
+    namespace = "https://inception.digital/operations",
+    propOrder = {"id", "tenantId", "definitionId", "definitionVersion", "engineInstanceId"})
+@XmlAccessorType(XmlAccessType.FIELD)
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class ActiveWorkflow implements Serializable {
+
+  @Serial private static final long serialVersionUID = 1000000;
+
+  /** The ID for the workflow definition the workflow is associated with. */
+  @Schema(
+      description = "The ID for the workflow definition the workflow is associated with",
+      requiredMode = Schema.RequiredMode.REQUIRED)
+  @JsonProperty(required = true)
+  @XmlElement(name = "DefinitionId", required = true)
+  @NotBlank
+  @Size(max = 100)
+  private String definitionId;
+
+  /** The version of the workflow definition the workflow is associated with. */
+  @Schema(
+      description = "The version of the workflow definition the workflow is associated with",
+      requiredMode = Schema.RequiredMode.REQUIRED)
+  @JsonProperty(required = true)
+  @XmlElement(name = "DefinitionVersion", required = true)
+  @NotNull
+  private int definitionVersion;
+
+  /**
+   * The ID for the corresponding process or case instance in the workflow engine for the workflow.
+   */
+  @Schema(
+      description =
+          "The ID for the corresponding process or case instance in the workflow engine for the workflow")
+  @JsonProperty
+  @XmlElement(name = "EngineInstanceId")
+  @Size(min = 1, max = 100)
+  private String engineInstanceId;
+
+  /** The ID for the workflow. */
+  @Schema(description = "The ID for the workflow", requiredMode = Schema.RequiredMode.REQUIRED)
+  @JsonProperty(required = true)
+  @XmlElement(name = "Id", required = true)
+  @NotNull
+  private UUID id;
+
+  /** The ID for the tenant the workflow is associated with. */
+  @Schema(
+      description = "The ID for the tenant the workflow is associated with",
+      requiredMode = Schema.RequiredMode.REQUIRED)
+  @JsonProperty(required = true)
+  @XmlElement(name = "TenantId", required = true)
+  @NotNull
+  private UUID tenantId;
+
+  /** Constructs a new {@code ActiveWorkflow}. */
+  public ActiveWorkflow() {}
+
+  /**
+   * Constructs a new {@code ActiveWorkflow}.
+   *
+   * @param id the ID for the workflow
+   * @param tenantId the ID for the tenant the workflow is associated with
+   * @param definitionId the ID for the workflow definition the workflow is associated with
+   * @param definitionVersion the version of the workflow definition the workflow is associated
+   *     with
+   * @param engineInstanceId the ID for the corresponding process or case instance in the workflow
+   *     engine for the workflow
+   */
+  @JsonCreator(mode = JsonCreator.Mode.DISABLED)
+  public ActiveWorkflow(
+      UUID id, UUID tenantId, String definitionId, int definitionVersion, String engineInstanceId) {
+    this.id = id;
+    this.tenantId = tenantId;
+    this.definitionId = definitionId;
+    this.definitionVersion = definitionVersion;
+    this.engineInstanceId = engineInstanceId;
+  }
+
+  /**
+   * Returns the ID for the workflow definition the workflow is associated with.
+   *
+   * @return the ID for the workflow definition the workflow is associated with
+   */
+  public String getDefinitionId() {
+    return definitionId;
+  }
+
+  /**
+   * Returns the version of the workflow definition the workflow is associated with.
+   *
+   * @return the version of the workflow definition the workflow is associated with
+   */
+  public int getDefinitionVersion() {
+    return definitionVersion;
+  }
+
+  /**
+   * Returns the ID for the corresponding process or case instance in the workflow engine for the
+   * workflow.
+   *
+   * @return the ID for the corresponding process or case instance in the workflow engine for the
+   *     workflow
+   */
+  public String getEngineInstanceId() {
+    return engineInstanceId;
+  }
+
+  /**
+   * Returns the ID for the workflow.
+   *
+   * @return the ID for the workflow
+   */
+  public UUID getId() {
+    return id;
+  }
+
+  /**
+   * Returns the ID for the tenant the workflow is associated with.
+   *
+   * @return the ID for the tenant the workflow is associated with
+   */
+  public UUID getTenantId() {
+    return tenantId;
+  }
+
+  /**
+   * Sets the ID for the workflow definition the workflow is associated with.
+   *
+   * @param definitionId the ID for the workflow definition the workflow is associated with
+   */
+  public void setDefinitionId(String definitionId) {
+    this.definitionId = definitionId;
+  }
+
+  /**
+   * Sets the version of the workflow definition the workflow is associated with.
+   *
+   * @param definitionVersion the version of the workflow definition the workflow is associated
+   *     with
+   */
+  public void setDefinitionVersion(int definitionVersion) {
+    this.definitionVersion = definitionVersion;
+  }
+
+  /**
+   * Sets the ID for the corresponding process or case instance in the workflow engine for the
+   * workflow.
+   *
+   * @param engineInstanceId the ID for the corresponding process or case instance in the workflow
+   *     engine for the workflow
+   */
+  public void setEngineInstanceId(String engineInstanceId) {
+    this.engineInstanceId = engineInstanceId;
+  }
+
+  /**
+   * Sets the ID for the workflow.
+   *
+   * @param id the ID for the workflow
+   */
+  public void setId(UUID id) {
+    this.id = id;
+  }
+
+  /**
+   * Sets the ID for the tenant the workflow is associated with.
+   *
+   * @param tenantId the ID for the tenant the workflow is associated with
+   */
+  public void setTenantId(UUID tenantId) {
+    this.tenantId = tenantId;
+  }
+}
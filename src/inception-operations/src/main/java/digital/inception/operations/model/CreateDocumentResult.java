@@ -0,0 +1,130 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package digital.inception.operations.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Size;
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlElement;
+import jakarta.xml.bind.annotation.XmlRootElement;
+import jakarta.xml.bind.annotation.XmlType;
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.UUID;
+
+/**
+ * The {@code CreateDocumentResult} class represents the result of creating a document as part of
+ * a request to create multiple documents.
+ *
+ * <p>The document ID is set if the document was created successfully, otherwise the error message
+ * describes why the document could not be created.
+ *
+ * @author Marcus Portmann
+ */
+@Schema(description = "The result of creating a document as part of a request to create multiple documents")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonPropertyOrder({"documentId", "errorMessage"})
+@XmlRootElement(name = "CreateDocumentResult", namespace = "https://inception.digital/operations")
+@XmlType(
+    name = "CreateDocumentResult",
+    namespace = "https://inception.digital/operations",
+    propOrder = {"documentId", "errorMessage"})
+@XmlAccessorType(XmlAccessType.FIELD)
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class CreateDocumentResult implements Serializable {
+
+  @Serial private static final long serialVersionUID = 1000000;
+
+  /** The ID for the document if the document was created successfully. */
+  @Schema(description = "The ID for the document if the document was created successfully")
+  @JsonProperty
+  @XmlElement(name = "DocumentId")
+  private UUID documentId;
+
+  /** The error message if the document could not be created. */
+  @Schema(description = "The error message if the document could not be created")
+  @JsonProperty
+  @XmlElement(name = "ErrorMessage")
+  @Size(min = 1, max = 4000)
+  private String errorMessage;
+
+  /** Constructs a new {@code CreateDocumentResult}. */
+  public CreateDocumentResult() {}
+
+  /**
+   * Constructs a new {@code CreateDocumentResult} for a document that was created successfully.
+   *
+   * @param documentId the ID for the document
+   */
+  @JsonCreator(mode = JsonCreator.Mode.DISABLED)
+  public CreateDocumentResult(UUID documentId) {
+    this.documentId = documentId;
+  }
+
+  /**
+   * Constructs a new {@code CreateDocumentResult} for a document that could not be created.
+   *
+   * @param errorMessage the error message
+   */
+  @JsonCreator(mode = JsonCreator.Mode.DISABLED)
+  public CreateDocumentResult(String errorMessage) {
+    this.errorMessage = errorMessage;
+  }
+
+  /**
+   * Returns the ID for the document if the document was created successfully.
+   *
+   * @return the ID for the document if the document was created successfully or {@code null} if
+   *     the document could not be created
+   */
+  public UUID getDocumentId() {
+    return documentId;
+  }
+
+  /**
+   * Returns the error message if the document could not be created.
+   *
+   * @return the error message if the document could not be created or {@code null} if the document
+   *     was created successfully
+   */
+  public String getErrorMessage() {
+    return errorMessage;
+  }
+
+  /**
+   * Sets the ID for the document if the document was created successfully.
+   *
+   * @param documentId the ID for the document if the document was created successfully
+   */
+  public void setDocumentId(UUID documentId) {
+    this.documentId = documentId;
+  }
+
+  /**
+   * Sets the error message if the document could not be created.
+   *
+   * @param errorMessage the error message if the document could not be created
+   */
+  public void setErrorMessage(String errorMessage) {
+    this.errorMessage = errorMessage;
+  }
+}
@@ -160,10 +160,15 @@ public class Document implements Serializable {
   @Column(name = "created_by", length = 100, nullable = false)
   private String createdBy;
 
-  /** The data for the document. */
-  @Schema(description = "The data for the document", requiredMode = Schema.RequiredMode.REQUIRED)
-  @JsonProperty(required = true)
-  @XmlElement(name = "Data", required = true)
+  /**
+   * The data for the document, which is not included when the document is retrieved and must be
+   * streamed separately.
+   */
+  @Schema(
+      description =
+          "The data for the document, which is not included when the document is retrieved and must be streamed separately")
+  @JsonProperty
+  @XmlElement(name = "Data")
   @Size(min = 1, max = 41943040)
   @Column(name = "data", length = 41943040)
   private byte[] data;
@@ -630,6 +635,7 @@ public class Document implements Serializable {
    */
   public void setTenantId(UUID tenantId) {
     this.tenantId = tenantId;
+    attributes.forEach(attribute -> attribute.setDocument(this));
   }
 
   /**
@@ -23,11 +23,14 @@ import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import digital.inception.core.util.StringUtil;
+import digital.inception.operations.util.SearchUtil;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.IdClass;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
@@ -84,6 +87,33 @@ public class DocumentAttribute implements Serializable {
   @Column(name = "name", length = 100, nullable = false)
   private String name;
 
+  /** The case-folded copy of the name of the document attribute. */
+  @Schema(hidden = true)
+  @JsonIgnore
+  @XmlTransient
+  @Column(name = "normalized_name", length = 100, nullable = false)
+  private String normalizedName;
+
+  /**
+   * The case-folded copy of the value for the document attribute, which allows documents to be
+   * searched by attribute value using an index.
+   */
+  @Schema(hidden = true)
+  @JsonIgnore
+  @XmlTransient
+  @Column(name = "normalized_value", length = 1000, nullable = false)
+  private String normalizedValue;
+
+  /**
+   * The ID for the tenant the document attribute is associated with, which is held to allow the
+   * documents for a tenant to be searched by attribute using an index.
+   */
+  @Schema(hidden = true)
+  @JsonIgnore
+  @XmlTransient
+  @Column(name = "tenant_id", nullable = false)
+  private UUID tenantId;
+
   /** The value for the document attribute. */
   @Schema(
       description = "The value for the document attribute",
@@ -187,8 +217,10 @@ public class DocumentAttribute implements Serializable {
   public void setDocument(Document document) {
     if (document != null) {
       this.documentId = document.getId();
+      this.tenantId = document.getTenantId();
     } else {
       this.documentId = null;
+      this.tenantId = null;
     }
   }
 
@@ -210,6 +242,18 @@ public class DocumentAttribute implements Serializable {
     this.value = value;
   }
 
+  /** The Java Persistence callback method invoked before the entity is created in the database. */
+  @PrePersist
+  protected void onCreate() {
+    normalize();
+  }
+
+  /** The Java Persistence callback method invoked before the entity is updated in the database. */
+  @PreUpdate
+  protected void onUpdate() {
+    normalize();
+  }
+
   /**
    * Called by the JAXB runtime when an instance of this class has been completely unmarshalled, but
    * before it is added to its parent.
@@ -223,4 +267,9 @@ public class DocumentAttribute implements Serializable {
       setDocument(parent);
     }
   }
+
+  private void normalize() {
+    normalizedName = SearchUtil.normalize(name);
+    normalizedValue = SearchUtil.normalize(value);
+  }
 }
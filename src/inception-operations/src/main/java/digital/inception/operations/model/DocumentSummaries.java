@@ -46,13 +46,22 @@ import java.util.List;
   "sortBy",
   "sortDirection",
   "pageIndex",
-  "pageSize"
+  "pageSize",
+  "nextCursor"
 })
 @XmlRootElement(name = "DocumentSummaries", namespace = "https://inception.digital/operations")
 @XmlType(
     name = "DocumentSummaries",
     namespace = "https://inception.digital/operations",
-    propOrder = {"documentSummaries", "total", "sortBy", "sortDirection", "pageIndex", "pageSize"})
+    propOrder = {
+      "documentSummaries",
+      "total",
+      "sortBy",
+      "sortDirection",
+      "pageIndex",
+      "pageSize",
+      "nextCursor"
+    })
 @XmlAccessorType(XmlAccessType.FIELD)
 @SuppressWarnings({"unused"})
 public class DocumentSummaries implements Serializable {
@@ -66,6 +75,17 @@ public class DocumentSummaries implements Serializable {
   @XmlElement(name = "DocumentSummary", required = true)
   private List<DocumentSummary> documentSummaries;
 
+  /**
+   * The opaque cursor that can be used to retrieve the next page of document summaries or {@code
+   * null} if there are no more document summaries.
+   */
+  @Schema(
+      description =
+          "The opaque cursor that can be used to retrieve the next page of document summaries")
+  @JsonProperty
+  @XmlElement(name = "NextCursor")
+  private String nextCursor;
+
   /** The page index. */
   @Schema(description = "The page index", requiredMode = Schema.RequiredMode.REQUIRED)
   @JsonProperty(required = true)
@@ -90,9 +110,13 @@ public class DocumentSummaries implements Serializable {
   @XmlElement(name = "SortDirection")
   private SortDirection sortDirection;
 
-  /** The total number of document summaries. */
+  /**
+   * The total number of document summaries or -1 if the total number of document summaries was not
+   * calculated.
+   */
   @Schema(
-      description = "The total number of document summaries",
+      description =
+          "The total number of document summaries or -1 if the total number of document summaries was not calculated",
       requiredMode = Schema.RequiredMode.REQUIRED)
   @JsonProperty(required = true)
   @XmlElement(name = "Total", required = true)
@@ -127,6 +151,33 @@ public class DocumentSummaries implements Serializable {
     this.pageSize = pageSize;
   }
 
+  /**
+   * Constructs a new {@code DocumentSummaries}.
+   *
+   * @param documentSummaries the document summaries
+   * @param total the total number of document summaries or -1 if the total number of document
+   *     summaries was not calculated
+   * @param sortBy the method used to sort the document summaries e.g. by definition ID
+   * @param sortDirection the sort direction that was applied to the document summaries
+   * @param pageIndex the page index
+   * @param pageSize the page size
+   * @param nextCursor the opaque cursor that can be used to retrieve the next page of document
+   *     summaries or {@code null} if there are no more document summaries
+   */
+  @JsonCreator(mode = JsonCreator.Mode.DISABLED)
+  public DocumentSummaries(
+      List<DocumentSummary> documentSummaries,
+      long total,
+      DocumentSortBy sortBy,
+      SortDirection sortDirection,
+      int pageIndex,
+      int pageSize,
+      String nextCursor) {
+    this(documentSummaries, total, sortBy, sortDirection, pageIndex, pageSize);
+
+    this.nextCursor = nextCursor;
+  }
+
   /**
    * Returns the document summaries.
    *
@@ -136,6 +187,16 @@ public class DocumentSummaries implements Serializable {
     return documentSummaries;
   }
 
+  /**
+   * Returns the opaque cursor that can be used to retrieve the next page of document summaries.
+   *
+   * @return the opaque cursor that can be used to retrieve the next page of document summaries or
+   *     {@code null} if there are no more document summaries
+   */
+  public String getNextCursor() {
+    return nextCursor;
+  }
+
   /**
    * Returns the page index.
    *
@@ -175,7 +236,8 @@ public class DocumentSummaries implements Serializable {
   /**
    * Returns the total number of document summaries.
    *
-   * @return the total number of document summaries
+   * @return the total number of document summaries or -1 if the total number of document summaries
+   *     was not calculated
    */
   public long getTotal() {
     return total;
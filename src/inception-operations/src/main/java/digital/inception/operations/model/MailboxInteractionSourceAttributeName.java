@@ -74,7 +74,11 @@ public enum MailboxInteractionSourceAttributeName implements CodeEnum {
 
   /** Debug. */
   @XmlEnumValue("Debug")
-  DEBUG("debug", "Debug");
+  DEBUG("debug", "Debug"),
+
+  /** Incremental Synchronization. */
+  @XmlEnumValue("IncrementalSynchronization")
+  INCREMENTAL_SYNCHRONIZATION("incremental_synchronization", "Incremental Synchronization");
 
   private final String code;
 
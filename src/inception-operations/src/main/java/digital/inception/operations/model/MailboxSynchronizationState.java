@@ -0,0 +1,140 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package digital.inception.operations.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * The {@code MailboxSynchronizationState} class holds the incremental synchronization state for
+ * the INBOX folder of a mailbox interaction source.
+ *
+ * <p>IMAP assigns each message in a folder a strictly ascending UID, which is only valid for as
+ * long as the UIDVALIDITY value for the folder is unchanged. Recording the highest UID that has
+ * been synchronized allows subsequent synchronizations to retrieve only the newer messages.
+ *
+ * @author Marcus Portmann
+ */
+@Entity
+@Table(name = "operations_mailbox_synchronization_states")
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class MailboxSynchronizationState implements Serializable {
+
+  @Serial private static final long serialVersionUID = 1000000;
+
+  /** The ID for the mailbox interaction source. */
+  @Id
+  @Column(name = "interaction_source_id", nullable = false)
+  private UUID interactionSourceId;
+
+  /** The highest UID for the messages that have been synchronized. */
+  @Column(name = "last_uid", nullable = false)
+  private long lastUid;
+
+  /** The UIDVALIDITY value for the folder the last UID is valid for. */
+  @Column(name = "uid_validity", nullable = false)
+  private long uidValidity;
+
+  /** The date and time the synchronization state was last updated. */
+  @Column(name = "updated", nullable = false)
+  private OffsetDateTime updated;
+
+  /** Constructs a new {@code MailboxSynchronizationState}. */
+  public MailboxSynchronizationState() {}
+
+  /**
+   * Constructs a new {@code MailboxSynchronizationState}.
+   *
+   * @param interactionSourceId the ID for the mailbox interaction source
+   * @param uidValidity the UIDVALIDITY value for the folder
+   */
+  public MailboxSynchronizationState(UUID interactionSourceId, long uidValidity) {
+    this.interactionSourceId = interactionSourceId;
+    this.uidValidity = uidValidity;
+  }
+
+  /**
+   * Returns the ID for the mailbox interaction source.
+   *
+   * @return the ID for the mailbox interaction source
+   */
+  public UUID getInteractionSourceId() {
+    return interactionSourceId;
+  }
+
+  /**
+   * Returns the highest UID for the messages that have been synchronized.
+   *
+   * @return the highest UID for the messages that have been synchronized
+   */
+  public long getLastUid() {
+    return lastUid;
+  }
+
+  /**
+   * Returns the UIDVALIDITY value for the folder the last UID is valid for.
+   *
+   * @return the UIDVALIDITY value for the folder the last UID is valid for
+   */
+  public long getUidValidity() {
+    return uidValidity;
+  }
+
+  /**
+   * Returns the date and time the synchronization state was last updated.
+   *
+   * @return the date and time the synchronization state was last updated
+   */
+  public OffsetDateTime getUpdated() {
+    return updated;
+  }
+
+  /**
+   * Reset the synchronization state after the UIDVALIDITY value for the folder has changed, which
+   * invalidates all previously seen UIDs.
+   *
+   * @param uidValidity the new UIDVALIDITY value for the folder
+   */
+  public void reset(long uidValidity) {
+    this.uidValidity = uidValidity;
+    this.lastUid = 0;
+  }
+
+  /**
+   * Set the highest UID for the messages that have been synchronized.
+   *
+   * @param lastUid the highest UID for the messages that have been synchronized
+   */
+  public void setLastUid(long lastUid) {
+    this.lastUid = lastUid;
+  }
+
+  /**
+   * Set the date and time the synchronization state was last updated.
+   *
+   * @param updated the date and time the synchronization state was last updated
+   */
+  public void setUpdated(OffsetDateTime updated) {
+    this.updated = updated;
+  }
+}
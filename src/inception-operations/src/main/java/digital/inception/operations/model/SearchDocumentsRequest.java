@@ -23,6 +23,7 @@ import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import digital.inception.core.sorting.SortDirection;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Size;
 import jakarta.xml.bind.annotation.XmlAccessType;
 import jakarta.xml.bind.annotation.XmlAccessorType;
 import jakarta.xml.bind.annotation.XmlElement;
@@ -48,7 +49,9 @@ import java.util.List;
   "sortBy",
   "sortDirection",
   "pageIndex",
-  "pageSize"
+  "pageSize",
+  "cursor",
+  "includeTotal"
 })
 @XmlRootElement(name = "SearchDocumentsRequest", namespace = "https://inception.digital/operations")
 @XmlType(
@@ -61,7 +64,9 @@ import java.util.List;
       "sortBy",
       "sortDirection",
       "pageIndex",
-      "pageSize"
+      "pageSize",
+      "cursor",
+      "includeTotal"
     })
 @XmlAccessorType(XmlAccessType.FIELD)
 @SuppressWarnings({"unused", "WeakerAccess"})
@@ -76,6 +81,18 @@ public class SearchDocumentsRequest implements Serializable {
   @XmlElement(name = "Attribute")
   private List<@Valid AttributeSearchCriteria> attributes;
 
+  /**
+   * The opaque cursor, returned with the previous page of results, identifying the position after
+   * which the next page of results should be retrieved.
+   */
+  @Schema(
+      description =
+          "The opaque cursor, returned with the previous page of results, identifying the position after which the next page of results should be retrieved")
+  @JsonProperty
+  @XmlElement(name = "Cursor")
+  @Size(max = 4000)
+  private String cursor;
+
   /** The document definition ID search criteria to apply to the documents. */
   @Schema(description = "The document definition ID search criteria to apply to the documents")
   @JsonProperty
@@ -90,6 +107,14 @@ public class SearchDocumentsRequest implements Serializable {
   @XmlElement(name = "ExternalReference")
   private List<@Valid ExternalReferenceSearchCriteria> externalReferences;
 
+  /** Should the total number of matching documents be calculated, which defaults to true. */
+  @Schema(
+      description =
+          "Should the total number of matching documents be calculated, which defaults to true")
+  @JsonProperty
+  @XmlElement(name = "IncludeTotal")
+  private Boolean includeTotal;
+
   /** The page index. */
   @Schema(description = "The page index")
   @JsonProperty
@@ -156,6 +181,17 @@ public class SearchDocumentsRequest implements Serializable {
     return attributes;
   }
 
+  /**
+   * Returns the opaque cursor, returned with the previous page of results, identifying the position
+   * after which the next page of results should be retrieved.
+   *
+   * @return the opaque cursor, returned with the previous page of results, identifying the position
+   *     after which the next page of results should be retrieved
+   */
+  public String getCursor() {
+    return cursor;
+  }
+
   /**
    * Returns the document definition ID search criteria to apply to the documents.
    *
@@ -174,6 +210,16 @@ public class SearchDocumentsRequest implements Serializable {
     return externalReferences;
   }
 
+  /**
+   * Returns whether the total number of matching documents should be calculated.
+   *
+   * @return {@code true} if the total number of matching documents should be calculated or {@code
+   *     false} otherwise
+   */
+  public Boolean getIncludeTotal() {
+    return includeTotal;
+  }
+
   /**
    * Returns the page index.
    *
@@ -219,6 +265,17 @@ public class SearchDocumentsRequest implements Serializable {
     this.attributes = attributes;
   }
 
+  /**
+   * Set the opaque cursor, returned with the previous page of results, identifying the position
+   * after which the next page of results should be retrieved.
+   *
+   * @param cursor the opaque cursor, returned with the previous page of results, identifying the
+   *     position after which the next page of results should be retrieved
+   */
+  public void setCursor(String cursor) {
+    this.cursor = cursor;
+  }
+
   /**
    * Sets the document definition ID search criteria to apply to the documents.
    *
@@ -238,6 +295,16 @@ public class SearchDocumentsRequest implements Serializable {
     this.externalReferences = externalReferences;
   }
 
+  /**
+   * Set whether the total number of matching documents should be calculated.
+   *
+   * @param includeTotal {@code true} if the total number of matching documents should be calculated
+   *     or {@code false} otherwise
+   */
+  public void setIncludeTotal(Boolean includeTotal) {
+    this.includeTotal = includeTotal;
+  }
+
   /**
    * Sets the page index.
    *
@@ -54,7 +54,9 @@ import java.util.UUID;
   "sortBy",
   "sortDirection",
   "pageIndex",
-  "pageSize"
+  "pageSize",
+  "cursor",
+  "includeTotal"
 })
 @XmlRootElement(name = "SearchWorkflowsRequest", namespace = "https://inception.digital/operations")
 @XmlType(
@@ -71,7 +73,9 @@ import java.util.UUID;
       "sortBy",
       "sortDirection",
       "pageIndex",
-      "pageSize"
+      "pageSize",
+      "cursor",
+      "includeTotal"
     })
 @XmlAccessorType(XmlAccessType.FIELD)
 @SuppressWarnings({"unused", "WeakerAccess"})
@@ -98,6 +102,18 @@ public class SearchWorkflowsRequest implements Serializable {
   @Size(min = 1, max = 100)
   private String canceledBy;
 
+  /**
+   * The opaque cursor, returned with the previous page of results, identifying the position after
+   * which the next page of results should be retrieved.
+   */
+  @Schema(
+      description =
+          "The opaque cursor, returned with the previous page of results, identifying the position after which the next page of results should be retrieved")
+  @JsonProperty
+  @XmlElement(name = "Cursor")
+  @Size(max = 4000)
+  private String cursor;
+
   /** The workflow definition ID search criteria to apply to the workflows. */
   @Schema(description = "The workflow definition ID search criteria to apply to the workflows")
   @JsonProperty
@@ -130,6 +146,14 @@ public class SearchWorkflowsRequest implements Serializable {
   @XmlElement(name = "Id")
   private UUID id;
 
+  /** Should the total number of matching workflows be calculated, which defaults to true. */
+  @Schema(
+      description =
+          "Should the total number of matching workflows be calculated, which defaults to true")
+  @JsonProperty
+  @XmlElement(name = "IncludeTotal")
+  private Boolean includeTotal;
+
   /**
    * The person or system that initiated the workflow search criteria to apply when searching for
    * workflows.
@@ -312,6 +336,17 @@ public class SearchWorkflowsRequest implements Serializable {
     return canceledBy;
   }
 
+  /**
+   * Returns the opaque cursor, returned with the previous page of results, identifying the position
+   * after which the next page of results should be retrieved.
+   *
+   * @return the opaque cursor, returned with the previous page of results, identifying the position
+   *     after which the next page of results should be retrieved
+   */
+  public String getCursor() {
+    return cursor;
+  }
+
   /**
    * Returns the workflow definition ID search criteria to apply to the workflows.
    *
@@ -350,6 +385,16 @@ public class SearchWorkflowsRequest implements Serializable {
     return id;
   }
 
+  /**
+   * Returns whether the total number of matching workflows should be calculated.
+   *
+   * @return {@code true} if the total number of matching workflows should be calculated or {@code
+   *     false} otherwise
+   */
+  public Boolean getIncludeTotal() {
+    return includeTotal;
+  }
+
   /**
    * Returns the person or system that initiated the workflow search criteria to apply when
    * searching for workflows.
@@ -484,6 +529,17 @@ public class SearchWorkflowsRequest implements Serializable {
     this.canceledBy = canceledBy;
   }
 
+  /**
+   * Set the opaque cursor, returned with the previous page of results, identifying the position
+   * after which the next page of results should be retrieved.
+   *
+   * @param cursor the opaque cursor, returned with the previous page of results, identifying the
+   *     position after which the next page of results should be retrieved
+   */
+  public void setCursor(String cursor) {
+    this.cursor = cursor;
+  }
+
   /**
    * Sets the workflow definition ID search criteria to apply to the workflows.
    *
@@ -523,6 +579,16 @@ public class SearchWorkflowsRequest implements Serializable {
     this.id = id;
   }
 
+  /**
+   * Set whether the total number of matching workflows should be calculated.
+   *
+   * @param includeTotal {@code true} if the total number of matching workflows should be calculated
+   *     or {@code false} otherwise
+   */
+  public void setIncludeTotal(Boolean includeTotal) {
+    this.includeTotal = includeTotal;
+  }
+
   /**
    * Sets the person or system that initiated the workflow search criteria to apply when searching
    * for workflows.
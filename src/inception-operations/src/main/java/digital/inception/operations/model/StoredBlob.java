@@ -0,0 +1,174 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package digital.inception.operations.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * The {@code StoredBlob} class holds the information for a content-addressed blob stored in the
+ * database by the internal blob store.
+ *
+ * <p>The data for the blob is held in fixed-size chunks, which are stored separately, so that the
+ * blob can be written and read with constant memory.
+ *
+ * @author Marcus Portmann
+ */
+@Entity
+@Table(name = "operations_blobs")
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class StoredBlob implements Serializable {
+
+  @Serial private static final long serialVersionUID = 1000000;
+
+  /** The number of chunks for the blob. */
+  @Column(name = "chunk_count", nullable = false)
+  private int chunkCount;
+
+  /** The date and time the blob was created. */
+  @Column(name = "created", nullable = false)
+  private OffsetDateTime created;
+
+  /** The hex-encoded SHA-256 hash of the data for the blob. */
+  @Column(name = "hash", length = 64, nullable = false)
+  private String hash;
+
+  /** The ID for the blob. */
+  @Id
+  @Column(name = "id", nullable = false)
+  private UUID id;
+
+  /** The date and time the blob was last referenced by newly stored data. */
+  @Column(name = "last_referenced", nullable = false)
+  private OffsetDateTime lastReferenced;
+
+  /** The size of the data for the blob in bytes. */
+  @Column(name = "size", nullable = false)
+  private long size;
+
+  /** Constructs a new {@code StoredBlob}. */
+  public StoredBlob() {}
+
+  /**
+   * Constructs a new {@code StoredBlob}.
+   *
+   * @param id the ID for the blob
+   * @param created the date and time the blob was created
+   */
+  public StoredBlob(UUID id, OffsetDateTime created) {
+    this.id = id;
+    this.created = created;
+    this.hash = "";
+    this.lastReferenced = created;
+  }
+
+  /**
+   * Returns the number of chunks for the blob.
+   *
+   * @return the number of chunks for the blob
+   */
+  public int getChunkCount() {
+    return chunkCount;
+  }
+
+  /**
+   * Returns the date and time the blob was created.
+   *
+   * @return the date and time the blob was created
+   */
+  public OffsetDateTime getCreated() {
+    return created;
+  }
+
+  /**
+   * Returns the hex-encoded SHA-256 hash of the data for the blob.
+   *
+   * @return the hex-encoded SHA-256 hash of the data for the blob
+   */
+  public String getHash() {
+    return hash;
+  }
+
+  /**
+   * Returns the ID for the blob.
+   *
+   * @return the ID for the blob
+   */
+  public UUID getId() {
+    return id;
+  }
+
+  /**
+   * Returns the date and time the blob was last referenced by newly stored data.
+   *
+   * @return the date and time the blob was last referenced by newly stored data
+   */
+  public OffsetDateTime getLastReferenced() {
+    return lastReferenced;
+  }
+
+  /**
+   * Returns the size of the data for the blob in bytes.
+   *
+   * @return the size of the data for the blob in bytes
+   */
+  public long getSize() {
+    return size;
+  }
+
+  /**
+   * Set the number of chunks for the blob.
+   *
+   * @param chunkCount the number of chunks for the blob
+   */
+  public void setChunkCount(int chunkCount) {
+    this.chunkCount = chunkCount;
+  }
+
+  /**
+   * Set the hex-encoded SHA-256 hash of the data for the blob.
+   *
+   * @param hash the hex-encoded SHA-256 hash of the data for the blob
+   */
+  public void setHash(String hash) {
+    this.hash = hash;
+  }
+
+  /**
+   * Set the date and time the blob was last referenced by newly stored data.
+   *
+   * @param lastReferenced the date and time the blob was last referenced by newly stored data
+   */
+  public void setLastReferenced(OffsetDateTime lastReferenced) {
+    this.lastReferenced = lastReferenced;
+  }
+
+  /**
+   * Set the size of the data for the blob in bytes.
+   *
+   * @param size the size of the data for the blob in bytes
+   */
+  public void setSize(long size) {
+    this.size = size;
+  }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package digital.inception.operations.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.UUID;
+
+/**
+ * The {@code StoredBlobChunk} class holds a fixed-size chunk of the data for a blob stored in the
+ * database by the internal blob store.
+ *
+ * @author Marcus Portmann
+ */
+@Entity
+@Table(name = "operations_blob_chunks")
+@IdClass(StoredBlobChunkId.class)
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class StoredBlobChunk implements Serializable {
+
+  @Serial private static final long serialVersionUID = 1000000;
+
+  /** The ID for the blob the chunk is associated with. */
+  @Id
+  @Column(name = "blob_id", nullable = false)
+  private UUID blobId;
+
+  /** The data for the chunk. */
+  @Column(name = "data", nullable = false)
+  private byte[] data;
+
+  /** The zero-based index of the chunk. */
+  @Id
+  @Column(name = "chunk_index", nullable = false)
+  private int index;
+
+  /** Constructs a new {@code StoredBlobChunk}. */
+  public StoredBlobChunk() {}
+
+  /**
+   * Constructs a new {@code StoredBlobChunk}.
+   *
+   * @param blobId the ID for the blob the chunk is associated with
+   * @param index the zero-based index of the chunk
+   * @param data the data for the chunk
+   */
+  public StoredBlobChunk(UUID blobId, int index, byte[] data) {
+    this.blobId = blobId;
+    this.index = index;
+    this.data = data;
+  }
+
+  /**
+   * Returns the ID for the blob the chunk is associated with.
+   *
+   * @return the ID for the blob the chunk is associated with
+   */
+  public UUID getBlobId() {
+    return blobId;
+  }
+
+  /**
+   * Returns the data for the chunk.
+   *
+   * @return the data for the chunk
+   */
+  public byte[] getData() {
+    return data;
+  }
+
+  /**
+   * Returns the zero-based index of the chunk.
+   *
+   * @return the zero-based index of the chunk
+   */
+  public int getIndex() {
+    return index;
+  }
+}
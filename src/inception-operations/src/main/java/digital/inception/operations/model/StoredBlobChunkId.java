@@ -0,0 +1,89 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package digital.inception.operations.model;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * The {@code StoredBlobChunkId} class implements the ID class for the {@code StoredBlobChunk}
+ * class.
+ *
+ * @author Marcus Portmann
+ */
+@SuppressWarnings("unused")
+public class StoredBlobChunkId implements Serializable {
+
+  @Serial private static final long serialVersionUID = 1000000;
+
+  /** The ID for the blob the chunk is associated with. */
+  private UUID blobId;
+
+  /** The zero-based index of the chunk. */
+  private int index;
+
+  /** Constructs a new {@code StoredBlobChunkId}. */
+  public StoredBlobChunkId() {}
+
+  /**
+   * Constructs a new {@code StoredBlobChunkId}.
+   *
+   * @param blobId the ID for the blob the chunk is associated with
+   * @param index the zero-based index of the chunk
+   */
+  public StoredBlobChunkId(UUID blobId, int index) {
+    this.blobId = blobId;
+    this.index = index;
+  }
+
+  /**
+   * Indicates whether some other object is "equal to" this one.
+   *
+   * @param object the reference object with which to compare
+   * @return {@code true} if this object is the same as the object argument, otherwise {@code false}
+   */
+  @Override
+  public boolean equals(Object object) {
+    if (this == object) {
+      return true;
+    }
+
+    if (object == null) {
+      return false;
+    }
+
+    if (getClass() != object.getClass()) {
+      return false;
+    }
+
+    StoredBlobChunkId other = (StoredBlobChunkId) object;
+
+    return Objects.equals(blobId, other.blobId) && (index == other.index);
+  }
+
+  /**
+   * Returns a hash code value for the object.
+   *
+   * @return a hash code value for the object
+   */
+  @Override
+  public int hashCode() {
+    return ((blobId == null) ? 0 : blobId.hashCode()) + Integer.hashCode(index);
+  }
+}
@@ -0,0 +1,323 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package digital.inception.operations.model;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import digital.inception.core.file.FileType;
+import digital.inception.core.util.StringUtil;
+import digital.inception.core.xml.LocalDateAdapter;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlElement;
+import jakarta.xml.bind.annotation.XmlElementWrapper;
+import jakarta.xml.bind.annotation.XmlRootElement;
+import jakarta.xml.bind.annotation.XmlSchemaType;
+import jakarta.xml.bind.annotation.XmlType;
+import jakarta.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * The {@code UploadDocumentRequest} class represents a request to upload a document.
+ *
+ * <p>The data for the document is not part of the request and is uploaded separately.
+ *
+ * @author Marcus Portmann
+ */
+@Schema(description = "A request to upload a document")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonPropertyOrder({
+  "definitionId",
+  "fileType",
+  "name",
+  "externalReference",
+  "sourceDocumentId",
+  "issueDate",
+  "expiryDate",
+  "externalReferences",
+  "attributes"
+})
+@XmlRootElement(name = "UploadDocumentRequest", namespace = "https://inception.digital/operations")
+@XmlType(
+    name = "UploadDocumentRequest",
+    namespace = "https://inception.digital/operations",
+    propOrder = {
+      "definitionId",
+      "fileType",
+      "name",
+      "sourceDocumentId",
+      "issueDate",
+      "expiryDate",
+      "externalReferences",
+      "attributes"
+    })
+@XmlAccessorType(XmlAccessType.FIELD)
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class UploadDocumentRequest implements Serializable {
+
+  @Serial private static final long serialVersionUID = 1000000;
+
+  /** The attributes for the document. */
+  @Schema(description = "The attributes for the document")
+  @JsonProperty
+  @XmlElementWrapper(name = "Attributes")
+  @XmlElement(name = "Attribute")
+  private List<@Valid DocumentAttribute> attributes;
+
+  /** The ID for the document definition the document is associated with. */
+  @Schema(
+      description = "The ID for the document definition the document is associated with",
+      requiredMode = Schema.RequiredMode.REQUIRED)
+  @JsonProperty(required = true)
+  @XmlElement(name = "DefinitionId", required = true)
+  @NotBlank
+  @Size(max = 100)
+  private String definitionId;
+
+  /** The expiry date for the document. */
+  @Schema(description = "The ISO 8601 format expiry date for the document")
+  @JsonProperty
+  @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd")
+  @XmlElement(name = "ExpiryDate")
+  @XmlJavaTypeAdapter(LocalDateAdapter.class)
+  @XmlSchemaType(name = "date")
+  private LocalDate expiryDate;
+
+  /** The external references for the document. */
+  @Schema(description = "The external references for the document")
+  @JsonProperty
+  @XmlElementWrapper(name = "ExternalReferences")
+  @XmlElement(name = "ExternalReference")
+  private List<@Valid DocumentExternalReference> externalReferences;
+
+  /** The file type for the document. */
+  @Schema(
+      description = "The file type for the document",
+      requiredMode = Schema.RequiredMode.REQUIRED)
+  @JsonProperty(required = true)
+  @XmlElement(name = "FileType", required = true)
+  @NotNull
+  private FileType fileType;
+
+  /** The issue date for the document. */
+  @Schema(description = "The ISO 8601 format issue date for the document")
+  @JsonProperty
+  @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd")
+  @XmlElement(name = "IssueDate")
+  @XmlJavaTypeAdapter(LocalDateAdapter.class)
+  @XmlSchemaType(name = "date")
+  private LocalDate issueDate;
+
+  /** The name of the document. */
+  @Schema(description = "The name of the document", requiredMode = Schema.RequiredMode.REQUIRED)
+  @JsonProperty(required = true)
+  @XmlElement(name = "Name", required = true)
+  @NotBlank
+  @Size(max = 200)
+  private String name;
+
+  /** The ID for the source document that was split to create this document. */
+  @Schema(description = "The ID for the source document that was split to create this document")
+  @JsonProperty
+  @XmlElement(name = "SourceDocumentId")
+  private UUID sourceDocumentId;
+
+  /** Constructs a new {@code UploadDocumentRequest}. */
+  public UploadDocumentRequest() {}
+
+  /**
+   * Add the document attribute for the document.
+   *
+   * @param attribute the document attribute
+   */
+  public void addAttribute(DocumentAttribute attribute) {
+    attributes.removeIf(
+        existingAttribute ->
+            StringUtil.equalsIgnoreCase(existingAttribute.getName(), attribute.getName()));
+
+    attributes.add(attribute);
+  }
+
+  /**
+   * Retrieve the attribute with the specified name for the document.
+   *
+   * @param name the name of the attribute
+   * @return an {@link Optional} containing the attribute with the specified name for the document
+   *     or an empty {@link Optional} if the attribute could not be found
+   */
+  public Optional<DocumentAttribute> getAttribute(String name) {
+    return attributes.stream()
+        .filter(attribute -> StringUtil.equalsIgnoreCase(attribute.getName(), name))
+        .findFirst();
+  }
+
+  /**
+   * Returns the attributes for the document.
+   *
+   * @return the attributes for the document
+   */
+  public List<DocumentAttribute> getAttributes() {
+    return attributes;
+  }
+
+  /**
+   * Returns the ID for the document definition the document is associated with.
+   *
+   * @return the ID for the document definition the document is associated with
+   */
+  public String getDefinitionId() {
+    return definitionId;
+  }
+
+  /**
+   * Returns the expiry date for the document.
+   *
+   * @return the expiry date for the document
+   */
+  public LocalDate getExpiryDate() {
+    return expiryDate;
+  }
+
+  /**
+   * Returns the external references for the document.
+   *
+   * @return the external references for the document
+   */
+  public List<DocumentExternalReference> getExternalReferences() {
+    return externalReferences;
+  }
+
+  /**
+   * Returns the file type for the document.
+   *
+   * @return the file type for the document
+   */
+  public FileType getFileType() {
+    return fileType;
+  }
+
+  /**
+   * Returns the issue date for the document.
+   *
+   * @return the issue date for the document
+   */
+  public LocalDate getIssueDate() {
+    return issueDate;
+  }
+
+  /**
+   * Returns the name of the document.
+   *
+   * @return the name of the document
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Returns the ID for the source document that was split to create this document.
+   *
+   * @return the ID for the source document that was split to create this document
+   */
+  public UUID getSourceDocumentId() {
+    return sourceDocumentId;
+  }
+
+  /**
+   * Sets the attributes for the document.
+   *
+   * @param attributes the attributes for the document
+   */
+  public void setAttributes(List<DocumentAttribute> attributes) {
+    this.attributes = attributes;
+  }
+
+  /**
+   * Sets the ID for the document definition the document is associated with.
+   *
+   * @param definitionId the ID for the document definition the document is associated with
+   */
+  public void setDefinitionId(String definitionId) {
+    this.definitionId = definitionId;
+  }
+
+  /**
+   * Sets the expiry date for the document.
+   *
+   * @param expiryDate the expiry date for the document
+   */
+  public void setExpiryDate(LocalDate expiryDate) {
+    this.expiryDate = expiryDate;
+  }
+
+  /**
+   * Sets the external references for the document.
+   *
+   * @param externalReferences the external references for the document
+   */
+  public void setExternalReferences(List<DocumentExternalReference> externalReferences) {
+    this.externalReferences = externalReferences;
+  }
+
+  /**
+   * Sets the file type for the document.
+   *
+   * @param fileType the file type for the document
+   */
+  public void setFileType(FileType fileType) {
+    this.fileType = fileType;
+  }
+
+  /**
+   * Sets the issue date for the document.
+   *
+   * @param issueDate the issue date for the document
+   */
+  public void setIssueDate(LocalDate issueDate) {
+    this.issueDate = issueDate;
+  }
+
+  /**
+   * Sets the name of the document.
+   *
+   * @param name the name of the document
+   */
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  /**
+   * Sets the ID for the source document that was split to create this document.
+   *
+   * @param sourceDocumentId the ID for the source document that was split to create this document
+   */
+  public void setSourceDocumentId(UUID sourceDocumentId) {
+    this.sourceDocumentId = sourceDocumentId;
+  }
+}
@@ -23,11 +23,14 @@ import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import digital.inception.core.util.StringUtil;
+import digital.inception.operations.util.SearchUtil;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.IdClass;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
@@ -76,6 +79,23 @@ public class WorkflowAttribute implements Serializable {
   @Column(name = "name", length = 100, nullable = false)
   private String name;
 
+  /** The case-folded copy of the name of the workflow attribute. */
+  @Schema(hidden = true)
+  @JsonIgnore
+  @XmlTransient
+  @Column(name = "normalized_name", length = 100, nullable = false)
+  private String normalizedName;
+
+  /**
+   * The case-folded copy of the value for the workflow attribute, truncated if required, which
+   * allows workflows to be searched by attribute value using an index.
+   */
+  @Schema(hidden = true)
+  @JsonIgnore
+  @XmlTransient
+  @Column(name = "normalized_value", length = 1000, nullable = false)
+  private String normalizedValue;
+
   /** The value for the workflow attribute. */
   @Schema(
       description = "The value for the workflow attribute",
@@ -198,6 +218,18 @@ public class WorkflowAttribute implements Serializable {
     }
   }
 
+  /** The Java Persistence callback method invoked before the entity is created in the database. */
+  @PrePersist
+  protected void onCreate() {
+    normalize();
+  }
+
+  /** The Java Persistence callback method invoked before the entity is updated in the database. */
+  @PreUpdate
+  protected void onUpdate() {
+    normalize();
+  }
+
   /**
    * Called by the JAXB runtime when an instance of this class has been completely unmarshalled, but
    * before it is added to its parent.
@@ -211,4 +243,9 @@ public class WorkflowAttribute implements Serializable {
       setWorkflow(parent);
     }
   }
+
+  private void normalize() {
+    normalizedName = SearchUtil.normalize(name);
+    normalizedValue = SearchUtil.normalize(value);
+  }
 }
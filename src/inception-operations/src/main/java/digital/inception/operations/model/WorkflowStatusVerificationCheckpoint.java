@@ -0,0 +1,117 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package digital.inception.operations.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * The {@code WorkflowStatusVerificationCheckpoint} class holds the progress of the in-flight
+ * workflow status verification for a workflow engine.
+ *
+ * <p>The active workflows for each tenant are verified in tenant ID and workflow ID order, which
+ * allows an interrupted verification to resume after the last workflow whose status was verified.
+ * The checkpoint is removed once all the active workflows for the workflow engine have been
+ * verified.
+ *
+ * @author Marcus Portmann
+ */
+@Entity
+@Table(name = "operations_workflow_status_verification_checkpoints")
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class WorkflowStatusVerificationCheckpoint implements Serializable {
+
+  @Serial private static final long serialVersionUID = 1000000;
+
+  /** The ID for the workflow engine. */
+  @Id
+  @Column(name = "engine_id", length = 50, nullable = false)
+  private String engineId;
+
+  /** The ID for the last workflow whose status was verified. */
+  @Column(name = "last_workflow_id", nullable = false)
+  private UUID lastWorkflowId;
+
+  /** The ID for the tenant whose workflows were being verified. */
+  @Column(name = "tenant_id", nullable = false)
+  private UUID tenantId;
+
+  /** The date and time the checkpoint was last updated. */
+  @Column(name = "updated", nullable = false)
+  private OffsetDateTime updated;
+
+  /** Constructs a new {@code WorkflowStatusVerificationCheckpoint}. */
+  public WorkflowStatusVerificationCheckpoint() {}
+
+  /**
+   * Constructs a new {@code WorkflowStatusVerificationCheckpoint}.
+   *
+   * @param engineId the ID for the workflow engine
+   * @param tenantId the ID for the tenant whose workflows were being verified
+   * @param lastWorkflowId the ID for the last workflow whose status was verified
+   * @param updated the date and time the checkpoint was last updated
+   */
+  public WorkflowStatusVerificationCheckpoint(
+      String engineId, UUID tenantId, UUID lastWorkflowId, OffsetDateTime updated) {
+    this.engineId = engineId;
+    this.tenantId = tenantId;
+    this.lastWorkflowId = lastWorkflowId;
+    this.updated = updated;
+  }
+
+  /**
+   * Returns the ID for the workflow engine.
+   *
+   * @return the ID for the workflow engine
+   */
+  public String getEngineId() {
+    return engineId;
+  }
+
+  /**
+   * Returns the ID for the last workflow whose status was verified.
+   *
+   * @return the ID for the last workflow whose status was verified
+   */
+  public UUID getLastWorkflowId() {
+    return lastWorkflowId;
+  }
+
+  /**
+   * Returns the ID for the tenant whose workflows were being verified.
+   *
+   * @return the ID for the tenant whose workflows were being verified
+   */
+  public UUID getTenantId() {
+    return tenantId;
+  }
+
+  /**
+   * Returns the date and time the checkpoint was last updated.
+   *
+   * @return the date and time the checkpoint was last updated
+   */
+  public OffsetDateTime getUpdated() {
+    return updated;
+  }
+}
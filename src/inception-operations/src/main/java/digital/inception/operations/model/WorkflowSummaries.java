@@ -46,19 +46,39 @@ import java.util.List;
   "sortBy",
   "sortDirection",
   "pageIndex",
-  "pageSize"
+  "pageSize",
+  "nextCursor"
 })
 @XmlRootElement(name = "WorkflowSummaries", namespace = "https://inception.digital/operations")
 @XmlType(
     name = "WorkflowSummaries",
     namespace = "https://inception.digital/operations",
-    propOrder = {"workflowSummaries", "total", "sortBy", "sortDirection", "pageIndex", "pageSize"})
+    propOrder = {
+      "workflowSummaries",
+      "total",
+      "sortBy",
+      "sortDirection",
+      "pageIndex",
+      "pageSize",
+      "nextCursor"
+    })
 @XmlAccessorType(XmlAccessType.FIELD)
 @SuppressWarnings({"unused"})
 public class WorkflowSummaries implements Serializable {
 
   @Serial private static final long serialVersionUID = 1000000;
 
+  /**
+   * The opaque cursor that can be used to retrieve the next page of workflow summaries or {@code
+   * null} if there are no more workflow summaries.
+   */
+  @Schema(
+      description =
+          "The opaque cursor that can be used to retrieve the next page of workflow summaries")
+  @JsonProperty
+  @XmlElement(name = "NextCursor")
+  private String nextCursor;
+
   /** The page index. */
   @Schema(description = "The page index", requiredMode = Schema.RequiredMode.REQUIRED)
   @JsonProperty(required = true)
@@ -83,9 +103,13 @@ public class WorkflowSummaries implements Serializable {
   @XmlElement(name = "SortDirection")
   private SortDirection sortDirection;
 
-  /** The total number of workflow summaries. */
+  /**
+   * The total number of workflow summaries or -1 if the total number of workflow summaries was not
+   * calculated.
+   */
   @Schema(
-      description = "The total number of workflow summaries",
+      description =
+          "The total number of workflow summaries or -1 if the total number of workflow summaries was not calculated",
       requiredMode = Schema.RequiredMode.REQUIRED)
   @JsonProperty(required = true)
   @XmlElement(name = "Total", required = true)
@@ -127,6 +151,43 @@ public class WorkflowSummaries implements Serializable {
     this.pageSize = pageSize;
   }
 
+  /**
+   * Constructs a new {@code WorkflowSummaries}.
+   *
+   * @param workflowSummaries the workflow summaries
+   * @param total the total number of workflow summaries or -1 if the total number of workflow
+   *     summaries was not calculated
+   * @param sortBy the method used to sort the workflow summaries e.g. by definition ID
+   * @param sortDirection the sort direction that was applied to the workflow summaries
+   * @param pageIndex the page index
+   * @param pageSize the page size
+   * @param nextCursor the opaque cursor that can be used to retrieve the next page of workflow
+   *     summaries or {@code null} if there are no more workflow summaries
+   */
+  @JsonCreator(mode = JsonCreator.Mode.DISABLED)
+  public WorkflowSummaries(
+      List<WorkflowSummary> workflowSummaries,
+      long total,
+      WorkflowSortBy sortBy,
+      SortDirection sortDirection,
+      int pageIndex,
+      int pageSize,
+      String nextCursor) {
+    this(workflowSummaries, total, sortBy, sortDirection, pageIndex, pageSize);
+
+    this.nextCursor = nextCursor;
+  }
+
+  /**
+   * Returns the opaque cursor that can be used to retrieve the next page of workflow summaries.
+   *
+   * @return the opaque cursor that can be used to retrieve the next page of workflow summaries or
+   *     {@code null} if there are no more workflow summaries
+   */
+  public String getNextCursor() {
+    return nextCursor;
+  }
+
   /**
    * Returns the page index.
    *
@@ -166,7 +227,8 @@ public class WorkflowSummaries implements Serializable {
   /**
    * Returns the total number of workflow summaries.
    *
-   * @return the total number of workflow summaries
+   * @return the total number of workflow summaries or -1 if the total number of workflow summaries
+   *     was not calculated
    */
   public long getTotal() {
     return total;
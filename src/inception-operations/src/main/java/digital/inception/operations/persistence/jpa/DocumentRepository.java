@@ -20,6 +20,8 @@ import digital.inception.operations.model.Document;
 import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 /**
  * The {@code DocumentRepository} interface declares the persistence for the {@code Document} domain
@@ -29,6 +31,14 @@ import org.springframework.data.jpa.repository.JpaRepository;
  */
 public interface DocumentRepository extends JpaRepository<Document, UUID> {
 
+  /**
+   * Returns whether a document with the specified hash exists.
+   *
+   * @param hash the hex-encoded SHA-256 hash of the data for the document
+   * @return {@code true} if a document with the specified hash exists or {@code false} otherwise
+   */
+  boolean existsByHash(String hash);
+
   /**
    * Returns whether a document with the specified tenant ID and ID exists.
    *
@@ -48,4 +58,40 @@ public interface DocumentRepository extends JpaRepository<Document, UUID> {
    *     document could not be found
    */
   Optional<Document> findByTenantIdAndId(UUID tenantId, UUID documentId);
+
+  /**
+   * Retrieve the data held inline for the document.
+   *
+   * @param tenantId the ID for the tenant
+   * @param documentId the ID for the document
+   * @return the data held inline for the document or {@code null} if the document could not be
+   *     found or its data is held in the blob store
+   */
+  @Query(
+      """
+      select d.data
+        from Document d
+       where d.tenantId = :tenantId
+         and d.id       = :documentId
+      """)
+  byte[] getDataByTenantIdAndId(
+      @Param("tenantId") UUID tenantId, @Param("documentId") UUID documentId);
+
+  /**
+   * Retrieve the hex-encoded SHA-256 hash of the data for the document.
+   *
+   * @param tenantId the ID for the tenant
+   * @param documentId the ID for the document
+   * @return an {@link Optional} containing the hex-encoded SHA-256 hash of the data for the
+   *     document or an empty {@link Optional} if the document could not be found
+   */
+  @Query(
+      """
+      select d.hash
+        from Document d
+       where d.tenantId = :tenantId
+         and d.id       = :documentId
+      """)
+  Optional<String> getHashByTenantIdAndId(
+      @Param("tenantId") UUID tenantId, @Param("documentId") UUID documentId);
 }
@@ -17,6 +17,7 @@
 package digital.inception.operations.persistence.jpa;
 
 import digital.inception.operations.model.DocumentSummary;
+import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
@@ -28,4 +29,15 @@ import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
  * @author Marcus Portmann
  */
 public interface DocumentSummaryRepository
-    extends JpaRepository<DocumentSummary, UUID>, JpaSpecificationExecutor<DocumentSummary> {}
+    extends JpaRepository<DocumentSummary, UUID>, JpaSpecificationExecutor<DocumentSummary> {
+
+  /**
+   * Find the document summary.
+   *
+   * @param tenantId the ID for the tenant
+   * @param documentId the ID for the document
+   * @return an {@link Optional} containing the document summary or an empty {@link Optional} if
+   *     the document summary could not be found
+   */
+  Optional<DocumentSummary> findByTenantIdAndId(UUID tenantId, UUID documentId);
+}
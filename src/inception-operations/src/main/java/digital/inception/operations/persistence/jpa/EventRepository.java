@@ -18,10 +18,16 @@ package digital.inception.operations.persistence.jpa;
 
 import digital.inception.operations.model.Event;
 import digital.inception.operations.model.EventStatus;
+import digital.inception.operations.model.EventType;
 import digital.inception.operations.model.ObjectType;
 import digital.inception.processor.persistence.jpa.ProcessableObjectJpaRepository;
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * The {@code EventRepository} interface declares the persistence for the {@code Event} domain type.
@@ -30,6 +36,29 @@ import java.util.UUID;
  */
 public interface EventRepository extends ProcessableObjectJpaRepository<Event, UUID, EventStatus> {
 
+  /**
+   * Complete the processing of the events that are being processed under the specified lock name.
+   *
+   * @param lockName the lock name for the events
+   * @param processed the date and time the events were processed
+   * @return the number of events that were completed
+   */
+  @Modifying
+  @Transactional
+  @Query(
+      """
+      update Event e
+         set e.status             = digital.inception.operations.model.EventStatus.PROCESSED,
+             e.lockName           = null,
+             e.locked             = null,
+             e.lastProcessed      = :processed,
+             e.processed          = :processed,
+             e.processingAttempts = e.processingAttempts + 1
+       where e.lockName           = :lockName
+         and e.status             = digital.inception.operations.model.EventStatus.PROCESSING
+      """)
+  int completeLockedEvents(String lockName, OffsetDateTime processed);
+
   /**
    * Returns whether an event with the specified tenant ID and ID exists.
    *
@@ -50,4 +79,69 @@ public interface EventRepository extends ProcessableObjectJpaRepository<Event, U
    */
   List<Event> findByTenantIdAndObjectTypeAndObjectId(
       UUID tenantId, ObjectType objectType, UUID objectId);
+
+  /**
+   * Find the events that are being processed under the specified lock name.
+   *
+   * @param lockName the lock name for the events
+   * @param status the status for the events
+   * @return the events in the order they occurred
+   */
+  List<Event> findByLockNameAndStatusOrderByOccurred(String lockName, EventStatus status);
+
+  /**
+   * Lock the queued workflow document events, that are due for processing, for the workflow
+   * documents associated with the workflow.
+   *
+   * @param tenantId the ID for the tenant
+   * @param workflowId the ID for the workflow
+   * @param eventTypes the workflow document event types
+   * @param lockName the lock name for the events
+   * @param locked the date and time the events were locked
+   * @return the number of events that were locked
+   */
+  @Modifying
+  @Transactional
+  @Query(
+      """
+      update Event e
+         set e.status   = digital.inception.operations.model.EventStatus.PROCESSING,
+             e.lockName = :lockName,
+             e.locked   = :locked
+       where e.tenantId = :tenantId
+         and e.status = digital.inception.operations.model.EventStatus.QUEUED
+         and e.objectType = digital.inception.operations.model.ObjectType.WORKFLOW_DOCUMENT
+         and e.type in :eventTypes
+         and e.nextProcessed <= :locked
+         and e.processingSuspended = false
+         and e.objectId in (select wd.id
+                              from WorkflowDocument wd
+                             where wd.tenantId = :tenantId
+                               and wd.workflowId = :workflowId)
+      """)
+  int lockQueuedWorkflowDocumentEventsForWorkflow(
+      UUID tenantId,
+      UUID workflowId,
+      Collection<EventType> eventTypes,
+      String lockName,
+      OffsetDateTime locked);
+
+  /**
+   * Return the events that are being processed under the specified lock name to the queue.
+   *
+   * @param lockName the lock name for the events
+   * @return the number of events that were unlocked
+   */
+  @Modifying
+  @Transactional
+  @Query(
+      """
+      update Event e
+         set e.status   = digital.inception.operations.model.EventStatus.QUEUED,
+             e.lockName = null,
+             e.locked   = null
+       where e.lockName = :lockName
+         and e.status   = digital.inception.operations.model.EventStatus.PROCESSING
+      """)
+  int unlockLockedEvents(String lockName);
 }
@@ -17,6 +17,7 @@
 package digital.inception.operations.persistence.jpa;
 
 import digital.inception.operations.model.InteractionAttachment;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -32,6 +33,15 @@ import org.springframework.data.repository.query.Param;
 public interface InteractionAttachmentRepository
     extends JpaRepository<InteractionAttachment, UUID> {
 
+  /**
+   * Returns whether an interaction attachment with the specified hash exists.
+   *
+   * @param hash the hex-encoded SHA-256 hash of the data for the interaction attachment
+   * @return {@code true} if an interaction attachment with the specified hash exists or {@code
+   *     false} otherwise
+   */
+  boolean existsByHash(String hash);
+
   /**
    * Returns whether an interaction attachment with the specified tenant ID and ID exists.
    *
@@ -52,6 +62,42 @@ public interface InteractionAttachmentRepository
    */
   Optional<InteractionAttachment> findByTenantIdAndId(UUID tenantId, UUID interactionAttachmentId);
 
+  /**
+   * Find the hashes for the interaction attachments associated with the interaction.
+   *
+   * @param tenantId the ID for the tenant
+   * @param interactionId the ID for the interaction
+   * @return the hashes for the interaction attachments associated with the interaction
+   */
+  @Query(
+      """
+      select ia.hash
+        from InteractionAttachment ia
+       where ia.tenantId      = :tenantId
+         and ia.interactionId = :interactionId
+      """)
+  List<String> findHashesByTenantIdAndInteractionId(
+      @Param("tenantId") UUID tenantId, @Param("interactionId") UUID interactionId);
+
+  /**
+   * Retrieve the data held inline for the interaction attachment.
+   *
+   * @param tenantId the ID for the tenant
+   * @param interactionAttachmentId the ID for the interaction attachment
+   * @return the data held inline for the interaction attachment or {@code null} if the interaction
+   *     attachment could not be found or its data is held in the blob store
+   */
+  @Query(
+      """
+      select ia.data
+        from InteractionAttachment ia
+       where ia.tenantId = :tenantId
+         and ia.id       = :interactionAttachmentId
+      """)
+  byte[] getDataByTenantIdAndId(
+      @Param("tenantId") UUID tenantId,
+      @Param("interactionAttachmentId") UUID interactionAttachmentId);
+
   /**
    * Find the ID for the interaction attachment with the specified interaction ID and hash.
    *
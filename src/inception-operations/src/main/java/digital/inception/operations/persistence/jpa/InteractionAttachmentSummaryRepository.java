@@ -17,6 +17,8 @@
 package digital.inception.operations.persistence.jpa;
 
 import digital.inception.operations.model.InteractionAttachmentSummary;
+import java.util.Optional;
+import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 
@@ -28,4 +30,16 @@ import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
  */
 public interface InteractionAttachmentSummaryRepository
     extends JpaRepository<InteractionAttachmentSummary, String>,
-        JpaSpecificationExecutor<InteractionAttachmentSummary> {}
+        JpaSpecificationExecutor<InteractionAttachmentSummary> {
+
+  /**
+   * Find the interaction attachment summary.
+   *
+   * @param tenantId the ID for the tenant
+   * @param interactionAttachmentId the ID for the interaction attachment
+   * @return an {@link Optional} containing the interaction attachment summary or an empty {@link
+   *     Optional} if the interaction attachment summary could not be found
+   */
+  Optional<InteractionAttachmentSummary> findByTenantIdAndId(
+      UUID tenantId, UUID interactionAttachmentId);
+}
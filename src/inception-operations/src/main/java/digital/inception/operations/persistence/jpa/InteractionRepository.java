@@ -22,6 +22,8 @@ import digital.inception.operations.model.InteractionStatus;
 import digital.inception.operations.model.InteractionSummary;
 import digital.inception.processor.persistence.jpa.ProcessableObjectJpaRepository;
 import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.domain.Page;
@@ -124,6 +126,29 @@ public interface InteractionRepository
       @Param("sourceId") UUID sourceId,
       @Param("sourceReference") String sourceReference);
 
+  /**
+   * Find the source references and IDs for the interactions with the specified source references
+   * that are associated with the interaction source.
+   *
+   * @param tenantId the ID for the tenant
+   * @param sourceId the ID for the interaction source
+   * @param sourceReferences the source references
+   * @return the source references and IDs for the matching interactions with each element
+   *     containing the source reference followed by the ID for an interaction
+   */
+  @Query(
+      """
+      select i.sourceReference, i.id
+        from Interaction i
+       where i.tenantId         = :tenantId
+         and i.sourceId         = :sourceId
+         and i.sourceReference in :sourceReferences
+      """)
+  List<Object[]> findIdsByTenantIdAndSourceIdAndSourceReferences(
+      @Param("tenantId") UUID tenantId,
+      @Param("sourceId") UUID sourceId,
+      @Param("sourceReferences") Collection<String> sourceReferences);
+
   /**
    * Find the ID for the interaction source the interaction is associated with.
    *
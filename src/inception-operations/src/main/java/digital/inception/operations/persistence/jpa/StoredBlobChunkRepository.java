@@ -0,0 +1,53 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package digital.inception.operations.persistence.jpa;
+
+import digital.inception.operations.model.StoredBlobChunk;
+import digital.inception.operations.model.StoredBlobChunkId;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+/**
+ * The {@code StoredBlobChunkRepository} interface declares the persistence for the {@code
+ * StoredBlobChunk} domain type.
+ *
+ * @author Marcus Portmann
+ */
+public interface StoredBlobChunkRepository
+    extends JpaRepository<StoredBlobChunk, StoredBlobChunkId> {
+
+  /**
+   * Retrieve the data for the blob chunk.
+   *
+   * <p>The data is retrieved as a scalar projection so that the chunk is not attached to the
+   * persistence context, which allows a blob to be read with constant memory.
+   *
+   * @param blobId the ID for the blob the blob chunk is associated with
+   * @param index the zero-based index of the blob chunk
+   * @return the data for the blob chunk or {@code null} if the blob chunk could not be found
+   */
+  @Query(
+      """
+      select bc.data
+        from StoredBlobChunk bc
+       where bc.blobId = :blobId
+         and bc.index  = :index
+      """)
+  byte[] getDataByBlobIdAndIndex(@Param("blobId") UUID blobId, @Param("index") int index);
+}
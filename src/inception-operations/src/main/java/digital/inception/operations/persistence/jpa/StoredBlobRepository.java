@@ -0,0 +1,107 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package digital.inception.operations.persistence.jpa;
+
+import digital.inception.operations.model.StoredBlob;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+/**
+ * The {@code StoredBlobRepository} interface declares the persistence for the {@code StoredBlob}
+ * domain type.
+ *
+ * @author Marcus Portmann
+ */
+public interface StoredBlobRepository extends JpaRepository<StoredBlob, UUID> {
+
+  /**
+   * Delete the blobs with the specified hash if they were last referenced before the specified
+   * date and time.
+   *
+   * <p>The chunks for the blobs are deleted by the cascading foreign key.
+   *
+   * @param hash the hex-encoded SHA-256 hash of the data for the blobs
+   * @param lastReferencedBefore the date and time the blobs must have been last referenced before
+   * @return the number of blobs that were deleted
+   */
+  @Modifying(clearAutomatically = true, flushAutomatically = true)
+  @Query(
+      "delete from StoredBlob sb where sb.hash = :hash "
+          + "and sb.lastReferenced < :lastReferencedBefore")
+  int deleteByHashAndLastReferencedBefore(
+      @Param("hash") String hash,
+      @Param("lastReferencedBefore") OffsetDateTime lastReferencedBefore);
+
+  /**
+   * Returns whether a blob with the specified hash exists.
+   *
+   * @param hash the hex-encoded SHA-256 hash of the data for the blob
+   * @return {@code true} if a blob with the specified hash exists or {@code false} otherwise
+   */
+  boolean existsByHash(String hash);
+
+  /**
+   * Find the oldest blob with the specified hash.
+   *
+   * @param hash the hex-encoded SHA-256 hash of the data for the blob
+   * @return an {@link Optional} containing the blob or an empty {@link Optional} if the blob could
+   *     not be found
+   */
+  Optional<StoredBlob> findFirstByHashOrderByCreatedAsc(String hash);
+
+  /**
+   * Returns the hashes, in ascending order, for the blobs that were last referenced before the
+   * specified date and time and whose hashes follow the specified hash.
+   *
+   * @param lastReferencedBefore the date and time the blobs must have been last referenced before
+   * @param afterHash the hash the returned hashes must follow
+   * @param pageable the pagination information
+   * @return the hashes for the blobs
+   */
+  @Query(
+      "select distinct sb.hash from StoredBlob sb where sb.lastReferenced < :lastReferencedBefore "
+          + "and sb.hash > :afterHash order by sb.hash")
+  List<String> findHashesLastReferencedBefore(
+      @Param("lastReferencedBefore") OffsetDateTime lastReferencedBefore,
+      @Param("afterHash") String afterHash,
+      Pageable pageable);
+
+  /**
+   * Update the date and time the blobs, other than the blob with the specified ID, with the
+   * specified hash were last referenced.
+   *
+   * @param hash the hex-encoded SHA-256 hash of the data for the blobs
+   * @param id the ID for the blob to exclude
+   * @param lastReferenced the date and time the blobs were last referenced
+   * @return the number of blobs that were updated
+   */
+  @Modifying(flushAutomatically = true)
+  @Query(
+      "update StoredBlob sb set sb.lastReferenced = :lastReferenced "
+          + "where sb.hash = :hash and sb.id <> :id")
+  int updateLastReferencedByHashAndIdNot(
+      @Param("hash") String hash,
+      @Param("id") UUID id,
+      @Param("lastReferenced") OffsetDateTime lastReferenced);
+}
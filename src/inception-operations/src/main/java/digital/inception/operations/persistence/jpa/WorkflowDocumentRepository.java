@@ -18,6 +18,7 @@ package digital.inception.operations.persistence.jpa;
 
 import digital.inception.operations.model.OutstandingWorkflowDocument;
 import digital.inception.operations.model.WorkflowDocument;
+import digital.inception.operations.model.WorkflowRoutingContext;
 import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -134,6 +135,22 @@ public interface WorkflowDocumentRepository
   Optional<UUID> findDocumentIdByTenantIdAndId(
       @Param("tenantId") UUID tenantId, @Param("workflowDocumentId") UUID workflowDocumentId);
 
+  /**
+   * Find the IDs for the workflow documents for the workflow.
+   *
+   * @param tenantId the ID for the tenant
+   * @param workflowId the ID for the workflow the workflow documents are associated with
+   * @return the IDs for the workflow documents
+   */
+  @Query(
+      """
+         select wd.id
+         from WorkflowDocument wd
+         where wd.tenantId = :tenantId and wd.workflowId = :workflowId
+         """)
+  List<UUID> findIdsByTenantIdAndWorkflowId(
+      @Param("tenantId") UUID tenantId, @Param("workflowId") UUID workflowId);
+
   /**
    * Find the outstanding workflow documents for the workflow.
    *
@@ -225,6 +242,35 @@ public interface WorkflowDocumentRepository
   Optional<UUID> findWorkflowIdByTenantIdAndId(
       @Param("tenantId") UUID tenantId, @Param("workflowDocumentId") UUID workflowDocumentId);
 
+  /**
+   * Find the routing context for the workflow the workflow document is associated with.
+   *
+   * @param tenantId the ID for the tenant
+   * @param workflowDocumentId the workflow document ID
+   * @return an {@link Optional} containing the routing context for the workflow the workflow
+   *     document with the specified tenant ID and ID is associated with or an empty {@link
+   *     Optional} if the workflow document could not be found
+   */
+  @Query(
+      """
+      select new digital.inception.operations.model.WorkflowRoutingContext(
+        w.id,
+        w.tenantId,
+        w.definitionId,
+        w.definitionVersion,
+        wdef.engineId,
+        w.engineInstanceId
+      )
+      from WorkflowDocument wd
+        join Workflow w on w.id = wd.workflowId
+        join WorkflowDefinition wdef
+             on wdef.id = w.definitionId
+            and wdef.version = w.definitionVersion
+      where wd.tenantId = :tenantId and wd.id = :workflowDocumentId
+      """)
+  Optional<WorkflowRoutingContext> findWorkflowRoutingContextByTenantIdAndId(
+      @Param("tenantId") UUID tenantId, @Param("workflowDocumentId") UUID workflowDocumentId);
+
   /**
    * Returns whether the workflow document is verifiable.
    *
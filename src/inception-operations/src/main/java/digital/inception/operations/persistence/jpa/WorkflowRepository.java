@@ -16,6 +16,7 @@
 
 package digital.inception.operations.persistence.jpa;
 
+import digital.inception.operations.model.ActiveWorkflow;
 import digital.inception.operations.model.Workflow;
 import digital.inception.operations.model.WorkflowDefinitionId;
 import digital.inception.operations.model.WorkflowEngineIds;
@@ -24,6 +25,7 @@ import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
@@ -141,6 +143,35 @@ public interface WorkflowRepository
   List<UUID> findActiveWorkflowIdsForTenantAndWorkflowEngine(
       @Param("tenantId") UUID tenantId, @Param("workflowEngineId") String workflowEngineId);
 
+  /**
+   * Find the next page of active workflows for the workflow engine, in workflow ID order, after the
+   * workflow with the specified ID.
+   *
+   * @param tenantId the ID for the tenant
+   * @param workflowEngineId the ID for the workflow engine
+   * @param afterWorkflowId the ID for the workflow after which active workflows should be returned
+   * @param pageable the pagination information
+   * @return the next page of active workflows for the workflow engine
+   */
+  @Query(
+      """
+      select new digital.inception.operations.model.ActiveWorkflow(
+                 w.id, w.tenantId, w.definitionId, w.definitionVersion, w.engineInstanceId)
+        from Workflow w
+        join WorkflowDefinition wd
+          on wd.id = w.definitionId and wd.version = w.definitionVersion
+       where w.tenantId = :tenantId
+         and w.status = digital.inception.operations.model.WorkflowStatus.ACTIVE
+         and wd.engineId = :workflowEngineId
+         and w.id > :afterWorkflowId
+       order by w.id
+      """)
+  List<ActiveWorkflow> findActiveWorkflowsForTenantAndWorkflowEngine(
+      @Param("tenantId") UUID tenantId,
+      @Param("workflowEngineId") String workflowEngineId,
+      @Param("afterWorkflowId") UUID afterWorkflowId,
+      Pageable pageable);
+
   /**
    * Find the workflow.
    *
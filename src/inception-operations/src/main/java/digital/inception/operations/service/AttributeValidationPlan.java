@@ -0,0 +1,318 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package digital.inception.operations.service;
+
+import digital.inception.operations.model.DocumentAttributeDefinition;
+import digital.inception.operations.model.DocumentDefinition;
+import digital.inception.operations.model.WorkflowAttributeDefinition;
+import digital.inception.operations.model.WorkflowDefinition;
+import digital.inception.operations.model.WorkflowVariableDefinition;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import org.springframework.util.StringUtils;
+
+/**
+ * The {@code AttributeValidationPlan} class holds the attribute or variable definitions for a
+ * document or workflow definition, compiled into an immutable form that allows the attributes or
+ * variables for a document or workflow to be validated without scanning the definitions.
+ *
+ * <p>Each defined name is mapped to its position in the definitions, the value patterns are
+ * compiled once, and the positions of the required names are held in a bitmap. If a name is
+ * defined more than once, the first definition applies. The names, patterns and required flags the
+ * plan was compiled from are retained, so that a cached plan can be checked against the current
+ * definitions before it is used.
+ *
+ * @author Marcus Portmann
+ */
+final class AttributeValidationPlan {
+
+  /** Whether names are compared case-sensitively. */
+  private final boolean caseSensitive;
+
+  /**
+   * The positions of the defined names, keyed by the case-folded name if names are not compared
+   * case-sensitively.
+   */
+  private final Map<String, Integer> indexes;
+
+  /** The defined names, by position. */
+  private final String[] names;
+
+  /** The value patterns the plan was compiled from, by position. */
+  private final String[] patternSources;
+
+  /** The compiled value patterns, by position, or {@code null} where no pattern is defined. */
+  private final Pattern[] patterns;
+
+  /** The bitmap of the positions of the required names. */
+  private final BitSet required;
+
+  /** The bitmap of the positions of the required definitions the plan was compiled from. */
+  private final BitSet requiredDefinitions;
+
+  private <T> AttributeValidationPlan(
+      List<T> definitions,
+      Function<T, String> nameFunction,
+      Function<T, String> patternFunction,
+      Predicate<T> requiredPredicate,
+      boolean caseSensitive) {
+    this.caseSensitive = caseSensitive;
+    this.names = new String[definitions.size()];
+    this.patternSources = new String[definitions.size()];
+    this.patterns = new Pattern[definitions.size()];
+    this.required = new BitSet(definitions.size());
+    this.requiredDefinitions = new BitSet(definitions.size());
+
+    Map<String, Integer> indexes = new HashMap<>();
+
+    for (int i = 0; i < definitions.size(); i++) {
+      T definition = definitions.get(i);
+
+      names[i] = nameFunction.apply(definition);
+
+      patternSources[i] = patternFunction.apply(definition);
+
+      if (StringUtils.hasText(patternSources[i])) {
+        patterns[i] = Pattern.compile(patternSources[i]);
+      }
+
+      Integer index = indexes.putIfAbsent(normalize(names[i]), i);
+
+      if (requiredPredicate.test(definition)) {
+        required.set((index != null) ? index : i);
+        requiredDefinitions.set(i);
+      }
+    }
+
+    this.indexes = Map.copyOf(indexes);
+  }
+
+  /**
+   * Returns the validation plan for the attributes for the document definition.
+   *
+   * @param documentDefinition the document definition
+   * @return the validation plan for the attributes for the document definition
+   */
+  static AttributeValidationPlan forDocumentAttributes(DocumentDefinition documentDefinition) {
+    return new AttributeValidationPlan(
+        documentDefinition.getAttributeDefinitions(),
+        DocumentAttributeDefinition::getName,
+        DocumentAttributeDefinition::getPattern,
+        DocumentAttributeDefinition::isRequired,
+        true);
+  }
+
+  /**
+   * Returns the validation plan for the attributes for the workflow definition.
+   *
+   * @param workflowDefinition the workflow definition
+   * @return the validation plan for the attributes for the workflow definition
+   */
+  static AttributeValidationPlan forWorkflowAttributes(WorkflowDefinition workflowDefinition) {
+    return new AttributeValidationPlan(
+        workflowDefinition.getAttributeDefinitions(),
+        WorkflowAttributeDefinition::getName,
+        WorkflowAttributeDefinition::getPattern,
+        WorkflowAttributeDefinition::isRequired,
+        true);
+  }
+
+  /**
+   * Returns the validation plan for the variables for the workflow definition.
+   *
+   * <p>Variable names are not case-sensitive and variable values are not validated.
+   *
+   * @param workflowDefinition the workflow definition
+   * @return the validation plan for the variables for the workflow definition
+   */
+  static AttributeValidationPlan forWorkflowVariables(WorkflowDefinition workflowDefinition) {
+    return new AttributeValidationPlan(
+        workflowDefinition.getVariableDefinitions(),
+        WorkflowVariableDefinition::getName,
+        variableDefinition -> null,
+        AttributeValidationPlan::isRequired,
+        false);
+  }
+
+  /**
+   * Returns the first required name, in definition order, that is not one of the provided names.
+   *
+   * @param providedNames the provided names
+   * @return the first required name that is not one of the provided names or {@code null} if all
+   *     the required names were provided
+   */
+  String getMissingRequiredName(List<String> providedNames) {
+    if (required.isEmpty()) {
+      return null;
+    }
+
+    BitSet missing = (BitSet) required.clone();
+
+    if (providedNames != null) {
+      for (String providedName : providedNames) {
+        int index = indexOf(providedName);
+
+        if (index >= 0) {
+          missing.clear(index);
+        }
+      }
+    }
+
+    int index = missing.nextSetBit(0);
+
+    return (index >= 0) ? names[index] : null;
+  }
+
+  /**
+   * Returns whether the validation plan was compiled from the current attribute definitions for the
+   * document definition.
+   *
+   * @param documentDefinition the document definition
+   * @return {@code true} if the validation plan was compiled from the current attribute
+   *     definitions for the document definition or {@code false} otherwise
+   */
+  boolean isCompiledFromDocumentAttributes(DocumentDefinition documentDefinition) {
+    return isCompiledFrom(
+        documentDefinition.getAttributeDefinitions(),
+        DocumentAttributeDefinition::getName,
+        DocumentAttributeDefinition::getPattern,
+        DocumentAttributeDefinition::isRequired);
+  }
+
+  /**
+   * Returns whether the validation plan was compiled from the current attribute definitions for the
+   * workflow definition.
+   *
+   * @param workflowDefinition the workflow definition
+   * @return {@code true} if the validation plan was compiled from the current attribute
+   *     definitions for the workflow definition or {@code false} otherwise
+   */
+  boolean isCompiledFromWorkflowAttributes(WorkflowDefinition workflowDefinition) {
+    return isCompiledFrom(
+        workflowDefinition.getAttributeDefinitions(),
+        WorkflowAttributeDefinition::getName,
+        WorkflowAttributeDefinition::getPattern,
+        WorkflowAttributeDefinition::isRequired);
+  }
+
+  /**
+   * Returns whether the validation plan was compiled from the current variable definitions for the
+   * workflow definition.
+   *
+   * @param workflowDefinition the workflow definition
+   * @return {@code true} if the validation plan was compiled from the current variable definitions
+   *     for the workflow definition or {@code false} otherwise
+   */
+  boolean isCompiledFromWorkflowVariables(WorkflowDefinition workflowDefinition) {
+    return isCompiledFrom(
+        workflowDefinition.getVariableDefinitions(),
+        WorkflowVariableDefinition::getName,
+        variableDefinition -> null,
+        AttributeValidationPlan::isRequired);
+  }
+
+  /**
+   * Returns whether the name is defined.
+   *
+   * @param name the name
+   * @return {@code true} if the name is defined or {@code false} otherwise
+   */
+  boolean isDefined(String name) {
+    return indexOf(name) >= 0;
+  }
+
+  /**
+   * Returns whether no names are defined.
+   *
+   * @return {@code true} if no names are defined or {@code false} otherwise
+   */
+  boolean isEmpty() {
+    return names.length == 0;
+  }
+
+  /**
+   * Returns whether the name is defined and the value matches the pattern defined for the name, if
+   * any.
+   *
+   * @param name the name
+   * @param value the value
+   * @return {@code true} if the name is defined and the value matches the pattern defined for the
+   *     name, if any, or {@code false} otherwise
+   */
+  boolean isValid(String name, String value) {
+    int index = indexOf(name);
+
+    // If no matching definition, it's not valid
+    if (index < 0) {
+      return false;
+    }
+
+    // If no pattern is defined, existence is sufficient for validity
+    if (patterns[index] == null) {
+      return true;
+    }
+
+    // Validate the value against the pattern (full match)
+    return StringUtils.hasText(value) && patterns[index].matcher(value).matches();
+  }
+
+  private int indexOf(String name) {
+    if (name == null) {
+      return -1;
+    }
+
+    Integer index = indexes.get(normalize(name));
+
+    return (index != null) ? index : -1;
+  }
+
+  private <T> boolean isCompiledFrom(
+      List<T> definitions,
+      Function<T, String> nameFunction,
+      Function<T, String> patternFunction,
+      Predicate<T> requiredPredicate) {
+    if (definitions.size() != names.length) {
+      return false;
+    }
+
+    for (int i = 0; i < names.length; i++) {
+      T definition = definitions.get(i);
+
+      if ((!Objects.equals(names[i], nameFunction.apply(definition)))
+          || (!Objects.equals(patternSources[i], patternFunction.apply(definition)))
+          || (requiredDefinitions.get(i) != requiredPredicate.test(definition))) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  private static boolean isRequired(WorkflowVariableDefinition variableDefinition) {
+    return Boolean.TRUE.equals(variableDefinition.isRequired());
+  }
+
+  private String normalize(String name) {
+    return caseSensitive ? name : name.toLowerCase();
+  }
+}
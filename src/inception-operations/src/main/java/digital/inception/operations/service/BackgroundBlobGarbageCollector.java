@@ -0,0 +1,47 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package digital.inception.operations.service;
+
+import digital.inception.core.exception.ServiceUnavailableException;
+import java.time.OffsetDateTime;
+
+/**
+ * The {@code BackgroundBlobGarbageCollector} interface defines the interface that must be
+ * implemented by a Background Blob Garbage Collector.
+ *
+ * @author Marcus Portmann
+ */
+public interface BackgroundBlobGarbageCollector {
+
+  /**
+   * Delete the blob if it is no longer referenced by any documents or interaction attachments and
+   * was last referenced before the specified date and time.
+   *
+   * <p>The blob is deleted in a new transaction, which allows this method to be invoked once the
+   * transaction that wrote the blob has completed.
+   *
+   * @param hash the hex-encoded SHA-256 hash of the data for the blob
+   * @param lastReferencedBefore the date and time the blob must have been last referenced before
+   * @return {@code true} if the blob was deleted or {@code false} otherwise
+   * @throws ServiceUnavailableException if the blob could not be deleted
+   */
+  boolean collectBlob(String hash, OffsetDateTime lastReferencedBefore)
+      throws ServiceUnavailableException;
+
+  /** Delete the blobs that are no longer referenced by any documents or interaction attachments. */
+  void collectGarbage();
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package digital.inception.operations.service;
+
+import digital.inception.core.exception.ServiceUnavailableException;
+import digital.inception.core.time.ApplicationClock;
+import digital.inception.operations.persistence.jpa.DocumentRepository;
+import digital.inception.operations.persistence.jpa.InteractionAttachmentRepository;
+import digital.inception.operations.store.BlobStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * The {@code BackgroundBlobGarbageCollectorImpl} class implements the Background Blob Garbage
+ * Collector.
+ *
+ * <p>Blobs are content-addressed and shared by all the documents and interaction attachments with
+ * the same data, so they are not deleted with the entities that reference them. Instead, the blobs
+ * that have not been referenced by newly stored data for the minimum age are retrieved in pages,
+ * in hash order, and deleted if no documents or interaction attachments reference them. The
+ * minimum age ensures that a blob is never deleted while data that reuses it is still being
+ * stored.
+ *
+ * @author Marcus Portmann
+ */
+@Component
+@SuppressWarnings("unused")
+public class BackgroundBlobGarbageCollectorImpl
+    implements BackgroundBlobGarbageCollector, SmartLifecycle {
+
+  /* Logger */
+  private static final Logger log =
+      LoggerFactory.getLogger(BackgroundBlobGarbageCollectorImpl.class);
+
+  /** The maximum number of blobs to check with each page. */
+  private final int batchSize;
+
+  /** The Blob Store. */
+  private final BlobStore blobStore;
+
+  /** The Document Repository. */
+  private final DocumentRepository documentRepository;
+
+  /** Is the Background Blob Garbage Collector executing? */
+  private final AtomicBoolean executing = new AtomicBoolean(false);
+
+  /** The Interaction Attachment Repository. */
+  private final InteractionAttachmentRepository interactionAttachmentRepository;
+
+  /** The optional meter registry used to export the blob garbage collection metrics. */
+  private final MeterRegistry meterRegistry;
+
+  /** The minimum amount of time since a blob was last referenced before it can be deleted. */
+  private final Duration minimumAge;
+
+  /** Is the Background Blob Garbage Collector running. */
+  private final AtomicBoolean running = new AtomicBoolean(false);
+
+  /**
+   * Constructs a new {@code BackgroundBlobGarbageCollectorImpl}.
+   *
+   * @param blobStore the Blob Store
+   * @param documentRepository the Document Repository
+   * @param interactionAttachmentRepository the Interaction Attachment Repository
+   * @param meterRegistryProvider the provider for the optional meter registry used to export the
+   *     blob garbage collection metrics
+   * @param batchSize the maximum number of blobs to check with each page
+   * @param minimumAge the minimum amount of time, in seconds, since a blob was last referenced
+   *     before it can be deleted
+   */
+  public BackgroundBlobGarbageCollectorImpl(
+      BlobStore blobStore,
+      DocumentRepository documentRepository,
+      InteractionAttachmentRepository interactionAttachmentRepository,
+      ObjectProvider<MeterRegistry> meterRegistryProvider,
+      @Value("${inception.operations.blob-garbage-collection.batch-size:1000}") int batchSize,
+      @Value("${inception.operations.blob-garbage-collection.minimum-age:86400}")
+          long minimumAge) {
+    this.blobStore = blobStore;
+    this.documentRepository = documentRepository;
+    this.interactionAttachmentRepository = interactionAttachmentRepository;
+    this.meterRegistry = meterRegistryProvider.getIfAvailable();
+    this.batchSize = Math.max(1, batchSize);
+    this.minimumAge = Duration.ofSeconds(Math.max(0, minimumAge));
+  }
+
+  @Override
+  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  public boolean collectBlob(String hash, OffsetDateTime lastReferencedBefore)
+      throws ServiceUnavailableException {
+    return (!documentRepository.existsByHash(hash))
+        && (!interactionAttachmentRepository.existsByHash(hash))
+        && blobStore.deleteBlob(hash, lastReferencedBefore);
+  }
+
+  /** Delete the blobs that are no longer referenced by any documents or interaction attachments. */
+  @Scheduled(cron = "0 0 3 * * ?")
+  public void collectGarbage() {
+    if (!executing.compareAndSet(false, true)) {
+      return;
+    }
+
+    try {
+      OffsetDateTime lastReferencedBefore = ApplicationClock.offsetNow().minus(minimumAge);
+
+      int numberOfDeletedBlobs = 0;
+      String afterHash = null;
+
+      while (true) {
+        // Stop here if the Background Blob Garbage Collector is being shutdown
+        if (!isRunning()) {
+          break;
+        }
+
+        List<String> hashes = blobStore.getBlobHashes(lastReferencedBefore, afterHash, batchSize);
+
+        for (String hash : hashes) {
+          if (collectBlob(hash, lastReferencedBefore)) {
+            numberOfDeletedBlobs++;
+          }
+        }
+
+        if (hashes.size() < batchSize) {
+          break;
+        }
+
+        afterHash = hashes.getLast();
+      }
+
+      if (numberOfDeletedBlobs > 0) {
+        log.info("Deleted " + numberOfDeletedBlobs + " blobs that are no longer referenced");
+
+        if (meterRegistry != null) {
+          meterRegistry
+              .counter("inception.operations.blob-garbage-collection.deleted-blobs")
+              .increment(numberOfDeletedBlobs);
+        }
+      }
+    } catch (Throwable e) {
+      log.error("Failed to delete the blobs that are no longer referenced", e);
+    } finally {
+      executing.set(false);
+    }
+  }
+
+  /** Initialize the Background Blob Garbage Collector. */
+  @PostConstruct
+  public void init() {
+    log.info("Initializing the Background Blob Garbage Collector");
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running.get();
+  }
+
+  @Override
+  public void start() {
+    if (running.compareAndSet(false, true)) {
+      log.info("Background Blob Garbage Collector started");
+    }
+  }
+
+  @Override
+  public void stop() {
+    if (running.compareAndSet(true, false)) {
+      log.info("Shutting down the Background Blob Garbage Collector");
+    }
+  }
+}
@@ -16,17 +16,40 @@
 
 package digital.inception.operations.service;
 
+import digital.inception.core.exception.InvalidArgumentException;
+import digital.inception.core.exception.ServiceUnavailableException;
+import digital.inception.core.time.ApplicationClock;
 import digital.inception.operations.connector.WorkflowEngineConnector;
-import digital.inception.operations.model.Workflow;
+import digital.inception.operations.exception.WorkflowNotFoundException;
+import digital.inception.operations.model.ActiveWorkflow;
 import digital.inception.operations.model.WorkflowDefinition;
+import digital.inception.operations.model.WorkflowDefinitionId;
 import digital.inception.operations.model.WorkflowStatus;
+import digital.inception.operations.model.WorkflowStatusVerificationCheckpoint;
+import digital.inception.operations.persistence.jpa.WorkflowRepository;
+import digital.inception.operations.persistence.jpa.WorkflowStatusVerificationCheckpointRepository;
 import digital.inception.security.service.SecurityService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
@@ -34,6 +57,12 @@ import org.springframework.stereotype.Component;
  * The {@code BackgroundWorkflowStatusVerifierImpl} class implements the Background Workflow Status
  * Verifier.
  *
+ * <p>The active workflows for each workflow engine are retrieved in pages, in tenant ID and
+ * workflow ID order, and their statuses are retrieved from the workflow engine in batches, grouped
+ * by workflow definition version, using a bounded number of concurrent requests per workflow
+ * engine. A checkpoint is saved after each page of active workflows has been verified, which allows
+ * an interrupted verification to resume where it left off.
+ *
  * @author Marcus Portmann
  */
 @Component
@@ -41,32 +70,97 @@ import org.springframework.stereotype.Component;
 public class BackgroundWorkflowStatusVerifierImpl
     implements BackgroundWorkflowStatusVerifier, SmartLifecycle {
 
+  /** The ID used to retrieve the first page of active workflows, which precedes all other IDs. */
+  private static final UUID FIRST_WORKFLOW_ID = new UUID(0L, 0L);
+
   /* Logger */
   private static final Logger log =
       LoggerFactory.getLogger(BackgroundWorkflowStatusVerifierImpl.class);
 
+  /**
+   * The maximum number of workflows whose statuses should be retrieved from a workflow engine with
+   * a single request.
+   */
+  private final int batchSize;
+
   /** Is the Background Workflow Status Verifier executing? */
   private final AtomicBoolean executing = new AtomicBoolean(false);
 
+  /**
+   * The time, in milliseconds since the epoch, when the last complete verification finished, or
+   * zero if no verification has completed since the Background Workflow Status Verifier started.
+   */
+  private final AtomicLong lastCompleted = new AtomicLong(0);
+
+  /** The optional meter registry used to export the workflow status verification metrics. */
+  private final MeterRegistry meterRegistry;
+
+  /** The maximum number of concurrent workflow status requests per workflow engine. */
+  private final int parallelism;
+
   /** Is the Background Workflow Status Verifier running. */
   private final AtomicBoolean running = new AtomicBoolean(false);
 
   /** The Security Service. */
   private final SecurityService securityService;
 
+  /** The Workflow Repository. */
+  private final WorkflowRepository workflowRepository;
+
   /** The Workflow Service. */
   private final WorkflowService workflowService;
 
+  /** The Workflow Status Verification Checkpoint Repository. */
+  private final WorkflowStatusVerificationCheckpointRepository
+      workflowStatusVerificationCheckpointRepository;
+
   /**
    * Constructs a new {@code BackgroundWorkflowStatusVerifierImpl}.
    *
    * @param securityService the Security Service
    * @param workflowService the Workflow Service
+   * @param workflowRepository the Workflow Repository
+   * @param workflowStatusVerificationCheckpointRepository the Workflow Status Verification
+   *     Checkpoint Repository
+   * @param meterRegistryProvider the provider for the optional meter registry used to export the
+   *     workflow status verification metrics
+   * @param batchSize the maximum number of workflows whose statuses should be retrieved from a
+   *     workflow engine with a single request
+   * @param parallelism the maximum number of concurrent requests to retrieve workflow statuses per
+   *     workflow engine
    */
   public BackgroundWorkflowStatusVerifierImpl(
-      SecurityService securityService, WorkflowService workflowService) {
+      SecurityService securityService,
+      WorkflowService workflowService,
+      WorkflowRepository workflowRepository,
+      WorkflowStatusVerificationCheckpointRepository workflowStatusVerificationCheckpointRepository,
+      ObjectProvider<MeterRegistry> meterRegistryProvider,
+      @Value("${inception.operations.workflow-status-verification.batch-size:100}") int batchSize,
+      @Value("${inception.operations.workflow-status-verification.parallelism:4}")
+          int parallelism) {
     this.securityService = securityService;
     this.workflowService = workflowService;
+    this.workflowRepository = workflowRepository;
+    this.workflowStatusVerificationCheckpointRepository =
+        workflowStatusVerificationCheckpointRepository;
+    this.batchSize = Math.max(1, batchSize);
+    this.parallelism = Math.max(1, parallelism);
+    this.meterRegistry = meterRegistryProvider.getIfAvailable();
+
+    if (meterRegistry != null) {
+      // The lag is not reported until a verification has completed, rather than starting from zero
+      Gauge.builder(
+              "inception.operations.workflow-status-verification.lag",
+              lastCompleted,
+              value ->
+                  (value.get() == 0)
+                      ? Double.NaN
+                      : (System.currentTimeMillis() - value.get()) / 1000.0)
+          .description(
+              "The number of seconds since the statuses of all active workflows were last verified")
+          .baseUnit("seconds")
+          .register(meterRegistry);
+    }
   }
 
   /** Initialize the Background Workflow Status Verifier. */
@@ -102,70 +196,296 @@ public class BackgroundWorkflowStatusVerifierImpl
     }
 
     try {
+      // Verify the workflows for the tenants in a stable order so a checkpoint can be resumed
+      List<UUID> tenantIds = new ArrayList<>(securityService.getTenantIds());
+      Collections.sort(tenantIds);
+
       for (String workflowEngineId : workflowService.getWorkflowEngineIds()) {
-        for (UUID tenantId : securityService.getTenantIds()) {
+        WorkflowEngineConnector workflowEngineConnector =
+            workflowService.getWorkflowEngineConnector(workflowEngineId);
+
+        if (workflowEngineConnector.supportsWorkflowStatusRetrieval()) {
+          // Stop here if the Background Workflow Status Verifier is being shutdown
+          if (!verifyWorkflowStatuses(workflowEngineId, workflowEngineConnector, tenantIds)) {
+            return;
+          }
+        }
+      }
+
+      lastCompleted.set(System.currentTimeMillis());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (Throwable e) {
+      log.error("Failed to verify the workflow statuses", e);
+    } finally {
+      executing.set(false);
+    }
+  }
 
-          WorkflowEngineConnector workflowEngineConnector =
-              workflowService.getWorkflowEngineConnector(workflowEngineId);
+  private void incrementWorkflowCounter(String workflowEngineId, String result, int count) {
+    if ((meterRegistry != null) && (count > 0)) {
+      meterRegistry
+          .counter(
+              "inception.operations.workflow-status-verification.workflows",
+              "engine_id",
+              workflowEngineId,
+              "result",
+              result)
+          .increment(count);
+    }
+  }
 
-          if (workflowEngineConnector.supportsWorkflowStatusRetrieval()) {
-            for (UUID workflowId :
-                workflowService.getActiveWorkflowIdsForWorkflowEngine(tenantId, workflowEngineId)) {
-              // Stop here if the Background Workflow Status Verifier is being shutdown
-              if (!isRunning()) {
-                return;
-              }
+  /**
+   * Verify the status of the active workflow against the status retrieved from the workflow
+   * engine.
+   *
+   * @param workflowEngineId the ID for the workflow engine
+   * @param activeWorkflow the active workflow
+   * @param workflowStatus the status of the workflow retrieved from the workflow engine
+   * @return {@code true} if the status of the workflow was updated or {@code false} otherwise
+   */
+  private boolean verifyWorkflowStatus(
+      String workflowEngineId, ActiveWorkflow activeWorkflow, WorkflowStatus workflowStatus)
+      throws InvalidArgumentException, WorkflowNotFoundException, ServiceUnavailableException {
+    if ((workflowStatus == null)
+        || (workflowStatus == WorkflowStatus.UNKNOWN)
+        || (workflowStatus == WorkflowStatus.ACTIVE)) {
+      return false;
+    }
 
-              Workflow workflow = workflowService.getWorkflow(tenantId, workflowId);
+    log.info(
+        "The workflow status ("
+            + workflowStatus
+            + ") returned by the workflow engine ("
+            + workflowEngineId
+            + ") for the workflow ("
+            + activeWorkflow.getId()
+            + ") does not match the expected workflow status ("
+            + WorkflowStatus.ACTIVE
+            + ") and will be updated");
+
+    return switch (workflowStatus) {
+      case COMPLETED, SUSPENDED, TERMINATED, FAILED -> {
+        workflowService.setWorkflowStatus(
+            activeWorkflow.getTenantId(), activeWorkflow.getId(), workflowStatus);
+
+        yield true;
+      }
+      default -> false;
+    };
+  }
+
+  /**
+   * Verify the statuses of a batch of active workflows, associated with the same workflow
+   * definition version, using a single request to the workflow engine.
+   *
+   * @param workflowEngineId the ID for the workflow engine
+   * @param workflowEngineConnector the workflow engine connector
+   * @param workflowDefinition the workflow definition version for the active workflows
+   * @param tenantId the ID for the tenant
+   * @param activeWorkflows the batch of active workflows
+   */
+  private void verifyWorkflowStatuses(
+      String workflowEngineId,
+      WorkflowEngineConnector workflowEngineConnector,
+      WorkflowDefinition workflowDefinition,
+      UUID tenantId,
+      List<ActiveWorkflow> activeWorkflows) {
+    Map<UUID, String> engineInstanceIds = new LinkedHashMap<>();
+
+    for (ActiveWorkflow activeWorkflow : activeWorkflows) {
+      engineInstanceIds.put(activeWorkflow.getId(), activeWorkflow.getEngineInstanceId());
+    }
+
+    Map<UUID, WorkflowStatus> workflowStatuses;
+
+    try {
+      workflowStatuses =
+          workflowEngineConnector.getWorkflowStatuses(
+              workflowDefinition, tenantId, engineInstanceIds);
+    } catch (Throwable e) {
+      log.error(
+          "Failed to retrieve the statuses of "
+              + activeWorkflows.size()
+              + " workflows from the workflow engine ("
+              + workflowEngineId
+              + ") for the tenant ("
+              + tenantId
+              + ")",
+          e);
+
+      incrementWorkflowCounter(workflowEngineId, "failed", activeWorkflows.size());
+
+      return;
+    }
 
-              WorkflowDefinition workflowDefinition =
+    int numberOfUpdatedWorkflows = 0;
+    int numberOfFailedWorkflows = 0;
+
+    for (ActiveWorkflow activeWorkflow : activeWorkflows) {
+      try {
+        if (verifyWorkflowStatus(
+            workflowEngineId, activeWorkflow, workflowStatuses.get(activeWorkflow.getId()))) {
+          numberOfUpdatedWorkflows++;
+        }
+      } catch (Throwable e) {
+        log.error(
+            "Failed to update the status of the workflow ("
+                + activeWorkflow.getId()
+                + ") for the tenant ("
+                + tenantId
+                + ")",
+            e);
+
+        numberOfFailedWorkflows++;
+      }
+    }
+
+    incrementWorkflowCounter(
+        workflowEngineId, "verified", activeWorkflows.size() - numberOfFailedWorkflows);
+    incrementWorkflowCounter(workflowEngineId, "updated", numberOfUpdatedWorkflows);
+    incrementWorkflowCounter(workflowEngineId, "failed", numberOfFailedWorkflows);
+  }
+
+  /**
+   * Verify the statuses of the active workflows for the workflow engine, resuming from the
+   * checkpoint for the workflow engine if a previous verification was interrupted.
+   *
+   * @param workflowEngineId the ID for the workflow engine
+   * @param workflowEngineConnector the workflow engine connector
+   * @param tenantIds the sorted IDs for the tenants
+   * @return {@code true} if the statuses of all the active workflows for the workflow engine were
+   *     verified or {@code false} if the verification was interrupted because the Background
+   *     Workflow Status Verifier is being shutdown
+   */
+  private boolean verifyWorkflowStatuses(
+      String workflowEngineId,
+      WorkflowEngineConnector workflowEngineConnector,
+      List<UUID> tenantIds)
+      throws Exception {
+    WorkflowStatusVerificationCheckpoint checkpoint =
+        workflowStatusVerificationCheckpointRepository.findById(workflowEngineId).orElse(null);
+
+    if (checkpoint != null) {
+      log.info(
+          "Resuming the verification of the workflow statuses for the workflow engine ("
+              + workflowEngineId
+              + ") after the workflow ("
+              + checkpoint.getLastWorkflowId()
+              + ") for the tenant ("
+              + checkpoint.getTenantId()
+              + ")");
+    }
+
+    int pageSize = batchSize * parallelism;
+
+    // The workflow definition versions, which are resolved once for each verification
+    Map<WorkflowDefinitionId, WorkflowDefinition> workflowDefinitions = new HashMap<>();
+
+    ExecutorService executorService =
+        Executors.newFixedThreadPool(
+            parallelism,
+            Thread.ofPlatform()
+                .name("workflow-status-verification-" + workflowEngineId + "-", 1)
+                .daemon(true)
+                .factory());
+
+    try {
+      for (UUID tenantId : tenantIds) {
+        UUID afterWorkflowId = FIRST_WORKFLOW_ID;
+
+        if (checkpoint != null) {
+          int comparison = tenantId.compareTo(checkpoint.getTenantId());
+
+          if (comparison < 0) {
+            continue;
+          } else if (comparison == 0) {
+            afterWorkflowId = checkpoint.getLastWorkflowId();
+          }
+        }
+
+        while (true) {
+          // Stop here if the Background Workflow Status Verifier is being shutdown
+          if (!isRunning()) {
+            return false;
+          }
+
+          List<ActiveWorkflow> activeWorkflows =
+              workflowRepository.findActiveWorkflowsForTenantAndWorkflowEngine(
+                  tenantId, workflowEngineId, afterWorkflowId, PageRequest.of(0, pageSize));
+
+          if (activeWorkflows.isEmpty()) {
+            break;
+          }
+
+          // Group the active workflows by workflow definition version and split them into batches
+          Map<WorkflowDefinitionId, List<ActiveWorkflow>> activeWorkflowsByDefinition =
+              new LinkedHashMap<>();
+
+          for (ActiveWorkflow activeWorkflow : activeWorkflows) {
+            activeWorkflowsByDefinition
+                .computeIfAbsent(
+                    new WorkflowDefinitionId(
+                        activeWorkflow.getDefinitionId(), activeWorkflow.getDefinitionVersion()),
+                    key -> new ArrayList<>())
+                .add(activeWorkflow);
+          }
+
+          List<Future<?>> futures = new ArrayList<>();
+
+          for (Map.Entry<WorkflowDefinitionId, List<ActiveWorkflow>> entry :
+              activeWorkflowsByDefinition.entrySet()) {
+            WorkflowDefinition workflowDefinition = workflowDefinitions.get(entry.getKey());
+
+            if (workflowDefinition == null) {
+              workflowDefinition =
                   workflowService.getWorkflowDefinitionVersion(
-                      workflow.getDefinitionId(), workflow.getDefinitionVersion());
-
-              WorkflowStatus workflowStatus =
-                  workflowEngineConnector.getWorkflowStatus(
-                      workflowDefinition,
-                      workflow.getTenantId(),
-                      workflow.getId(),
-                      workflow.getEngineInstanceId());
-
-              if ((workflowStatus != WorkflowStatus.UNKNOWN)
-                  && (workflowStatus != workflow.getStatus())) {
-                log.info(
-                    "The workflow status ("
-                        + workflowStatus
-                        + ") returned by the workflow engine ("
-                        + workflowEngineId
-                        + ") for the workflow ("
-                        + workflowId
-                        + ") does not match the expected workflow status ("
-                        + workflow.getStatus()
-                        + ") and will be updated");
-
-                if (workflowStatus == WorkflowStatus.ACTIVE) {
-                  // Do nothing
-                } else if (workflowStatus == WorkflowStatus.COMPLETED) {
-                  workflowService.setWorkflowStatus(
-                      workflow.getTenantId(), workflow.getId(), WorkflowStatus.COMPLETED);
-                } else if (workflowStatus == WorkflowStatus.SUSPENDED) {
-                  workflowService.setWorkflowStatus(
-                      workflow.getTenantId(), workflow.getId(), WorkflowStatus.SUSPENDED);
-                } else if (workflowStatus == WorkflowStatus.TERMINATED) {
-                  workflowService.setWorkflowStatus(
-                      workflow.getTenantId(), workflow.getId(), WorkflowStatus.TERMINATED);
-                } else if (workflowStatus == WorkflowStatus.FAILED) {
-                  workflowService.setWorkflowStatus(
-                      workflow.getTenantId(), workflow.getId(), WorkflowStatus.FAILED);
-                }
-              }
+                      entry.getKey().getId(), entry.getKey().getVersion());
+
+              workflowDefinitions.put(entry.getKey(), workflowDefinition);
+            }
+
+            List<ActiveWorkflow> definitionActiveWorkflows = entry.getValue();
+
+            for (int i = 0; i < definitionActiveWorkflows.size(); i += batchSize) {
+              WorkflowDefinition batchWorkflowDefinition = workflowDefinition;
+              List<ActiveWorkflow> batch =
+                  definitionActiveWorkflows.subList(
+                      i, Math.min(i + batchSize, definitionActiveWorkflows.size()));
+
+              futures.add(
+                  executorService.submit(
+                      () ->
+                          verifyWorkflowStatuses(
+                              workflowEngineId,
+                              workflowEngineConnector,
+                              batchWorkflowDefinition,
+                              tenantId,
+                              batch)));
             }
           }
+
+          for (Future<?> future : futures) {
+            future.get();
+          }
+
+          afterWorkflowId = activeWorkflows.getLast().getId();
+
+          workflowStatusVerificationCheckpointRepository.save(
+              new WorkflowStatusVerificationCheckpoint(
+                  workflowEngineId, tenantId, afterWorkflowId, ApplicationClock.offsetNow()));
+
+          if (activeWorkflows.size() < pageSize) {
+            break;
+          }
         }
       }
-    } catch (Throwable e) {
-      log.error("Failed to verify the workflow statuses", e);
+
+      workflowStatusVerificationCheckpointRepository.deleteById(workflowEngineId);
+
+      return true;
     } finally {
-      executing.set(false);
+      executorService.shutdownNow();
     }
   }
 }
@@ -32,6 +32,7 @@ import digital.inception.operations.exception.DuplicateDocumentTemplateCategoryE
 import digital.inception.operations.exception.DuplicateDocumentTemplateException;
 import digital.inception.operations.model.CreateDocumentNoteRequest;
 import digital.inception.operations.model.CreateDocumentRequest;
+import digital.inception.operations.model.CreateDocumentResult;
 import digital.inception.operations.model.CreateDocumentTemplateRequest;
 import digital.inception.operations.model.Document;
 import digital.inception.operations.model.DocumentDefinition;
@@ -40,6 +41,7 @@ import digital.inception.operations.model.DocumentNote;
 import digital.inception.operations.model.DocumentNoteSortBy;
 import digital.inception.operations.model.DocumentNotes;
 import digital.inception.operations.model.DocumentSummaries;
+import digital.inception.operations.model.DocumentSummary;
 import digital.inception.operations.model.DocumentTemplate;
 import digital.inception.operations.model.DocumentTemplateCategory;
 import digital.inception.operations.model.DocumentTemplateSortBy;
@@ -49,6 +51,9 @@ import digital.inception.operations.model.SearchDocumentsRequest;
 import digital.inception.operations.model.UpdateDocumentNoteRequest;
 import digital.inception.operations.model.UpdateDocumentRequest;
 import digital.inception.operations.model.UpdateDocumentTemplateRequest;
+import digital.inception.operations.model.UploadDocumentRequest;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.UUID;
 
@@ -177,6 +182,28 @@ public interface DocumentService {
           DuplicateDocumentTemplateCategoryException,
           ServiceUnavailableException;
 
+  /**
+   * Create the documents.
+   *
+   * <p>Each distinct document definition is resolved once for the batch and the requests are
+   * validated in parallel. The documents for the valid requests are then created in a single
+   * transaction, with the documents and their attributes and external references written using
+   * JDBC batching. A request that is invalid, or references a document definition that could not
+   * be found, does not prevent the other documents from being created.
+   *
+   * @param tenantId the ID for the tenant
+   * @param createDocumentRequests the requests to create the documents, which must include the data
+   *     for the documents
+   * @param createdBy the person or system creating the documents
+   * @return the results of creating the documents, in the same order as the requests to create the
+   *     documents
+   * @throws InvalidArgumentException if an argument is invalid
+   * @throws ServiceUnavailableException if the documents could not be created
+   */
+  List<CreateDocumentResult> createDocuments(
+      UUID tenantId, List<CreateDocumentRequest> createDocumentRequests, String createdBy)
+      throws InvalidArgumentException, ServiceUnavailableException;
+
   /**
    * Delete the document.
    *
@@ -316,9 +343,12 @@ public interface DocumentService {
   /**
    * Retrieve the document.
    *
+   * <p>The data for the document is not retrieved. Use {@link #writeDocumentData(UUID, UUID,
+   * OutputStream)} to stream the data for the document.
+   *
    * @param tenantId the ID for the tenant
    * @param documentId the ID for the document
-   * @return the document
+   * @return the document without its data
    * @throws InvalidArgumentException if an argument is invalid
    * @throws DocumentNotFoundException if the document could not be found
    * @throws ServiceUnavailableException if the document could not be retrieved
@@ -424,6 +454,19 @@ public interface DocumentService {
       Integer pageSize)
       throws InvalidArgumentException, DocumentNotFoundException, ServiceUnavailableException;
 
+  /**
+   * Retrieve the summary for the document, which excludes the data for the document.
+   *
+   * @param tenantId the ID for the tenant
+   * @param documentId the ID for the document
+   * @return the summary for the document
+   * @throws InvalidArgumentException if an argument is invalid
+   * @throws DocumentNotFoundException if the document could not be found
+   * @throws ServiceUnavailableException if the summary for the document could not be retrieved
+   */
+  DocumentSummary getDocumentSummary(UUID tenantId, UUID documentId)
+      throws InvalidArgumentException, DocumentNotFoundException, ServiceUnavailableException;
+
   /**
    * Retrieve the document template.
    *
@@ -606,4 +649,41 @@ public interface DocumentService {
       throws InvalidArgumentException,
           DocumentTemplateCategoryNotFoundException,
           ServiceUnavailableException;
+
+  /**
+   * Upload a new document, streaming the data for the document from the input stream.
+   *
+   * <p>The data is written to the blob store as it is read, so documents of any size can be
+   * uploaded with constant memory.
+   *
+   * @param tenantId the ID for the tenant
+   * @param uploadDocumentRequest the request to upload a document
+   * @param data the input stream to read the data for the document from
+   * @param uploadedBy the person or system uploading the document
+   * @return the ID for the document
+   * @throws InvalidArgumentException if an argument is invalid
+   * @throws DocumentDefinitionNotFoundException if the document definition could not be found
+   * @throws ServiceUnavailableException if the document could not be uploaded
+   */
+  UUID uploadDocument(
+      UUID tenantId,
+      UploadDocumentRequest uploadDocumentRequest,
+      InputStream data,
+      String uploadedBy)
+      throws InvalidArgumentException,
+          DocumentDefinitionNotFoundException,
+          ServiceUnavailableException;
+
+  /**
+   * Write the data for the document to the output stream.
+   *
+   * @param tenantId the ID for the tenant
+   * @param documentId the ID for the document
+   * @param outputStream the output stream to write the data for the document to
+   * @throws InvalidArgumentException if an argument is invalid
+   * @throws DocumentNotFoundException if the document could not be found
+   * @throws ServiceUnavailableException if the data for the document could not be written
+   */
+  void writeDocumentData(UUID tenantId, UUID documentId, OutputStream outputStream)
+      throws InvalidArgumentException, DocumentNotFoundException, ServiceUnavailableException;
 }
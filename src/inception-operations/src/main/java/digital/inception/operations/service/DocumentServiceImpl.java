@@ -37,6 +37,7 @@ import digital.inception.operations.exception.DuplicateDocumentTemplateException
 import digital.inception.operations.model.AttributeSearchCriteria;
 import digital.inception.operations.model.CreateDocumentNoteRequest;
 import digital.inception.operations.model.CreateDocumentRequest;
+import digital.inception.operations.model.CreateDocumentResult;
 import digital.inception.operations.model.CreateDocumentTemplateRequest;
 import digital.inception.operations.model.Document;
 import digital.inception.operations.model.DocumentAttribute;
@@ -61,6 +62,7 @@ import digital.inception.operations.model.SearchDocumentsRequest;
 import digital.inception.operations.model.UpdateDocumentNoteRequest;
 import digital.inception.operations.model.UpdateDocumentRequest;
 import digital.inception.operations.model.UpdateDocumentTemplateRequest;
+import digital.inception.operations.model.UploadDocumentRequest;
 import digital.inception.operations.persistence.jpa.DocumentDefinitionCategoryRepository;
 import digital.inception.operations.persistence.jpa.DocumentDefinitionRepository;
 import digital.inception.operations.persistence.jpa.DocumentNoteRepository;
@@ -68,16 +70,33 @@ import digital.inception.operations.persistence.jpa.DocumentRepository;
 import digital.inception.operations.persistence.jpa.DocumentSummaryRepository;
 import digital.inception.operations.persistence.jpa.DocumentTemplateCategoryRepository;
 import digital.inception.operations.persistence.jpa.DocumentTemplateRepository;
+import digital.inception.operations.store.BlobStore;
+import digital.inception.operations.util.SearchUtil;
 import jakarta.annotation.PostConstruct;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.security.MessageDigest;
+import java.time.OffsetDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HexFormat;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import org.hibernate.Session;
 import org.springframework.beans.factory.BeanInitializationException;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.CacheEvict;
@@ -85,10 +104,12 @@ import org.springframework.cache.annotation.Cacheable;
 import org.springframework.context.ApplicationContext;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.StringUtils;
 
 /**
@@ -99,6 +120,12 @@ import org.springframework.util.StringUtils;
 @Service
 public class DocumentServiceImpl extends AbstractServiceBase implements DocumentService {
 
+  /** The Background Blob Garbage Collector. */
+  private final BackgroundBlobGarbageCollector backgroundBlobGarbageCollector;
+
+  /** The Blob Store. */
+  private final BlobStore blobStore;
+
   /** The Document Definition Category Repository. */
   private final DocumentDefinitionCategoryRepository documentDefinitionCategoryRepository;
 
@@ -120,6 +147,9 @@ public class DocumentServiceImpl extends AbstractServiceBase implements Document
   /** The Document Template Repository. */
   private final DocumentTemplateRepository documentTemplateRepository;
 
+  /** The Validation Plan Cache. */
+  private final ValidationPlanCache validationPlanCache;
+
   /** The Validation Service. */
   private final ValidationService validationService;
 
@@ -130,6 +160,10 @@ public class DocumentServiceImpl extends AbstractServiceBase implements Document
   @PersistenceContext(unitName = "operations")
   private EntityManager entityManager;
 
+  /** The maximum number of statements that will be sent to the database in a single JDBC batch. */
+  @Value("${inception.operations.jdbc-batch-size:#{50}}")
+  private int jdbcBatchSize;
+
   /** The maximum number of filtered document notes that will be returned by the service. */
   @Value("${inception.operations.max-filtered-document-notes:#{100}}")
   private int maxFilteredDocumentNotes;
@@ -146,6 +180,8 @@ public class DocumentServiceImpl extends AbstractServiceBase implements Document
    * Constructs a new {@code DocumentServiceImpl}.
    *
    * @param applicationContext the Spring {@link ApplicationContext}
+   * @param backgroundBlobGarbageCollector the Background Blob Garbage Collector
+   * @param blobStore the Blob Store
    * @param documentDefinitionCategoryRepository the Document Definition Category Repository
    * @param documentDefinitionRepository the Document Definition Repository
    * @param documentNoteRepository the Document Note Repository
@@ -154,9 +190,12 @@ public class DocumentServiceImpl extends AbstractServiceBase implements Document
    * @param documentSummaryRepository the Document Summary Repository
    * @param documentTemplateCategoryRepository the Document Template Category Repository
    * @param validationService the Validation Service
+   * @param validationPlanCache the Validation Plan Cache
    */
   public DocumentServiceImpl(
       ApplicationContext applicationContext,
+      BackgroundBlobGarbageCollector backgroundBlobGarbageCollector,
+      BlobStore blobStore,
       DocumentDefinitionCategoryRepository documentDefinitionCategoryRepository,
       DocumentDefinitionRepository documentDefinitionRepository,
       DocumentNoteRepository documentNoteRepository,
@@ -164,9 +203,12 @@ public class DocumentServiceImpl extends AbstractServiceBase implements Document
       DocumentSummaryRepository documentSummaryRepository,
       DocumentTemplateCategoryRepository documentTemplateCategoryRepository,
       DocumentTemplateRepository documentTemplateRepository,
-      ValidationService validationService) {
+      ValidationService validationService,
+      ValidationPlanCache validationPlanCache) {
     super(applicationContext);
 
+    this.backgroundBlobGarbageCollector = backgroundBlobGarbageCollector;
+    this.blobStore = blobStore;
     this.documentDefinitionCategoryRepository = documentDefinitionCategoryRepository;
     this.documentDefinitionRepository = documentDefinitionRepository;
     this.documentNoteRepository = documentNoteRepository;
@@ -175,6 +217,7 @@ public class DocumentServiceImpl extends AbstractServiceBase implements Document
     this.documentTemplateCategoryRepository = documentTemplateCategoryRepository;
     this.documentTemplateRepository = documentTemplateRepository;
     this.validationService = validationService;
+    this.validationPlanCache = validationPlanCache;
   }
 
   @Override
@@ -211,14 +254,12 @@ public class DocumentServiceImpl extends AbstractServiceBase implements Document
       // Copy the document
       Document persistedDocument = new Document(document);
 
-      // TODO: If persisting the document to S3, clear the data
-      // persistedDocument.setData(null);
-
-      // TODO: Save the document data to S3, if required
-      // s3Client.uploadFileToS3Bucket(
-      //    "bucket_id", document.getId().toString(), document.getFileType(), document.getData());
+      // Save the data to the blob store and reference it by hash instead of embedding it
+      if (document.getData() != null) {
+        persistedDocument.setHash(createBlob(new ByteArrayInputStream(document.getData())));
+        persistedDocument.setData(null);
+      }
 
-      // Save the document to the database (without the data if persisted to S3)
       documentRepository.save(persistedDocument);
     } catch (InvalidArgumentException
         | DocumentDefinitionNotFoundException
@@ -249,98 +290,12 @@ public class DocumentServiceImpl extends AbstractServiceBase implements Document
 
     validateArgument("createDocumentRequest", createDocumentRequest);
 
-    try {
-      DocumentDefinition documentDefinition =
-          getDocumentService().getDocumentDefinition(createDocumentRequest.getDefinitionId());
-
-      Document document = new Document(createDocumentRequest.getDefinitionId());
-
-      if (createDocumentRequest.getExternalReferences() != null) {
-        // Validate the external references
-        validationService.validateExternalReferences(
-            tenantId,
-            "createDocumentRequest.externalReferences",
-            ObjectType.DOCUMENT,
-            createDocumentRequest.getExternalReferences());
-
-        document.setExternalReferences(createDocumentRequest.getExternalReferences());
-      }
-
-      if (createDocumentRequest.getAttributes() == null) {
-        createDocumentRequest.setAttributes(new ArrayList<>());
-      }
-
-      // Apply default attribute values, if required
-      for (DocumentAttributeDefinition documentAttributeDefinition :
-          documentDefinition.getAttributeDefinitions()) {
-        if (documentAttributeDefinition.getDefaultValue() != null) {
-          Optional<DocumentAttribute> documentAttributeOptional =
-              createDocumentRequest.getAttribute(documentAttributeDefinition.getName());
-
-          if (documentAttributeOptional.isEmpty()) {
-            createDocumentRequest.addAttribute(
-                new DocumentAttribute(
-                    documentAttributeDefinition.getName(),
-                    documentAttributeDefinition.getDefaultValue()));
-          } else {
-            DocumentAttribute documentAttribute = documentAttributeOptional.get();
-
-            if (!StringUtils.hasText(documentAttribute.getValue())) {
-              documentAttribute.setValue(documentAttributeDefinition.getDefaultValue());
-            }
-          }
-        }
-      }
-
-      // Validate the allowed document attributes
-      validationService.validateAllowedDocumentAttributes(
-          "createDocumentRequest.attributes",
-          documentDefinition,
-          createDocumentRequest.getAttributes());
-
-      // Validate the required document attributes
-      validationService.validateRequiredDocumentAttributes(
-          "createDocumentRequest.attributes",
-          documentDefinition,
-          createDocumentRequest.getAttributes());
-
-      document.setAttributes(createDocumentRequest.getAttributes());
-
-      document.setCreated(ApplicationClock.offsetNow());
-      document.setCreatedBy(createdBy);
-      document.setFileType(createDocumentRequest.getFileType());
-      document.setHash(calculateDataHash(createDocumentRequest.getData()));
-      document.setName(createDocumentRequest.getName());
-      document.setSourceDocumentId(createDocumentRequest.getSourceDocumentId());
-      document.setTenantId(tenantId);
-
-      if (documentRepository.existsById(document.getId())) {
-        throw new DuplicateDocumentException(document.getId());
-      }
-
-      // TODO: If the document is persisted to S3, do not set the data
-      document.setData(createDocumentRequest.getData());
-
-      // TODO: Save the document data to S3, if required
-      // s3Client.uploadFileToS3Bucket(
-      //    "bucket_id", document.getId().toString(), document.getFileType(),
-      // createDocumentRequest.getData());
-
-      // Save the document to the database (without the data if persisted to S3)
-      documentRepository.save(document);
-
-      return document.getId();
-    } catch (InvalidArgumentException | DocumentDefinitionNotFoundException e) {
-      throw e;
-    } catch (Throwable e) {
-      throw new ServiceUnavailableException(
-          "Failed to create the document with the document definition ID ("
-              + createDocumentRequest.getDefinitionId()
-              + ") for the tenant ("
-              + tenantId
-              + ")",
-          e);
-    }
+    return createDocument(
+        tenantId,
+        "createDocumentRequest",
+        toUploadDocumentRequest(createDocumentRequest),
+        new ByteArrayInputStream(createDocumentRequest.getData()),
+        createdBy);
   }
 
   @Override
@@ -362,6 +317,8 @@ public class DocumentServiceImpl extends AbstractServiceBase implements Document
       }
 
       documentDefinitionRepository.save(documentDefinition);
+
+      validationPlanCache.evictDocumentDefinition(documentDefinition.getId());
     } catch (DuplicateDocumentDefinitionException | DocumentDefinitionCategoryNotFoundException e) {
       throw e;
     } catch (Throwable e) {
@@ -507,6 +464,119 @@ public class DocumentServiceImpl extends AbstractServiceBase implements Document
     }
   }
 
+  @Override
+  @Transactional
+  public List<CreateDocumentResult> createDocuments(
+      UUID tenantId, List<CreateDocumentRequest> createDocumentRequests, String createdBy)
+      throws InvalidArgumentException, ServiceUnavailableException {
+    if (tenantId == null) {
+      throw new InvalidArgumentException("tenantId");
+    }
+
+    if (createDocumentRequests == null) {
+      throw new InvalidArgumentException("createDocumentRequests");
+    }
+
+    try {
+      // Resolve each distinct document definition once for the batch
+      Map<String, DocumentDefinition> documentDefinitions = new HashMap<>();
+
+      for (CreateDocumentRequest createDocumentRequest : createDocumentRequests) {
+        if ((createDocumentRequest != null)
+            && StringUtils.hasText(createDocumentRequest.getDefinitionId())
+            && (!documentDefinitions.containsKey(createDocumentRequest.getDefinitionId()))) {
+          try {
+            documentDefinitions.put(
+                createDocumentRequest.getDefinitionId(),
+                getDocumentService()
+                    .getDocumentDefinition(createDocumentRequest.getDefinitionId()));
+          } catch (DocumentDefinitionNotFoundException e) {
+            documentDefinitions.put(createDocumentRequest.getDefinitionId(), null);
+          }
+        }
+      }
+
+      /*
+       * Validate the requests, recording the reason each invalid request was rejected. The
+       * requests are validated sequentially on the calling thread. Validating a request only
+       * evaluates the cached validation plans, which is cheap compared to saving the data for the
+       * document to the blob store and inserting it. Validating in parallel would run on the
+       * common fork-join pool, where a cache miss for the external reference types would be
+       * loaded outside the transaction for this method.
+       */
+      Document[] documents = new Document[createDocumentRequests.size()];
+      CreateDocumentResult[] createDocumentResults =
+          new CreateDocumentResult[createDocumentRequests.size()];
+
+      for (int i = 0; i < createDocumentRequests.size(); i++) {
+        String argumentName = "createDocumentRequests[" + i + "]";
+        CreateDocumentRequest createDocumentRequest = createDocumentRequests.get(i);
+
+        try {
+          validateArgument(argumentName, createDocumentRequest);
+
+          DocumentDefinition documentDefinition =
+              documentDefinitions.get(createDocumentRequest.getDefinitionId());
+
+          if (documentDefinition == null) {
+            throw new DocumentDefinitionNotFoundException(createDocumentRequest.getDefinitionId());
+          }
+
+          documents[i] =
+              newDocument(
+                  tenantId,
+                  argumentName,
+                  toUploadDocumentRequest(createDocumentRequest),
+                  documentDefinition,
+                  createdBy);
+        } catch (InvalidArgumentException | DocumentDefinitionNotFoundException e) {
+          createDocumentResults[i] = new CreateDocumentResult(e.getMessage());
+        }
+      }
+
+      /*
+       * Persist the valid documents, which cascades to their attributes and external references.
+       * The documents have newly generated IDs, so they are persisted directly instead of being
+       * merged, which avoids a SELECT per document. JDBC batching is only enabled for the session
+       * while the documents are flushed, so that the INSERT statements are sent to the database in
+       * batches without changing the behaviour of the rest of the persistence unit.
+       */
+      Session session = entityManager.unwrap(Session.class);
+
+      Integer previousJdbcBatchSize = session.getJdbcBatchSize();
+
+      session.setJdbcBatchSize(jdbcBatchSize);
+
+      try {
+        for (int i = 0; i < documents.length; i++) {
+          if (documents[i] != null) {
+            // Save the data to the blob store and reference it by hash instead of embedding it
+            documents[i].setHash(
+                createBlob(new ByteArrayInputStream(createDocumentRequests.get(i).getData())));
+
+            entityManager.persist(documents[i]);
+
+            createDocumentResults[i] = new CreateDocumentResult(documents[i].getId());
+          }
+        }
+
+        entityManager.flush();
+      } finally {
+        session.setJdbcBatchSize(previousJdbcBatchSize);
+      }
+
+      return Arrays.asList(createDocumentResults);
+    } catch (Throwable e) {
+      throw new ServiceUnavailableException(
+          "Failed to create the "
+              + createDocumentRequests.size()
+              + " documents for the tenant ("
+              + tenantId
+              + ")",
+          e);
+    }
+  }
+
   @Override
   public void deleteDocument(UUID tenantId, UUID documentId)
       throws InvalidArgumentException, DocumentNotFoundException, ServiceUnavailableException {
@@ -552,6 +622,8 @@ public class DocumentServiceImpl extends AbstractServiceBase implements Document
       }
 
       documentDefinitionRepository.deleteById(documentDefinitionId);
+
+      validationPlanCache.evictDocumentDefinition(documentDefinitionId);
     } catch (DocumentDefinitionNotFoundException e) {
       throw e;
     } catch (Throwable e) {
@@ -784,11 +856,8 @@ public class DocumentServiceImpl extends AbstractServiceBase implements Document
 
       entityManager.detach(document);
 
-      // TODO: Retrieve the document data from S3, if required
-      // byte[] documentData =
-      //    s3Client.retrieveFileFromS3Bucket("bucket_id", document.getId().toString());
-
-      // document.setData(documentData);
+      // The data is streamed separately instead of being loaded into memory with the document
+      document.setData(null);
 
       return document;
     } catch (DocumentNotFoundException e) {
@@ -1018,6 +1087,39 @@ public class DocumentServiceImpl extends AbstractServiceBase implements Document
     }
   }
 
+  @Override
+  public DocumentSummary getDocumentSummary(UUID tenantId, UUID documentId)
+      throws InvalidArgumentException, DocumentNotFoundException, ServiceUnavailableException {
+    if (tenantId == null) {
+      throw new InvalidArgumentException("tenantId");
+    }
+
+    if (documentId == null) {
+      throw new InvalidArgumentException("documentId");
+    }
+
+    try {
+      Optional<DocumentSummary> documentSummaryOptional =
+          documentSummaryRepository.findByTenantIdAndId(tenantId, documentId);
+
+      if (documentSummaryOptional.isEmpty()) {
+        throw new DocumentNotFoundException(tenantId, documentId);
+      }
+
+      return documentSummaryOptional.get();
+    } catch (DocumentNotFoundException e) {
+      throw e;
+    } catch (Throwable e) {
+      throw new ServiceUnavailableException(
+          "Failed to retrieve the summary for the document ("
+              + documentId
+              + ") for the tenant ("
+              + tenantId
+              + ")",
+          e);
+    }
+  }
+
   @Override
   public DocumentTemplate getDocumentTemplate(String documentTemplateId)
       throws InvalidArgumentException,
@@ -1238,121 +1340,159 @@ public class DocumentServiceImpl extends AbstractServiceBase implements Document
 
     validateArgument("searchDocumentsRequest", searchDocumentsRequest);
 
+    DocumentSortBy sortBy =
+        (searchDocumentsRequest.getSortBy() != null)
+            ? searchDocumentsRequest.getSortBy()
+            : DocumentSortBy.DEFINITION_ID;
+
+    SortDirection sortDirection =
+        (searchDocumentsRequest.getSortDirection() != null)
+            ? searchDocumentsRequest.getSortDirection()
+            : SortDirection.DESCENDING;
+
+    SearchCursor cursor = null;
+
+    if (StringUtils.hasText(searchDocumentsRequest.getCursor())) {
+      cursor =
+          SearchCursor.decode(
+              "searchDocumentsRequest.cursor",
+              searchDocumentsRequest.getCursor(),
+              sortBy,
+              sortDirection);
+    }
+
     try {
-      // Build Specification
+      /*
+       * Build the Specification.
+       *
+       * NOTE: The related attributes and external references are matched using a single IN
+       *       subquery for each type of criteria, rather than a correlated EXISTS subquery for each
+       *       individual criterion, and the attribute criteria are matched against the tenant ID
+       *       and the case-folded copies of the names and values using indexed equality
+       *       comparisons. No joins are added to the query so no DISTINCT is required.
+       */
       Specification<DocumentSummary> specification =
           (root, query, criteriaBuilder) -> {
-            // Avoid duplicates when joins or subqueries are involved
-            if (query != null) {
-              query.distinct(true);
-            }
-
             // AND'ed top-level predicates
             List<Predicate> andPredicates = new ArrayList<>();
 
             // Tenant filter
             andPredicates.add(criteriaBuilder.equal(root.get("tenantId"), tenantId));
 
-            // Top-level filters
+            /*
+             * Resolve the document definition IDs matching the document definition ID criteria
+             * case-insensitively against the small document definitions table, so the
+             * definition_id column for the documents is compared without applying lower().
+             */
             if (StringUtils.hasText(searchDocumentsRequest.getDefinitionId())) {
-              andPredicates.add(
-                  criteriaBuilder.equal(
-                      criteriaBuilder.lower(root.get("definitionId")),
-                      searchDocumentsRequest.getDefinitionId().toLowerCase()));
+              Subquery<String> subQuery = query.subquery(String.class);
+              Root<DocumentDefinition> documentDefinitionRoot =
+                  subQuery.from(DocumentDefinition.class);
+
+              subQuery
+                  .select(documentDefinitionRoot.get("id"))
+                  .where(
+                      criteriaBuilder.equal(
+                          criteriaBuilder.lower(documentDefinitionRoot.get("id")),
+                          searchDocumentsRequest.getDefinitionId().toLowerCase(Locale.ROOT)));
+
+              andPredicates.add(root.get("definitionId").in(subQuery));
             }
 
             // Attribute criteria (OR all attribute pairs)
             if (searchDocumentsRequest.getAttributes() != null
                 && !searchDocumentsRequest.getAttributes().isEmpty()) {
+              Subquery<UUID> subQuery = query.subquery(UUID.class);
+              Root<DocumentAttribute> documentAttributeRoot =
+                  subQuery.from(DocumentAttribute.class);
+
               List<Predicate> attributePredicates = new ArrayList<>();
 
               for (AttributeSearchCriteria attributeSearchCriteria :
                   searchDocumentsRequest.getAttributes()) {
                 if (attributeSearchCriteria == null) continue;
 
-                var subQuery = query.subquery(Integer.class);
-                var documentAttributeRoot = subQuery.from(DocumentAttribute.class);
-                Predicate subPredicate =
-                    criteriaBuilder.equal(documentAttributeRoot.get("documentId"), root.get("id"));
+                Predicate attributePredicate = criteriaBuilder.conjunction();
 
                 if (StringUtils.hasText(attributeSearchCriteria.getName())) {
-                  subPredicate =
+                  attributePredicate =
                       criteriaBuilder.and(
-                          subPredicate,
+                          attributePredicate,
                           criteriaBuilder.equal(
-                              criteriaBuilder.lower(documentAttributeRoot.get("name")),
-                              attributeSearchCriteria.getName().toLowerCase()));
+                              documentAttributeRoot.get("normalizedName"),
+                              SearchUtil.normalize(attributeSearchCriteria.getName())));
                 }
                 if (StringUtils.hasText(attributeSearchCriteria.getValue())) {
-                  subPredicate =
+                  attributePredicate =
                       criteriaBuilder.and(
-                          subPredicate,
+                          attributePredicate,
                           criteriaBuilder.equal(
-                              criteriaBuilder.lower(documentAttributeRoot.get("value")),
-                              attributeSearchCriteria.getValue().toLowerCase()));
+                              documentAttributeRoot.get("normalizedValue"),
+                              SearchUtil.normalize(attributeSearchCriteria.getValue())));
                 }
 
-                subQuery.select(criteriaBuilder.literal(1)).where(subPredicate);
-                attributePredicates.add(criteriaBuilder.exists(subQuery));
+                attributePredicates.add(attributePredicate);
               }
 
               if (!attributePredicates.isEmpty()) {
-                andPredicates.add(
-                    criteriaBuilder.or(attributePredicates.toArray(new Predicate[0])));
+                subQuery
+                    .select(documentAttributeRoot.get("documentId"))
+                    .where(
+                        criteriaBuilder.equal(documentAttributeRoot.get("tenantId"), tenantId),
+                        criteriaBuilder.or(attributePredicates.toArray(new Predicate[0])));
+
+                andPredicates.add(root.get("id").in(subQuery));
               }
             }
 
             // External reference criteria (OR all external reference pairs)
             if (searchDocumentsRequest.getExternalReferences() != null
                 && !searchDocumentsRequest.getExternalReferences().isEmpty()) {
+              Subquery<UUID> subQuery = query.subquery(UUID.class);
+              Root<DocumentExternalReference> documentExternalReferenceRoot =
+                  subQuery.from(DocumentExternalReference.class);
+
               List<Predicate> externalReferencePredicates = new ArrayList<>();
 
               for (ExternalReferenceSearchCriteria externalReferenceSearchCriteria :
                   searchDocumentsRequest.getExternalReferences()) {
                 if (externalReferenceSearchCriteria == null) continue;
 
-                var subQuery = query.subquery(Integer.class);
-                var documentExternalReferenceRoot = subQuery.from(DocumentExternalReference.class);
-                Predicate subPredicate =
-                    criteriaBuilder.equal(
-                        documentExternalReferenceRoot.get("objectId"), root.get("id"));
+                Predicate externalReferencePredicate = criteriaBuilder.conjunction();
 
                 if (StringUtils.hasText(externalReferenceSearchCriteria.getType())) {
-                  subPredicate =
+                  externalReferencePredicate =
                       criteriaBuilder.and(
-                          subPredicate,
+                          externalReferencePredicate,
                           criteriaBuilder.equal(
                               criteriaBuilder.lower(documentExternalReferenceRoot.get("type")),
                               externalReferenceSearchCriteria.getType().toLowerCase()));
                 }
                 if (StringUtils.hasText(externalReferenceSearchCriteria.getValue())) {
-                  subPredicate =
+                  externalReferencePredicate =
                       criteriaBuilder.and(
-                          subPredicate,
+                          externalReferencePredicate,
                           criteriaBuilder.equal(
                               criteriaBuilder.lower(documentExternalReferenceRoot.get("value")),
                               externalReferenceSearchCriteria.getValue().toLowerCase()));
                 }
 
-                subQuery.select(criteriaBuilder.literal(1)).where(subPredicate);
-                externalReferencePredicates.add(criteriaBuilder.exists(subQuery));
+                externalReferencePredicates.add(externalReferencePredicate);
               }
 
               if (!externalReferencePredicates.isEmpty()) {
-                andPredicates.add(
-                    criteriaBuilder.or(externalReferencePredicates.toArray(new Predicate[0])));
+                subQuery
+                    .select(documentExternalReferenceRoot.get("objectId"))
+                    .where(
+                        criteriaBuilder.or(externalReferencePredicates.toArray(new Predicate[0])));
+
+                andPredicates.add(root.get("id").in(subQuery));
               }
             }
 
             return criteriaBuilder.and(andPredicates.toArray(new Predicate[0]));
           };
 
-      // Sorting
-      String sortByPropertyName =
-          DocumentSortBy.resolveSortByPropertyName(searchDocumentsRequest.getSortBy());
-      Sort.Direction dir = resolveSortDirection(searchDocumentsRequest.getSortDirection());
-      Sort sort = Sort.by(dir, sortByPropertyName);
-
       // Paging
       int pageIndex =
           searchDocumentsRequest.getPageIndex() == null
@@ -1362,18 +1502,91 @@ public class DocumentServiceImpl extends AbstractServiceBase implements Document
           searchDocumentsRequest.getPageSize() == null
               ? 50
               : Math.max(1, Math.min(searchDocumentsRequest.getPageSize(), maxFilteredDocuments));
-      Pageable pageable = PageRequest.of(pageIndex, pageSize, sort);
 
-      Page<DocumentSummary> documentSummaryPage =
-          documentSummaryRepository.findAll(specification, pageable);
+      int firstResult = pageIndex * pageSize;
+
+      if ((cursor != null) && (!cursor.isKeyset())) {
+        firstResult = cursor.getOffset();
+      }
+
+      // Retrieve the criteria builder
+      CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+
+      // Create a query using the DocumentSummary projection, which excludes the document data
+      CriteriaQuery<DocumentSummary> dataCriteriaQuery =
+          criteriaBuilder.createQuery(DocumentSummary.class);
+
+      Root<DocumentSummary> root = dataCriteriaQuery.from(DocumentSummary.class);
+
+      Predicate dataPredicate = specification.toPredicate(root, dataCriteriaQuery, criteriaBuilder);
+
+      Path<String> sortPath = root.get(DocumentSortBy.resolveSortByPropertyName(sortBy));
+      Path<UUID> idPath = root.get("id");
+
+      // Seek past the last document returned using the (sort value, ID) pair held by the cursor
+      if ((cursor != null) && cursor.isKeyset()) {
+        dataPredicate =
+            criteriaBuilder.and(
+                dataPredicate,
+                cursor.getKeysetPredicate(
+                    criteriaBuilder, sortPath, cursor.getSortValue(), idPath));
+
+        firstResult = 0;
+      }
+
+      dataCriteriaQuery.select(root).where(dataPredicate);
+
+      // Order by the sort property with the ID as a tiebreaker to make the order deterministic
+      if (sortDirection == SortDirection.ASCENDING) {
+        dataCriteriaQuery.orderBy(criteriaBuilder.asc(sortPath), criteriaBuilder.asc(idPath));
+      } else {
+        dataCriteriaQuery.orderBy(criteriaBuilder.desc(sortPath), criteriaBuilder.desc(idPath));
+      }
+
+      TypedQuery<DocumentSummary> dataQuery = entityManager.createQuery(dataCriteriaQuery);
+      dataQuery.setFirstResult(firstResult);
+      dataQuery.setMaxResults(pageSize);
+
+      List<DocumentSummary> documentSummaries = dataQuery.getResultList();
+
+      // Count query (for total elements), which may be skipped as it requires a full scan
+      long total = -1;
+
+      if (!Boolean.FALSE.equals(searchDocumentsRequest.getIncludeTotal())) {
+        CriteriaQuery<Long> countCriteriaQuery = criteriaBuilder.createQuery(Long.class);
+        Root<DocumentSummary> countRoot = countCriteriaQuery.from(DocumentSummary.class);
+
+        Predicate countPredicate =
+            specification.toPredicate(countRoot, countCriteriaQuery, criteriaBuilder);
+
+        countCriteriaQuery.select(criteriaBuilder.count(countRoot)).where(countPredicate);
+
+        total = entityManager.createQuery(countCriteriaQuery).getSingleResult();
+      }
+
+      // Issue a cursor for the next page if this page was full
+      String nextCursor = null;
+
+      if (documentSummaries.size() == pageSize) {
+        DocumentSummary lastDocumentSummary = documentSummaries.getLast();
+
+        nextCursor =
+            SearchCursor.keyset(
+                    sortBy,
+                    sortDirection,
+                    lastDocumentSummary.getDefinitionId(),
+                    lastDocumentSummary.getId())
+                .encode();
+      }
 
       return new DocumentSummaries(
-          documentSummaryPage.toList(),
-          documentSummaryPage.getTotalElements(),
+          documentSummaries,
+          total,
           searchDocumentsRequest.getSortBy(),
           searchDocumentsRequest.getSortDirection(),
           pageIndex,
-          pageSize);
+          pageSize,
+          nextCursor);
     } catch (Throwable e) {
       throw new ServiceUnavailableException(
           "Failed to search for documents for the tenant (" + tenantId + ")", e);
@@ -1436,15 +1649,10 @@ public class DocumentServiceImpl extends AbstractServiceBase implements Document
       document.setUpdated(ApplicationClock.offsetNow());
       document.setUpdatedBy(updatedBy);
 
-      // TODO: If the document is persisted to S3, do not set the data
-      document.setData(updateDocumentRequest.getData());
-
-      // TODO: Save the document data to S3, if required
-      // s3Client.uploadFileToS3Bucket(
-      //    "bucket_id", document.getId().toString(), document.getFileType(),
-      // updateDocumentRequest.getData());
+      // Save the data to the blob store and reference it by hash instead of embedding it
+      document.setHash(createBlob(new ByteArrayInputStream(updateDocumentRequest.getData())));
+      document.setData(null);
 
-      // Save the document to the database (without the data if persisted to S3)
       documentRepository.save(document);
     } catch (InvalidArgumentException | DocumentNotFoundException e) {
       throw e;
@@ -1478,6 +1686,8 @@ public class DocumentServiceImpl extends AbstractServiceBase implements Document
       }
 
       documentDefinitionRepository.save(documentDefinition);
+
+      validationPlanCache.evictDocumentDefinition(documentDefinition.getId());
     } catch (DocumentDefinitionCategoryNotFoundException | DocumentDefinitionNotFoundException e) {
       throw e;
     } catch (Throwable e) {
@@ -1620,6 +1830,152 @@ public class DocumentServiceImpl extends AbstractServiceBase implements Document
     }
   }
 
+  @Override
+  public UUID uploadDocument(
+      UUID tenantId,
+      UploadDocumentRequest uploadDocumentRequest,
+      InputStream data,
+      String uploadedBy)
+      throws InvalidArgumentException,
+          DocumentDefinitionNotFoundException,
+          ServiceUnavailableException {
+    if (tenantId == null) {
+      throw new InvalidArgumentException("tenantId");
+    }
+
+    validateArgument("uploadDocumentRequest", uploadDocumentRequest);
+
+    if (data == null) {
+      throw new InvalidArgumentException("data");
+    }
+
+    return createDocument(
+        tenantId, "uploadDocumentRequest", uploadDocumentRequest, data, uploadedBy);
+  }
+
+  @Override
+  public void writeDocumentData(UUID tenantId, UUID documentId, OutputStream outputStream)
+      throws InvalidArgumentException, DocumentNotFoundException, ServiceUnavailableException {
+    if (tenantId == null) {
+      throw new InvalidArgumentException("tenantId");
+    }
+
+    if (documentId == null) {
+      throw new InvalidArgumentException("documentId");
+    }
+
+    if (outputStream == null) {
+      throw new InvalidArgumentException("outputStream");
+    }
+
+    try {
+      Optional<String> hashOptional =
+          documentRepository.getHashByTenantIdAndId(tenantId, documentId);
+
+      if (hashOptional.isEmpty()) {
+        throw new DocumentNotFoundException(tenantId, documentId);
+      }
+
+      // Documents created before the blob store was introduced hold their data inline
+      byte[] inlineData = documentRepository.getDataByTenantIdAndId(tenantId, documentId);
+
+      if (inlineData != null) {
+        outputStream.write(inlineData);
+        outputStream.flush();
+      } else {
+        blobStore.writeBlob(hashOptional.get(), outputStream);
+      }
+    } catch (DocumentNotFoundException e) {
+      throw e;
+    } catch (Throwable e) {
+      throw new ServiceUnavailableException(
+          "Failed to write the data for the document ("
+              + documentId
+              + ") for the tenant ("
+              + tenantId
+              + ")",
+          e);
+    }
+  }
+
+  /**
+   * Create the blob for the document data.
+   *
+   * <p>If a transaction is active, the blob is deleted again if the transaction rolls back and no
+   * documents or interaction attachments reference it, so that a failed write does not leave an
+   * orphaned blob behind until the next garbage collection. A blob that was referenced by newly
+   * stored data after it was written here is retained.
+   *
+   * @param data the input stream to read the document data from
+   * @return the hex-encoded SHA-256 hash of the document data
+   */
+  private String createBlob(InputStream data) throws ServiceUnavailableException {
+    String hash = blobStore.createBlob(data);
+
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      OffsetDateTime created = ApplicationClock.offsetNow();
+
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+              if (status == STATUS_ROLLED_BACK) {
+                try {
+                  backgroundBlobGarbageCollector.collectBlob(hash, created);
+                } catch (Throwable e) {
+                  log.error(
+                      "Failed to delete the blob ("
+                          + hash
+                          + ") written by a transaction that was rolled back",
+                      e);
+                }
+              }
+            }
+          });
+    }
+
+    return hash;
+  }
+
+  private UUID createDocument(
+      UUID tenantId,
+      String argumentName,
+      UploadDocumentRequest uploadDocumentRequest,
+      InputStream data,
+      String createdBy)
+      throws InvalidArgumentException,
+          DocumentDefinitionNotFoundException,
+          ServiceUnavailableException {
+    try {
+      DocumentDefinition documentDefinition =
+          getDocumentService().getDocumentDefinition(uploadDocumentRequest.getDefinitionId());
+
+      Document document =
+          newDocument(tenantId, argumentName, uploadDocumentRequest, documentDefinition, createdBy);
+
+      if (documentRepository.existsById(document.getId())) {
+        throw new DuplicateDocumentException(document.getId());
+      }
+
+      // Stream the data to the blob store and reference it by hash instead of embedding it
+      document.setHash(createBlob(data));
+
+      documentRepository.save(document);
+
+      return document.getId();
+    } catch (InvalidArgumentException | DocumentDefinitionNotFoundException e) {
+      throw e;
+    } catch (Throwable e) {
+      throw new ServiceUnavailableException(
+          "Failed to create the document with the document definition ID ("
+              + uploadDocumentRequest.getDefinitionId()
+              + ") for the tenant ("
+              + tenantId
+              + ")",
+          e);
+    }
+  }
+
   /**
    * Returns the internal reference to the Document Service to enable caching.
    *
@@ -1633,13 +1989,99 @@ public class DocumentServiceImpl extends AbstractServiceBase implements Document
     return documentService;
   }
 
-  private Sort.Direction resolveSortDirection(SortDirection sortDirection) {
-    if (sortDirection == null) {
-      return Sort.Direction.DESC;
-    } else if (sortDirection == SortDirection.ASCENDING) {
-      return Sort.Direction.ASC;
-    } else {
-      return Sort.Direction.DESC;
+  /**
+   * Returns a new document for the request to create a document, after applying the default
+   * attribute values and validating the external references and attributes for the document.
+   *
+   * <p>The document is not persisted and the data for the document is not saved.
+   *
+   * @param tenantId the ID for the tenant
+   * @param argumentName the name of the argument for the request to create the document, which is
+   *     used to identify any invalid fields
+   * @param createDocumentRequest the request to create the document
+   * @param documentDefinition the document definition for the document
+   * @param createdBy the person or system creating the document
+   * @return the new document
+   * @throws InvalidArgumentException if the request to create the document is invalid
+   * @throws ServiceUnavailableException if the document could not be validated
+   */
+  private Document newDocument(
+      UUID tenantId,
+      String argumentName,
+      UploadDocumentRequest uploadDocumentRequest,
+      DocumentDefinition documentDefinition,
+      String createdBy)
+      throws InvalidArgumentException, ServiceUnavailableException {
+    Document document = new Document(uploadDocumentRequest.getDefinitionId());
+
+    if (uploadDocumentRequest.getExternalReferences() != null) {
+      // Validate the external references
+      validationService.validateExternalReferences(
+          tenantId,
+          argumentName + ".externalReferences",
+          ObjectType.DOCUMENT,
+          uploadDocumentRequest.getExternalReferences());
+
+      document.setExternalReferences(uploadDocumentRequest.getExternalReferences());
     }
+
+    if (uploadDocumentRequest.getAttributes() == null) {
+      uploadDocumentRequest.setAttributes(new ArrayList<>());
+    }
+
+    // Apply default attribute values, if required
+    for (DocumentAttributeDefinition documentAttributeDefinition :
+        documentDefinition.getAttributeDefinitions()) {
+      if (documentAttributeDefinition.getDefaultValue() != null) {
+        Optional<DocumentAttribute> documentAttributeOptional =
+            uploadDocumentRequest.getAttribute(documentAttributeDefinition.getName());
+
+        if (documentAttributeOptional.isEmpty()) {
+          uploadDocumentRequest.addAttribute(
+              new DocumentAttribute(
+                  documentAttributeDefinition.getName(),
+                  documentAttributeDefinition.getDefaultValue()));
+        } else {
+          DocumentAttribute documentAttribute = documentAttributeOptional.get();
+
+          if (!StringUtils.hasText(documentAttribute.getValue())) {
+            documentAttribute.setValue(documentAttributeDefinition.getDefaultValue());
+          }
+        }
+      }
+    }
+
+    // Validate the allowed document attributes
+    validationService.validateAllowedDocumentAttributes(
+        argumentName + ".attributes", documentDefinition, uploadDocumentRequest.getAttributes());
+
+    // Validate the required document attributes
+    validationService.validateRequiredDocumentAttributes(
+        argumentName + ".attributes", documentDefinition, uploadDocumentRequest.getAttributes());
+
+    document.setAttributes(uploadDocumentRequest.getAttributes());
+
+    document.setCreated(ApplicationClock.offsetNow());
+    document.setCreatedBy(createdBy);
+    document.setFileType(uploadDocumentRequest.getFileType());
+    document.setName(uploadDocumentRequest.getName());
+    document.setSourceDocumentId(uploadDocumentRequest.getSourceDocumentId());
+    document.setTenantId(tenantId);
+
+    return document;
+  }
+
+  private UploadDocumentRequest toUploadDocumentRequest(
+      CreateDocumentRequest createDocumentRequest) {
+    UploadDocumentRequest uploadDocumentRequest = new UploadDocumentRequest();
+    uploadDocumentRequest.setAttributes(createDocumentRequest.getAttributes());
+    uploadDocumentRequest.setDefinitionId(createDocumentRequest.getDefinitionId());
+    uploadDocumentRequest.setExpiryDate(createDocumentRequest.getExpiryDate());
+    uploadDocumentRequest.setExternalReferences(createDocumentRequest.getExternalReferences());
+    uploadDocumentRequest.setFileType(createDocumentRequest.getFileType());
+    uploadDocumentRequest.setIssueDate(createDocumentRequest.getIssueDate());
+    uploadDocumentRequest.setName(createDocumentRequest.getName());
+    uploadDocumentRequest.setSourceDocumentId(createDocumentRequest.getSourceDocumentId());
+    return uploadDocumentRequest;
   }
 }
@@ -82,4 +82,20 @@ public interface EventService {
    */
   void publishEvent(UUID tenantId, Event event)
       throws InvalidArgumentException, DuplicateEventException, ServiceUnavailableException;
+
+  /**
+   * Publish the events.
+   *
+   * <p>The events are published in a single transaction and processing is triggered once after
+   * the transaction commits. Events that have already been published are ignored.
+   *
+   * @param tenantId the ID for the tenant
+   * @param events the events
+   * @return the number of events that were published, excluding the events that had already been
+   *     published
+   * @throws InvalidArgumentException if an argument is invalid
+   * @throws ServiceUnavailableException if the events could not be published
+   */
+  int publishEvents(UUID tenantId, List<Event> events)
+      throws InvalidArgumentException, ServiceUnavailableException;
 }
@@ -23,17 +23,19 @@ import digital.inception.core.time.ApplicationClock;
 import digital.inception.core.util.ServiceUtil;
 import digital.inception.operations.connector.WorkflowEngineConnector;
 import digital.inception.operations.exception.DuplicateEventException;
-import digital.inception.operations.exception.WorkflowDocumentNotFoundException;
-import digital.inception.operations.exception.WorkflowNotFoundException;
 import digital.inception.operations.model.Event;
+import digital.inception.operations.model.EventStatus;
 import digital.inception.operations.model.EventType;
 import digital.inception.operations.model.ObjectType;
 import digital.inception.operations.model.WorkflowDefinition;
-import digital.inception.operations.model.WorkflowEngineIds;
+import digital.inception.operations.model.WorkflowRoutingContext;
 import digital.inception.operations.persistence.jpa.EventRepository;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationContext;
@@ -49,6 +51,15 @@ import org.springframework.transaction.annotation.Transactional;
 @SuppressWarnings("unused")
 public class EventServiceImpl extends AbstractServiceBase implements EventService {
 
+  /** The workflow document event types. */
+  private static final List<EventType> WORKFLOW_DOCUMENT_EVENT_TYPES =
+      List.of(
+          EventType.WORKFLOW_DOCUMENT_REQUESTED,
+          EventType.WORKFLOW_DOCUMENT_PROVIDED,
+          EventType.WORKFLOW_DOCUMENT_REJECTED,
+          EventType.WORKFLOW_DOCUMENT_VERIFIED,
+          EventType.WORKFLOW_DOCUMENT_WAIVED);
+
   /** The Event Repository. */
   private final EventRepository eventRepository;
 
@@ -66,6 +77,9 @@ public class EventServiceImpl extends AbstractServiceBase implements EventServic
   @Value("${inception.operations.max-event-processing-attempts:#{100}}")
   private int maximumEventProcessingAttempts;
 
+  /** The Workflow Routing Context Cache. */
+  private final WorkflowRoutingContextCache workflowRoutingContextCache;
+
   /** The Workflow Service. */
   private WorkflowService workflowService;
 
@@ -74,11 +88,16 @@ public class EventServiceImpl extends AbstractServiceBase implements EventServic
    *
    * @param applicationContext the Spring {@link ApplicationContext}
    * @param eventRepository the Event Repository
+   * @param workflowRoutingContextCache the Workflow Routing Context Cache
    */
-  public EventServiceImpl(ApplicationContext applicationContext, EventRepository eventRepository) {
+  public EventServiceImpl(
+      ApplicationContext applicationContext,
+      EventRepository eventRepository,
+      WorkflowRoutingContextCache workflowRoutingContextCache) {
     super(applicationContext);
 
     this.eventRepository = eventRepository;
+    this.workflowRoutingContextCache = workflowRoutingContextCache;
   }
 
   @Override
@@ -119,11 +138,7 @@ public class EventServiceImpl extends AbstractServiceBase implements EventServic
             + event.getType()
             + ")");
 
-    if ((event.getType() == EventType.WORKFLOW_DOCUMENT_REQUESTED)
-        || (event.getType() == EventType.WORKFLOW_DOCUMENT_PROVIDED)
-        || (event.getType() == EventType.WORKFLOW_DOCUMENT_REJECTED)
-        || (event.getType() == EventType.WORKFLOW_DOCUMENT_VERIFIED)
-        || (event.getType() == EventType.WORKFLOW_DOCUMENT_WAIVED)) {
+    if (WORKFLOW_DOCUMENT_EVENT_TYPES.contains(event.getType())) {
       processWorkflowDocumentEvent(event);
     }
   }
@@ -139,12 +154,10 @@ public class EventServiceImpl extends AbstractServiceBase implements EventServic
     validateArgument("event", event);
 
     try {
-      if (eventRepository.existsById(event.getId())) {
+      if (!insertEvent(event)) {
         throw new DuplicateEventException(event.getId());
       }
 
-      eventRepository.save(event);
-
       getBackgroundEventProcessor().triggerProcessing();
     } catch (DuplicateEventException e) {
       throw e;
@@ -165,6 +178,43 @@ public class EventServiceImpl extends AbstractServiceBase implements EventServic
         new Event(tenantId, objectType, objectId, eventType, ApplicationClock.offsetNow(), actor));
   }
 
+  @Override
+  @Transactional
+  public int publishEvents(UUID tenantId, List<Event> events)
+      throws InvalidArgumentException, ServiceUnavailableException {
+    if (tenantId == null) {
+      throw new InvalidArgumentException("tenantId");
+    }
+
+    if (events == null) {
+      throw new InvalidArgumentException("events");
+    }
+
+    for (Event event : events) {
+      validateArgument("event", event);
+    }
+
+    try {
+      int numberOfPublishedEvents = 0;
+
+      for (Event event : events) {
+        if (insertEvent(event)) {
+          numberOfPublishedEvents++;
+        }
+      }
+
+      if (numberOfPublishedEvents > 0) {
+        getBackgroundEventProcessor().triggerProcessing();
+      }
+
+      return numberOfPublishedEvents;
+    } catch (Throwable e) {
+      throw new ServiceUnavailableException(
+          "Failed to publish the " + events.size() + " events for the tenant (" + tenantId + ")",
+          e);
+    }
+  }
+
   /**
    * Returns the lazily evaluated Background Event Processor to avoid circular references.
    *
@@ -191,31 +241,131 @@ public class EventServiceImpl extends AbstractServiceBase implements EventServic
     return workflowService;
   }
 
+  /**
+   * Insert the event if an event with the same ID does not already exist.
+   *
+   * <p>The event is inserted using a single INSERT ... ON CONFLICT DO NOTHING statement, which
+   * Hibernate emulates on databases that do not support this syntax natively, rather than checking
+   * whether the event exists and then merging it, which requires additional queries. The statement
+   * must list every mapped column for the event.
+   *
+   * @param event the event
+   * @return {@code true} if the event was inserted or {@code false} if an event with the same ID
+   *     already exists
+   */
+  private boolean insertEvent(Event event) {
+    return entityManager
+            .createQuery(
+                """
+                insert into Event (id, tenantId, status, objectType, objectId, type, occurred,
+                                   actor, processed, processingAttempts, processingTime,
+                                   processingSuspended, lastProcessed, nextProcessed, locked,
+                                   lockName)
+                values (:id, :tenantId, :status, :objectType, :objectId, :type, :occurred,
+                        :actor, :processed, :processingAttempts, :processingTime,
+                        :processingSuspended, :lastProcessed, :nextProcessed, :locked,
+                        :lockName)
+                on conflict do nothing
+                """)
+            .setParameter("id", event.getId())
+            .setParameter("tenantId", event.getTenantId())
+            .setParameter("status", event.getStatus())
+            .setParameter("objectType", event.getObjectType())
+            .setParameter("objectId", event.getObjectId())
+            .setParameter("type", event.getType())
+            .setParameter("occurred", event.getOccurred())
+            .setParameter("actor", event.getActor())
+            .setParameter("processed", event.getProcessed())
+            .setParameter("processingAttempts", event.getProcessingAttempts())
+            .setParameter("processingTime", event.getProcessingTime())
+            .setParameter("processingSuspended", event.isProcessingSuspended())
+            .setParameter("lastProcessed", event.getLastProcessed())
+            .setParameter("nextProcessed", event.getNextProcessed())
+            .setParameter("locked", event.getLocked())
+            .setParameter("lockName", event.getLockName())
+            .executeUpdate()
+        > 0;
+  }
+
+  /**
+   * Process the workflow document event together with the other queued workflow document events
+   * for the same workflow, using a single call to the workflow engine connector.
+   *
+   * <p>The other events are locked under a lock name derived from the ID for the event being
+   * processed. They are completed if the workflow engine connector call succeeds and returned to
+   * the queue, to be processed again later, if it fails.
+   *
+   * @param event the workflow document event
+   */
   private void processWorkflowDocumentEvent(Event event) throws ServiceUnavailableException {
+    String lockName = "event-" + event.getId();
+
+    boolean otherEventsLocked = false;
+
     try {
-      UUID workflowId =
-          getWorkflowService()
-              .getWorkflowIdForWorkflowDocument(event.getTenantId(), event.getObjectId());
+      Optional<WorkflowRoutingContext> workflowRoutingContextOptional =
+          workflowRoutingContextCache.getWorkflowRoutingContext(
+              event.getTenantId(), event.getObjectId());
 
-      WorkflowDefinition workflowDefinition =
-          getWorkflowService().getWorkflowDefinitionForWorkflow(event.getTenantId(), workflowId);
+      if (workflowRoutingContextOptional.isEmpty()) {
+        // Ignore the workflow and/or workflow document that has been deleted
+        return;
+      }
+
+      WorkflowRoutingContext workflowRoutingContext = workflowRoutingContextOptional.get();
 
-      WorkflowEngineIds workflowEngineIds =
-          getWorkflowService().getWorkflowEngineIdsForWorkflow(event.getTenantId(), workflowId);
+      WorkflowDefinition workflowDefinition =
+          getWorkflowService()
+              .getWorkflowDefinitionVersion(
+                  workflowRoutingContext.getDefinitionId(),
+                  workflowRoutingContext.getDefinitionVersion());
 
       WorkflowEngineConnector workflowEngineConnector =
-          getWorkflowService().getWorkflowEngineConnector(workflowEngineIds.getEngineId());
+          getWorkflowService().getWorkflowEngineConnector(workflowRoutingContext.getEngineId());
+
+      List<Event> events = new ArrayList<>();
+      events.add(event);
+
+      otherEventsLocked =
+          eventRepository.lockQueuedWorkflowDocumentEventsForWorkflow(
+                  event.getTenantId(),
+                  workflowRoutingContext.getWorkflowId(),
+                  WORKFLOW_DOCUMENT_EVENT_TYPES,
+                  lockName,
+                  ApplicationClock.offsetNow())
+              > 0;
+
+      if (otherEventsLocked) {
+        events.addAll(
+            eventRepository.findByLockNameAndStatusOrderByOccurred(
+                lockName, EventStatus.PROCESSING));
 
-      workflowEngineConnector.processWorkflowDocumentEvent(
+        events.sort(Comparator.comparing(Event::getOccurred));
+      }
+
+      workflowEngineConnector.processWorkflowDocumentEvents(
           workflowDefinition,
           event.getTenantId(),
-          workflowId,
-          workflowEngineIds.getEngineInstanceId(),
-          event.getObjectId(),
-          event.getType());
-    } catch (WorkflowNotFoundException | WorkflowDocumentNotFoundException ignored) {
-      // Ignore the workflow and/or workflow document that has been deleted
+          workflowRoutingContext.getWorkflowId(),
+          workflowRoutingContext.getEngineInstanceId(),
+          events);
+
+      if (otherEventsLocked) {
+        eventRepository.completeLockedEvents(lockName, ApplicationClock.offsetNow());
+      }
     } catch (Throwable e) {
+      if (otherEventsLocked) {
+        try {
+          eventRepository.unlockLockedEvents(lockName);
+        } catch (Throwable f) {
+          log.error(
+              "Failed to return the workflow document events locked with the lock name ("
+                  + lockName
+                  + ") to the queue",
+              f);
+        }
+      }
+
       throw new ServiceUnavailableException(
           "Failed to process the workflow document event ("
               + event.getType()
@@ -0,0 +1,146 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package digital.inception.operations.service;
+
+import digital.inception.operations.model.ExternalReferenceType;
+import digital.inception.operations.model.ObjectType;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * The {@code ExternalReferenceTypeValidationPlan} class holds the external reference types,
+ * compiled into an immutable form that allows external references to be validated without scanning
+ * all the external reference types.
+ *
+ * <p>The codes, tenant IDs and object types the plan was compiled from are retained, so that a
+ * cached plan can be checked against the current external reference types before it is used.
+ *
+ * @author Marcus Portmann
+ */
+final class ExternalReferenceTypeValidationPlan {
+
+  /** The codes for the external reference types the plan was compiled from, by position. */
+  private final String[] codes;
+
+  /** The external reference types keyed by their case-folded code. */
+  private final Map<String, List<ExternalReferenceType>> externalReferenceTypes;
+
+  /** The object types for the external reference types the plan was compiled from, by position. */
+  private final ObjectType[] objectTypes;
+
+  /** The tenant IDs for the external reference types the plan was compiled from, by position. */
+  private final UUID[] tenantIds;
+
+  /**
+   * Constructs a new {@code ExternalReferenceTypeValidationPlan}.
+   *
+   * @param externalReferenceTypes the external reference types for all tenants
+   */
+  ExternalReferenceTypeValidationPlan(List<ExternalReferenceType> externalReferenceTypes) {
+    this.codes = new String[externalReferenceTypes.size()];
+    this.objectTypes = new ObjectType[externalReferenceTypes.size()];
+    this.tenantIds = new UUID[externalReferenceTypes.size()];
+
+    Map<String, List<ExternalReferenceType>> externalReferenceTypesByCode = new HashMap<>();
+
+    for (int i = 0; i < externalReferenceTypes.size(); i++) {
+      ExternalReferenceType externalReferenceType = externalReferenceTypes.get(i);
+
+      codes[i] = externalReferenceType.getCode();
+      objectTypes[i] = externalReferenceType.getObjectType();
+      tenantIds[i] = externalReferenceType.getTenantId();
+
+      externalReferenceTypesByCode
+          .computeIfAbsent(externalReferenceType.getCode().toLowerCase(), code -> new ArrayList<>())
+          .add(externalReferenceType);
+    }
+
+    externalReferenceTypesByCode.replaceAll((code, types) -> List.copyOf(types));
+
+    this.externalReferenceTypes = Map.copyOf(externalReferenceTypesByCode);
+  }
+
+  /**
+   * Returns whether the validation plan was compiled from the current external reference types.
+   *
+   * @param externalReferenceTypes the current external reference types for all tenants
+   * @return {@code true} if the validation plan was compiled from the current external reference
+   *     types or {@code false} otherwise
+   */
+  boolean isCompiledFrom(List<ExternalReferenceType> externalReferenceTypes) {
+    if (externalReferenceTypes.size() != codes.length) {
+      return false;
+    }
+
+    for (int i = 0; i < codes.length; i++) {
+      ExternalReferenceType externalReferenceType = externalReferenceTypes.get(i);
+
+      if ((!Objects.equals(codes[i], externalReferenceType.getCode()))
+          || (objectTypes[i] != externalReferenceType.getObjectType())
+          || (!Objects.equals(tenantIds[i], externalReferenceType.getTenantId()))) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * Returns whether the code identifies an external reference type that applies to the tenant and
+   * object type.
+   *
+   * <p>An external reference type that is not associated with a tenant applies to all tenants and
+   * an external reference type that is not associated with an object type applies to all object
+   * types.
+   *
+   * @param tenantId the ID for the tenant
+   * @param objectType the object type
+   * @param externalReferenceTypeCode the code for the external reference type
+   * @param caseSensitive whether the code is compared case-sensitively
+   * @return {@code true} if the code identifies an external reference type that applies to the
+   *     tenant and object type or {@code false} otherwise
+   */
+  boolean isValid(
+      UUID tenantId,
+      ObjectType objectType,
+      String externalReferenceTypeCode,
+      boolean caseSensitive) {
+    List<ExternalReferenceType> candidateExternalReferenceTypes =
+        externalReferenceTypes.get(externalReferenceTypeCode.toLowerCase());
+
+    if (candidateExternalReferenceTypes == null) {
+      return false;
+    }
+
+    for (ExternalReferenceType externalReferenceType : candidateExternalReferenceTypes) {
+      if (((externalReferenceType.getTenantId() == null)
+              || Objects.equals(externalReferenceType.getTenantId(), tenantId))
+          && ((externalReferenceType.getObjectType() == null)
+              || (externalReferenceType.getObjectType() == objectType))
+          && ((!caseSensitive)
+              || externalReferenceType.getCode().equals(externalReferenceTypeCode))) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+}
@@ -37,6 +37,7 @@ import digital.inception.operations.model.Interaction;
 import digital.inception.operations.model.InteractionAttachment;
 import digital.inception.operations.model.InteractionAttachmentSortBy;
 import digital.inception.operations.model.InteractionAttachmentSummaries;
+import digital.inception.operations.model.InteractionAttachmentSummary;
 import digital.inception.operations.model.InteractionDirection;
 import digital.inception.operations.model.InteractionNote;
 import digital.inception.operations.model.InteractionNoteSortBy;
@@ -53,6 +54,7 @@ import digital.inception.operations.model.LinkPartyToInteractionRequest;
 import digital.inception.operations.model.SearchInteractionsRequest;
 import digital.inception.operations.model.TransferInteractionRequest;
 import digital.inception.operations.model.UpdateInteractionNoteRequest;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -292,6 +294,24 @@ public interface InteractionService {
       Integer pageSize)
       throws InvalidArgumentException, InteractionNotFoundException, ServiceUnavailableException;
 
+  /**
+   * Retrieve the summary for the interaction attachment, which excludes the data for the
+   * interaction attachment.
+   *
+   * @param tenantId the ID for the tenant
+   * @param interactionAttachmentId the ID for the interaction attachment
+   * @return the summary for the interaction attachment
+   * @throws InvalidArgumentException if an argument is invalid
+   * @throws InteractionAttachmentNotFoundException if the interaction attachment could not be found
+   * @throws ServiceUnavailableException if the summary for the interaction attachment could not be
+   *     retrieved
+   */
+  InteractionAttachmentSummary getInteractionAttachmentSummary(
+      UUID tenantId, UUID interactionAttachmentId)
+      throws InvalidArgumentException,
+          InteractionAttachmentNotFoundException,
+          ServiceUnavailableException;
+
   /**
    * Retrieve the ID for the interaction with the specified source reference and source ID.
    *
@@ -707,6 +727,23 @@ public interface InteractionService {
           InteractionSourceNotFoundException,
           ServiceUnavailableException;
 
+  /**
+   * Write the data for the interaction attachment to the output stream.
+   *
+   * @param tenantId the ID for the tenant
+   * @param interactionAttachmentId the ID for the interaction attachment
+   * @param outputStream the output stream to write the data for the interaction attachment to
+   * @throws InvalidArgumentException if an argument is invalid
+   * @throws InteractionAttachmentNotFoundException if the interaction attachment could not be found
+   * @throws ServiceUnavailableException if the data for the interaction attachment could not be
+   *     written
+   */
+  void writeInteractionAttachmentData(
+      UUID tenantId, UUID interactionAttachmentId, OutputStream outputStream)
+      throws InvalidArgumentException,
+          InteractionAttachmentNotFoundException,
+          ServiceUnavailableException;
+
   /** The {@code TriggerInteractionSourceSynchronizationEvent} record. */
   record TriggerInteractionSourceSynchronizationEvent() {}
 }
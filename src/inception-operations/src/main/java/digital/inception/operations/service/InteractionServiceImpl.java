@@ -29,7 +29,6 @@ import digital.inception.core.model.CodeEnum;
 import digital.inception.core.service.AbstractServiceBase;
 import digital.inception.core.sorting.SortDirection;
 import digital.inception.core.time.ApplicationClock;
-import digital.inception.core.util.MimeData;
 import digital.inception.operations.exception.DuplicateInteractionAttachmentException;
 import digital.inception.operations.exception.DuplicateInteractionException;
 import digital.inception.operations.exception.DuplicateInteractionNoteException;
@@ -67,6 +66,7 @@ import digital.inception.operations.model.InteractionType;
 import digital.inception.operations.model.LinkPartyToInteractionRequest;
 import digital.inception.operations.model.MailboxInteractionSourceAttributeName;
 import digital.inception.operations.model.MailboxProtocol;
+import digital.inception.operations.model.MailboxSynchronizationState;
 import digital.inception.operations.model.SearchInteractionsRequest;
 import digital.inception.operations.model.TransferInteractionRequest;
 import digital.inception.operations.model.UpdateInteractionNoteRequest;
@@ -76,17 +76,26 @@ import digital.inception.operations.persistence.jpa.InteractionNoteRepository;
 import digital.inception.operations.persistence.jpa.InteractionRepository;
 import digital.inception.operations.persistence.jpa.InteractionSourceRepository;
 import digital.inception.operations.persistence.jpa.InteractionSourceSummaryRepository;
+import digital.inception.operations.persistence.jpa.MailboxSynchronizationStateRepository;
+import digital.inception.operations.store.BlobStore;
 import digital.inception.operations.util.AttributeUtil;
-import digital.inception.operations.util.HtmlToSimplifiedHtml;
+import digital.inception.operations.util.HtmlTooLargeException;
+import digital.inception.operations.util.MessageContent;
 import digital.inception.operations.util.MessageUtil;
+import digital.inception.operations.util.StreamingHtmlToSimplifiedHtml;
+import jakarta.activation.MimeType;
 import jakarta.mail.Address;
 import jakarta.mail.Authenticator;
+import jakarta.mail.FetchProfile;
+import jakarta.mail.Flags;
 import jakarta.mail.Flags.Flag;
 import jakarta.mail.Folder;
 import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
 import jakarta.mail.PasswordAuthentication;
 import jakarta.mail.Session;
 import jakarta.mail.Store;
+import jakarta.mail.UIDFolder;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.TypedQuery;
@@ -94,10 +103,14 @@ import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.io.Reader;
 import java.security.SecureRandom;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -106,6 +119,8 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import org.eclipse.angus.mail.imap.IMAPFolder;
+import org.eclipse.angus.mail.imap.IMAPStore;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
@@ -134,6 +149,9 @@ public class InteractionServiceImpl extends AbstractServiceBase implements Inter
     'N', 'P', 'Q', 'R', 'S', 'T', 'U', 'V', 'W', 'X', 'Y', 'Z'
   };
 
+  /** The Blob Store. */
+  private final BlobStore blobStore;
+
   /** The regular expression pattern used to extract the conversation ID from an email subject. */
   private final Pattern conversationIdPattern = Pattern.compile("\\[CID:([A-Z0-9]+)\\]");
 
@@ -158,6 +176,9 @@ public class InteractionServiceImpl extends AbstractServiceBase implements Inter
   /** The Interaction Source Summary Repository. */
   private final InteractionSourceSummaryRepository interactionSourceSummaryRepository;
 
+  /** The Mailbox Synchronization State Repository. */
+  private final MailboxSynchronizationStateRepository mailboxSynchronizationStateRepository;
+
   private final SecureRandom secureRandom = new SecureRandom();
 
   /** The internal reference to the Interaction Service to enable caching. */
@@ -170,6 +191,17 @@ public class InteractionServiceImpl extends AbstractServiceBase implements Inter
   @PersistenceContext(unitName = "operations")
   private EntityManager entityManager;
 
+  /** The number of messages retrieved and processed together when synchronizing a mailbox. */
+  @Value("${inception.operations.mailbox-synchronization-batch-size:#{100}}")
+  private int mailboxSynchronizationBatchSize;
+
+  /**
+   * The maximum length of the HTML content for an email that is converted, beyond which the plain
+   * text content for the email is used instead.
+   */
+  @Value("${inception.operations.max-email-html-content-length:#{20971520}}")
+  private int maxEmailHtmlContentLength;
+
   /** The maximum number of filtered interactions that will be returned by the service. */
   @Value("${inception.operations.max-filtered-interaction-attachments:#{100}}")
   private int maxFilteredInteractionAttachments;
@@ -192,31 +224,37 @@ public class InteractionServiceImpl extends AbstractServiceBase implements Inter
    * Constructs a new {@code InteractionServiceImpl}.
    *
    * @param applicationContext the Spring {@link ApplicationContext}
+   * @param blobStore the Blob Store
    * @param interactionAttachmentRepository the Interaction Attachment Repository
    * @param interactionAttachmentSummaryRepository the Interaction Attachment Summary Repository
    * @param interactionNoteRepository the Interaction Note Repository
    * @param interactionRepository the Interaction Repository
    * @param interactionSourceRepository the Interaction Source Repository
    * @param interactionSourceSummaryRepository the Interaction Source Summary Repository
+   * @param mailboxSynchronizationStateRepository the Mailbox Synchronization State Repository
    * @param interactionProcessor the Interaction Processor
    */
   public InteractionServiceImpl(
       ApplicationContext applicationContext,
+      BlobStore blobStore,
       InteractionAttachmentRepository interactionAttachmentRepository,
       InteractionAttachmentSummaryRepository interactionAttachmentSummaryRepository,
       InteractionNoteRepository interactionNoteRepository,
       InteractionRepository interactionRepository,
       InteractionSourceRepository interactionSourceRepository,
       InteractionSourceSummaryRepository interactionSourceSummaryRepository,
+      MailboxSynchronizationStateRepository mailboxSynchronizationStateRepository,
       InteractionProcessor interactionProcessor) {
     super(applicationContext);
 
+    this.blobStore = blobStore;
     this.interactionAttachmentRepository = interactionAttachmentRepository;
     this.interactionAttachmentSummaryRepository = interactionAttachmentSummaryRepository;
     this.interactionNoteRepository = interactionNoteRepository;
     this.interactionRepository = interactionRepository;
     this.interactionSourceRepository = interactionSourceRepository;
     this.interactionSourceSummaryRepository = interactionSourceSummaryRepository;
+    this.mailboxSynchronizationStateRepository = mailboxSynchronizationStateRepository;
     this.interactionProcessor = interactionProcessor;
   }
 
@@ -321,17 +359,13 @@ public class InteractionServiceImpl extends AbstractServiceBase implements Inter
       InteractionAttachment persistedInteractionAttachment =
           new InteractionAttachment(interactionAttachment);
 
-      // TODO: If persisting the interaction attachment to S3, clear the data
-      // persistedInteractionAttachment.setData(null);
-
-      // TODO: Save the interaction attachment data to S3, if required
-      // s3Client.uploadFileToS3Bucket(
-      //    "bucket_id",
-      //    interactionAttachment.getId().toString(),
-      //    interactionAttachment.getFileType(),
-      //    interactionAttachment.getData());
+      // Save the data to the blob store and reference it by hash instead of embedding it
+      if (interactionAttachment.getData() != null) {
+        persistedInteractionAttachment.setHash(
+            blobStore.createBlob(new ByteArrayInputStream(interactionAttachment.getData())));
+        persistedInteractionAttachment.setData(null);
+      }
 
-      // Save the interaction attachment to the database (without the data if persisted to S3)
       interactionAttachmentRepository.save(persistedInteractionAttachment);
     } catch (DuplicateInteractionAttachmentException e) {
       throw e;
@@ -715,7 +749,15 @@ public class InteractionServiceImpl extends AbstractServiceBase implements Inter
           interactionAttachmentRepository.findByTenantIdAndId(tenantId, interactionAttachmentId);
 
       if (interactionAttachmentOptional.isPresent()) {
-        return interactionAttachmentOptional.get();
+        InteractionAttachment interactionAttachment =
+            new InteractionAttachment(interactionAttachmentOptional.get());
+
+        // Retrieve the data from the blob store unless it was stored inline by an earlier version
+        if (interactionAttachment.getData() == null) {
+          interactionAttachment.setData(blobStore.getBlob(interactionAttachment.getHash()));
+        }
+
+        return interactionAttachment;
       } else {
         throw new InteractionAttachmentNotFoundException(interactionAttachmentId);
       }
@@ -862,6 +904,43 @@ public class InteractionServiceImpl extends AbstractServiceBase implements Inter
     }
   }
 
+  @Override
+  public InteractionAttachmentSummary getInteractionAttachmentSummary(
+      UUID tenantId, UUID interactionAttachmentId)
+      throws InvalidArgumentException,
+          InteractionAttachmentNotFoundException,
+          ServiceUnavailableException {
+    if (tenantId == null) {
+      throw new InvalidArgumentException("tenantId");
+    }
+
+    if (interactionAttachmentId == null) {
+      throw new InvalidArgumentException("interactionAttachmentId");
+    }
+
+    try {
+      Optional<InteractionAttachmentSummary> interactionAttachmentSummaryOptional =
+          interactionAttachmentSummaryRepository.findByTenantIdAndId(
+              tenantId, interactionAttachmentId);
+
+      if (interactionAttachmentSummaryOptional.isEmpty()) {
+        throw new InteractionAttachmentNotFoundException(interactionAttachmentId);
+      }
+
+      return interactionAttachmentSummaryOptional.get();
+    } catch (InteractionAttachmentNotFoundException e) {
+      throw e;
+    } catch (Throwable e) {
+      throw new ServiceUnavailableException(
+          "Failed to retrieve the summary for the interaction attachment ("
+              + interactionAttachmentId
+              + ") for the tenant ("
+              + tenantId
+              + ")",
+          e);
+    }
+  }
+
   @Override
   public Optional<UUID> getInteractionIdBySourceIdAndSourceReference(
       UUID tenantId, UUID sourceId, String sourceReference) throws ServiceUnavailableException {
@@ -1857,17 +1936,13 @@ public class InteractionServiceImpl extends AbstractServiceBase implements Inter
       InteractionAttachment persistedInteractionAttachment =
           new InteractionAttachment(interactionAttachment);
 
-      // TODO: If persisting the interaction attachment to S3, clear the data
-      // persistedInteractionAttachment.setData(null);
-
-      // TODO: Save the interaction attachment data to S3, if required
-      // s3Client.uploadFileToS3Bucket(
-      //    "bucket_id",
-      //    interactionAttachment.getId().toString(),
-      //    interactionAttachment.getFileType(),
-      //    interactionAttachment.getData());
+      // Save the data to the blob store and reference it by hash instead of embedding it
+      if (interactionAttachment.getData() != null) {
+        persistedInteractionAttachment.setHash(
+            blobStore.createBlob(new ByteArrayInputStream(interactionAttachment.getData())));
+        persistedInteractionAttachment.setData(null);
+      }
 
-      // Save the interaction attachment to the database (without the data if persisted to S3)
       interactionAttachmentRepository.save(persistedInteractionAttachment);
     } catch (InteractionAttachmentNotFoundException e) {
       throw e;
@@ -1971,7 +2046,61 @@ public class InteractionServiceImpl extends AbstractServiceBase implements Inter
     }
   }
 
-  private Interaction createEmailInteraction(InteractionSource interactionSource, Message message)
+  @Override
+  public void writeInteractionAttachmentData(
+      UUID tenantId, UUID interactionAttachmentId, OutputStream outputStream)
+      throws InvalidArgumentException,
+          InteractionAttachmentNotFoundException,
+          ServiceUnavailableException {
+    if (tenantId == null) {
+      throw new InvalidArgumentException("tenantId");
+    }
+
+    if (interactionAttachmentId == null) {
+      throw new InvalidArgumentException("interactionAttachmentId");
+    }
+
+    if (outputStream == null) {
+      throw new InvalidArgumentException("outputStream");
+    }
+
+    try {
+      Optional<InteractionAttachmentSummary> interactionAttachmentSummaryOptional =
+          interactionAttachmentSummaryRepository.findByTenantIdAndId(
+              tenantId, interactionAttachmentId);
+
+      if (interactionAttachmentSummaryOptional.isEmpty()) {
+        throw new InteractionAttachmentNotFoundException(interactionAttachmentId);
+      }
+
+      // Interaction attachments created before the blob store was introduced hold their data inline
+      byte[] inlineData =
+          interactionAttachmentRepository.getDataByTenantIdAndId(tenantId, interactionAttachmentId);
+
+      if (inlineData != null) {
+        outputStream.write(inlineData);
+        outputStream.flush();
+      } else {
+        blobStore.writeBlob(interactionAttachmentSummaryOptional.get().getHash(), outputStream);
+      }
+    } catch (InteractionAttachmentNotFoundException e) {
+      throw e;
+    } catch (Throwable e) {
+      throw new ServiceUnavailableException(
+          "Failed to write the data for the interaction attachment ("
+              + interactionAttachmentId
+              + ") for the tenant ("
+              + tenantId
+              + ")",
+          e);
+    }
+  }
+
+  private Interaction createEmailInteraction(
+      InteractionSource interactionSource,
+      UUID interactionId,
+      Message message,
+      MessageContent messageContent)
       throws InvalidArgumentException, ServiceUnavailableException {
     if (message == null) {
       throw new InvalidArgumentException("message");
@@ -1979,7 +2108,7 @@ public class InteractionServiceImpl extends AbstractServiceBase implements Inter
 
     try {
       Interaction interaction = new Interaction();
-      interaction.setId(UuidCreator.getTimeOrderedEpoch());
+      interaction.setId(interactionId);
       interaction.setTenantId(interactionSource.getTenantId());
       interaction.setStatus(InteractionStatus.QUEUED);
       interaction.setSourceId(interactionSource.getId());
@@ -2022,17 +2151,40 @@ public class InteractionServiceImpl extends AbstractServiceBase implements Inter
       // TODO: Add support for prioritizing interactions based on email domain -- MARCUS
       interaction.setPriority(InteractionPriority.NORMAL);
 
-      MimeData messageContent = MessageUtil.getMessageContent(message);
-
-      if (messageContent.isMimeType("text/html")) {
-        String simplifiedHtml =
-            HtmlToSimplifiedHtml.convertToSimplifiedHtml(messageContent.getDataAsString());
+      if (messageContent.hasHtml()) {
+        try (Reader reader = messageContent.getHtmlReader()) {
+          interaction.setContent(
+              StreamingHtmlToSimplifiedHtml.convertToSimplifiedHtml(
+                  reader,
+                  maxEmailHtmlContentLength,
+                  StreamingHtmlToSimplifiedHtml.DEFAULT_MAX_DEPTH,
+                  StreamingHtmlToSimplifiedHtml.DEFAULT_MAX_OUTPUT_LENGTH));
+          interaction.setMimeType(InteractionMimeType.TEXT_HTML);
+        } catch (HtmlTooLargeException e) {
+          /*
+           * Fall back to the plain text content, or no content, for a message whose HTML content
+           * is too large to convert, so the message does not block the synchronization of the
+           * mailbox.
+           */
+          log.warn(
+              "The HTML content for the email message ("
+                  + interaction.getSourceReference()
+                  + ") for the interaction source ("
+                  + interactionSource.getId()
+                  + ") exceeds the maximum length of "
+                  + e.getMaxInputLength()
+                  + " characters and will be replaced with the plain text content for the"
+                  + " message");
+        }
+      }
 
-        interaction.setMimeType(InteractionMimeType.TEXT_HTML);
-        interaction.setContent(simplifiedHtml);
-      } else {
+      if (interaction.getMimeType() == null) {
         interaction.setMimeType(InteractionMimeType.TEXT_PLAIN);
-        interaction.setContent(messageContent.getDataAsString());
+        interaction.setContent(
+            messageContent.hasPlainText()
+                ? messageContent.getPlainText(
+                    StreamingHtmlToSimplifiedHtml.DEFAULT_MAX_OUTPUT_LENGTH)
+                : "");
       }
 
       return interaction;
@@ -2042,6 +2194,33 @@ public class InteractionServiceImpl extends AbstractServiceBase implements Inter
     }
   }
 
+  private InteractionAttachment createEmailInteractionAttachment(
+      InteractionSource interactionSource, UUID interactionId, MimeType mimeType, String hash) {
+    InteractionAttachment interactionAttachment = new InteractionAttachment();
+
+    interactionAttachment.setId(UuidCreator.getTimeOrderedEpoch());
+    interactionAttachment.setSourceId(interactionSource.getId());
+    interactionAttachment.setTenantId(interactionSource.getTenantId());
+    interactionAttachment.setInteractionId(interactionId);
+
+    try {
+      interactionAttachment.setFileType(
+          FileType.fromMimeType(mimeType.getBaseType().toLowerCase()));
+    } catch (Throwable ignored) {
+      interactionAttachment.setFileType(FileType.BINARY);
+    }
+
+    String name =
+        StringUtils.hasText(mimeType.getParameter("name"))
+            ? mimeType.getParameter("name")
+            : mimeType.getParameter("filename");
+
+    interactionAttachment.setName(StringUtils.hasText(name) ? name : "No Name");
+    interactionAttachment.setHash(hash);
+
+    return interactionAttachment;
+  }
+
   /**
    * Extracts the conversation ID from an email subject line.
    *
@@ -2104,6 +2283,21 @@ public class InteractionServiceImpl extends AbstractServiceBase implements Inter
     return InteractionService;
   }
 
+  private String getMessageSourceReference(Message message) throws MessagingException {
+    String[] messageIds = message.getHeader("Message-ID");
+
+    return ((messageIds != null) && (messageIds.length > 0)) ? messageIds[0] : null;
+  }
+
+  private long getMessageUid(UIDFolder uidFolder, Message message) {
+    try {
+      return uidFolder.getUID(message);
+    } catch (Throwable e) {
+      throw new RuntimeException(
+          "Failed to retrieve the UID for the message (" + message.getMessageNumber() + ")", e);
+    }
+  }
+
   private Store getMicrosoft365ImapStore(InteractionSource interactionSource) {
     boolean debug =
         AttributeUtil.getAttributeValueAsBoolean(
@@ -2304,6 +2498,20 @@ public class InteractionServiceImpl extends AbstractServiceBase implements Inter
     }
   }
 
+  private void moveMailboxMessages(
+      Store store, Folder sourceFolder, Message[] messages, Folder destinationFolder)
+      throws MessagingException {
+    // Use the IMAP MOVE extension (RFC 6851) where supported to avoid a separate COPY and STORE
+    if ((store instanceof IMAPStore imapStore)
+        && (sourceFolder instanceof IMAPFolder imapFolder)
+        && imapStore.hasCapability("MOVE")) {
+      imapFolder.moveMessages(messages, destinationFolder);
+    } else {
+      sourceFolder.copyMessages(messages, destinationFolder);
+      sourceFolder.setFlags(messages, new Flags(Flag.DELETED), true);
+    }
+  }
+
   private int synchronizeMailboxInteractionSource(InteractionSource interactionSource)
       throws ServiceUnavailableException {
     int numberOfNewInteractions = 0;
@@ -2337,111 +2545,147 @@ public class InteractionServiceImpl extends AbstractServiceBase implements Inter
                 + ")");
       }
 
+      boolean archiveEmail =
+          AttributeUtil.getAttributeValueAsBoolean(
+              interactionSource, MailboxInteractionSourceAttributeName.ARCHIVE_MAIL.code());
+
+      boolean deleteEmail =
+          AttributeUtil.getAttributeValueAsBoolean(
+              interactionSource, MailboxInteractionSourceAttributeName.DELETE_MAIL.code());
+
+      boolean incrementalSynchronization =
+          Boolean.TRUE.equals(
+              AttributeUtil.getAttributeValueAsBoolean(
+                  interactionSource,
+                  MailboxInteractionSourceAttributeName.INCREMENTAL_SYNCHRONIZATION.code()));
+
       // Access inbox
       try (Folder inboxFolder = store.getFolder("INBOX")) {
         inboxFolder.open(Folder.READ_WRITE);
 
-        Message[] messages = inboxFolder.getMessages();
-
-        // Process each message
-        for (Message message : messages) {
-          if (MessageUtil.isAutoResponseEmail(message)) {
-            if (log.isDebugEnabled()) {
-              log.debug(
-                  "Skipping auto-response email ("
-                      + message.getSubject()
-                      + ") for the mailbox interaction source ("
-                      + interactionSource.getId()
-                      + ") for the tenant ("
-                      + interactionSource.getTenantId()
-                      + ")");
-            }
-            continue;
+        Message[] messages;
+
+        /*
+         * If incremental synchronization is enabled, only retrieve the messages with a UID greater
+         * than the highest UID previously synchronized, provided the UIDVALIDITY value for the
+         * INBOX has not changed, which would invalidate all previously seen UIDs.
+         */
+        MailboxSynchronizationState synchronizationState = null;
+
+        if (incrementalSynchronization && (inboxFolder instanceof UIDFolder uidFolder)) {
+          long uidValidity = uidFolder.getUIDValidity();
+
+          synchronizationState =
+              mailboxSynchronizationStateRepository
+                  .findById(interactionSource.getId())
+                  .orElseGet(
+                      () ->
+                          new MailboxSynchronizationState(interactionSource.getId(), uidValidity));
+
+          if (synchronizationState.getUidValidity() != uidValidity) {
+            log.info(
+                "The UIDVALIDITY for the INBOX for the mailbox interaction source ("
+                    + interactionSource.getId()
+                    + ") for the tenant ("
+                    + interactionSource.getTenantId()
+                    + ") has changed, performing a full synchronization");
+
+            synchronizationState.reset(uidValidity);
           }
 
-          Interaction interaction = createEmailInteraction(interactionSource, message);
+          long lastUid = synchronizationState.getLastUid();
+
+          /*
+           * NOTE: The range "n:*" always includes the message with the highest UID, even when this
+           *       is lower than n, so messages that have already been synchronized are excluded.
+           */
+          messages =
+              Arrays.stream(uidFolder.getMessagesByUID(lastUid + 1, UIDFolder.MAXUID))
+                  .filter(message -> getMessageUid(uidFolder, message) > lastUid)
+                  .toArray(Message[]::new);
+        } else {
+          messages = inboxFolder.getMessages();
+        }
 
-          Optional<UUID> interactionIdOptional =
-              getInteractionIdBySourceIdAndSourceReference(
-                  interaction.getTenantId(),
-                  interaction.getSourceId(),
-                  interaction.getSourceReference());
+        // Retrieve the envelope, flags and structure for the messages in batches
+        FetchProfile fetchProfile = new FetchProfile();
+        fetchProfile.add(FetchProfile.Item.ENVELOPE);
+        fetchProfile.add(FetchProfile.Item.FLAGS);
+        fetchProfile.add(FetchProfile.Item.CONTENT_INFO);
+        fetchProfile.add(UIDFolder.FetchProfileItem.UID);
+        fetchProfile.add("Message-ID");
+        fetchProfile.add("Auto-Submitted");
+        fetchProfile.add("X-MS-Exchange-Inbox-Rules-Loop");
+
+        Folder archiveFolder = null;
+
+        for (int batchStart = 0;
+            batchStart < messages.length;
+            batchStart += mailboxSynchronizationBatchSize) {
+          Message[] batch =
+              Arrays.copyOfRange(
+                  messages,
+                  batchStart,
+                  Math.min(messages.length, batchStart + mailboxSynchronizationBatchSize));
+
+          inboxFolder.fetch(batch, fetchProfile);
+
+          List<Message> processedMessages = new ArrayList<>();
+
+          for (Message message : batch) {
+            if (MessageUtil.isAutoResponseEmail(message)) {
+              if (log.isDebugEnabled()) {
+                log.debug(
+                    "Skipping auto-response email ("
+                        + message.getSubject()
+                        + ") for the mailbox interaction source ("
+                        + interactionSource.getId()
+                        + ") for the tenant ("
+                        + interactionSource.getTenantId()
+                        + ")");
+              }
+              continue;
+            }
 
-          UUID interactionId;
+            processedMessages.add(message);
+          }
 
-          // Create the interaction if required
-          if (interactionIdOptional.isEmpty()) {
-            interactionId = interaction.getId();
+          numberOfNewInteractions +=
+              synchronizeMailboxMessages(interactionSource, processedMessages);
 
-            getInteractionService().createInteraction(interactionSource.getTenantId(), interaction);
+          if (!processedMessages.isEmpty()) {
+            Message[] processedMessagesArray = processedMessages.toArray(new Message[0]);
 
-            numberOfNewInteractions++;
-          } else {
-            interactionId = interactionIdOptional.get();
-          }
+            // Archive the messages if required
+            if (archiveEmail) {
+              if (archiveFolder == null) {
+                archiveFolder = store.getFolder("Archive");
 
-          for (MimeData interactionAttachmentMimeData :
-              MessageUtil.getMessageAttachments(message, minImageAttachmentSize)) {
-
-            // Create the interaction attachments if required
-            if (!interactionAttachmentExistsWithInteractionIdAndHash(
-                interactionSource.getTenantId(),
-                interactionId,
-                interactionAttachmentMimeData.getHash())) {
-              InteractionAttachment interactionAttachment = new InteractionAttachment();
-
-              interactionAttachment.setId(UuidCreator.getTimeOrderedEpoch());
-              interactionAttachment.setSourceId(interactionSource.getId());
-              interactionAttachment.setTenantId(interactionSource.getTenantId());
-              interactionAttachment.setInteractionId(interactionId);
-
-              try {
-                interactionAttachment.setFileType(
-                    FileType.fromMimeType(
-                        interactionAttachmentMimeData.getMimeType().getBaseType().toLowerCase()));
-              } catch (Throwable ignored) {
-                interactionAttachment.setFileType(FileType.BINARY);
+                if (!archiveFolder.exists()) {
+                  archiveFolder.create(Folder.HOLDS_MESSAGES);
+                }
               }
 
-              interactionAttachment.setName(
-                  StringUtils.hasText(interactionAttachmentMimeData.getName())
-                      ? interactionAttachmentMimeData.getName()
-                      : "No Name");
-              interactionAttachment.setHash(interactionAttachmentMimeData.getHash());
-              interactionAttachment.setData(interactionAttachmentMimeData.getData());
-
-              getInteractionService()
-                  .createInteractionAttachment(
-                      interactionSource.getTenantId(), interactionAttachment);
-
-              // TODO: Publish event
+              moveMailboxMessages(store, inboxFolder, processedMessagesArray, archiveFolder);
+            }
+            // Delete the messages if required
+            else if (deleteEmail) {
+              inboxFolder.setFlags(processedMessagesArray, new Flags(Flag.DELETED), true);
             }
           }
 
-          // Archive the message if required
-          boolean archiveEmail =
-              AttributeUtil.getAttributeValueAsBoolean(
-                  interactionSource, MailboxInteractionSourceAttributeName.ARCHIVE_MAIL.code());
+          // Record the highest UID synchronized so far
+          if (synchronizationState != null) {
+            UIDFolder uidFolder = (UIDFolder) inboxFolder;
 
-          boolean deleteEmail =
-              AttributeUtil.getAttributeValueAsBoolean(
-                  interactionSource, MailboxInteractionSourceAttributeName.DELETE_MAIL.code());
-
-          if (archiveEmail) {
-            try (Folder archiveFolder = store.getFolder("Archive")) {
-              if (!archiveFolder.exists()) {
-                archiveFolder.create(Folder.HOLDS_MESSAGES);
-              }
+            for (Message message : batch) {
+              synchronizationState.setLastUid(
+                  Math.max(synchronizationState.getLastUid(), getMessageUid(uidFolder, message)));
+            }
 
-              archiveFolder.open(Folder.READ_WRITE);
+            synchronizationState.setUpdated(ApplicationClock.offsetNow());
 
-              inboxFolder.copyMessages(new Message[] {message}, archiveFolder);
-              message.setFlag(Flag.DELETED, true);
-            }
-          }
-          // Delete the message if required
-          else if (deleteEmail) {
-            message.setFlag(Flag.DELETED, true);
+            mailboxSynchronizationStateRepository.saveAndFlush(synchronizationState);
           }
         }
 
@@ -2478,4 +2722,92 @@ public class InteractionServiceImpl extends AbstractServiceBase implements Inter
           e);
     }
   }
+
+  private int synchronizeMailboxMessages(
+      InteractionSource interactionSource, List<Message> messages)
+      throws InvalidArgumentException,
+          DuplicateInteractionException,
+          MessagingException,
+          ServiceUnavailableException {
+    if (messages.isEmpty()) {
+      return 0;
+    }
+
+    int numberOfNewInteractions = 0;
+
+    // Retrieve the source references for the existing interactions with a single query
+    Set<String> sourceReferences = new HashSet<>();
+
+    for (Message message : messages) {
+      String sourceReference = getMessageSourceReference(message);
+
+      if (sourceReference != null) {
+        sourceReferences.add(sourceReference);
+      }
+    }
+
+    Set<String> existingSourceReferences = new HashSet<>();
+
+    if (!sourceReferences.isEmpty()) {
+      for (Object[] row :
+          interactionRepository.findIdsByTenantIdAndSourceIdAndSourceReferences(
+              interactionSource.getTenantId(), interactionSource.getId(), sourceReferences)) {
+        existingSourceReferences.add((String) row[0]);
+      }
+    }
+
+    for (Message message : messages) {
+      String sourceReference = getMessageSourceReference(message);
+
+      /*
+       * Skip the messages for existing interactions without ingesting them. The interactions for
+       * the messages are created, with their attachments, in the same transaction, so the
+       * attachments for an existing interaction have already been stored.
+       */
+      if ((sourceReference != null) && existingSourceReferences.contains(sourceReference)) {
+        continue;
+      }
+
+      UUID interactionId = UuidCreator.getTimeOrderedEpoch();
+
+      Set<String> interactionAttachmentHashes = new HashSet<>();
+
+      List<InteractionAttachment> interactionAttachments = new ArrayList<>();
+
+      /*
+       * Ingest the message in a single pass, streaming the data for each attachment to the blob
+       * store, which calculates the hash for the data while it is being stored.
+       */
+      MessageContent messageContent =
+          MessageUtil.ingestMessage(
+              message,
+              minImageAttachmentSize,
+              (mimeType, inputStream) -> {
+                String hash = blobStore.createBlob(inputStream);
+
+                if (interactionAttachmentHashes.add(hash)) {
+                  interactionAttachments.add(
+                      createEmailInteractionAttachment(
+                          interactionSource, interactionId, mimeType, hash));
+                }
+              });
+
+      Interaction interaction =
+          createEmailInteraction(interactionSource, interactionId, message, messageContent);
+
+      getInteractionService().createInteraction(interactionSource.getTenantId(), interaction);
+
+      numberOfNewInteractions++;
+
+      existingSourceReferences.add(interaction.getSourceReference());
+
+      if (!interactionAttachments.isEmpty()) {
+        interactionAttachmentRepository.saveAll(interactionAttachments);
+
+        // TODO: Publish event
+      }
+    }
+
+    return numberOfNewInteractions;
+  }
 }
@@ -45,18 +45,24 @@ public class OperationsReferenceServiceImpl extends AbstractServiceBase
   /** The External Reference Type Repository. */
   private final ExternalReferenceTypeRepository externalReferenceTypeRepository;
 
+  /** The Validation Plan Cache. */
+  private final ValidationPlanCache validationPlanCache;
+
   /**
    * Constructs a new {@code OperationsReferenceServiceImpl}.
    *
    * @param applicationContext the Spring {@link ApplicationContext}
    * @param externalReferenceTypeRepository the External Reference Type Repository
+   * @param validationPlanCache the Validation Plan Cache
    */
   public OperationsReferenceServiceImpl(
       ApplicationContext applicationContext,
-      ExternalReferenceTypeRepository externalReferenceTypeRepository) {
+      ExternalReferenceTypeRepository externalReferenceTypeRepository,
+      ValidationPlanCache validationPlanCache) {
     super(applicationContext);
 
     this.externalReferenceTypeRepository = externalReferenceTypeRepository;
+    this.validationPlanCache = validationPlanCache;
   }
 
   @Override
@@ -73,6 +79,8 @@ public class OperationsReferenceServiceImpl extends AbstractServiceBase
       }
 
       externalReferenceTypeRepository.save(externalReferenceType);
+
+      validationPlanCache.evictExternalReferenceTypes();
     } catch (DuplicateExternalReferenceTypeException e) {
       throw e;
     } catch (Throwable e) {
@@ -98,6 +106,8 @@ public class OperationsReferenceServiceImpl extends AbstractServiceBase
       }
 
       externalReferenceTypeRepository.deleteById(externalReferenceTypeCode);
+
+      validationPlanCache.evictExternalReferenceTypes();
     } catch (ExternalReferenceTypeNotFoundException e) {
       throw e;
     } catch (Throwable e) {
@@ -173,6 +183,8 @@ public class OperationsReferenceServiceImpl extends AbstractServiceBase
       }
 
       externalReferenceTypeRepository.save(externalReferenceType);
+
+      validationPlanCache.evictExternalReferenceTypes();
     } catch (ExternalReferenceTypeNotFoundException e) {
       throw e;
     } catch (Throwable e) {
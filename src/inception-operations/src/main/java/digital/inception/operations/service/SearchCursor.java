@@ -0,0 +1,224 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package digital.inception.operations.service;
+
+import digital.inception.core.exception.InvalidArgumentException;
+import digital.inception.core.model.CodeEnum;
+import digital.inception.core.sorting.SortDirection;
+import digital.inception.core.util.CursorUtil;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * The {@code SearchCursor} class holds the position in the results of a search after which the
+ * next page of results should be retrieved, and is exchanged with clients as an opaque cursor.
+ *
+ * <p>A keyset cursor holds the value of the sort property and the ID of the last object returned,
+ * which allows the next page to be retrieved by seeking past this (sort value, ID) pair using an
+ * index range scan rather than by skipping the preceding rows. Searches sorted by an optional
+ * property, whose values may be {@code null}, use an offset cursor that holds the offset of the
+ * next page instead.
+ *
+ * @author Marcus Portmann
+ */
+final class SearchCursor {
+
+  private static final String KEYSET_CURSOR = "k";
+
+  private static final String OFFSET_CURSOR = "o";
+
+  private final UUID id;
+
+  private final int offset;
+
+  private final String sortBy;
+
+  private final SortDirection sortDirection;
+
+  private final String sortValue;
+
+  private SearchCursor(
+      String sortBy, SortDirection sortDirection, String sortValue, UUID id, int offset) {
+    this.sortBy = sortBy;
+    this.sortDirection = sortDirection;
+    this.sortValue = sortValue;
+    this.id = id;
+    this.offset = offset;
+  }
+
+  /**
+   * Decode the opaque cursor for a search.
+   *
+   * @param parameter the name of the parameter the cursor was provided as
+   * @param cursor the opaque cursor
+   * @param sortBy the method used to sort the results of the search
+   * @param sortDirection the sort direction applied to the results of the search
+   * @return the search cursor
+   * @throws InvalidArgumentException if the cursor is invalid or was not issued for the same sort
+   *     method and sort direction
+   */
+  static SearchCursor decode(
+      String parameter, String cursor, CodeEnum sortBy, SortDirection sortDirection)
+      throws InvalidArgumentException {
+    SearchCursor searchCursor = null;
+
+    try {
+      String[] parts = CursorUtil.decode(cursor, 5);
+
+      if (KEYSET_CURSOR.equals(parts[0]) && (parts.length == 5)) {
+        searchCursor =
+            new SearchCursor(
+                parts[1],
+                CodeEnum.fromCode(SortDirection.class, parts[2]),
+                parts[4],
+                UUID.fromString(parts[3]),
+                0);
+      } else if (OFFSET_CURSOR.equals(parts[0]) && (parts.length == 4)) {
+        searchCursor =
+            new SearchCursor(
+                parts[1],
+                CodeEnum.fromCode(SortDirection.class, parts[2]),
+                null,
+                null,
+                Math.max(0, Integer.parseInt(parts[3])));
+      }
+    } catch (IllegalArgumentException ignored) {
+      // The cursor is not valid Base64 or contains an invalid sort direction, ID or offset
+    }
+
+    if (searchCursor == null) {
+      throw new InvalidArgumentException(parameter, "The cursor is invalid");
+    }
+
+    if ((!Objects.equals(searchCursor.sortBy, sortBy.code()))
+        || (searchCursor.sortDirection != sortDirection)) {
+      throw new InvalidArgumentException(
+          parameter, "The cursor was not issued for the same sort method and sort direction");
+    }
+
+    return searchCursor;
+  }
+
+  /**
+   * Returns a keyset cursor identifying the position after the last object returned.
+   *
+   * @param sortBy the method used to sort the results of the search
+   * @param sortDirection the sort direction applied to the results of the search
+   * @param sortValue the value of the sort property for the last object returned
+   * @param id the ID for the last object returned
+   * @return the keyset cursor
+   */
+  static SearchCursor keyset(
+      CodeEnum sortBy, SortDirection sortDirection, Object sortValue, UUID id) {
+    return new SearchCursor(sortBy.code(), sortDirection, String.valueOf(sortValue), id, 0);
+  }
+
+  /**
+   * Returns an offset cursor identifying the position of the next page of results.
+   *
+   * @param sortBy the method used to sort the results of the search
+   * @param sortDirection the sort direction applied to the results of the search
+   * @param offset the offset of the next page of results
+   * @return the offset cursor
+   */
+  static SearchCursor offset(CodeEnum sortBy, SortDirection sortDirection, int offset) {
+    return new SearchCursor(sortBy.code(), sortDirection, null, null, offset);
+  }
+
+  /**
+   * Encode the search cursor as an opaque cursor.
+   *
+   * @return the opaque cursor
+   */
+  String encode() {
+    return isKeyset()
+        ? CursorUtil.encode(KEYSET_CURSOR, sortBy, sortDirection.code(), id.toString(), sortValue)
+        : CursorUtil.encode(OFFSET_CURSOR, sortBy, sortDirection.code(), Integer.toString(offset));
+  }
+
+  /**
+   * Returns the ID for the last object returned for a keyset cursor.
+   *
+   * @return the ID for the last object returned for a keyset cursor or {@code null} for an offset
+   *     cursor
+   */
+  UUID getId() {
+    return id;
+  }
+
+  /**
+   * Returns the predicate that seeks past the (sort value, ID) pair held by the keyset cursor, e.g.
+   * for an ascending sort: {@code sort > :value OR (sort = :value AND id > :id)}.
+   *
+   * @param criteriaBuilder the criteria builder
+   * @param sortExpression the expression for the sort property
+   * @param sortValue the typed value of the sort property held by the keyset cursor
+   * @param idExpression the expression for the ID
+   * @param <Y> the type of the sort property
+   * @return the predicate that seeks past the (sort value, ID) pair held by the keyset cursor
+   */
+  <Y extends Comparable<? super Y>> Predicate getKeysetPredicate(
+      CriteriaBuilder criteriaBuilder,
+      Expression<? extends Y> sortExpression,
+      Y sortValue,
+      Expression<UUID> idExpression) {
+    if (sortDirection == SortDirection.ASCENDING) {
+      return criteriaBuilder.or(
+          criteriaBuilder.greaterThan(sortExpression, sortValue),
+          criteriaBuilder.and(
+              criteriaBuilder.equal(sortExpression, sortValue),
+              criteriaBuilder.greaterThan(idExpression, id)));
+    } else {
+      return criteriaBuilder.or(
+          criteriaBuilder.lessThan(sortExpression, sortValue),
+          criteriaBuilder.and(
+              criteriaBuilder.equal(sortExpression, sortValue),
+              criteriaBuilder.lessThan(idExpression, id)));
+    }
+  }
+
+  /**
+   * Returns the offset of the next page of results for an offset cursor.
+   *
+   * @return the offset of the next page of results for an offset cursor
+   */
+  int getOffset() {
+    return offset;
+  }
+
+  /**
+   * Returns the value of the sort property for the last object returned for a keyset cursor.
+   *
+   * @return the value of the sort property for the last object returned for a keyset cursor or
+   *     {@code null} for an offset cursor
+   */
+  String getSortValue() {
+    return sortValue;
+  }
+
+  /**
+   * Returns whether this is a keyset cursor.
+   *
+   * @return {@code true} if this is a keyset cursor or {@code false} if this is an offset cursor
+   */
+  boolean isKeyset() {
+    return id != null;
+  }
+}
@@ -0,0 +1,236 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package digital.inception.operations.service;
+
+import digital.inception.core.exception.InvalidArgumentException;
+import digital.inception.core.exception.ServiceUnavailableException;
+import digital.inception.operations.model.DocumentDefinition;
+import digital.inception.operations.model.ExternalReferenceType;
+import digital.inception.operations.model.WorkflowDefinition;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * The {@code ValidationPlanCache} class provides an in-memory cache, local to this JVM, of the
+ * validation plans compiled from the document definitions, workflow definition versions and
+ * external reference types.
+ *
+ * <p>The validation plans for document definitions are cached by the exact document definition ID
+ * and the validation plans for workflow definitions are cached by the exact workflow definition ID
+ * and version. A cached validation plan is only reused if it was compiled from the definition
+ * being validated, otherwise it is recompiled and replaced, so a plan that is stale, because the
+ * definition was changed on another instance or a concurrent lookup repopulated the cache after an
+ * eviction, is never used. The validation plan for the external reference types is checked
+ * against the current external reference types in the same way. Evicting the validation plans when
+ * the associated definitions or external reference types are updated or deleted only releases the
+ * memory they hold.
+ *
+ * @author Marcus Portmann
+ */
+@Component
+@SuppressWarnings("unused")
+public class ValidationPlanCache {
+
+  /** The Spring application context. */
+  private final ApplicationContext applicationContext;
+
+  /** The cached validation plans for the attributes for the document definitions. */
+  private final Map<String, AttributeValidationPlan> documentAttributeValidationPlans =
+      new ConcurrentHashMap<>();
+
+  /** The cached validation plans for the attributes for the workflow definition versions. */
+  private final Map<WorkflowDefinitionVersionKey, AttributeValidationPlan>
+      workflowAttributeValidationPlans = new ConcurrentHashMap<>();
+
+  /** The cached validation plans for the variables for the workflow definition versions. */
+  private final Map<WorkflowDefinitionVersionKey, AttributeValidationPlan>
+      workflowVariableValidationPlans = new ConcurrentHashMap<>();
+
+  /** The cached validation plan for the external reference types. */
+  private volatile ExternalReferenceTypeValidationPlan externalReferenceTypeValidationPlan;
+
+  /** The Operations Reference Service. */
+  private OperationsReferenceService operationsReferenceService;
+
+  /**
+   * Constructs a new {@code ValidationPlanCache}.
+   *
+   * @param applicationContext the Spring {@link ApplicationContext}
+   */
+  public ValidationPlanCache(ApplicationContext applicationContext) {
+    this.applicationContext = applicationContext;
+  }
+
+  /**
+   * Evict the cached validation plans for the document definition.
+   *
+   * @param documentDefinitionId the ID for the document definition
+   */
+  public void evictDocumentDefinition(String documentDefinitionId) {
+    documentAttributeValidationPlans.remove(documentDefinitionId);
+  }
+
+  /** Evict the cached validation plan for the external reference types. */
+  public void evictExternalReferenceTypes() {
+    externalReferenceTypeValidationPlan = null;
+  }
+
+  /**
+   * Evict the cached validation plans for all versions of the workflow definition.
+   *
+   * @param workflowDefinitionId the ID for the workflow definition
+   */
+  public void evictWorkflowDefinition(String workflowDefinitionId) {
+    workflowAttributeValidationPlans
+        .keySet()
+        .removeIf(key -> key.id().equals(workflowDefinitionId));
+    workflowVariableValidationPlans
+        .keySet()
+        .removeIf(key -> key.id().equals(workflowDefinitionId));
+  }
+
+  /**
+   * Evict the cached validation plans for the workflow definition version.
+   *
+   * @param workflowDefinitionId the ID for the workflow definition
+   * @param workflowDefinitionVersion the version of the workflow definition
+   */
+  public void evictWorkflowDefinition(String workflowDefinitionId, int workflowDefinitionVersion) {
+    WorkflowDefinitionVersionKey key =
+        new WorkflowDefinitionVersionKey(workflowDefinitionId, workflowDefinitionVersion);
+
+    workflowAttributeValidationPlans.remove(key);
+    workflowVariableValidationPlans.remove(key);
+  }
+
+  /**
+   * Returns the validation plan for the attributes for the document definition.
+   *
+   * @param documentDefinition the document definition
+   * @return the validation plan for the attributes for the document definition
+   */
+  AttributeValidationPlan getDocumentAttributeValidationPlan(
+      DocumentDefinition documentDefinition) {
+    AttributeValidationPlan validationPlan =
+        documentAttributeValidationPlans.get(documentDefinition.getId());
+
+    if ((validationPlan == null)
+        || (!validationPlan.isCompiledFromDocumentAttributes(documentDefinition))) {
+      validationPlan = AttributeValidationPlan.forDocumentAttributes(documentDefinition);
+
+      documentAttributeValidationPlans.put(documentDefinition.getId(), validationPlan);
+    }
+
+    return validationPlan;
+  }
+
+  /**
+   * Returns the validation plan for the external reference types.
+   *
+   * @return the validation plan for the external reference types
+   * @throws InvalidArgumentException if an argument is invalid
+   * @throws ServiceUnavailableException if the external reference types could not be retrieved
+   */
+  ExternalReferenceTypeValidationPlan getExternalReferenceTypeValidationPlan()
+      throws InvalidArgumentException, ServiceUnavailableException {
+    List<ExternalReferenceType> externalReferenceTypes =
+        getOperationsReferenceService().getExternalReferenceTypes();
+
+    ExternalReferenceTypeValidationPlan validationPlan = externalReferenceTypeValidationPlan;
+
+    if ((validationPlan == null) || (!validationPlan.isCompiledFrom(externalReferenceTypes))) {
+      validationPlan = new ExternalReferenceTypeValidationPlan(externalReferenceTypes);
+
+      externalReferenceTypeValidationPlan = validationPlan;
+    }
+
+    return validationPlan;
+  }
+
+  /**
+   * Returns the validation plan for the attributes for the workflow definition version.
+   *
+   * @param workflowDefinition the workflow definition version
+   * @return the validation plan for the attributes for the workflow definition version
+   */
+  AttributeValidationPlan getWorkflowAttributeValidationPlan(
+      WorkflowDefinition workflowDefinition) {
+    WorkflowDefinitionVersionKey key =
+        new WorkflowDefinitionVersionKey(
+            workflowDefinition.getId(), workflowDefinition.getVersion());
+
+    AttributeValidationPlan validationPlan = workflowAttributeValidationPlans.get(key);
+
+    if ((validationPlan == null)
+        || (!validationPlan.isCompiledFromWorkflowAttributes(workflowDefinition))) {
+      validationPlan = AttributeValidationPlan.forWorkflowAttributes(workflowDefinition);
+
+      workflowAttributeValidationPlans.put(key, validationPlan);
+    }
+
+    return validationPlan;
+  }
+
+  /**
+   * Returns the validation plan for the variables for the workflow definition version.
+   *
+   * @param workflowDefinition the workflow definition version
+   * @return the validation plan for the variables for the workflow definition version
+   */
+  AttributeValidationPlan getWorkflowVariableValidationPlan(
+      WorkflowDefinition workflowDefinition) {
+    WorkflowDefinitionVersionKey key =
+        new WorkflowDefinitionVersionKey(
+            workflowDefinition.getId(), workflowDefinition.getVersion());
+
+    AttributeValidationPlan validationPlan = workflowVariableValidationPlans.get(key);
+
+    if ((validationPlan == null)
+        || (!validationPlan.isCompiledFromWorkflowVariables(workflowDefinition))) {
+      validationPlan = AttributeValidationPlan.forWorkflowVariables(workflowDefinition);
+
+      workflowVariableValidationPlans.put(key, validationPlan);
+    }
+
+    return validationPlan;
+  }
+
+  /**
+   * Returns the lazily evaluated Operations Reference Service to avoid circular references.
+   *
+   * @return the lazily evaluated Operations Reference Service to avoid circular references.
+   */
+  private OperationsReferenceService getOperationsReferenceService() {
+    if (operationsReferenceService == null) {
+      operationsReferenceService = applicationContext.getBean(OperationsReferenceService.class);
+    }
+
+    return operationsReferenceService;
+  }
+
+  /**
+   * The {@code WorkflowDefinitionVersionKey} record holds the exact, case-sensitive ID and version
+   * of a workflow definition version that validation plans are cached by.
+   *
+   * @param id the ID for the workflow definition
+   * @param version the version of the workflow definition
+   */
+  private record WorkflowDefinitionVersionKey(String id, int version) {}
+}
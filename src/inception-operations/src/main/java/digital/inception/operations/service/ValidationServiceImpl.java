@@ -21,23 +21,14 @@ import digital.inception.core.exception.ServiceUnavailableException;
 import digital.inception.core.service.AbstractServiceBase;
 import digital.inception.core.validation.ValidationSchemaType;
 import digital.inception.operations.model.DocumentAttribute;
-import digital.inception.operations.model.DocumentAttributeDefinition;
 import digital.inception.operations.model.DocumentDefinition;
 import digital.inception.operations.model.ExternalReference;
-import digital.inception.operations.model.ExternalReferenceType;
 import digital.inception.operations.model.ObjectType;
 import digital.inception.operations.model.WorkflowAttribute;
-import digital.inception.operations.model.WorkflowAttributeDefinition;
 import digital.inception.operations.model.WorkflowDefinition;
 import digital.inception.operations.model.WorkflowVariable;
-import digital.inception.operations.model.WorkflowVariableDefinition;
 import java.util.List;
-import java.util.Objects;
-import java.util.Optional;
-import java.util.Set;
 import java.util.UUID;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 import org.springframework.context.ApplicationContext;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
@@ -50,12 +41,12 @@ import org.springframework.util.StringUtils;
 @Service
 public class ValidationServiceImpl extends AbstractServiceBase implements ValidationService {
 
+  /** The Validation Plan Cache. */
+  private final ValidationPlanCache validationPlanCache;
+
   /** The Document Service. */
   private DocumentService documentService;
 
-  /** The Operations Reference Service. */
-  private OperationsReferenceService operationsReferenceService;
-
   /** The Workflow Service. */
   private WorkflowService workflowService;
 
@@ -63,9 +54,13 @@ public class ValidationServiceImpl extends AbstractServiceBase implements Valida
    * Constructs a new {@code ValidationServiceImpl}.
    *
    * @param applicationContext the Spring {@link ApplicationContext}
+   * @param validationPlanCache the Validation Plan Cache
    */
-  public ValidationServiceImpl(ApplicationContext applicationContext) {
+  public ValidationServiceImpl(
+      ApplicationContext applicationContext, ValidationPlanCache validationPlanCache) {
     super(applicationContext);
+
+    this.validationPlanCache = validationPlanCache;
   }
 
   @Override
@@ -81,29 +76,9 @@ public class ValidationServiceImpl extends AbstractServiceBase implements Valida
     }
 
     try {
-      // Find the attribute definition by code
-      DocumentAttributeDefinition documentAttributeDefinition =
-          documentDefinition.getAttributeDefinitions().stream()
-              .filter(attributeDefinition -> attributeName.equals(attributeDefinition.getName()))
-              .findFirst()
-              .orElse(null);
-
-      // If no matching attribute definition, it's not valid
-      if (documentAttributeDefinition == null) {
-        return false;
-      }
-
-      // If no pattern is defined, existence is sufficient for validity
-      String pattern = documentAttributeDefinition.getPattern();
-      if (!StringUtils.hasText(pattern)) {
-        return true;
-      }
-
-      // Validate the value against the regex pattern (full match)
-      if (!StringUtils.hasText(attributeValue)) {
-        return false;
-      }
-      return Pattern.compile(pattern).matcher(attributeValue).matches();
+      return validationPlanCache
+          .getDocumentAttributeValidationPlan(documentDefinition)
+          .isValid(attributeName, attributeValue);
     } catch (Throwable e) {
       throw new ServiceUnavailableException(
           "Failed to validate the document attribute ("
@@ -124,14 +99,9 @@ public class ValidationServiceImpl extends AbstractServiceBase implements Valida
     }
 
     try {
-      return getOperationsReferenceService().getExternalReferenceTypes().stream()
-          .anyMatch(
-              externalReferenceType ->
-                  (externalReferenceType.getTenantId() == null
-                          || Objects.equals(externalReferenceType.getTenantId(), tenantId))
-                      && (externalReferenceType.getObjectType() == null
-                          || externalReferenceType.getObjectType() == objectType)
-                      && externalReferenceType.getCode().equals(externalReferenceTypeCode));
+      return validationPlanCache
+          .getExternalReferenceTypeValidationPlan()
+          .isValid(tenantId, objectType, externalReferenceTypeCode, true);
     } catch (Throwable e) {
       throw new ServiceUnavailableException(
           "Failed to validate the external reference type ("
@@ -156,29 +126,9 @@ public class ValidationServiceImpl extends AbstractServiceBase implements Valida
     }
 
     try {
-      // Find the attribute definition by code
-      WorkflowAttributeDefinition workflowAttributeDefinition =
-          workflowDefinition.getAttributeDefinitions().stream()
-              .filter(attributeDefinition -> attributeName.equals(attributeDefinition.getName()))
-              .findFirst()
-              .orElse(null);
-
-      // If no matching attribute definition, it's not valid
-      if (workflowAttributeDefinition == null) {
-        return false;
-      }
-
-      // If no pattern is defined, existence is sufficient for validity
-      String pattern = workflowAttributeDefinition.getPattern();
-      if (!StringUtils.hasText(pattern)) {
-        return true;
-      }
-
-      // Validate the value against the regex pattern (full match)
-      if (!StringUtils.hasText(attributeValue)) {
-        return false;
-      }
-      return Pattern.compile(pattern).matcher(attributeValue).matches();
+      return validationPlanCache
+          .getWorkflowAttributeValidationPlan(workflowDefinition)
+          .isValid(attributeName, attributeValue);
     } catch (Throwable e) {
       throw new ServiceUnavailableException(
           "Failed to validate the workflow attribute ("
@@ -201,9 +151,22 @@ public class ValidationServiceImpl extends AbstractServiceBase implements Valida
       return;
     }
 
+    AttributeValidationPlan attributeValidationPlan;
+
+    try {
+      attributeValidationPlan =
+          validationPlanCache.getDocumentAttributeValidationPlan(documentDefinition);
+    } catch (Throwable e) {
+      throw new ServiceUnavailableException(
+          "Failed to validate the allowed document attributes for the document definition ("
+              + documentDefinition.getId()
+              + ")",
+          e);
+    }
+
     for (DocumentAttribute documentAttribute : documentAttributes) {
-      if (!isValidDocumentAttribute(
-          documentDefinition, documentAttribute.getName(), documentAttribute.getValue())) {
+      if (!attributeValidationPlan.isValid(
+          documentAttribute.getName(), documentAttribute.getValue())) {
         throw new InvalidArgumentException(
             parameter, "the document attribute (" + documentAttribute.getName() + ") is invalid");
       }
@@ -221,9 +184,24 @@ public class ValidationServiceImpl extends AbstractServiceBase implements Valida
       return;
     }
 
+    AttributeValidationPlan attributeValidationPlan;
+
+    try {
+      attributeValidationPlan =
+          validationPlanCache.getWorkflowAttributeValidationPlan(workflowDefinition);
+    } catch (Throwable e) {
+      throw new ServiceUnavailableException(
+          "Failed to validate the allowed workflow attributes for the workflow definition ("
+              + workflowDefinition.getId()
+              + ") version ("
+              + workflowDefinition.getVersion()
+              + ")",
+          e);
+    }
+
     for (WorkflowAttribute workflowAttribute : workflowAttributes) {
-      if (!isValidWorkflowAttribute(
-          workflowDefinition, workflowAttribute.getName(), workflowAttribute.getValue())) {
+      if (!attributeValidationPlan.isValid(
+          workflowAttribute.getName(), workflowAttribute.getValue())) {
         throw new InvalidArgumentException(
             parameter, "the workflow attribute (" + workflowAttribute.getName() + ") is invalid");
       }
@@ -242,31 +220,15 @@ public class ValidationServiceImpl extends AbstractServiceBase implements Valida
     }
 
     try {
-      if (workflowDefinition.getVariableDefinitions().isEmpty()) {
-        throw new InvalidArgumentException(
-            parameter,
-            "the workflow variable (" + workflowVariables.getFirst().getName() + ") is invalid");
-      }
+      AttributeValidationPlan variableValidationPlan =
+          validationPlanCache.getWorkflowVariableValidationPlan(workflowDefinition);
 
-      // Create a Set of valid variable names for O(1) lookup
-      Set<String> validVariableNames =
-          workflowDefinition.getVariableDefinitions().stream()
-              .map(WorkflowVariableDefinition::getName)
-              .map(String::toLowerCase)
-              .collect(Collectors.toSet());
-
-      // Find the first invalid variable using Stream API
-      Optional<String> invalidVariableName =
-          workflowVariables.stream()
-              .map(WorkflowVariable::getName)
-              .filter(name -> !validVariableNames.contains(name.toLowerCase()))
-              .findFirst();
-
-      if (invalidVariableName.isPresent()) {
-        throw new InvalidArgumentException(
-            parameter, "the workflow variable (" + invalidVariableName.get() + ") is invalid");
+      for (WorkflowVariable workflowVariable : workflowVariables) {
+        if (!variableValidationPlan.isDefined(workflowVariable.getName())) {
+          throw new InvalidArgumentException(
+              parameter, "the workflow variable (" + workflowVariable.getName() + ") is invalid");
+        }
       }
-
     } catch (InvalidArgumentException e) {
       throw e;
     } catch (Throwable e) {
@@ -292,34 +254,25 @@ public class ValidationServiceImpl extends AbstractServiceBase implements Valida
       return;
     }
 
+    if (tenantId == null) {
+      throw new InvalidArgumentException("tenantId");
+    }
+
     try {
-      List<ExternalReferenceType> externalReferenceTypes =
-          getOperationsReferenceService().getExternalReferenceTypes(tenantId);
-
-      // Create a Set of valid reference type codes for O(1) lookup instead of O(n) nested loops
-      Set<String> validReferenceCodes =
-          externalReferenceTypes.stream()
-              .filter(
-                  type -> ((type.getObjectType() == null) || (objectType == type.getObjectType())))
-              .map(ExternalReferenceType::getCode)
-              .map(String::toLowerCase) // Normalize for case-insensitive comparison
-              .collect(Collectors.toSet());
-
-      // Find the first invalid external reference using Stream API
-      Optional<String> invalidReferenceType =
-          externalReferences.stream()
-              .map(ExternalReference::getType)
-              .filter(type -> !validReferenceCodes.contains(type.toLowerCase()))
-              .findFirst();
-
-      if (invalidReferenceType.isPresent()) {
-        throw new InvalidArgumentException(
-            parameter,
-            "the external reference type ("
-                + invalidReferenceType.get()
-                + ") is invalid for the object type ("
-                + objectType
-                + ")");
+      ExternalReferenceTypeValidationPlan externalReferenceTypeValidationPlan =
+          validationPlanCache.getExternalReferenceTypeValidationPlan();
+
+      for (ExternalReference externalReference : externalReferences) {
+        if (!externalReferenceTypeValidationPlan.isValid(
+            tenantId, objectType, externalReference.getType(), false)) {
+          throw new InvalidArgumentException(
+              parameter,
+              "the external reference type ("
+                  + externalReference.getType()
+                  + ") is invalid for the object type ("
+                  + objectType
+                  + ")");
+        }
       }
     } catch (InvalidArgumentException e) {
       throw e;
@@ -341,27 +294,14 @@ public class ValidationServiceImpl extends AbstractServiceBase implements Valida
       List<DocumentAttribute> documentAttributes)
       throws InvalidArgumentException, ServiceUnavailableException {
     try {
-      List<DocumentAttributeDefinition> requiredDocumentAttributeDefinitions =
-          documentDefinition.getAttributeDefinitions().stream()
-              .filter(DocumentAttributeDefinition::isRequired)
-              .toList();
-
-      // Early exit if no required document attribute definitions exist
-      if (requiredDocumentAttributeDefinitions.isEmpty()) {
-        return;
-      }
-
-      // Create a Set for O(1) lookup performance instead of O(n) stream operations
-      Set<String> providedDocumentAttributeNames =
-          documentAttributes.stream().map(DocumentAttribute::getName).collect(Collectors.toSet());
+      AttributeValidationPlan attributeValidationPlan =
+          validationPlanCache.getDocumentAttributeValidationPlan(documentDefinition);
 
-      // Filter and validate in a single pass
       String missingDocumentAttributeName =
-          requiredDocumentAttributeDefinitions.stream()
-              .map(DocumentAttributeDefinition::getName)
-              .filter(name -> providedDocumentAttributeNames.stream().noneMatch(name::equals))
-              .findFirst()
-              .orElse(null);
+          attributeValidationPlan.getMissingRequiredName(
+              (documentAttributes != null)
+                  ? documentAttributes.stream().map(DocumentAttribute::getName).toList()
+                  : null);
 
       if (missingDocumentAttributeName != null) {
         throw new InvalidArgumentException(
@@ -385,27 +325,14 @@ public class ValidationServiceImpl extends AbstractServiceBase implements Valida
       List<WorkflowAttribute> workflowAttributes)
       throws InvalidArgumentException, ServiceUnavailableException {
     try {
-      List<WorkflowAttributeDefinition> requiredWorkflowAttributeDefinitions =
-          workflowDefinition.getAttributeDefinitions().stream()
-              .filter(WorkflowAttributeDefinition::isRequired)
-              .toList();
-
-      // Early exit if no required workflow attribute definitions exist
-      if (requiredWorkflowAttributeDefinitions.isEmpty()) {
-        return;
-      }
-
-      // Create a Set for O(1) lookup performance instead of O(n) stream operations
-      Set<String> providedWorkflowAttributeNames =
-          workflowAttributes.stream().map(WorkflowAttribute::getName).collect(Collectors.toSet());
+      AttributeValidationPlan attributeValidationPlan =
+          validationPlanCache.getWorkflowAttributeValidationPlan(workflowDefinition);
 
-      // Filter and validate in a single pass
       String missingWorkflowAttributeName =
-          requiredWorkflowAttributeDefinitions.stream()
-              .map(WorkflowAttributeDefinition::getName)
-              .filter(name -> providedWorkflowAttributeNames.stream().noneMatch(name::equals))
-              .findFirst()
-              .orElse(null);
+          attributeValidationPlan.getMissingRequiredName(
+              (workflowAttributes != null)
+                  ? workflowAttributes.stream().map(WorkflowAttribute::getName).toList()
+                  : null);
 
       if (missingWorkflowAttributeName != null) {
         throw new InvalidArgumentException(
@@ -431,29 +358,19 @@ public class ValidationServiceImpl extends AbstractServiceBase implements Valida
       List<WorkflowVariable> workflowVariables)
       throws InvalidArgumentException, ServiceUnavailableException {
     try {
-      if (!workflowDefinition.getVariableDefinitions().isEmpty()) {
-        // Create a Set of provided variable names for O(1) lookup
-        Set<String> providedVariableNames =
-            workflowVariables.stream()
-                .map(WorkflowVariable::getName)
-                .map(String::toLowerCase)
-                .collect(Collectors.toSet());
-
-        // Find the first missing required variable
-        Optional<String> missingRequiredVariable =
-            workflowDefinition.getVariableDefinitions().stream()
-                .filter(WorkflowVariableDefinition::isRequired)
-                .map(WorkflowVariableDefinition::getName)
-                .filter(name -> !providedVariableNames.contains(name.toLowerCase()))
-                .findFirst();
-
-        if (missingRequiredVariable.isPresent()) {
-          throw new InvalidArgumentException(
-              parameter,
-              "the workflow variable (" + missingRequiredVariable.get() + ") is required");
-        }
-      }
+      AttributeValidationPlan variableValidationPlan =
+          validationPlanCache.getWorkflowVariableValidationPlan(workflowDefinition);
 
+      String missingWorkflowVariableName =
+          variableValidationPlan.getMissingRequiredName(
+              (workflowVariables != null)
+                  ? workflowVariables.stream().map(WorkflowVariable::getName).toList()
+                  : null);
+
+      if (missingWorkflowVariableName != null) {
+        throw new InvalidArgumentException(
+            parameter, "the workflow variable (" + missingWorkflowVariableName + ") is required");
+      }
     } catch (InvalidArgumentException e) {
       throw e;
     } catch (Throwable e) {
@@ -487,20 +404,6 @@ public class ValidationServiceImpl extends AbstractServiceBase implements Valida
     return documentService;
   }
 
-  /**
-   * Returns the lazily evaluated Operations Reference Service to avoid circular references.
-   *
-   * @return the lazily evaluated Operations Reference Service to avoid circular references.
-   */
-  private OperationsReferenceService getOperationsReferenceService() {
-    if (operationsReferenceService == null) {
-      operationsReferenceService =
-          getApplicationContext().getBean(OperationsReferenceService.class);
-    }
-
-    return operationsReferenceService;
-  }
-
   /**
    * Returns the lazily evaluated Workflow Service to avoid circular references.
    *
@@ -0,0 +1,185 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package digital.inception.operations.service;
+
+import digital.inception.operations.model.WorkflowRoutingContext;
+import digital.inception.operations.persistence.jpa.WorkflowDocumentRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * The {@code WorkflowRoutingContextCache} class caches the routing contexts for the workflows that
+ * workflow documents are associated with, keyed by workflow document ID, in the {@code
+ * workflowRoutingContexts} cache provided by the application's Spring {@link CacheManager}.
+ *
+ * <p>A routing context is retrieved using a single query, which joins the workflow document, the
+ * workflow and the workflow definition, and is only cached once the workflow has been started with
+ * its workflow engine, after which the workflow, workflow definition version and workflow engine
+ * IDs for a workflow document do not change. The size, expiry and distribution of the cached
+ * routing contexts are governed by the configuration for the cache, e.g. the Hazelcast map
+ * configuration. Routing contexts are evicted when the associated workflow or workflow document is
+ * deleted, once the deleting transaction commits.
+ *
+ * @author Marcus Portmann
+ */
+@Component
+@SuppressWarnings("unused")
+public class WorkflowRoutingContextCache {
+
+  /** The name of the cache for the routing contexts. */
+  public static final String CACHE_NAME = "workflowRoutingContexts";
+
+  /** The provider for the optional cache manager. */
+  private final ObjectProvider<CacheManager> cacheManagerProvider;
+
+  /** The optional meter registry used to export the cache metrics. */
+  private final MeterRegistry meterRegistry;
+
+  /** The Workflow Document Repository. */
+  private final WorkflowDocumentRepository workflowDocumentRepository;
+
+  /**
+   * Constructs a new {@code WorkflowRoutingContextCache}.
+   *
+   * @param workflowDocumentRepository the Workflow Document Repository
+   * @param cacheManagerProvider the provider for the optional cache manager
+   * @param meterRegistryProvider the provider for the optional meter registry used to export the
+   *     cache metrics
+   */
+  public WorkflowRoutingContextCache(
+      WorkflowDocumentRepository workflowDocumentRepository,
+      ObjectProvider<CacheManager> cacheManagerProvider,
+      ObjectProvider<MeterRegistry> meterRegistryProvider) {
+    this.workflowDocumentRepository = workflowDocumentRepository;
+    this.cacheManagerProvider = cacheManagerProvider;
+    this.meterRegistry = meterRegistryProvider.getIfAvailable();
+  }
+
+  /**
+   * Evict the cached routing contexts for the workflow documents associated with the workflow.
+   *
+   * <p>This method must be invoked before the workflow documents are deleted. If a transaction is
+   * active, the routing contexts are evicted after the transaction commits.
+   *
+   * @param tenantId the ID for the tenant
+   * @param workflowId the ID for the workflow
+   */
+  public void evictWorkflow(UUID tenantId, UUID workflowId) {
+    evictAfterCommit(
+        workflowDocumentRepository.findIdsByTenantIdAndWorkflowId(tenantId, workflowId));
+  }
+
+  /**
+   * Evict the cached routing context for the workflow document.
+   *
+   * <p>If a transaction is active, the routing context is evicted after the transaction commits.
+   *
+   * @param workflowDocumentId the ID for the workflow document
+   */
+  public void evictWorkflowDocument(UUID workflowDocumentId) {
+    evictAfterCommit(List.of(workflowDocumentId));
+  }
+
+  /**
+   * Retrieve the routing context for the workflow the workflow document is associated with.
+   *
+   * @param tenantId the ID for the tenant
+   * @param workflowDocumentId the ID for the workflow document
+   * @return an Optional containing the routing context for the workflow the workflow document is
+   *     associated with or an empty Optional if the workflow document could not be found
+   */
+  public Optional<WorkflowRoutingContext> getWorkflowRoutingContext(
+      UUID tenantId, UUID workflowDocumentId) {
+    Cache cache = getCache();
+
+    if (cache != null) {
+      WorkflowRoutingContext workflowRoutingContext =
+          cache.get(workflowDocumentId, WorkflowRoutingContext.class);
+
+      if ((workflowRoutingContext != null)
+          && workflowRoutingContext.getTenantId().equals(tenantId)) {
+        incrementRequestCounter("hit");
+
+        return Optional.of(workflowRoutingContext);
+      }
+    }
+
+    incrementRequestCounter("miss");
+
+    Optional<WorkflowRoutingContext> workflowRoutingContextOptional =
+        workflowDocumentRepository.findWorkflowRoutingContextByTenantIdAndId(
+            tenantId, workflowDocumentId);
+
+    if ((cache != null)
+        && workflowRoutingContextOptional.isPresent()
+        && (workflowRoutingContextOptional.get().getEngineInstanceId() != null)) {
+      cache.put(workflowDocumentId, workflowRoutingContextOptional.get());
+    }
+
+    return workflowRoutingContextOptional;
+  }
+
+  private void evict(List<UUID> workflowDocumentIds) {
+    Cache cache = getCache();
+
+    if (cache != null) {
+      for (UUID workflowDocumentId : workflowDocumentIds) {
+        cache.evict(workflowDocumentId);
+      }
+    }
+  }
+
+  private void evictAfterCommit(List<UUID> workflowDocumentIds) {
+    if (workflowDocumentIds.isEmpty()) {
+      return;
+    }
+
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              evict(workflowDocumentIds);
+            }
+          });
+    } else {
+      evict(workflowDocumentIds);
+    }
+  }
+
+  private Cache getCache() {
+    CacheManager cacheManager = cacheManagerProvider.getIfAvailable();
+
+    return (cacheManager != null) ? cacheManager.getCache(CACHE_NAME) : null;
+  }
+
+  private void incrementRequestCounter(String result) {
+    if (meterRegistry != null) {
+      meterRegistry
+          .counter("inception.operations.workflow-routing-context-cache.requests", "result", result)
+          .increment();
+    }
+  }
+}
@@ -125,6 +125,7 @@ import digital.inception.operations.persistence.jpa.WorkflowInteractionLinkRepos
 import digital.inception.operations.persistence.jpa.WorkflowNoteRepository;
 import digital.inception.operations.persistence.jpa.WorkflowRepository;
 import digital.inception.operations.persistence.jpa.WorkflowStepRepository;
+import digital.inception.operations.util.SearchUtil;
 import jakarta.annotation.PostConstruct;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
@@ -134,6 +135,7 @@ import jakarta.persistence.criteria.CriteriaQuery;
 import jakarta.persistence.criteria.Expression;
 import jakarta.persistence.criteria.Join;
 import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
 import jakarta.persistence.criteria.Subquery;
@@ -145,6 +147,7 @@ import java.util.ArrayList;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -185,6 +188,9 @@ public class WorkflowServiceImpl extends AbstractServiceBase implements Workflow
   /** The Interaction Service. */
   private final InteractionService interactionService;
 
+  /** The Validation Plan Cache. */
+  private final ValidationPlanCache validationPlanCache;
+
   /** The Validation Service. */
   private final ValidationService validationService;
 
@@ -216,6 +222,9 @@ public class WorkflowServiceImpl extends AbstractServiceBase implements Workflow
   /** The Workflow Repository. */
   private final WorkflowRepository workflowRepository;
 
+  /** The Workflow Routing Context Cache. */
+  private final WorkflowRoutingContextCache workflowRoutingContextCache;
+
   /** The Workflow Step Repository. */
   private final WorkflowStepRepository workflowStepRepository;
 
@@ -259,6 +268,8 @@ public class WorkflowServiceImpl extends AbstractServiceBase implements Workflow
    * @param eventService the Event Service
    * @param interactionService the Interaction Service
    * @param validationService the Validation Service
+   * @param workflowRoutingContextCache the Workflow Routing Context Cache
+   * @param validationPlanCache the Validation Plan Cache
    */
   public WorkflowServiceImpl(
       ApplicationContext applicationContext,
@@ -275,7 +286,9 @@ public class WorkflowServiceImpl extends AbstractServiceBase implements Workflow
       DocumentService documentService,
       EventService eventService,
       InteractionService interactionService,
-      ValidationService validationService) {
+      ValidationService validationService,
+      WorkflowRoutingContextCache workflowRoutingContextCache,
+      ValidationPlanCache validationPlanCache) {
     super(applicationContext);
 
     this.workflowDefinitionCategoryRepository = workflowDefinitionCategoryRepository;
@@ -291,6 +304,8 @@ public class WorkflowServiceImpl extends AbstractServiceBase implements Workflow
     this.eventService = eventService;
     this.interactionService = interactionService;
     this.validationService = validationService;
+    this.workflowRoutingContextCache = workflowRoutingContextCache;
+    this.validationPlanCache = validationPlanCache;
 
     try {
       try (Connection connection = applicationDataSource.getConnection()) {
@@ -428,6 +443,9 @@ public class WorkflowServiceImpl extends AbstractServiceBase implements Workflow
       validateWorkflowDefinition(workflowDefinition);
 
       workflowDefinitionRepository.save(workflowDefinition);
+
+      validationPlanCache.evictWorkflowDefinition(
+          workflowDefinition.getId(), workflowDefinition.getVersion());
     } catch (InvalidArgumentException
         | DuplicateWorkflowDefinitionVersionException
         | WorkflowDefinitionCategoryNotFoundException
@@ -574,6 +592,8 @@ public class WorkflowServiceImpl extends AbstractServiceBase implements Workflow
         throw new WorkflowNotFoundException(tenantId, workflowId);
       }
 
+      workflowRoutingContextCache.evictWorkflow(tenantId, workflowId);
+
       workflowRepository.deleteById(workflowId);
     } catch (WorkflowNotFoundException e) {
       throw e;
@@ -610,6 +630,8 @@ public class WorkflowServiceImpl extends AbstractServiceBase implements Workflow
       }
 
       workflowDefinitionRepository.deleteById(workflowDefinitionId);
+
+      validationPlanCache.evictWorkflowDefinition(workflowDefinitionId);
     } catch (WorkflowDefinitionNotFoundException e) {
       throw e;
     } catch (Throwable e) {
@@ -679,6 +701,8 @@ public class WorkflowServiceImpl extends AbstractServiceBase implements Workflow
       }
 
       workflowDefinitionRepository.deleteById(id);
+
+      validationPlanCache.evictWorkflowDefinition(workflowDefinitionId, workflowDefinitionVersion);
     } catch (WorkflowDefinitionVersionNotFoundException e) {
       throw e;
     } catch (Throwable e) {
@@ -730,6 +754,8 @@ public class WorkflowServiceImpl extends AbstractServiceBase implements Workflow
       }
 
       workflowDocumentRepository.deleteById(workflowDocumentId);
+
+      workflowRoutingContextCache.evictWorkflowDocument(workflowDocumentId);
     } catch (WorkflowDocumentNotFoundException e) {
       throw e;
     } catch (Throwable e) {
@@ -2970,13 +2996,55 @@ public class WorkflowServiceImpl extends AbstractServiceBase implements Workflow
 
     validateArgument("searchWorkflowsRequest", searchWorkflowsRequest);
 
+    WorkflowSortBy sortBy =
+        (searchWorkflowsRequest.getSortBy() != null)
+            ? searchWorkflowsRequest.getSortBy()
+            : WorkflowSortBy.INITIATED;
+
+    SortDirection sortDirection =
+        (searchWorkflowsRequest.getSortDirection() != null)
+            ? searchWorkflowsRequest.getSortDirection()
+            : SortDirection.ASCENDING;
+
+    SearchCursor cursor = null;
+    Object keysetSortValue = null;
+
+    if (StringUtils.hasText(searchWorkflowsRequest.getCursor())) {
+      cursor =
+          SearchCursor.decode(
+              "searchWorkflowsRequest.cursor",
+              searchWorkflowsRequest.getCursor(),
+              sortBy,
+              sortDirection);
+
+      if (cursor.isKeyset()) {
+        try {
+          keysetSortValue =
+              switch (sortBy) {
+                case DEFINITION_ID, INITIATED_BY -> cursor.getSortValue();
+                case INITIATED -> OffsetDateTime.parse(cursor.getSortValue());
+                default -> throw new IllegalArgumentException("Unsupported keyset sort method");
+              };
+        } catch (Throwable e) {
+          throw new InvalidArgumentException(
+              "searchWorkflowsRequest.cursor", "The cursor is invalid");
+        }
+      }
+    }
+
     try {
-      // Build Specification
+      /*
+       * Build the Specification.
+       *
+       * NOTE: The related attributes, external references, interaction links and variables are
+       *       matched using a single IN subquery for each type of criteria, rather than a
+       *       correlated EXISTS subquery for each individual criterion, and the attribute and
+       *       variable criteria are matched against the case-folded copies of the names and values
+       *       using indexed equality comparisons. No joins are added to the query so no DISTINCT
+       *       is required.
+       */
       Specification<Workflow> specification =
           (root, query, criteriaBuilder) -> {
-            // Avoid duplicates when joins or subqueries are involved
-            query.distinct(true);
-
             // AND'ed top-level predicates
             List<Predicate> andPredicates = new ArrayList<>();
 
@@ -2989,11 +3057,24 @@ public class WorkflowServiceImpl extends AbstractServiceBase implements Workflow
                   criteriaBuilder.equal(root.get("id"), searchWorkflowsRequest.getId()));
             }
 
+            /*
+             * Resolve the workflow definition IDs matching the workflow definition ID criteria
+             * case-insensitively against the small workflow definitions table, so the
+             * definition_id column for the workflows is compared without applying lower().
+             */
             if (StringUtils.hasText(searchWorkflowsRequest.getDefinitionId())) {
-              andPredicates.add(
-                  criteriaBuilder.equal(
-                      criteriaBuilder.lower(root.get("definitionId")),
-                      searchWorkflowsRequest.getDefinitionId().toLowerCase()));
+              Subquery<String> subQuery = query.subquery(String.class);
+              Root<WorkflowDefinition> workflowDefinitionRoot =
+                  subQuery.from(WorkflowDefinition.class);
+
+              subQuery
+                  .select(workflowDefinitionRoot.get("id"))
+                  .where(
+                      criteriaBuilder.equal(
+                          criteriaBuilder.lower(workflowDefinitionRoot.get("id")),
+                          searchWorkflowsRequest.getDefinitionId().toLowerCase(Locale.ROOT)));
+
+              andPredicates.add(root.get("definitionId").in(subQuery));
             }
 
             if (searchWorkflowsRequest.getStatus() != null) {
@@ -3049,143 +3130,121 @@ public class WorkflowServiceImpl extends AbstractServiceBase implements Workflow
 
             // Interaction ID criteria
             if (searchWorkflowsRequest.getInteractionId() != null) {
-              var subQuery = query.subquery(Integer.class);
-              var workflowInteractionLinkRoot = subQuery.from(WorkflowInteractionLink.class);
-              Predicate subPredicate =
-                  criteriaBuilder.equal(
-                      workflowInteractionLinkRoot.get("workflowId"), root.get("id"));
+              Subquery<UUID> subQuery = query.subquery(UUID.class);
+              Root<WorkflowInteractionLink> workflowInteractionLinkRoot =
+                  subQuery.from(WorkflowInteractionLink.class);
 
-              subPredicate =
-                  criteriaBuilder.and(
-                      subPredicate,
+              subQuery
+                  .select(workflowInteractionLinkRoot.get("workflowId"))
+                  .where(
                       criteriaBuilder.equal(
                           workflowInteractionLinkRoot.get("interactionId"),
                           searchWorkflowsRequest.getInteractionId()));
 
-              subQuery.select(criteriaBuilder.literal(1)).where(subPredicate);
-              andPredicates.add(criteriaBuilder.exists(subQuery));
+              andPredicates.add(root.get("id").in(subQuery));
             }
 
             // Attribute criteria (OR all attribute pairs)
             if (searchWorkflowsRequest.getAttributes() != null
                 && !searchWorkflowsRequest.getAttributes().isEmpty()) {
+              Subquery<UUID> subQuery = query.subquery(UUID.class);
+              Root<WorkflowAttribute> workflowAttributeRoot =
+                  subQuery.from(WorkflowAttribute.class);
+
               List<Predicate> attributePredicates = new ArrayList<>();
 
               for (AttributeSearchCriteria attributeSearchCriteria :
                   searchWorkflowsRequest.getAttributes()) {
                 if (attributeSearchCriteria == null) continue;
 
-                var subQuery = query.subquery(Integer.class);
-                var workflowAttributeRoot = subQuery.from(WorkflowAttribute.class);
-                Predicate subPredicate =
-                    criteriaBuilder.equal(workflowAttributeRoot.get("workflowId"), root.get("id"));
-
-                if (StringUtils.hasText(attributeSearchCriteria.getName())) {
-                  subPredicate =
-                      criteriaBuilder.and(
-                          subPredicate,
-                          criteriaBuilder.equal(
-                              criteriaBuilder.lower(workflowAttributeRoot.get("name")),
-                              attributeSearchCriteria.getName().toLowerCase()));
-                }
-                if (StringUtils.hasText(attributeSearchCriteria.getValue())) {
-                  subPredicate =
-                      criteriaBuilder.and(
-                          subPredicate,
-                          criteriaBuilder.equal(
-                              criteriaBuilder.lower(workflowAttributeRoot.get("value")),
-                              attributeSearchCriteria.getValue().toLowerCase()));
-                }
-
-                subQuery.select(criteriaBuilder.literal(1)).where(subPredicate);
-                attributePredicates.add(criteriaBuilder.exists(subQuery));
+                attributePredicates.add(
+                    getNormalizedNameAndValuePredicate(
+                        criteriaBuilder,
+                        workflowAttributeRoot,
+                        attributeSearchCriteria.getName(),
+                        attributeSearchCriteria.getValue()));
               }
 
               if (!attributePredicates.isEmpty()) {
-                andPredicates.add(
-                    criteriaBuilder.or(attributePredicates.toArray(new Predicate[0])));
+                subQuery
+                    .select(workflowAttributeRoot.get("workflowId"))
+                    .where(criteriaBuilder.or(attributePredicates.toArray(new Predicate[0])));
+
+                andPredicates.add(root.get("id").in(subQuery));
               }
             }
 
             // External reference criteria (OR all external reference pairs)
             if (searchWorkflowsRequest.getExternalReferences() != null
                 && !searchWorkflowsRequest.getExternalReferences().isEmpty()) {
+              Subquery<UUID> subQuery = query.subquery(UUID.class);
+              Root<WorkflowExternalReference> workflowExternalReferenceRoot =
+                  subQuery.from(WorkflowExternalReference.class);
+
               List<Predicate> externalReferencePredicates = new ArrayList<>();
 
               for (ExternalReferenceSearchCriteria externalReferenceSearchCriteria :
                   searchWorkflowsRequest.getExternalReferences()) {
                 if (externalReferenceSearchCriteria == null) continue;
 
-                var subQuery = query.subquery(Integer.class);
-                var workflowExternalReferenceRoot = subQuery.from(WorkflowExternalReference.class);
-                Predicate subPredicate =
-                    criteriaBuilder.equal(
-                        workflowExternalReferenceRoot.get("objectId"), root.get("id"));
+                Predicate externalReferencePredicate = criteriaBuilder.conjunction();
 
                 if (StringUtils.hasText(externalReferenceSearchCriteria.getType())) {
-                  subPredicate =
+                  externalReferencePredicate =
                       criteriaBuilder.and(
-                          subPredicate,
+                          externalReferencePredicate,
                           criteriaBuilder.equal(
                               criteriaBuilder.lower(workflowExternalReferenceRoot.get("type")),
                               externalReferenceSearchCriteria.getType().toLowerCase()));
                 }
                 if (StringUtils.hasText(externalReferenceSearchCriteria.getValue())) {
-                  subPredicate =
+                  externalReferencePredicate =
                       criteriaBuilder.and(
-                          subPredicate,
+                          externalReferencePredicate,
                           criteriaBuilder.equal(
                               criteriaBuilder.lower(workflowExternalReferenceRoot.get("value")),
                               externalReferenceSearchCriteria.getValue().toLowerCase()));
                 }
 
-                subQuery.select(criteriaBuilder.literal(1)).where(subPredicate);
-                externalReferencePredicates.add(criteriaBuilder.exists(subQuery));
+                externalReferencePredicates.add(externalReferencePredicate);
               }
 
               if (!externalReferencePredicates.isEmpty()) {
-                andPredicates.add(
-                    criteriaBuilder.or(externalReferencePredicates.toArray(new Predicate[0])));
+                subQuery
+                    .select(workflowExternalReferenceRoot.get("objectId"))
+                    .where(
+                        criteriaBuilder.or(externalReferencePredicates.toArray(new Predicate[0])));
+
+                andPredicates.add(root.get("id").in(subQuery));
               }
             }
 
             // Variable criteria (OR all variable pairs)
             if (searchWorkflowsRequest.getVariables() != null
                 && !searchWorkflowsRequest.getVariables().isEmpty()) {
+              Subquery<UUID> subQuery = query.subquery(UUID.class);
+              Root<WorkflowVariable> workflowVariableRoot = subQuery.from(WorkflowVariable.class);
+
               List<Predicate> variablePredicates = new ArrayList<>();
 
               for (VariableSearchCriteria variableSearchCriteria :
                   searchWorkflowsRequest.getVariables()) {
                 if (variableSearchCriteria == null) continue;
 
-                var subQuery = query.subquery(Integer.class);
-                var workflowVariableRoot = subQuery.from(WorkflowVariable.class);
-                Predicate subPredicate =
-                    criteriaBuilder.equal(workflowVariableRoot.get("workflowId"), root.get("id"));
-
-                if (StringUtils.hasText(variableSearchCriteria.getName())) {
-                  subPredicate =
-                      criteriaBuilder.and(
-                          subPredicate,
-                          criteriaBuilder.equal(
-                              criteriaBuilder.lower(workflowVariableRoot.get("name")),
-                              variableSearchCriteria.getName().toLowerCase()));
-                }
-                if (StringUtils.hasText(variableSearchCriteria.getValue())) {
-                  subPredicate =
-                      criteriaBuilder.and(
-                          subPredicate,
-                          criteriaBuilder.equal(
-                              criteriaBuilder.lower(workflowVariableRoot.get("value")),
-                              variableSearchCriteria.getValue().toLowerCase()));
-                }
-
-                subQuery.select(criteriaBuilder.literal(1)).where(subPredicate);
-                variablePredicates.add(criteriaBuilder.exists(subQuery));
+                variablePredicates.add(
+                    getNormalizedNameAndValuePredicate(
+                        criteriaBuilder,
+                        workflowVariableRoot,
+                        variableSearchCriteria.getName(),
+                        variableSearchCriteria.getValue()));
               }
 
               if (!variablePredicates.isEmpty()) {
-                andPredicates.add(criteriaBuilder.or(variablePredicates.toArray(new Predicate[0])));
+                subQuery
+                    .select(workflowVariableRoot.get("workflowId"))
+                    .where(criteriaBuilder.or(variablePredicates.toArray(new Predicate[0])));
+
+                andPredicates.add(root.get("id").in(subQuery));
               }
             }
 
@@ -3202,7 +3261,11 @@ public class WorkflowServiceImpl extends AbstractServiceBase implements Workflow
               ? 50
               : Math.max(1, Math.min(searchWorkflowsRequest.getPageSize(), maxFilteredWorkflows));
 
-      final int firstResult = pageIndex * pageSize;
+      int firstResult = pageIndex * pageSize;
+
+      if ((cursor != null) && (!cursor.isKeyset())) {
+        firstResult = cursor.getOffset();
+      }
 
       // Retrieve the criteria builder
       CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
@@ -3225,6 +3288,31 @@ public class WorkflowServiceImpl extends AbstractServiceBase implements Workflow
               criteriaBuilder.equal(definitionRoot.get("id"), root.get("definitionId")),
               criteriaBuilder.equal(definitionRoot.get("version"), root.get("definitionVersion")));
 
+      Path<Object> sortPath = root.get(WorkflowSortBy.resolveSortByPropertyName(sortBy));
+      Path<UUID> idPath = root.get("id");
+
+      // Seek past the last workflow returned using the (sort value, ID) pair held by the cursor
+      if (keysetSortValue instanceof OffsetDateTime initiated) {
+        dataPredicate =
+            criteriaBuilder.and(
+                dataPredicate,
+                cursor.getKeysetPredicate(
+                    criteriaBuilder, root.<OffsetDateTime>get("initiated"), initiated, idPath));
+
+        firstResult = 0;
+      } else if (keysetSortValue instanceof String sortValue) {
+        dataPredicate =
+            criteriaBuilder.and(
+                dataPredicate,
+                cursor.getKeysetPredicate(
+                    criteriaBuilder,
+                    root.<String>get(WorkflowSortBy.resolveSortByPropertyName(sortBy)),
+                    sortValue,
+                    idPath));
+
+        firstResult = 0;
+      }
+
       // Build "effectiveDescription":
       // IF (workflow.description is not null AND length(trim(workflow.description)) > 0)
       //    THEN workflow.description
@@ -3265,21 +3353,11 @@ public class WorkflowServiceImpl extends AbstractServiceBase implements Workflow
                   effectiveDescription))
           .where(dataPredicate);
 
-      SortDirection sortDirection =
-          (searchWorkflowsRequest.getSortDirection() != null)
-              ? searchWorkflowsRequest.getSortDirection()
-              : SortDirection.ASCENDING;
-
+      // Order by the sort property with the ID as a tiebreaker to make the order deterministic
       if (sortDirection == SortDirection.ASCENDING) {
-        dataCriteriaQuery.orderBy(
-            criteriaBuilder.asc(
-                root.get(
-                    WorkflowSortBy.resolveSortByPropertyName(searchWorkflowsRequest.getSortBy()))));
+        dataCriteriaQuery.orderBy(criteriaBuilder.asc(sortPath), criteriaBuilder.asc(idPath));
       } else {
-        dataCriteriaQuery.orderBy(
-            criteriaBuilder.desc(
-                root.get(
-                    WorkflowSortBy.resolveSortByPropertyName(searchWorkflowsRequest.getSortBy()))));
+        dataCriteriaQuery.orderBy(criteriaBuilder.desc(sortPath), criteriaBuilder.desc(idPath));
       }
 
       TypedQuery<WorkflowSummary> dataQuery = entityManager.createQuery(dataCriteriaQuery);
@@ -3288,19 +3366,43 @@ public class WorkflowServiceImpl extends AbstractServiceBase implements Workflow
 
       List<WorkflowSummary> workflowSummaries = dataQuery.getResultList();
 
-      // Count query (for total elements)
-      CriteriaQuery<Long> countCriteriaQuery = criteriaBuilder.createQuery(Long.class);
-      Root<Workflow> countRoot = countCriteriaQuery.from(Workflow.class);
+      // Count query (for total elements), which may be skipped as it requires a full scan
+      long total = -1;
 
-      Predicate countPredicate =
-          specification.toPredicate(countRoot, countCriteriaQuery, criteriaBuilder);
+      if (!Boolean.FALSE.equals(searchWorkflowsRequest.getIncludeTotal())) {
+        CriteriaQuery<Long> countCriteriaQuery = criteriaBuilder.createQuery(Long.class);
+        Root<Workflow> countRoot = countCriteriaQuery.from(Workflow.class);
 
-      // Because we used query.distinct(true) above due to joins, prefer countDistinct on the PK
-      countCriteriaQuery
-          .select(criteriaBuilder.countDistinct(countRoot.get("id")))
-          .where(countPredicate);
+        Predicate countPredicate =
+            specification.toPredicate(countRoot, countCriteriaQuery, criteriaBuilder);
 
-      Long total = entityManager.createQuery(countCriteriaQuery).getSingleResult();
+        countCriteriaQuery.select(criteriaBuilder.count(countRoot)).where(countPredicate);
+
+        total = entityManager.createQuery(countCriteriaQuery).getSingleResult();
+      }
+
+      // Issue a cursor for the next page if this page was full
+      String nextCursor = null;
+
+      if (workflowSummaries.size() == pageSize) {
+        WorkflowSummary lastWorkflowSummary = workflowSummaries.getLast();
+
+        // Keyset pagination is only possible when sorting by a mandatory property
+        Object lastSortValue =
+            switch (sortBy) {
+              case DEFINITION_ID -> lastWorkflowSummary.getDefinitionId();
+              case INITIATED -> lastWorkflowSummary.getInitiated();
+              case INITIATED_BY -> lastWorkflowSummary.getInitiatedBy();
+              default -> null;
+            };
+
+        nextCursor =
+            ((lastSortValue != null)
+                    ? SearchCursor.keyset(
+                        sortBy, sortDirection, lastSortValue, lastWorkflowSummary.getId())
+                    : SearchCursor.offset(sortBy, sortDirection, firstResult + pageSize))
+                .encode();
+      }
 
       return new WorkflowSummaries(
           workflowSummaries,
@@ -3308,7 +3410,8 @@ public class WorkflowServiceImpl extends AbstractServiceBase implements Workflow
           searchWorkflowsRequest.getSortBy(),
           searchWorkflowsRequest.getSortDirection(),
           pageIndex,
-          pageSize);
+          pageSize,
+          nextCursor);
     } catch (Throwable e) {
       throw new ServiceUnavailableException(
           "Failed to search for workflows for the tenant (" + tenantId + ")", e);
@@ -3840,6 +3943,9 @@ public class WorkflowServiceImpl extends AbstractServiceBase implements Workflow
       validateWorkflowDefinition(workflowDefinition);
 
       workflowDefinitionRepository.save(workflowDefinition);
+
+      validationPlanCache.evictWorkflowDefinition(
+          workflowDefinition.getId(), workflowDefinition.getVersion());
     } catch (WorkflowDefinitionCategoryNotFoundException
         | WorkflowDefinitionVersionNotFoundException
         | WorkflowEngineNotFoundException
@@ -4336,6 +4442,36 @@ public class WorkflowServiceImpl extends AbstractServiceBase implements Workflow
     }
   }
 
+  private Predicate getNormalizedNameAndValuePredicate(
+      CriteriaBuilder criteriaBuilder, Root<?> root, String name, String value) {
+    Predicate predicate = criteriaBuilder.conjunction();
+
+    if (StringUtils.hasText(name)) {
+      predicate =
+          criteriaBuilder.and(
+              predicate,
+              criteriaBuilder.equal(root.get("normalizedName"), SearchUtil.normalize(name)));
+    }
+
+    if (StringUtils.hasText(value)) {
+      predicate =
+          criteriaBuilder.and(
+              predicate,
+              criteriaBuilder.equal(root.get("normalizedValue"), SearchUtil.normalize(value)));
+
+      // Confirm the match against the original value if the normalized value is only a prefix
+      if (SearchUtil.isNormalizedValueTruncated(value)) {
+        predicate =
+            criteriaBuilder.and(
+                predicate,
+                criteriaBuilder.equal(
+                    criteriaBuilder.lower(root.get("value")), value.toLowerCase(Locale.ROOT)));
+      }
+    }
+
+    return predicate;
+  }
+
   /**
    * Returns the internal reference to the Workflow Service to enable caching.
    *
@@ -0,0 +1,115 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package digital.inception.operations.store;
+
+import digital.inception.core.exception.ServiceUnavailableException;
+import digital.inception.operations.exception.BlobNotFoundException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * The {@code BlobStore} interface defines the functionality provided by a blob store, which
+ * manages the content-addressed binary data for documents and interaction attachments.
+ *
+ * <p>Blobs are identified by the hex-encoded SHA-256 hash of their data, which allows entities to
+ * reference their data by hash and allows identical data to be stored only once. Implementations
+ * must read and write blobs as streams so that large blobs can be processed with constant memory.
+ *
+ * <p>Blobs are not deleted when the entities referencing them are deleted, since other entities
+ * may reference the same data. Instead, each blob records when it was last referenced by newly
+ * stored data and blobs that are no longer referenced are periodically garbage collected.
+ *
+ * @author Marcus Portmann
+ */
+public interface BlobStore {
+
+  /**
+   * Check whether the blob exists.
+   *
+   * @param hash the hex-encoded SHA-256 hash of the data for the blob
+   * @return {@code true} if the blob exists or {@code false} otherwise
+   * @throws ServiceUnavailableException if the check for the existing blob failed
+   */
+  boolean blobExists(String hash) throws ServiceUnavailableException;
+
+  /**
+   * Create the blob by reading its data from the input stream.
+   *
+   * <p>If a blob with the same data already exists, the existing blob is reused.
+   *
+   * @param inputStream the input stream to read the data for the blob from
+   * @return the hex-encoded SHA-256 hash of the data for the blob
+   * @throws ServiceUnavailableException if the blob could not be created
+   */
+  String createBlob(InputStream inputStream) throws ServiceUnavailableException;
+
+  /**
+   * Delete the blob if it was last referenced before the specified date and time.
+   *
+   * <p>A blob that was referenced by newly stored data after the specified date and time is
+   * retained, which prevents the garbage collection of a blob that is being reused concurrently.
+   *
+   * @param hash the hex-encoded SHA-256 hash of the data for the blob
+   * @param lastReferencedBefore the date and time the blob must have been last referenced before
+   * @return {@code true} if the blob was deleted or {@code false} otherwise
+   * @throws ServiceUnavailableException if the blob could not be deleted
+   */
+  boolean deleteBlob(String hash, OffsetDateTime lastReferencedBefore)
+      throws ServiceUnavailableException;
+
+  /**
+   * Retrieve the data for the blob.
+   *
+   * <p>This method loads the entire blob into memory and should only be used for small blobs or
+   * by legacy callers that require the data as a byte array. Use {@link #writeBlob(String,
+   * OutputStream)} to stream the blob.
+   *
+   * @param hash the hex-encoded SHA-256 hash of the data for the blob
+   * @return the data for the blob
+   * @throws BlobNotFoundException if the blob could not be found
+   * @throws ServiceUnavailableException if the data for the blob could not be retrieved
+   */
+  byte[] getBlob(String hash) throws BlobNotFoundException, ServiceUnavailableException;
+
+  /**
+   * Retrieve the hashes, in ascending order, for the blobs that were last referenced before the
+   * specified date and time.
+   *
+   * @param lastReferencedBefore the date and time the blobs must have been last referenced before
+   * @param afterHash the optional hash the returned hashes must follow, which is used to page
+   *     through the blobs
+   * @param maximumNumberOfHashes the maximum number of hashes to return
+   * @return the hashes for the blobs
+   * @throws ServiceUnavailableException if the hashes for the blobs could not be retrieved
+   */
+  List<String> getBlobHashes(
+      OffsetDateTime lastReferencedBefore, String afterHash, int maximumNumberOfHashes)
+      throws ServiceUnavailableException;
+
+  /**
+   * Write the data for the blob to the output stream.
+   *
+   * @param hash the hex-encoded SHA-256 hash of the data for the blob
+   * @param outputStream the output stream to write the data for the blob to
+   * @throws BlobNotFoundException if the blob could not be found
+   * @throws ServiceUnavailableException if the data for the blob could not be written
+   */
+  void writeBlob(String hash, OutputStream outputStream)
+      throws BlobNotFoundException, ServiceUnavailableException;
+}
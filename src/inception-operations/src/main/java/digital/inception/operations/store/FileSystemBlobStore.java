@@ -0,0 +1,269 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package digital.inception.operations.store;
+
+import digital.inception.core.exception.ServiceUnavailableException;
+import digital.inception.operations.exception.BlobNotFoundException;
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import org.springframework.beans.factory.BeanInitializationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * The {@code FileSystemBlobStore} class provides the file system blob store implementation, which
+ * stores blobs as content-addressed files under a base directory.
+ *
+ * <p>Each blob is stored in a file named for the hash of its data, in a two-level directory
+ * hierarchy derived from the hash, e.g. {@code ab/cd/abcd...}. Blobs are written to a temporary
+ * file and then atomically moved into place, so readers never observe a partially written blob.
+ *
+ * @author Marcus Portmann
+ */
+@Component
+@Conditional(FileSystemBlobStoreEnabledCondition.class)
+@SuppressWarnings("unused")
+public class FileSystemBlobStore implements BlobStore {
+
+  /** The pattern used to validate hex-encoded SHA-256 hashes. */
+  private static final Pattern HASH_PATTERN = Pattern.compile("^[0-9a-f]{64}$");
+
+  /** The path to the base directory for the blob store. */
+  @Value("${inception.operations.blob-store-path:#{null}}")
+  private String blobStorePath;
+
+  /** The base directory for the blob store. */
+  private Path baseDirectory;
+
+  /** The directory used to hold blobs while they are being written. */
+  private Path temporaryDirectory;
+
+  /** Constructs a new {@code FileSystemBlobStore}. */
+  public FileSystemBlobStore() {}
+
+  @Override
+  public boolean blobExists(String hash) throws ServiceUnavailableException {
+    try {
+      return Files.isRegularFile(getBlobPath(hash));
+    } catch (Throwable e) {
+      throw new ServiceUnavailableException(
+          "Failed to check whether the blob with the hash (" + hash + ") exists", e);
+    }
+  }
+
+  @Override
+  public String createBlob(InputStream inputStream) throws ServiceUnavailableException {
+    Path temporaryPath = null;
+
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+
+      temporaryPath = Files.createTempFile(temporaryDirectory, "blob-", ".tmp");
+
+      try (OutputStream outputStream =
+          new DigestOutputStream(Files.newOutputStream(temporaryPath), digest)) {
+        inputStream.transferTo(outputStream);
+      }
+
+      String hash = HexFormat.of().formatHex(digest.digest());
+
+      Path blobPath = getBlobPath(hash);
+
+      try {
+        /*
+         * If the data is already stored, mark the existing copy as referenced, using its last
+         * modified time, so it is not garbage collected.
+         */
+        Files.setLastModifiedTime(blobPath, FileTime.from(Instant.now()));
+      } catch (NoSuchFileException e) {
+        Files.createDirectories(blobPath.getParent());
+
+        try {
+          Files.move(temporaryPath, blobPath, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException ignored) {
+          // Another writer stored the same data concurrently
+          Files.setLastModifiedTime(blobPath, FileTime.from(Instant.now()));
+        }
+      }
+
+      return hash;
+    } catch (Throwable e) {
+      throw new ServiceUnavailableException("Failed to create the blob", e);
+    } finally {
+      if (temporaryPath != null) {
+        try {
+          Files.deleteIfExists(temporaryPath);
+        } catch (Throwable ignored) {
+        }
+      }
+    }
+  }
+
+  @Override
+  public boolean deleteBlob(String hash, OffsetDateTime lastReferencedBefore)
+      throws ServiceUnavailableException {
+    try {
+      Path blobPath = getBlobPath(hash);
+
+      if (!Files.isRegularFile(blobPath)) {
+        return false;
+      }
+
+      // Retain the blob if it was referenced by newly stored data after the cut-off
+      if (!Files.getLastModifiedTime(blobPath)
+          .toInstant()
+          .isBefore(lastReferencedBefore.toInstant())) {
+        return false;
+      }
+
+      return Files.deleteIfExists(blobPath);
+    } catch (Throwable e) {
+      throw new ServiceUnavailableException(
+          "Failed to delete the blob with the hash (" + hash + ")", e);
+    }
+  }
+
+  @Override
+  public byte[] getBlob(String hash) throws BlobNotFoundException, ServiceUnavailableException {
+    try {
+      Path blobPath = getBlobPath(hash);
+
+      if (!Files.isRegularFile(blobPath)) {
+        throw new BlobNotFoundException(hash);
+      }
+
+      return Files.readAllBytes(blobPath);
+    } catch (BlobNotFoundException e) {
+      throw e;
+    } catch (Throwable e) {
+      throw new ServiceUnavailableException(
+          "Failed to retrieve the blob with the hash (" + hash + ")", e);
+    }
+  }
+
+  @Override
+  public List<String> getBlobHashes(
+      OffsetDateTime lastReferencedBefore, String afterHash, int maximumNumberOfHashes)
+      throws ServiceUnavailableException {
+    try {
+      Instant lastReferencedBeforeInstant = lastReferencedBefore.toInstant();
+
+      // The two-level directory hierarchy is derived from the hash, so the walk is in hash order
+      try (Stream<Path> paths = Files.walk(baseDirectory, 3)) {
+        return paths
+            .filter(path -> HASH_PATTERN.matcher(path.getFileName().toString()).matches())
+            .filter(
+                path ->
+                    (afterHash == null)
+                        || (path.getFileName().toString().compareTo(afterHash) > 0))
+            .filter(
+                path -> {
+                  try {
+                    return Files.isRegularFile(path)
+                        && Files.getLastModifiedTime(path)
+                            .toInstant()
+                            .isBefore(lastReferencedBeforeInstant);
+                  } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                  }
+                })
+            .map(path -> path.getFileName().toString())
+            .sorted()
+            .limit(maximumNumberOfHashes)
+            .toList();
+      }
+    } catch (Throwable e) {
+      throw new ServiceUnavailableException(
+          "Failed to retrieve the hashes for the blobs last referenced before ("
+              + lastReferencedBefore
+              + ")",
+          e);
+    }
+  }
+
+  /** Initialize the file system blob store. */
+  @PostConstruct
+  public void init() {
+    if (!StringUtils.hasText(blobStorePath)) {
+      throw new BeanInitializationException(
+          "Failed to initialize the file system blob store: "
+              + "the inception.operations.blob-store-path property is required");
+    }
+
+    try {
+      baseDirectory = Paths.get(blobStorePath).toAbsolutePath().normalize();
+      temporaryDirectory = baseDirectory.resolve("tmp");
+
+      Files.createDirectories(temporaryDirectory);
+    } catch (Throwable e) {
+      throw new BeanInitializationException(
+          "Failed to initialize the file system blob store using the path (" + blobStorePath + ")",
+          e);
+    }
+  }
+
+  @Override
+  public void writeBlob(String hash, OutputStream outputStream)
+      throws BlobNotFoundException, ServiceUnavailableException {
+    try {
+      Path blobPath = getBlobPath(hash);
+
+      if (!Files.isRegularFile(blobPath)) {
+        throw new BlobNotFoundException(hash);
+      }
+
+      try (InputStream inputStream = Files.newInputStream(blobPath)) {
+        inputStream.transferTo(outputStream);
+      }
+
+      outputStream.flush();
+    } catch (BlobNotFoundException e) {
+      throw e;
+    } catch (Throwable e) {
+      throw new ServiceUnavailableException(
+          "Failed to write the blob with the hash (" + hash + ")", e);
+    }
+  }
+
+  private Path getBlobPath(String hash) {
+    if ((hash == null) || (!HASH_PATTERN.matcher(hash).matches())) {
+      throw new IllegalArgumentException("Invalid blob hash (" + hash + ")");
+    }
+
+    return baseDirectory.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+  }
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package digital.inception.operations.store;
+
+import com.github.f4b6a3.uuid.UuidCreator;
+import digital.inception.core.exception.ServiceUnavailableException;
+import digital.inception.core.time.ApplicationClock;
+import digital.inception.operations.exception.BlobNotFoundException;
+import digital.inception.operations.model.StoredBlob;
+import digital.inception.operations.model.StoredBlobChunk;
+import digital.inception.operations.persistence.jpa.StoredBlobChunkRepository;
+import digital.inception.operations.persistence.jpa.StoredBlobRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * The {@code InternalBlobStore} class provides the internal blob store implementation, which
+ * stores blobs in the database.
+ *
+ * <p>The data for each blob is split into fixed-size chunks that are written and read one at a
+ * time, so blobs are streamed with constant memory on every supported database without relying on
+ * vendor-specific LOB streaming APIs.
+ *
+ * @author Marcus Portmann
+ */
+@Component
+@Conditional(InternalBlobStoreEnabledCondition.class)
+@SuppressWarnings("unused")
+public class InternalBlobStore implements BlobStore {
+
+  /** The Stored Blob Chunk Repository. */
+  private final StoredBlobChunkRepository storedBlobChunkRepository;
+
+  /** The Stored Blob Repository. */
+  private final StoredBlobRepository storedBlobRepository;
+
+  /** The size of the chunks the data for a blob is split into in bytes. */
+  @Value("${inception.operations.blob-store-chunk-size:#{1048576}}")
+  private int chunkSize;
+
+  /** The Entity Manager. */
+  @PersistenceContext(unitName = "operations")
+  private EntityManager entityManager;
+
+  /**
+   * Constructs a new {@code InternalBlobStore}.
+   *
+   * @param storedBlobChunkRepository the Stored Blob Chunk Repository
+   * @param storedBlobRepository the Stored Blob Repository
+   */
+  public InternalBlobStore(
+      StoredBlobChunkRepository storedBlobChunkRepository,
+      StoredBlobRepository storedBlobRepository) {
+    this.storedBlobChunkRepository = storedBlobChunkRepository;
+    this.storedBlobRepository = storedBlobRepository;
+  }
+
+  @Override
+  public boolean blobExists(String hash) throws ServiceUnavailableException {
+    try {
+      return storedBlobRepository.existsByHash(hash);
+    } catch (Throwable e) {
+      throw new ServiceUnavailableException(
+          "Failed to check whether the blob with the hash (" + hash + ") exists", e);
+    }
+  }
+
+  @Override
+  @Transactional
+  public String createBlob(InputStream inputStream) throws ServiceUnavailableException {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+
+      StoredBlob storedBlob =
+          new StoredBlob(UuidCreator.getTimeOrderedEpoch(), ApplicationClock.offsetNow());
+
+      entityManager.persist(storedBlob);
+
+      byte[] buffer = new byte[chunkSize];
+      int chunkCount = 0;
+      long size = 0;
+      int length;
+
+      while ((length = inputStream.readNBytes(buffer, 0, buffer.length)) > 0) {
+        digest.update(buffer, 0, length);
+
+        StoredBlobChunk storedBlobChunk =
+            new StoredBlobChunk(storedBlob.getId(), chunkCount, Arrays.copyOf(buffer, length));
+
+        // Write the chunk immediately and release it so only one chunk is held in memory
+        entityManager.persist(storedBlobChunk);
+        entityManager.flush();
+        entityManager.detach(storedBlobChunk);
+
+        chunkCount++;
+        size += length;
+      }
+
+      String hash = HexFormat.of().formatHex(digest.digest());
+
+      /*
+       * If the data is already stored, mark the existing copy as referenced, so it is not garbage
+       * collected, and discard the copy we have just written.
+       */
+      if (storedBlobRepository.updateLastReferencedByHashAndIdNot(
+              hash, storedBlob.getId(), ApplicationClock.offsetNow())
+          > 0) {
+        entityManager.remove(storedBlob);
+      } else {
+        storedBlob.setHash(hash);
+        storedBlob.setSize(size);
+        storedBlob.setChunkCount(chunkCount);
+      }
+
+      return hash;
+    } catch (Throwable e) {
+      throw new ServiceUnavailableException("Failed to create the blob", e);
+    }
+  }
+
+  @Override
+  @Transactional
+  public boolean deleteBlob(String hash, OffsetDateTime lastReferencedBefore)
+      throws ServiceUnavailableException {
+    try {
+      return storedBlobRepository.deleteByHashAndLastReferencedBefore(hash, lastReferencedBefore)
+          > 0;
+    } catch (Throwable e) {
+      throw new ServiceUnavailableException(
+          "Failed to delete the blob with the hash (" + hash + ")", e);
+    }
+  }
+
+  @Override
+  public byte[] getBlob(String hash) throws BlobNotFoundException, ServiceUnavailableException {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+    writeBlob(hash, outputStream);
+
+    return outputStream.toByteArray();
+  }
+
+  @Override
+  public List<String> getBlobHashes(
+      OffsetDateTime lastReferencedBefore, String afterHash, int maximumNumberOfHashes)
+      throws ServiceUnavailableException {
+    try {
+      return storedBlobRepository.findHashesLastReferencedBefore(
+          lastReferencedBefore,
+          (afterHash != null) ? afterHash : "",
+          PageRequest.of(0, maximumNumberOfHashes));
+    } catch (Throwable e) {
+      throw new ServiceUnavailableException(
+          "Failed to retrieve the hashes for the blobs last referenced before ("
+              + lastReferencedBefore
+              + ")",
+          e);
+    }
+  }
+
+  @Override
+  public void writeBlob(String hash, OutputStream outputStream)
+      throws BlobNotFoundException, ServiceUnavailableException {
+    try {
+      Optional<StoredBlob> storedBlobOptional =
+          storedBlobRepository.findFirstByHashOrderByCreatedAsc(hash);
+
+      if (storedBlobOptional.isEmpty()) {
+        throw new BlobNotFoundException(hash);
+      }
+
+      StoredBlob storedBlob = storedBlobOptional.get();
+
+      for (int chunkIndex = 0; chunkIndex < storedBlob.getChunkCount(); chunkIndex++) {
+        byte[] data =
+            storedBlobChunkRepository.getDataByBlobIdAndIndex(storedBlob.getId(), chunkIndex);
+
+        if (data == null) {
+          throw new ServiceUnavailableException(
+              "Failed to retrieve the chunk ("
+                  + chunkIndex
+                  + ") for the blob with the hash ("
+                  + hash
+                  + ")");
+        }
+
+        outputStream.write(data);
+      }
+
+      outputStream.flush();
+    } catch (BlobNotFoundException e) {
+      throw e;
+    } catch (Throwable e) {
+      throw new ServiceUnavailableException(
+          "Failed to write the blob with the hash (" + hash + ")", e);
+    }
+  }
+}
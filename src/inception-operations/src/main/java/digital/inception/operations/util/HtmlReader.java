@@ -0,0 +1,85 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package digital.inception.operations.util;
+
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * The {@code HtmlReader} class reads the HTML for the stream parser used by the streaming
+ * converters, replacing curly double quotes with straight double quotes and rejecting HTML that
+ * exceeds the maximum input length.
+ *
+ * @author Marcus Portmann
+ */
+final class HtmlReader extends FilterReader {
+
+  /** The maximum length of the HTML that is parsed. */
+  private final int maxInputLength;
+
+  /** The number of characters that have been read. */
+  private long length;
+
+  /**
+   * Constructs a new {@code HtmlReader}.
+   *
+   * @param reader the reader for the HTML
+   * @param maxInputLength the maximum length of the HTML that is parsed
+   */
+  HtmlReader(Reader reader, int maxInputLength) {
+    super(reader);
+
+    this.maxInputLength = maxInputLength;
+  }
+
+  @Override
+  public int read() throws IOException {
+    int c = super.read();
+
+    if (c != -1) {
+      checkLength(1);
+    }
+
+    return ((c == '“') || (c == '”')) ? '"' : c;
+  }
+
+  @Override
+  public int read(char[] buffer, int offset, int count) throws IOException {
+    int numberOfCharacters = super.read(buffer, offset, count);
+
+    if (numberOfCharacters > 0) {
+      checkLength(numberOfCharacters);
+
+      for (int i = offset; i < offset + numberOfCharacters; i++) {
+        if ((buffer[i] == '“') || (buffer[i] == '”')) {
+          buffer[i] = '"';
+        }
+      }
+    }
+
+    return numberOfCharacters;
+  }
+
+  private void checkLength(int numberOfCharacters) {
+    length += numberOfCharacters;
+
+    if (length > maxInputLength) {
+      throw new HtmlTooLargeException(maxInputLength);
+    }
+  }
+}
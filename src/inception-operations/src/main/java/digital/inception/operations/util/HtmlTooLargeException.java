@@ -0,0 +1,54 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package digital.inception.operations.util;
+
+import java.io.Serial;
+
+/**
+ * The {@code HtmlTooLargeException} exception is thrown to indicate that HTML could not be
+ * converted because it exceeds the maximum length of the HTML that is parsed.
+ *
+ * @author Marcus Portmann
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class HtmlTooLargeException extends RuntimeException {
+
+  @Serial private static final long serialVersionUID = 1000000;
+
+  /** The maximum length of the HTML that is parsed. */
+  private final int maxInputLength;
+
+  /**
+   * Constructs a new {@code HtmlTooLargeException}.
+   *
+   * @param maxInputLength the maximum length of the HTML that is parsed
+   */
+  public HtmlTooLargeException(int maxInputLength) {
+    super("The HTML exceeds the maximum length of " + maxInputLength + " characters");
+
+    this.maxInputLength = maxInputLength;
+  }
+
+  /**
+   * Returns the maximum length of the HTML that is parsed.
+   *
+   * @return the maximum length of the HTML that is parsed
+   */
+  public int getMaxInputLength() {
+    return maxInputLength;
+  }
+}
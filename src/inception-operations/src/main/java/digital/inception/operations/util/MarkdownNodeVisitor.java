@@ -0,0 +1,473 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package digital.inception.operations.util;
+
+import jakarta.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import org.jsoup.nodes.Attribute;
+import org.jsoup.nodes.Element;
+import org.jsoup.nodes.Node;
+import org.jsoup.nodes.TextNode;
+import org.jsoup.safety.Safelist;
+import org.jsoup.select.NodeVisitor;
+import org.springframework.util.StringUtils;
+
+/**
+ * The {@code MarkdownNodeVisitor} class implements the node visitor that writes the Markdown for
+ * the nodes it visits, which is shared by the {@link HtmlToMarkdown} and {@link
+ * StreamingHtmlToMarkdown} converters so that they produce identical output.
+ *
+ * <p>The HTML is restricted to the relaxed JSoup safelist as it is visited. Elements that are not
+ * on the safelist are treated as if they had been replaced by their children, and attributes that
+ * are not on the safelist are ignored, which matches the result of cleaning the HTML with the
+ * safelist before it is converted.
+ *
+ * <p>The only nodes whose output depends on their descendants are {@code <a>} elements, which
+ * write their whole text, {@code <p>} elements, which only end the Markdown line if they have
+ * text, and {@code <div>} elements, which do not start a new Markdown line if they contain only a
+ * single {@code <div>} or a {@code <br>} without text. All other nodes can be visited as soon as
+ * they have been parsed.
+ *
+ * @author Marcus Portmann
+ */
+final class MarkdownNodeVisitor implements NodeVisitor {
+
+  /** The safelist the HTML is restricted to. */
+  private static final Safelist SAFELIST = Safelist.relaxed();
+
+  /** The Markdown lines that have been completed. */
+  private final List<MarkdownLine> markdownLines = new ArrayList<>();
+
+  /** The maximum length of the Markdown. */
+  private final int maxOutputLength;
+
+  /**
+   * The length of the Markdown that has been completed, up to and including the last character
+   * that is not whitespace.
+   */
+  private long contentLength;
+
+  /** The Markdown line that is being written. */
+  private MarkdownLine currentMarkdownLine = new MarkdownLine();
+
+  /** Is the visitor inside a {@code <b>} or {@code <strong>} element? */
+  private boolean inBoldSection = false;
+
+  /** Is the visitor inside a {@code <table>} element, whose content is written as HTML? */
+  private boolean inHtmlSection = false;
+
+  /** Is the visitor inside an {@code <a>} element, whose text has already been written? */
+  private boolean inLink = false;
+
+  /** Is the visitor inside an {@code <ol>} element? */
+  private boolean inOrderedList = false;
+
+  /**
+   * The length of the Markdown that has been completed, excluding the leading whitespace that is
+   * trimmed from the Markdown.
+   */
+  private long outputLength;
+
+  /**
+   * Constructs a new {@code MarkdownNodeVisitor}.
+   *
+   * @param maxOutputLength the maximum length of the Markdown, after which the Markdown is
+   *     truncated
+   */
+  MarkdownNodeVisitor(int maxOutputLength) {
+    this.maxOutputLength = maxOutputLength;
+  }
+
+  /**
+   * Returns the Markdown for the nodes that have been visited.
+   *
+   * @return the Markdown for the nodes that have been visited
+   */
+  String getMarkdown() {
+    StringBuilder markdown = new StringBuilder();
+
+    for (MarkdownLine markdownLine : markdownLines) {
+      markdown.append(markdownLine.getContent()).append("  ").append(System.lineSeparator());
+    }
+
+    String trimmedMarkdown = markdown.toString().trim();
+
+    return (trimmedMarkdown.length() > maxOutputLength)
+        ? trimmedMarkdown.substring(0, maxOutputLength)
+        : trimmedMarkdown;
+  }
+
+  /**
+   * Returns the safe child elements for the element, which are the child elements that are on the
+   * safelist and the safe child elements for the child elements that are not.
+   *
+   * @param element the element
+   * @return the safe child elements for the element
+   */
+  static List<Element> getSafeChildElements(Element element) {
+    List<Element> safeChildElements = new ArrayList<>();
+
+    for (Element childElement : element.children()) {
+      if (SAFELIST.isSafeTag(childElement.normalName())) {
+        safeChildElements.add(childElement);
+      } else {
+        safeChildElements.addAll(getSafeChildElements(childElement));
+      }
+    }
+
+    return safeChildElements;
+  }
+
+  @Override
+  public void head(@Nullable Node node, int depth) {
+    if (node instanceof Element element) {
+      switch (element.tagName()) {
+        case "a":
+          inLink = true;
+
+          String wholeText = element.wholeText();
+          String href = getSafeAttribute(element, "href");
+
+          if (StringUtils.hasText(wholeText)) {
+            if (StringUtils.hasText(href)) {
+              if (inHtmlSection) {
+                currentMarkdownLine.appendContent("<a href=\"");
+                currentMarkdownLine.appendContent(href);
+                currentMarkdownLine.appendContent("\">");
+                currentMarkdownLine.appendContent(wholeText);
+                currentMarkdownLine.appendContent("</a>");
+              } else {
+                currentMarkdownLine.appendContent("[");
+                currentMarkdownLine.appendContent(wholeText);
+                currentMarkdownLine.appendContent("](");
+                currentMarkdownLine.appendContent(href);
+                currentMarkdownLine.appendContent(")");
+              }
+            } else {
+              currentMarkdownLine.appendContent(wholeText);
+            }
+          }
+          break;
+        case "b", "strong":
+          inBoldSection = true;
+          currentMarkdownLine.appendContent(inHtmlSection ? "<b>" : "**");
+          break;
+        case "blockquote":
+          currentMarkdownLine.appendContent("<blockquote>");
+          newMarkdownLine();
+          break;
+        case "br":
+          newMarkdownLine();
+          break;
+        case "div":
+          List<Element> childElements = getSafeChildElements(element);
+
+          /*
+           * Skip new line if this is a <div> containing only a <div>, since the nested <div> will
+           * result in a newline.
+           */
+          if ((childElements.size() == 1)
+              && ("div".equalsIgnoreCase(childElements.getFirst().tagName()))) {
+          }
+          /*
+           * Skip new line if this is a <div> containing only a <br>, since the <br> will result in
+           * a newline.
+           */
+          else if ((!element.hasText())
+              && childElements.stream().anyMatch(childElement -> childElement.nameIs("br"))) {
+          } else {
+            newMarkdownLine();
+          }
+
+          String styleValue = getSafeAttribute(element, "style");
+
+          if (styleValue.contains("border-top:solid")
+              || styleValue.contains("border-style: solid")) {
+            currentMarkdownLine.appendContent("___");
+            newMarkdownLine();
+          }
+          break;
+        case "h1":
+          currentMarkdownLine.appendContent("# ");
+          break;
+        case "h2":
+          currentMarkdownLine.appendContent("## ");
+          break;
+        case "h3":
+          currentMarkdownLine.appendContent("### ");
+          break;
+        case "h4":
+          currentMarkdownLine.appendContent("#### ");
+          break;
+        case "h5":
+          currentMarkdownLine.appendContent("##### ");
+          break;
+        case "h6":
+          currentMarkdownLine.appendContent("###### ");
+          break;
+        case "i", "em":
+          currentMarkdownLine.appendContent("_");
+          break;
+        case "li":
+          currentMarkdownLine.appendContent(inOrderedList ? "<li>" : "* ");
+          break;
+        case "ol":
+          inOrderedList = true;
+          currentMarkdownLine.appendContent("<ol>");
+          newMarkdownLine();
+          break;
+        case "p":
+          break;
+        case "span":
+          break;
+        case "table":
+          inHtmlSection = true;
+          currentMarkdownLine.appendContent("<table>");
+          newMarkdownLine();
+          break;
+        case "td":
+          currentMarkdownLine.appendContent("<td>");
+          break;
+        case "th":
+          currentMarkdownLine.appendContent("<th>");
+          break;
+        case "tr":
+          currentMarkdownLine.appendContent("<tr>");
+          break;
+        case "u":
+          currentMarkdownLine.appendContent("<u>");
+          break;
+      }
+    } else if (node instanceof TextNode textNode) {
+      String text = textNode.text();
+
+      if (inLink) {
+        return;
+      }
+
+      // Add spacing after the bold markdown tag if required
+      if (!inBoldSection) {
+        if (currentMarkdownLine.endsWith("**") && (!text.startsWith(" "))) {
+          currentMarkdownLine.appendContent(" ");
+        }
+      }
+
+      if (!textNode.isBlank()) {
+        if (inBoldSection) {
+          text = text.stripTrailing();
+          if (!text.isBlank()) {
+            currentMarkdownLine.appendContent(text);
+          }
+        } else {
+          currentMarkdownLine.appendContent(text);
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns whether the maximum length of the Markdown has been exceeded.
+   *
+   * @return {@code true} if the maximum length of the Markdown has been exceeded or {@code false}
+   *     otherwise
+   */
+  boolean isOutputLimitReached() {
+    return contentLength > maxOutputLength;
+  }
+
+  @Override
+  public void tail(@Nullable Node node, int depth) {
+    if (node instanceof Element element) {
+      switch (element.tagName()) {
+        case "a":
+          inLink = false;
+          break;
+        case "b", "strong":
+          inBoldSection = false;
+          currentMarkdownLine.appendContent(inHtmlSection ? "</b>" : "**");
+          break;
+        case "blockquote":
+          newMarkdownLine();
+          currentMarkdownLine.appendContent("</blockquote>");
+          break;
+        case "div":
+          break;
+        case "i", "em":
+          currentMarkdownLine.appendContent("_");
+          break;
+        case "li":
+          if (inOrderedList) {
+            currentMarkdownLine.appendContent("</li>");
+          }
+          newMarkdownLine();
+          break;
+        case "ol":
+          currentMarkdownLine.appendContent("</ol>");
+          newMarkdownLine();
+          break;
+        case "p":
+          if (!element.wholeText().isEmpty()) {
+            newMarkdownLine();
+          }
+          break;
+        case "span":
+          break;
+        case "table":
+          inHtmlSection = false;
+          currentMarkdownLine.appendContent("</table>");
+          newMarkdownLine();
+          break;
+        case "td":
+          currentMarkdownLine.appendContent("</td>");
+          break;
+        case "th":
+          currentMarkdownLine.appendContent("</th>");
+          break;
+        case "tr":
+          currentMarkdownLine.appendContent("</tr>");
+          newMarkdownLine();
+          break;
+        case "u":
+          currentMarkdownLine.appendContent("</u>");
+          break;
+      }
+    }
+  }
+
+  /**
+   * Returns the value of the attribute for the element if the attribute is on the safelist.
+   *
+   * @param element the element
+   * @param key the key for the attribute
+   * @return the value of the attribute for the element if the attribute is on the safelist or an
+   *     empty string otherwise
+   */
+  private static String getSafeAttribute(Element element, String key) {
+    Attribute attribute = element.attribute(key);
+
+    if ((attribute != null) && SAFELIST.isSafeAttribute(element.tagName(), element, attribute)) {
+      return attribute.getValue();
+    } else {
+      return "";
+    }
+  }
+
+  private void newMarkdownLine() {
+    /*
+     * Do nothing if the previous two markdown lines are blank and the current markdown line is
+     * also blank. This prevents a large number of empty lines in the document.
+     */
+    if ((currentMarkdownLine.isEmpty())
+        && (markdownLines.size() > 1)
+        && (markdownLines.getLast().isEmpty())
+        && (markdownLines.get(markdownLines.size() - 2).isEmpty())) {
+      return;
+    }
+
+    markdownLines.add(currentMarkdownLine);
+
+    // Track the length of the Markdown, excluding the leading whitespace that is trimmed
+    String content = currentMarkdownLine.getContent();
+
+    int start = 0;
+
+    if (outputLength == 0) {
+      while ((start < content.length()) && (content.charAt(start) <= ' ')) {
+        start++;
+      }
+    }
+
+    int end = content.length();
+
+    while ((end > start) && (content.charAt(end - 1) <= ' ')) {
+      end--;
+    }
+
+    if (end > start) {
+      contentLength = outputLength + (end - start);
+    }
+
+    if ((outputLength > 0) || (end > start)) {
+      outputLength += (content.length() - start) + 2 + System.lineSeparator().length();
+    }
+
+    currentMarkdownLine = new MarkdownLine();
+  }
+
+  /** The {@code MarkdownLine} class holds a line of markdown content. */
+  private static class MarkdownLine {
+
+    private final StringBuilder buffer;
+
+    /** Constructs a new {@code MarkdownLine}. */
+    public MarkdownLine() {
+      buffer = new StringBuilder();
+    }
+
+    /**
+     * Append the content to the markdown line.
+     *
+     * @param content the content
+     */
+    public void appendContent(String content) {
+      if (content.isBlank()) {
+        if (!buffer.isEmpty()) {
+          buffer.append(" ");
+        }
+      } else {
+        buffer.append(content);
+      }
+    }
+
+    /**
+     * Returns whether the markdown line ends with the specified suffix.
+     *
+     * @param suffix the suffix
+     * @return {@code true} if the markdown line ends with the specified suffix {@code false}
+     */
+    public boolean endsWith(String suffix) {
+      int lastIndexOf = buffer.lastIndexOf(suffix);
+      int expectedIndex = buffer.length() - suffix.length();
+
+      if ((lastIndexOf >= 0) && (expectedIndex >= 0)) {
+        return lastIndexOf == expectedIndex;
+      } else {
+        return false;
+      }
+    }
+
+    /**
+     * Returns the content for the markdown line.
+     *
+     * @return the content for the markdown line
+     */
+    public String getContent() {
+      return buffer.toString();
+    }
+
+    /**
+     * Returns whether the markdown line is empty.
+     *
+     * @return {@code true} if the markdown line empty or {@code false} otherwise
+     */
+    public boolean isEmpty() {
+      return buffer.isEmpty();
+    }
+  }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package digital.inception.operations.util;
+
+import jakarta.activation.MimeType;
+import java.io.InputStream;
+
+/**
+ * The {@code MessageAttachmentHandler} interface defines the callback used to process the data for
+ * each attachment for a message as a stream while the message is being ingested.
+ *
+ * @author Marcus Portmann
+ */
+@FunctionalInterface
+public interface MessageAttachmentHandler {
+
+  /**
+   * Handle the attachment.
+   *
+   * @param mimeType the MIME type for the attachment
+   * @param inputStream the input stream to read the decoded data for the attachment from, which
+   *     will be closed once the attachment has been handled
+   * @throws Exception if the attachment could not be handled
+   */
+  void handleAttachment(MimeType mimeType, InputStream inputStream) throws Exception;
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package digital.inception.operations.util;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.Part;
+import jakarta.mail.internet.ContentType;
+import jakarta.mail.internet.MimeUtility;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import org.springframework.util.StringUtils;
+
+/**
+ * The {@code MessageContent} class holds the parts containing the HTML and plain text content for
+ * a message that was ingested using {@link MessageUtil#ingestMessage(jakarta.mail.Message, int,
+ * MessageAttachmentHandler)}.
+ *
+ * <p>The content is not held in memory. It is read from the parts, which for an IMAP message are
+ * only fetched when they are read, so the content can be streamed to a converter.
+ *
+ * @author Marcus Portmann
+ */
+@SuppressWarnings("unused")
+public final class MessageContent {
+
+  /** The part containing the HTML content for the message. */
+  private final Part htmlPart;
+
+  /** The part containing the plain text content for the message. */
+  private final Part plainTextPart;
+
+  /**
+   * Constructs a new {@code MessageContent}.
+   *
+   * @param htmlPart the part containing the HTML content for the message
+   * @param plainTextPart the part containing the plain text content for the message
+   */
+  MessageContent(Part htmlPart, Part plainTextPart) {
+    this.htmlPart = htmlPart;
+    this.plainTextPart = plainTextPart;
+  }
+
+  /**
+   * Returns a reader for the HTML content for the message.
+   *
+   * @return a reader for the HTML content for the message, which must be closed by the caller
+   * @throws IOException if the HTML content could not be read
+   * @throws MessagingException if the HTML content could not be retrieved
+   */
+  public Reader getHtmlReader() throws IOException, MessagingException {
+    if (htmlPart == null) {
+      throw new IllegalStateException("The message has no HTML content");
+    }
+
+    return new InputStreamReader(htmlPart.getInputStream(), getCharset(htmlPart));
+  }
+
+  /**
+   * Returns an input stream for the content for the message, which is the HTML content if the
+   * message has HTML content or the plain text content otherwise.
+   *
+   * @return an input stream for the content for the message, which must be closed by the caller
+   * @throws IOException if the content could not be read
+   * @throws MessagingException if the content could not be retrieved
+   */
+  public InputStream getInputStream() throws IOException, MessagingException {
+    return (htmlPart != null) ? htmlPart.getInputStream() : plainTextPart.getInputStream();
+  }
+
+  /**
+   * Returns the plain text content for the message, truncated to the maximum length.
+   *
+   * @param maxLength the maximum length of the plain text content that is returned
+   * @return the plain text content for the message, truncated to the maximum length
+   * @throws IOException if the plain text content could not be read
+   * @throws MessagingException if the plain text content could not be retrieved
+   */
+  public String getPlainText(int maxLength) throws IOException, MessagingException {
+    if (plainTextPart == null) {
+      throw new IllegalStateException("The message has no plain text content");
+    }
+
+    StringBuilder buffer = new StringBuilder();
+
+    try (Reader reader =
+        new InputStreamReader(plainTextPart.getInputStream(), getCharset(plainTextPart))) {
+      char[] characters = new char[8192];
+
+      while (buffer.length() < maxLength) {
+        int numberOfCharacters =
+            reader.read(characters, 0, Math.min(characters.length, maxLength - buffer.length()));
+
+        if (numberOfCharacters == -1) {
+          break;
+        }
+
+        buffer.append(characters, 0, numberOfCharacters);
+      }
+    }
+
+    return buffer.toString();
+  }
+
+  /**
+   * Returns whether the message has HTML content.
+   *
+   * @return {@code true} if the message has HTML content or {@code false} otherwise
+   */
+  public boolean hasHtml() {
+    return htmlPart != null;
+  }
+
+  /**
+   * Returns whether the message has plain text content.
+   *
+   * @return {@code true} if the message has plain text content or {@code false} otherwise
+   */
+  public boolean hasPlainText() {
+    return plainTextPart != null;
+  }
+
+  private static Charset getCharset(Part part) {
+    try {
+      String charsetName = new ContentType(part.getContentType()).getParameter("charset");
+
+      if (StringUtils.hasText(charsetName)) {
+        return Charset.forName(MimeUtility.javaCharset(charsetName), Charset.defaultCharset());
+      }
+    } catch (Throwable ignored) {
+    }
+
+    return Charset.defaultCharset();
+  }
+}
@@ -18,11 +18,13 @@ package digital.inception.operations.util;
 
 import digital.inception.core.file.FileType;
 import digital.inception.core.util.MimeData;
+import jakarta.activation.MimeType;
 import jakarta.mail.Address;
 import jakarta.mail.BodyPart;
 import jakarta.mail.Message;
 import jakarta.mail.MessagingException;
 import jakarta.mail.Multipart;
+import jakarta.mail.Part;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
@@ -165,6 +167,51 @@ public final class MessageUtil {
     }
   }
 
+  /**
+   * Ingest the message in a single pass over its parts.
+   *
+   * <p>The parts containing the HTML and plain text content for the message are located, as {@link
+   * #getMessageContent(Message)} does, and the data for each of the attachments for the message
+   * that {@link #getMessageAttachments(Message, int)} would return is passed as a stream to the
+   * attachment handler, in the same traversal of the parts for the message. Neither the content nor
+   * the data for the attachments is held in memory, which allows messages with large content or
+   * large attachments to be ingested with constant memory.
+   *
+   * @param message the message
+   * @param minimumImageAttachmentSize the minimum image attachment size
+   * @param attachmentHandler the attachment handler
+   * @return the content for the message
+   */
+  public static MessageContent ingestMessage(
+      Message message, int minimumImageAttachmentSize, MessageAttachmentHandler attachmentHandler) {
+    try {
+      if (message.isMimeType("text/html")) {
+        return new MessageContent(message, null);
+      } else if (message.isMimeType("text/plain")) {
+        return new MessageContent(null, message);
+      } else if (message.isMimeType("multipart/*")) {
+        if (message.getContent() instanceof Multipart multipart) {
+          MessageContentParts messageContentParts = new MessageContentParts();
+
+          ingestMultipart(
+              multipart, messageContentParts, minimumImageAttachmentSize, attachmentHandler);
+
+          if ((messageContentParts.htmlPart != null)
+              || (messageContentParts.plainTextPart != null)) {
+            return new MessageContent(
+                messageContentParts.htmlPart, messageContentParts.plainTextPart);
+          }
+        }
+      }
+
+      throw new MessageException(
+          "Unsupported message content type (" + message.getContentType() + ")");
+    } catch (Throwable e) {
+      throw new MessageException(
+          "Failed to ingest the message (" + messageToString(message) + ")", e);
+    }
+  }
+
   /**
    * Is the message an auto-response email?
    *
@@ -408,4 +455,70 @@ public final class MessageUtil {
     }
     return null;
   }
+
+  private static MimeType getMimeType(String contentType) throws MessagingException {
+    try {
+      return new MimeType(contentType);
+    } catch (Throwable e) {
+      try {
+        return new MimeType("application/octet-stream");
+      } catch (Exception ex) {
+        throw new MessagingException("Failed to create the MIME type (" + contentType + ")", ex);
+      }
+    }
+  }
+
+  private static void handleAttachment(
+      BodyPart bodyPart, String contentType, MessageAttachmentHandler attachmentHandler)
+      throws Exception {
+    try (InputStream inputStream = bodyPart.getInputStream()) {
+      attachmentHandler.handleAttachment(getMimeType(contentType), inputStream);
+    }
+  }
+
+  private static void ingestMultipart(
+      Multipart multipart,
+      MessageContentParts messageContentParts,
+      int minimumImageAttachmentSize,
+      MessageAttachmentHandler attachmentHandler)
+      throws Exception {
+    for (int i = 0; i < multipart.getCount(); i++) {
+      BodyPart bodyPart = multipart.getBodyPart(i);
+
+      if (bodyPart.isMimeType("multipart/*")) {
+        if (bodyPart.getContent() instanceof Multipart nestedMultipart) {
+          ingestMultipart(
+              nestedMultipart, messageContentParts, minimumImageAttachmentSize, attachmentHandler);
+        }
+      } else if ((bodyPart.getDisposition() == null)
+          && (messageContentParts.htmlPart == null)
+          && bodyPart.isMimeType("text/html")) {
+        messageContentParts.htmlPart = bodyPart;
+      } else if ((bodyPart.getDisposition() == null)
+          && (messageContentParts.plainTextPart == null)
+          && bodyPart.isMimeType("text/plain")) {
+        messageContentParts.plainTextPart = bodyPart;
+      } else if (isSupportedTextAttachment(bodyPart)) {
+        handleAttachment(bodyPart, bodyPart.getContentType(), attachmentHandler);
+      } else if (isSupportedImageAttachment(bodyPart)) {
+        if (bodyPart.getSize() > minimumImageAttachmentSize) {
+          handleAttachment(bodyPart, bodyPart.getContentType(), attachmentHandler);
+        }
+      } else if (isPDF(bodyPart) || isMicrosoftOfficeFile(bodyPart)) {
+        handleAttachment(bodyPart, bodyPart.getContentType(), attachmentHandler);
+      } else if (isSupportedZipCompressedAttachment(bodyPart)) {
+        handleAttachment(bodyPart, FileType.ZIP.mimeType(), attachmentHandler);
+      }
+    }
+  }
+
+  /** The parts containing the HTML and plain text content found while ingesting a message. */
+  private static final class MessageContentParts {
+
+    /** The first part containing HTML content found. */
+    private Part htmlPart;
+
+    /** The first part containing plain text content found. */
+    private Part plainTextPart;
+  }
 }
@@ -0,0 +1,70 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package digital.inception.operations.util;
+
+import java.util.Locale;
+
+/**
+ * The {@code SearchUtil} class is a utility class which provides methods for preparing the
+ * normalized copies of searchable values that are held alongside the original values so that they
+ * can be matched using indexed equality comparisons.
+ *
+ * @author Marcus Portmann
+ */
+public final class SearchUtil {
+
+  /** The maximum length of a normalized value. */
+  public static final int MAX_NORMALIZED_VALUE_LENGTH = 1000;
+
+  /** Private constructor to prevent instantiation. */
+  private SearchUtil() {}
+
+  /**
+   * Returns whether the normalized copy of the value is a truncated prefix of the value, in which
+   * case matching on the normalized value must be confirmed against the original value.
+   *
+   * @param value the value
+   * @return {@code true} if the normalized copy of the value is a truncated prefix of the value or
+   *     {@code false} otherwise
+   */
+  public static boolean isNormalizedValueTruncated(String value) {
+    return (value != null)
+        && (value.toLowerCase(Locale.ROOT).length() > MAX_NORMALIZED_VALUE_LENGTH);
+  }
+
+  /**
+   * Returns the normalized, i.e. case-folded, copy of the value truncated to the maximum length of
+   * a normalized value.
+   *
+   * <p>The value is case-folded using the root locale so that the normalized value does not depend
+   * on the default locale of the JVM that wrote it.
+   *
+   * @param value the value
+   * @return the normalized copy of the value or {@code null} if the value is {@code null}
+   */
+  public static String normalize(String value) {
+    if (value == null) {
+      return null;
+    }
+
+    String normalizedValue = value.toLowerCase(Locale.ROOT);
+
+    return (normalizedValue.length() > MAX_NORMALIZED_VALUE_LENGTH)
+        ? normalizedValue.substring(0, MAX_NORMALIZED_VALUE_LENGTH)
+        : normalizedValue;
+  }
+}
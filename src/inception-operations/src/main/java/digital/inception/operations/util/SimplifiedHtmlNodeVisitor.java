@@ -0,0 +1,276 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package digital.inception.operations.util;
+
+import jakarta.annotation.Nullable;
+import java.nio.charset.StandardCharsets;
+import org.jsoup.nodes.Element;
+import org.jsoup.nodes.Node;
+import org.jsoup.nodes.TextNode;
+import org.jsoup.select.NodeVisitor;
+import org.springframework.util.StringUtils;
+import org.springframework.web.util.HtmlUtils;
+
+/**
+ * The {@code SimplifiedHtmlNodeVisitor} class implements the node visitor that writes the
+ * simplified HTML for the nodes it visits, which is shared by the {@link HtmlToSimplifiedHtml} and
+ * {@link StreamingHtmlToSimplifiedHtml} converters so that they produce identical output.
+ *
+ * <p>The only nodes whose output depends on their descendants are {@code <a>} elements, which
+ * write their whole text, and {@code <p>} elements, which are skipped if they have no text. All
+ * other nodes can be visited as soon as they have been parsed.
+ *
+ * @author Marcus Portmann
+ */
+final class SimplifiedHtmlNodeVisitor implements NodeVisitor {
+
+  /** The buffer the simplified HTML is written to. */
+  private final StringBuilder buffer;
+
+  /** The maximum length of the simplified HTML. */
+  private final int maxOutputLength;
+
+  /** Is the visitor inside an {@code <a>} element, whose text has already been written? */
+  private boolean inLink = false;
+
+  /** Is the visitor inside a {@code <p>} element without text? */
+  private boolean isBlank = false;
+
+  /** Has the maximum length of the simplified HTML been reached? */
+  private boolean outputLimitReached = false;
+
+  /**
+   * Constructs a new {@code SimplifiedHtmlNodeVisitor}.
+   *
+   * @param buffer the buffer the simplified HTML is written to
+   * @param maxOutputLength the maximum length of the simplified HTML, after which no further tags
+   *     or text are written
+   */
+  SimplifiedHtmlNodeVisitor(StringBuilder buffer, int maxOutputLength) {
+    this.buffer = buffer;
+    this.maxOutputLength = maxOutputLength;
+  }
+
+  @Override
+  public void head(@Nullable Node node, int depth) {
+    if (node instanceof Element element) {
+      switch (element.tagName()) {
+        case "a":
+          inLink = true;
+
+          String wholeText = element.wholeText();
+          String href = element.attr("href");
+
+          if (StringUtils.hasText(wholeText)) {
+            if (StringUtils.hasText(href)) {
+              append("<a href=\"");
+              append(href);
+              append("\">");
+              append(wholeText);
+              append("</a>");
+            } else {
+              append(wholeText);
+            }
+          }
+          break;
+        case "b", "strong":
+          append("<b>");
+          break;
+        case "blockquote":
+          append("<blockquote>");
+          break;
+        case "body":
+          append("<body>");
+          break;
+        case "br":
+          append("<br>");
+          break;
+        case "div":
+          append("<div>");
+          break;
+        case "h1":
+          append("<h1>");
+          break;
+        case "h2":
+          append("<h2>");
+          break;
+        case "h3":
+          append("<h3>");
+          break;
+        case "h4":
+          append("<h4>");
+          break;
+        case "h5":
+          append("<h5>");
+          break;
+        case "h6":
+          append("<h6>");
+          break;
+        case "html":
+          append("<html>");
+          break;
+        case "i", "em":
+          append("<i>");
+          break;
+        case "li":
+          append("<li>");
+          break;
+        case "ol":
+          append("<ol>");
+          break;
+        case "p":
+          if (!element.text().isEmpty()) {
+            append("<p>");
+          } else {
+            isBlank = true;
+          }
+
+          break;
+        case "span":
+          break;
+        case "table":
+          append("<table>");
+          break;
+        case "td":
+          append("<td>");
+          break;
+        case "th":
+          append("<th>");
+          break;
+        case "tr":
+          append("<tr>");
+          break;
+        case "u":
+          append("<u>");
+          break;
+        case "ul":
+          append("<ul>");
+          break;
+      }
+    } else if (node instanceof TextNode textNode) {
+      if (inLink || isBlank) {
+        return;
+      }
+
+      if (!textNode.isBlank()) {
+        if (("&#xa0;".equals(textNode.outerHtml())) || ("&nbsp;".equals(textNode.outerHtml()))) {
+          if (textNode.parent() instanceof Element parentElement) {
+            String parentTagName = parentElement.tagName();
+            if (parentTagName.equalsIgnoreCase("div") || parentTagName.equalsIgnoreCase("span")) {
+              append("&#xa0;");
+            }
+          }
+        } else {
+          append(HtmlUtils.htmlEscape(textNode.text(), StandardCharsets.UTF_8.name()));
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns whether the maximum length of the simplified HTML has been reached.
+   *
+   * @return {@code true} if the maximum length of the simplified HTML has been reached or {@code
+   *     false} otherwise
+   */
+  public boolean isOutputLimitReached() {
+    return outputLimitReached;
+  }
+
+  @Override
+  public void tail(@Nullable Node node, int depth) {
+    if (node instanceof Element element) {
+      switch (element.tagName()) {
+        case "a":
+          inLink = false;
+          break;
+        case "b", "strong":
+          append("</b>");
+          break;
+        case "blockquote":
+          append("</blockquote>");
+          break;
+        case "body":
+          append("</body>");
+          break;
+        case "div":
+          append("</div>");
+          break;
+        case "html":
+          append("</html>");
+          break;
+        case "i", "em":
+          append("</i>");
+          break;
+        case "li":
+          append("</li>");
+          break;
+        case "ol":
+          append("</ol>");
+          break;
+        case "p":
+          if (!element.text().isEmpty()) {
+            append("</p>");
+          } else {
+            isBlank = false;
+          }
+
+          break;
+        case "span":
+          break;
+        case "table":
+          append("</table>");
+          break;
+        case "td":
+          append("</td>");
+          break;
+        case "th":
+          append("</th>");
+          break;
+        case "tr":
+          append("</tr>");
+          break;
+        case "u":
+          append("</u>");
+          break;
+        case "ul":
+          append("</ul>");
+          break;
+      }
+    }
+  }
+
+  /**
+   * Append the tag or escaped text to the simplified HTML, unless this would exceed the maximum
+   * length of the simplified HTML, in which case nothing further is appended so that the
+   * simplified HTML never ends with a partial tag or entity.
+   *
+   * @param value the tag or escaped text
+   */
+  private void append(String value) {
+    if (outputLimitReached) {
+      return;
+    }
+
+    if ((buffer.length() + value.length()) > maxOutputLength) {
+      outputLimitReached = true;
+      return;
+    }
+
+    buffer.append(value);
+  }
+}
@@ -0,0 +1,311 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package digital.inception.operations.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.nodes.Node;
+import org.jsoup.parser.Parser;
+import org.jsoup.parser.StreamParser;
+import org.jsoup.select.NodeTraversor;
+import org.springframework.util.StringUtils;
+
+/**
+ * The {@code StreamingHtmlToSimplifiedHtml} class converts HTML to simplified HTML using the JSoup
+ * stream parser, producing the same output as the {@link HtmlToSimplifiedHtml} converter without
+ * building the complete DOM for the HTML.
+ *
+ * <p>Each element is converted as soon as it has been parsed and is then removed from the partial
+ * DOM maintained by the stream parser, so the memory required is bounded by the depth of the HTML
+ * rather than its size. The exceptions are {@code <a>} and {@code <p>} elements, whose output
+ * depends on their text, which are only converted once they are complete.
+ *
+ * <p>The HTML can be supplied as a {@link Reader}, which is read incrementally by the stream
+ * parser, so the HTML does not need to be held in memory as a string.
+ *
+ * <p>Limits are applied to the length of the HTML that is parsed, the depth of the elements that
+ * are converted and the length of the simplified HTML that is produced. HTML that exceeds the
+ * maximum input length is rejected with a {@link HtmlTooLargeException}. The output is identical
+ * to the output of the {@link HtmlToSimplifiedHtml} converter unless the depth or output limit is
+ * exceeded.
+ *
+ * @author Marcus Portmann
+ */
+public final class StreamingHtmlToSimplifiedHtml {
+
+  /**
+   * The default maximum depth of the elements that are converted, beyond which elements are
+   * discarded along with their content.
+   */
+  public static final int DEFAULT_MAX_DEPTH = 512;
+
+  /** The default maximum length of the HTML that is parsed, beyond which the HTML is rejected. */
+  public static final int DEFAULT_MAX_INPUT_LENGTH = 20971520;
+
+  /**
+   * The default maximum length of the simplified HTML, which matches the maximum length of the
+   * content for an interaction.
+   */
+  public static final int DEFAULT_MAX_OUTPUT_LENGTH = 10485760;
+
+  /** Private constructor to prevent instantiation. */
+  private StreamingHtmlToSimplifiedHtml() {}
+
+  /**
+   * Convert the HTML content to simplified HTML using the default limits.
+   *
+   * @param reader the reader for the HTML
+   * @return the HTML content converted to simplified HTML
+   * @throws HtmlTooLargeException if the HTML exceeds the default maximum input length
+   */
+  public static String convertToSimplifiedHtml(Reader reader) {
+    return convertToSimplifiedHtml(
+        reader, DEFAULT_MAX_INPUT_LENGTH, DEFAULT_MAX_DEPTH, DEFAULT_MAX_OUTPUT_LENGTH);
+  }
+
+  /**
+   * Convert the HTML content to simplified HTML.
+   *
+   * @param reader the reader for the HTML
+   * @param maxInputLength the maximum length of the HTML that is parsed
+   * @param maxDepth the maximum depth of the elements that are converted, beyond which elements
+   *     are discarded along with their content
+   * @param maxOutputLength the maximum length of the simplified HTML, after which no further tags
+   *     or text are written
+   * @return the HTML content converted to simplified HTML
+   * @throws HtmlTooLargeException if the HTML exceeds the maximum input length
+   */
+  public static String convertToSimplifiedHtml(
+      Reader reader, int maxInputLength, int maxDepth, int maxOutputLength) {
+    try {
+      return convert(new HtmlReader(reader, maxInputLength), maxDepth, maxOutputLength);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to convert the HTML to simplified HTML", e);
+    }
+  }
+
+  /**
+   * Convert the HTML content to simplified HTML using the default limits.
+   *
+   * @param html the HTML
+   * @return the HTML content converted to simplified HTML
+   * @throws HtmlTooLargeException if the HTML exceeds the default maximum input length
+   */
+  public static String convertToSimplifiedHtml(String html) {
+    return convertToSimplifiedHtml(
+        html, DEFAULT_MAX_INPUT_LENGTH, DEFAULT_MAX_DEPTH, DEFAULT_MAX_OUTPUT_LENGTH);
+  }
+
+  /**
+   * Convert the HTML content to simplified HTML.
+   *
+   * @param html the HTML
+   * @param maxInputLength the maximum length of the HTML that is parsed
+   * @param maxDepth the maximum depth of the elements that are converted, beyond which elements
+   *     are discarded along with their content
+   * @param maxOutputLength the maximum length of the simplified HTML, after which no further tags
+   *     or text are written
+   * @return the HTML content converted to simplified HTML
+   * @throws HtmlTooLargeException if the HTML exceeds the maximum input length
+   */
+  public static String convertToSimplifiedHtml(
+      String html, int maxInputLength, int maxDepth, int maxOutputLength) {
+    if (!StringUtils.hasText(html)) {
+      return html;
+    }
+
+    if (html.length() > maxInputLength) {
+      throw new HtmlTooLargeException(maxInputLength);
+    }
+
+    return convertToSimplifiedHtml(
+        new StringReader(html), maxInputLength, maxDepth, maxOutputLength);
+  }
+
+  private static String convert(Reader reader, int maxDepth, int maxOutputLength)
+      throws IOException {
+    StringBuilder buffer = new StringBuilder();
+
+    SimplifiedHtmlNodeVisitor visitor = new SimplifiedHtmlNodeVisitor(buffer, maxOutputLength);
+
+    // The elements whose heads have been visited but whose tails have not, outermost first
+    Deque<Element> openElements = new ArrayDeque<>();
+
+    try (StreamParser streamParser = new StreamParser(Parser.xmlParser())) {
+      streamParser.parse(reader, "");
+
+      Iterator<Element> iterator = streamParser.iterator();
+
+      while (iterator.hasNext() && (!visitor.isOutputLimitReached())) {
+        Element element = iterator.next();
+
+        if (!(element instanceof Document)) {
+          convertCompletedElement(element, openElements, visitor, maxDepth);
+        }
+      }
+
+      // Convert any elements that were not completed when the end of the HTML was reached
+      if (!visitor.isOutputLimitReached()) {
+        Document document = streamParser.document();
+
+        for (Element topLevelElement : document.children()) {
+          for (Element childElement : topLevelElement.children()) {
+            childElement.getElementsByTag("html").forEach(Node::remove);
+          }
+        }
+
+        for (Element topLevelElement : new ArrayList<>(document.children())) {
+          convertRemainingElement(topLevelElement, openElements, visitor);
+        }
+      }
+    }
+
+    return buffer.toString();
+  }
+
+  private static void convertCompletedElement(
+      Element element,
+      Deque<Element> openElements,
+      SimplifiedHtmlNodeVisitor visitor,
+      int maxDepth) {
+    // Retrieve the enclosing elements, outermost first
+    List<Element> enclosingElements = new ArrayList<>();
+
+    boolean insideLinkOrParagraph = false;
+
+    boolean insideNestedHtml = false;
+
+    for (Element parent = element.parent();
+        (parent != null) && (!(parent instanceof Document));
+        parent = parent.parent()) {
+      enclosingElements.addFirst(parent);
+
+      if ("a".equals(parent.tagName()) || "p".equals(parent.tagName())) {
+        insideLinkOrParagraph = true;
+      }
+
+      if ((!(parent.parent() instanceof Document)) && "html".equals(parent.normalName())) {
+        insideNestedHtml = true;
+      }
+    }
+
+    /*
+     * Discard nested HTML elements and their content, which the DOM-based converter removes before
+     * converting the HTML.
+     */
+    if (insideNestedHtml
+        || ((!enclosingElements.isEmpty()) && "html".equals(element.normalName()))) {
+      element.remove();
+      return;
+    }
+
+    // Discard the elements that exceed the maximum depth
+    if (enclosingElements.size() >= maxDepth) {
+      element.remove();
+      return;
+    }
+
+    // Convert the element once the enclosing <a> or <p> element is complete
+    if (insideLinkOrParagraph) {
+      return;
+    }
+
+    // Visit the remaining children and the tail of an element whose head has been visited
+    if ((!openElements.isEmpty()) && (openElements.peekLast() == element)) {
+      while (element.childNodeSize() > 0) {
+        Node childNode = element.childNode(0);
+
+        NodeTraversor.traverse(visitor, childNode);
+
+        childNode.remove();
+      }
+
+      visitor.tail(element, enclosingElements.size());
+
+      openElements.removeLast();
+
+      element.remove();
+
+      return;
+    }
+
+    // Visit the heads of the enclosing elements whose heads have not been visited
+    for (int i = openElements.size(); i < enclosingElements.size(); i++) {
+      Element enclosingElement = enclosingElements.get(i);
+
+      visitPrecedingSiblings(enclosingElement, visitor);
+
+      visitor.head(enclosingElement, i);
+
+      openElements.addLast(enclosingElement);
+    }
+
+    visitPrecedingSiblings(element, visitor);
+
+    NodeTraversor.traverse(visitor, element);
+
+    element.remove();
+  }
+
+  private static void convertRemainingElement(
+      Element element, Deque<Element> openElements, SimplifiedHtmlNodeVisitor visitor) {
+    if (openElements.contains(element)) {
+      for (Node childNode : new ArrayList<>(element.childNodes())) {
+        if (childNode instanceof Element childElement) {
+          convertRemainingElement(childElement, openElements, visitor);
+        } else {
+          NodeTraversor.traverse(visitor, childNode);
+        }
+      }
+
+      visitor.tail(element, 0);
+    } else {
+      NodeTraversor.traverse(visitor, element);
+    }
+  }
+
+  /**
+   * Visit and remove the siblings preceding the node, which have not been visited. The siblings
+   * preceding a top-level element are removed without being visited, since the DOM-based converter
+   * only visits the top-level elements.
+   *
+   * @param node the node
+   * @param visitor the visitor
+   */
+  private static void visitPrecedingSiblings(Node node, SimplifiedHtmlNodeVisitor visitor) {
+    Node parent = node.parent();
+
+    while ((parent != null) && (parent.childNode(0) != node)) {
+      Node precedingSibling = parent.childNode(0);
+
+      if (!(parent instanceof Document)) {
+        NodeTraversor.traverse(visitor, precedingSibling);
+      }
+
+      precedingSibling.remove();
+    }
+  }
+}
@@ -18,6 +18,7 @@ package digital.inception.operations.test;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -39,6 +40,7 @@ import digital.inception.operations.model.AttributeSearchCriteria;
 import digital.inception.operations.model.AttributeType;
 import digital.inception.operations.model.CreateDocumentNoteRequest;
 import digital.inception.operations.model.CreateDocumentRequest;
+import digital.inception.operations.model.CreateDocumentResult;
 import digital.inception.operations.model.CreateDocumentTemplateRequest;
 import digital.inception.operations.model.Document;
 import digital.inception.operations.model.DocumentAttribute;
@@ -64,10 +66,18 @@ import digital.inception.operations.model.SearchDocumentsRequest;
 import digital.inception.operations.model.UpdateDocumentNoteRequest;
 import digital.inception.operations.model.UpdateDocumentRequest;
 import digital.inception.operations.model.UpdateDocumentTemplateRequest;
+import digital.inception.operations.model.UploadDocumentRequest;
+import digital.inception.operations.persistence.jpa.DocumentRepository;
+import digital.inception.operations.persistence.jpa.InteractionAttachmentRepository;
+import digital.inception.operations.service.BackgroundBlobGarbageCollectorImpl;
 import digital.inception.operations.service.DocumentService;
 import digital.inception.operations.service.OperationsReferenceService;
+import digital.inception.operations.store.BlobStore;
 import digital.inception.test.InceptionExtension;
 import digital.inception.test.TestConfiguration;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.nio.charset.StandardCharsets;
 import java.security.SecureRandom;
 import java.time.LocalDate;
@@ -78,6 +88,7 @@ import java.util.UUID;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
 import org.springframework.boot.test.context.ConfigDataApplicationContextInitializer;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.TestExecutionListeners;
@@ -85,6 +96,8 @@ import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.context.support.DependencyInjectionTestExecutionListener;
 import org.springframework.test.context.support.DirtiesContextTestExecutionListener;
 import org.springframework.test.context.transaction.TransactionalTestExecutionListener;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
  * The {@code DocumentServiceTests} class contains the JUnit tests for the {@code DocumentService}
@@ -108,12 +121,376 @@ public class DocumentServiceTests {
   /** The secure random number generator. */
   private static final SecureRandom secureRandom = new SecureRandom();
 
+  /** The Blob Store. */
+  @Autowired private BlobStore blobStore;
+
+  /** The Document Repository. */
+  @Autowired private DocumentRepository documentRepository;
+
   /** The Document Service. */
   @Autowired private DocumentService documentService;
 
+  /** The Interaction Attachment Repository. */
+  @Autowired private InteractionAttachmentRepository interactionAttachmentRepository;
+
   /** The Operations Reference Service. */
   @Autowired private OperationsReferenceService operationsReferenceService;
 
+  /** The Platform Transaction Manager. */
+  @Autowired private PlatformTransactionManager platformTransactionManager;
+
+  /** Test the garbage collection of the blobs that are no longer referenced by documents. */
+  @Test
+  public void blobGarbageCollectionTest() throws Exception {
+    operationsReferenceService.createExternalReferenceType(
+        new ExternalReferenceType(
+            "test_document_external_reference",
+            "Test Document External Reference",
+            "Test Document External Reference Description",
+            ObjectType.DOCUMENT,
+            TenantUtil.DEFAULT_TENANT_ID));
+
+    DocumentDefinitionCategory documentDefinitionCategory =
+        new DocumentDefinitionCategory(
+            "test_blob_gc_document_definition_category_" + randomId(),
+            "Test Blob GC Document Definition Category");
+
+    documentService.createDocumentDefinitionCategory(documentDefinitionCategory);
+
+    DocumentDefinition documentDefinition =
+        new DocumentDefinition(
+            "test_blob_gc_document_definition_" + randomId(),
+            documentDefinitionCategory.getId(),
+            null,
+            "Test Blob GC Document Definition",
+            "Test Blob GC Document Definition Short Name",
+            "The description for the test blob GC document definition",
+            null,
+            List.of(
+                new DocumentAttributeDefinition(
+                    "testDocumentAttribute",
+                    AttributeType.STRING,
+                    "Test Document Attribute",
+                    "Test Document Attribute Description",
+                    true,
+                    "(?i).*value.*",
+                    "Default Value")));
+
+    documentService.createDocumentDefinition(documentDefinition);
+
+    // Create two documents with the same data, which share a single blob
+    CreateDocumentRequest createDocumentRequest =
+        getCreateDocumentRequest(documentDefinition.getId());
+
+    byte[] sharedData = ("Shared data " + randomId()).getBytes(StandardCharsets.UTF_8);
+
+    createDocumentRequest.setData(sharedData);
+
+    UUID firstDocumentId =
+        documentService.createDocument(
+            TenantUtil.DEFAULT_TENANT_ID, createDocumentRequest, "TEST1");
+
+    UUID secondDocumentId =
+        documentService.createDocument(
+            TenantUtil.DEFAULT_TENANT_ID, createDocumentRequest, "TEST1");
+
+    String sharedHash = documentService.calculateDataHash(sharedData);
+
+    // Replace the data for the second document, which leaves its previous blob shared
+    Document secondDocument =
+        documentService.getDocument(TenantUtil.DEFAULT_TENANT_ID, secondDocumentId);
+
+    UpdateDocumentRequest updateDocumentRequest = getUpdateDocumentRequest(secondDocument);
+
+    byte[] updatedData = ("Updated data " + randomId()).getBytes(StandardCharsets.UTF_8);
+
+    updateDocumentRequest.setData(updatedData);
+
+    documentService.updateDocument(TenantUtil.DEFAULT_TENANT_ID, updateDocumentRequest, "TEST2");
+
+    String updatedHash = documentService.calculateDataHash(updatedData);
+
+    BackgroundBlobGarbageCollectorImpl backgroundBlobGarbageCollector =
+        new BackgroundBlobGarbageCollectorImpl(
+            blobStore,
+            documentRepository,
+            interactionAttachmentRepository,
+            new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class),
+            1,
+            0);
+
+    backgroundBlobGarbageCollector.start();
+
+    // Both blobs are still referenced so neither should be deleted
+    Thread.sleep(10);
+
+    backgroundBlobGarbageCollector.collectGarbage();
+
+    assertTrue(blobStore.blobExists(sharedHash), "The shared blob was deleted");
+    assertTrue(blobStore.blobExists(updatedHash), "The updated blob was deleted");
+
+    // Once the last document referencing a blob is deleted the blob should be deleted
+    documentService.deleteDocument(TenantUtil.DEFAULT_TENANT_ID, firstDocumentId);
+
+    Thread.sleep(10);
+
+    backgroundBlobGarbageCollector.collectGarbage();
+
+    assertFalse(blobStore.blobExists(sharedHash), "The unreferenced blob was not deleted");
+    assertTrue(blobStore.blobExists(updatedHash), "The updated blob was deleted");
+
+    assertArrayEquals(
+        updatedData,
+        getDocumentData(secondDocumentId),
+        "Invalid streamed data for the updated document");
+
+    backgroundBlobGarbageCollector.stop();
+
+    documentService.deleteDocument(TenantUtil.DEFAULT_TENANT_ID, secondDocumentId);
+
+    documentService.deleteDocumentDefinition(documentDefinition.getId());
+
+    documentService.deleteDocumentDefinitionCategory(documentDefinitionCategory.getId());
+
+    operationsReferenceService.deleteExternalReferenceType("test_document_external_reference");
+  }
+
+  /**
+   * Test the bulk document creation functionality, including the deletion of the blobs written
+   * by a transaction that rolls back.
+   */
+  @Test
+  public void createDocumentsTest() throws Exception {
+    operationsReferenceService.createExternalReferenceType(
+        new ExternalReferenceType(
+            "test_document_external_reference",
+            "Test Document External Reference",
+            "Test Document External Reference Description",
+            ObjectType.DOCUMENT,
+            TenantUtil.DEFAULT_TENANT_ID));
+
+    DocumentDefinitionCategory documentDefinitionCategory =
+        new DocumentDefinitionCategory(
+            "test_bulk_document_definition_category_" + randomId(),
+            "Test Bulk Document Definition Category");
+
+    documentService.createDocumentDefinitionCategory(documentDefinitionCategory);
+
+    DocumentDefinition documentDefinition =
+        new DocumentDefinition(
+            "test_bulk_document_definition_" + randomId(),
+            documentDefinitionCategory.getId(),
+            null,
+            "Test Bulk Document Definition",
+            "Test Bulk Document Definition Short Name",
+            "The description for the test bulk document definition",
+            null,
+            List.of(
+                new DocumentAttributeDefinition(
+                    "testDocumentAttribute",
+                    AttributeType.STRING,
+                    "Test Document Attribute",
+                    "Test Document Attribute Description",
+                    true,
+                    "(?i).*value.*",
+                    "Default Value")));
+
+    documentService.createDocumentDefinition(documentDefinition);
+
+    List<CreateDocumentRequest> createDocumentRequests =
+        List.of(
+            getCreateDocumentRequest(documentDefinition.getId()),
+            getCreateDocumentRequest("unknown_document_definition"),
+            getCreateDocumentRequest(documentDefinition.getId()));
+
+    List<CreateDocumentResult> createDocumentResults =
+        documentService.createDocuments(
+            TenantUtil.DEFAULT_TENANT_ID, createDocumentRequests, "TEST1");
+
+    assertEquals(3, createDocumentResults.size());
+    assertNotNull(createDocumentResults.get(0).getDocumentId());
+    assertNull(createDocumentResults.get(0).getErrorMessage());
+    assertNull(createDocumentResults.get(1).getDocumentId());
+    assertNotNull(createDocumentResults.get(1).getErrorMessage());
+    assertNotNull(createDocumentResults.get(2).getDocumentId());
+
+    for (int i = 0; i < createDocumentResults.size(); i++) {
+      UUID bulkDocumentId = createDocumentResults.get(i).getDocumentId();
+
+      if (bulkDocumentId != null) {
+        Document bulkDocument =
+            documentService.getDocument(TenantUtil.DEFAULT_TENANT_ID, bulkDocumentId);
+
+        assertArrayEquals(
+            createDocumentRequests.get(i).getData(),
+            getDocumentData(bulkDocumentId),
+            "Invalid value for the \"data\" property for the bulk created document");
+        assertEquals(
+            createDocumentRequests.get(i).getAttributes().size(),
+            bulkDocument.getAttributes().size(),
+            "Invalid number of attributes for the bulk created document");
+      }
+    }
+
+    // The blob for the data of a document that remains referenced survives a rollback
+    String referencedHash =
+        documentService.calculateDataHash(createDocumentRequests.getFirst().getData());
+
+    // A blob that is only referenced by the rolled back documents is deleted
+    byte[] unreferencedData = ("Unreferenced data " + randomId()).getBytes(StandardCharsets.UTF_8);
+
+    String unreferencedHash = blobStore.createBlob(new ByteArrayInputStream(unreferencedData));
+
+    CreateDocumentRequest unreferencedCreateDocumentRequest =
+        getCreateDocumentRequest(documentDefinition.getId());
+
+    unreferencedCreateDocumentRequest.setData(unreferencedData);
+
+    new TransactionTemplate(platformTransactionManager)
+        .executeWithoutResult(
+            transactionStatus -> {
+              try {
+                documentService.createDocuments(
+                    TenantUtil.DEFAULT_TENANT_ID,
+                    List.of(
+                        getCreateDocumentRequest(documentDefinition.getId()),
+                        unreferencedCreateDocumentRequest),
+                    "TEST1");
+              } catch (Throwable e) {
+                fail(e);
+              }
+
+              transactionStatus.setRollbackOnly();
+            });
+
+    assertTrue(blobStore.blobExists(referencedHash), "The referenced blob was deleted");
+    assertFalse(blobStore.blobExists(unreferencedHash), "The unreferenced blob was not deleted");
+
+    for (CreateDocumentResult createDocumentResult : createDocumentResults) {
+      if (createDocumentResult.getDocumentId() != null) {
+        documentService.deleteDocument(
+            TenantUtil.DEFAULT_TENANT_ID, createDocumentResult.getDocumentId());
+      }
+    }
+
+    documentService.deleteDocumentDefinition(documentDefinition.getId());
+
+    documentService.deleteDocumentDefinitionCategory(documentDefinitionCategory.getId());
+
+    operationsReferenceService.deleteExternalReferenceType("test_document_external_reference");
+  }
+
+  /** Test the document data functionality. */
+  @Test
+  public void documentDataTest() throws Exception {
+    operationsReferenceService.createExternalReferenceType(
+        new ExternalReferenceType(
+            "test_document_external_reference",
+            "Test Document External Reference",
+            "Test Document External Reference Description",
+            ObjectType.DOCUMENT,
+            TenantUtil.DEFAULT_TENANT_ID));
+
+    DocumentDefinitionCategory documentDefinitionCategory =
+        new DocumentDefinitionCategory(
+            "test_document_data_document_definition_category_" + randomId(),
+            "Test Document Data Document Definition Category");
+
+    documentService.createDocumentDefinitionCategory(documentDefinitionCategory);
+
+    DocumentDefinition documentDefinition =
+        new DocumentDefinition(
+            "test_document_data_document_definition_" + randomId(),
+            documentDefinitionCategory.getId(),
+            null,
+            "Test Document Data Document Definition",
+            "Test Document Data Document Definition Short Name",
+            "The description for the test document data document definition",
+            null,
+            List.of(
+                new DocumentAttributeDefinition(
+                    "testDocumentAttribute",
+                    AttributeType.STRING,
+                    "Test Document Attribute",
+                    "Test Document Attribute Description",
+                    true,
+                    "(?i).*value.*",
+                    "Default Value")));
+
+    documentService.createDocumentDefinition(documentDefinition);
+
+    CreateDocumentRequest createDocumentRequest =
+        getCreateDocumentRequest(documentDefinition.getId());
+
+    UUID documentId =
+        documentService.createDocument(
+            TenantUtil.DEFAULT_TENANT_ID, createDocumentRequest, "TEST1");
+
+    Document document = documentService.getDocument(TenantUtil.DEFAULT_TENANT_ID, documentId);
+
+    assertNull(document.getData(), "The data was retrieved with the document");
+    assertEquals(
+        documentService.calculateDataHash(createDocumentRequest.getData()),
+        document.getHash(),
+        "Invalid value for the \"hash\" document property");
+    assertArrayEquals(
+        createDocumentRequest.getData(),
+        getDocumentData(documentId),
+        "Invalid streamed data for the document");
+
+    UpdateDocumentRequest updateDocumentRequest = getUpdateDocumentRequest(document);
+
+    documentService.updateDocument(TenantUtil.DEFAULT_TENANT_ID, updateDocumentRequest, "TEST2");
+
+    document = documentService.getDocument(TenantUtil.DEFAULT_TENANT_ID, documentId);
+
+    assertEquals(
+        documentService.calculateDataHash(updateDocumentRequest.getData()),
+        document.getHash(),
+        "Invalid value for the \"hash\" document property");
+    assertArrayEquals(
+        updateDocumentRequest.getData(),
+        getDocumentData(documentId),
+        "Invalid streamed data for the updated document");
+
+    UploadDocumentRequest uploadDocumentRequest = new UploadDocumentRequest();
+    uploadDocumentRequest.setDefinitionId(documentDefinition.getId());
+    uploadDocumentRequest.setFileType(FileType.TEXT);
+    uploadDocumentRequest.setName("uploaded.txt");
+
+    byte[] uploadedDocumentData =
+        "This is some uploaded test data.".getBytes(StandardCharsets.UTF_8);
+
+    UUID uploadedDocumentId =
+        documentService.uploadDocument(
+            TenantUtil.DEFAULT_TENANT_ID,
+            uploadDocumentRequest,
+            new ByteArrayInputStream(uploadedDocumentData),
+            "TEST1");
+
+    Document uploadedDocument =
+        documentService.getDocument(TenantUtil.DEFAULT_TENANT_ID, uploadedDocumentId);
+
+    assertEquals(
+        documentService.calculateDataHash(uploadedDocumentData),
+        uploadedDocument.getHash(),
+        "Invalid value for the \"hash\" property for the uploaded document");
+    assertArrayEquals(
+        uploadedDocumentData,
+        getDocumentData(uploadedDocumentId),
+        "Invalid streamed data for the uploaded document");
+
+    documentService.deleteDocument(TenantUtil.DEFAULT_TENANT_ID, uploadedDocumentId);
+
+    documentService.deleteDocument(TenantUtil.DEFAULT_TENANT_ID, documentId);
+
+    documentService.deleteDocumentDefinition(documentDefinition.getId());
+
+    documentService.deleteDocumentDefinitionCategory(documentDefinitionCategory.getId());
+
+    operationsReferenceService.deleteExternalReferenceType("test_document_external_reference");
+  }
+
   /** Test the document service functionality. */
   @Test
   public void documentServiceTest() throws Exception {
@@ -315,8 +692,9 @@ public class DocumentServiceTests {
 
     assertArrayEquals(
         updateDocumentRequest.getData(),
-        retrievedDocument.getData(),
+        getDocumentData(document.getId()),
         "Invalid value for the \"data\" document property");
+
     assertEquals(
         updateDocumentRequest.getFileType(),
         retrievedDocument.getFileType(),
@@ -360,6 +738,25 @@ public class DocumentServiceTests {
 
     assertEquals(1, documentSummaries.getTotal());
 
+    // Retrieve the next page of document summaries using keyset pagination without a total
+    searchDocumentsRequest.setPageSize(1);
+    searchDocumentsRequest.setIncludeTotal(false);
+
+    DocumentSummaries firstPageDocumentSummaries =
+        documentService.searchDocuments(TenantUtil.DEFAULT_TENANT_ID, searchDocumentsRequest);
+
+    assertEquals(1, firstPageDocumentSummaries.getDocumentSummaries().size());
+    assertEquals(-1, firstPageDocumentSummaries.getTotal());
+    assertNotNull(firstPageDocumentSummaries.getNextCursor());
+
+    searchDocumentsRequest.setCursor(firstPageDocumentSummaries.getNextCursor());
+
+    DocumentSummaries secondPageDocumentSummaries =
+        documentService.searchDocuments(TenantUtil.DEFAULT_TENANT_ID, searchDocumentsRequest);
+
+    assertEquals(0, secondPageDocumentSummaries.getDocumentSummaries().size());
+    assertNull(secondPageDocumentSummaries.getNextCursor());
+
     DocumentSummary documentSummary = documentSummaries.getDocumentSummaries().getFirst();
 
     assertEquals(
@@ -868,6 +1265,15 @@ public class DocumentServiceTests {
     return createDocumentTemplateRequest;
   }
 
+  private byte[] getDocumentData(UUID documentId) throws Exception {
+    ByteArrayOutputStream documentDataOutputStream = new ByteArrayOutputStream();
+
+    documentService.writeDocumentData(
+        TenantUtil.DEFAULT_TENANT_ID, documentId, documentDataOutputStream);
+
+    return documentDataOutputStream.toByteArray();
+  }
+
   private UpdateDocumentRequest getUpdateDocumentRequest(Document document) {
     byte[] data =
         "<html><body>This is some HTML test data.</body></html>".getBytes(StandardCharsets.UTF_8);
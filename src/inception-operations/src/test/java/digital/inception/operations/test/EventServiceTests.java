@@ -0,0 +1,593 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package digital.inception.operations.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import digital.inception.core.time.ApplicationClock;
+import digital.inception.core.util.ResourceUtil;
+import digital.inception.core.util.TenantUtil;
+import digital.inception.core.validation.ValidationSchemaType;
+import digital.inception.operations.OperationsConfiguration;
+import digital.inception.operations.exception.DuplicateEventException;
+import digital.inception.operations.model.DocumentDefinition;
+import digital.inception.operations.model.DocumentDefinitionCategory;
+import digital.inception.operations.model.Event;
+import digital.inception.operations.model.EventStatus;
+import digital.inception.operations.model.EventType;
+import digital.inception.operations.model.InitiateWorkflowRequest;
+import digital.inception.operations.model.ObjectType;
+import digital.inception.operations.model.RequestWorkflowDocumentRequest;
+import digital.inception.operations.model.WorkflowDefinition;
+import digital.inception.operations.model.WorkflowDefinitionCategory;
+import digital.inception.operations.model.WorkflowEngine;
+import digital.inception.operations.model.WorkflowRoutingContext;
+import digital.inception.operations.persistence.jpa.EventRepository;
+import digital.inception.operations.service.DocumentService;
+import digital.inception.operations.service.EventService;
+import digital.inception.operations.service.WorkflowRoutingContextCache;
+import digital.inception.operations.service.WorkflowService;
+import digital.inception.test.InceptionExtension;
+import digital.inception.test.TestConfiguration;
+import java.math.BigDecimal;
+import java.security.SecureRandom;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.ConfigDataApplicationContextInitializer;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestExecutionListeners;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.context.support.DependencyInjectionTestExecutionListener;
+import org.springframework.test.context.support.DirtiesContextTestExecutionListener;
+import org.springframework.test.context.transaction.TransactionalTestExecutionListener;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * The {@code EventServiceTests} class contains the JUnit tests for the {@code EventService} class.
+ *
+ * @author Marcus Portmann
+ */
+@ExtendWith(SpringExtension.class)
+@ExtendWith(InceptionExtension.class)
+@ContextConfiguration(
+    classes = {TestConfiguration.class, OperationsConfiguration.class},
+    initializers = {ConfigDataApplicationContextInitializer.class})
+@TestExecutionListeners(
+    listeners = {
+      DependencyInjectionTestExecutionListener.class,
+      DirtiesContextTestExecutionListener.class,
+      TransactionalTestExecutionListener.class
+    })
+public class EventServiceTests {
+
+  /** The secure random number generator. */
+  private static final SecureRandom secureRandom = new SecureRandom();
+
+  /** The Cache Manager. */
+  @Autowired private CacheManager cacheManager;
+
+  /** The Document Service. */
+  @Autowired private DocumentService documentService;
+
+  /** The Event Repository. */
+  @Autowired private EventRepository eventRepository;
+
+  /** The Event Service. */
+  @Autowired private EventService eventService;
+
+  /** The Jackson Object Mapper. */
+  @Autowired private ObjectMapper objectMapper;
+
+  /** The Platform Transaction Manager. */
+  @Autowired private PlatformTransactionManager platformTransactionManager;
+
+  /** The Workflow Routing Context Cache. */
+  @Autowired private WorkflowRoutingContextCache workflowRoutingContextCache;
+
+  /** The Workflow Service. */
+  @Autowired private WorkflowService workflowService;
+
+  /** Test publishing events, including the suppression of duplicate events. */
+  @Test
+  public void publishEventsTest() throws Exception {
+    UUID objectId = UUID.randomUUID();
+
+    Event event =
+        new Event(
+            TenantUtil.DEFAULT_TENANT_ID,
+            ObjectType.WORKFLOW_DOCUMENT,
+            objectId,
+            EventType.WORKFLOW_DOCUMENT_PROVIDED,
+            ApplicationClock.offsetNow(),
+            "TEST1");
+
+    eventService.publishEvent(TenantUtil.DEFAULT_TENANT_ID, event);
+
+    assertThrows(
+        DuplicateEventException.class,
+        () -> eventService.publishEvent(TenantUtil.DEFAULT_TENANT_ID, event));
+
+    Event anotherEvent =
+        new Event(
+            TenantUtil.DEFAULT_TENANT_ID,
+            ObjectType.WORKFLOW_DOCUMENT,
+            objectId,
+            EventType.WORKFLOW_DOCUMENT_VERIFIED,
+            ApplicationClock.offsetNow(),
+            "TEST1");
+
+    Event yetAnotherEvent =
+        new Event(
+            TenantUtil.DEFAULT_TENANT_ID,
+            ObjectType.WORKFLOW_DOCUMENT,
+            objectId,
+            EventType.WORKFLOW_DOCUMENT_WAIVED,
+            ApplicationClock.offsetNow(),
+            "TEST1");
+
+    // The previously published event and the repeated event are ignored
+    assertEquals(
+        2,
+        eventService.publishEvents(
+            TenantUtil.DEFAULT_TENANT_ID,
+            List.of(event, anotherEvent, anotherEvent, yetAnotherEvent)));
+
+    assertEquals(
+        0,
+        eventService.publishEvents(
+            TenantUtil.DEFAULT_TENANT_ID, List.of(anotherEvent, yetAnotherEvent)));
+
+    List<Event> retrievedEvents =
+        eventService.getEventsForObject(
+            TenantUtil.DEFAULT_TENANT_ID, ObjectType.WORKFLOW_DOCUMENT, objectId);
+
+    assertEquals(
+        List.of(event.getId(), anotherEvent.getId(), yetAnotherEvent.getId()),
+        retrievedEvents.stream().map(Event::getId).sorted().toList());
+
+    for (Event retrievedEvent : retrievedEvents) {
+      assertEquals("TEST1", retrievedEvent.getActor());
+      assertNotNull(retrievedEvent.getNextProcessed());
+      assertFalse(retrievedEvent.isProcessingSuspended());
+    }
+  }
+
+  /**
+   * Test that the queued workflow document events for a workflow are processed together using a
+   * single call to the workflow engine connector.
+   */
+  @Test
+  public void workflowDocumentEventBatchingTest() throws Exception {
+    // Create the workflow engine, which records the events it is asked to process
+    WorkflowEngine workflowEngine =
+        new WorkflowEngine(
+            "test_event_workflow_engine_" + randomId(),
+            "Test Event Workflow Engine",
+            "digital.inception.operations.test.TestWorkflowEngineConnector",
+            List.of());
+
+    workflowService.createWorkflowEngine(workflowEngine);
+
+    // Create the document definition category
+    DocumentDefinitionCategory documentDefinitionCategory =
+        new DocumentDefinitionCategory(
+            "test_document_definition_category_" + randomId(), "Test Document Definition Category");
+
+    documentService.createDocumentDefinitionCategory(documentDefinitionCategory);
+
+    // Create the document definition
+    DocumentDefinition documentDefinition =
+        new DocumentDefinition(
+            "test_document_definition_" + randomId(),
+            documentDefinitionCategory.getId(),
+            TenantUtil.DEFAULT_TENANT_ID,
+            "Test Document Definition",
+            null,
+            null,
+            null,
+            null);
+
+    documentService.createDocumentDefinition(documentDefinition);
+
+    // Create the workflow definition category
+    WorkflowDefinitionCategory workflowDefinitionCategory =
+        new WorkflowDefinitionCategory(
+            "test_workflow_definition_category_" + randomId(), "Test Workflow Definition Category");
+
+    workflowService.createWorkflowDefinitionCategory(workflowDefinitionCategory);
+
+    // Create the workflow definition
+    WorkflowDefinition workflowDefinition =
+        new WorkflowDefinition(
+            "test_workflow_definition_" + randomId(),
+            1,
+            workflowDefinitionCategory.getId(),
+            null,
+            "Test Workflow Definition",
+            "Test Workflow Definition Description",
+            workflowEngine.getId(),
+            false,
+            null,
+            null,
+            ValidationSchemaType.JSON,
+            ResourceUtil.getStringClasspathResource("TestData.schema.json"),
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null);
+
+    workflowDefinition.addDocumentDefinition(
+        documentDefinition.getId(), false, false, false, false);
+
+    workflowService.createWorkflowDefinition(workflowDefinition);
+
+    // Initiate the workflow
+    TestWorkflowData testWorkflowData =
+        new TestWorkflowData(
+            UUID.randomUUID(),
+            "This is name " + randomId(),
+            LocalDate.of(1976, 3, 7),
+            new BigDecimal("1234.56"),
+            ApplicationClock.offsetNow());
+
+    InitiateWorkflowRequest initiateWorkflowRequest =
+        new InitiateWorkflowRequest(
+            workflowDefinition.getId(),
+            null,
+            UUID.randomUUID(),
+            false,
+            null,
+            null,
+            List.of(),
+            List.of(),
+            List.of(),
+            List.of(),
+            objectMapper.writeValueAsString(testWorkflowData));
+
+    UUID workflowId =
+        workflowService
+            .initiateWorkflow(TenantUtil.DEFAULT_TENANT_ID, initiateWorkflowRequest, "TEST1")
+            .getId();
+
+    // Request the workflow documents and wait for the resulting events to be processed
+    UUID workflowDocumentId =
+        workflowService.requestWorkflowDocument(
+            TenantUtil.DEFAULT_TENANT_ID,
+            new RequestWorkflowDocumentRequest(workflowId, documentDefinition.getId()),
+            "TEST1");
+
+    UUID anotherWorkflowDocumentId =
+        workflowService.requestWorkflowDocument(
+            TenantUtil.DEFAULT_TENANT_ID,
+            new RequestWorkflowDocumentRequest(workflowId, documentDefinition.getId()),
+            "TEST1");
+
+    waitForProcessedEvents(workflowDocumentId);
+    waitForProcessedEvents(anotherWorkflowDocumentId);
+
+    TestWorkflowEngineConnector workflowEngineConnector =
+        (TestWorkflowEngineConnector)
+            workflowService.getWorkflowEngineConnector(workflowEngine.getId());
+
+    workflowEngineConnector.getWorkflowDocumentEventBatches().clear();
+
+    // Queue events for both workflow documents without triggering their processing
+    Event event =
+        new Event(
+            TenantUtil.DEFAULT_TENANT_ID,
+            ObjectType.WORKFLOW_DOCUMENT,
+            workflowDocumentId,
+            EventType.WORKFLOW_DOCUMENT_PROVIDED,
+            ApplicationClock.offsetNow(),
+            "TEST1");
+
+    Event anotherEvent =
+        new Event(
+            TenantUtil.DEFAULT_TENANT_ID,
+            ObjectType.WORKFLOW_DOCUMENT,
+            anotherWorkflowDocumentId,
+            EventType.WORKFLOW_DOCUMENT_PROVIDED,
+            ApplicationClock.offsetNow().plusSeconds(1),
+            "TEST1");
+
+    Event yetAnotherEvent =
+        new Event(
+            TenantUtil.DEFAULT_TENANT_ID,
+            ObjectType.WORKFLOW_DOCUMENT,
+            workflowDocumentId,
+            EventType.WORKFLOW_DOCUMENT_VERIFIED,
+            ApplicationClock.offsetNow().plusSeconds(2),
+            "TEST1");
+
+    // The first event is processed as if it had been locked by the Background Event Processor
+    event.setStatus(EventStatus.PROCESSING);
+
+    eventRepository.saveAllAndFlush(List.of(event, anotherEvent, yetAnotherEvent));
+
+    eventService.processEvent(event);
+
+    // The other queued events for the workflow are included in the same connector call
+    assertEquals(
+        List.of(List.of(event.getId(), anotherEvent.getId(), yetAnotherEvent.getId())),
+        workflowEngineConnector.getWorkflowDocumentEventBatches());
+
+    for (UUID eventId : List.of(anotherEvent.getId(), yetAnotherEvent.getId())) {
+      Event retrievedEvent = eventRepository.findById(eventId).orElseThrow();
+
+      assertEquals(EventStatus.PROCESSED, retrievedEvent.getStatus());
+      assertEquals(1, retrievedEvent.getProcessingAttempts());
+      assertNotNull(retrievedEvent.getProcessed());
+      assertNull(retrievedEvent.getLockName());
+    }
+
+    // Delete the workflow
+    workflowService.deleteWorkflow(TenantUtil.DEFAULT_TENANT_ID, workflowId);
+
+    // Delete the workflow definition
+    workflowService.deleteWorkflowDefinition(workflowDefinition.getId());
+
+    // Delete the workflow definition category
+    workflowService.deleteWorkflowDefinitionCategory(workflowDefinitionCategory.getId());
+
+    // Delete the document definition
+    documentService.deleteDocumentDefinition(documentDefinition.getId());
+
+    // Delete the document definition category
+    documentService.deleteDocumentDefinitionCategory(documentDefinitionCategory.getId());
+
+    // Delete the workflow engine
+    workflowService.deleteWorkflowEngine(workflowEngine.getId());
+  }
+
+  /**
+   * Test that the routing contexts for workflow documents are cached and evicted when the
+   * transactions that delete the workflow documents or workflows commit.
+   */
+  @Test
+  public void workflowRoutingContextCacheTest() throws Exception {
+    // Create the workflow engine
+    WorkflowEngine workflowEngine =
+        new WorkflowEngine(
+            "test_routing_workflow_engine_" + randomId(),
+            "Test Routing Workflow Engine",
+            "digital.inception.operations.test.TestWorkflowEngineConnector",
+            List.of());
+
+    workflowService.createWorkflowEngine(workflowEngine);
+
+    // Create the document definition category
+    DocumentDefinitionCategory documentDefinitionCategory =
+        new DocumentDefinitionCategory(
+            "test_document_definition_category_" + randomId(), "Test Document Definition Category");
+
+    documentService.createDocumentDefinitionCategory(documentDefinitionCategory);
+
+    // Create the document definition
+    DocumentDefinition documentDefinition =
+        new DocumentDefinition(
+            "test_document_definition_" + randomId(),
+            documentDefinitionCategory.getId(),
+            TenantUtil.DEFAULT_TENANT_ID,
+            "Test Document Definition",
+            null,
+            null,
+            null,
+            null);
+
+    documentService.createDocumentDefinition(documentDefinition);
+
+    // Create the workflow definition category
+    WorkflowDefinitionCategory workflowDefinitionCategory =
+        new WorkflowDefinitionCategory(
+            "test_workflow_definition_category_" + randomId(), "Test Workflow Definition Category");
+
+    workflowService.createWorkflowDefinitionCategory(workflowDefinitionCategory);
+
+    // Create the workflow definition
+    WorkflowDefinition workflowDefinition =
+        new WorkflowDefinition(
+            "test_workflow_definition_" + randomId(),
+            1,
+            workflowDefinitionCategory.getId(),
+            null,
+            "Test Workflow Definition",
+            "Test Workflow Definition Description",
+            workflowEngine.getId(),
+            false,
+            null,
+            null,
+            ValidationSchemaType.JSON,
+            ResourceUtil.getStringClasspathResource("TestData.schema.json"),
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null);
+
+    workflowDefinition.addDocumentDefinition(
+        documentDefinition.getId(), false, false, false, false);
+
+    workflowService.createWorkflowDefinition(workflowDefinition);
+
+    // Initiate the workflow
+    TestWorkflowData testWorkflowData =
+        new TestWorkflowData(
+            UUID.randomUUID(),
+            "This is name " + randomId(),
+            LocalDate.of(1976, 3, 7),
+            new BigDecimal("1234.56"),
+            ApplicationClock.offsetNow());
+
+    InitiateWorkflowRequest initiateWorkflowRequest =
+        new InitiateWorkflowRequest(
+            workflowDefinition.getId(),
+            null,
+            UUID.randomUUID(),
+            false,
+            null,
+            null,
+            List.of(),
+            List.of(),
+            List.of(),
+            List.of(),
+            objectMapper.writeValueAsString(testWorkflowData));
+
+    UUID workflowId =
+        workflowService
+            .initiateWorkflow(TenantUtil.DEFAULT_TENANT_ID, initiateWorkflowRequest, "TEST1")
+            .getId();
+
+    // Request the workflow documents and wait for the resulting events to be processed
+    UUID workflowDocumentId =
+        workflowService.requestWorkflowDocument(
+            TenantUtil.DEFAULT_TENANT_ID,
+            new RequestWorkflowDocumentRequest(workflowId, documentDefinition.getId()),
+            "TEST1");
+
+    UUID anotherWorkflowDocumentId =
+        workflowService.requestWorkflowDocument(
+            TenantUtil.DEFAULT_TENANT_ID,
+            new RequestWorkflowDocumentRequest(workflowId, documentDefinition.getId()),
+            "TEST1");
+
+    waitForProcessedEvents(workflowDocumentId);
+    waitForProcessedEvents(anotherWorkflowDocumentId);
+
+    Cache cache = cacheManager.getCache(WorkflowRoutingContextCache.CACHE_NAME);
+
+    assertNotNull(cache);
+
+    // Retrieve and cache the routing contexts
+    for (UUID id : List.of(workflowDocumentId, anotherWorkflowDocumentId)) {
+      WorkflowRoutingContext workflowRoutingContext =
+          workflowRoutingContextCache
+              .getWorkflowRoutingContext(TenantUtil.DEFAULT_TENANT_ID, id)
+              .orElseThrow();
+
+      assertEquals(workflowId, workflowRoutingContext.getWorkflowId());
+      assertEquals(workflowDefinition.getId(), workflowRoutingContext.getDefinitionId());
+      assertEquals(workflowEngine.getId(), workflowRoutingContext.getEngineId());
+      assertNotNull(workflowRoutingContext.getEngineInstanceId());
+
+      assertNotNull(cache.get(id, WorkflowRoutingContext.class));
+    }
+
+    // A cached routing context is not returned for another tenant
+    assertTrue(
+        workflowRoutingContextCache
+            .getWorkflowRoutingContext(UUID.randomUUID(), workflowDocumentId)
+            .isEmpty());
+
+    TransactionTemplate transactionTemplate = new TransactionTemplate(platformTransactionManager);
+
+    // The routing context is not evicted if the transaction rolls back
+    transactionTemplate.executeWithoutResult(
+        transactionStatus -> {
+          workflowRoutingContextCache.evictWorkflowDocument(workflowDocumentId);
+
+          transactionStatus.setRollbackOnly();
+        });
+
+    assertNotNull(cache.get(workflowDocumentId, WorkflowRoutingContext.class));
+
+    // The routing context is only evicted once the transaction commits
+    transactionTemplate.executeWithoutResult(
+        transactionStatus -> {
+          workflowRoutingContextCache.evictWorkflowDocument(workflowDocumentId);
+
+          assertNotNull(cache.get(workflowDocumentId, WorkflowRoutingContext.class));
+        });
+
+    assertNull(cache.get(workflowDocumentId, WorkflowRoutingContext.class));
+
+    // Deleting the workflow evicts the routing contexts for all its workflow documents
+    workflowRoutingContextCache.getWorkflowRoutingContext(
+        TenantUtil.DEFAULT_TENANT_ID, workflowDocumentId);
+
+    assertNotNull(cache.get(workflowDocumentId, WorkflowRoutingContext.class));
+
+    workflowService.deleteWorkflow(TenantUtil.DEFAULT_TENANT_ID, workflowId);
+
+    assertNull(cache.get(workflowDocumentId, WorkflowRoutingContext.class));
+    assertNull(cache.get(anotherWorkflowDocumentId, WorkflowRoutingContext.class));
+
+    assertTrue(
+        workflowRoutingContextCache
+            .getWorkflowRoutingContext(TenantUtil.DEFAULT_TENANT_ID, workflowDocumentId)
+            .isEmpty());
+
+    // Delete the workflow definition
+    workflowService.deleteWorkflowDefinition(workflowDefinition.getId());
+
+    // Delete the workflow definition category
+    workflowService.deleteWorkflowDefinitionCategory(workflowDefinitionCategory.getId());
+
+    // Delete the document definition
+    documentService.deleteDocumentDefinition(documentDefinition.getId());
+
+    // Delete the document definition category
+    documentService.deleteDocumentDefinitionCategory(documentDefinitionCategory.getId());
+
+    // Delete the workflow engine
+    workflowService.deleteWorkflowEngine(workflowEngine.getId());
+  }
+
+  private void waitForProcessedEvents(UUID workflowDocumentId) throws Exception {
+    for (int i = 0; i < 1200; i++) {
+      if (eventService
+          .getEventsForObject(
+              TenantUtil.DEFAULT_TENANT_ID, ObjectType.WORKFLOW_DOCUMENT, workflowDocumentId)
+          .stream()
+          .allMatch(event -> event.getStatus() == EventStatus.PROCESSED)) {
+        return;
+      }
+
+      Thread.sleep(100);
+    }
+
+    fail("Timed out waiting for the events for the workflow document (" + workflowDocumentId + ")");
+  }
+
+  private String randomId() {
+    return String.format("%04X", secureRandom.nextInt(0x10000));
+  }
+}
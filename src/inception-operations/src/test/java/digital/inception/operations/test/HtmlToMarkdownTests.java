@@ -0,0 +1,173 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package digital.inception.operations.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import digital.inception.core.util.ResourceUtil;
+import digital.inception.operations.util.HtmlToMarkdown;
+import digital.inception.operations.util.HtmlTooLargeException;
+import digital.inception.operations.util.StreamingHtmlToMarkdown;
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The {@code HtmlToMarkdownTests} class contains the tests for the HTML to Markdown converters.
+ *
+ * @author Marcus Portmann
+ */
+public class HtmlToMarkdownTests {
+
+  /** The HTML email messages in the golden test corpus. */
+  private static final List<String> GOLDEN_CORPUS_RESOURCES =
+      List.of(
+          "OriginalGmailHtmlMessage.html",
+          "OriginalOutlookHtmlMessage.html",
+          "OutlookHtmlMessageWithImage.html",
+          "RespondedMacOsMailHtmlMessage.html",
+          "RespondedOutlookHtmlMessage.html",
+          "RespondedOutlookHtmlMessageWithImage.html");
+
+  /** The HTML fragments that exercise the edge cases for the converters. */
+  private static final List<String> GOLDEN_CORPUS_FRAGMENTS =
+      List.of(
+          "<html><body><p>Hello <b>World</b></p></body></html>",
+          "<html><body><p></p><p>&nbsp;</p><div>&nbsp;</div><span>&#xa0;</span></body></html>",
+          "<html><head><title>Title</title><style>p {}</style></head><body>Text<div><p>Para</p>"
+              + "</div></body></html>",
+          "<html><body><a href=\"https://example.com\">Link <b>bold</b></a> text</body></html>",
+          "<html><body><a>outer <a href=\"x\">inner</a> tail</a> after</body></html>",
+          "<a href=\"javascript:alert(1)\">Script</a> <a href=\"mailto:a@example.com\">Mail</a>",
+          "<html><body><p>Para <a href=\"x\">link</a> <i>italic</i></p>text</body></html>",
+          "text before<table><tr><td>1</td><th><b>2</b></th></tr></table>after",
+          "<html><body><ul><li>One<li>Two</ul><ol><li>Three</li></ol>",
+          "<div>First</div><!-- comment --><div>Second &amp; <u>third</u></div>",
+          "<h1>H1</h1><h2>H2</h2><h3>H3</h3><h4>H4</h4><h5>H5</h5><h6>H6</h6><br/><em>em</em>",
+          "<html><body><blockquote><p>Quoted<p>Unclosed</blockquote></body>",
+          "<div><div><div><span>“Quoted”</span></div></div></div>",
+          "<div><font><div>Only <b>child</b></div></font></div><div><br></div>",
+          "<div><span><br></span></div><div style=\"border-top:solid\">Styled</div>",
+          "<div><b>Bold</b>\n<div>After</div>\n<div><p>One</p><p>Two</p></div></div><p>Unclosed");
+
+  /** Test that elements nested beyond the maximum depth are discarded. */
+  @Test
+  public void depthLimitTest() {
+    String html =
+        "<html><body>" + "<div>".repeat(100) + "Deep" + "</div>".repeat(100) + "</body></html>";
+
+    String markdown =
+        StreamingHtmlToMarkdown.convertToMarkdown(html, Integer.MAX_VALUE, 10, 100000);
+
+    assertFalse(markdown.contains("Deep"));
+
+    assertEquals(
+        HtmlToMarkdown.convertToMarkdown(html), StreamingHtmlToMarkdown.convertToMarkdown(html));
+  }
+
+  /**
+   * Test that the streaming converter produces output identical to the DOM-based converter for the
+   * golden test corpus.
+   */
+  @Test
+  public void goldenCorpusTest() {
+    for (String resource : GOLDEN_CORPUS_RESOURCES) {
+      String html = ResourceUtil.getStringClasspathResource(resource);
+
+      assertEquals(
+          HtmlToMarkdown.convertToMarkdown(html),
+          StreamingHtmlToMarkdown.convertToMarkdown(html),
+          "The Markdown for the resource (" + resource + ") does not match");
+    }
+
+    for (String html : GOLDEN_CORPUS_FRAGMENTS) {
+      assertEquals(
+          HtmlToMarkdown.convertToMarkdown(html),
+          StreamingHtmlToMarkdown.convertToMarkdown(html),
+          "The Markdown for the fragment (" + html + ") does not match");
+    }
+  }
+
+  /** Test that HTML that exceeds the maximum input length is rejected. */
+  @Test
+  public void inputLimitTest() {
+    String html = "<div>First</div><div>Second</div>";
+
+    assertEquals(
+        "First  " + System.lineSeparator() + "Second",
+        StreamingHtmlToMarkdown.convertToMarkdown(html + "<br>", html.length() + 4, 512, 100000));
+
+    assertThrows(
+        HtmlTooLargeException.class,
+        () -> StreamingHtmlToMarkdown.convertToMarkdown(html, html.length() - 1, 512, 100000));
+
+    assertThrows(
+        HtmlTooLargeException.class,
+        () ->
+            StreamingHtmlToMarkdown.convertToMarkdown(
+                new StringReader(html), html.length() - 1, 512, 100000));
+  }
+
+  /** Test that the Markdown is truncated to the maximum output length. */
+  @Test
+  public void outputLimitTest() {
+    String html = "<html><body>" + "<p>0123456789</p>".repeat(1000) + "</body></html>";
+
+    String markdown = StreamingHtmlToMarkdown.convertToMarkdown(html, Integer.MAX_VALUE, 512, 1000);
+
+    assertEquals(1000, markdown.length());
+    assertTrue(HtmlToMarkdown.convertToMarkdown(html).startsWith(markdown));
+  }
+
+  /**
+   * Test that converting HTML supplied by a reader produces the same output as converting the HTML
+   * supplied as a string, including when the reader returns the HTML in small chunks.
+   */
+  @Test
+  public void readerTest() {
+    for (String resource : GOLDEN_CORPUS_RESOURCES) {
+      String html = ResourceUtil.getStringClasspathResource(resource);
+
+      assertEquals(
+          StreamingHtmlToMarkdown.convertToMarkdown(html),
+          StreamingHtmlToMarkdown.convertToMarkdown(new StringReader(html)),
+          "The Markdown for the resource (" + resource + ") does not match");
+    }
+
+    for (String html : GOLDEN_CORPUS_FRAGMENTS) {
+      Reader chunkedReader =
+          new FilterReader(new StringReader(html)) {
+            @Override
+            public int read(char[] buffer, int offset, int count) throws IOException {
+              return super.read(buffer, offset, Math.min(count, 3));
+            }
+          };
+
+      assertEquals(
+          StreamingHtmlToMarkdown.convertToMarkdown(html),
+          StreamingHtmlToMarkdown.convertToMarkdown(chunkedReader),
+          "The Markdown for the fragment (" + html + ") does not match");
+    }
+  }
+}
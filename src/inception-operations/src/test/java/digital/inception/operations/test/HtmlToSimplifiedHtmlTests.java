@@ -0,0 +1,177 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package digital.inception.operations.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import digital.inception.core.util.ResourceUtil;
+import digital.inception.operations.util.HtmlToSimplifiedHtml;
+import digital.inception.operations.util.HtmlTooLargeException;
+import digital.inception.operations.util.StreamingHtmlToSimplifiedHtml;
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The {@code HtmlToSimplifiedHtmlTests} class contains the tests for the HTML to simplified HTML
+ * converters.
+ *
+ * @author Marcus Portmann
+ */
+public class HtmlToSimplifiedHtmlTests {
+
+  /** The HTML email messages in the golden test corpus. */
+  private static final List<String> GOLDEN_CORPUS_RESOURCES =
+      List.of(
+          "OriginalGmailHtmlMessage.html",
+          "OriginalOutlookHtmlMessage.html",
+          "OutlookHtmlMessageWithImage.html",
+          "RespondedMacOsMailHtmlMessage.html",
+          "RespondedOutlookHtmlMessage.html",
+          "RespondedOutlookHtmlMessageWithImage.html");
+
+  /** The HTML fragments that exercise the edge cases for the converters. */
+  private static final List<String> GOLDEN_CORPUS_FRAGMENTS =
+      List.of(
+          "<html><body><p>Hello <b>World</b></p></body></html>",
+          "<html><body><p></p><p>&nbsp;</p><div>&nbsp;</div><span>&#xa0;</span></body></html>",
+          "<html><body><div><html><body><p>Nested</p></body></html></div>"
+              + "<p>After</p></body></html>",
+          "<html><body><a href=\"https://example.com\">Link <b>bold</b></a> text</body></html>",
+          "<html><body><a>outer <a href=\"x\">inner</a> tail</a> after</body></html>",
+          "<html><body><p>Para <a href=\"x\">link</a> <i>italic</i></p>text</body></html>",
+          "text before<html><body><table><tr><td>1</td><th>2</th></tr></table></body></html>after",
+          "<html><body><ul><li>One<li>Two</ul><ol><li>Three</li></ol>",
+          "<div>First</div><!-- comment --><div>Second &amp; <u>third</u></div>",
+          "<html><body><![CDATA[<not a tag>]]><h1>H1</h1><h6>H6</h6><br/><em>em</em></body></html>",
+          "<html><body><blockquote><p>Quoted<p>Unclosed</blockquote></body>",
+          "<HTML><BODY><P>Upper case</P><DIV>div</DIV></BODY></HTML>",
+          "<html><body><div><div><div><span>“Quoted”</span></div></div></div></body></html>");
+
+  /** Test that elements nested beyond the maximum depth are discarded. */
+  @Test
+  public void depthLimitTest() {
+    String html =
+        "<html><body>" + "<div>".repeat(100) + "Deep" + "</div>".repeat(100) + "</body></html>";
+
+    String simplifiedHtml =
+        StreamingHtmlToSimplifiedHtml.convertToSimplifiedHtml(html, Integer.MAX_VALUE, 10, 100000);
+
+    assertFalse(simplifiedHtml.contains("Deep"));
+    assertTrue(simplifiedHtml.startsWith("<html><body><div>"));
+    assertTrue(simplifiedHtml.endsWith("</div></body></html>"));
+
+    assertEquals(
+        HtmlToSimplifiedHtml.convertToSimplifiedHtml(html),
+        StreamingHtmlToSimplifiedHtml.convertToSimplifiedHtml(html));
+  }
+
+  /**
+   * Test that the streaming converter produces output identical to the DOM-based converter for the
+   * golden test corpus.
+   */
+  @Test
+  public void goldenCorpusTest() {
+    for (String resource : GOLDEN_CORPUS_RESOURCES) {
+      String html = ResourceUtil.getStringClasspathResource(resource);
+
+      assertEquals(
+          HtmlToSimplifiedHtml.convertToSimplifiedHtml(html),
+          StreamingHtmlToSimplifiedHtml.convertToSimplifiedHtml(html),
+          "The simplified HTML for the resource (" + resource + ") does not match");
+    }
+
+    for (String html : GOLDEN_CORPUS_FRAGMENTS) {
+      assertEquals(
+          HtmlToSimplifiedHtml.convertToSimplifiedHtml(html),
+          StreamingHtmlToSimplifiedHtml.convertToSimplifiedHtml(html),
+          "The simplified HTML for the fragment (" + html + ") does not match");
+    }
+  }
+
+  /** Test that HTML that exceeds the maximum input length is rejected. */
+  @Test
+  public void inputLimitTest() {
+    String html = "<div>First</div><div>Second</div>";
+
+    assertEquals(
+        "<div>First</div><div>Second</div>",
+        StreamingHtmlToSimplifiedHtml.convertToSimplifiedHtml(html, html.length(), 512, 100000));
+
+    assertThrows(
+        HtmlTooLargeException.class,
+        () ->
+            StreamingHtmlToSimplifiedHtml.convertToSimplifiedHtml(
+                html, html.length() - 1, 512, 100000));
+
+    assertThrows(
+        HtmlTooLargeException.class,
+        () ->
+            StreamingHtmlToSimplifiedHtml.convertToSimplifiedHtml(
+                new StringReader(html), html.length() - 1, 512, 100000));
+  }
+
+  /** Test that the simplified HTML is truncated at a tag or text boundary. */
+  @Test
+  public void outputLimitTest() {
+    String html = "<html><body>" + "<div>0123456789</div>".repeat(1000) + "</body></html>";
+
+    String simplifiedHtml =
+        StreamingHtmlToSimplifiedHtml.convertToSimplifiedHtml(html, Integer.MAX_VALUE, 512, 1000);
+
+    assertTrue(simplifiedHtml.length() <= 1000);
+    assertTrue(simplifiedHtml.startsWith("<html><body><div>0123456789</div>"));
+    assertTrue(simplifiedHtml.endsWith(">") || simplifiedHtml.endsWith("0123456789"));
+  }
+
+  /**
+   * Test that converting HTML supplied by a reader produces the same output as converting the HTML
+   * supplied as a string, including when the reader returns the HTML in small chunks.
+   */
+  @Test
+  public void readerTest() {
+    for (String resource : GOLDEN_CORPUS_RESOURCES) {
+      String html = ResourceUtil.getStringClasspathResource(resource);
+
+      assertEquals(
+          StreamingHtmlToSimplifiedHtml.convertToSimplifiedHtml(html),
+          StreamingHtmlToSimplifiedHtml.convertToSimplifiedHtml(new StringReader(html)),
+          "The simplified HTML for the resource (" + resource + ") does not match");
+    }
+
+    for (String html : GOLDEN_CORPUS_FRAGMENTS) {
+      Reader chunkedReader =
+          new FilterReader(new StringReader(html)) {
+            @Override
+            public int read(char[] buffer, int offset, int count) throws IOException {
+              return super.read(buffer, offset, Math.min(count, 3));
+            }
+          };
+
+      assertEquals(
+          StreamingHtmlToSimplifiedHtml.convertToSimplifiedHtml(html),
+          StreamingHtmlToSimplifiedHtml.convertToSimplifiedHtml(chunkedReader),
+          "The simplified HTML for the fragment (" + html + ") does not match");
+    }
+  }
+}
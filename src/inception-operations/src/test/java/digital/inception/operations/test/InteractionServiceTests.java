@@ -28,6 +28,7 @@ import com.icegreen.greenmail.util.GreenMail;
 import com.icegreen.greenmail.util.ServerSetupTest;
 import digital.inception.core.file.FileType;
 import digital.inception.core.sorting.SortDirection;
+import digital.inception.core.time.ApplicationClock;
 import digital.inception.core.util.MimeData;
 import digital.inception.core.util.ResourceUtil;
 import digital.inception.core.util.StringUtil;
@@ -41,6 +42,7 @@ import digital.inception.operations.model.CreateInteractionNoteRequest;
 import digital.inception.operations.model.Interaction;
 import digital.inception.operations.model.InteractionAttachment;
 import digital.inception.operations.model.InteractionAttachmentSummaries;
+import digital.inception.operations.model.InteractionAttachmentSummary;
 import digital.inception.operations.model.InteractionDirection;
 import digital.inception.operations.model.InteractionMimeType;
 import digital.inception.operations.model.InteractionNote;
@@ -55,13 +57,16 @@ import digital.inception.operations.model.InteractionSourcePermission;
 import digital.inception.operations.model.InteractionSourceType;
 import digital.inception.operations.model.InteractionStatus;
 import digital.inception.operations.model.InteractionSummaries;
+import digital.inception.operations.model.InteractionSummary;
 import digital.inception.operations.model.InteractionType;
+import digital.inception.operations.model.MailboxInteractionSourceAttributeName;
 import digital.inception.operations.model.MailboxProtocol;
 import digital.inception.operations.model.SearchInteractionsRequest;
 import digital.inception.operations.model.TransferInteractionRequest;
 import digital.inception.operations.model.UpdateInteractionNoteRequest;
 import digital.inception.operations.service.BackgroundInteractionSourceSynchronizer;
 import digital.inception.operations.service.InteractionService;
+import digital.inception.operations.store.BlobStore;
 import digital.inception.operations.util.MessageUtil;
 import digital.inception.test.InceptionExtension;
 import digital.inception.test.TestConfiguration;
@@ -70,8 +75,14 @@ import jakarta.mail.Message;
 import jakarta.mail.Session;
 import jakarta.mail.Store;
 import jakarta.mail.Transport;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeBodyPart;
+import jakarta.mail.internet.MimeMessage;
+import jakarta.mail.internet.MimeMultipart;
 import java.nio.charset.StandardCharsets;
 import java.security.SecureRandom;
+import java.time.OffsetDateTime;
+import java.util.Date;
 import java.util.List;
 import java.util.Objects;
 import java.util.Properties;
@@ -115,6 +126,8 @@ public class InteractionServiceTests {
 
   private static final String FROM_NAME = "Bob Smith";
 
+  private static final int MAX_EMAIL_HTML_CONTENT_LENGTH = 1048576;
+
   private static final String TO_EMAIL_ADDRESS = "service@fitlife.com";
 
   private static final String TO_NAME = "FitLife Customer Service";
@@ -130,6 +143,9 @@ public class InteractionServiceTests {
   @Autowired
   private BackgroundInteractionSourceSynchronizer backgroundInteractionSourceSynchronizer;
 
+  /** The Blob Store. */
+  @Autowired private BlobStore blobStore;
+
   private GreenMail greenMail;
 
   /** The Interaction Service. */
@@ -205,6 +221,95 @@ public class InteractionServiceTests {
     store.close();
   }
 
+  /**
+   * Test the incremental synchronization of a mailbox interaction source.
+   *
+   * <p>The number of messages delivered to the mailbox can be increased using the
+   * "inception.operations.test.mailbox-size" system property, e.g. to 10000, to benchmark the
+   * synchronization of large mailboxes against the in-process GreenMail IMAP server.
+   */
+  @Test
+  public void incrementalMailboxSynchronizationTest() throws Exception {
+    int mailboxSize = Integer.getInteger("inception.operations.test.mailbox-size", 25);
+
+    InteractionSource mailboxInteractionSource =
+        InteractionSource.createMailboxInteractionSource(
+            UUID.randomUUID(),
+            TenantUtil.DEFAULT_TENANT_ID,
+            "FitLife Customer Service Mailbox",
+            true,
+            ENABLE_GREEN_MAIL_SECURITY ? MailboxProtocol.STANDARD_IMAPS : MailboxProtocol.STANDARD_IMAP,
+            "localhost",
+            ENABLE_GREEN_MAIL_SECURITY ? 3993 : 3143,
+            TO_USERNAME,
+            TO_PASSWORD,
+            TO_EMAIL_ADDRESS,
+            false,
+            false,
+            false);
+
+    mailboxInteractionSource.addAttribute(
+        new InteractionSourceAttribute(
+            MailboxInteractionSourceAttributeName.INCREMENTAL_SYNCHRONIZATION.code(), "true"));
+
+    interactionService.createInteractionSource(
+        TenantUtil.DEFAULT_TENANT_ID, mailboxInteractionSource);
+
+    GreenMailUser greenMailUser = greenMail.getUserManager().getUser(TO_USERNAME);
+
+    for (int i = 0; i < mailboxSize; i++) {
+      greenMailUser.deliver(createTestMessage("Test Message " + (i + 1)));
+    }
+
+    assertEquals(
+        mailboxSize, interactionService.synchronizeInteractionSource(mailboxInteractionSource));
+
+    // Only the messages delivered since the last synchronization should be retrieved
+    assertEquals(0, interactionService.synchronizeInteractionSource(mailboxInteractionSource));
+
+    greenMailUser.deliver(createTestMessage("Another Test Message"));
+
+    assertEquals(1, interactionService.synchronizeInteractionSource(mailboxInteractionSource));
+
+    InteractionSummaries retrievedInteractionSummaries =
+        interactionService.getInteractionSummaries(
+            TenantUtil.DEFAULT_TENANT_ID,
+            mailboxInteractionSource.getId(),
+            null,
+            null,
+            null,
+            null,
+            null,
+            0,
+            1);
+
+    assertEquals(mailboxSize + 1, retrievedInteractionSummaries.getTotal());
+
+    // Delete the synchronized interactions before deleting the interaction source
+    do {
+      retrievedInteractionSummaries =
+          interactionService.getInteractionSummaries(
+              TenantUtil.DEFAULT_TENANT_ID,
+              mailboxInteractionSource.getId(),
+              null,
+              null,
+              null,
+              null,
+              null,
+              0,
+              100);
+
+      for (InteractionSummary interactionSummary :
+          retrievedInteractionSummaries.getInteractionSummaries()) {
+        interactionService.deleteInteraction(
+            TenantUtil.DEFAULT_TENANT_ID, interactionSummary.getId());
+      }
+    } while (!retrievedInteractionSummaries.getInteractionSummaries().isEmpty());
+
+    interactionService.deleteInteractionSource(
+        TenantUtil.DEFAULT_TENANT_ID, mailboxInteractionSource.getId());
+  }
+
   /** Test the interaction functionality. */
   @Test
   public void interactionTest() throws Exception {
@@ -700,6 +805,165 @@ public class InteractionServiceTests {
                 TenantUtil.DEFAULT_TENANT_ID, mailboxInteractionSource.getId()));
   }
 
+  /**
+   * Test that synchronizing a mailbox again does not ingest the messages, or store the attachments
+   * for the messages, for the interactions that already exist.
+   */
+  @Test
+  public void mailboxResynchronizationTest() throws Exception {
+    InteractionSource mailboxInteractionSource =
+        InteractionSource.createMailboxInteractionSource(
+            UUID.randomUUID(),
+            TenantUtil.DEFAULT_TENANT_ID,
+            "FitLife Customer Service Mailbox",
+            true,
+            ENABLE_GREEN_MAIL_SECURITY ? MailboxProtocol.STANDARD_IMAPS : MailboxProtocol.STANDARD_IMAP,
+            "localhost",
+            ENABLE_GREEN_MAIL_SECURITY ? 3993 : 3143,
+            TO_USERNAME,
+            TO_PASSWORD,
+            TO_EMAIL_ADDRESS,
+            false,
+            false,
+            false);
+
+    interactionService.createInteractionSource(
+        TenantUtil.DEFAULT_TENANT_ID, mailboxInteractionSource);
+
+    greenMail
+        .getUserManager()
+        .getUser(TO_USERNAME)
+        .deliver(
+            (MimeMessage)
+                OperationsTestUtil.getOriginalOutlookHTMLMessageWithEmbeddedImage(
+                    greenMail.getSmtp().createSession(),
+                    FROM_EMAIL_ADDRESS,
+                    FROM_NAME,
+                    TO_EMAIL_ADDRESS,
+                    TO_NAME));
+
+    assertEquals(1, interactionService.synchronizeInteractionSource(mailboxInteractionSource));
+
+    InteractionSummaries retrievedInteractionSummaries =
+        interactionService.getInteractionSummaries(
+            TenantUtil.DEFAULT_TENANT_ID,
+            mailboxInteractionSource.getId(),
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null);
+
+    UUID retrievedInteractionId =
+        retrievedInteractionSummaries.getInteractionSummaries().getFirst().getId();
+
+    List<String> interactionAttachmentHashes =
+        interactionService
+            .getInteractionAttachmentSummaries(
+                TenantUtil.DEFAULT_TENANT_ID, retrievedInteractionId, null, null, null, null, null)
+            .getInteractionAttachmentSummaries()
+            .stream()
+            .map(InteractionAttachmentSummary::getHash)
+            .toList();
+
+    assertEquals(10, interactionAttachmentHashes.size());
+
+    Thread.sleep(10);
+
+    OffsetDateTime firstSynchronized = ApplicationClock.offsetNow();
+
+    // The message is still in the INBOX, since it was neither archived nor deleted
+    assertEquals(0, interactionService.synchronizeInteractionSource(mailboxInteractionSource));
+
+    assertEquals(
+        10,
+        interactionService
+            .getInteractionAttachmentSummaries(
+                TenantUtil.DEFAULT_TENANT_ID, retrievedInteractionId, null, null, null, null, null)
+            .getInteractionAttachmentSummaries()
+            .size());
+
+    // The blobs for the attachments must not have been stored again
+    assertTrue(
+        blobStore
+            .getBlobHashes(firstSynchronized, null, 1000)
+            .containsAll(interactionAttachmentHashes),
+        "The blobs for the attachments for the existing interaction were stored again");
+
+    interactionService.deleteInteraction(TenantUtil.DEFAULT_TENANT_ID, retrievedInteractionId);
+
+    interactionService.deleteInteractionSource(
+        TenantUtil.DEFAULT_TENANT_ID, mailboxInteractionSource.getId());
+  }
+
+  /**
+   * Test that synchronizing a mailbox containing a message whose HTML content exceeds the maximum
+   * length of the HTML that is converted falls back to the plain text content for the message and
+   * continues with the remaining messages.
+   */
+  @Test
+  public void oversizedHtmlMessageMailboxSynchronizationTest() throws Exception {
+    InteractionSource mailboxInteractionSource =
+        InteractionSource.createMailboxInteractionSource(
+            UUID.randomUUID(),
+            TenantUtil.DEFAULT_TENANT_ID,
+            "FitLife Customer Service Mailbox",
+            true,
+            ENABLE_GREEN_MAIL_SECURITY ? MailboxProtocol.STANDARD_IMAPS : MailboxProtocol.STANDARD_IMAP,
+            "localhost",
+            ENABLE_GREEN_MAIL_SECURITY ? 3993 : 3143,
+            TO_USERNAME,
+            TO_PASSWORD,
+            TO_EMAIL_ADDRESS,
+            false,
+            false,
+            false);
+
+    interactionService.createInteractionSource(
+        TenantUtil.DEFAULT_TENANT_ID, mailboxInteractionSource);
+
+    GreenMailUser greenMailUser = greenMail.getUserManager().getUser(TO_USERNAME);
+
+    greenMailUser.deliver(createOversizedHtmlTestMessage("Oversized Test Message"));
+    greenMailUser.deliver(createTestMessage("Test Message"));
+
+    assertEquals(2, interactionService.synchronizeInteractionSource(mailboxInteractionSource));
+
+    InteractionSummaries retrievedInteractionSummaries =
+        interactionService.getInteractionSummaries(
+            TenantUtil.DEFAULT_TENANT_ID,
+            mailboxInteractionSource.getId(),
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null);
+
+    assertEquals(2, retrievedInteractionSummaries.getTotal());
+
+    for (InteractionSummary interactionSummary :
+        retrievedInteractionSummaries.getInteractionSummaries()) {
+      Interaction interaction =
+          interactionService.getInteraction(
+              TenantUtil.DEFAULT_TENANT_ID, interactionSummary.getId());
+
+      assertEquals(InteractionMimeType.TEXT_PLAIN, interaction.getMimeType());
+
+      if (interaction.getSubject().equals("Oversized Test Message")) {
+        assertEquals("This is the plain text content for the message.", interaction.getContent());
+      }
+
+      interactionService.deleteInteraction(TenantUtil.DEFAULT_TENANT_ID, interaction.getId());
+    }
+
+    interactionService.deleteInteractionSource(
+        TenantUtil.DEFAULT_TENANT_ID, mailboxInteractionSource.getId());
+  }
+
   /** Test the WhatsApp interaction source functionality. */
   @Test
   public void whatsAppInteractionSourceTest() throws Exception {
@@ -936,6 +1200,51 @@ public class InteractionServiceTests {
         "The type values for the interactions do not match");
   }
 
+  private MimeMessage createOversizedHtmlTestMessage(String subject) throws Exception {
+    MimeMultipart alternativeMultipart = new MimeMultipart("alternative");
+
+    MimeBodyPart plainTextBodyPart = new MimeBodyPart();
+    plainTextBodyPart.setText(
+        "This is the plain text content for the message.", StandardCharsets.UTF_8.name());
+    alternativeMultipart.addBodyPart(plainTextBodyPart);
+
+    /*
+     * Pad the HTML with a comment, which does not contribute to the simplified HTML, beyond the
+     * maximum length of the HTML content for an email configured in the application.yml file.
+     */
+    String paddingLine = "This line pads the HTML content for the message.\n";
+
+    MimeBodyPart htmlBodyPart = new MimeBodyPart();
+    htmlBodyPart.setContent(
+        "<html><body><p>This is the HTML content for the message.</p><!--\n"
+            + paddingLine.repeat((MAX_EMAIL_HTML_CONTENT_LENGTH / paddingLine.length()) + 1)
+            + "--></body></html>",
+        "text/html; charset=UTF-8");
+    alternativeMultipart.addBodyPart(htmlBodyPart);
+
+    MimeMessage message = new MimeMessage(greenMail.getSmtp().createSession());
+    message.setFrom(new InternetAddress(FROM_EMAIL_ADDRESS, FROM_NAME));
+    message.setRecipient(Message.RecipientType.TO, new InternetAddress(TO_EMAIL_ADDRESS, TO_NAME));
+    message.setSubject(subject);
+    message.setContent(alternativeMultipart);
+    message.setSentDate(new Date());
+    message.saveChanges();
+
+    return message;
+  }
+
+  private MimeMessage createTestMessage(String subject) throws Exception {
+    MimeMessage message = new MimeMessage(greenMail.getSmtp().createSession());
+    message.setFrom(new InternetAddress(FROM_EMAIL_ADDRESS, FROM_NAME));
+    message.setRecipient(Message.RecipientType.TO, new InternetAddress(TO_EMAIL_ADDRESS, TO_NAME));
+    message.setSubject(subject);
+    message.setText("This is a test message.", StandardCharsets.UTF_8.name());
+    message.setSentDate(new Date());
+    message.saveChanges();
+
+    return message;
+  }
+
   private InteractionSource getFitLifeCustomerServiceMailboxInteractionSource() {
     return InteractionSource.createMailboxInteractionSource(
         UUID.randomUUID(),
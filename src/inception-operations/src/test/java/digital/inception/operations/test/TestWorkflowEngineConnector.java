@@ -19,6 +19,7 @@ package digital.inception.operations.test;
 import digital.inception.operations.connector.AbstractWorkflowEngineConnectorBase;
 import digital.inception.operations.connector.WorkflowEngineConnector;
 import digital.inception.operations.connector.WorkflowEngineConnectorException;
+import digital.inception.operations.model.Event;
 import digital.inception.operations.model.EventType;
 import digital.inception.operations.model.FormDefinition;
 import digital.inception.operations.model.ValidWorkflowDefinitionAttribute;
@@ -29,8 +30,11 @@ import digital.inception.operations.model.WorkflowFormType;
 import digital.inception.operations.model.WorkflowStatus;
 import digital.inception.operations.model.WorkflowVariable;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import org.springframework.context.ApplicationContext;
 
 /**
@@ -42,6 +46,15 @@ import org.springframework.context.ApplicationContext;
 public class TestWorkflowEngineConnector extends AbstractWorkflowEngineConnectorBase
     implements WorkflowEngineConnector {
 
+  /** The IDs for the events in each request to process workflow document events. */
+  private final List<List<UUID>> workflowDocumentEventBatches = new CopyOnWriteArrayList<>();
+
+  /** The number of workflows in each request to retrieve the statuses of workflows. */
+  private final List<Integer> workflowStatusBatchSizes = new CopyOnWriteArrayList<>();
+
+  /** The statuses returned for the workflows keyed by workflow ID. */
+  private final Map<UUID, WorkflowStatus> workflowStatuses = new ConcurrentHashMap<>();
+
   /**
    * Constructs a {@code TestWorkflowEngineConnector}.
    *
@@ -97,6 +110,15 @@ public class TestWorkflowEngineConnector extends AbstractWorkflowEngineConnector
     return new byte[0];
   }
 
+  /**
+   * Returns the IDs for the events in each request to process workflow document events.
+   *
+   * @return the IDs for the events in each request to process workflow document events
+   */
+  public List<List<UUID>> getWorkflowDocumentEventBatches() {
+    return workflowDocumentEventBatches;
+  }
+
   @Override
   public WorkflowStatus getWorkflowStatus(
       WorkflowDefinition workflowDefinition,
@@ -104,7 +126,26 @@ public class TestWorkflowEngineConnector extends AbstractWorkflowEngineConnector
       UUID workflowId,
       String engineInstanceId)
       throws WorkflowEngineConnectorException {
-    return WorkflowStatus.UNKNOWN;
+    return workflowStatuses.getOrDefault(workflowId, WorkflowStatus.UNKNOWN);
+  }
+
+  /**
+   * Returns the number of workflows in each request to retrieve the statuses of workflows.
+   *
+   * @return the number of workflows in each request to retrieve the statuses of workflows
+   */
+  public List<Integer> getWorkflowStatusBatchSizes() {
+    return workflowStatusBatchSizes;
+  }
+
+  @Override
+  public Map<UUID, WorkflowStatus> getWorkflowStatuses(
+      WorkflowDefinition workflowDefinition, UUID tenantId, Map<UUID, String> engineInstanceIds)
+      throws WorkflowEngineConnectorException {
+    workflowStatusBatchSizes.add(engineInstanceIds.size());
+
+    return WorkflowEngineConnector.super.getWorkflowStatuses(
+        workflowDefinition, tenantId, engineInstanceIds);
   }
 
   @Override
@@ -130,6 +171,30 @@ public class TestWorkflowEngineConnector extends AbstractWorkflowEngineConnector
             + ")");
   }
 
+  @Override
+  public void processWorkflowDocumentEvents(
+      WorkflowDefinition workflowDefinition,
+      UUID tenantId,
+      UUID workflowId,
+      String engineInstanceId,
+      List<Event> events)
+      throws WorkflowEngineConnectorException {
+    workflowDocumentEventBatches.add(events.stream().map(Event::getId).toList());
+
+    WorkflowEngineConnector.super.processWorkflowDocumentEvents(
+        workflowDefinition, tenantId, workflowId, engineInstanceId, events);
+  }
+
+  /**
+   * Set the status returned for the workflow.
+   *
+   * @param workflowId the ID for the workflow
+   * @param workflowStatus the status returned for the workflow
+   */
+  public void setWorkflowStatus(UUID workflowId, WorkflowStatus workflowStatus) {
+    workflowStatuses.put(workflowId, workflowStatus);
+  }
+
   @Override
   public String startWorkflow(
       WorkflowDefinition workflowDefinition,
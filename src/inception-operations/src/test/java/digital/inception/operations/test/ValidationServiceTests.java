@@ -0,0 +1,264 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package digital.inception.operations.test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import digital.inception.core.exception.InvalidArgumentException;
+import digital.inception.operations.OperationsConfiguration;
+import digital.inception.operations.model.AttributeType;
+import digital.inception.operations.model.DocumentAttribute;
+import digital.inception.operations.model.DocumentAttributeDefinition;
+import digital.inception.operations.model.DocumentDefinition;
+import digital.inception.operations.model.DocumentDefinitionCategory;
+import digital.inception.operations.service.DocumentService;
+import digital.inception.operations.service.ValidationPlanCache;
+import digital.inception.operations.service.ValidationService;
+import digital.inception.test.InceptionExtension;
+import digital.inception.test.TestConfiguration;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.ConfigDataApplicationContextInitializer;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestExecutionListeners;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.context.support.DependencyInjectionTestExecutionListener;
+import org.springframework.test.context.support.DirtiesContextTestExecutionListener;
+import org.springframework.test.context.transaction.TransactionalTestExecutionListener;
+
+/**
+ * The {@code ValidationServiceTests} class contains the JUnit tests for the {@code
+ * ValidationService} class.
+ *
+ * @author Marcus Portmann
+ */
+@ExtendWith(SpringExtension.class)
+@ExtendWith(InceptionExtension.class)
+@ContextConfiguration(
+    classes = {TestConfiguration.class, OperationsConfiguration.class},
+    initializers = {ConfigDataApplicationContextInitializer.class})
+@TestExecutionListeners(
+    listeners = {
+      DependencyInjectionTestExecutionListener.class,
+      DirtiesContextTestExecutionListener.class,
+      TransactionalTestExecutionListener.class
+    })
+public class ValidationServiceTests {
+
+  /** The secure random number generator. */
+  private static final SecureRandom secureRandom = new SecureRandom();
+
+  /** The Document Service. */
+  @Autowired private DocumentService documentService;
+
+  /** The cache of the validation plans. */
+  @Autowired private ValidationPlanCache validationPlanCache;
+
+  /** The Validation Service. */
+  @Autowired private ValidationService validationService;
+
+  /**
+   * Test that the document attributes are validated using the latest version of the document
+   * definition after the document definition is updated.
+   */
+  @Test
+  public void documentAttributeValidationTest() throws Exception {
+    DocumentDefinitionCategory documentDefinitionCategory =
+        new DocumentDefinitionCategory(
+            "test_validation_document_definition_category_" + randomId(),
+            "Test Validation Document Definition Category");
+
+    documentService.createDocumentDefinitionCategory(documentDefinitionCategory);
+
+    DocumentDefinition documentDefinition =
+        new DocumentDefinition(
+            "test_validation_document_definition_" + randomId(),
+            documentDefinitionCategory.getId(),
+            null,
+            "Test Validation Document Definition",
+            "Test Validation Document Definition Short Name",
+            "The description for the test validation document definition",
+            null,
+            new ArrayList<>(
+                List.of(
+                    new DocumentAttributeDefinition(
+                        "testDocumentAttribute",
+                        AttributeType.STRING,
+                        "Test Document Attribute",
+                        "Test Document Attribute Description",
+                        true,
+                        "(?i).*value.*",
+                        null))));
+
+    documentService.createDocumentDefinition(documentDefinition);
+
+    documentDefinition = documentService.getDocumentDefinition(documentDefinition.getId());
+
+    assertTrue(
+        validationService.isValidDocumentAttribute(
+            documentDefinition, "testDocumentAttribute", "Test Value"));
+    assertFalse(
+        validationService.isValidDocumentAttribute(
+            documentDefinition, "testDocumentAttribute", "Invalid"));
+    assertFalse(
+        validationService.isValidDocumentAttribute(
+            documentDefinition, "unknownDocumentAttribute", "Test Value"));
+
+    List<DocumentAttribute> documentAttributes =
+        List.of(new DocumentAttribute("testDocumentAttribute", "Test Value"));
+
+    validationService.validateAllowedDocumentAttributes(
+        "documentAttributes", documentDefinition, documentAttributes);
+    validationService.validateRequiredDocumentAttributes(
+        "documentAttributes", documentDefinition, documentAttributes);
+
+    DocumentDefinition finalDocumentDefinition = documentDefinition;
+
+    assertThrows(
+        InvalidArgumentException.class,
+        () ->
+            validationService.validateRequiredDocumentAttributes(
+                "documentAttributes", finalDocumentDefinition, List.of()));
+
+    // Add a second required attribute and confirm that the updated definition is applied
+    documentDefinition.addAttributeDefinition(
+        new DocumentAttributeDefinition(
+            "secondTestDocumentAttribute",
+            AttributeType.STRING,
+            "Second Test Document Attribute",
+            "Second Test Document Attribute Description",
+            true,
+            null,
+            null));
+
+    documentService.updateDocumentDefinition(documentDefinition);
+
+    DocumentDefinition updatedDocumentDefinition =
+        documentService.getDocumentDefinition(documentDefinition.getId());
+
+    assertTrue(
+        validationService.isValidDocumentAttribute(
+            updatedDocumentDefinition, "secondTestDocumentAttribute", "Any Value"));
+
+    assertThrows(
+        InvalidArgumentException.class,
+        () ->
+            validationService.validateRequiredDocumentAttributes(
+                "documentAttributes", updatedDocumentDefinition, documentAttributes));
+
+    documentService.deleteDocumentDefinition(documentDefinition.getId());
+
+    documentService.deleteDocumentDefinitionCategory(documentDefinitionCategory.getId());
+  }
+
+  /**
+   * Test that a cached document attribute validation plan is not reused once the document
+   * definition it was compiled from has changed, even if the plan was not evicted, and that plans
+   * are cached by the exact document definition ID.
+   */
+  @Test
+  public void staleDocumentAttributeValidationPlanTest() throws Exception {
+    String documentDefinitionId = "test_stale_validation_document_definition_" + randomId();
+
+    DocumentDefinition documentDefinition =
+        new DocumentDefinition(
+            documentDefinitionId,
+            "test_stale_validation_document_definition_category",
+            null,
+            "Test Stale Validation Document Definition",
+            "Test Stale Validation Document Definition Short Name",
+            "The description for the test stale validation document definition",
+            null,
+            new ArrayList<>(
+                List.of(
+                    new DocumentAttributeDefinition(
+                        "testDocumentAttribute",
+                        AttributeType.STRING,
+                        "Test Document Attribute",
+                        "Test Document Attribute Description",
+                        true,
+                        "(?i).*value.*",
+                        null))));
+
+    assertTrue(
+        validationService.isValidDocumentAttribute(
+            documentDefinition, "testDocumentAttribute", "Test Value"));
+    assertFalse(
+        validationService.isValidDocumentAttribute(
+            documentDefinition, "testDocumentAttribute", "Other"));
+
+    // Change the definition without evicting the cached plan and confirm the change is applied
+    documentDefinition.getAttributeDefinitions().getFirst().setPattern("(?i).*other.*");
+    documentDefinition.getAttributeDefinitions().getFirst().setRequired(false);
+
+    assertFalse(
+        validationService.isValidDocumentAttribute(
+            documentDefinition, "testDocumentAttribute", "Test Value"));
+    assertTrue(
+        validationService.isValidDocumentAttribute(
+            documentDefinition, "testDocumentAttribute", "Other"));
+
+    validationService.validateRequiredDocumentAttributes(
+        "documentAttributes", documentDefinition, List.of());
+
+    // Confirm that a definition whose ID only differs by case does not share the cached plan
+    DocumentDefinition otherDocumentDefinition =
+        new DocumentDefinition(
+            documentDefinitionId.toUpperCase(),
+            "test_stale_validation_document_definition_category",
+            null,
+            "Other Test Stale Validation Document Definition",
+            "Other Test Stale Validation Document Definition Short Name",
+            "The description for the other test stale validation document definition",
+            null,
+            new ArrayList<>(
+                List.of(
+                    new DocumentAttributeDefinition(
+                        "otherTestDocumentAttribute",
+                        AttributeType.STRING,
+                        "Other Test Document Attribute",
+                        "Other Test Document Attribute Description",
+                        true,
+                        null,
+                        null))));
+
+    assertTrue(
+        validationService.isValidDocumentAttribute(
+            otherDocumentDefinition, "otherTestDocumentAttribute", "Any Value"));
+
+    validationPlanCache.evictDocumentDefinition(otherDocumentDefinition.getId());
+
+    assertTrue(
+        validationService.isValidDocumentAttribute(
+            documentDefinition, "testDocumentAttribute", "Other"));
+    assertFalse(
+        validationService.isValidDocumentAttribute(
+            documentDefinition, "otherTestDocumentAttribute", "Any Value"));
+
+    validationPlanCache.evictDocumentDefinition(documentDefinitionId);
+  }
+
+  private String randomId() {
+    return String.format("%04X", secureRandom.nextInt(0x10000));
+  }
+}
@@ -96,18 +96,26 @@ import digital.inception.operations.model.WorkflowNotes;
 import digital.inception.operations.model.WorkflowPermissionType;
 import digital.inception.operations.model.WorkflowSortBy;
 import digital.inception.operations.model.WorkflowStatus;
+import digital.inception.operations.model.WorkflowStatusVerificationCheckpoint;
 import digital.inception.operations.model.WorkflowStepDefinition;
 import digital.inception.operations.model.WorkflowStepStatus;
 import digital.inception.operations.model.WorkflowSummaries;
 import digital.inception.operations.model.WorkflowSummary;
 import digital.inception.operations.model.WorkflowVariable;
 import digital.inception.operations.model.WorkflowVariableDefinition;
+import digital.inception.operations.persistence.jpa.WorkflowRepository;
+import digital.inception.operations.persistence.jpa.WorkflowStatusVerificationCheckpointRepository;
 import digital.inception.operations.service.BackgroundWorkflowStatusVerifier;
+import digital.inception.operations.service.BackgroundWorkflowStatusVerifierImpl;
 import digital.inception.operations.service.DocumentService;
 import digital.inception.operations.service.OperationsReferenceService;
 import digital.inception.operations.service.WorkflowService;
+import digital.inception.security.service.SecurityService;
 import digital.inception.test.InceptionExtension;
 import digital.inception.test.TestConfiguration;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.math.BigDecimal;
 import java.security.SecureRandom;
 import java.time.LocalDate;
@@ -118,6 +126,7 @@ import java.util.UUID;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
 import org.springframework.boot.test.context.ConfigDataApplicationContextInitializer;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.TestExecutionListeners;
@@ -161,9 +170,193 @@ public class WorkflowServiceTests {
   /** The Operations Reference Service. */
   @Autowired private OperationsReferenceService operationsReferenceService;
 
+  /** The Security Service. */
+  @Autowired private SecurityService securityService;
+
+  /** The Workflow Repository. */
+  @Autowired private WorkflowRepository workflowRepository;
+
   /** The Workflow Service. */
   @Autowired private WorkflowService workflowService;
 
+  /** The Workflow Status Verification Checkpoint Repository. */
+  @Autowired
+  private WorkflowStatusVerificationCheckpointRepository
+      workflowStatusVerificationCheckpointRepository;
+
+  /**
+   * Test the batched verification of the workflow statuses by the Background Workflow Status
+   * Verifier, including resuming an interrupted verification from its checkpoint.
+   */
+  @Test
+  public void backgroundWorkflowStatusVerifierTest() throws Exception {
+    // Create the workflow engine, which records the batches of workflows it is asked about
+    WorkflowEngine workflowEngine =
+        new WorkflowEngine(
+            "test_verification_workflow_engine_" + randomId(),
+            "Test Verification Workflow Engine",
+            "digital.inception.operations.test.TestWorkflowEngineConnector",
+            List.of());
+
+    workflowService.createWorkflowEngine(workflowEngine);
+
+    // Create the workflow definition category
+    WorkflowDefinitionCategory workflowDefinitionCategory =
+        new WorkflowDefinitionCategory(
+            "test_workflow_definition_category_" + randomId(), "Test Workflow Definition Category");
+
+    workflowService.createWorkflowDefinitionCategory(workflowDefinitionCategory);
+
+    // Create the workflow definition
+    WorkflowDefinition workflowDefinition =
+        new WorkflowDefinition(
+            "test_workflow_definition_" + randomId(),
+            1,
+            workflowDefinitionCategory.getId(),
+            null,
+            "Test Workflow Definition",
+            "Test Workflow Definition Description",
+            workflowEngine.getId(),
+            false,
+            null,
+            null,
+            ValidationSchemaType.JSON,
+            ResourceUtil.getStringClasspathResource("TestData.schema.json"),
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null);
+
+    workflowService.createWorkflowDefinition(workflowDefinition);
+
+    // Initiate the workflows, which are returned in ID order when they are verified
+    List<UUID> workflowIds = new ArrayList<>();
+
+    for (int i = 0; i < 5; i++) {
+      TestWorkflowData testWorkflowData =
+          new TestWorkflowData(
+              UUID.randomUUID(),
+              "This is name " + randomId(),
+              LocalDate.of(1976, 3, 7),
+              new BigDecimal("1234.56"),
+              ApplicationClock.offsetNow());
+
+      InitiateWorkflowRequest initiateWorkflowRequest =
+          new InitiateWorkflowRequest(
+              workflowDefinition.getId(),
+              null,
+              UUID.randomUUID(),
+              false,
+              null,
+              null,
+              List.of(),
+              List.of(),
+              List.of(),
+              List.of(),
+              objectMapper.writeValueAsString(testWorkflowData));
+
+      workflowIds.add(
+          workflowService
+              .initiateWorkflow(TenantUtil.DEFAULT_TENANT_ID, initiateWorkflowRequest, "TEST1")
+              .getId());
+    }
+
+    workflowIds.sort(null);
+
+    TestWorkflowEngineConnector workflowEngineConnector =
+        (TestWorkflowEngineConnector)
+            workflowService.getWorkflowEngineConnector(workflowEngine.getId());
+
+    for (UUID workflowId : workflowIds) {
+      workflowEngineConnector.setWorkflowStatus(workflowId, WorkflowStatus.COMPLETED);
+    }
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+    beanFactory.addBean("meterRegistry", meterRegistry);
+
+    BackgroundWorkflowStatusVerifierImpl backgroundWorkflowStatusVerifier =
+        new BackgroundWorkflowStatusVerifierImpl(
+            securityService,
+            workflowService,
+            workflowRepository,
+            workflowStatusVerificationCheckpointRepository,
+            beanFactory.getBeanProvider(MeterRegistry.class),
+            2,
+            1);
+
+    backgroundWorkflowStatusVerifier.start();
+
+    Gauge lagGauge =
+        meterRegistry.get("inception.operations.workflow-status-verification.lag").gauge();
+
+    // The lag is not reported until a verification has completed
+    assertTrue(Double.isNaN(lagGauge.value()), "The lag was reported before any verification");
+
+    // Save a checkpoint, as if a previous verification was interrupted after the second workflow
+    workflowStatusVerificationCheckpointRepository.save(
+        new WorkflowStatusVerificationCheckpoint(
+            workflowEngine.getId(),
+            TenantUtil.DEFAULT_TENANT_ID,
+            workflowIds.get(1),
+            ApplicationClock.offsetNow()));
+
+    backgroundWorkflowStatusVerifier.verifyWorkflowStatuses();
+
+    // Only the workflows after the checkpoint are verified, in batches of at most two workflows
+    assertEquals(List.of(2, 1), workflowEngineConnector.getWorkflowStatusBatchSizes());
+
+    for (int i = 0; i < workflowIds.size(); i++) {
+      assertEquals(
+          (i < 2) ? WorkflowStatus.ACTIVE : WorkflowStatus.COMPLETED,
+          workflowService.getWorkflow(TenantUtil.DEFAULT_TENANT_ID, workflowIds.get(i)).getStatus(),
+          "Invalid status for the workflow (" + i + ")");
+    }
+
+    // The checkpoint is removed once the verification completes
+    assertFalse(workflowStatusVerificationCheckpointRepository.existsById(workflowEngine.getId()));
+
+    double lag = lagGauge.value();
+
+    assertTrue((lag >= 0) && (lag < 60), "Invalid workflow status verification lag (" + lag + ")");
+
+    // Without a checkpoint, the remaining active workflows are verified
+    workflowEngineConnector.getWorkflowStatusBatchSizes().clear();
+
+    backgroundWorkflowStatusVerifier.verifyWorkflowStatuses();
+
+    assertEquals(List.of(2), workflowEngineConnector.getWorkflowStatusBatchSizes());
+
+    for (UUID workflowId : workflowIds) {
+      assertEquals(
+          WorkflowStatus.COMPLETED,
+          workflowService.getWorkflow(TenantUtil.DEFAULT_TENANT_ID, workflowId).getStatus());
+    }
+
+    backgroundWorkflowStatusVerifier.stop();
+
+    // Delete the workflows
+    for (UUID workflowId : workflowIds) {
+      workflowService.deleteWorkflow(TenantUtil.DEFAULT_TENANT_ID, workflowId);
+    }
+
+    // Delete the workflow definition
+    workflowService.deleteWorkflowDefinition(workflowDefinition.getId());
+
+    // Delete the workflow definition category
+    workflowService.deleteWorkflowDefinitionCategory(workflowDefinitionCategory.getId());
+
+    // Delete the workflow engine
+    workflowService.deleteWorkflowEngine(workflowEngine.getId());
+  }
+
   /** Test the canceled workflow functionality. */
   @Test
   public void canceledWorkflowTest() throws Exception {
@@ -581,6 +774,25 @@ public class WorkflowServiceTests {
 
     assertEquals(1, workflowSummaries.getTotal());
 
+    // Retrieve the next page of workflow summaries using keyset pagination without a total
+    searchWorkflowsRequest.setPageSize(1);
+    searchWorkflowsRequest.setIncludeTotal(false);
+
+    WorkflowSummaries firstPageWorkflowSummaries =
+        workflowService.searchWorkflows(TenantUtil.DEFAULT_TENANT_ID, searchWorkflowsRequest);
+
+    assertEquals(1, firstPageWorkflowSummaries.getWorkflowSummaries().size());
+    assertEquals(-1, firstPageWorkflowSummaries.getTotal());
+    assertNotNull(firstPageWorkflowSummaries.getNextCursor());
+
+    searchWorkflowsRequest.setCursor(firstPageWorkflowSummaries.getNextCursor());
+
+    WorkflowSummaries secondPageWorkflowSummaries =
+        workflowService.searchWorkflows(TenantUtil.DEFAULT_TENANT_ID, searchWorkflowsRequest);
+
+    assertEquals(0, secondPageWorkflowSummaries.getWorkflowSummaries().size());
+    assertNull(secondPageWorkflowSummaries.getNextCursor());
+
     // Retrieve the workflow summary
     WorkflowSummary workflowSummary = workflowSummaries.getWorkflowSummaries().getFirst();
 
@@ -694,7 +906,8 @@ public class WorkflowServiceTests {
     assertEquals(documentDefinition.getId(), retrievedDocument.getDefinitionId());
     assertEquals("MultiPagePdf.pdf", retrievedDocument.getName());
     assertEquals(FileType.PDF, retrievedDocument.getFileType());
-    assertEquals(multiPagePdfData.length, retrievedDocument.getData().length);
+    assertEquals(
+        documentService.calculateDataHash(multiPagePdfData), retrievedDocument.getHash());
     assertEquals(1, retrievedDocument.getAttributes().size());
     assertEquals("testDocumentAttribute", retrievedDocument.getAttributes().getFirst().getName());
     assertEquals(
@@ -723,7 +936,8 @@ public class WorkflowServiceTests {
     assertEquals(documentDefinition.getId(), retrievedDocument.getDefinitionId());
     assertEquals("AnotherMultiPagePdf.pdf", retrievedDocument.getName());
     assertEquals(FileType.PDF, retrievedDocument.getFileType());
-    assertEquals(multiPagePdfData.length, retrievedDocument.getData().length);
+    assertEquals(
+        documentService.calculateDataHash(multiPagePdfData), retrievedDocument.getHash());
 
     // Verify the workflow document
     VerifyWorkflowDocumentRequest verifyWorkflowDocumentRequest =
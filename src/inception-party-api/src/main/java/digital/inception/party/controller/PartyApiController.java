@@ -41,8 +41,10 @@ import digital.inception.party.model.OrganizationSortBy;
 import digital.inception.party.model.Organizations;
 import digital.inception.party.model.Parties;
 import digital.inception.party.model.Party;
+import digital.inception.party.model.PartySearchResults;
 import digital.inception.party.model.PartySortBy;
 import digital.inception.party.model.Person;
+import digital.inception.party.model.PersonSearchResults;
 import digital.inception.party.model.PersonSortBy;
 import digital.inception.party.model.Persons;
 import digital.inception.party.model.Snapshots;
@@ -1456,6 +1458,166 @@ public interface PartyApiController {
           Integer pageSize)
       throws InvalidArgumentException, ServiceUnavailableException;
 
+  /**
+   * Search for parties using keyset pagination.
+   *
+   * @param tenantId the ID for the tenant
+   * @param filter the filter to apply to the names of the parties
+   * @param sortDirection the sort direction to apply to the parties
+   * @param cursor the opaque cursor returned by the previous search used to retrieve the next page
+   *     of parties
+   * @param pageSize the page size
+   * @param includeTotal should the total number of parties matching the search be retrieved
+   * @return the party search results
+   * @throws InvalidArgumentException if an argument is invalid
+   * @throws ServiceUnavailableException if the party search failed
+   */
+  @Operation(summary = "Search for parties", description = "Search for parties")
+  @ApiResponses(
+      value = {
+        @ApiResponse(responseCode = "200", description = "The party search results were retrieved"),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid argument",
+            content =
+                @Content(
+                    mediaType = "application/problem+json",
+                    schema = @Schema(implementation = ProblemDetails.class))),
+        @ApiResponse(
+            responseCode = "403",
+            description = "Access denied",
+            content =
+                @Content(
+                    mediaType = "application/problem+json",
+                    schema = @Schema(implementation = ProblemDetails.class))),
+        @ApiResponse(
+            responseCode = "500",
+            description =
+                "An error has occurred and the request could not be processed at this time",
+            content =
+                @Content(
+                    mediaType = "application/problem+json",
+                    schema = @Schema(implementation = ProblemDetails.class)))
+      })
+  @RequestMapping(
+      value = "/parties/search",
+      method = RequestMethod.GET,
+      produces = MediaType.APPLICATION_JSON_VALUE)
+  @ResponseStatus(HttpStatus.OK)
+  @PreAuthorize(
+      "isSecurityDisabled() or hasRole('Administrator') or hasAuthority('FUNCTION_Party.PartyAdministration')")
+  PartySearchResults searchParties(
+      @Parameter(
+              name = "Tenant-ID",
+              description = "The ID for the tenant",
+              example = "00000000-0000-0000-0000-000000000000")
+          @RequestHeader(
+              name = "Tenant-ID",
+              defaultValue = "00000000-0000-0000-0000-000000000000",
+              required = false)
+          UUID tenantId,
+      @Parameter(name = "filter", description = "The filter to apply to the names of the parties")
+          @RequestParam(value = "filter", required = false)
+          String filter,
+      @Parameter(name = "sortDirection", description = "The sort direction to apply to the parties")
+          @RequestParam(value = "sortDirection", required = false)
+          SortDirection sortDirection,
+      @Parameter(
+              name = "cursor",
+              description =
+                  "The opaque cursor returned by the previous search used to retrieve the next page of parties")
+          @RequestParam(value = "cursor", required = false)
+          String cursor,
+      @Parameter(name = "pageSize", description = "The page size", example = "10")
+          @RequestParam(value = "pageSize", required = false, defaultValue = "10")
+          Integer pageSize,
+      @Parameter(
+              name = "includeTotal",
+              description = "Should the total number of parties matching the search be retrieved")
+          @RequestParam(value = "includeTotal", required = false, defaultValue = "false")
+          Boolean includeTotal)
+      throws InvalidArgumentException, ServiceUnavailableException;
+
+  /**
+   * Search for persons using keyset pagination.
+   *
+   * @param tenantId the ID for the tenant
+   * @param filter the filter to apply to the names of the persons
+   * @param sortDirection the sort direction to apply to the persons
+   * @param cursor the opaque cursor returned by the previous search used to retrieve the next page
+   *     of persons
+   * @param pageSize the page size
+   * @param includeTotal should the total number of persons matching the search be retrieved
+   * @return the person search results
+   * @throws InvalidArgumentException if an argument is invalid
+   * @throws ServiceUnavailableException if the person search failed
+   */
+  @Operation(summary = "Search for persons", description = "Search for persons")
+  @ApiResponses(
+      value = {
+        @ApiResponse(responseCode = "200", description = "The person search results were retrieved"),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid argument",
+            content =
+                @Content(
+                    mediaType = "application/problem+json",
+                    schema = @Schema(implementation = ProblemDetails.class))),
+        @ApiResponse(
+            responseCode = "403",
+            description = "Access denied",
+            content =
+                @Content(
+                    mediaType = "application/problem+json",
+                    schema = @Schema(implementation = ProblemDetails.class))),
+        @ApiResponse(
+            responseCode = "500",
+            description =
+                "An error has occurred and the request could not be processed at this time",
+            content =
+                @Content(
+                    mediaType = "application/problem+json",
+                    schema = @Schema(implementation = ProblemDetails.class)))
+      })
+  @RequestMapping(
+      value = "/persons/search",
+      method = RequestMethod.GET,
+      produces = MediaType.APPLICATION_JSON_VALUE)
+  @ResponseStatus(HttpStatus.OK)
+  @PreAuthorize(
+      "isSecurityDisabled() or hasRole('Administrator') or hasAuthority('FUNCTION_Party.PartyAdministration') or hasAuthority('FUNCTION_Party.PersonAdministration')")
+  PersonSearchResults searchPersons(
+      @Parameter(
+              name = "Tenant-ID",
+              description = "The ID for the tenant",
+              example = "00000000-0000-0000-0000-000000000000")
+          @RequestHeader(
+              name = "Tenant-ID",
+              defaultValue = "00000000-0000-0000-0000-000000000000",
+              required = false)
+          UUID tenantId,
+      @Parameter(name = "filter", description = "The filter to apply to the names of the persons")
+          @RequestParam(value = "filter", required = false)
+          String filter,
+      @Parameter(name = "sortDirection", description = "The sort direction to apply to the persons")
+          @RequestParam(value = "sortDirection", required = false)
+          SortDirection sortDirection,
+      @Parameter(
+              name = "cursor",
+              description =
+                  "The opaque cursor returned by the previous search used to retrieve the next page of persons")
+          @RequestParam(value = "cursor", required = false)
+          String cursor,
+      @Parameter(name = "pageSize", description = "The page size", example = "10")
+          @RequestParam(value = "pageSize", required = false, defaultValue = "10")
+          Integer pageSize,
+      @Parameter(
+              name = "includeTotal",
+              description = "Should the total number of persons matching the search be retrieved")
+          @RequestParam(value = "includeTotal", required = false, defaultValue = "false")
+          Boolean includeTotal)
+      throws InvalidArgumentException, ServiceUnavailableException;
+
   /**
    * Update the association.
    *
@@ -355,6 +355,52 @@ public class PartyApiControllerImpl extends SecureApiController implements Party
         tenantId, entityType, entityId, from, to, sortDirection, pageIndex, pageSize);
   }
 
+  @Override
+  public PartySearchResults searchParties(
+      UUID tenantId,
+      String filter,
+      SortDirection sortDirection,
+      String cursor,
+      Integer pageSize,
+      Boolean includeTotal)
+      throws InvalidArgumentException, ServiceUnavailableException {
+    tenantId = (tenantId == null) ? TenantUtil.DEFAULT_TENANT_ID : tenantId;
+
+    if (!hasAccessToTenant(tenantId)) {
+      throw new AccessDeniedException("Access denied to the tenant (" + tenantId + ")");
+    }
+
+    if (pageSize == null) {
+      pageSize = 10;
+    }
+
+    return partyService.searchParties(
+        tenantId, filter, sortDirection, cursor, pageSize, includeTotal);
+  }
+
+  @Override
+  public PersonSearchResults searchPersons(
+      UUID tenantId,
+      String filter,
+      SortDirection sortDirection,
+      String cursor,
+      Integer pageSize,
+      Boolean includeTotal)
+      throws InvalidArgumentException, ServiceUnavailableException {
+    tenantId = (tenantId == null) ? TenantUtil.DEFAULT_TENANT_ID : tenantId;
+
+    if (!hasAccessToTenant(tenantId)) {
+      throw new AccessDeniedException("Access denied to the tenant (" + tenantId + ")");
+    }
+
+    if (pageSize == null) {
+      pageSize = 10;
+    }
+
+    return partyService.searchPersons(
+        tenantId, filter, sortDirection, cursor, pageSize, includeTotal);
+  }
+
   @Override
   public void updateAssociation(UUID tenantId, UUID associationId, Association association)
       throws InvalidArgumentException,
@@ -0,0 +1,179 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package digital.inception.party.benchmark;
+
+import digital.inception.core.util.TenantUtil;
+import digital.inception.party.generator.Generator;
+import digital.inception.party.model.Person;
+import digital.inception.party.service.PartyService;
+import digital.inception.test.TestConfiguration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * The {@code PartyBenchmarkContext} class bootstraps the Party Service against the embedded,
+ * in-memory H2 application database initialized by the {@code TestConfiguration} class, and
+ * populates the database with random party data produced by the party {@code Generator}.
+ *
+ * <p>It is shared by the JMH benchmarks and the standalone load driver so that both measure the
+ * same code paths against the same data.
+ *
+ * @author Marcus Portmann
+ */
+public final class PartyBenchmarkContext implements AutoCloseable {
+
+  /** The Spring application context. */
+  private final ConfigurableApplicationContext applicationContext;
+
+  /** The party data generator. */
+  private final Generator generator;
+
+  /** The JDBC template for the application database. */
+  private final JdbcTemplate jdbcTemplate;
+
+  /** The Party Service. */
+  private final PartyService partyService;
+
+  /** The IDs for the persons created when populating the application database. */
+  private final List<UUID> personIds = new ArrayList<>();
+
+  /** The ID for the tenant the party data is associated with. */
+  private final UUID tenantId = TenantUtil.DEFAULT_TENANT_ID;
+
+  private PartyBenchmarkContext(ConfigurableApplicationContext applicationContext, long seed) {
+    this.applicationContext = applicationContext;
+    this.generator = new Generator(Locale.forLanguageTag("en-US"), seed);
+    this.jdbcTemplate =
+        new JdbcTemplate(applicationContext.getBean("applicationDataSource", DataSource.class));
+    this.partyService = applicationContext.getBean(PartyService.class);
+  }
+
+  /**
+   * Start the Spring application context and initialize the embedded application database.
+   *
+   * @param seed the seed for the party data generator
+   * @return the party benchmark context
+   */
+  public static PartyBenchmarkContext start(long seed) {
+    ConfigurableApplicationContext applicationContext =
+        new SpringApplicationBuilder(TestConfiguration.class)
+            .web(WebApplicationType.NONE)
+            .logStartupInfo(false)
+            .run();
+
+    return new PartyBenchmarkContext(applicationContext, seed);
+  }
+
+  @Override
+  public void close() {
+    applicationContext.close();
+  }
+
+  /**
+   * Returns the party data generator.
+   *
+   * @return the party data generator
+   */
+  public Generator getGenerator() {
+    return generator;
+  }
+
+  /**
+   * Returns the Party Service.
+   *
+   * @return the Party Service
+   */
+  public PartyService getPartyService() {
+    return partyService;
+  }
+
+  /**
+   * Returns the IDs for the persons created when populating the application database.
+   *
+   * @return the IDs for the persons created when populating the application database
+   */
+  public List<UUID> getPersonIds() {
+    return personIds;
+  }
+
+  /**
+   * Returns the total size in bytes of the JSON data for the snapshots in the application
+   * database.
+   *
+   * @return the total size in bytes of the JSON data for the snapshots
+   */
+  public long getSnapshotBytes() {
+    Long snapshotBytes =
+        jdbcTemplate.queryForObject(
+            "SELECT COALESCE(SUM(LENGTH(data)), 0) FROM party_snapshots WHERE tenant_id = ?",
+            Long.class,
+            tenantId);
+
+    return (snapshotBytes == null) ? 0 : snapshotBytes;
+  }
+
+  /**
+   * Returns the number of snapshots in the application database.
+   *
+   * @return the number of snapshots in the application database
+   */
+  public long getSnapshotCount() {
+    Long snapshotCount =
+        jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM party_snapshots WHERE tenant_id = ?", Long.class, tenantId);
+
+    return (snapshotCount == null) ? 0 : snapshotCount;
+  }
+
+  /**
+   * Returns the ID for the tenant the party data is associated with.
+   *
+   * @return the ID for the tenant the party data is associated with
+   */
+  public UUID getTenantId() {
+    return tenantId;
+  }
+
+  /**
+   * Populate the application database with random persons and organizations.
+   *
+   * @param numberOfPersons the number of persons to create
+   * @param numberOfOrganizations the number of organizations to create
+   * @throws Exception if the application database could not be populated
+   */
+  public void populate(int numberOfPersons, int numberOfOrganizations) throws Exception {
+    for (int i = 0; i < numberOfPersons; i++) {
+      Person person = generator.generatePerson(tenantId);
+
+      partyService.createPerson(tenantId, person);
+
+      personIds.add(person.getId());
+    }
+
+    for (int i = 0; i < numberOfOrganizations; i++) {
+      partyService.createOrganization(tenantId, generator.generateOrganization(tenantId));
+    }
+  }
+}
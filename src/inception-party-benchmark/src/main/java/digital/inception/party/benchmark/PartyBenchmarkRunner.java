@@ -0,0 +1,63 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package digital.inception.party.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * The {@code PartyBenchmarkRunner} class runs the JMH party benchmarks and writes the results as
+ * JSON so that they can be compared between releases.
+ *
+ * <p>Usage: {@code PartyBenchmarkRunner [resultFile] [includeRegex] [numberOfPersons]}, where the
+ * result file defaults to {@code target/party-benchmarks.json}, the include regular expression
+ * defaults to all the benchmarks in the {@code PartyBenchmarks} class, and the number of persons
+ * overrides the {@code numberOfPersons} parameter for the benchmarks.
+ *
+ * @author Marcus Portmann
+ */
+public final class PartyBenchmarkRunner {
+
+  private PartyBenchmarkRunner() {}
+
+  /**
+   * The main method.
+   *
+   * @param args the command-line arguments
+   * @throws Exception if the benchmarks could not be run
+   */
+  public static void main(String[] args) throws Exception {
+    String resultFile = (args.length > 0) ? args[0] : "target/party-benchmarks.json";
+    String includeRegex =
+        (args.length > 1) ? args[1] : PartyBenchmarks.class.getSimpleName() + "\\..*";
+
+    ChainedOptionsBuilder optionsBuilder =
+        new OptionsBuilder()
+            .include(includeRegex)
+            .resultFormat(ResultFormatType.JSON)
+            .result(resultFile);
+
+    if (args.length > 2) {
+      optionsBuilder.param("numberOfPersons", args[2]);
+    }
+
+    new Runner(optionsBuilder.build()).run();
+  }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package digital.inception.party.benchmark;
+
+import digital.inception.core.sorting.SortDirection;
+import digital.inception.party.generator.Generator;
+import digital.inception.party.model.Person;
+import digital.inception.party.model.PersonSearchResults;
+import digital.inception.party.model.PersonSortBy;
+import digital.inception.party.model.Persons;
+import digital.inception.party.service.PartyService;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The {@code PartyBenchmarks} class contains the JMH benchmarks for the Party Service.
+ *
+ * <p>The embedded application database is populated with {@code numberOfPersons} random persons
+ * once per trial, using the party {@code Generator}, before the benchmarks are executed.
+ *
+ * @author Marcus Portmann
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class PartyBenchmarks {
+
+  /** The number of persons to populate the embedded application database with. */
+  @Param({"1000", "10000"})
+  public int numberOfPersons;
+
+  /** The page size used when retrieving persons. */
+  @Param({"20"})
+  public int pageSize;
+
+  private PartyBenchmarkContext context;
+
+  private Generator generator;
+
+  private PartyService partyService;
+
+  private List<UUID> personIds;
+
+  private UUID tenantId;
+
+  /** Constructs a new {@code PartyBenchmarks}. */
+  public PartyBenchmarks() {}
+
+  /**
+   * Benchmark the creation of a person.
+   *
+   * @return the person that was created
+   * @throws Exception if the person could not be created
+   */
+  @Benchmark
+  public Person createPerson() throws Exception {
+    Person person;
+
+    synchronized (generator) {
+      person = generator.generatePerson(tenantId);
+    }
+
+    return partyService.createPerson(tenantId, person);
+  }
+
+  /**
+   * Benchmark the filtered retrieval of the first page of persons using offset pagination.
+   *
+   * @return the persons
+   * @throws Exception if the persons could not be retrieved
+   */
+  @Benchmark
+  public Persons getPersonsFiltered() throws Exception {
+    return partyService.getPersons(
+        tenantId, "mull", PersonSortBy.NAME, SortDirection.ASCENDING, 0, pageSize);
+  }
+
+  /**
+   * Benchmark the retrieval of a random page of persons using offset pagination.
+   *
+   * @return the persons
+   * @throws Exception if the persons could not be retrieved
+   */
+  @Benchmark
+  public Persons getPersonsPage() throws Exception {
+    int pageIndex = ThreadLocalRandom.current().nextInt(Math.max(1, numberOfPersons / pageSize));
+
+    return partyService.getPersons(
+        tenantId, null, PersonSortBy.NAME, SortDirection.ASCENDING, pageIndex, pageSize);
+  }
+
+  /**
+   * Benchmark the filtered retrieval of the first page of persons using keyset pagination.
+   *
+   * @return the person search results
+   * @throws Exception if the person search failed
+   */
+  @Benchmark
+  public PersonSearchResults searchPersonsFiltered() throws Exception {
+    return partyService.searchPersons(
+        tenantId, "mull", SortDirection.ASCENDING, null, pageSize, false);
+  }
+
+  /**
+   * Initialize the embedded application database and populate it with random party data.
+   *
+   * @throws Exception if the embedded application database could not be initialized
+   */
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    context = PartyBenchmarkContext.start(Generator.DEFAULT_SEED);
+    context.populate(numberOfPersons, 0);
+
+    generator = context.getGenerator();
+    partyService = context.getPartyService();
+    personIds = context.getPersonIds();
+    tenantId = context.getTenantId();
+  }
+
+  /** Shut down the Spring application context. */
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  /**
+   * Benchmark the update of a random existing person, which also creates a snapshot.
+   *
+   * @return the person that was updated
+   * @throws Exception if the person could not be updated
+   */
+  @Benchmark
+  public Person updatePerson() throws Exception {
+    Person person =
+        partyService.getPerson(
+            tenantId, personIds.get(ThreadLocalRandom.current().nextInt(personIds.size())));
+
+    person.setPreferredName(person.getGivenName() + ThreadLocalRandom.current().nextInt(100));
+
+    return partyService.updatePerson(tenantId, person);
+  }
+
+  /**
+   * Benchmark the validation of a random person using the {@code ValidPersonValidator}.
+   *
+   * @return the number of constraint violations
+   * @throws Exception if the person could not be validated
+   */
+  @Benchmark
+  public int validatePerson() throws Exception {
+    Person person;
+
+    synchronized (generator) {
+      person = generator.generatePerson(tenantId);
+    }
+
+    return partyService.validatePerson(tenantId, person).size();
+  }
+}
@@ -0,0 +1,426 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package digital.inception.party.benchmark;
+
+import digital.inception.core.sorting.SortDirection;
+import digital.inception.party.generator.Generator;
+import digital.inception.party.model.Person;
+import digital.inception.party.model.PersonSortBy;
+import digital.inception.party.service.PartyService;
+import java.io.File;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import tools.jackson.databind.SerializationFeature;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * The {@code PartyLoadDriver} class is a standalone load driver that populates the embedded
+ * application database using the party {@code Generator}, executes a fixed-duration, multithreaded
+ * load phase for each Party Service operation, and writes the throughput, latency percentiles and
+ * snapshot growth as JSON so that the results can be compared between releases.
+ *
+ * <p>The load driver is configured using {@code key=value} command-line arguments:
+ *
+ * <ul>
+ *   <li>{@code persons} - the number of persons to populate the database with (default 10000)
+ *   <li>{@code organizations} - the number of organizations to populate the database with (default
+ *       1000)
+ *   <li>{@code threads} - the number of concurrent worker threads (default 4)
+ *   <li>{@code duration} - the duration of each load phase in seconds (default 30)
+ *   <li>{@code pageSize} - the page size used when retrieving persons (default 20)
+ *   <li>{@code seed} - the seed for the party data generator
+ *   <li>{@code output} - the JSON result file (default {@code target/party-load.json})
+ * </ul>
+ *
+ * @author Marcus Portmann
+ */
+public final class PartyLoadDriver {
+
+  /* Logger */
+  private static final Logger log = LoggerFactory.getLogger(PartyLoadDriver.class);
+
+  private PartyLoadDriver() {}
+
+  /**
+   * The main method.
+   *
+   * @param args the command-line arguments
+   * @throws Exception if the load test failed
+   */
+  public static void main(String[] args) throws Exception {
+    Map<String, String> arguments = new HashMap<>();
+
+    for (String arg : args) {
+      int separatorIndex = arg.indexOf('=');
+
+      if (separatorIndex > 0) {
+        arguments.put(arg.substring(0, separatorIndex), arg.substring(separatorIndex + 1));
+      }
+    }
+
+    int numberOfPersons = Integer.parseInt(arguments.getOrDefault("persons", "10000"));
+    int numberOfOrganizations = Integer.parseInt(arguments.getOrDefault("organizations", "1000"));
+    int numberOfThreads = Integer.parseInt(arguments.getOrDefault("threads", "4"));
+    int phaseDuration = Integer.parseInt(arguments.getOrDefault("duration", "30"));
+    int pageSize = Integer.parseInt(arguments.getOrDefault("pageSize", "20"));
+    long seed =
+        Long.parseLong(arguments.getOrDefault("seed", String.valueOf(Generator.DEFAULT_SEED)));
+    File outputFile = new File(arguments.getOrDefault("output", "target/party-load.json"));
+
+    try (PartyBenchmarkContext context = PartyBenchmarkContext.start(seed)) {
+      PartyService partyService = context.getPartyService();
+      Generator generator = context.getGenerator();
+      UUID tenantId = context.getTenantId();
+
+      long populateStarted = System.nanoTime();
+
+      context.populate(numberOfPersons, numberOfOrganizations);
+
+      long populateDuration = System.nanoTime() - populateStarted;
+
+      log.info(
+          "Populated the database with "
+              + numberOfPersons
+              + " persons and "
+              + numberOfOrganizations
+              + " organizations in "
+              + TimeUnit.NANOSECONDS.toMillis(populateDuration)
+              + " ms");
+
+      List<UUID> personIds = context.getPersonIds();
+
+      long snapshotCountBefore = context.getSnapshotCount();
+      long snapshotBytesBefore = context.getSnapshotBytes();
+
+      List<OperationResult> operationResults = new ArrayList<>();
+
+      operationResults.add(
+          runPhase(
+              "createPerson",
+              numberOfThreads,
+              phaseDuration,
+              () -> {
+                Person person;
+
+                synchronized (generator) {
+                  person = generator.generatePerson(tenantId);
+                }
+
+                partyService.createPerson(tenantId, person);
+              }));
+
+      operationResults.add(
+          runPhase(
+              "updatePerson",
+              numberOfThreads,
+              phaseDuration,
+              () -> {
+                Person person =
+                    partyService.getPerson(
+                        tenantId,
+                        personIds.get(ThreadLocalRandom.current().nextInt(personIds.size())));
+
+                person.setPreferredName(
+                    person.getGivenName() + ThreadLocalRandom.current().nextInt(100));
+
+                partyService.updatePerson(tenantId, person);
+              }));
+
+      operationResults.add(
+          runPhase(
+              "getPersons",
+              numberOfThreads,
+              phaseDuration,
+              () ->
+                  partyService.getPersons(
+                      tenantId,
+                      null,
+                      PersonSortBy.NAME,
+                      SortDirection.ASCENDING,
+                      ThreadLocalRandom.current().nextInt(Math.max(1, numberOfPersons / pageSize)),
+                      pageSize)));
+
+      operationResults.add(
+          runPhase(
+              "searchPersons",
+              numberOfThreads,
+              phaseDuration,
+              () ->
+                  partyService.searchPersons(
+                      tenantId, "mull", SortDirection.ASCENDING, null, pageSize, false)));
+
+      operationResults.add(
+          runPhase(
+              "validatePerson",
+              numberOfThreads,
+              phaseDuration,
+              () -> {
+                Person person;
+
+                synchronized (generator) {
+                  person = generator.generatePerson(tenantId);
+                }
+
+                partyService.validatePerson(tenantId, person);
+              }));
+
+      long snapshotCountAfter = context.getSnapshotCount();
+      long snapshotBytesAfter = context.getSnapshotBytes();
+
+      LoadResults loadResults =
+          new LoadResults(
+              Instant.now().toString(),
+              System.getProperty("java.version"),
+              numberOfPersons,
+              numberOfOrganizations,
+              numberOfThreads,
+              phaseDuration,
+              TimeUnit.NANOSECONDS.toMillis(populateDuration),
+              operationResults,
+              new SnapshotGrowth(
+                  snapshotCountBefore,
+                  snapshotCountAfter,
+                  snapshotBytesBefore,
+                  snapshotBytesAfter));
+
+      File outputDirectory = outputFile.getAbsoluteFile().getParentFile();
+
+      if ((outputDirectory != null) && (!outputDirectory.exists())) {
+        outputDirectory.mkdirs();
+      }
+
+      JsonMapper.builder()
+          .enable(SerializationFeature.INDENT_OUTPUT)
+          .build()
+          .writeValue(outputFile, loadResults);
+
+      log.info("Wrote the party load test results to " + outputFile.getAbsolutePath());
+    }
+  }
+
+  private static OperationResult runPhase(
+      String operation, int numberOfThreads, int phaseDuration, Operation task) throws Exception {
+    log.info(
+        "Running the "
+            + operation
+            + " load phase with "
+            + numberOfThreads
+            + " threads for "
+            + phaseDuration
+            + " seconds");
+
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(phaseDuration);
+
+    List<Future<WorkerResult>> futures = new ArrayList<>();
+
+    long phaseStarted = System.nanoTime();
+
+    try (ExecutorService executorService = Executors.newFixedThreadPool(numberOfThreads)) {
+      for (int i = 0; i < numberOfThreads; i++) {
+        futures.add(
+            executorService.submit(
+                () -> {
+                  long[] latencies = new long[1024];
+                  int count = 0;
+                  long errors = 0;
+                  Throwable firstError = null;
+
+                  while (System.nanoTime() < deadline) {
+                    long started = System.nanoTime();
+
+                    try {
+                      task.execute();
+                    } catch (Throwable e) {
+                      // Failed calls are counted separately and excluded from the latencies
+                      if (errors++ == 0) {
+                        firstError = e;
+                      }
+
+                      continue;
+                    }
+
+                    if (count == latencies.length) {
+                      latencies = Arrays.copyOf(latencies, latencies.length * 2);
+                    }
+
+                    latencies[count++] = System.nanoTime() - started;
+                  }
+
+                  return new WorkerResult(Arrays.copyOf(latencies, count), errors, firstError);
+                }));
+      }
+    }
+
+    long phaseElapsed = System.nanoTime() - phaseStarted;
+
+    long[] latencies = new long[0];
+    long errors = 0;
+    Throwable firstError = null;
+
+    for (Future<WorkerResult> future : futures) {
+      WorkerResult workerResult = future.get();
+
+      int offset = latencies.length;
+      latencies = Arrays.copyOf(latencies, offset + workerResult.latencies().length);
+      System.arraycopy(
+          workerResult.latencies(), 0, latencies, offset, workerResult.latencies().length);
+
+      errors += workerResult.errors();
+
+      if (firstError == null) {
+        firstError = workerResult.firstError();
+      }
+    }
+
+    if (firstError != null) {
+      log.warn(
+          "The " + operation + " load phase failed " + errors + " times, the first failure was:",
+          firstError);
+    }
+
+    Arrays.sort(latencies);
+
+    OperationResult operationResult =
+        new OperationResult(
+            operation,
+            latencies.length,
+            errors,
+            (latencies.length * 1_000_000_000.0) / phaseElapsed,
+            toMicros(Arrays.stream(latencies).average().orElse(0)),
+            toMicros(percentile(latencies, 50)),
+            toMicros(percentile(latencies, 90)),
+            toMicros(percentile(latencies, 99)),
+            toMicros(percentile(latencies, 99.9)),
+            toMicros((latencies.length > 0) ? latencies[latencies.length - 1] : 0));
+
+    log.info(
+        String.format(
+            Locale.ROOT,
+            "%s: %d operations, %d errors, %.1f ops/s, p50 %.1f us, p99 %.1f us",
+            operation,
+            operationResult.count(),
+            operationResult.errors(),
+            operationResult.throughputPerSecond(),
+            operationResult.p50Micros(),
+            operationResult.p99Micros()));
+
+    return operationResult;
+  }
+
+  private static long percentile(long[] sortedLatencies, double percentile) {
+    if (sortedLatencies.length == 0) {
+      return 0;
+    }
+
+    int index = (int) Math.ceil((percentile / 100.0) * sortedLatencies.length) - 1;
+
+    return sortedLatencies[Math.clamp(index, 0, sortedLatencies.length - 1)];
+  }
+
+  private static double toMicros(double nanos) {
+    return nanos / 1000.0;
+  }
+
+  /** The {@code Operation} interface defines a Party Service operation executed under load. */
+  @FunctionalInterface
+  private interface Operation {
+
+    /**
+     * Execute the operation.
+     *
+     * @throws Exception if the operation failed
+     */
+    void execute() throws Exception;
+  }
+
+  /**
+   * The results of a load test run.
+   *
+   * @param timestamp the ISO 8601 timestamp for when the load test completed
+   * @param javaVersion the Java version the load test was executed with
+   * @param numberOfPersons the number of persons the database was populated with
+   * @param numberOfOrganizations the number of organizations the database was populated with
+   * @param numberOfThreads the number of concurrent worker threads
+   * @param phaseDurationSeconds the duration of each load phase in seconds
+   * @param populateMillis the time taken to populate the database in milliseconds
+   * @param operations the results for the operations
+   * @param snapshots the snapshot growth during the load phases
+   */
+  public record LoadResults(
+      String timestamp,
+      String javaVersion,
+      int numberOfPersons,
+      int numberOfOrganizations,
+      int numberOfThreads,
+      int phaseDurationSeconds,
+      long populateMillis,
+      List<OperationResult> operations,
+      SnapshotGrowth snapshots) {}
+
+  /**
+   * The results for a Party Service operation.
+   *
+   * @param operation the name of the operation
+   * @param count the number of times the operation was executed successfully
+   * @param errors the number of times the operation failed, which are excluded from the throughput
+   *     and latencies
+   * @param throughputPerSecond the number of operations executed successfully per second
+   * @param meanMicros the mean latency in microseconds
+   * @param p50Micros the 50th percentile latency in microseconds
+   * @param p90Micros the 90th percentile latency in microseconds
+   * @param p99Micros the 99th percentile latency in microseconds
+   * @param p999Micros the 99.9th percentile latency in microseconds
+   * @param maxMicros the maximum latency in microseconds
+   */
+  public record OperationResult(
+      String operation,
+      long count,
+      long errors,
+      double throughputPerSecond,
+      double meanMicros,
+      double p50Micros,
+      double p90Micros,
+      double p99Micros,
+      double p999Micros,
+      double maxMicros) {}
+
+  /**
+   * The growth of the party snapshots during the load phases.
+   *
+   * @param countBefore the number of snapshots before the load phases
+   * @param countAfter the number of snapshots after the load phases
+   * @param bytesBefore the total size of the snapshot JSON data before the load phases
+   * @param bytesAfter the total size of the snapshot JSON data after the load phases
+   */
+  public record SnapshotGrowth(
+      long countBefore, long countAfter, long bytesBefore, long bytesAfter) {}
+
+  private record WorkerResult(long[] latencies, long errors, Throwable firstError) {}
+}
@@ -16,21 +16,61 @@
 
 package digital.inception.party.generator;
 
+import digital.inception.party.model.ContactMechanism;
+import digital.inception.party.model.ContactMechanismRole;
+import digital.inception.party.model.ContactMechanismType;
+import digital.inception.party.model.Organization;
+import digital.inception.party.model.Person;
+import java.time.LocalDate;
 import java.util.Locale;
+import java.util.Random;
+import java.util.UUID;
 
 /**
  * The {@code Generator} class that supports the generation of random party data.
  *
+ * <p>The data is generated using a seeded pseudo-random number generator so that the same seed
+ * always produces the same sequence of parties, which allows benchmark and load-test runs to be
+ * compared. Instances of this class are not thread-safe.
+ *
  * @author Marcus Portmann
  */
 public class Generator {
 
+  /** The default seed for the pseudo-random number generator. */
+  public static final long DEFAULT_SEED = 1000000L;
+
+  private static final String[] FEMALE_GIVEN_NAMES = {
+    "Amelia", "Anna", "Charlotte", "Chloé", "Emily", "Emma", "Erin", "Grace", "Hannah", "Isabella",
+    "Jill", "Lerato", "Lucy", "Mia", "Naledi", "Olivia", "Renée", "Sophie", "Thandiwe", "Zoë"
+  };
+
+  private static final String[] MALE_GIVEN_NAMES = {
+    "Andries", "Benjamin", "Daniel", "David", "François", "Jack", "James", "John", "José",
+    "Lethabo", "Liam", "Lucas", "Michael", "Noah", "Oliver", "Sipho", "Thabo", "Thomas", "William",
+    "Zoltán"
+  };
+
+  private static final String[] ORGANIZATION_NAME_SUFFIXES = {
+    "Holdings", "Group", "Trading", "Investments", "Logistics", "Consulting", "Enterprises",
+    "Industries", "Services", "Technologies"
+  };
+
+  private static final String[] SURNAMES = {
+    "Botha", "Brown", "Dlamini", "Du Plessis", "Evans", "Hill", "Jones", "Khumalo", "May",
+    "Mkhize", "Mokoena", "Müller", "Naidoo", "Nel", "Ndlovu", "Smith", "Taylor", "Van der Merwe",
+    "Williams", "Zulu"
+  };
+
   /** The locale to use when generating random party data. */
   private final Locale locale;
 
+  /** The pseudo-random number generator. */
+  private final Random random;
+
   /** Constructs a new {@code Generator}. */
   public Generator() {
-    this.locale = Locale.forLanguageTag("en-US");
+    this(Locale.forLanguageTag("en-US"), DEFAULT_SEED);
   }
 
   /**
@@ -39,6 +79,106 @@ public class Generator {
    * @param locale the locale
    */
   public Generator(Locale locale) {
+    this(locale, DEFAULT_SEED);
+  }
+
+  /**
+   * Constructs a new {@code Generator}.
+   *
+   * @param locale the locale
+   * @param seed the seed for the pseudo-random number generator
+   */
+  public Generator(Locale locale, long seed) {
     this.locale = locale;
+    this.random = new Random(seed);
+  }
+
+  /**
+   * Generate a random organization.
+   *
+   * @param tenantId the ID for the tenant the organization is associated with
+   * @return the random organization
+   */
+  public Organization generateOrganization(UUID tenantId) {
+    String name =
+        pick(SURNAMES)
+            + " "
+            + pick(ORGANIZATION_NAME_SUFFIXES)
+            + " "
+            + (100 + random.nextInt(900));
+
+    Organization organization = new Organization(tenantId, name);
+
+    organization.setCountryOfTaxResidence("ZA");
+
+    organization.addContactMechanism(
+        new ContactMechanism(
+            ContactMechanismType.EMAIL_ADDRESS,
+            ContactMechanismRole.MAIN_EMAIL_ADDRESS,
+            toEmailAddress(name)));
+
+    return organization;
+  }
+
+  /**
+   * Generate a random person.
+   *
+   * @param tenantId the ID for the tenant the person is associated with
+   * @return the random person
+   */
+  public Person generatePerson(UUID tenantId) {
+    boolean isFemale = random.nextBoolean();
+
+    String givenName = pick(isFemale ? FEMALE_GIVEN_NAMES : MALE_GIVEN_NAMES);
+    String surname = pick(SURNAMES);
+
+    Person person = new Person(tenantId, givenName + " " + surname);
+
+    person.setGivenName(givenName);
+    person.setSurname(surname);
+    person.setInitials(givenName.substring(0, 1));
+    person.setPreferredName(givenName);
+    person.setGender(isFemale ? "female" : "male");
+    person.setTitle(isFemale ? "ms" : "mr");
+    person.setDateOfBirth(LocalDate.of(1940, 1, 1).plusDays(random.nextInt(365 * 60)));
+    person.setCountryOfBirth("ZA");
+    person.setCountryOfCitizenship("ZA");
+    person.setCountryOfResidence("ZA");
+    person.setCountryOfTaxResidence("ZA");
+    person.setLanguage("EN");
+
+    person.addContactMechanism(
+        new ContactMechanism(
+            ContactMechanismType.MOBILE_NUMBER,
+            "personal_mobile_number",
+            "+2783" + (1000000 + random.nextInt(9000000))));
+
+    person.addContactMechanism(
+        new ContactMechanism(
+            ContactMechanismType.EMAIL_ADDRESS,
+            ContactMechanismRole.PERSONAL_EMAIL_ADDRESS,
+            toEmailAddress(givenName + "." + surname)));
+
+    return person;
+  }
+
+  /**
+   * Returns the locale used when generating random party data.
+   *
+   * @return the locale used when generating random party data
+   */
+  public Locale getLocale() {
+    return locale;
+  }
+
+  private String pick(String[] values) {
+    return values[random.nextInt(values.length)];
+  }
+
+  private String toEmailAddress(String name) {
+    return name.toLowerCase(locale).replaceAll("[^a-z.]", "")
+        + "."
+        + random.nextInt(1000000)
+        + "@example.com";
   }
 }
@@ -17,6 +17,7 @@
 package digital.inception.party.model;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
@@ -33,6 +34,7 @@ import jakarta.xml.bind.annotation.XmlAccessType;
 import jakarta.xml.bind.annotation.XmlAccessorType;
 import jakarta.xml.bind.annotation.XmlElement;
 import jakarta.xml.bind.annotation.XmlRootElement;
+import jakarta.xml.bind.annotation.XmlTransient;
 import jakarta.xml.bind.annotation.XmlType;
 import java.io.Serial;
 import java.io.Serializable;
@@ -91,6 +93,14 @@ public class Party implements Serializable {
   @Column(name = "name", length = 100, nullable = false)
   private String name;
 
+  /**
+   * The search-normalized (accent and case folded) name of the party, which is maintained by the
+   * {@code PartyBase} entity class and is used to execute indexed name searches.
+   */
+  @XmlTransient
+  @Column(name = "search_name", length = 100, insertable = false, updatable = false)
+  private String searchName;
+
   /** The ID for the tenant the party is associated with. */
   @Schema(
       description = "The ID for the tenant the party is associated with",
@@ -180,6 +190,16 @@ public class Party implements Serializable {
     return name;
   }
 
+  /**
+   * Returns the search-normalized (accent and case folded) name of the party.
+   *
+   * @return the search-normalized (accent and case folded) name of the party
+   */
+  @JsonIgnore
+  public String getSearchName() {
+    return searchName;
+  }
+
   /**
    * Returns the ID for the tenant the party is associated with.
    *
@@ -16,12 +16,16 @@
 
 package digital.inception.party.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import digital.inception.core.util.StringUtil;
 import jakarta.persistence.Column;
 import jakarta.persistence.DiscriminatorColumn;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.Inheritance;
 import jakarta.persistence.InheritanceType;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -80,6 +84,13 @@ public class PartyBase implements Serializable {
   @Column(name = "name", length = 100, nullable = false)
   private String name;
 
+  /**
+   * The search-normalized (accent and case folded) name of the party, which is derived from the
+   * name when the party is written and is used to execute indexed name searches.
+   */
+  @Column(name = "search_name", length = 100)
+  private String searchName;
+
   /** The ID for the tenant the party is associated with. */
   @NotNull
   @Column(name = "tenant_id", nullable = false)
@@ -110,6 +121,7 @@ public class PartyBase implements Serializable {
     this.id = id;
     this.tenantId = tenantId;
     this.name = name;
+    this.searchName = StringUtil.normalizeForSearch(name);
   }
 
   /**
@@ -157,6 +169,17 @@ public class PartyBase implements Serializable {
     return name;
   }
 
+  /**
+   * Returns the search-normalized (accent and case folded) name of the party.
+   *
+   * @return the search-normalized (accent and case folded) name of the party
+   */
+  @JsonIgnore
+  @XmlTransient
+  public String getSearchName() {
+    return searchName;
+  }
+
   /**
    * Returns the ID for the tenant the party is associated with.
    *
@@ -193,6 +216,7 @@ public class PartyBase implements Serializable {
    */
   public void setName(String name) {
     this.name = name;
+    this.searchName = StringUtil.normalizeForSearch(name);
   }
 
   /**
@@ -203,4 +227,14 @@ public class PartyBase implements Serializable {
   public void setTenantId(UUID tenantId) {
     this.tenantId = tenantId;
   }
+
+  /**
+   * The Java Persistence callback method invoked before the entity is created or updated in the
+   * database.
+   */
+  @PrePersist
+  @PreUpdate
+  protected void onSave() {
+    searchName = StringUtil.normalizeForSearch(name);
+  }
 }
@@ -0,0 +1,172 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package digital.inception.party.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import digital.inception.core.sorting.SortDirection;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlElement;
+import jakarta.xml.bind.annotation.XmlElementWrapper;
+import jakarta.xml.bind.annotation.XmlRootElement;
+import jakarta.xml.bind.annotation.XmlType;
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * The {@code PartySearchResults} class holds the results of a request to search for parties using
+ * keyset pagination.
+ *
+ * @author Marcus Portmann
+ */
+@Schema(description = "The results of a request to search for parties using keyset pagination")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonPropertyOrder({"parties", "total", "sortDirection", "pageSize", "nextCursor"})
+@XmlRootElement(name = "PartySearchResults", namespace = "https://inception.digital/party")
+@XmlType(
+    name = "PartySearchResults",
+    namespace = "https://inception.digital/party",
+    propOrder = {"parties", "total", "sortDirection", "pageSize", "nextCursor"})
+@XmlAccessorType(XmlAccessType.FIELD)
+@SuppressWarnings({"unused"})
+public class PartySearchResults implements Serializable {
+
+  @Serial private static final long serialVersionUID = 1000000;
+
+  /**
+   * The opaque cursor used to retrieve the next page of parties or {@code null} if there are no
+   * more parties.
+   */
+  @Schema(
+      description =
+          "The opaque cursor used to retrieve the next page of parties or null if there are no "
+              + "more parties")
+  @JsonProperty
+  @XmlElement(name = "NextCursor")
+  private String nextCursor;
+
+  /** The page size. */
+  @Schema(description = "The page size")
+  @JsonProperty
+  @XmlElement(name = "PageSize")
+  private Integer pageSize;
+
+  /** The parties. */
+  @Schema(description = "The parties", requiredMode = Schema.RequiredMode.REQUIRED)
+  @JsonProperty(required = true)
+  @XmlElementWrapper(name = "Parties", required = true)
+  @XmlElement(name = "Party", required = true)
+  private List<Party> parties;
+
+  /** The sort direction that was applied to the parties. */
+  @Schema(description = "The sort direction that was applied to the parties")
+  @JsonProperty
+  @XmlElement(name = "SortDirection")
+  private SortDirection sortDirection;
+
+  /**
+   * The total number of parties matching the search, which is only populated if it was requested.
+   */
+  @Schema(
+      description =
+          "The total number of parties matching the search, which is only populated if it was "
+              + "requested")
+  @JsonProperty
+  @XmlElement(name = "Total")
+  private Long total;
+
+  /** Constructs a new {@code PartySearchResults}. */
+  public PartySearchResults() {}
+
+  /**
+   * Constructs a new {@code PartySearchResults}.
+   *
+   * @param parties the parties
+   * @param total the total number of parties matching the search or {@code null} if the total was
+   *     not requested
+   * @param sortDirection the sort direction that was applied to the parties
+   * @param pageSize the page size
+   * @param nextCursor the opaque cursor used to retrieve the next page of parties or {@code null}
+   *     if there are no more parties
+   */
+  @JsonCreator(mode = JsonCreator.Mode.DISABLED)
+  public PartySearchResults(
+      List<Party> parties,
+      Long total,
+      SortDirection sortDirection,
+      Integer pageSize,
+      String nextCursor) {
+    this.parties = parties;
+    this.total = total;
+    this.sortDirection = sortDirection;
+    this.pageSize = pageSize;
+    this.nextCursor = nextCursor;
+  }
+
+  /**
+   * Returns the opaque cursor used to retrieve the next page of parties.
+   *
+   * @return the opaque cursor used to retrieve the next page of parties or {@code null} if there
+   *     are no more parties
+   */
+  public String getNextCursor() {
+    return nextCursor;
+  }
+
+  /**
+   * Returns the page size.
+   *
+   * @return the page size
+   */
+  public Integer getPageSize() {
+    return pageSize;
+  }
+
+  /**
+   * Returns the parties.
+   *
+   * @return the parties
+   */
+  public List<Party> getParties() {
+    return parties;
+  }
+
+  /**
+   * Returns the sort direction that was applied to the parties.
+   *
+   * @return the sort direction that was applied to the parties
+   */
+  public SortDirection getSortDirection() {
+    return sortDirection;
+  }
+
+  /**
+   * Returns the total number of parties matching the search.
+   *
+   * @return the total number of parties matching the search or {@code null} if the total was not
+   *     requested
+   */
+  public Long getTotal() {
+    return total;
+  }
+}
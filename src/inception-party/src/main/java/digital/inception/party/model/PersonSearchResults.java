@@ -0,0 +1,172 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package digital.inception.party.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import digital.inception.core.sorting.SortDirection;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlElement;
+import jakarta.xml.bind.annotation.XmlElementWrapper;
+import jakarta.xml.bind.annotation.XmlRootElement;
+import jakarta.xml.bind.annotation.XmlType;
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * The {@code PersonSearchResults} class holds the results of a request to search for persons using
+ * keyset pagination.
+ *
+ * @author Marcus Portmann
+ */
+@Schema(description = "The results of a request to search for persons using keyset pagination")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonPropertyOrder({"persons", "total", "sortDirection", "pageSize", "nextCursor"})
+@XmlRootElement(name = "PersonSearchResults", namespace = "https://inception.digital/party")
+@XmlType(
+    name = "PersonSearchResults",
+    namespace = "https://inception.digital/party",
+    propOrder = {"persons", "total", "sortDirection", "pageSize", "nextCursor"})
+@XmlAccessorType(XmlAccessType.FIELD)
+@SuppressWarnings({"unused"})
+public class PersonSearchResults implements Serializable {
+
+  @Serial private static final long serialVersionUID = 1000000;
+
+  /**
+   * The opaque cursor used to retrieve the next page of persons or {@code null} if there are no
+   * more persons.
+   */
+  @Schema(
+      description =
+          "The opaque cursor used to retrieve the next page of persons or null if there are no "
+              + "more persons")
+  @JsonProperty
+  @XmlElement(name = "NextCursor")
+  private String nextCursor;
+
+  /** The page size. */
+  @Schema(description = "The page size")
+  @JsonProperty
+  @XmlElement(name = "PageSize")
+  private Integer pageSize;
+
+  /** The persons. */
+  @Schema(description = "The persons", requiredMode = Schema.RequiredMode.REQUIRED)
+  @JsonProperty(required = true)
+  @XmlElementWrapper(name = "Persons", required = true)
+  @XmlElement(name = "Person", required = true)
+  private List<Person> persons;
+
+  /** The sort direction that was applied to the persons. */
+  @Schema(description = "The sort direction that was applied to the persons")
+  @JsonProperty
+  @XmlElement(name = "SortDirection")
+  private SortDirection sortDirection;
+
+  /**
+   * The total number of persons matching the search, which is only populated if it was requested.
+   */
+  @Schema(
+      description =
+          "The total number of persons matching the search, which is only populated if it was "
+              + "requested")
+  @JsonProperty
+  @XmlElement(name = "Total")
+  private Long total;
+
+  /** Constructs a new {@code PersonSearchResults}. */
+  public PersonSearchResults() {}
+
+  /**
+   * Constructs a new {@code PersonSearchResults}.
+   *
+   * @param persons the persons
+   * @param total the total number of persons matching the search or {@code null} if the total was
+   *     not requested
+   * @param sortDirection the sort direction that was applied to the persons
+   * @param pageSize the page size
+   * @param nextCursor the opaque cursor used to retrieve the next page of persons or {@code null}
+   *     if there are no more persons
+   */
+  @JsonCreator(mode = JsonCreator.Mode.DISABLED)
+  public PersonSearchResults(
+      List<Person> persons,
+      Long total,
+      SortDirection sortDirection,
+      Integer pageSize,
+      String nextCursor) {
+    this.persons = persons;
+    this.total = total;
+    this.sortDirection = sortDirection;
+    this.pageSize = pageSize;
+    this.nextCursor = nextCursor;
+  }
+
+  /**
+   * Returns the opaque cursor used to retrieve the next page of persons.
+   *
+   * @return the opaque cursor used to retrieve the next page of persons or {@code null} if there
+   *     are no more persons
+   */
+  public String getNextCursor() {
+    return nextCursor;
+  }
+
+  /**
+   * Returns the page size.
+   *
+   * @return the page size
+   */
+  public Integer getPageSize() {
+    return pageSize;
+  }
+
+  /**
+   * Returns the persons.
+   *
+   * @return the persons
+   */
+  public List<Person> getPersons() {
+    return persons;
+  }
+
+  /**
+   * Returns the sort direction that was applied to the persons.
+   *
+   * @return the sort direction that was applied to the persons
+   */
+  public SortDirection getSortDirection() {
+    return sortDirection;
+  }
+
+  /**
+   * Returns the total number of persons matching the search.
+   *
+   * @return the total number of persons matching the search or {@code null} if the total was not
+   *     requested
+   */
+  public Long getTotal() {
+    return total;
+  }
+}
@@ -41,12 +41,15 @@ import digital.inception.party.model.OrganizationSortBy;
 import digital.inception.party.model.Organizations;
 import digital.inception.party.model.Parties;
 import digital.inception.party.model.Party;
+import digital.inception.party.model.PartySearchResults;
 import digital.inception.party.model.PartySortBy;
 import digital.inception.party.model.PartyType;
 import digital.inception.party.model.Person;
+import digital.inception.party.model.PersonSearchResults;
 import digital.inception.party.model.PersonSortBy;
 import digital.inception.party.model.Persons;
 import digital.inception.party.model.Snapshots;
+import digital.inception.party.store.PartySearchCursor;
 import digital.inception.party.store.PartyStore;
 import jakarta.validation.ConstraintViolation;
 import java.time.LocalDate;
@@ -60,6 +63,7 @@ import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.context.ApplicationContext;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
 
 /**
  * The {@code PartyServiceImpl} class provides the Party Service implementation.
@@ -615,6 +619,72 @@ public class PartyServiceImpl extends AbstractServiceBase implements PartyServic
     return partyStore.getTypeForParty(tenantId, partyId);
   }
 
+  @Override
+  public PartySearchResults searchParties(
+      UUID tenantId,
+      String filter,
+      SortDirection sortDirection,
+      String cursor,
+      Integer pageSize,
+      Boolean includeTotal)
+      throws InvalidArgumentException, ServiceUnavailableException {
+    if (tenantId == null) {
+      throw new InvalidArgumentException("tenantId");
+    }
+
+    validateSearchCursor(cursor);
+
+    if ((pageSize != null) && (pageSize <= 0)) {
+      throw new InvalidArgumentException("pageSize");
+    }
+
+    if (sortDirection == null) {
+      sortDirection = SortDirection.ASCENDING;
+    }
+
+    if (pageSize == null) {
+      pageSize = maxFilteredParties;
+    } else {
+      pageSize = Math.min(pageSize, maxFilteredParties);
+    }
+
+    return partyStore.searchParties(
+        tenantId, filter, sortDirection, cursor, pageSize, Boolean.TRUE.equals(includeTotal));
+  }
+
+  @Override
+  public PersonSearchResults searchPersons(
+      UUID tenantId,
+      String filter,
+      SortDirection sortDirection,
+      String cursor,
+      Integer pageSize,
+      Boolean includeTotal)
+      throws InvalidArgumentException, ServiceUnavailableException {
+    if (tenantId == null) {
+      throw new InvalidArgumentException("tenantId");
+    }
+
+    validateSearchCursor(cursor);
+
+    if ((pageSize != null) && (pageSize <= 0)) {
+      throw new InvalidArgumentException("pageSize");
+    }
+
+    if (sortDirection == null) {
+      sortDirection = SortDirection.ASCENDING;
+    }
+
+    if (pageSize == null) {
+      pageSize = maxFilteredPersons;
+    } else {
+      pageSize = Math.min(pageSize, maxFilteredPersons);
+    }
+
+    return partyStore.searchPersons(
+        tenantId, filter, sortDirection, cursor, pageSize, Boolean.TRUE.equals(includeTotal));
+  }
+
   @Override
   public Association updateAssociation(UUID tenantId, Association association)
       throws InvalidArgumentException,
@@ -749,4 +819,20 @@ public class PartyServiceImpl extends AbstractServiceBase implements PartyServic
 
     return partyService;
   }
+
+  /**
+   * Validate the opaque cursor for a keyset paginated search.
+   *
+   * @param cursor the opaque cursor
+   * @throws InvalidArgumentException if the cursor is invalid
+   */
+  private void validateSearchCursor(String cursor) throws InvalidArgumentException {
+    if (StringUtils.hasText(cursor)) {
+      try {
+        PartySearchCursor.decode(cursor);
+      } catch (IllegalArgumentException e) {
+        throw new InvalidArgumentException("cursor");
+      }
+    }
+  }
 }
@@ -19,6 +19,7 @@ package digital.inception.party.store;
 import digital.inception.core.exception.InvalidArgumentException;
 import digital.inception.core.exception.ServiceUnavailableException;
 import digital.inception.core.sorting.SortDirection;
+import digital.inception.core.util.StringUtil;
 import digital.inception.party.exception.AssociationNotFoundException;
 import digital.inception.party.exception.DuplicateAssociationException;
 import digital.inception.party.exception.DuplicateMandateException;
@@ -41,9 +42,11 @@ import digital.inception.party.model.OrganizationSortBy;
 import digital.inception.party.model.Organizations;
 import digital.inception.party.model.Parties;
 import digital.inception.party.model.Party;
+import digital.inception.party.model.PartySearchResults;
 import digital.inception.party.model.PartySortBy;
 import digital.inception.party.model.PartyType;
 import digital.inception.party.model.Person;
+import digital.inception.party.model.PersonSearchResults;
 import digital.inception.party.model.PersonSortBy;
 import digital.inception.party.model.Persons;
 import digital.inception.party.model.Snapshot;
@@ -63,6 +66,7 @@ import java.util.UUID;
 import org.springframework.context.annotation.Conditional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Sort.Direction;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
@@ -573,8 +577,8 @@ public class InternalPartyStore implements PartyStore {
                     if (StringUtils.hasText(filter)) {
                       predicates.add(
                           criteriaBuilder.like(
-                              criteriaBuilder.lower(root.get("name")),
-                              "%" + filter.toLowerCase() + "%"));
+                              root.get("searchName"),
+                              "%" + StringUtil.normalizeForSearch(filter) + "%"));
                     }
 
                     return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
@@ -623,8 +627,8 @@ public class InternalPartyStore implements PartyStore {
                     if (StringUtils.hasText(filter)) {
                       predicates.add(
                           criteriaBuilder.like(
-                              criteriaBuilder.lower(root.get("name")),
-                              "%" + filter.toLowerCase() + "%"));
+                              root.get("searchName"),
+                              "%" + StringUtil.normalizeForSearch(filter) + "%"));
                     }
 
                     return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
@@ -717,8 +721,8 @@ public class InternalPartyStore implements PartyStore {
                     if (StringUtils.hasText(filter)) {
                       predicates.add(
                           criteriaBuilder.like(
-                              criteriaBuilder.lower(root.get("name")),
-                              "%" + filter.toLowerCase() + "%"));
+                              root.get("searchName"),
+                              "%" + StringUtil.normalizeForSearch(filter) + "%"));
                     }
 
                     return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
@@ -829,6 +833,95 @@ public class InternalPartyStore implements PartyStore {
     }
   }
 
+  @Override
+  public PartySearchResults searchParties(
+      UUID tenantId,
+      String filter,
+      SortDirection sortDirection,
+      String cursor,
+      int pageSize,
+      boolean includeTotal)
+      throws ServiceUnavailableException {
+    try {
+      String searchFilter = StringUtil.normalizeForSearch(filter);
+
+      PartySearchCursor searchCursor =
+          StringUtils.hasText(cursor) ? PartySearchCursor.decode(cursor) : null;
+
+      // Retrieve one additional party to determine whether there is a next page
+      List<Party> parties =
+          partyRepository.findBy(
+              getKeysetSearchSpecification(tenantId, searchFilter, sortDirection, searchCursor),
+              query -> query.sortBy(getKeysetSearchSort(sortDirection)).limit(pageSize + 1).all());
+
+      String nextCursor = null;
+
+      if (parties.size() > pageSize) {
+        parties = parties.subList(0, pageSize);
+
+        Party lastParty = parties.getLast();
+
+        nextCursor = new PartySearchCursor(lastParty.getSearchName(), lastParty.getId()).encode();
+      }
+
+      Long total =
+          includeTotal
+              ? partyRepository.count(
+                  getKeysetSearchSpecification(tenantId, searchFilter, sortDirection, null))
+              : null;
+
+      return new PartySearchResults(parties, total, sortDirection, pageSize, nextCursor);
+    } catch (Throwable e) {
+      throw new ServiceUnavailableException(
+          "Failed to search for parties for the tenant (" + tenantId + ")", e);
+    }
+  }
+
+  @Override
+  public PersonSearchResults searchPersons(
+      UUID tenantId,
+      String filter,
+      SortDirection sortDirection,
+      String cursor,
+      int pageSize,
+      boolean includeTotal)
+      throws ServiceUnavailableException {
+    try {
+      String searchFilter = StringUtil.normalizeForSearch(filter);
+
+      PartySearchCursor searchCursor =
+          StringUtils.hasText(cursor) ? PartySearchCursor.decode(cursor) : null;
+
+      // Retrieve one additional person to determine whether there is a next page
+      List<Person> persons =
+          personRepository.findBy(
+              getKeysetSearchSpecification(tenantId, searchFilter, sortDirection, searchCursor),
+              query -> query.sortBy(getKeysetSearchSort(sortDirection)).limit(pageSize + 1).all());
+
+      String nextCursor = null;
+
+      if (persons.size() > pageSize) {
+        persons = persons.subList(0, pageSize);
+
+        Person lastPerson = persons.getLast();
+
+        nextCursor =
+            new PartySearchCursor(lastPerson.getSearchName(), lastPerson.getId()).encode();
+      }
+
+      Long total =
+          includeTotal
+              ? personRepository.count(
+                  getKeysetSearchSpecification(tenantId, searchFilter, sortDirection, null))
+              : null;
+
+      return new PersonSearchResults(persons, total, sortDirection, pageSize, nextCursor);
+    } catch (Throwable e) {
+      throw new ServiceUnavailableException(
+          "Failed to search for persons for the tenant (" + tenantId + ")", e);
+    }
+  }
+
   @Override
   public Association updateAssociation(UUID tenantId, Association association)
       throws AssociationNotFoundException, ServiceUnavailableException {
@@ -950,4 +1043,67 @@ public class InternalPartyStore implements PartyStore {
           e);
     }
   }
+
+  /**
+   * Returns the sort used to order the results of a keyset paginated search, i.e. by the
+   * search-normalized name and then by ID to ensure a stable total ordering.
+   *
+   * @param sortDirection the sort direction
+   * @return the sort used to order the results of a keyset paginated search
+   */
+  private static Sort getKeysetSearchSort(SortDirection sortDirection) {
+    Direction direction =
+        (sortDirection == SortDirection.DESCENDING) ? Direction.DESC : Direction.ASC;
+
+    return Sort.by(direction, "searchName").and(Sort.by(direction, "id"));
+  }
+
+  /**
+   * Returns the specification used to execute a keyset paginated search for parties, which is
+   * served by the index on the tenant ID and search-normalized name and, where supported, the
+   * trigram index on the search-normalized name.
+   *
+   * @param tenantId the ID for the tenant
+   * @param searchFilter the search-normalized filter or {@code null}
+   * @param sortDirection the sort direction
+   * @param searchCursor the position of the last party returned by the previous search or {@code
+   *     null} to retrieve the first page
+   * @param <T> the party entity type
+   * @return the specification used to execute a keyset paginated search for parties
+   */
+  private static <T> Specification<T> getKeysetSearchSpecification(
+      UUID tenantId,
+      String searchFilter,
+      SortDirection sortDirection,
+      PartySearchCursor searchCursor) {
+    return (root, query, criteriaBuilder) -> {
+      List<Predicate> predicates = new ArrayList<>();
+
+      predicates.add(criteriaBuilder.equal(root.get("tenantId"), tenantId));
+
+      if (StringUtils.hasText(searchFilter)) {
+        predicates.add(criteriaBuilder.like(root.get("searchName"), "%" + searchFilter + "%"));
+      }
+
+      if (searchCursor != null) {
+        if (sortDirection == SortDirection.DESCENDING) {
+          predicates.add(
+              criteriaBuilder.or(
+                  criteriaBuilder.lessThan(root.get("searchName"), searchCursor.searchName()),
+                  criteriaBuilder.and(
+                      criteriaBuilder.equal(root.get("searchName"), searchCursor.searchName()),
+                      criteriaBuilder.lessThan(root.<UUID>get("id"), searchCursor.id()))));
+        } else {
+          predicates.add(
+              criteriaBuilder.or(
+                  criteriaBuilder.greaterThan(root.get("searchName"), searchCursor.searchName()),
+                  criteriaBuilder.and(
+                      criteriaBuilder.equal(root.get("searchName"), searchCursor.searchName()),
+                      criteriaBuilder.greaterThan(root.<UUID>get("id"), searchCursor.id()))));
+        }
+      }
+
+      return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
+    };
+  }
 }
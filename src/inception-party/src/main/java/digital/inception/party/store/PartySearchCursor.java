@@ -0,0 +1,60 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package digital.inception.party.store;
+
+import digital.inception.core.util.CursorUtil;
+import java.util.UUID;
+
+/**
+ * The {@code PartySearchCursor} record holds the position of the last party returned by a keyset
+ * paginated party search, i.e. the search-normalized name and ID for the party, and handles the
+ * encoding of this position as an opaque URL-safe string.
+ *
+ * @param searchName the search-normalized name of the last party returned
+ * @param id the ID for the last party returned
+ * @author Marcus Portmann
+ */
+public record PartySearchCursor(String searchName, UUID id) {
+
+  /**
+   * Decode the opaque cursor.
+   *
+   * @param cursor the opaque cursor
+   * @return the decoded cursor
+   * @throws IllegalArgumentException if the cursor is invalid
+   */
+  public static PartySearchCursor decode(String cursor) {
+    // The ID is encoded first, since only the last field may contain the separator
+    String[] fields = CursorUtil.decode(cursor, 2);
+
+    if (fields.length != 2) {
+      throw new IllegalArgumentException("Invalid party search cursor (" + cursor + ")");
+    }
+
+    return new PartySearchCursor(fields[1], UUID.fromString(fields[0]));
+  }
+
+  /**
+   * Encode the cursor as an opaque URL-safe string.
+   *
+   * @return the opaque URL-safe string
+   */
+  public String encode() {
+    return CursorUtil.encode(id.toString(), searchName);
+  }
+}
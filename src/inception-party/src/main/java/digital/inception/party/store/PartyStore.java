@@ -40,9 +40,11 @@ import digital.inception.party.model.OrganizationSortBy;
 import digital.inception.party.model.Organizations;
 import digital.inception.party.model.Parties;
 import digital.inception.party.model.Party;
+import digital.inception.party.model.PartySearchResults;
 import digital.inception.party.model.PartySortBy;
 import digital.inception.party.model.PartyType;
 import digital.inception.party.model.Person;
+import digital.inception.party.model.PersonSearchResults;
 import digital.inception.party.model.PersonSortBy;
 import digital.inception.party.model.Persons;
 import digital.inception.party.model.Snapshots;
@@ -379,6 +381,50 @@ public interface PartyStore {
   Optional<PartyType> getTypeForParty(UUID tenantId, UUID partyId)
       throws InvalidArgumentException, ServiceUnavailableException;
 
+  /**
+   * Search for parties using the search-normalized names of the parties and keyset pagination.
+   *
+   * @param tenantId the ID for the tenant
+   * @param filter the filter to apply to the search-normalized names of the parties
+   * @param sortDirection the sort direction to apply to the parties
+   * @param cursor the opaque cursor returned by the previous search used to retrieve the next page
+   *     of parties or {@code null} to retrieve the first page
+   * @param pageSize the page size
+   * @param includeTotal should the total number of parties matching the search be retrieved
+   * @return the party search results
+   * @throws ServiceUnavailableException if the party search failed
+   */
+  PartySearchResults searchParties(
+      UUID tenantId,
+      String filter,
+      SortDirection sortDirection,
+      String cursor,
+      int pageSize,
+      boolean includeTotal)
+      throws ServiceUnavailableException;
+
+  /**
+   * Search for persons using the search-normalized names of the persons and keyset pagination.
+   *
+   * @param tenantId the ID for the tenant
+   * @param filter the filter to apply to the search-normalized names of the persons
+   * @param sortDirection the sort direction to apply to the persons
+   * @param cursor the opaque cursor returned by the previous search used to retrieve the next page
+   *     of persons or {@code null} to retrieve the first page
+   * @param pageSize the page size
+   * @param includeTotal should the total number of persons matching the search be retrieved
+   * @return the person search results
+   * @throws ServiceUnavailableException if the person search failed
+   */
+  PersonSearchResults searchPersons(
+      UUID tenantId,
+      String filter,
+      SortDirection sortDirection,
+      String cursor,
+      int pageSize,
+      boolean includeTotal)
+      throws ServiceUnavailableException;
+
   /**
    * Update the association.
    *
@@ -16,11 +16,18 @@
 
 package digital.inception.party.test;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import digital.inception.core.util.TenantUtil;
 import digital.inception.party.generator.Generator;
+import digital.inception.party.model.Organization;
+import digital.inception.party.model.Person;
+import digital.inception.party.service.PartyService;
 import digital.inception.test.InceptionExtension;
 import digital.inception.test.TestConfiguration;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.ConfigDataApplicationContextInitializer;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.TestExecutionListeners;
@@ -48,12 +55,41 @@ import org.springframework.test.context.transaction.TransactionalTestExecutionLi
     })
 public class GeneratorTests {
 
+  /** The Party Service. */
+  @Autowired private PartyService partyService;
+
+  /** Test the generate organization functionality. */
+  @Test
+  public void generateOrganizationTest() throws Exception {
+    Generator generator = new Generator();
+
+    for (int i = 0; i < 100; i++) {
+      Organization organization = generator.generateOrganization(TenantUtil.DEFAULT_TENANT_ID);
+
+      assertEquals(
+          0,
+          partyService.validateOrganization(TenantUtil.DEFAULT_TENANT_ID, organization).size(),
+          "The generated organization is invalid");
+    }
+  }
+
   /** Test the generate person functionality. */
   @Test
   public void generatePersonTest() throws Exception {
     Generator generator = new Generator();
 
-    int xxx = 0;
-    xxx++;
+    for (int i = 0; i < 100; i++) {
+      Person person = generator.generatePerson(TenantUtil.DEFAULT_TENANT_ID);
+
+      assertEquals(
+          0,
+          partyService.validatePerson(TenantUtil.DEFAULT_TENANT_ID, person).size(),
+          "The generated person is invalid");
+    }
+
+    assertEquals(
+        new Generator().generatePerson(TenantUtil.DEFAULT_TENANT_ID).getName(),
+        new Generator().generatePerson(TenantUtil.DEFAULT_TENANT_ID).getName(),
+        "The same seed did not generate the same person");
   }
 }
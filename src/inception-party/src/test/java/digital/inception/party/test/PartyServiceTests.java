@@ -18,6 +18,7 @@ package digital.inception.party.test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -63,6 +64,7 @@ import digital.inception.party.model.Party;
 import digital.inception.party.model.PartySortBy;
 import digital.inception.party.model.PartyType;
 import digital.inception.party.model.Person;
+import digital.inception.party.model.PersonSearchResults;
 import digital.inception.party.model.PersonSortBy;
 import digital.inception.party.model.Persons;
 import digital.inception.party.model.PhysicalAddress;
@@ -2487,6 +2489,59 @@ public class PartyServiceTests {
         "The correct number of constraint violations was not found for the invalid organization");
   }
 
+  /** Test the keyset paginated person search functionality. */
+  @Test
+  public void personSearchTest() throws Exception {
+    Person firstPerson = new Person(TenantUtil.DEFAULT_TENANT_ID, "José Müller");
+    Person secondPerson = new Person(TenantUtil.DEFAULT_TENANT_ID, "Jose Mullerson");
+    Person thirdPerson = new Person(TenantUtil.DEFAULT_TENANT_ID, "Anna Smith");
+
+    partyService.createPerson(TenantUtil.DEFAULT_TENANT_ID, firstPerson);
+    partyService.createPerson(TenantUtil.DEFAULT_TENANT_ID, secondPerson);
+    partyService.createPerson(TenantUtil.DEFAULT_TENANT_ID, thirdPerson);
+
+    PersonSearchResults personSearchResults =
+        partyService.searchPersons(
+            TenantUtil.DEFAULT_TENANT_ID, "JOSÉ MULLER", SortDirection.ASCENDING, null, 1, true);
+
+    assertEquals(
+        1,
+        personSearchResults.getPersons().size(),
+        "The correct number of persons was not retrieved for the first page");
+    assertEquals(
+        2L,
+        personSearchResults.getTotal(),
+        "The correct total number of persons matching the search was not retrieved");
+    assertEquals(
+        firstPerson.getId(),
+        personSearchResults.getPersons().getFirst().getId(),
+        "The correct person was not retrieved for the first page");
+
+    personSearchResults =
+        partyService.searchPersons(
+            TenantUtil.DEFAULT_TENANT_ID,
+            "JOSÉ MULLER",
+            SortDirection.ASCENDING,
+            personSearchResults.getNextCursor(),
+            1,
+            false);
+
+    assertEquals(
+        1,
+        personSearchResults.getPersons().size(),
+        "The correct number of persons was not retrieved for the second page");
+    assertEquals(
+        secondPerson.getId(),
+        personSearchResults.getPersons().getFirst().getId(),
+        "The correct person was not retrieved for the second page");
+    assertNull(personSearchResults.getTotal(), "The total number of persons was retrieved");
+    assertNull(personSearchResults.getNextCursor(), "A cursor for a third page was returned");
+
+    partyService.deletePerson(TenantUtil.DEFAULT_TENANT_ID, firstPerson.getId());
+    partyService.deletePerson(TenantUtil.DEFAULT_TENANT_ID, secondPerson.getId());
+    partyService.deletePerson(TenantUtil.DEFAULT_TENANT_ID, thirdPerson.getId());
+  }
+
   /** Test the person functionality. */
   @Test
   public void personTest() throws Exception {
@@ -211,6 +211,18 @@ public abstract class BackgroundObjectProcessor<
   /** The queue backing the thread pool executor. */
   private final LinkedBlockingQueue<Runnable> queue;
 
+  /**
+   * The transaction synchronization, registered at most once per transaction, that triggers a call
+   * to {@link #processObjects()} after the transaction commits.
+   */
+  private final TransactionSynchronization triggerProcessingSynchronization =
+      new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          submitTrigger(BackgroundObjectProcessor.this::processObjects);
+        }
+      };
+
   /** Total number of objects that ended in a permanent failure. */
   private Counter failureCounter;
 
@@ -502,7 +514,8 @@ public abstract class BackgroundObjectProcessor<
    *       TransactionSynchronizationManager #isActualTransactionActive()} returns {@code true}), a
    *       {@link TransactionSynchronization} is registered and the trigger is executed
    *       <strong>after the transaction successfully commits</strong>. This ensures that {@link
-   *       #processObjects()} only sees changes that have been durably persisted.
+   *       #processObjects()} only sees changes that have been durably persisted. Multiple calls
+   *       within the same transaction are coalesced into a single trigger.
    *   <li>If no transaction is active, the trigger is submitted immediately.
    *   <li>In both cases the actual execution is delegated to the shared static {@link
    *       #TRIGGER_EXECUTOR}, which submits a single call to {@link #processObjects()} on a
@@ -517,18 +530,15 @@ public abstract class BackgroundObjectProcessor<
       return;
     }
 
-    Runnable task = this::processObjects;
-
     if (TransactionSynchronizationManager.isActualTransactionActive()) {
-      TransactionSynchronizationManager.registerSynchronization(
-          new TransactionSynchronization() {
-            @Override
-            public void afterCommit() {
-              submitTrigger(task);
-            }
-          });
+      // Coalesce multiple triggers within the same transaction into a single trigger on commit
+      if (!TransactionSynchronizationManager.getSynchronizations()
+          .contains(triggerProcessingSynchronization)) {
+        TransactionSynchronizationManager.registerSynchronization(
+            triggerProcessingSynchronization);
+      }
     } else {
-      submitTrigger(task);
+      submitTrigger(this::processObjects);
     }
   }
 
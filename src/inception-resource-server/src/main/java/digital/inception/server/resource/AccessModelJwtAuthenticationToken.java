@@ -0,0 +1,63 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package digital.inception.server.resource;
+
+import digital.inception.core.api.AccessModel;
+import digital.inception.core.api.AccessModelProvider;
+import java.io.Serial;
+import java.util.Collection;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+/**
+ * The {@code AccessModelJwtAuthenticationToken} class implements a JWT authentication token that
+ * carries the {@link AccessModel} precomputed from the claims in the JWT.
+ *
+ * @author Marcus Portmann
+ */
+public class AccessModelJwtAuthenticationToken extends JwtAuthenticationToken
+    implements AccessModelProvider {
+
+  @Serial private static final long serialVersionUID = 1000000;
+
+  /** The precomputed access model for the authenticated principal. */
+  private final AccessModel accessModel;
+
+  /**
+   * Constructs a new {@code AccessModelJwtAuthenticationToken}.
+   *
+   * @param jwt the JWT
+   * @param authorities the authorities assigned to the JWT
+   * @param name the principal name
+   * @param accessModel the precomputed access model for the authenticated principal
+   */
+  public AccessModelJwtAuthenticationToken(
+      Jwt jwt,
+      Collection<? extends GrantedAuthority> authorities,
+      String name,
+      AccessModel accessModel) {
+    super(jwt, authorities, name);
+
+    this.accessModel = accessModel;
+  }
+
+  @Override
+  public AccessModel getAccessModel() {
+    return accessModel;
+  }
+}
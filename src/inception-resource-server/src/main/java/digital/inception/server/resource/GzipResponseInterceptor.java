@@ -0,0 +1,109 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package digital.inception.server.resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * The {@code GzipResponseInterceptor} class implements a client HTTP request interceptor that
+ * requests gzip-compressed responses and transparently decompresses them, since the default {@code
+ * RestTemplate} request factory does not.
+ *
+ * @author Marcus Portmann
+ */
+final class GzipResponseInterceptor implements ClientHttpRequestInterceptor {
+
+  /** Constructs a new {@code GzipResponseInterceptor}. */
+  GzipResponseInterceptor() {}
+
+  @Override
+  public ClientHttpResponse intercept(
+      HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+    request.getHeaders().set(HttpHeaders.ACCEPT_ENCODING, "gzip");
+
+    ClientHttpResponse response = execution.execute(request, body);
+
+    if ("gzip".equalsIgnoreCase(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING))) {
+      return new GzipClientHttpResponse(response);
+    } else {
+      return response;
+    }
+  }
+
+  /** A client HTTP response that decompresses a gzip-compressed response body. */
+  private static final class GzipClientHttpResponse implements ClientHttpResponse {
+
+    /** The HTTP headers for the decompressed response. */
+    private final HttpHeaders headers;
+
+    /** The gzip-compressed response. */
+    private final ClientHttpResponse response;
+
+    /** The decompressed response body. */
+    private InputStream body;
+
+    /**
+     * Constructs a new {@code GzipClientHttpResponse}.
+     *
+     * @param response the gzip-compressed response
+     */
+    GzipClientHttpResponse(ClientHttpResponse response) {
+      this.response = response;
+      this.headers = new HttpHeaders();
+      this.headers.putAll(response.getHeaders());
+      this.headers.remove(HttpHeaders.CONTENT_ENCODING);
+      this.headers.remove(HttpHeaders.CONTENT_LENGTH);
+    }
+
+    @Override
+    public void close() {
+      response.close();
+    }
+
+    @Override
+    public InputStream getBody() throws IOException {
+      if (body == null) {
+        body = new GZIPInputStream(response.getBody());
+      }
+
+      return body;
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+      return headers;
+    }
+
+    @Override
+    public HttpStatusCode getStatusCode() throws IOException {
+      return response.getStatusCode();
+    }
+
+    @Override
+    public String getStatusText() throws IOException {
+      return response.getStatusText();
+    }
+  }
+}
@@ -16,18 +16,26 @@
 
 package digital.inception.server.resource;
 
+import digital.inception.core.api.AccessModel;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimNames;
 import org.springframework.util.StringUtils;
 
 /**
  * The {@code JwtGrantedAuthoritiesConverter} class extracts the granted authorities from a JWT.
  *
+ * <p>It also builds the authentication token for a JWT, which carries the {@link AccessModel}
+ * precomputed from the function and role claims, so that access checks do not need to scan the
+ * granted authorities.
+ *
  * @author Marcus Portmann
  */
 public class JwtGrantedAuthoritiesConverter
@@ -56,6 +64,43 @@ public class JwtGrantedAuthoritiesConverter
    */
   @Override
   public Collection<GrantedAuthority> convert(Jwt jwt) {
+    return convert(jwt, null, null);
+  }
+
+  /**
+   * Convert the JWT to an authentication token that carries the precomputed {@link AccessModel}
+   * for the user.
+   *
+   * <p>The claims are only processed once to produce both the granted authorities and the access
+   * model.
+   *
+   * @param jwt the {@link Jwt} token
+   * @return the authentication token
+   */
+  public AccessModelJwtAuthenticationToken convertToAuthenticationToken(Jwt jwt) {
+    Set<String> roleCodes = new HashSet<>();
+    Set<String> functionCodes = new HashSet<>();
+
+    Collection<GrantedAuthority> grantedAuthorities = convert(jwt, roleCodes, functionCodes);
+
+    return new AccessModelJwtAuthenticationToken(
+        jwt,
+        grantedAuthorities,
+        jwt.getClaimAsString(JwtClaimNames.SUB),
+        new AccessModel(roleCodes, functionCodes, Set.of()));
+  }
+
+  /**
+   * Extract the granted authorities from the JWT and optionally collect the role codes and
+   * function codes for the access model.
+   *
+   * @param jwt the {@link Jwt} token
+   * @param roleCodes the set the role codes should be added to or {@code null}
+   * @param functionCodes the set the function codes should be added to or {@code null}
+   * @return the granted authorities
+   */
+  private Collection<GrantedAuthority> convert(
+      Jwt jwt, Set<String> roleCodes, Set<String> functionCodes) {
     Collection<GrantedAuthority> grantedAuthorities = new ArrayList<>();
 
     // User Directory ID claim
@@ -70,7 +115,12 @@ public class JwtGrantedAuthoritiesConverter
 
     if (functionsClaim != null) {
       for (String functionClaim : functionsClaim) {
-        grantedAuthorities.add(new SimpleGrantedAuthority("FUNCTION_" + functionClaim));
+        grantedAuthorities.add(
+            new SimpleGrantedAuthority(AccessModel.FUNCTION_AUTHORITY_PREFIX + functionClaim));
+
+        if (functionCodes != null) {
+          functionCodes.add(functionClaim);
+        }
       }
     }
 
@@ -79,7 +129,12 @@ public class JwtGrantedAuthoritiesConverter
 
     if (rolesClaim != null) {
       for (String roleClaim : rolesClaim) {
-        grantedAuthorities.add(new SimpleGrantedAuthority("ROLE_" + roleClaim));
+        grantedAuthorities.add(
+            new SimpleGrantedAuthority(AccessModel.ROLE_AUTHORITY_PREFIX + roleClaim));
+
+        if (roleCodes != null) {
+          roleCodes.add(roleClaim);
+        }
       }
     }
 
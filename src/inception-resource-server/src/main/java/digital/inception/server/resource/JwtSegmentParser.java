@@ -0,0 +1,338 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package digital.inception.server.resource;
+
+import com.nimbusds.jose.util.JSONObjectUtils;
+import java.io.Serial;
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * The {@code JwtSegmentParser} class extracts individual top-level string members, e.g. the "kid"
+ * header parameter or the "iss" claim, from the Base64URL-encoded segments of a compact serialized
+ * JWT without creating intermediate strings or parsing the complete JSON object.
+ *
+ * <p>The segment is decoded directly from the token into a byte array, which is then scanned for
+ * the member. If the segment contains a construct the scanner does not handle, e.g. an escaped
+ * member name or value, the decoded JSON is parsed in full instead.
+ *
+ * <p>The scanner checks the structure of the complete object, and rejects an object that contains
+ * the member more than once, but it does not validate the values of the other members. A segment
+ * that is not well-formed JSON may therefore be accepted if the requested member is well-formed.
+ * Such a token is still rejected when its signature is verified and its claims are parsed in full.
+ *
+ * @author Marcus Portmann
+ */
+final class JwtSegmentParser {
+
+  /** The lookup table for decoding Base64URL characters, with -1 for invalid characters. */
+  private static final int[] BASE64_URL_DECODE_TABLE = new int[128];
+
+  static {
+    Arrays.fill(BASE64_URL_DECODE_TABLE, -1);
+
+    String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+
+    for (int i = 0; i < alphabet.length(); i++) {
+      BASE64_URL_DECODE_TABLE[alphabet.charAt(i)] = i;
+    }
+  }
+
+  /** Private constructor to prevent instantiation. */
+  private JwtSegmentParser() {}
+
+  /**
+   * Returns the value of the top-level string member with the specified name from the JSON object
+   * in the Base64URL-encoded segment of the token.
+   *
+   * @param token the compact serialized JWT
+   * @param start the index of the first character of the segment
+   * @param end the index after the last character of the segment
+   * @param name the name of the member
+   * @return the value of the member or {@code null} if the member does not exist or has a null
+   *     value
+   * @throws ParseException if the segment is not a valid Base64URL-encoded JSON object, the member
+   *     is not a string or the object contains the member more than once
+   */
+  static String getStringMember(String token, int start, int end, String name)
+      throws ParseException {
+    byte[] json = decodeBase64Url(token, start, end);
+
+    try {
+      return scanStringMember(json, name.getBytes(StandardCharsets.UTF_8));
+    } catch (UnsupportedJsonException e) {
+      Map<String, Object> jsonObject =
+          JSONObjectUtils.parse(new String(json, StandardCharsets.UTF_8));
+
+      return JSONObjectUtils.getString(jsonObject, name);
+    }
+  }
+
+  /**
+   * Check that there is only whitespace after the end of the JSON object.
+   *
+   * @param json the JSON
+   * @param pos the index after the closing brace for the JSON object
+   * @param value the value of the member
+   * @return the value of the member
+   */
+  private static String checkEnd(byte[] json, int pos, String value)
+      throws UnsupportedJsonException {
+    if (skipWhitespace(json, pos) != json.length) {
+      throw new UnsupportedJsonException();
+    }
+
+    return value;
+  }
+
+  private static byte[] decodeBase64Url(String token, int start, int end) throws ParseException {
+    // Ignore any trailing padding, which is not used by JWTs but is tolerated
+    while ((end > start) && (token.charAt(end - 1) == '=')) {
+      end--;
+    }
+
+    int length = end - start;
+
+    if ((length % 4) == 1) {
+      throw new ParseException("Invalid Base64URL-encoded JWT segment length", start);
+    }
+
+    byte[] decoded = new byte[(length * 3) / 4];
+
+    int bits = 0;
+    int bitCount = 0;
+    int decodedPos = 0;
+
+    for (int i = start; i < end; i++) {
+      char c = token.charAt(i);
+
+      int value = (c < 128) ? BASE64_URL_DECODE_TABLE[c] : -1;
+
+      if (value == -1) {
+        throw new ParseException("Invalid Base64URL character in JWT segment", i);
+      }
+
+      bits = (bits << 6) | value;
+      bitCount += 6;
+
+      if (bitCount >= 8) {
+        bitCount -= 8;
+        decoded[decodedPos++] = (byte) (bits >> bitCount);
+        bits &= (1 << bitCount) - 1;
+      }
+    }
+
+    return decoded;
+  }
+
+  private static boolean matches(byte[] json, int start, int end, byte[] name) {
+    if ((end - start) != name.length) {
+      return false;
+    }
+
+    for (int i = 0; i < name.length; i++) {
+      if (json[start + i] != name[i]) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  private static String scanStringMember(byte[] json, byte[] name)
+      throws ParseException, UnsupportedJsonException {
+    int pos = skipWhitespace(json, 0);
+
+    if ((pos >= json.length) || (json[pos] != '{')) {
+      throw new UnsupportedJsonException();
+    }
+
+    pos = skipWhitespace(json, pos + 1);
+
+    if ((pos < json.length) && (json[pos] == '}')) {
+      return checkEnd(json, pos + 1, null);
+    }
+
+    String value = null;
+    boolean found = false;
+
+    while (pos < json.length) {
+      // Read the member name
+      if (json[pos] != '"') {
+        throw new UnsupportedJsonException();
+      }
+
+      int nameStart = pos + 1;
+      int nameEnd = scanSimpleString(json, nameStart);
+
+      pos = skipWhitespace(json, nameEnd + 1);
+
+      if ((pos >= json.length) || (json[pos] != ':')) {
+        throw new UnsupportedJsonException();
+      }
+
+      pos = skipWhitespace(json, pos + 1);
+
+      if (pos >= json.length) {
+        throw new UnsupportedJsonException();
+      }
+
+      if (matches(json, nameStart, nameEnd, name)) {
+        if (found) {
+          throw new ParseException(
+              "Duplicate member (" + new String(name, StandardCharsets.UTF_8) + ") in JWT segment",
+              0);
+        } else if (json[pos] == '"') {
+          int valueStart = pos + 1;
+          int valueEnd = scanSimpleString(json, valueStart);
+
+          value = new String(json, valueStart, valueEnd - valueStart, StandardCharsets.UTF_8);
+          found = true;
+
+          pos = skipWhitespace(json, valueEnd + 1);
+        } else {
+          // Let the full parse handle null and non-string values
+          throw new UnsupportedJsonException();
+        }
+      } else {
+        pos = skipWhitespace(json, skipValue(json, pos));
+      }
+
+      if (pos >= json.length) {
+        throw new UnsupportedJsonException();
+      } else if (json[pos] == ',') {
+        pos = skipWhitespace(json, pos + 1);
+      } else if (json[pos] == '}') {
+        return checkEnd(json, pos + 1, value);
+      } else {
+        throw new UnsupportedJsonException();
+      }
+    }
+
+    throw new UnsupportedJsonException();
+  }
+
+  /**
+   * Returns the index of the closing quote for a string without escape sequences.
+   *
+   * @param json the JSON
+   * @param pos the index of the first character after the opening quote
+   * @return the index of the closing quote
+   */
+  private static int scanSimpleString(byte[] json, int pos) throws UnsupportedJsonException {
+    while (pos < json.length) {
+      byte b = json[pos];
+
+      if (b == '"') {
+        return pos;
+      } else if (b == '\\') {
+        throw new UnsupportedJsonException();
+      }
+
+      pos++;
+    }
+
+    throw new UnsupportedJsonException();
+  }
+
+  private static int skipString(byte[] json, int pos) throws UnsupportedJsonException {
+    while (pos < json.length) {
+      byte b = json[pos];
+
+      if (b == '"') {
+        return pos + 1;
+      } else if (b == '\\') {
+        pos += 2;
+      } else {
+        pos++;
+      }
+    }
+
+    throw new UnsupportedJsonException();
+  }
+
+  /**
+   * Returns the index after the value starting at the specified index.
+   *
+   * @param json the JSON
+   * @param pos the index of the first character of the value
+   * @return the index after the value
+   */
+  private static int skipValue(byte[] json, int pos) throws UnsupportedJsonException {
+    int depth = 0;
+
+    while (pos < json.length) {
+      byte b = json[pos];
+
+      if (b == '"') {
+        pos = skipString(json, pos + 1);
+
+        if (depth == 0) {
+          return pos;
+        }
+
+        continue;
+      } else if ((b == '{') || (b == '[')) {
+        depth++;
+      } else if ((b == '}') || (b == ']')) {
+        if (depth == 0) {
+          return pos;
+        }
+
+        depth--;
+
+        if (depth == 0) {
+          return pos + 1;
+        }
+      } else if ((b == ',') && (depth == 0)) {
+        return pos;
+      }
+
+      pos++;
+    }
+
+    throw new UnsupportedJsonException();
+  }
+
+  private static int skipWhitespace(byte[] json, int pos) {
+    while ((pos < json.length)
+        && ((json[pos] == ' ')
+            || (json[pos] == '\t')
+            || (json[pos] == '\n')
+            || (json[pos] == '\r'))) {
+      pos++;
+    }
+
+    return pos;
+  }
+
+  /**
+   * The {@code UnsupportedJsonException} exception is thrown when the scanner encounters a JSON
+   * construct it does not handle, in which case the JSON is parsed in full.
+   */
+  private static final class UnsupportedJsonException extends Exception {
+
+    @Serial private static final long serialVersionUID = 1000000;
+
+    /** Constructs a new {@code UnsupportedJsonException}. */
+    UnsupportedJsonException() {
+      super(null, null, false, false);
+    }
+  }
+}
@@ -16,102 +16,98 @@
 
 package digital.inception.server.resource;
 
-import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.nimbusds.jose.HeaderParameterNames;
-import com.nimbusds.jose.util.Base64URL;
-import com.nimbusds.jose.util.JSONObjectUtils;
-import digital.inception.core.time.ApplicationClock;
-import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.OffsetDateTime;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.core.ParameterizedTypeReference;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
 import org.springframework.security.oauth2.jwt.BadJwtException;
 import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimNames;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.JwtException;
 import org.springframework.util.StringUtils;
-import org.springframework.web.client.RestTemplate;
 
 /**
  * The {@code MultiIssuerJwtDecoder} class provides a JWT decoder implementation that is capable of
  * decoding JWTs signed by different issuers using different RSA keys or secret keys.
  *
+ * <p>The decoder for a JWT is selected using the key ID in the JWT header or, if there is no
+ * decoder for the key ID, the issuer claim, which selects a decoder that verifies the JWT using the
+ * keys retrieved from the JWK Set endpoint for the issuer. Only the JSON members required to select
+ * the decoder are extracted, since the selected decoder parses the complete JWT.
+ *
  * @author Marcus Portmann
  */
-public class MultiIssuerJwtDecoder implements JwtDecoder {
+public class MultiIssuerJwtDecoder implements JwtDecoder, AutoCloseable {
 
   /* Logger */
   private static final Logger log = LoggerFactory.getLogger(MultiIssuerJwtDecoder.class);
 
-  /** The JWT decoders for the different issuers using different RSA keys or secret keys. */
-  private final Map<String, JwtDecoder> jwtDecoders;
-
-  /** Is the management of revoked tokens enabled? */
-  private final boolean revokedTokensEnabled;
-
-  /** The external API endpoint used to retrieve the revoked tokens. */
-  private final String revokedTokensEndpoint;
-
-  /** The reload period in seconds for revoked tokens. */
-  private final int revokedTokensReloadPeriod;
+  /**
+   * The JWT decoders for the issuers whose JWTs are verified using the keys retrieved from their
+   * JWK Set endpoints, keyed by issuer.
+   */
+  private final Map<String, JwtDecoder> issuerJwtDecoders;
 
-  /** The date and time the revoked tokens should be retrieved. */
-  private LocalDateTime retrieveRevokedTokensWhen;
+  /**
+   * The JWT decoders for the different issuers using different RSA keys or secret keys, keyed by
+   * key ID.
+   */
+  private final Map<String, JwtDecoder> jwtDecoders;
 
-  /** The revoked tokens. */
-  private List<RevokedToken> revokedTokens = new ArrayList<>();
+  /**
+   * The index of the revoked tokens or {@code null} if the management of revoked tokens is not
+   * enabled.
+   */
+  private final RevokedTokenIndex revokedTokenIndex;
 
   /**
    * Constructs a new {@code JwtDecoder}.
    *
    * @param jwtDecoders the JWT decoders for the different issuers using different RSA keys or
-   *     secret keys
-   * @param revokedTokensEnabled is the management of revoked tokens enabled
-   * @param revokedTokensEndpoint the external API endpoint used to retrieve the revoked tokens
-   * @param revokedTokensReloadPeriod the reload period in seconds for revoked tokens
+   *     secret keys, keyed by key ID
+   * @param issuerJwtDecoders the JWT decoders for the issuers whose JWTs are verified using the
+   *     keys retrieved from their JWK Set endpoints, keyed by issuer
+   * @param revokedTokenIndex the index of the revoked tokens or {@code null} if the management of
+   *     revoked tokens is not enabled
    */
   MultiIssuerJwtDecoder(
       Map<String, JwtDecoder> jwtDecoders,
-      boolean revokedTokensEnabled,
-      String revokedTokensEndpoint,
-      int revokedTokensReloadPeriod) {
-    this.jwtDecoders = jwtDecoders;
-    this.revokedTokensEnabled = revokedTokensEnabled;
-    this.revokedTokensEndpoint = revokedTokensEndpoint;
-    this.revokedTokensReloadPeriod = revokedTokensReloadPeriod;
+      Map<String, JwtDecoder> issuerJwtDecoders,
+      RevokedTokenIndex revokedTokenIndex) {
+    this.jwtDecoders = Map.copyOf(jwtDecoders);
+    this.issuerJwtDecoders = Map.copyOf(issuerJwtDecoders);
+    this.revokedTokenIndex = revokedTokenIndex;
+
+    if (revokedTokenIndex != null) {
+      revokedTokenIndex.start();
+    }
+  }
+
+  @Override
+  public void close() {
+    if (revokedTokenIndex != null) {
+      revokedTokenIndex.close();
+    }
   }
 
   @Override
   public Jwt decode(String token) throws JwtException {
-    int firstDotPos = token.indexOf(".");
+    int firstDotPos = token.indexOf('.');
 
     if (firstDotPos == -1) {
       throw new BadJwtException(
           "Failed to extract the Key ID from the JWT: Missing dot delimiter(s)");
     }
 
-    Base64URL header = new Base64URL(token.substring(0, firstDotPos));
-
-    Map<String, Object> jsonObject;
-    try {
-      jsonObject = JSONObjectUtils.parse(header.decodeToString());
-    } catch (Throwable e) {
-      throw new BadJwtException(
-          "Failed to extract the Key ID from the JWT: Failed to parse the JSON for the JWT header",
-          e);
-    }
-
+    /*
+     * Extract the key ID from the JWT header and, if required, the issuer from the JWT claims
+     * without parsing the complete JSON for either. The selected decoder parses and verifies the
+     * complete JWT.
+     */
     String keyId;
     try {
-      keyId = JSONObjectUtils.getString(jsonObject, HeaderParameterNames.KEY_ID);
+      keyId = JwtSegmentParser.getStringMember(token, 0, firstDotPos, HeaderParameterNames.KEY_ID);
 
       if (keyId == null) {
         keyId = "";
@@ -124,107 +120,73 @@ public class MultiIssuerJwtDecoder implements JwtDecoder {
           e);
     }
 
-    Jwt jwt;
+    JwtDecoder jwtDecoder = null;
 
     if (StringUtils.hasText(keyId)) {
-      JwtDecoder jwtDecoder = jwtDecoders.get(keyId);
+      jwtDecoder = jwtDecoders.get(keyId);
+    }
 
-      if (jwtDecoder != null) {
-        jwt = jwtDecoder.decode(token);
-      } else {
-        jwt = null;
+    String issuer = null;
+
+    if ((jwtDecoder == null) && (!issuerJwtDecoders.isEmpty())) {
+      int secondDotPos = token.indexOf('.', firstDotPos + 1);
+
+      if (secondDotPos == -1) {
+        throw new BadJwtException(
+            "Failed to extract the issuer from the JWT: Missing dot delimiter(s)");
       }
-    } else {
-      JwtDecoder jwtDecoder = jwtDecoders.get("*");
 
-      if (jwtDecoder != null) {
-        jwt = jwtDecoder.decode(token);
-      } else {
-        jwt = null;
+      try {
+        issuer =
+            JwtSegmentParser.getStringMember(
+                token, firstDotPos + 1, secondDotPos, JwtClaimNames.ISS);
+      } catch (Throwable e) {
+        throw new BadJwtException(
+            "Failed to extract the issuer from the JWT: Failed to retrieve the "
+                + JwtClaimNames.ISS
+                + " claim from the JWT claims",
+            e);
+      }
+
+      if (issuer != null) {
+        jwtDecoder = issuerJwtDecoders.get(issuer);
       }
     }
 
+    if ((jwtDecoder == null) && (!StringUtils.hasText(keyId))) {
+      jwtDecoder = jwtDecoders.get("*");
+    }
+
+    Jwt jwt = (jwtDecoder != null) ? jwtDecoder.decode(token) : null;
+
     if (jwt != null) {
-      if (revokedTokensEnabled) {
+      if (revokedTokenIndex != null) {
         String jwtId = jwt.getClaimAsString("jti");
 
-        List<RevokedToken> revokedTokens = getRevokedTokens();
+        RevokedTokenIndex.Snapshot revokedTokens = revokedTokenIndex.getSnapshot();
 
         if (revokedTokens == null) {
           throw new JwtException(
               "Failed to verify the JWT with ID ("
                   + jwtId
-                  + "): Failed to retrieve the revoked tokens");
+                  + "): The revoked tokens have not been retrieved");
         }
 
-        revokedTokens.stream()
-            .filter(revokedToken -> revokedToken.id().equals(jwtId))
-            .forEach(
-                revokedToken -> {
-                  throw new BadJwtException(
-                      "Failed to verify the revoked JWT with ID (" + jwtId + ")");
-                });
+        if (revokedTokens.isRevoked(jwtId)) {
+          throw new BadJwtException("Failed to verify the revoked JWT with ID (" + jwtId + ")");
+        }
       }
 
       return jwt;
     }
 
-    log.warn("No JWT decoder found to decode JWT with key ID (" + keyId + ")");
+    String message =
+        "No JWT decoder found to decode JWT with key ID ("
+            + keyId
+            + ((issuer != null) ? (") and issuer (" + issuer + ")") : ")");
 
-    throw new JwtException("No JWT decoder found to decode JWT with key ID (" + keyId + ")");
-  }
+    log.warn(message);
 
-  private List<RevokedToken> getRevokedTokens() {
-    if (revokedTokensEnabled && StringUtils.hasText(revokedTokensEndpoint)) {
-      if ((retrieveRevokedTokensWhen == null)
-          || (ApplicationClock.now().isAfter(retrieveRevokedTokensWhen))) {
-        try {
-          RestTemplate restTemplate = new RestTemplate();
-
-          ResponseEntity<List<RevokedToken>> response =
-              restTemplate.exchange(
-                  revokedTokensEndpoint,
-                  HttpMethod.GET,
-                  null,
-                  new ParameterizedTypeReference<>() {});
-
-          if (response.getStatusCode() == HttpStatus.OK) {
-            revokedTokens = response.getBody();
-
-            retrieveRevokedTokensWhen =
-                ApplicationClock.now().plusSeconds(revokedTokensReloadPeriod);
-
-            log.info("Successfully retrieved the revoked tokens");
-          } else {
-            log.error(
-                "Failed to retrieve the revoked tokens using the API endpoint ("
-                    + revokedTokensEndpoint
-                    + "): "
-                    + response);
-
-            revokedTokens = null;
-          }
-        } catch (Throwable e) {
-          log.error(
-              "Failed to retrieve the revoked tokens using the API endpoint ("
-                  + revokedTokensEndpoint
-                  + ")",
-              e);
-          revokedTokens = null;
-        }
-      }
-    }
-
-    return revokedTokens;
+    throw new JwtException(message);
   }
-
-  @JsonIgnoreProperties(ignoreUnknown = true)
-  private record RevokedToken(
-      String id,
-      String type,
-      String name,
-      OffsetDateTime issued,
-      LocalDate validFrom,
-      LocalDate expires,
-      LocalDate revoked) {}
 }
@@ -19,14 +19,16 @@ package digital.inception.server.resource;
 import static org.springframework.security.web.access.IpAddressAuthorizationManager.hasIpAddress;
 import static org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher.withDefaults;
 
+import digital.inception.core.time.ApplicationClock;
 import digital.inception.core.util.ResourceUtil;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.nio.charset.StandardCharsets;
 import java.security.interfaces.RSAPublicKey;
-import java.util.Collection;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -37,6 +39,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.BeanInitializationException;
 import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
@@ -57,13 +60,12 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
 import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
 import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
-import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
 import org.springframework.security.web.csrf.CookieCsrfTokenRepository;
@@ -241,10 +243,12 @@ public class ResourceServerConfiguration implements InitializingBean {
   /**
    * Returns the JWT decoder.
    *
+   * @param meterRegistryProvider the provider for the optional meter registry the metrics for the
+   *     revoked tokens should be registered with
    * @return the JWT decoder
    */
   @Bean
-  public JwtDecoder getJwtDecoder() {
+  public JwtDecoder getJwtDecoder(ObjectProvider<MeterRegistry> meterRegistryProvider) {
 
     if (jwtConfiguration.getRsaPublicKey() != null) {
       log.info("Using a RS256 RSA public key JWT decoder");
@@ -264,7 +268,10 @@ public class ResourceServerConfiguration implements InitializingBean {
     } else {
       Map<String, JwtDecoder> jwtDecoders = new HashMap<>();
 
-      for (JwtKeyConfiguration jwtKeyConfiguration : jwtConfiguration.getKeys()) {
+      List<JwtKeyConfiguration> jwtKeyConfigurations =
+          (jwtConfiguration.getKeys() != null) ? jwtConfiguration.getKeys() : List.of();
+
+      for (JwtKeyConfiguration jwtKeyConfiguration : jwtKeyConfigurations) {
         try {
           switch (jwtKeyConfiguration.getAlgorithm()) {
             case "RS256":
@@ -346,17 +353,70 @@ public class ResourceServerConfiguration implements InitializingBean {
         }
       }
 
-      log.info("Using a multi-issuer JWT decoder with " + jwtDecoders.size() + " decoders");
+      Map<String, JwtDecoder> issuerJwtDecoders = new HashMap<>();
+
+      List<JwtIssuerConfiguration> jwtIssuerConfigurations =
+          (jwtConfiguration.getIssuers() != null) ? jwtConfiguration.getIssuers() : List.of();
+
+      for (JwtIssuerConfiguration jwtIssuerConfiguration : jwtIssuerConfigurations) {
+        try {
+          /*
+           * Initialize and store the JWT decoder using the JWK Set endpoint for the issuer. The
+           * decoder caches the keys and retrieves the JWK Set again when it encounters an unknown
+           * key ID, which supports the rotation of the keys by the issuer. The issuer for each JWT
+           * is validated, since the decoder is selected using the unverified "iss" claim.
+           */
+          NimbusJwtDecoder issuerJwtDecoder =
+              NimbusJwtDecoder.withJwkSetUri(jwtIssuerConfiguration.getJwkSetUri())
+                  .jwsAlgorithm(SignatureAlgorithm.from(jwtIssuerConfiguration.getAlgorithm()))
+                  .build();
 
-      if (jwtConfiguration.getRevokedTokens() != null) {
-        return new MultiIssuerJwtDecoder(
-            jwtDecoders,
-            jwtConfiguration.getRevokedTokens().getEnabled(),
-            jwtConfiguration.getRevokedTokens().getEndpoint(),
-            jwtConfiguration.getRevokedTokens().getReloadPeriod());
-      } else {
-        return new MultiIssuerJwtDecoder(jwtDecoders, false, null, -1);
+          issuerJwtDecoder.setJwtValidator(
+              JwtValidators.createDefaultWithIssuer(jwtIssuerConfiguration.getIssuer()));
+
+          issuerJwtDecoders.put(jwtIssuerConfiguration.getIssuer(), issuerJwtDecoder);
+        } catch (Throwable e) {
+          throw new BeanInitializationException(
+              "Failed to initialize the JWT decoder for the issuer ("
+                  + jwtIssuerConfiguration.getIssuer()
+                  + ") using the JWK Set endpoint ("
+                  + jwtIssuerConfiguration.getJwkSetUri()
+                  + ")",
+              e);
+        }
       }
+
+      log.info(
+          "Using a multi-issuer JWT decoder with "
+              + jwtDecoders.size()
+              + " key decoders and "
+              + issuerJwtDecoders.size()
+              + " issuer decoders");
+
+      JwtRevokedTokensConfiguration revokedTokensConfiguration =
+          jwtConfiguration.getRevokedTokens();
+
+      if ((revokedTokensConfiguration != null) && revokedTokensConfiguration.getEnabled()) {
+        if (StringUtils.hasText(revokedTokensConfiguration.getEndpoint())
+            || StringUtils.hasText(revokedTokensConfiguration.getChangesEndpoint())) {
+          return new MultiIssuerJwtDecoder(
+              jwtDecoders,
+              issuerJwtDecoders,
+              new RevokedTokenIndex(
+                  revokedTokensConfiguration.getEndpoint(),
+                  revokedTokensConfiguration.getChangesEndpoint(),
+                  Duration.ofSeconds(Math.max(1, revokedTokensConfiguration.getReloadPeriod())),
+                  meterRegistryProvider.getIfAvailable(),
+                  ApplicationClock.getClock()));
+        } else {
+          log.warn(
+              "Revoked tokens will not be checked because no endpoint was configured using the "
+                  + "inception.resource-server.jwt.revoked-tokens.endpoint or "
+                  + "inception.resource-server.jwt.revoked-tokens.changes-endpoint properties");
+        }
+      }
+
+      return new MultiIssuerJwtDecoder(jwtDecoders, issuerJwtDecoders, null);
     }
   }
 
@@ -398,7 +458,8 @@ public class ResourceServerConfiguration implements InitializingBean {
           /*
            * Check if the digital.inception.security.controller.SecurityApiController class exists
            * on the classpath, and if so, enable non-authenticated internal network access to the
-           * /api/security/policies and /api/security/revoked-tokens Security API endpoints.
+           * /api/security/policies, /api/security/revoked-tokens and
+           * /api/security/revoked-tokens/changes Security API endpoints.
            */
           try {
             Class.forName("digital.inception.security.controller.SecurityApiController");
@@ -406,7 +467,9 @@ public class ResourceServerConfiguration implements InitializingBean {
             authorizeRequests
                 .requestMatchers(
                     pathPatternRequestMatcherBuilder.matcher("/api/security/policies"),
-                    pathPatternRequestMatcherBuilder.matcher("/api/security/revoked-tokens"))
+                    pathPatternRequestMatcherBuilder.matcher("/api/security/revoked-tokens"),
+                    pathPatternRequestMatcherBuilder.matcher(
+                        "/api/security/revoked-tokens/changes"))
                 .access(internalNetworkAccess);
           } catch (Throwable ignored) {
           }
@@ -591,14 +654,10 @@ public class ResourceServerConfiguration implements InitializingBean {
   }
 
   private Converter<Jwt, AbstractAuthenticationToken> getJwtAuthenticationConverter() {
-    JwtAuthenticationConverter jwtAuthenticationConverter = new JwtAuthenticationConverter();
-    jwtAuthenticationConverter.setJwtGrantedAuthoritiesConverter(
-        getJwtGrantedAuthoritiesConverter());
-    return jwtAuthenticationConverter;
-  }
+    JwtGrantedAuthoritiesConverter jwtGrantedAuthoritiesConverter =
+        new JwtGrantedAuthoritiesConverter();
 
-  private Converter<Jwt, Collection<GrantedAuthority>> getJwtGrantedAuthoritiesConverter() {
-    return new JwtGrantedAuthoritiesConverter();
+    return jwtGrantedAuthoritiesConverter::convertToAuthenticationToken;
   }
 
   /**
@@ -636,6 +695,82 @@ public class ResourceServerConfiguration implements InitializingBean {
     }
   }
 
+  /**
+   * The {@code DecisionCacheConfiguration} class holds the decision cache configuration for the
+   * policy decision point.
+   *
+   * @author Marcus Portmann
+   */
+  public static class DecisionCacheConfiguration {
+
+    /** Should authorization decisions be cached. */
+    private boolean enabled;
+
+    /** The maximum number of cached authorization decisions. */
+    private int maxSize = 10000;
+
+    /** The time-to-live in seconds for cached authorization decisions. */
+    private int ttl = 60;
+
+    /** Constructs a new {@code DecisionCacheConfiguration}. */
+    public DecisionCacheConfiguration() {}
+
+    /**
+     * Returns whether authorization decisions should be cached.
+     *
+     * @return {@code true} if authorization decisions should be cached or {@code false} otherwise
+     */
+    public boolean getEnabled() {
+      return enabled;
+    }
+
+    /**
+     * Returns the maximum number of cached authorization decisions.
+     *
+     * @return the maximum number of cached authorization decisions
+     */
+    public int getMaxSize() {
+      return maxSize;
+    }
+
+    /**
+     * Returns the time-to-live in seconds for cached authorization decisions.
+     *
+     * @return the time-to-live in seconds for cached authorization decisions
+     */
+    public int getTtl() {
+      return ttl;
+    }
+
+    /**
+     * Set whether authorization decisions should be cached.
+     *
+     * @param enabled {@code true} if authorization decisions should be cached or {@code false}
+     *     otherwise
+     */
+    public void setEnabled(boolean enabled) {
+      this.enabled = enabled;
+    }
+
+    /**
+     * Set the maximum number of cached authorization decisions.
+     *
+     * @param maxSize the maximum number of cached authorization decisions
+     */
+    public void setMaxSize(int maxSize) {
+      this.maxSize = maxSize;
+    }
+
+    /**
+     * Set the time-to-live in seconds for cached authorization decisions.
+     *
+     * @param ttl the time-to-live in seconds for cached authorization decisions
+     */
+    public void setTtl(int ttl) {
+      this.ttl = ttl;
+    }
+  }
+
   /**
    * The {@code ExternalPoliciesConfiguration} class holds the external policies configuration for
    * the policy decision point.
@@ -720,6 +855,12 @@ public class ResourceServerConfiguration implements InitializingBean {
    */
   public static class JwtConfiguration {
 
+    /**
+     * The configuration for the issuers whose JWTs are verified using the keys retrieved from their
+     * JSON Web Key (JWK) Set endpoints.
+     */
+    private List<JwtIssuerConfiguration> issuers;
+
     /** The configuration for the keys used to verify JWTs. */
     private List<JwtKeyConfiguration> keys;
 
@@ -735,6 +876,17 @@ public class ResourceServerConfiguration implements InitializingBean {
     /** Constructs a new {@code JwtConfiguration}. */
     public JwtConfiguration() {}
 
+    /**
+     * Returns the configuration for the issuers whose JWTs are verified using the keys retrieved
+     * from their JSON Web Key (JWK) Set endpoints.
+     *
+     * @return the configuration for the issuers whose JWTs are verified using the keys retrieved
+     *     from their JSON Web Key (JWK) Set endpoints
+     */
+    public List<JwtIssuerConfiguration> getIssuers() {
+      return issuers;
+    }
+
     /**
      * Returns the configuration for the keys used to verify JWTs.
      *
@@ -771,6 +923,17 @@ public class ResourceServerConfiguration implements InitializingBean {
       return secretKey;
     }
 
+    /**
+     * Set the configuration for the issuers whose JWTs are verified using the keys retrieved from
+     * their JSON Web Key (JWK) Set endpoints.
+     *
+     * @param issuers the configuration for the issuers whose JWTs are verified using the keys
+     *     retrieved from their JSON Web Key (JWK) Set endpoints
+     */
+    public void setIssuers(List<JwtIssuerConfiguration> issuers) {
+      this.issuers = issuers;
+    }
+
     /**
      * Se the configuration for the keys used to verify JWTs.
      *
@@ -808,6 +971,105 @@ public class ResourceServerConfiguration implements InitializingBean {
     }
   }
 
+  /**
+   * The {@code JwtIssuerConfiguration} class holds the configuration for an issuer whose JWTs are
+   * verified using the keys retrieved from its JSON Web Key (JWK) Set endpoint.
+   *
+   * <p>The keys are cached and the JWK Set is retrieved again when a JWT signed with an unknown key
+   * is encountered, which supports the rotation of the keys by the issuer.
+   *
+   * @author Marcus Portmann
+   */
+  public static class JwtIssuerConfiguration {
+
+    /**
+     * The algorithm for the keys.
+     *
+     * <p>This is one of the algorithms defined by the JSON Web Algorithms (JWA) specification, e.g.
+     * RS256.
+     */
+    @NotBlank
+    @Pattern(regexp = "(RS256|RS384|RS512|ES256|ES384|ES512)")
+    private String algorithm = "RS256";
+
+    /**
+     * The issuer.
+     *
+     * <p>This matches the "iss" claim in a JWT token.
+     */
+    @NotBlank private String issuer;
+
+    /** The URI for the JSON Web Key (JWK) Set endpoint for the issuer. */
+    @NotBlank private String jwkSetUri;
+
+    /** Constructs a new {@code JwtIssuerConfiguration}. */
+    public JwtIssuerConfiguration() {}
+
+    /**
+     * Returns the algorithm for the keys.
+     *
+     * <p>This is one of the algorithms defined by the JSON Web Algorithms (JWA) specification, e.g.
+     * RS256.
+     *
+     * @return the algorithm for the keys
+     */
+    public String getAlgorithm() {
+      return algorithm;
+    }
+
+    /**
+     * Returns the issuer.
+     *
+     * <p>This matches the "iss" claim in a JWT token.
+     *
+     * @return the issuer
+     */
+    public String getIssuer() {
+      return issuer;
+    }
+
+    /**
+     * Returns the URI for the JSON Web Key (JWK) Set endpoint for the issuer.
+     *
+     * @return the URI for the JSON Web Key (JWK) Set endpoint for the issuer
+     */
+    public String getJwkSetUri() {
+      return jwkSetUri;
+    }
+
+    /**
+     * Set the algorithm for the keys.
+     *
+     * <p>This is one of the algorithms defined by the JSON Web Algorithms (JWA) specification, e.g.
+     * RS256.
+     *
+     * @param algorithm the algorithm for the keys
+     */
+    public void setAlgorithm(String algorithm) {
+      this.algorithm = algorithm;
+    }
+
+    /**
+     * Set the issuer.
+     *
+     * <p>This matches the "iss" claim in a JWT token.
+     *
+     * @param issuer the issuer
+     */
+    public void setIssuer(String issuer) {
+      this.issuer = issuer;
+    }
+
+    /**
+     * Set the URI for the JSON Web Key (JWK) Set endpoint for the issuer.
+     *
+     * @param jwkSetUri the URI for the JSON Web Key (JWK) Set endpoint for the issuer
+     */
+    public void setJwkSetUri(String jwkSetUri) {
+      this.jwkSetUri = jwkSetUri;
+    }
+  }
+
   /**
    * The {@code JwtKeyConfiguration} class holds the configuration for a key used to verify JWTs.
    *
@@ -950,6 +1212,12 @@ public class ResourceServerConfiguration implements InitializingBean {
    */
   public static class JwtRevokedTokensConfiguration {
 
+    /**
+     * The external API endpoint used to retrieve the changes to the revoked tokens, which is used
+     * in preference to the endpoint used to retrieve all the revoked tokens if specified.
+     */
+    private String changesEndpoint;
+
     /** Is support for revoked tokens enabled? */
     private boolean enabled;
 
@@ -962,6 +1230,15 @@ public class ResourceServerConfiguration implements InitializingBean {
     /** Constructs a new {@code JwtRevokedTokensConfiguration}. */
     public JwtRevokedTokensConfiguration() {}
 
+    /**
+     * Returns the external API endpoint used to retrieve the changes to the revoked tokens.
+     *
+     * @return the external API endpoint used to retrieve the changes to the revoked tokens
+     */
+    public String getChangesEndpoint() {
+      return changesEndpoint;
+    }
+
     /**
      * Returns whether support for revoked tokens is enabled.
      *
@@ -989,6 +1266,16 @@ public class ResourceServerConfiguration implements InitializingBean {
       return reloadPeriod;
     }
 
+    /**
+     * Set the external API endpoint used to retrieve the changes to the revoked tokens.
+     *
+     * @param changesEndpoint the external API endpoint used to retrieve the changes to the revoked
+     *     tokens
+     */
+    public void setChangesEndpoint(String changesEndpoint) {
+      this.changesEndpoint = changesEndpoint;
+    }
+
     /**
      * Set whether support for revoked tokens is enabled.
      *
@@ -1029,6 +1316,9 @@ public class ResourceServerConfiguration implements InitializingBean {
     /** The classpath policies configuration for the policy decision point. */
     private ClasspathPoliciesConfiguration classpathPolicies;
 
+    /** The decision cache configuration for the policy decision point. */
+    private DecisionCacheConfiguration decisionCache;
+
     /** Is the XACML policy decision point enabled? * */
     private boolean enabled;
 
@@ -1050,6 +1340,15 @@ public class ResourceServerConfiguration implements InitializingBean {
       return classpathPolicies;
     }
 
+    /**
+     * Returns the decision cache configuration for the policy decision point.
+     *
+     * @return the decision cache configuration for the policy decision point
+     */
+    public DecisionCacheConfiguration getDecisionCache() {
+      return decisionCache;
+    }
+
     /**
      * Returns the external policies configuration for the policy decision point.
      *
@@ -1087,6 +1386,15 @@ public class ResourceServerConfiguration implements InitializingBean {
       this.classpathPolicies = classpathPolicies;
     }
 
+    /**
+     * Set the decision cache configuration for the policy decision point.
+     *
+     * @param decisionCache the decision cache configuration for the policy decision point
+     */
+    public void setDecisionCache(DecisionCacheConfiguration decisionCache) {
+      this.decisionCache = decisionCache;
+    }
+
     /**
      * Set whether the XML policy decision point is enabled.
      *
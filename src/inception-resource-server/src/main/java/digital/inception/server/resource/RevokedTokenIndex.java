@@ -0,0 +1,410 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package digital.inception.server.resource;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * The {@code RevokedTokenIndex} class maintains an in-memory index of the IDs for the revoked
+ * tokens, keyed by JWT ID, which is refreshed by a single background task.
+ *
+ * <p>Each refresh builds a new immutable snapshot of the index that is published atomically, so
+ * checking whether a token has been revoked is a lock-free hash lookup that never blocks on the
+ * network. If a refresh fails the previous snapshot continues to be used. Until the first snapshot
+ * has been loaded no snapshot is available and tokens cannot be verified.
+ *
+ * @author Marcus Portmann
+ */
+final class RevokedTokenIndex implements AutoCloseable {
+
+  /** The maximum delay before retrying a failed refresh. */
+  private static final Duration MAX_RETRY_DELAY = Duration.ofMinutes(1);
+
+  /** The initial delay before retrying a failed refresh. */
+  private static final Duration MIN_RETRY_DELAY = Duration.ofSeconds(1);
+
+  /* Logger */
+  private static final Logger log = LoggerFactory.getLogger(RevokedTokenIndex.class);
+
+  /**
+   * The external API endpoint used to retrieve the changes to the revoked tokens or {@code null}
+   * if the complete list of revoked tokens should be retrieved on each refresh.
+   */
+  private final String changesEndpoint;
+
+  /** The clock used to determine the current date and time. */
+  private final Clock clock;
+
+  /** The external API endpoint used to retrieve the revoked tokens. */
+  private final String endpoint;
+
+  /** The executor used to refresh the revoked tokens in the background. */
+  private final ScheduledExecutorService executor;
+
+  /** The meters registered for the revoked token index. */
+  private final List<Meter> meters = new ArrayList<>();
+
+  /** The meter registry the metrics for the revoked token index are registered with. */
+  private final MeterRegistry meterRegistry;
+
+  /** The number of failed refreshes. */
+  private final Counter refreshFailures;
+
+  /** The reload period for the revoked tokens. */
+  private final Duration reloadPeriod;
+
+  /** The REST template used to retrieve the revoked tokens. */
+  private final RestTemplate restTemplate = new RestTemplate();
+
+  /** The ETag for the last changes to the revoked tokens that were retrieved. */
+  private String eTag;
+
+  /** The delay before retrying the next failed refresh. */
+  private Duration retryDelay = MIN_RETRY_DELAY;
+
+  /** The revocation version for the last changes to the revoked tokens that were retrieved. */
+  private long version;
+
+  /** The current snapshot of the revoked tokens or {@code null} if no snapshot has been loaded. */
+  private volatile Snapshot snapshot;
+
+  /**
+   * Constructs a new {@code RevokedTokenIndex}.
+   *
+   * @param endpoint the external API endpoint used to retrieve the revoked tokens
+   * @param changesEndpoint the optional external API endpoint used to retrieve the changes to the
+   *     revoked tokens
+   * @param reloadPeriod the reload period for the revoked tokens
+   * @param meterRegistry the optional meter registry the metrics for the revoked token index should
+   *     be registered with
+   * @param clock the clock used to determine the current date and time
+   */
+  RevokedTokenIndex(
+      String endpoint,
+      String changesEndpoint,
+      Duration reloadPeriod,
+      MeterRegistry meterRegistry,
+      Clock clock) {
+    this.endpoint = endpoint;
+    this.clock = clock;
+    this.changesEndpoint = StringUtils.hasText(changesEndpoint) ? changesEndpoint : null;
+    this.reloadPeriod = reloadPeriod;
+    this.meterRegistry = meterRegistry;
+    this.restTemplate.getInterceptors().add(new GzipResponseInterceptor());
+    this.executor =
+        Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("revoked-token-index").daemon(true).factory());
+
+    if (meterRegistry != null) {
+      meters.add(
+          Gauge.builder("security.revoked.tokens.size", this, RevokedTokenIndex::getSize)
+              .description("Number of revoked tokens in the current snapshot")
+              .register(meterRegistry));
+      meters.add(
+          Gauge.builder(
+                  "security.revoked.tokens.snapshot.age",
+                  this,
+                  RevokedTokenIndex::getSnapshotAgeInSeconds)
+              .description("Age of the current snapshot of the revoked tokens")
+              .baseUnit("seconds")
+              .register(meterRegistry));
+
+      refreshFailures =
+          Counter.builder("security.revoked.tokens.refresh.failures")
+              .description("Number of failed attempts to refresh the revoked tokens")
+              .register(meterRegistry);
+
+      meters.add(refreshFailures);
+    } else {
+      refreshFailures = null;
+    }
+  }
+
+  @Override
+  public void close() {
+    executor.shutdownNow();
+
+    if (meterRegistry != null) {
+      meters.forEach(meterRegistry::remove);
+    }
+  }
+
+  /**
+   * Returns the current snapshot of the revoked tokens.
+   *
+   * @return the current snapshot of the revoked tokens or {@code null} if the revoked tokens have
+   *     not been successfully retrieved yet
+   */
+  Snapshot getSnapshot() {
+    return snapshot;
+  }
+
+  /**
+   * Refresh the revoked tokens.
+   *
+   * <p>This method is only invoked by the background refresh task, which guarantees that at most
+   * one refresh is in progress at any time.
+   *
+   * @return {@code true} if the revoked tokens were successfully refreshed or {@code false}
+   *     otherwise
+   */
+  boolean refresh() {
+    String currentEndpoint = (changesEndpoint != null) ? changesEndpoint : endpoint;
+
+    try {
+      Snapshot currentSnapshot = snapshot;
+
+      Map<String, LocalDate> revokedTokens =
+          (changesEndpoint != null)
+              ? retrieveRevokedTokenChanges(currentSnapshot)
+              : retrieveRevokedTokens();
+
+      // Expired tokens are rejected by the JWT decoders, so there is no need to index them
+      LocalDate today = LocalDate.now(clock);
+
+      revokedTokens
+          .values()
+          .removeIf(expiryDate -> (expiryDate != null) && expiryDate.isBefore(today));
+
+      snapshot = new Snapshot(Collections.unmodifiableMap(revokedTokens), clock.instant());
+
+      if (currentSnapshot == null) {
+        log.info("Successfully retrieved " + revokedTokens.size() + " revoked tokens");
+      } else if (log.isDebugEnabled()) {
+        log.debug("Successfully refreshed " + revokedTokens.size() + " revoked tokens");
+      }
+
+      return true;
+    } catch (Throwable e) {
+      refreshFailed(
+          "Failed to retrieve the revoked tokens using the API endpoint ("
+              + currentEndpoint
+              + ")",
+          e);
+
+      return false;
+    }
+  }
+
+  /**
+   * Start the background task that periodically refreshes the revoked tokens.
+   *
+   * <p>The revoked tokens are retrieved immediately and then once per reload period. Failed
+   * refreshes are retried with an exponential backoff, capped at the reload period, so that a
+   * resource server that starts before the authorization server does not wait a full reload period
+   * for its first snapshot.
+   */
+  void start() {
+    schedule(Duration.ZERO);
+  }
+
+  private double getSize() {
+    Snapshot currentSnapshot = snapshot;
+
+    return (currentSnapshot != null) ? currentSnapshot.revokedTokens().size() : Double.NaN;
+  }
+
+  private double getSnapshotAgeInSeconds() {
+    Snapshot currentSnapshot = snapshot;
+
+    return (currentSnapshot != null)
+        ? Duration.between(currentSnapshot.loaded(), clock.instant()).toMillis() / 1000.0
+        : Double.NaN;
+  }
+
+  private void refreshAndReschedule() {
+    if (refresh()) {
+      retryDelay = MIN_RETRY_DELAY;
+
+      schedule(reloadPeriod);
+    } else {
+      Duration delay = (retryDelay.compareTo(reloadPeriod) < 0) ? retryDelay : reloadPeriod;
+
+      retryDelay = retryDelay.multipliedBy(2);
+
+      if (retryDelay.compareTo(MAX_RETRY_DELAY) > 0) {
+        retryDelay = MAX_RETRY_DELAY;
+      }
+
+      schedule(delay);
+    }
+  }
+
+  private void refreshFailed(String message, Throwable cause) {
+    if (refreshFailures != null) {
+      refreshFailures.increment();
+    }
+
+    Snapshot currentSnapshot = snapshot;
+
+    if (currentSnapshot != null) {
+      message +=
+          ": Continuing to use the revoked tokens retrieved at " + currentSnapshot.loaded();
+    }
+
+    log.error(message, cause);
+  }
+
+  private Map<String, LocalDate> retrieveRevokedTokenChanges(Snapshot currentSnapshot) {
+    HttpHeaders requestHeaders = new HttpHeaders();
+
+    String url = changesEndpoint;
+
+    // Only request the changes since the last version if there is a snapshot to apply them to
+    if ((currentSnapshot != null) && (version > 0)) {
+      url =
+          UriComponentsBuilder.fromUriString(changesEndpoint)
+              .queryParam("since", version)
+              .build()
+              .toUriString();
+
+      if (eTag != null) {
+        requestHeaders.setIfNoneMatch(eTag);
+      }
+    }
+
+    ResponseEntity<RevokedTokenChanges> response =
+        restTemplate.exchange(
+            url, HttpMethod.GET, new HttpEntity<>(requestHeaders), RevokedTokenChanges.class);
+
+    if ((response.getStatusCode() == HttpStatus.NOT_MODIFIED) && (currentSnapshot != null)) {
+      return new HashMap<>(currentSnapshot.revokedTokens());
+    }
+
+    RevokedTokenChanges revokedTokenChanges = response.getBody();
+
+    if ((response.getStatusCode() != HttpStatus.OK) || (revokedTokenChanges == null)) {
+      throw new IllegalStateException("Unexpected response: " + response);
+    }
+
+    Map<String, LocalDate> revokedTokens =
+        ((revokedTokenChanges.complete()) || (currentSnapshot == null))
+            ? new HashMap<>()
+            : new HashMap<>(currentSnapshot.revokedTokens());
+
+    if (revokedTokenChanges.reinstatedTokenIds() != null) {
+      revokedTokenChanges.reinstatedTokenIds().forEach(revokedTokens::remove);
+    }
+
+    if (revokedTokenChanges.revokedTokens() != null) {
+      for (RevokedToken revokedToken : revokedTokenChanges.revokedTokens()) {
+        revokedTokens.put(revokedToken.id(), revokedToken.expiryDate());
+      }
+    }
+
+    version = revokedTokenChanges.version();
+    eTag = response.getHeaders().getETag();
+
+    return revokedTokens;
+  }
+
+  private Map<String, LocalDate> retrieveRevokedTokens() {
+    ResponseEntity<List<RevokedToken>> response =
+        restTemplate.exchange(
+            endpoint, HttpMethod.GET, null, new ParameterizedTypeReference<>() {});
+
+    if (response.getStatusCode() != HttpStatus.OK) {
+      throw new IllegalStateException("Unexpected response: " + response);
+    }
+
+    Map<String, LocalDate> revokedTokens = new HashMap<>();
+
+    if (response.getBody() != null) {
+      for (RevokedToken revokedToken : response.getBody()) {
+        revokedTokens.put(revokedToken.id(), revokedToken.expiryDate());
+      }
+    }
+
+    return revokedTokens;
+  }
+
+  private void schedule(Duration delay) {
+    if (!executor.isShutdown()) {
+      try {
+        executor.schedule(this::refreshAndReschedule, delay.toMillis(), TimeUnit.MILLISECONDS);
+      } catch (RejectedExecutionException ignored) {
+        // The revoked token index has been closed
+      }
+    }
+  }
+
+  /**
+   * An immutable snapshot of the revoked tokens.
+   *
+   * @param revokedTokens the expiry dates for the revoked tokens keyed by JWT ID, where a {@code
+   *     null} expiry date indicates a token that does not expire
+   * @param loaded when the snapshot was loaded
+   */
+  record Snapshot(Map<String, LocalDate> revokedTokens, Instant loaded) {
+
+    /**
+     * Returns whether the token with the specified JWT ID has been revoked.
+     *
+     * @param jwtId the JWT ID
+     * @return {@code true} if the token has been revoked or {@code false} otherwise
+     */
+    boolean isRevoked(String jwtId) {
+      return (jwtId != null) && revokedTokens.containsKey(jwtId);
+    }
+  }
+
+  @JsonIgnoreProperties(ignoreUnknown = true)
+  private record RevokedToken(
+      String id,
+      String type,
+      String name,
+      OffsetDateTime issued,
+      LocalDate validFromDate,
+      LocalDate expiryDate,
+      LocalDate revocationDate) {}
+
+  @JsonIgnoreProperties(ignoreUnknown = true)
+  private record RevokedTokenChanges(
+      long version,
+      boolean complete,
+      List<RevokedToken> revokedTokens,
+      List<String> reinstatedTokenIds) {}
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package digital.inception.server.resource.xacmlpdp;
+
+import digital.inception.core.util.LruCache;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import oasis.names.tc.xacml._3_0.core.schema.wd_17.DecisionType;
+import org.ow2.authzforce.core.pdp.api.AttributeFqn;
+import org.ow2.authzforce.core.pdp.api.AttributeFqns;
+import org.ow2.authzforce.core.pdp.api.DecisionRequest;
+import org.ow2.authzforce.core.pdp.api.DecisionResult;
+import org.ow2.authzforce.core.pdp.api.value.AttributeBag;
+import org.ow2.authzforce.xacml.identifiers.XacmlAttributeCategory;
+import org.ow2.authzforce.xacml.identifiers.XacmlAttributeId;
+
+/**
+ * The {@code XacmlDecisionCache} class caches the results of XACML authorization decisions, keyed
+ * by the canonicalised set of named attributes in the decision request.
+ *
+ * <p>The current date and time environment attribute is excluded from the key, so cached decisions
+ * for policies with time-based conditions may be stale for up to the time-to-live. Indeterminate
+ * decisions are never cached.
+ *
+ * <p>The decisions are held in a bounded {@link LruCache}, which evicts the least recently used
+ * decisions once it is full. The keys and decision results are not serializable and the policies
+ * are loaded independently by each application instance, so the decisions are never shared with
+ * other instances. Whenever the policy sets and policies are reloaded the generation is incremented
+ * and the cache is cleared. Decisions evaluated against an earlier generation are discarded rather
+ * than cached, so a decision that races with a reload is never served after the reload.
+ *
+ * @author Marcus Portmann
+ */
+final class XacmlDecisionCache {
+
+  /** The fully qualified name of the current date and time environment attribute. */
+  private static final AttributeFqn CURRENT_DATETIME_ATTRIBUTE_FQN =
+      AttributeFqns.newInstance(
+          XacmlAttributeCategory.XACML_3_0_ENVIRONMENT.value(),
+          Optional.empty(),
+          XacmlAttributeId.XACML_1_0_ENVIRONMENT_CURRENT_DATETIME.value());
+
+  /** The cached decisions keyed by the named attributes for the decision request. */
+  private final LruCache<Map<AttributeFqn, AttributeBag<?>>, CachedDecision> decisions;
+
+  /** The generation, which is incremented each time the cache is invalidated. */
+  private final AtomicLong generation = new AtomicLong();
+
+  /**
+   * Constructs a new {@code XacmlDecisionCache}.
+   *
+   * @param ttl the time-to-live for cached decisions
+   * @param maxSize the maximum number of cached decisions
+   */
+  XacmlDecisionCache(Duration ttl, int maxSize) {
+    this.decisions = new LruCache<>(maxSize, ttl);
+  }
+
+  /**
+   * Retrieve the cached decision for the decision request.
+   *
+   * @param key the key for the decision request
+   * @return the cached decision result or {@code null} if there is no valid cached decision
+   */
+  DecisionResult get(Map<AttributeFqn, AttributeBag<?>> key) {
+    CachedDecision cachedDecision = decisions.get(key);
+
+    // A decision cached by a put that raced with an invalidation is ignored
+    if ((cachedDecision == null) || (cachedDecision.generation() != generation.get())) {
+      return null;
+    }
+
+    return cachedDecision.decisionResult();
+  }
+
+  /**
+   * Returns the current generation for the cache, which must be retrieved before a decision
+   * request is evaluated and supplied when the decision result is cached.
+   *
+   * @return the current generation for the cache
+   */
+  long getGeneration() {
+    return generation.get();
+  }
+
+  /** Invalidate all cached decisions. */
+  void invalidate() {
+    generation.incrementAndGet();
+
+    decisions.clear();
+  }
+
+  /**
+   * Returns the key for the decision request.
+   *
+   * @param decisionRequest the decision request
+   * @return the key for the decision request
+   */
+  Map<AttributeFqn, AttributeBag<?>> newKey(DecisionRequest decisionRequest) {
+    Map<AttributeFqn, AttributeBag<?>> key = new HashMap<>(decisionRequest.getNamedAttributes());
+
+    key.remove(CURRENT_DATETIME_ATTRIBUTE_FQN);
+
+    return key;
+  }
+
+  /**
+   * Cache the decision result for the decision request.
+   *
+   * @param key the key for the decision request
+   * @param decisionResult the decision result
+   * @param evaluatedGeneration the generation for the cache retrieved before the decision request
+   *     was evaluated
+   */
+  void put(
+      Map<AttributeFqn, AttributeBag<?>> key,
+      DecisionResult decisionResult,
+      long evaluatedGeneration) {
+    if ((decisionResult.getDecision() == DecisionType.INDETERMINATE)
+        || (evaluatedGeneration != generation.get())) {
+      return;
+    }
+
+    decisions.put(key, new CachedDecision(decisionResult, evaluatedGeneration));
+  }
+
+  /**
+   * Returns the number of cached decisions.
+   *
+   * @return the number of cached decisions
+   */
+  int size() {
+    return decisions.size();
+  }
+
+  /**
+   * A cached decision.
+   *
+   * @param decisionResult the decision result
+   * @param generation the generation for the cache when the decision request was evaluated
+   */
+  private record CachedDecision(DecisionResult decisionResult, long generation) {}
+}
@@ -20,24 +20,29 @@ import digital.inception.core.util.AnnotationUtil;
 import digital.inception.server.resource.PolicyDecisionPoint;
 import digital.inception.server.resource.PolicyDecisionPointException;
 import digital.inception.web.RequestBodyObjectContext;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
+import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
 import java.math.BigInteger;
+import java.time.Duration;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
 import oasis.names.tc.xacml._3_0.core.schema.wd_17.DecisionType;
 import org.aopalliance.intercept.MethodInvocation;
+import org.ow2.authzforce.core.pdp.api.AttributeFqn;
 import org.ow2.authzforce.core.pdp.api.DecisionRequest;
 import org.ow2.authzforce.core.pdp.api.DecisionRequestBuilder;
 import org.ow2.authzforce.core.pdp.api.DecisionResult;
 import org.ow2.authzforce.core.pdp.api.EnvironmentProperties;
 import org.ow2.authzforce.core.pdp.api.PdpEngine;
+import org.ow2.authzforce.core.pdp.api.value.AttributeBag;
 import org.ow2.authzforce.core.pdp.impl.BasePdpEngine;
 import org.ow2.authzforce.core.pdp.impl.DefaultEnvironmentProperties;
 import org.ow2.authzforce.core.pdp.impl.PdpEngineConfiguration;
@@ -52,6 +57,7 @@ import org.ow2.authzforce.xmlns.pdp.ext.AbstractPolicyProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.BeanCreationException;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.ApplicationContext;
@@ -77,6 +83,20 @@ import org.springframework.web.bind.annotation.RequestParam;
 @Component
 public final class XacmlPolicyDecisionPoint implements PolicyDecisionPoint {
 
+  /**
+   * The name of the Micrometer metric that captures the number of decisions retrieved from the
+   * decision cache for the XACML policy decision point.
+   */
+  private static final String METRIC_NAME_XACML_POLICY_DECISION_POINT_DECISION_CACHE_HIT =
+      "inception.resource-server.xacml-policy-decision-point.decision-cache.hit";
+
+  /**
+   * The name of the Micrometer metric that captures the number of cached decisions for the XACML
+   * policy decision point.
+   */
+  private static final String METRIC_NAME_XACML_POLICY_DECISION_POINT_DECISION_CACHE_SIZE =
+      "inception.resource-server.xacml-policy-decision-point.decision-cache.size";
+
   /**
    * The name of the Micrometer metric that captures the number of deny decisions for the XACML
    * policy decision point.
@@ -114,6 +134,9 @@ public final class XacmlPolicyDecisionPoint implements PolicyDecisionPoint {
   /** Should policy sets and policies be loaded from the classpath under pdp/policies. */
   private final boolean classpathPoliciesEnabled;
 
+  /** The decision cache or {@code null} if decision caching is disabled. */
+  private final XacmlDecisionCache decisionCache;
+
   /** Should policy sets and policies be loaded by invoking an external API. */
   private final boolean externalPoliciesEnabled;
 
@@ -123,6 +146,10 @@ public final class XacmlPolicyDecisionPoint implements PolicyDecisionPoint {
   /** The reload period in seconds for external policy sets and policies. */
   private final int externalPoliciesReloadPeriod;
 
+  /** The precomputed metadata for the handler methods. */
+  private final Map<Method, HandlerMethodDescriptor> handlerMethodDescriptors =
+      new ConcurrentHashMap<>();
+
   /** The policy decision point context providers. */
   private final Map<String, XacmlPolicyDecisionPointContextProvider>
       policyDecisionPointContextProviders;
@@ -149,6 +176,39 @@ public final class XacmlPolicyDecisionPoint implements PolicyDecisionPoint {
    *     policies
    * @param externalPoliciesReloadPeriod the reload period in seconds for external policies
    */
+  public XacmlPolicyDecisionPoint(
+      ApplicationContext applicationContext,
+      boolean classpathPoliciesEnabled,
+      boolean externalPoliciesEnabled,
+      String externalPoliciesEndpoint,
+      int externalPoliciesReloadPeriod) {
+    this(
+        applicationContext,
+        classpathPoliciesEnabled,
+        externalPoliciesEnabled,
+        externalPoliciesEndpoint,
+        externalPoliciesReloadPeriod,
+        false,
+        0,
+        0);
+  }
+
+  /**
+   * Constructs a new {@code XacmlPolicyDecisionPoint}.
+   *
+   * @param applicationContext the Spring {@link ApplicationContext}
+   * @param classpathPoliciesEnabled should policy sets and policies be loaded from the classpath
+   *     under pdp/policies
+   * @param externalPoliciesEnabled should policy sets and policies be loaded by invoking an
+   *     external API
+   * @param externalPoliciesEndpoint the external API endpoint used to retrieve policy sets and
+   *     policies
+   * @param externalPoliciesReloadPeriod the reload period in seconds for external policies
+   * @param decisionCacheEnabled should authorization decisions be cached
+   * @param decisionCacheTtl the time-to-live in seconds for cached authorization decisions
+   * @param decisionCacheMaxSize the maximum number of cached authorization decisions
+   */
+  @Autowired
   public XacmlPolicyDecisionPoint(
       ApplicationContext applicationContext,
       @Value(
@@ -162,7 +222,15 @@ public final class XacmlPolicyDecisionPoint implements PolicyDecisionPoint {
           String externalPoliciesEndpoint,
       @Value(
               "${inception.resource-server.xacml-policy-decision-point.external-policies.reload-period:#{43200}}")
-          int externalPoliciesReloadPeriod) {
+          int externalPoliciesReloadPeriod,
+      @Value(
+              "${inception.resource-server.xacml-policy-decision-point.decision-cache.enabled:#{false}}")
+          boolean decisionCacheEnabled,
+      @Value("${inception.resource-server.xacml-policy-decision-point.decision-cache.ttl:#{60}}")
+          int decisionCacheTtl,
+      @Value(
+              "${inception.resource-server.xacml-policy-decision-point.decision-cache.max-size:#{10000}}")
+          int decisionCacheMaxSize) {
     this.applicationContext = applicationContext;
     this.classpathPoliciesEnabled = classpathPoliciesEnabled;
     this.externalPoliciesEnabled = externalPoliciesEnabled;
@@ -174,6 +242,28 @@ public final class XacmlPolicyDecisionPoint implements PolicyDecisionPoint {
     } catch (Throwable ignored) {
     }
 
+    if (decisionCacheEnabled && (decisionCacheTtl > 0) && (decisionCacheMaxSize > 0)) {
+      this.decisionCache =
+          new XacmlDecisionCache(Duration.ofSeconds(decisionCacheTtl), decisionCacheMaxSize);
+
+      if (meterRegistry != null) {
+        Gauge.builder(
+                METRIC_NAME_XACML_POLICY_DECISION_POINT_DECISION_CACHE_SIZE,
+                decisionCache,
+                XacmlDecisionCache::size)
+            .description("The number of cached XACML policy decision point decisions")
+            .register(meterRegistry);
+      }
+
+      log.info(
+          "Enabled the XACML policy decision point decision cache with a time-to-live of "
+              + decisionCacheTtl
+              + " seconds and a maximum size of "
+              + decisionCacheMaxSize);
+    } else {
+      this.decisionCache = null;
+    }
+
     try {
       this.policyDecisionPointContextProviders =
           applicationContext.getBeansOfType(XacmlPolicyDecisionPointContextProvider.class);
@@ -202,147 +292,69 @@ public final class XacmlPolicyDecisionPoint implements PolicyDecisionPoint {
     // Default decision
     String decision = "DENY";
 
-    List<String> resourceIds = new ArrayList<>();
+    String resourceId = null;
 
     try {
-      // Create the decision request
-      DecisionRequestBuilder<?> decisionRequestBuilder = getPdpEngine().newRequestBuilder(-1, -1);
-
-      RequestMapping classRequestMapping =
-          AnnotationUtils.findAnnotation(
-              methodInvocation.getMethod().getDeclaringClass(), RequestMapping.class);
-
-      if (classRequestMapping == null) {
-        log.error(
-            "Policy decision point authorization failed: "
-                + "No RequestMapping annotation found on class ("
-                + methodInvocation.getMethod().getDeclaringClass().getName()
-                + ")");
-
-        return false;
-      }
-
-      String[] classPathMappingUris = classRequestMapping.value();
-
-      if (classPathMappingUris.length == 0) {
-        classPathMappingUris = classRequestMapping.path();
-      }
-
-      if (classPathMappingUris.length == 0) {
-        log.error(
-            "Policy decision point authorization failed: "
-                + "No path mapping URIs specified for RequestMapping annotation on class ("
-                + methodInvocation.getMethod().getDeclaringClass().getName()
-                + ")");
-
-        return false;
-      }
-
-      RequestMapping methodRequestMapping =
-          AnnotationUtils.findAnnotation(methodInvocation.getMethod(), RequestMapping.class);
+      HandlerMethodDescriptor handlerMethodDescriptor =
+          getHandlerMethodDescriptor(methodInvocation);
 
-      if (methodRequestMapping == null) {
+      if (handlerMethodDescriptor.invalidReason() != null) {
         log.error(
             "Policy decision point authorization failed: "
-                + "No RequestMapping annotation found on method ("
-                + methodInvocation.getMethod().getName()
-                + ") on class ("
-                + methodInvocation.getMethod().getDeclaringClass().getName()
-                + ")");
+                + handlerMethodDescriptor.invalidReason());
 
         return false;
       }
 
-      String[] methodPathMappingUris = methodRequestMapping.value();
+      resourceId = handlerMethodDescriptor.resourceIds().getFirst();
 
-      if (methodPathMappingUris.length == 0) {
-        methodPathMappingUris = methodRequestMapping.path();
-      }
-
-      if (methodPathMappingUris.length == 0) {
-        log.error(
-            "Policy decision point authorization failed: "
-                + "No path mapping URIs specified for RequestMapping annotation on method ("
-                + methodInvocation.getMethod().getName()
-                + ") on class ("
-                + methodInvocation.getMethod().getDeclaringClass().getName()
-                + ")");
-
-        return false;
-      }
-
-      /*
-       * Build the resource IDs from a combination of the class-level and method-level path mapping
-       * URIs on the RequestMapping annotations.
-       */
-      for (String classPathMappingUri : classPathMappingUris) {
-        for (String methodPathMappingUri : methodPathMappingUris) {
-          resourceIds.add(classPathMappingUri + methodPathMappingUri);
-        }
-      }
+      // Create the decision request
+      DecisionRequestBuilder<?> decisionRequestBuilder = getPdpEngine().newRequestBuilder(-1, -1);
 
       XacmlUtil.addAttributeToRequest(
           decisionRequestBuilder,
           XacmlAttributeCategory.XACML_3_0_RESOURCE.value(),
           XacmlAttributeId.XACML_1_0_RESOURCE_ID.value(),
-          resourceIds);
+          handlerMethodDescriptor.resourceIds());
 
       XacmlUtil.addAttributeToRequest(
           decisionRequestBuilder,
           XacmlAttributeCategory.XACML_3_0_ACTION.value(),
           XacmlAttributeId.XACML_1_0_ACTION_ID.value(),
-          Arrays.stream(methodRequestMapping.method())
-              .map(Enum::name)
-              .collect(Collectors.toList()));
+          handlerMethodDescriptor.actionIds());
+
+      Object[] methodArguments = methodInvocation.getArguments();
 
       // Add the attributes for the path variables and request parameters
-      for (int i = 0; i < methodInvocation.getMethod().getParameters().length; i++) {
-        Parameter methodParameter = methodInvocation.getMethod().getParameters()[i];
-
-        String methodParameterName = methodParameter.getName();
-        Object methodParameterValue = methodInvocation.getArguments()[i];
-
-        String policyDecisionPointAttributeCategoryName;
-
-        if (AnnotationUtil.isMethodParameterAnnotatedWithAnnotation(
-            methodInvocation, methodParameter, PathVariable.class)) {
-          policyDecisionPointAttributeCategoryName =
-              XacmlPolicyDecisionPointAttributeCategory.PATH_VARIABLES.value();
-        } else if (AnnotationUtil.isMethodParameterAnnotatedWithAnnotation(
-            methodInvocation, methodParameter, RequestParam.class)) {
-          policyDecisionPointAttributeCategoryName =
-              XacmlPolicyDecisionPointAttributeCategory.REQUEST_PARAMETERS.value();
+      for (ParameterAttribute parameterAttribute :
+          handlerMethodDescriptor.parameterAttributes()) {
+        Object methodParameterValue = methodArguments[parameterAttribute.index()];
+
+        if (methodParameterValue instanceof Map<?, ?> nestedParameterMap) {
+          nestedParameterMap.forEach(
+              (nestedRequestParameterName, nestedRequestParameterValue) -> {
+                if (XacmlUtil.isValidAttributeValue(nestedRequestParameterValue)) {
+                  XacmlUtil.addAttributeToRequest(
+                      decisionRequestBuilder,
+                      parameterAttribute.category(),
+                      nestedRequestParameterName.toString(),
+                      XacmlUtil.getAttributeValues(nestedRequestParameterValue));
+                }
+              });
         } else {
-          policyDecisionPointAttributeCategoryName = null;
-
-          if (AnnotationUtil.isMethodParameterAnnotatedWithAnnotation(
-              methodInvocation, methodParameter, RequestBody.class)) {
-            RequestBodyObjectContext.setRequestBodyObject(methodParameterValue);
+          if (XacmlUtil.isValidAttributeValue(methodParameterValue)) {
+            XacmlUtil.addAttributeToRequest(
+                decisionRequestBuilder,
+                parameterAttribute.category(),
+                parameterAttribute.name(),
+                XacmlUtil.getAttributeValues(methodParameterValue));
           }
         }
+      }
 
-        if (policyDecisionPointAttributeCategoryName != null) {
-          if (methodParameterValue instanceof Map<?, ?> nestedParameterMap) {
-            nestedParameterMap.forEach(
-                (nestedRequestParameterName, nestedRequestParameterValue) -> {
-                  if (XacmlUtil.isValidAttributeValue(nestedRequestParameterValue)) {
-                    XacmlUtil.addAttributeToRequest(
-                        decisionRequestBuilder,
-                        policyDecisionPointAttributeCategoryName,
-                        nestedRequestParameterName.toString(),
-                        XacmlUtil.getAttributeValues(nestedRequestParameterValue));
-                  }
-                });
-          } else {
-            if (XacmlUtil.isValidAttributeValue(methodParameterValue)) {
-              XacmlUtil.addAttributeToRequest(
-                  decisionRequestBuilder,
-                  policyDecisionPointAttributeCategoryName,
-                  methodParameterName,
-                  XacmlUtil.getAttributeValues(methodParameterValue));
-            }
-          }
-        }
+      if (handlerMethodDescriptor.requestBodyParameterIndex() >= 0) {
+        RequestBodyObjectContext.setRequestBodyObject(
+            methodArguments[handlerMethodDescriptor.requestBodyParameterIndex()]);
       }
 
       // Add the current datetime attribute (action category), no issuer, string value
@@ -362,8 +374,34 @@ public final class XacmlPolicyDecisionPoint implements PolicyDecisionPoint {
       // No more attributes, let's finalize the request creation
       DecisionRequest decisionRequest = decisionRequestBuilder.build(true);
 
-      // Evaluate the request
-      DecisionResult decisionResult = evaluate(decisionRequest);
+      /*
+       * Evaluate the request, using the decision cache if it is enabled. Decisions for methods with
+       * a request body parameter are never cached, since policies may inspect the request body
+       * using the custom functions, and it does not form part of the decision request attributes.
+       */
+      DecisionResult decisionResult;
+
+      if ((decisionCache != null) && handlerMethodDescriptor.isDecisionCacheable()) {
+        Map<AttributeFqn, AttributeBag<?>> decisionCacheKey = decisionCache.newKey(decisionRequest);
+
+        decisionResult = decisionCache.get(decisionCacheKey);
+
+        if (decisionResult != null) {
+          if (meterRegistry != null) {
+            meterRegistry
+                .counter(METRIC_NAME_XACML_POLICY_DECISION_POINT_DECISION_CACHE_HIT)
+                .increment();
+          }
+        } else {
+          long decisionCacheGeneration = decisionCache.getGeneration();
+
+          decisionResult = evaluate(decisionRequest);
+
+          decisionCache.put(decisionCacheKey, decisionResult, decisionCacheGeneration);
+        }
+      } else {
+        decisionResult = evaluate(decisionRequest);
+      }
 
       if (decisionResult.getDecision() == DecisionType.PERMIT) {
         decision = "PERMIT";
@@ -447,11 +485,11 @@ public final class XacmlPolicyDecisionPoint implements PolicyDecisionPoint {
 
       return false;
     } finally {
-      if (!resourceIds.isEmpty()) {
+      if (resourceId != null) {
         if (sample != null) {
           sample.stop(
               Timer.builder(METRIC_NAME_XACML_POLICY_DECISION_POINT_TIME)
-                  .tags("uri", resourceIds.getFirst(), "decision", decision)
+                  .tags("uri", resourceId, "decision", decision)
                   .register(meterRegistry));
         }
       }
@@ -489,6 +527,27 @@ public final class XacmlPolicyDecisionPoint implements PolicyDecisionPoint {
     return pdpEngine;
   }
 
+  /**
+   * Returns the precomputed metadata for the handler method being invoked, creating and caching it
+   * on the first invocation of the method.
+   *
+   * @param methodInvocation the method invocation
+   * @return the precomputed metadata for the handler method
+   */
+  private HandlerMethodDescriptor getHandlerMethodDescriptor(MethodInvocation methodInvocation) {
+    Method method = methodInvocation.getMethod();
+
+    HandlerMethodDescriptor handlerMethodDescriptor = handlerMethodDescriptors.get(method);
+
+    if (handlerMethodDescriptor == null) {
+      handlerMethodDescriptor =
+          handlerMethodDescriptors.computeIfAbsent(
+              method, key -> newHandlerMethodDescriptor(methodInvocation));
+    }
+
+    return handlerMethodDescriptor;
+  }
+
   /** Initialize the AuthzForce PDP engine */
   private void initPdpEngine() {
     // Initialize the AuthzForce PDP engine
@@ -529,12 +588,19 @@ public final class XacmlPolicyDecisionPoint implements PolicyDecisionPoint {
        * META/services/org.ow2.authzforce.core.pdp.api.PdpExtension file, which defines the
        * extensions for the AuthzForce PDP.
        */
-      policyProviders.add(
+      XacmlPolicyDecisionPointPolicyProvider policyProvider =
           new XacmlPolicyDecisionPointPolicyProvider(
               classpathPoliciesEnabled,
               externalPoliciesEnabled,
               externalPoliciesEndpoint,
-              externalPoliciesReloadPeriod));
+              externalPoliciesReloadPeriod);
+
+      // Invalidate the cached decisions whenever the policy sets and policies are (re)loaded
+      if (decisionCache != null) {
+        policyProvider.setPoliciesLoadedListener(decisionCache::invalidate);
+      }
+
+      policyProviders.add(policyProvider);
 
       /*
        * To add a custom function, we add the function ID here and the name of the function class to
@@ -594,4 +660,167 @@ public final class XacmlPolicyDecisionPoint implements PolicyDecisionPoint {
       throw new PolicyDecisionPointException("Failed to initialize the AuthzForce PDP Engine", e);
     }
   }
+
+  /**
+   * Create the metadata for the handler method being invoked from the RequestMapping annotations
+   * on the class and method, and the annotations on the method parameters.
+   *
+   * @param methodInvocation the method invocation
+   * @return the metadata for the handler method
+   */
+  private HandlerMethodDescriptor newHandlerMethodDescriptor(MethodInvocation methodInvocation) {
+    Method method = methodInvocation.getMethod();
+
+    RequestMapping classRequestMapping =
+        AnnotationUtils.findAnnotation(method.getDeclaringClass(), RequestMapping.class);
+
+    if (classRequestMapping == null) {
+      return HandlerMethodDescriptor.invalid(
+          "No RequestMapping annotation found on class ("
+              + method.getDeclaringClass().getName()
+              + ")");
+    }
+
+    String[] classPathMappingUris = classRequestMapping.value();
+
+    if (classPathMappingUris.length == 0) {
+      classPathMappingUris = classRequestMapping.path();
+    }
+
+    if (classPathMappingUris.length == 0) {
+      return HandlerMethodDescriptor.invalid(
+          "No path mapping URIs specified for RequestMapping annotation on class ("
+              + method.getDeclaringClass().getName()
+              + ")");
+    }
+
+    RequestMapping methodRequestMapping =
+        AnnotationUtils.findAnnotation(method, RequestMapping.class);
+
+    if (methodRequestMapping == null) {
+      return HandlerMethodDescriptor.invalid(
+          "No RequestMapping annotation found on method ("
+              + method.getName()
+              + ") on class ("
+              + method.getDeclaringClass().getName()
+              + ")");
+    }
+
+    String[] methodPathMappingUris = methodRequestMapping.value();
+
+    if (methodPathMappingUris.length == 0) {
+      methodPathMappingUris = methodRequestMapping.path();
+    }
+
+    if (methodPathMappingUris.length == 0) {
+      return HandlerMethodDescriptor.invalid(
+          "No path mapping URIs specified for RequestMapping annotation on method ("
+              + method.getName()
+              + ") on class ("
+              + method.getDeclaringClass().getName()
+              + ")");
+    }
+
+    /*
+     * Build the resource IDs from a combination of the class-level and method-level path mapping
+     * URIs on the RequestMapping annotations.
+     */
+    List<String> resourceIds = new ArrayList<>();
+
+    for (String classPathMappingUri : classPathMappingUris) {
+      for (String methodPathMappingUri : methodPathMappingUris) {
+        resourceIds.add(classPathMappingUri + methodPathMappingUri);
+      }
+    }
+
+    List<String> actionIds =
+        Arrays.stream(methodRequestMapping.method()).map(Enum::name).toList();
+
+    // Determine which method parameters provide path variables and request parameters
+    List<ParameterAttribute> parameterAttributes = new ArrayList<>();
+
+    int requestBodyParameterIndex = -1;
+
+    Parameter[] methodParameters = method.getParameters();
+
+    for (int i = 0; i < methodParameters.length; i++) {
+      Parameter methodParameter = methodParameters[i];
+
+      if (AnnotationUtil.isMethodParameterAnnotatedWithAnnotation(
+          methodInvocation, methodParameter, PathVariable.class)) {
+        parameterAttributes.add(
+            new ParameterAttribute(
+                i,
+                methodParameter.getName(),
+                XacmlPolicyDecisionPointAttributeCategory.PATH_VARIABLES.value()));
+      } else if (AnnotationUtil.isMethodParameterAnnotatedWithAnnotation(
+          methodInvocation, methodParameter, RequestParam.class)) {
+        parameterAttributes.add(
+            new ParameterAttribute(
+                i,
+                methodParameter.getName(),
+                XacmlPolicyDecisionPointAttributeCategory.REQUEST_PARAMETERS.value()));
+      } else if (AnnotationUtil.isMethodParameterAnnotatedWithAnnotation(
+          methodInvocation, methodParameter, RequestBody.class)) {
+        requestBodyParameterIndex = i;
+      }
+    }
+
+    return new HandlerMethodDescriptor(
+        null,
+        List.copyOf(resourceIds),
+        actionIds,
+        List.copyOf(parameterAttributes),
+        requestBodyParameterIndex);
+  }
+
+  /**
+   * The precomputed metadata for a handler method, derived from its annotations.
+   *
+   * @param invalidReason the reason the handler method cannot be authorized or {@code null} if the
+   *     metadata is valid
+   * @param resourceIds the resource IDs built from the class-level and method-level path mapping
+   *     URIs
+   * @param actionIds the action IDs built from the request methods for the handler method
+   * @param parameterAttributes the method parameters that provide path variable and request
+   *     parameter attributes
+   * @param requestBodyParameterIndex the index of the request body method parameter or -1 if the
+   *     handler method does not have a request body parameter
+   */
+  private record HandlerMethodDescriptor(
+      String invalidReason,
+      List<String> resourceIds,
+      List<String> actionIds,
+      List<ParameterAttribute> parameterAttributes,
+      int requestBodyParameterIndex) {
+
+    /**
+     * Returns the metadata for a handler method that cannot be authorized.
+     *
+     * @param invalidReason the reason the handler method cannot be authorized
+     * @return the metadata for a handler method that cannot be authorized
+     */
+    static HandlerMethodDescriptor invalid(String invalidReason) {
+      return new HandlerMethodDescriptor(invalidReason, List.of(), List.of(), List.of(), -1);
+    }
+
+    /**
+     * Returns whether decisions for the handler method can be cached.
+     *
+     * @return {@code true} if decisions for the handler method can be cached or {@code false}
+     *     otherwise
+     */
+    boolean isDecisionCacheable() {
+      return requestBodyParameterIndex < 0;
+    }
+  }
+
+  /**
+   * A method parameter that provides a path variable or request parameter attribute.
+   *
+   * @param index the index of the method parameter
+   * @param name the name of the method parameter
+   * @param category the XACML attribute category for the attribute
+   */
+  private record ParameterAttribute(int index, String name, String category) {}
 }
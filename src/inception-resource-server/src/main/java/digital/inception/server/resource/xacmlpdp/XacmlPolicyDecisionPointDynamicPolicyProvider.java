@@ -107,6 +107,9 @@ public class XacmlPolicyDecisionPointDynamicPolicyProvider
 
   private final Map<String, Map<PolicyVersion, ParsedPolicy>> policies = new HashMap<>();
 
+  /** The listener that is notified when the policy sets and policies are loaded or reloaded. */
+  private final Runnable policiesLoadedListener;
+
   private final Map<String, Map<PolicyVersion, ParsedPolicySet>> policySets = new HashMap<>();
 
   /** The factory used to create XACML parsers. */
@@ -131,6 +134,8 @@ public class XacmlPolicyDecisionPointDynamicPolicyProvider
    * @param externalPoliciesEndpoint the external API endpoint used to retrieve policy sets and
    *     policies
    * @param externalPoliciesReloadPeriod the reload period in seconds for external policies
+   * @param policiesLoadedListener the listener that is notified when the policy sets and policies
+   *     are loaded or reloaded or {@code null} if no listener should be notified
    */
   public XacmlPolicyDecisionPointDynamicPolicyProvider(
       XmlnsFilteringParserFactory xacmlParserFactory,
@@ -139,7 +144,8 @@ public class XacmlPolicyDecisionPointDynamicPolicyProvider
       boolean classpathPoliciesEnabled,
       boolean externalPoliciesEnabled,
       String externalPoliciesEndpoint,
-      int externalPoliciesReloadPeriod) {
+      int externalPoliciesReloadPeriod,
+      Runnable policiesLoadedListener) {
 
     this.xacmlParserFactory = xacmlParserFactory;
     this.expressionFactory = expressionFactory;
@@ -148,6 +154,7 @@ public class XacmlPolicyDecisionPointDynamicPolicyProvider
     this.externalPoliciesEnabled = externalPoliciesEnabled;
     this.externalPoliciesEndpoint = externalPoliciesEndpoint;
     this.externalPoliciesReloadPeriod = externalPoliciesReloadPeriod;
+    this.policiesLoadedListener = policiesLoadedListener;
 
     try {
       loadPolicies();
@@ -213,6 +220,8 @@ public class XacmlPolicyDecisionPointDynamicPolicyProvider
     reloadExternalPolicies();
 
     rootPolicySet = buildRootPolicySet();
+
+    notifyPoliciesLoaded();
   }
 
   /**
@@ -416,6 +425,16 @@ public class XacmlPolicyDecisionPointDynamicPolicyProvider
     }
   }
 
+  /**
+   * Notify the listener, if any, that the policy sets and policies have been loaded or reloaded so
+   * that any decisions cached for the previous policy sets and policies can be invalidated.
+   */
+  private void notifyPoliciesLoaded() {
+    if (policiesLoadedListener != null) {
+      policiesLoadedListener.run();
+    }
+  }
+
   /** Reload the external policy sets and policies using the policy API endpoint. */
   private void reloadExternalPolicies() {
     if (externalPoliciesEnabled && StringUtils.hasText(externalPoliciesEndpoint)) {
@@ -457,6 +476,8 @@ public class XacmlPolicyDecisionPointDynamicPolicyProvider
 
             rootPolicySet = buildRootPolicySet();
 
+            notifyPoliciesLoaded();
+
             reloadExternalPoliciesWhen =
                 ApplicationClock.now().plusSeconds(externalPoliciesReloadPeriod);
 
@@ -511,7 +532,8 @@ public class XacmlPolicyDecisionPointDynamicPolicyProvider
             configuration.getClasspathPoliciesEnabled(),
             configuration.getExternalPoliciesEnabled(),
             configuration.getExternalPoliciesEndpoint(),
-            configuration.getExternalPoliciesReloadPeriod());
+            configuration.getExternalPoliciesReloadPeriod(),
+            configuration.getPoliciesLoadedListener());
       } catch (Throwable e) {
         throw new RuntimeException(
             "Failed to create the XacmlPolicyDecisionPointDynamicPolicyProvider instance", e);
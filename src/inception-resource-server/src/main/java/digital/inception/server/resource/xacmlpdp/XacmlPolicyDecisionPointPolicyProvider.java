@@ -20,6 +20,7 @@ import jakarta.xml.bind.annotation.XmlAccessType;
 import jakarta.xml.bind.annotation.XmlAccessorType;
 import jakarta.xml.bind.annotation.XmlElement;
 import jakarta.xml.bind.annotation.XmlRootElement;
+import jakarta.xml.bind.annotation.XmlTransient;
 import jakarta.xml.bind.annotation.XmlType;
 import org.ow2.authzforce.xmlns.pdp.ext.AbstractPolicyProvider;
 
@@ -51,6 +52,9 @@ public class XacmlPolicyDecisionPointPolicyProvider extends AbstractPolicyProvid
   @XmlElement(name = "ExternalPoliciesReloadPeriod")
   private int externalPoliciesReloadPeriod;
 
+  /** The listener that is notified when the policy sets and policies are loaded or reloaded. */
+  @XmlTransient private Runnable policiesLoadedListener;
+
   /** Constructs a new {@code XacmlPolicyDecisionPointPolicyProvider}. */
   public XacmlPolicyDecisionPointPolicyProvider() {}
 
@@ -118,6 +122,17 @@ public class XacmlPolicyDecisionPointPolicyProvider extends AbstractPolicyProvid
     return externalPoliciesReloadPeriod;
   }
 
+  /**
+   * Returns the listener that is notified when the policy sets and policies are loaded or
+   * reloaded.
+   *
+   * @return the listener that is notified when the policy sets and policies are loaded or reloaded
+   *     or {@code null} if no listener has been set
+   */
+  public Runnable getPoliciesLoadedListener() {
+    return policiesLoadedListener;
+  }
+
   /**
    * Set whether the policy sets and policies should be loaded from the classpath under
    * pdp/policies.
@@ -157,4 +172,14 @@ public class XacmlPolicyDecisionPointPolicyProvider extends AbstractPolicyProvid
   public void setExternalPoliciesReloadPeriod(int externalPoliciesReloadPeriod) {
     this.externalPoliciesReloadPeriod = externalPoliciesReloadPeriod;
   }
+
+  /**
+   * Set the listener that is notified when the policy sets and policies are loaded or reloaded.
+   *
+   * @param policiesLoadedListener the listener that is notified when the policy sets and policies
+   *     are loaded or reloaded
+   */
+  public void setPoliciesLoadedListener(Runnable policiesLoadedListener) {
+    this.policiesLoadedListener = policiesLoadedListener;
+  }
 }
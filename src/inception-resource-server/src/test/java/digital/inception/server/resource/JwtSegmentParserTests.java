@@ -0,0 +1,164 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package digital.inception.server.resource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.util.Base64;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The {@code JwtSegmentParserTests} class contains the JUnit tests for the {@code
+ * JwtSegmentParser} class.
+ *
+ * @author Marcus Portmann
+ */
+public class JwtSegmentParserTests {
+
+  /** Test that duplicate members are rejected. */
+  @Test
+  public void duplicateMemberTest() {
+    assertThrows(
+        ParseException.class,
+        () -> getStringMember("{\"kid\":\"first\",\"alg\":\"RS256\",\"kid\":\"second\"}", "kid"));
+
+    // Duplicates are also rejected when the JSON is parsed in full
+    assertThrows(
+        ParseException.class,
+        () -> getStringMember("{\"kid\":\"fi\\u0072st\",\"kid\":\"second\"}", "kid"));
+  }
+
+  /** Test that escaped member names and values are handled by the full parse. */
+  @Test
+  public void escapedMemberTest() throws Exception {
+    assertEquals(
+        "say \"hello\"", getStringMember("{\"kid\":\"say \\\"hello\\\"\"}", "kid"));
+    assertEquals("key-A", getStringMember("{\"kid\":\"key-\\u0041\"}", "kid"));
+    assertEquals("key-1", getStringMember("{\"k\\u0069d\":\"key-1\"}", "kid"));
+    assertEquals(
+        "key-1", getStringMember("{\"typ\":\"a\\\\b\",\"kid\":\"key-1\"}", "kid"));
+  }
+
+  /** Test the handling of invalid Base64URL-encoded segments. */
+  @Test
+  public void invalidSegmentTest() {
+    // A Base64URL-encoded segment can never have a length of 4n + 1 characters
+    assertThrows(ParseException.class, () -> JwtSegmentParser.getStringMember("eyJhb", 0, 5, "a"));
+
+    // The standard Base64 characters '+' and '/' are not valid Base64URL characters
+    assertThrows(ParseException.class, () -> JwtSegmentParser.getStringMember("ey+/", 0, 4, "a"));
+    assertThrows(ParseException.class, () -> JwtSegmentParser.getStringMember("ey é", 0, 4, "a"));
+
+    // The segment must be a JSON object
+    assertThrows(ParseException.class, () -> getStringMember("[\"kid\"]", "kid"));
+    assertThrows(ParseException.class, () -> getStringMember("{\"kid\":\"key-1\"", "kid"));
+    assertThrows(ParseException.class, () -> getStringMember("{\"kid\":\"key-1\"} x", "kid"));
+  }
+
+  /** Test that only top-level members are returned. */
+  @Test
+  public void nestedValueTest() throws Exception {
+    String json =
+        """
+        {"jwk": {"kid": "nested", "x5c": ["a", "b}"]}, "crit": [["kid"], {"kid": 1}],
+         "iss": "https://issuer.example.com", "kid": "top-level"}""";
+
+    assertEquals("top-level", getStringMember(json, "kid"));
+    assertEquals("https://issuer.example.com", getStringMember(json, "iss"));
+    assertNull(getStringMember("{\"jwk\": {\"kid\": \"nested\"}}", "kid"));
+  }
+
+  /** Test the handling of members whose values are not strings. */
+  @Test
+  public void nonStringMemberTest() throws Exception {
+    assertNull(getStringMember("{\"kid\":null}", "kid"));
+    assertThrows(ParseException.class, () -> getStringMember("{\"kid\":123}", "kid"));
+    assertThrows(ParseException.class, () -> getStringMember("{\"kid\":true}", "kid"));
+    assertThrows(ParseException.class, () -> getStringMember("{\"kid\":[\"key-1\"]}", "kid"));
+    assertThrows(
+        ParseException.class, () -> getStringMember("{\"kid\":{\"value\":\"key-1\"}}", "kid"));
+
+    // Non-string values for other members are skipped
+    assertEquals(
+        "key-1",
+        getStringMember(
+            "{\"exp\":1700000000,\"admin\":false,\"aud\":null,\"x\":-1.5e3,\"kid\":\"key-1\"}",
+            "kid"));
+  }
+
+  /** Test the handling of Base64URL padding. */
+  @Test
+  public void paddingTest() throws Exception {
+    // The unpadded encoded lengths are 4n, 4n + 2 and 4n + 3 characters
+    for (String kid : new String[] {"k", "k1", "k12"}) {
+      byte[] json = ("{\"kid\":\"" + kid + "\"}").getBytes(StandardCharsets.UTF_8);
+
+      String unpadded = Base64.getUrlEncoder().withoutPadding().encodeToString(json);
+      String padded = Base64.getUrlEncoder().encodeToString(json);
+
+      assertEquals(kid, JwtSegmentParser.getStringMember(unpadded, 0, unpadded.length(), "kid"));
+      assertEquals(kid, JwtSegmentParser.getStringMember(padded, 0, padded.length(), "kid"));
+    }
+  }
+
+  /** Test the retrieval of a member from a segment within a compact serialized JWT. */
+  @Test
+  public void segmentTest() throws Exception {
+    String header = encode("{\"alg\":\"RS256\",\"typ\":\"JWT\",\"kid\":\"key-1\"}");
+    String claims = encode("{\"sub\":\"alice\",\"iss\":\"https://issuer.example.com\"}");
+
+    String token = header + "." + claims + ".c2lnbmF0dXJl";
+
+    int firstDotPos = token.indexOf('.');
+    int secondDotPos = token.indexOf('.', firstDotPos + 1);
+
+    assertEquals("key-1", JwtSegmentParser.getStringMember(token, 0, firstDotPos, "kid"));
+    assertEquals("RS256", JwtSegmentParser.getStringMember(token, 0, firstDotPos, "alg"));
+    assertNull(JwtSegmentParser.getStringMember(token, 0, firstDotPos, "iss"));
+    assertEquals(
+        "https://issuer.example.com",
+        JwtSegmentParser.getStringMember(token, firstDotPos + 1, secondDotPos, "iss"));
+    assertEquals(
+        "alice", JwtSegmentParser.getStringMember(token, firstDotPos + 1, secondDotPos, "sub"));
+  }
+
+  /** Test the handling of whitespace, empty objects and non-ASCII values. */
+  @Test
+  public void whitespaceAndUnicodeTest() throws Exception {
+    assertEquals(
+        "key-1", getStringMember(" {\r\n\t\"alg\" : \"RS256\" ,\n \"kid\" : \"key-1\"\n} ", "kid"));
+    assertEquals("clé-ü-✓", getStringMember("{\"kid\":\"clé-ü-✓\"}", "kid"));
+    assertNull(getStringMember("{}", "kid"));
+    assertNull(getStringMember("{ }", "kid"));
+  }
+
+  private static String encode(String json) {
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(json.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static String getStringMember(String json, String name) throws ParseException {
+    String segment = encode(json);
+
+    return JwtSegmentParser.getStringMember(segment, 0, segment.length(), name);
+  }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package digital.inception.server.resource;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jwt.JWT;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.JWTParser;
+import com.nimbusds.jwt.SignedJWT;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import javax.crypto.spec.SecretKeySpec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+/**
+ * The {@code MultiIssuerJwtDecoderBenchmarks} class contains the JMH benchmarks for the {@code
+ * MultiIssuerJwtDecoder} class.
+ *
+ * <p>The {@code fullParse} benchmark is the baseline. It selects the decoder for a JWT by parsing
+ * the complete JWT with Nimbus before the selected decoder parses and verifies the JWT again. The
+ * {@code multiIssuerJwtDecoder} benchmark selects the decoder using the public {@code decode}
+ * method, which only scans the JWT for the key ID and, if required, the issuer. The {@code
+ * routing} parameter selects whether the JWT is routed by its key ID or, because its key ID is
+ * unknown, by its issuer.
+ *
+ * <p>The benchmarks are compiled with the tests and can be run using the JMH runner on the test
+ * classpath, e.g.
+ *
+ * <pre>
+ * mvn -pl inception-resource-server test-compile exec:java -Dexec.classpathScope=test \
+ *   -Dexec.mainClass=org.openjdk.jmh.Main -Dexec.args=MultiIssuerJwtDecoderBenchmarks
+ * </pre>
+ *
+ * @author Marcus Portmann
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MultiIssuerJwtDecoderBenchmarks {
+
+  /** The issuer for the JWTs. */
+  private static final String ISSUER = "https://issuer.example.com";
+
+  /** The key ID for the JWTs that are routed by key ID. */
+  private static final String KEY_ID = "benchmark";
+
+  /** The secret key used to sign the JWTs. */
+  private static final byte[] SECRET_KEY =
+      "benchmark-secret-key-benchmark-secret-key".getBytes(StandardCharsets.UTF_8);
+
+  /** The key ID for the JWTs that are routed by issuer, which has no decoder. */
+  private static final String UNKNOWN_KEY_ID = "rotated";
+
+  /** Route the JWT by its key ID ({@code keyId}) or its issuer ({@code issuer}). */
+  @Param({"keyId", "issuer"})
+  public String routing;
+
+  private Map<String, JwtDecoder> issuerJwtDecoders;
+
+  private Map<String, JwtDecoder> jwtDecoders;
+
+  private MultiIssuerJwtDecoder multiIssuerJwtDecoder;
+
+  private String token;
+
+  /** Constructs a new {@code MultiIssuerJwtDecoderBenchmarks}. */
+  public MultiIssuerJwtDecoderBenchmarks() {}
+
+  /**
+   * Benchmark the baseline, which parses the complete JWT to select the decoder for the JWT.
+   *
+   * @return the decoded JWT
+   * @throws Exception if the JWT could not be decoded
+   */
+  @Benchmark
+  public Jwt fullParse() throws Exception {
+    JWT jwt = JWTParser.parse(token);
+
+    JwtDecoder jwtDecoder = jwtDecoders.get(((SignedJWT) jwt).getHeader().getKeyID());
+
+    if (jwtDecoder == null) {
+      jwtDecoder = issuerJwtDecoders.get(jwt.getJWTClaimsSet().getIssuer());
+    }
+
+    if (jwtDecoder == null) {
+      throw new JwtException("No JWT decoder found to decode the JWT");
+    }
+
+    return jwtDecoder.decode(token);
+  }
+
+  /**
+   * Benchmark the {@code MultiIssuerJwtDecoder}, which scans the JWT to select the decoder for the
+   * JWT.
+   *
+   * @return the decoded JWT
+   */
+  @Benchmark
+  public Jwt multiIssuerJwtDecoder() {
+    return multiIssuerJwtDecoder.decode(token);
+  }
+
+  /**
+   * Create the JWT decoders and sign the JWT.
+   *
+   * @throws Exception if the JWT could not be signed
+   */
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    JwtDecoder jwtDecoder =
+        NimbusJwtDecoder.withSecretKey(new SecretKeySpec(SECRET_KEY, MacAlgorithm.HS256.name()))
+            .build();
+
+    jwtDecoders = Map.of(KEY_ID, jwtDecoder);
+    issuerJwtDecoders = Map.of(ISSUER, jwtDecoder);
+
+    multiIssuerJwtDecoder = new MultiIssuerJwtDecoder(jwtDecoders, issuerJwtDecoders, null);
+
+    token = createToken("issuer".equals(routing) ? UNKNOWN_KEY_ID : KEY_ID);
+
+    // Confirm that the baseline and the decoder select the same decoder before measuring them
+    if (!fullParse().getClaims().equals(multiIssuerJwtDecoder().getClaims())) {
+      throw new IllegalStateException("The JWT was not decoded consistently");
+    }
+  }
+
+  /** Close the {@code MultiIssuerJwtDecoder}. */
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    multiIssuerJwtDecoder.close();
+  }
+
+  private static String createToken(String keyId) throws Exception {
+    JWTClaimsSet claimsSet =
+        new JWTClaimsSet.Builder()
+            .issuer(ISSUER)
+            .subject("administrator")
+            .jwtID(UUID.randomUUID().toString())
+            .issueTime(new Date())
+            .expirationTime(Date.from(Instant.now().plusSeconds(86400)))
+            .claim("name", "Administrator")
+            .claim("roles", List.of("Administrator", "TenantAdministrator"))
+            .claim("functions", List.of("Application.Dashboard", "Security.UserAdministration"))
+            .claim("tenants", List.of(UUID.randomUUID().toString()))
+            .build();
+
+    SignedJWT signedJWT =
+        new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.HS256).keyID(keyId).build(), claimsSet);
+
+    signedJWT.sign(new MACSigner(SECRET_KEY));
+
+    return signedJWT.serialize();
+  }
+}
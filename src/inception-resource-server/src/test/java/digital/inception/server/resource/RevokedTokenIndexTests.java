@@ -0,0 +1,165 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package digital.inception.server.resource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.sun.net.httpserver.HttpServer;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The {@code RevokedTokenIndexTests} class contains the tests that verify that the revoked tokens
+ * returned by the Security API are correctly mapped by the {@code RevokedTokenIndex} class.
+ *
+ * <p>The JSON documents used by these tests use the property names produced by the {@code
+ * RevokedToken} and {@code RevokedTokenChanges} classes in the inception-security module.
+ *
+ * @author Marcus Portmann
+ */
+public class RevokedTokenIndexTests {
+
+  /** The current date for the fixed clock used by the tests. */
+  private static final LocalDate TODAY = LocalDate.of(2030, 1, 10);
+
+  /** The fixed clock used by the tests. */
+  private static final Clock CLOCK =
+      Clock.fixed(TODAY.atStartOfDay(ZoneOffset.UTC).toInstant(), ZoneOffset.UTC);
+
+  /** The JSON response returned by the stub Security API. */
+  private final AtomicReference<String> response = new AtomicReference<>();
+
+  /** The stub Security API. */
+  private HttpServer server;
+
+  @AfterEach
+  public void stopServer() {
+    server.stop(0);
+  }
+
+  @BeforeEach
+  public void startServer() throws Exception {
+    server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.createContext(
+        "/",
+        exchange -> {
+          byte[] body = response.get().getBytes(StandardCharsets.UTF_8);
+          exchange.getResponseHeaders().set("Content-Type", "application/json");
+          exchange.sendResponseHeaders(200, body.length);
+          exchange.getResponseBody().write(body);
+          exchange.close();
+        });
+    server.start();
+  }
+
+  /** Test the mapping of the changes to the revoked tokens. */
+  @Test
+  public void revokedTokenChangesMappingTest() {
+    String tomorrow = TODAY.plusDays(1).toString();
+
+    try (RevokedTokenIndex revokedTokenIndex =
+        new RevokedTokenIndex(
+            getUrl("/revoked-tokens"),
+            getUrl("/revoked-token-changes"),
+            Duration.ofMinutes(5),
+            null,
+            CLOCK)) {
+      response.set(
+          """
+          {"version": 2, "complete": true, "revokedTokens": [%s, %s], "reinstatedTokenIds": []}
+          """
+              .formatted(
+                  revokedTokenJson("jwt-1", tomorrow), revokedTokenJson("jwt-2", null)));
+
+      assertTrue(revokedTokenIndex.refresh(), "Failed to retrieve the revoked token changes");
+      assertTrue(revokedTokenIndex.getSnapshot().isRevoked("jwt-1"));
+      assertTrue(revokedTokenIndex.getSnapshot().isRevoked("jwt-2"));
+
+      response.set(
+          """
+          {"version": 3, "complete": false, "revokedTokens": [%s], "reinstatedTokenIds": ["jwt-1"]}
+          """
+              .formatted(revokedTokenJson("jwt-3", tomorrow)));
+
+      assertTrue(revokedTokenIndex.refresh(), "Failed to retrieve the revoked token changes");
+      assertFalse(revokedTokenIndex.getSnapshot().isRevoked("jwt-1"));
+      assertTrue(revokedTokenIndex.getSnapshot().isRevoked("jwt-2"));
+      assertTrue(revokedTokenIndex.getSnapshot().isRevoked("jwt-3"));
+    }
+  }
+
+  /** Test the mapping of the complete list of revoked tokens. */
+  @Test
+  public void revokedTokensMappingTest() {
+    LocalDate tomorrow = TODAY.plusDays(1);
+
+    try (RevokedTokenIndex revokedTokenIndex =
+        new RevokedTokenIndex(
+            getUrl("/revoked-tokens"), null, Duration.ofMinutes(5), null, CLOCK)) {
+      response.set(
+          "["
+              + revokedTokenJson("jwt-1", tomorrow.toString())
+              + ", "
+              + revokedTokenJson("jwt-2", null)
+              + ", "
+              + revokedTokenJson("jwt-3", TODAY.minusDays(1).toString())
+              + ", "
+              + revokedTokenJson("jwt-4", TODAY.toString())
+              + "]");
+
+      assertNull(revokedTokenIndex.getSnapshot());
+      assertTrue(revokedTokenIndex.refresh(), "Failed to retrieve the revoked tokens");
+
+      RevokedTokenIndex.Snapshot snapshot = revokedTokenIndex.getSnapshot();
+
+      assertNotNull(snapshot);
+      assertEquals(3, snapshot.revokedTokens().size());
+      assertEquals(tomorrow, snapshot.revokedTokens().get("jwt-1"));
+      assertTrue(snapshot.isRevoked("jwt-2"));
+      assertNull(snapshot.revokedTokens().get("jwt-2"));
+      assertFalse(
+          snapshot.isRevoked("jwt-3"), "The expired revoked token should not have been indexed");
+      assertTrue(
+          snapshot.isRevoked("jwt-4"), "The revoked token expiring today should have been indexed");
+      assertEquals(
+          CLOCK.instant(), snapshot.loaded(), "The snapshot was not loaded using the clock");
+    }
+  }
+
+  private String getUrl(String path) {
+    return "http://localhost:" + server.getAddress().getPort() + path;
+  }
+
+  private String revokedTokenJson(String id, String expiryDate) {
+    return """
+        {"id": "%s", "type": "jwt", "name": "Test Token", "issued": "2025-01-01T00:00:00Z", \
+        "validFromDate": "2025-01-01", "expiryDate": %s, "revocationDate": "2025-01-02"}"""
+        .formatted(id, (expiryDate != null) ? "\"" + expiryDate + "\"" : "null");
+  }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package digital.inception.server.resource.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import digital.inception.core.api.AccessModel;
+import digital.inception.server.resource.AccessModelJwtAuthenticationToken;
+import digital.inception.server.resource.JwtGrantedAuthoritiesConverter;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+/**
+ * The {@code JwtGrantedAuthoritiesConverterTests} class contains the JUnit tests for the {@code
+ * JwtGrantedAuthoritiesConverter} class.
+ *
+ * @author Marcus Portmann
+ */
+public class JwtGrantedAuthoritiesConverterTests {
+
+  private static final UUID USER_DIRECTORY_ID = UUID.randomUUID();
+
+  /** Test the extraction of the granted authorities from a JWT. */
+  @Test
+  public void convertTest() {
+    assertEquals(
+        Set.of(
+            "USER_DIRECTORY_ID_ " + USER_DIRECTORY_ID,
+            "FUNCTION_Party.PartyAdministration",
+            "ROLE_TenantAdministrator"),
+        getAuthorityNames(new JwtGrantedAuthoritiesConverter().convert(newJwt())));
+
+    assertTrue(
+        new JwtGrantedAuthoritiesConverter()
+            .convert(Jwt.withTokenValue("token").header("alg", "none").subject("test").build())
+            .isEmpty());
+  }
+
+  /** Test the conversion of a JWT to an authentication token with a precomputed access model. */
+  @Test
+  public void convertToAuthenticationTokenTest() {
+    AccessModelJwtAuthenticationToken authenticationToken =
+        new JwtGrantedAuthoritiesConverter().convertToAuthenticationToken(newJwt());
+
+    assertEquals("test-user", authenticationToken.getName());
+    assertEquals(
+        Set.of(
+            "USER_DIRECTORY_ID_ " + USER_DIRECTORY_ID,
+            "FUNCTION_Party.PartyAdministration",
+            "ROLE_TenantAdministrator"),
+        getAuthorityNames(authenticationToken.getAuthorities()));
+
+    AccessModel accessModel = authenticationToken.getAccessModel();
+
+    assertTrue(accessModel.hasRole("TenantAdministrator"));
+    assertTrue(accessModel.hasAccessToFunction("party.partyadministration"));
+    assertFalse(accessModel.isAdministrator());
+    assertTrue(accessModel.getTenantIds().isEmpty());
+  }
+
+  private static Set<String> getAuthorityNames(
+      Collection<? extends GrantedAuthority> authorities) {
+    return authorities.stream().map(GrantedAuthority::getAuthority).collect(Collectors.toSet());
+  }
+
+  private static Jwt newJwt() {
+    // The tenants claim issued by the authorization server is not mapped to authorities
+    return Jwt.withTokenValue("token")
+        .header("alg", "none")
+        .subject("test-user")
+        .claim(JwtGrantedAuthoritiesConverter.USER_DIRECTORY_ID_CLAIM, USER_DIRECTORY_ID.toString())
+        .claim(JwtGrantedAuthoritiesConverter.FUNCTIONS_CLAIM, List.of("Party.PartyAdministration"))
+        .claim("roles", List.of("TenantAdministrator"))
+        .claim("tenants", List.of(UUID.randomUUID().toString()))
+        .build();
+  }
+}
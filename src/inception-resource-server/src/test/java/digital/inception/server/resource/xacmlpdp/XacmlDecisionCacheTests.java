@@ -0,0 +1,255 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package digital.inception.server.resource.xacmlpdp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.time.Duration;
+import java.util.GregorianCalendar;
+import java.util.Map;
+import javax.xml.datatype.DatatypeFactory;
+import javax.xml.datatype.XMLGregorianCalendar;
+import oasis.names.tc.xacml._3_0.core.schema.wd_17.DecisionType;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.ow2.authzforce.core.pdp.api.AttributeFqn;
+import org.ow2.authzforce.core.pdp.api.DecisionRequest;
+import org.ow2.authzforce.core.pdp.api.DecisionRequestBuilder;
+import org.ow2.authzforce.core.pdp.api.DecisionResult;
+import org.ow2.authzforce.core.pdp.api.value.AttributeBag;
+import org.ow2.authzforce.xacml.identifiers.XacmlAttributeCategory;
+import org.ow2.authzforce.xacml.identifiers.XacmlAttributeId;
+import org.springframework.boot.test.context.ConfigDataApplicationContextInitializer;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestExecutionListeners;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.context.support.DependencyInjectionTestExecutionListener;
+import org.springframework.test.context.support.DirtiesContextTestExecutionListener;
+import org.springframework.test.context.transaction.TransactionalTestExecutionListener;
+
+/**
+ * The {@code XacmlDecisionCacheTests} class contains the JUnit tests for the {@code
+ * XacmlDecisionCache} class.
+ *
+ * @author Marcus Portmann
+ */
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(
+    classes = {},
+    initializers = {ConfigDataApplicationContextInitializer.class})
+@TestExecutionListeners(
+    listeners = {
+      DependencyInjectionTestExecutionListener.class,
+      DirtiesContextTestExecutionListener.class,
+      TransactionalTestExecutionListener.class
+    })
+public class XacmlDecisionCacheTests {
+
+  /** The decision result that is cached by the tests. */
+  private static DecisionResult decisionResult;
+
+  /** The policy decision point used to construct and evaluate the decision requests. */
+  private static XacmlPolicyDecisionPoint xacmlPolicyDecisionPoint;
+
+  @BeforeAll
+  public static void init(ApplicationContext applicationContext) {
+    xacmlPolicyDecisionPoint =
+        new XacmlPolicyDecisionPoint(
+            applicationContext, true, false, "http://localhost:8080/api/security/policies", 43200);
+
+    decisionResult = xacmlPolicyDecisionPoint.evaluate(newDecisionRequest("alice", null));
+
+    assertNotEquals(
+        DecisionType.INDETERMINATE,
+        decisionResult.getDecision(),
+        "Indeterminate decisions are not cached");
+  }
+
+  /** Test that cached decisions are returned for equivalent decision requests. */
+  @Test
+  public void cacheHitTest() throws Exception {
+    XacmlDecisionCache decisionCache = new XacmlDecisionCache(Duration.ofMinutes(1), 100);
+
+    Map<AttributeFqn, AttributeBag<?>> key =
+        decisionCache.newKey(newDecisionRequest("alice", newCurrentDateTime(0)));
+
+    assertNull(decisionCache.get(key), "A decision was cached before it was added");
+
+    decisionCache.put(key, decisionResult, decisionCache.getGeneration());
+
+    assertSame(decisionResult, decisionCache.get(key), "The cached decision was not retrieved");
+
+    // The current date and time is excluded from the key so later requests hit the cache
+    Map<AttributeFqn, AttributeBag<?>> laterKey =
+        decisionCache.newKey(newDecisionRequest("alice", newCurrentDateTime(60000)));
+
+    assertSame(
+        decisionResult,
+        decisionCache.get(laterKey),
+        "The cached decision was not retrieved for a request with a later current date and time");
+    assertEquals(1, decisionCache.size(), "The correct number of decisions was not cached");
+  }
+
+  /** Test that invalidating the cache discards cached and in-flight decisions. */
+  @Test
+  public void invalidateTest() throws Exception {
+    XacmlDecisionCache decisionCache = new XacmlDecisionCache(Duration.ofMinutes(1), 100);
+
+    Map<AttributeFqn, AttributeBag<?>> key =
+        decisionCache.newKey(newDecisionRequest("alice", null));
+
+    decisionCache.put(key, decisionResult, decisionCache.getGeneration());
+
+    long evaluatedGeneration = decisionCache.getGeneration();
+
+    decisionCache.invalidate();
+
+    assertNull(decisionCache.get(key), "The cached decision was not invalidated");
+
+    // A decision evaluated before the policies were reloaded must not be cached
+    decisionCache.put(key, decisionResult, evaluatedGeneration);
+
+    assertNull(decisionCache.get(key), "A decision from an earlier generation was cached");
+    assertEquals(0, decisionCache.size(), "The correct number of decisions was not cached");
+  }
+
+  /** Test that the least recently used decision is evicted once the maximum size is reached. */
+  @Test
+  public void maxSizeTest() throws Exception {
+    XacmlDecisionCache decisionCache = new XacmlDecisionCache(Duration.ofMinutes(1), 2);
+
+    for (String subjectId : new String[] {"alice", "bob"}) {
+      decisionCache.put(
+          decisionCache.newKey(newDecisionRequest(subjectId, null)),
+          decisionResult,
+          decisionCache.getGeneration());
+    }
+
+    // Retrieving the decision for alice makes the decision for bob the least recently used
+    assertSame(
+        decisionResult,
+        decisionCache.get(decisionCache.newKey(newDecisionRequest("alice", null))),
+        "The cached decision was not retrieved");
+
+    decisionCache.put(
+        decisionCache.newKey(newDecisionRequest("carol", null)),
+        decisionResult,
+        decisionCache.getGeneration());
+
+    assertEquals(2, decisionCache.size(), "The cache exceeded its maximum size");
+    assertNull(
+        decisionCache.get(decisionCache.newKey(newDecisionRequest("bob", null))),
+        "The least recently used decision was not evicted");
+    assertSame(
+        decisionResult,
+        decisionCache.get(decisionCache.newKey(newDecisionRequest("alice", null))),
+        "The recently used decision was evicted");
+    assertSame(
+        decisionResult,
+        decisionCache.get(decisionCache.newKey(newDecisionRequest("carol", null))),
+        "The most recently added decision was not retrieved");
+  }
+
+  /** Test that cached decisions are isolated per subject. */
+  @Test
+  public void perSubjectIsolationTest() throws Exception {
+    XacmlDecisionCache decisionCache = new XacmlDecisionCache(Duration.ofMinutes(1), 100);
+
+    decisionCache.put(
+        decisionCache.newKey(newDecisionRequest("alice", null)),
+        decisionResult,
+        decisionCache.getGeneration());
+
+    assertNull(
+        decisionCache.get(decisionCache.newKey(newDecisionRequest("bob", null))),
+        "The decision cached for one subject was retrieved for another subject");
+    assertSame(
+        decisionResult,
+        decisionCache.get(decisionCache.newKey(newDecisionRequest("alice", null))),
+        "The cached decision was not retrieved");
+  }
+
+  /** Test that cached decisions expire once their time-to-live has elapsed. */
+  @Test
+  public void timeToLiveTest() throws Exception {
+    XacmlDecisionCache decisionCache = new XacmlDecisionCache(Duration.ofMillis(100), 100);
+
+    Map<AttributeFqn, AttributeBag<?>> key =
+        decisionCache.newKey(newDecisionRequest("alice", null));
+
+    decisionCache.put(key, decisionResult, decisionCache.getGeneration());
+
+    assertSame(decisionResult, decisionCache.get(key), "The cached decision was not retrieved");
+
+    Thread.sleep(200);
+
+    assertNull(decisionCache.get(key), "The cached decision did not expire");
+    assertEquals(0, decisionCache.size(), "The expired decision was not removed");
+  }
+
+  private XMLGregorianCalendar newCurrentDateTime(long offsetInMillis) throws Exception {
+    GregorianCalendar calendar = new GregorianCalendar();
+    calendar.setTimeInMillis(System.currentTimeMillis() + offsetInMillis);
+
+    return DatatypeFactory.newInstance().newXMLGregorianCalendar(calendar);
+  }
+
+  private static DecisionRequest newDecisionRequest(
+      String subjectId, XMLGregorianCalendar currentDateTime) {
+    DecisionRequestBuilder<?> requestBuilder =
+        xacmlPolicyDecisionPoint.getPdpEngine().newRequestBuilder(-1, -1);
+
+    XacmlUtil.addAttributeToRequest(
+        requestBuilder,
+        XacmlAttributeCategory.XACML_1_0_ACCESS_SUBJECT.value(),
+        XacmlAttributeId.XACML_1_0_SUBJECT_ID.value(),
+        subjectId);
+
+    XacmlUtil.addAttributeToRequest(
+        requestBuilder,
+        XacmlAttributeCategory.XACML_1_0_ACCESS_SUBJECT.value(),
+        XacmlAttributeId.XACML_2_0_SUBJECT_ROLE.value(),
+        "Client");
+
+    XacmlUtil.addAttributeToRequest(
+        requestBuilder,
+        XacmlAttributeCategory.XACML_3_0_RESOURCE.value(),
+        XacmlAttributeId.XACML_1_0_RESOURCE_ID.value(),
+        "/api/clients/{clientId}");
+
+    XacmlUtil.addAttributeToRequest(
+        requestBuilder,
+        XacmlAttributeCategory.XACML_3_0_ACTION.value(),
+        XacmlAttributeId.XACML_1_0_ACTION_ID.value(),
+        "GET");
+
+    if (currentDateTime != null) {
+      XacmlUtil.addAttributeToRequest(
+          requestBuilder,
+          XacmlAttributeCategory.XACML_3_0_ENVIRONMENT.value(),
+          XacmlAttributeId.XACML_1_0_ENVIRONMENT_CURRENT_DATETIME.value(),
+          XacmlUtil.getAttributeValues(currentDateTime));
+    }
+
+    return requestBuilder.build(true);
+  }
+}
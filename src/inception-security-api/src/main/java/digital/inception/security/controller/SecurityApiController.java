@@ -57,6 +57,7 @@ import digital.inception.security.model.Policy;
 import digital.inception.security.model.PolicySortBy;
 import digital.inception.security.model.PolicySummaries;
 import digital.inception.security.model.RevokedToken;
+import digital.inception.security.model.RevokedTokenChanges;
 import digital.inception.security.model.Role;
 import digital.inception.security.model.Tenant;
 import digital.inception.security.model.TenantUserDirectory;
@@ -72,6 +73,7 @@ import digital.inception.security.model.UserDirectoryCapabilities;
 import digital.inception.security.model.UserDirectorySummaries;
 import digital.inception.security.model.UserDirectorySummary;
 import digital.inception.security.model.UserDirectoryType;
+import digital.inception.security.model.UserMembershipsRequest;
 import digital.inception.security.model.UserSortBy;
 import digital.inception.security.model.Users;
 import io.swagger.v3.oas.annotations.Operation;
@@ -82,6 +84,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -1487,6 +1490,79 @@ public interface SecurityApiController {
           UserNotFoundException,
           ServiceUnavailableException;
 
+  /**
+   * Retrieve the names of the groups the users are members of.
+   *
+   * <p>This operation allows a paged listing of users to retrieve the memberships for all the users
+   * on the page with a single request.
+   *
+   * @param userDirectoryId the ID for the user directory
+   * @param userMembershipsRequest the request identifying the users
+   * @return the names of the groups the users are members of keyed by username
+   * @throws InvalidArgumentException if an argument is invalid
+   * @throws UserDirectoryNotFoundException if the user directory could not be found
+   * @throws ServiceUnavailableException if the names of the groups the users are members of could
+   *     not be retrieved
+   */
+  @Operation(
+      summary = "Retrieve the names of the groups the users are members of",
+      description = "Retrieve the names of the groups the users are members of")
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "The names of the groups the users are members of were retrieved"),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid argument",
+            content =
+                @Content(
+                    mediaType = "application/problem+json",
+                    schema = @Schema(implementation = ProblemDetails.class))),
+        @ApiResponse(
+            responseCode = "403",
+            description = "Access denied",
+            content =
+                @Content(
+                    mediaType = "application/problem+json",
+                    schema = @Schema(implementation = ProblemDetails.class))),
+        @ApiResponse(
+            responseCode = "404",
+            description = "The user directory could not be found",
+            content =
+                @Content(
+                    mediaType = "application/problem+json",
+                    schema = @Schema(implementation = ProblemDetails.class))),
+        @ApiResponse(
+            responseCode = "500",
+            description =
+                "An error has occurred and the request could not be processed at this time",
+            content =
+                @Content(
+                    mediaType = "application/problem+json",
+                    schema = @Schema(implementation = ProblemDetails.class)))
+      })
+  @RequestMapping(
+      value = "/user-directories/{userDirectoryId}/user-group-names",
+      method = RequestMethod.POST,
+      produces = MediaType.APPLICATION_JSON_VALUE)
+  @ResponseStatus(HttpStatus.OK)
+  @PreAuthorize(
+      "isSecurityDisabled() or hasRole('Administrator') or hasAccessToFunction('Security.TenantAdministration') or hasAccessToFunction('Security.UserAdministration')")
+  Map<String, List<String>> getGroupNamesForUsers(
+      @Parameter(
+              name = "userDirectoryId",
+              description = "The ID for the user directory",
+              required = true)
+          @PathVariable
+          UUID userDirectoryId,
+      @io.swagger.v3.oas.annotations.parameters.RequestBody(
+              description = "The request identifying the users",
+              required = true)
+          @RequestBody
+          UserMembershipsRequest userMembershipsRequest)
+      throws InvalidArgumentException, UserDirectoryNotFoundException, ServiceUnavailableException;
+
   /**
    * Retrieve the groups.
    *
@@ -1857,6 +1933,54 @@ public interface SecurityApiController {
           Integer pageSize)
       throws InvalidArgumentException, ServiceUnavailableException;
 
+  /**
+   * Retrieve the changes to the unexpired revoked tokens since a revocation version.
+   *
+   * <p>The response includes an ETag, and a conditional request using the {@code If-None-Match}
+   * header returns a 304 (Not Modified) response if there are no changes to the revoked tokens.
+   *
+   * @param since the optional revocation version returned by a previous request, after which the
+   *     changes to the revoked tokens should be retrieved
+   * @return the changes to the unexpired revoked tokens
+   * @throws ServiceUnavailableException if the changes to the revoked tokens could not be retrieved
+   */
+  @Operation(
+      summary = "Retrieve the changes to the unexpired revoked tokens since a revocation version",
+      description =
+          "Retrieve the changes to the unexpired revoked tokens since a revocation version, or all "
+              + "the unexpired revoked tokens if no revocation version is specified")
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "The changes to the revoked tokens were retrieved"),
+        @ApiResponse(
+            responseCode = "304",
+            description = "The revoked tokens have not changed",
+            content = @Content),
+        @ApiResponse(
+            responseCode = "500",
+            description =
+                "An error has occurred and the request could not be processed at this time",
+            content =
+                @Content(
+                    mediaType = "application/problem+json",
+                    schema = @Schema(implementation = ProblemDetails.class)))
+      })
+  @RequestMapping(
+      value = "/revoked-tokens/changes",
+      method = RequestMethod.GET,
+      produces = MediaType.APPLICATION_JSON_VALUE)
+  ResponseEntity<RevokedTokenChanges> getRevokedTokenChanges(
+      @Parameter(
+              name = "since",
+              description =
+                  "The optional revocation version returned by a previous request, after which "
+                      + "the changes to the revoked tokens should be retrieved")
+          @RequestParam(value = "since", required = false)
+          Long since)
+      throws ServiceUnavailableException;
+
   /**
    * Retrieve all the revoked tokens.
    *
@@ -1958,6 +2082,80 @@ public interface SecurityApiController {
           GroupNotFoundException,
           ServiceUnavailableException;
 
+  /**
+   * Retrieve the codes for the roles that have been assigned to the users.
+   *
+   * <p>This operation allows a paged listing of users to retrieve the memberships for all the users
+   * on the page with a single request.
+   *
+   * @param userDirectoryId the ID for the user directory
+   * @param userMembershipsRequest the request identifying the users
+   * @return the codes for the roles that have been assigned to the users keyed by username
+   * @throws InvalidArgumentException if an argument is invalid
+   * @throws UserDirectoryNotFoundException if the user directory could not be found
+   * @throws ServiceUnavailableException if the codes for the roles that have been assigned to the
+   *     users could not be retrieved
+   */
+  @Operation(
+      summary = "Retrieve the codes for the roles that have been assigned to the users",
+      description = "Retrieve the codes for the roles that have been assigned to the users")
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description =
+                "The codes for the roles that have been assigned to the users were retrieved"),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid argument",
+            content =
+                @Content(
+                    mediaType = "application/problem+json",
+                    schema = @Schema(implementation = ProblemDetails.class))),
+        @ApiResponse(
+            responseCode = "403",
+            description = "Access denied",
+            content =
+                @Content(
+                    mediaType = "application/problem+json",
+                    schema = @Schema(implementation = ProblemDetails.class))),
+        @ApiResponse(
+            responseCode = "404",
+            description = "The user directory could not be found",
+            content =
+                @Content(
+                    mediaType = "application/problem+json",
+                    schema = @Schema(implementation = ProblemDetails.class))),
+        @ApiResponse(
+            responseCode = "500",
+            description =
+                "An error has occurred and the request could not be processed at this time",
+            content =
+                @Content(
+                    mediaType = "application/problem+json",
+                    schema = @Schema(implementation = ProblemDetails.class)))
+      })
+  @RequestMapping(
+      value = "/user-directories/{userDirectoryId}/user-role-codes",
+      method = RequestMethod.POST,
+      produces = MediaType.APPLICATION_JSON_VALUE)
+  @ResponseStatus(HttpStatus.OK)
+  @PreAuthorize(
+      "isSecurityDisabled() or hasRole('Administrator') or hasAccessToFunction('Security.TenantAdministration') or hasAccessToFunction('Security.UserAdministration')")
+  Map<String, List<String>> getRoleCodesForUsers(
+      @Parameter(
+              name = "userDirectoryId",
+              description = "The ID for the user directory",
+              required = true)
+          @PathVariable
+          UUID userDirectoryId,
+      @io.swagger.v3.oas.annotations.parameters.RequestBody(
+              description = "The request identifying the users",
+              required = true)
+          @RequestBody
+          UserMembershipsRequest userMembershipsRequest)
+      throws InvalidArgumentException, UserDirectoryNotFoundException, ServiceUnavailableException;
+
   /**
    * Retrieve all the roles.
    *
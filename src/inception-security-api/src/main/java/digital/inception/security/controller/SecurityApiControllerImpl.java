@@ -59,6 +59,7 @@ import digital.inception.security.model.Policy;
 import digital.inception.security.model.PolicySortBy;
 import digital.inception.security.model.PolicySummaries;
 import digital.inception.security.model.RevokedToken;
+import digital.inception.security.model.RevokedTokenChanges;
 import digital.inception.security.model.Role;
 import digital.inception.security.model.Tenant;
 import digital.inception.security.model.TenantUserDirectory;
@@ -74,12 +75,14 @@ import digital.inception.security.model.UserDirectoryCapabilities;
 import digital.inception.security.model.UserDirectorySummaries;
 import digital.inception.security.model.UserDirectorySummary;
 import digital.inception.security.model.UserDirectoryType;
+import digital.inception.security.model.UserMembershipsRequest;
 import digital.inception.security.model.UserSortBy;
 import digital.inception.security.model.Users;
 import digital.inception.security.service.SecurityService;
 import digital.inception.security.service.SecurityServiceImpl;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import org.slf4j.Logger;
@@ -545,6 +548,25 @@ public class SecurityApiControllerImpl extends SecureApiController
     return securityService.getGroupNamesForUser(userDirectoryId, username);
   }
 
+  @Override
+  public Map<String, List<String>> getGroupNamesForUsers(
+      UUID userDirectoryId, UserMembershipsRequest userMembershipsRequest)
+      throws InvalidArgumentException, UserDirectoryNotFoundException, ServiceUnavailableException {
+    if (!hasAccessToUserDirectory(userDirectoryId)) {
+      throw new AccessDeniedException(
+          "Access denied to the user directory (" + userDirectoryId + ")");
+    }
+
+    if (userMembershipsRequest == null) {
+      throw new InvalidArgumentException("userMembershipsRequest");
+    }
+
+    validateArgument("userMembershipsRequest", userMembershipsRequest);
+
+    return securityService.getGroupNamesForUsers(
+        userDirectoryId, userMembershipsRequest.getUsernames());
+  }
+
   @Override
   public Groups getGroups(
       UUID userDirectoryId,
@@ -635,6 +657,42 @@ public class SecurityApiControllerImpl extends SecureApiController
     return securityService.getPolicySummaries(filter, sortBy, sortDirection, pageIndex, pageSize);
   }
 
+  @Override
+  public ResponseEntity<RevokedTokenChanges> getRevokedTokenChanges(Long since)
+      throws ServiceUnavailableException {
+    RevokedTokenChanges revokedTokenChanges = securityService.getRevokedTokenChanges(since);
+
+    /*
+     * The ETag is derived from the revocation version and the IDs for the tokens in the response,
+     * independent of their order. Spring MVC compares it with the If-None-Match header for the
+     * request, so a conditional request that would return the same changes results in a 304 (Not
+     * Modified) response without a body.
+     */
+    int revokedTokensHash = 0;
+
+    for (RevokedToken revokedToken : revokedTokenChanges.getRevokedTokens()) {
+      revokedTokensHash += revokedToken.getId().hashCode();
+    }
+
+    int reinstatedTokenIdsHash = 0;
+
+    for (String reinstatedTokenId : revokedTokenChanges.getReinstatedTokenIds()) {
+      reinstatedTokenIdsHash += reinstatedTokenId.hashCode();
+    }
+
+    String eTag =
+        "\""
+            + Long.toHexString(revokedTokenChanges.getVersion())
+            + "-"
+            + (revokedTokenChanges.isComplete() ? "c" : "d")
+            + Integer.toHexString(revokedTokensHash)
+            + "-"
+            + Integer.toHexString(reinstatedTokenIdsHash)
+            + "\"";
+
+    return ResponseEntity.ok().eTag(eTag).body(revokedTokenChanges);
+  }
+
   @Override
   public List<RevokedToken> getRevokedTokens() throws ServiceUnavailableException {
     return securityService.getRevokedTokens();
@@ -654,6 +712,25 @@ public class SecurityApiControllerImpl extends SecureApiController
     return securityService.getRoleCodesForGroup(userDirectoryId, groupName);
   }
 
+  @Override
+  public Map<String, List<String>> getRoleCodesForUsers(
+      UUID userDirectoryId, UserMembershipsRequest userMembershipsRequest)
+      throws InvalidArgumentException, UserDirectoryNotFoundException, ServiceUnavailableException {
+    if (!hasAccessToUserDirectory(userDirectoryId)) {
+      throw new AccessDeniedException(
+          "Access denied to the user directory (" + userDirectoryId + ")");
+    }
+
+    if (userMembershipsRequest == null) {
+      throw new InvalidArgumentException("userMembershipsRequest");
+    }
+
+    validateArgument("userMembershipsRequest", userMembershipsRequest);
+
+    return securityService.getRoleCodesForUsers(
+        userDirectoryId, userMembershipsRequest.getUsernames());
+  }
+
   @Override
   public List<Role> getRoles() throws ServiceUnavailableException {
     return securityService.getRoles();
@@ -1194,9 +1271,7 @@ public class SecurityApiControllerImpl extends SecureApiController
 
         List<UUID> userDirectoryIdsForUser = new ArrayList<>();
 
-        List<UUID> tenantIds = getUUIDValuesForAuthoritiesWithPrefix(authentication, "TENANT_");
-
-        for (UUID tenantId : tenantIds) {
+        for (UUID tenantId : getAccessModel().getTenantIds()) {
           var userDirectoryIdsForTenant = securityService.getUserDirectoryIdsForTenant(tenantId);
 
           userDirectoryIdsForUser.addAll(userDirectoryIdsForTenant);
@@ -0,0 +1,56 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package digital.inception.security.model;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The {@code AuthorizationContext} record holds the information required to authorize a user,
+ * i.e. the user, the user directory the user is associated with, the codes for the roles and
+ * functions assigned to the user, and the IDs for the tenants the user is associated with as a
+ * result of their user directory being associated with these tenants.
+ *
+ * @param userDirectoryId the ID for the user directory the user is associated with
+ * @param user the user
+ * @param roleCodes the codes for the roles assigned to the user
+ * @param functionCodes the codes for the functions assigned to the user
+ * @param tenantIds the IDs for the tenants the user is associated with
+ * @author Marcus Portmann
+ */
+public record AuthorizationContext(
+    UUID userDirectoryId,
+    User user,
+    List<String> roleCodes,
+    List<String> functionCodes,
+    List<UUID> tenantIds) {
+
+  /**
+   * Constructs a new {@code AuthorizationContext}.
+   *
+   * @param userDirectoryId the ID for the user directory the user is associated with
+   * @param user the user
+   * @param roleCodes the codes for the roles assigned to the user
+   * @param functionCodes the codes for the functions assigned to the user
+   * @param tenantIds the IDs for the tenants the user is associated with
+   */
+  public AuthorizationContext {
+    roleCodes = List.copyOf(roleCodes);
+    functionCodes = List.copyOf(functionCodes);
+    tenantIds = List.copyOf(tenantIds);
+  }
+}
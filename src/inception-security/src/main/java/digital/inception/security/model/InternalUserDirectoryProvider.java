@@ -38,22 +38,25 @@ import digital.inception.security.exception.UserNotFoundException;
 import digital.inception.security.persistence.jpa.GroupRepository;
 import digital.inception.security.persistence.jpa.RoleRepository;
 import digital.inception.security.persistence.jpa.UserRepository;
+import digital.inception.security.service.PasswordHashingService;
 import jakarta.persistence.criteria.Predicate;
-import java.security.SecureRandom;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Example;
 import org.springframework.data.domain.ExampleMatcher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.util.StringUtils;
 
 /**
@@ -82,6 +85,15 @@ public class InternalUserDirectoryProvider extends UserDirectoryProviderBase {
   /** The default number of months to check password history against. */
   private static final int DEFAULT_PASSWORD_HISTORY_MONTHS = 12;
 
+  /* Logger */
+  private static final Logger log = LoggerFactory.getLogger(InternalUserDirectoryProvider.class);
+
+  /**
+   * The maximum number of usernames in a single bulk membership query, which keeps the IN list
+   * within the limits imposed by all the supported databases.
+   */
+  private static final int MAX_USERNAMES_PER_QUERY = 500;
+
   /** The user directory capabilities common to all internal user directory instances. */
   private static final UserDirectoryCapabilities INTERNAL_USER_DIRECTORY_CAPABILITIES =
       new UserDirectoryCapabilities(true, true, true, true, true, true, true, true);
@@ -98,15 +110,15 @@ public class InternalUserDirectoryProvider extends UserDirectoryProviderBase {
   /** The maximum number of password attempts. */
   private final int maxPasswordAttempts;
 
-  /** The password encoder. */
-  private final PasswordEncoder passwordEncoder;
-
   /** The password expiry period in months. */
   private final int passwordExpiryMonths;
 
   /** The password history period in months. */
   private final int passwordHistoryMonths;
 
+  /** The Password Hashing Service. */
+  private PasswordHashingService passwordHashingService;
+
   /**
    * Constructs a new {@code InternalUserDirectoryProvider}.
    *
@@ -126,8 +138,6 @@ public class InternalUserDirectoryProvider extends UserDirectoryProviderBase {
       throws ServiceUnavailableException {
     super(userDirectoryId, parameters, groupRepository, userRepository, roleRepository);
 
-    this.passwordEncoder = new BCryptPasswordEncoder(10, new SecureRandom());
-
     try {
       if (UserDirectoryParameter.contains(parameters, "MaxPasswordAttempts")) {
         maxPasswordAttempts =
@@ -279,7 +289,7 @@ public class InternalUserDirectoryProvider extends UserDirectoryProviderBase {
         throw new UserNotFoundException(username);
       }
 
-      String encodedNewPassword = passwordEncoder.encode(newPassword);
+      String encodedNewPassword = passwordHashingService.encode(newPassword);
 
       int passwordAttempts = 0;
 
@@ -346,7 +356,7 @@ public class InternalUserDirectoryProvider extends UserDirectoryProviderBase {
         throw new UserLockedException(username);
       }
 
-      if (!passwordEncoder.matches(password, user.getPassword())) {
+      if (!passwordHashingService.matches(password, user.getPassword())) {
         if ((user.getPasswordAttempts() != null) && (user.getPasswordAttempts() != -1)) {
           getUserRepository().incrementPasswordAttempts(user.getId());
         }
@@ -355,6 +365,10 @@ public class InternalUserDirectoryProvider extends UserDirectoryProviderBase {
             "Authentication failed for the user (" + username + ")");
       }
 
+      if (passwordHashingService.upgradeEncoding(user.getPassword())) {
+        upgradePasswordEncoding(user, password);
+      }
+
       if (user.hasPasswordExpired()) {
         throw new ExpiredPasswordException(username);
       }
@@ -399,9 +413,9 @@ public class InternalUserDirectoryProvider extends UserDirectoryProviderBase {
         throw new UserLockedException(username);
       }
 
-      String encodedNewPassword = passwordEncoder.encode(newPassword);
+      String encodedNewPassword = passwordHashingService.encode(newPassword);
 
-      if (!passwordEncoder.matches(password, user.getPassword())) {
+      if (!passwordHashingService.matches(password, user.getPassword())) {
         throw new AuthenticationFailedException(
             "Authentication failed while attempting to change the password for the user ("
                 + username
@@ -473,9 +487,9 @@ public class InternalUserDirectoryProvider extends UserDirectoryProviderBase {
       String encodedNewPassword;
 
       if (!isNullOrEmpty(user.getPassword())) {
-        encodedNewPassword = passwordEncoder.encode(user.getPassword());
+        encodedNewPassword = passwordHashingService.encode(user.getPassword());
       } else {
-        encodedNewPassword = passwordEncoder.encode(PasswordUtil.generateRandomPassword());
+        encodedNewPassword = passwordHashingService.encode(PasswordUtil.generateRandomPassword());
       }
 
       user.setPassword(encodedNewPassword);
@@ -613,6 +627,34 @@ public class InternalUserDirectoryProvider extends UserDirectoryProviderBase {
     }
   }
 
+  @Override
+  public AuthorizationContext getAuthorizationContext(String username)
+      throws UserNotFoundException, ServiceUnavailableException {
+    try {
+      Optional<User> userOptional =
+          getUserRepository()
+              .findByUserDirectoryIdAndUsernameIgnoreCase(getUserDirectoryId(), username);
+
+      if (userOptional.isEmpty()) {
+        throw new UserNotFoundException(username);
+      }
+
+      return buildAuthorizationContext(
+          userOptional.get(),
+          getUserRepository().findRoleAndFunctionCodesByUserId(userOptional.get().getId()));
+    } catch (UserNotFoundException e) {
+      throw e;
+    } catch (Throwable e) {
+      throw new ServiceUnavailableException(
+          "Failed to retrieve the authorization context for the user ("
+              + username
+              + ") for the user directory ("
+              + getUserDirectoryId()
+              + ")",
+          e);
+    }
+  }
+
   @Override
   public UserDirectoryCapabilities getCapabilities() {
     return INTERNAL_USER_DIRECTORY_CAPABILITIES;
@@ -709,6 +751,31 @@ public class InternalUserDirectoryProvider extends UserDirectoryProviderBase {
     }
   }
 
+  @Override
+  public Map<String, List<String>> getGroupNamesForUsers(List<String> usernames)
+      throws ServiceUnavailableException {
+    try {
+      List<Object[]> usernamesAndGroupNames = new ArrayList<>();
+
+      for (List<String> lowercaseUsernames : toLowercaseUsernameBatches(usernames)) {
+        usernamesAndGroupNames.addAll(
+            getUserRepository()
+                .findUsernamesAndGroupNamesByUserDirectoryIdAndUsernames(
+                    getUserDirectoryId(), lowercaseUsernames));
+      }
+
+      return groupByUsername(usernames, usernamesAndGroupNames);
+    } catch (Throwable e) {
+      throw new ServiceUnavailableException(
+          "Failed to retrieve the names of the groups "
+              + usernames.size()
+              + " users are members of for the user directory ("
+              + getUserDirectoryId()
+              + ")",
+          e);
+    }
+  }
+
   @Override
   public List<Group> getGroups() throws ServiceUnavailableException {
     try {
@@ -959,6 +1026,31 @@ public class InternalUserDirectoryProvider extends UserDirectoryProviderBase {
     }
   }
 
+  @Override
+  public Map<String, List<String>> getRoleCodesForUsers(List<String> usernames)
+      throws ServiceUnavailableException {
+    try {
+      List<Object[]> usernamesAndRoleCodes = new ArrayList<>();
+
+      for (List<String> lowercaseUsernames : toLowercaseUsernameBatches(usernames)) {
+        usernamesAndRoleCodes.addAll(
+            getUserRepository()
+                .findUsernamesAndRoleCodesByUserDirectoryIdAndUsernames(
+                    getUserDirectoryId(), lowercaseUsernames));
+      }
+
+      return groupByUsername(usernames, usernamesAndRoleCodes);
+    } catch (Throwable e) {
+      throw new ServiceUnavailableException(
+          "Failed to retrieve the role codes for "
+              + usernames.size()
+              + " users for the user directory ("
+              + getUserDirectoryId()
+              + ")",
+          e);
+    }
+  }
+
   @Override
   public List<GroupRole> getRolesForGroup(String groupName)
       throws GroupNotFoundException, ServiceUnavailableException {
@@ -1282,7 +1374,7 @@ public class InternalUserDirectoryProvider extends UserDirectoryProviderBase {
         throw new UserLockedException(username);
       }
 
-      String encodedNewPassword = passwordEncoder.encode(newPassword);
+      String encodedNewPassword = passwordHashingService.encode(newPassword);
 
       if (isPasswordInHistory(user.getId(), newPassword)) {
         throw new ExistingPasswordException(username);
@@ -1310,6 +1402,16 @@ public class InternalUserDirectoryProvider extends UserDirectoryProviderBase {
     }
   }
 
+  /**
+   * Set the Password Hashing Service used to encode and verify the passwords for users.
+   *
+   * @param passwordHashingService the Password Hashing Service
+   */
+  @Autowired
+  public void setPasswordHashingService(PasswordHashingService passwordHashingService) {
+    this.passwordHashingService = passwordHashingService;
+  }
+
   @Override
   public void updateGroup(Group group) throws GroupNotFoundException, ServiceUnavailableException {
     try {
@@ -1375,7 +1477,7 @@ public class InternalUserDirectoryProvider extends UserDirectoryProviderBase {
       }
 
       if (StringUtils.hasText(user.getPassword())) {
-        existingUser.setPassword(passwordEncoder.encode(user.getPassword()));
+        existingUser.setPassword(passwordHashingService.encode(user.getPassword()));
       }
 
       if (lockUser) {
@@ -1412,18 +1514,72 @@ public class InternalUserDirectoryProvider extends UserDirectoryProviderBase {
    * @param password the password
    * @return {@code true} if the password was previously used and cannot be reused for a period of
    *     time or {@code false} otherwise
+   * @throws ServiceUnavailableException if the password could not be checked against the password
+   *     history
    */
-  private boolean isPasswordInHistory(UUID userId, String password) {
+  private boolean isPasswordInHistory(UUID userId, String password)
+      throws ServiceUnavailableException {
     ZonedDateTime after = ZonedDateTime.now();
     after = after.minusMonths(passwordHistoryMonths);
 
     for (String historicalPassword :
         getUserRepository().findPasswordHistory(userId, after.toOffsetDateTime())) {
-      if (passwordEncoder.matches(password, historicalPassword)) {
+      if (passwordHashingService.matches(password, historicalPassword)) {
         return true;
       }
     }
 
     return false;
   }
+
+  /**
+   * Split the usernames into batches of distinct lowercase usernames that can be used with the bulk
+   * membership queries.
+   *
+   * @param usernames the usernames
+   * @return the batches of distinct lowercase usernames
+   */
+  private List<List<String>> toLowercaseUsernameBatches(List<String> usernames) {
+    List<String> lowercaseUsernames =
+        usernames.stream()
+            .map(username -> username.toLowerCase(Locale.ENGLISH))
+            .distinct()
+            .toList();
+
+    List<List<String>> batches = new ArrayList<>();
+
+    for (int i = 0; i < lowercaseUsernames.size(); i += MAX_USERNAMES_PER_QUERY) {
+      batches.add(
+          lowercaseUsernames.subList(
+              i, Math.min(i + MAX_USERNAMES_PER_QUERY, lowercaseUsernames.size())));
+    }
+
+    return batches;
+  }
+
+  /**
+   * Re-encode the password for the user using the current password hashing algorithm and
+   * parameters after the user has been successfully authenticated.
+   *
+   * <p>A failure to upgrade the encoding is logged and does not fail the authentication, since the
+   * existing encoded password remains valid and the upgrade is retried on the next login.
+   *
+   * @param user the user
+   * @param password the password for the user that was successfully verified
+   */
+  private void upgradePasswordEncoding(User user, String password) {
+    try {
+      String encodedPassword = passwordHashingService.encode(password);
+
+      getUserRepository().updatePassword(user.getId(), user.getPassword(), encodedPassword);
+    } catch (Throwable e) {
+      log.warn(
+          "Failed to upgrade the password encoding for the user ("
+              + user.getUsername()
+              + ") for the user directory ("
+              + getUserDirectoryId()
+              + ")",
+          e);
+    }
+  }
 }
@@ -0,0 +1,605 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package digital.inception.security.model;
+
+import io.micrometer.core.instrument.Timer;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Hashtable;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import javax.naming.CommunicationException;
+import javax.naming.Context;
+import javax.naming.NamingException;
+import javax.naming.ServiceUnavailableException;
+import javax.naming.ldap.InitialLdapContext;
+import javax.naming.ldap.LdapContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@code LDAPConnectionPool} class implements a bounded pool of LDAP connections for a user
+ * directory.
+ *
+ * <p>Connections are handed out as {@code LdapContext} proxies that return the underlying
+ * connection to the pool when they are closed, so callers release pooled connections using the
+ * standard {@code JNDIUtil.close()} pattern. Connections are retired once they exceed the maximum
+ * lifetime or have been idle for longer than the maximum idle time, and idle connections are
+ * validated using a Root DSE lookup before being reused if they have not been validated within the
+ * validation interval.
+ *
+ * <p>Connections can either be retrieved bound as the principal the pool was created with, or be
+ * rebound as a different principal, e.g. to verify the credentials for a user, which reuses the
+ * existing TCP connection and TLS session and only performs the LDAP bind.
+ *
+ * @author Marcus Portmann
+ */
+public final class LDAPConnectionPool implements AutoCloseable {
+
+  /* Logger */
+  private static final Logger log = LoggerFactory.getLogger(LDAPConnectionPool.class);
+
+  /** The attributes to return when validating a connection, i.e. no attributes. */
+  private static final String[] NO_ATTRIBUTES = new String[] {"1.1"};
+
+  /** The number of times a connection was successfully acquired from the pool. */
+  private final LongAdder acquireCount = new LongAdder();
+
+  /** The maximum time to wait when acquiring a connection from the pool. */
+  private final Duration acquireTimeout;
+
+  /** The number of connections that are currently in use. */
+  private final AtomicInteger activeCount = new AtomicInteger();
+
+  /** The number of connections that have been created. */
+  private final LongAdder createdCount = new LongAdder();
+
+  /** The number of connections that have been destroyed. */
+  private final LongAdder destroyedCount = new LongAdder();
+
+  /** The JNDI environment used to create new connections. */
+  private final Hashtable<String, String> environment;
+
+  /** The idle connections, with the most recently used connection first. */
+  private final Deque<PooledConnection> idleConnections = new ArrayDeque<>();
+
+  /** The number of connections that were removed from the pool because they were invalid. */
+  private final LongAdder invalidCount = new LongAdder();
+
+  /** The maximum time a connection may remain idle in the pool before it is retired. */
+  private final Duration maxIdleTime;
+
+  /** The maximum time a connection may be used before it is retired. */
+  private final Duration maxLifetime;
+
+  /** The maximum number of connections in the pool. */
+  private final int maxSize;
+
+  /** The name of the pool. */
+  private final String name;
+
+  /** The permits limiting the number of concurrently active connections. */
+  private final Semaphore permits;
+
+  /** The number of times a thread timed out waiting to acquire a connection. */
+  private final LongAdder timeoutCount = new LongAdder();
+
+  /** The interval after which an idle connection must be validated before it is reused. */
+  private final Duration validationInterval;
+
+  /** The optional timer used to record the time threads waited to acquire a connection. */
+  private volatile Timer acquireTimer;
+
+  /** Has the pool been closed? */
+  private volatile boolean closed;
+
+  /**
+   * Constructs a new {@code LDAPConnectionPool}.
+   *
+   * @param name the name of the pool
+   * @param environment the JNDI environment used to create new connections, including the
+   *     principal and credentials the connections should be bound as
+   * @param maxSize the maximum number of connections in the pool
+   * @param maxLifetime the maximum time a connection may be used before it is retired
+   * @param maxIdleTime the maximum time a connection may remain idle in the pool before it is
+   *     retired
+   * @param acquireTimeout the maximum time to wait when acquiring a connection from the pool
+   * @param validationInterval the interval after which an idle connection must be validated before
+   *     it is reused
+   */
+  public LDAPConnectionPool(
+      String name,
+      Hashtable<String, String> environment,
+      int maxSize,
+      Duration maxLifetime,
+      Duration maxIdleTime,
+      Duration acquireTimeout,
+      Duration validationInterval) {
+    if (maxSize < 1) {
+      throw new IllegalArgumentException(
+          "The maximum size of the LDAP connection pool (" + name + ") must be greater than zero");
+    }
+
+    this.name = name;
+    this.environment = new Hashtable<>(environment);
+    this.maxSize = maxSize;
+    this.maxLifetime = maxLifetime;
+    this.maxIdleTime = maxIdleTime;
+    this.acquireTimeout = acquireTimeout;
+    this.validationInterval = validationInterval;
+    this.permits = new Semaphore(maxSize, true);
+  }
+
+  /** Close the pool and destroy all idle connections. */
+  @Override
+  public void close() {
+    closed = true;
+
+    List<PooledConnection> connectionsToDestroy;
+
+    synchronized (idleConnections) {
+      connectionsToDestroy = new ArrayList<>(idleConnections);
+      idleConnections.clear();
+    }
+
+    connectionsToDestroy.forEach(this::destroy);
+  }
+
+  /**
+   * Returns the number of times a connection was successfully acquired from the pool.
+   *
+   * @return the number of times a connection was successfully acquired from the pool
+   */
+  public long getAcquireCount() {
+    return acquireCount.sum();
+  }
+
+  /**
+   * Returns the number of connections that are currently in use.
+   *
+   * @return the number of connections that are currently in use
+   */
+  public int getActiveCount() {
+    return activeCount.get();
+  }
+
+  /**
+   * Returns the number of threads blocked waiting to acquire a connection.
+   *
+   * @return the number of threads blocked waiting to acquire a connection
+   */
+  public int getAwaitingCount() {
+    return permits.getQueueLength();
+  }
+
+  /**
+   * Retrieve a connection bound as the principal the pool was created with.
+   *
+   * <p>The connection is returned to the pool when it is closed.
+   *
+   * @return the connection
+   * @throws NamingException if a connection could not be retrieved
+   */
+  public LdapContext getConnection() throws NamingException {
+    PooledConnection pooledConnection = acquire(true);
+
+    return pooledConnection.proxy();
+  }
+
+  /**
+   * Retrieve a connection bound as the specified principal.
+   *
+   * <p>An idle connection is rebound as the principal, so that only the LDAP bind is performed, and
+   * a new connection is only established if no idle connection is available. The connection is
+   * returned to the pool when it is closed and will be rebound before it is reused.
+   *
+   * @param principal the principal to bind as
+   * @param credentials the credentials for the principal
+   * @return the connection
+   * @throws NamingException if a connection could not be retrieved or the bind failed, e.g. with a
+   *     {@code javax.naming.AuthenticationException} if the credentials are invalid
+   */
+  public LdapContext getConnection(String principal, String credentials) throws NamingException {
+    PooledConnection pooledConnection = acquire(false);
+
+    while (true) {
+      try {
+        pooledConnection.context().addToEnvironment(Context.SECURITY_PRINCIPAL, principal);
+        pooledConnection.context().addToEnvironment(Context.SECURITY_CREDENTIALS, credentials);
+        pooledConnection.context().reconnect(null);
+        pooledConnection.context().removeFromEnvironment(Context.SECURITY_CREDENTIALS);
+
+        return pooledConnection.proxy();
+      } catch (CommunicationException | ServiceUnavailableException e) {
+        /*
+         * The connection was closed by the server, e.g. because it was idle, so replace it with a
+         * new connection and retry the bind once.
+         */
+        invalidCount.increment();
+
+        if (pooledConnection.isNew()) {
+          release(pooledConnection, true);
+
+          throw e;
+        }
+
+        destroy(pooledConnection);
+
+        try {
+          pooledConnection = new PooledConnection(createContext());
+        } catch (Throwable f) {
+          activeCount.decrementAndGet();
+          permits.release();
+
+          throw f;
+        }
+      } catch (Throwable e) {
+        try {
+          pooledConnection.context().removeFromEnvironment(Context.SECURITY_CREDENTIALS);
+        } catch (Throwable ignored) {
+        }
+
+        // The connection remains usable after a failed bind and is rebound before it is reused
+        release(pooledConnection, false);
+
+        throw e;
+      }
+    }
+  }
+
+  /**
+   * Returns the number of connections that have been created.
+   *
+   * @return the number of connections that have been created
+   */
+  public long getCreatedCount() {
+    return createdCount.sum();
+  }
+
+  /**
+   * Returns the number of connections that have been destroyed.
+   *
+   * @return the number of connections that have been destroyed
+   */
+  public long getDestroyedCount() {
+    return destroyedCount.sum();
+  }
+
+  /**
+   * Returns the number of idle connections in the pool.
+   *
+   * @return the number of idle connections in the pool
+   */
+  public int getIdleCount() {
+    synchronized (idleConnections) {
+      return idleConnections.size();
+    }
+  }
+
+  /**
+   * Returns the number of connections that were removed from the pool because they were invalid.
+   *
+   * @return the number of connections that were removed from the pool because they were invalid
+   */
+  public long getInvalidCount() {
+    return invalidCount.sum();
+  }
+
+  /**
+   * Returns the maximum number of connections in the pool.
+   *
+   * @return the maximum number of connections in the pool
+   */
+  public int getMaxSize() {
+    return maxSize;
+  }
+
+  /**
+   * Returns the name of the pool.
+   *
+   * @return the name of the pool
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Returns the number of times a thread timed out waiting to acquire a connection.
+   *
+   * @return the number of times a thread timed out waiting to acquire a connection
+   */
+  public long getTimeoutCount() {
+    return timeoutCount.sum();
+  }
+
+  /**
+   * Set the timer used to record the time threads waited to acquire a connection.
+   *
+   * @param acquireTimer the timer used to record the time threads waited to acquire a connection
+   */
+  public void setAcquireTimer(Timer acquireTimer) {
+    this.acquireTimer = acquireTimer;
+  }
+
+  private PooledConnection acquire(boolean validate) throws NamingException {
+    if (closed) {
+      throw new NamingException("The LDAP connection pool (" + name + ") has been closed");
+    }
+
+    long waitStarted = System.nanoTime();
+
+    boolean acquired;
+
+    try {
+      acquired = permits.tryAcquire(acquireTimeout.toNanos(), TimeUnit.NANOSECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+
+      throw new NamingException(
+          "Interrupted while waiting to acquire a connection from the LDAP connection pool ("
+              + name
+              + ")");
+    }
+
+    Timer timer = acquireTimer;
+
+    if (timer != null) {
+      timer.record(System.nanoTime() - waitStarted, TimeUnit.NANOSECONDS);
+    }
+
+    if (!acquired) {
+      timeoutCount.increment();
+
+      throw new NamingException(
+          "Timed out after "
+              + acquireTimeout.toMillis()
+              + " ms waiting to acquire a connection from the LDAP connection pool ("
+              + name
+              + ")");
+    }
+
+    try {
+      PooledConnection pooledConnection;
+
+      while ((pooledConnection = pollIdleConnection()) != null) {
+        if (isReusable(pooledConnection, validate)) {
+          break;
+        }
+
+        destroy(pooledConnection);
+      }
+
+      if (pooledConnection == null) {
+        pooledConnection = new PooledConnection(createContext());
+      }
+
+      activeCount.incrementAndGet();
+      acquireCount.increment();
+
+      return pooledConnection;
+    } catch (Throwable e) {
+      permits.release();
+
+      throw e;
+    }
+  }
+
+  private LdapContext createContext() throws NamingException {
+    LdapContext context = new InitialLdapContext(environment, null);
+
+    createdCount.increment();
+
+    return context;
+  }
+
+  private void destroy(PooledConnection pooledConnection) {
+    try {
+      pooledConnection.context().close();
+    } catch (Throwable e) {
+      log.debug("Failed to close the connection for the LDAP connection pool (" + name + ")", e);
+    }
+
+    destroyedCount.increment();
+  }
+
+  private void evictIdleConnections() {
+    List<PooledConnection> connectionsToDestroy = new ArrayList<>();
+
+    long now = System.nanoTime();
+
+    synchronized (idleConnections) {
+      // The least recently used connections are at the end of the deque
+      Iterator<PooledConnection> iterator = idleConnections.descendingIterator();
+
+      while (iterator.hasNext()) {
+        PooledConnection pooledConnection = iterator.next();
+
+        if (isExpired(pooledConnection, now)) {
+          iterator.remove();
+          connectionsToDestroy.add(pooledConnection);
+        } else {
+          break;
+        }
+      }
+    }
+
+    connectionsToDestroy.forEach(this::destroy);
+  }
+
+  private boolean isExpired(PooledConnection pooledConnection, long now) {
+    return ((now - pooledConnection.createdAt()) > maxLifetime.toNanos())
+        || ((now - pooledConnection.lastUsedAt) > maxIdleTime.toNanos());
+  }
+
+  private boolean isReusable(PooledConnection pooledConnection, boolean validate) {
+    long now = System.nanoTime();
+
+    if (isExpired(pooledConnection, now)) {
+      return false;
+    }
+
+    if (validate && ((now - pooledConnection.lastValidatedAt) > validationInterval.toNanos())) {
+      try {
+        pooledConnection.context().getAttributes("", NO_ATTRIBUTES);
+
+        pooledConnection.lastValidatedAt = now;
+      } catch (Throwable e) {
+        invalidCount.increment();
+
+        log.debug(
+            "Failed to validate the connection for the LDAP connection pool (" + name + ")", e);
+
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  private PooledConnection pollIdleConnection() {
+    synchronized (idleConnections) {
+      return idleConnections.pollFirst();
+    }
+  }
+
+  private void release(PooledConnection pooledConnection, boolean broken) {
+    try {
+      pooledConnection.lastUsedAt = System.nanoTime();
+
+      if (broken || closed || isExpired(pooledConnection, pooledConnection.lastUsedAt)) {
+        destroy(pooledConnection);
+      } else {
+        pooledConnection.isNew = false;
+
+        synchronized (idleConnections) {
+          idleConnections.addFirst(pooledConnection);
+        }
+      }
+    } finally {
+      activeCount.decrementAndGet();
+      permits.release();
+    }
+
+    evictIdleConnections();
+  }
+
+  /** The {@code PooledConnection} class holds a connection managed by the pool. */
+  private final class PooledConnection {
+
+    private final LdapContext context;
+
+    private final long createdAt;
+
+    private boolean isNew = true;
+
+    private volatile long lastUsedAt;
+
+    private volatile long lastValidatedAt;
+
+    PooledConnection(LdapContext context) {
+      this.context = context;
+      this.createdAt = System.nanoTime();
+      this.lastUsedAt = this.createdAt;
+      this.lastValidatedAt = this.createdAt;
+    }
+
+    LdapContext context() {
+      return context;
+    }
+
+    long createdAt() {
+      return createdAt;
+    }
+
+    boolean isNew() {
+      return isNew;
+    }
+
+    LdapContext proxy() {
+      return (LdapContext)
+          Proxy.newProxyInstance(
+              LdapContext.class.getClassLoader(),
+              new Class<?>[] {LdapContext.class},
+              new PooledConnectionInvocationHandler(this));
+    }
+  }
+
+  /**
+   * The {@code PooledConnectionInvocationHandler} class delegates calls to a pooled connection and
+   * returns the connection to the pool when the proxy is closed.
+   */
+  private final class PooledConnectionInvocationHandler implements InvocationHandler {
+
+    private final PooledConnection pooledConnection;
+
+    private boolean broken;
+
+    private boolean released;
+
+    PooledConnectionInvocationHandler(PooledConnection pooledConnection) {
+      this.pooledConnection = pooledConnection;
+    }
+
+    @Override
+    public synchronized Object invoke(Object proxy, Method method, Object[] args)
+        throws Throwable {
+      if (method.getName().equals("close") && (method.getParameterCount() == 0)) {
+        if (!released) {
+          released = true;
+
+          release(pooledConnection, broken);
+        }
+
+        return null;
+      }
+
+      if (method.getDeclaringClass() == Object.class) {
+        return switch (method.getName()) {
+          case "equals" -> proxy == args[0];
+          case "hashCode" -> System.identityHashCode(proxy);
+          default -> "PooledLdapContext[" + name + "]";
+        };
+      }
+
+      if (released) {
+        throw new NamingException(
+            "The connection has already been returned to the LDAP connection pool (" + name + ")");
+      }
+
+      try {
+        return method.invoke(pooledConnection.context(), args);
+      } catch (InvocationTargetException e) {
+        if ((e.getCause() instanceof CommunicationException)
+            || (e.getCause() instanceof ServiceUnavailableException)) {
+          broken = true;
+        }
+
+        throw e.getCause();
+      }
+    }
+  }
+}
@@ -36,12 +36,19 @@ import digital.inception.security.exception.UserNotFoundException;
 import digital.inception.security.persistence.jpa.GroupRepository;
 import digital.inception.security.persistence.jpa.RoleRepository;
 import digital.inception.security.persistence.jpa.UserRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.Hashtable;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.naming.Context;
 import javax.naming.NamingEnumeration;
 import javax.naming.NamingException;
@@ -50,7 +57,6 @@ import javax.naming.directory.Attributes;
 import javax.naming.directory.BasicAttribute;
 import javax.naming.directory.BasicAttributes;
 import javax.naming.directory.DirContext;
-import javax.naming.directory.InitialDirContext;
 import javax.naming.directory.ModificationItem;
 import javax.naming.directory.SearchControls;
 import javax.naming.directory.SearchResult;
@@ -70,7 +76,29 @@ import org.springframework.util.StringUtils;
  * @author Marcus Portmann
  */
 @SuppressWarnings({"unused", "Duplicates", "SpringJavaAutowiredMembersInspection"})
-public class LDAPUserDirectoryProvider extends UserDirectoryProviderBase {
+public class LDAPUserDirectoryProvider extends UserDirectoryProviderBase
+    implements AutoCloseable {
+
+  /**
+   * The default maximum time in seconds to wait when acquiring a connection from the connection
+   * pool.
+   */
+  private static final int DEFAULT_CONNECTION_POOL_ACQUIRE_TIMEOUT = 15;
+
+  /** The default maximum time in seconds a pooled connection may remain idle. */
+  private static final int DEFAULT_CONNECTION_POOL_MAX_IDLE_TIME = 300;
+
+  /** The default maximum time in seconds a pooled connection may be used before it is retired. */
+  private static final int DEFAULT_CONNECTION_POOL_MAX_LIFETIME = 1800;
+
+  /** The default maximum number of connections in each connection pool. */
+  private static final int DEFAULT_CONNECTION_POOL_MAX_SIZE = 10;
+
+  /**
+   * The default interval in seconds after which an idle pooled connection is validated before it
+   * is reused.
+   */
+  private static final int DEFAULT_CONNECTION_POOL_VALIDATION_INTERVAL = 30;
 
   /** The default maximum number of filtered groups. */
   private static final int DEFAULT_MAX_FILTERED_GROUPS = 100;
@@ -84,9 +112,15 @@ public class LDAPUserDirectoryProvider extends UserDirectoryProviderBase {
   /** The empty attribute list. */
   private static final String[] EMPTY_ATTRIBUTE_LIST = new String[0];
 
+  /** The sequence used to generate the IDs for the provider instances. */
+  private static final AtomicInteger INSTANCE_SEQUENCE = new AtomicInteger();
+
   /* Logger */
   private static final Logger log = LoggerFactory.getLogger(LDAPUserDirectoryProvider.class);
 
+  /** The connection pool used to verify the credentials for users. */
+  private final LDAPConnectionPool authenticationConnectionPool;
+
   private final LdapName baseDN;
 
   private final String bindDN;
@@ -96,6 +130,9 @@ public class LDAPUserDirectoryProvider extends UserDirectoryProviderBase {
   /** The user directory capabilities supported by this user directory instance. */
   private final UserDirectoryCapabilities capabilities;
 
+  /** The connection pool for the connections bound using the service account. */
+  private final LDAPConnectionPool connectionPool;
+
   private final String[] groupAttributesArray;
 
   private final LdapName groupBaseDN;
@@ -150,6 +187,15 @@ public class LDAPUserDirectoryProvider extends UserDirectoryProviderBase {
 
   private String groupDescriptionAttribute;
 
+  /** The ID for this provider instance, which is used to tag the connection pool meters. */
+  private final String instanceId = String.valueOf(INSTANCE_SEQUENCE.incrementAndGet());
+
+  /** The meters registered for the connection pools. */
+  private final List<Meter> meters = new ArrayList<>();
+
+  /** The meter registry the connection pool metrics are registered with. */
+  private MeterRegistry meterRegistry;
+
   /**
    * Constructs a new {@code LDAPUserDirectoryProvider}.
    *
@@ -415,6 +461,56 @@ public class LDAPUserDirectoryProvider extends UserDirectoryProviderBase {
               false,
               supportsUserAdministration,
               false);
+
+      int connectionPoolMaxSize = DEFAULT_CONNECTION_POOL_MAX_SIZE;
+      if (UserDirectoryParameter.contains(parameters, "ConnectionPoolMaxSize")) {
+        connectionPoolMaxSize =
+            UserDirectoryParameter.getIntegerValue(parameters, "ConnectionPoolMaxSize");
+      }
+
+      int connectionPoolMaxLifetime = DEFAULT_CONNECTION_POOL_MAX_LIFETIME;
+      if (UserDirectoryParameter.contains(parameters, "ConnectionPoolMaxLifetime")) {
+        connectionPoolMaxLifetime =
+            UserDirectoryParameter.getIntegerValue(parameters, "ConnectionPoolMaxLifetime");
+      }
+
+      int connectionPoolMaxIdleTime = DEFAULT_CONNECTION_POOL_MAX_IDLE_TIME;
+      if (UserDirectoryParameter.contains(parameters, "ConnectionPoolMaxIdleTime")) {
+        connectionPoolMaxIdleTime =
+            UserDirectoryParameter.getIntegerValue(parameters, "ConnectionPoolMaxIdleTime");
+      }
+
+      int connectionPoolAcquireTimeout = DEFAULT_CONNECTION_POOL_ACQUIRE_TIMEOUT;
+      if (UserDirectoryParameter.contains(parameters, "ConnectionPoolAcquireTimeout")) {
+        connectionPoolAcquireTimeout =
+            UserDirectoryParameter.getIntegerValue(parameters, "ConnectionPoolAcquireTimeout");
+      }
+
+      int connectionPoolValidationInterval = DEFAULT_CONNECTION_POOL_VALIDATION_INTERVAL;
+      if (UserDirectoryParameter.contains(parameters, "ConnectionPoolValidationInterval")) {
+        connectionPoolValidationInterval =
+            UserDirectoryParameter.getIntegerValue(parameters, "ConnectionPoolValidationInterval");
+      }
+
+      connectionPool =
+          new LDAPConnectionPool(
+              "ldap-" + userDirectoryId,
+              getEnvironment(bindDN, bindPassword),
+              connectionPoolMaxSize,
+              Duration.ofSeconds(connectionPoolMaxLifetime),
+              Duration.ofSeconds(connectionPoolMaxIdleTime),
+              Duration.ofSeconds(connectionPoolAcquireTimeout),
+              Duration.ofSeconds(connectionPoolValidationInterval));
+
+      authenticationConnectionPool =
+          new LDAPConnectionPool(
+              "ldap-authentication-" + userDirectoryId,
+              getEnvironment(bindDN, bindPassword),
+              connectionPoolMaxSize,
+              Duration.ofSeconds(connectionPoolMaxLifetime),
+              Duration.ofSeconds(connectionPoolMaxIdleTime),
+              Duration.ofSeconds(connectionPoolAcquireTimeout),
+              Duration.ofSeconds(connectionPoolValidationInterval));
     } catch (Throwable e) {
       throw new ServiceUnavailableException(
           "Failed to initialize the user directory (" + userDirectoryId + ")", e);
@@ -448,7 +544,7 @@ public class LDAPUserDirectoryProvider extends UserDirectoryProviderBase {
     DirContext dirContext = null;
 
     try {
-      dirContext = getDirContext(bindDN, bindPassword);
+      dirContext = getDirContext();
 
       LdapName groupDN = getGroupDN(dirContext, groupName);
 
@@ -512,7 +608,7 @@ public class LDAPUserDirectoryProvider extends UserDirectoryProviderBase {
     DirContext dirContext = null;
 
     try {
-      dirContext = getDirContext(bindDN, bindPassword);
+      dirContext = getDirContext();
 
       LdapName userDN = getUserDN(dirContext, username);
 
@@ -586,7 +682,7 @@ public class LDAPUserDirectoryProvider extends UserDirectoryProviderBase {
     DirContext dirContext = null;
 
     try {
-      dirContext = getDirContext(bindDN, bindPassword);
+      dirContext = getDirContext();
 
       LdapName userDN = getUserDN(dirContext, username);
 
@@ -627,7 +723,7 @@ public class LDAPUserDirectoryProvider extends UserDirectoryProviderBase {
     DirContext dirContext = null;
 
     try {
-      dirContext = getDirContext(bindDN, bindPassword);
+      dirContext = getDirContext();
 
       LdapName userDN = getUserDN(dirContext, username);
 
@@ -638,7 +734,7 @@ public class LDAPUserDirectoryProvider extends UserDirectoryProviderBase {
       DirContext userDirContext = null;
 
       try {
-        userDirContext = getDirContext(userDN.toString(), password);
+        userDirContext = getUserDirContext(userDN.toString(), password);
       } catch (Throwable e) {
         if (e.getCause() instanceof javax.naming.AuthenticationException) {
           throw new AuthenticationFailedException(
@@ -705,7 +801,7 @@ public class LDAPUserDirectoryProvider extends UserDirectoryProviderBase {
     DirContext dirContext = null;
 
     try {
-      dirContext = getDirContext(bindDN, bindPassword);
+      dirContext = getDirContext();
 
       LdapName userDN = getUserDN(dirContext, username);
 
@@ -719,7 +815,7 @@ public class LDAPUserDirectoryProvider extends UserDirectoryProviderBase {
       DirContext userDirContext = null;
 
       try {
-        userDirContext = getDirContext(userDN.toString(), password);
+        userDirContext = getUserDirContext(userDN.toString(), password);
       } catch (Throwable e) {
         if (e.getCause() instanceof javax.naming.AuthenticationException) {
           throw new AuthenticationFailedException(
@@ -778,6 +874,20 @@ public class LDAPUserDirectoryProvider extends UserDirectoryProviderBase {
     }
   }
 
+  /** Close the connection pools for the user directory. */
+  @Override
+  public void close() {
+    if (meterRegistry != null) {
+      synchronized (meters) {
+        meters.forEach(meterRegistry::remove);
+        meters.clear();
+      }
+    }
+
+    connectionPool.close();
+    authenticationConnectionPool.close();
+  }
+
   @Override
   public void createGroup(Group group) throws DuplicateGroupException, ServiceUnavailableException {
     if (!capabilities.getSupportsGroupAdministration()) {
@@ -789,7 +899,7 @@ public class LDAPUserDirectoryProvider extends UserDirectoryProviderBase {
     DirContext dirContext = null;
 
     try {
-      dirContext = getDirContext(bindDN, bindPassword);
+      dirContext = getDirContext();
 
       LdapName groupDN = getGroupDN(dirContext, group.getName());
 
@@ -859,7 +969,7 @@ public class LDAPUserDirectoryProvider extends UserDirectoryProviderBase {
     DirContext dirContext = null;
 
     try {
-      dirContext = getDirContext(bindDN, bindPassword);
+      dirContext = getDirContext();
 
       LdapName userDN = getUserDN(dirContext, user.getUsername());
 
@@ -933,7 +1043,7 @@ public class LDAPUserDirectoryProvider extends UserDirectoryProviderBase {
     DirContext dirContext = null;
 
     try {
-      dirContext = getDirContext(bindDN, bindPassword);
+      dirContext = getDirContext();
 
       LdapName groupDN = getGroupDN(dirContext, groupName);
 
@@ -993,7 +1103,7 @@ public class LDAPUserDirectoryProvider extends UserDirectoryProviderBase {
     NamingEnumeration<SearchResult> searchResults = null;
 
     try {
-      dirContext = getDirContext(bindDN, bindPassword);
+      dirContext = getDirContext();
 
       LdapName userDN = getUserDN(dirContext, username);
 
@@ -1071,7 +1181,7 @@ public class LDAPUserDirectoryProvider extends UserDirectoryProviderBase {
     NamingEnumeration<SearchResult> searchResults = null;
 
     try {
-      dirContext = getDirContext(bindDN, bindPassword);
+      dirContext = getDirContext();
 
       String searchFilter = "(objectClass=" + userObjectClass + ")";
 
@@ -1121,6 +1231,94 @@ public class LDAPUserDirectoryProvider extends UserDirectoryProviderBase {
     }
   }
 
+  @Override
+  public AuthorizationContext getAuthorizationContext(String username)
+      throws UserNotFoundException, ServiceUnavailableException {
+    DirContext dirContext = null;
+    NamingEnumeration<SearchResult> searchResults = null;
+
+    try {
+      dirContext = getDirContext();
+
+      // Retrieve the user and their DN using a single search
+      String searchFilter =
+          "(&(objectClass=%s)(%s=%s))".formatted(userObjectClass, userUsernameAttribute, username);
+
+      SearchControls searchControls = new SearchControls();
+      searchControls.setSearchScope(SearchControls.SUBTREE_SCOPE);
+      searchControls.setReturningObjFlag(false);
+      searchControls.setReturningAttributes(userAttributesArray);
+
+      searchResults = dirContext.search(userBaseDN, searchFilter, searchControls);
+
+      List<SearchResult> userSearchResults = new ArrayList<>();
+
+      while (searchResults.hasMore()) {
+        userSearchResults.add(searchResults.next());
+      }
+
+      JNDIUtil.close(searchResults);
+
+      if (userSearchResults.isEmpty()) {
+        throw new UserNotFoundException(username);
+      } else if (userSearchResults.size() > 1) {
+        throw new ServiceUnavailableException(
+            "Found multiple users (%d) with the username (%s)"
+                .formatted(userSearchResults.size(), username));
+      }
+
+      User user = buildUserFromSearchResult(userSearchResults.getFirst());
+
+      LdapName userDN =
+          new LdapName(userSearchResults.getFirst().getNameInNamespace().toLowerCase());
+
+      // Retrieve the names of the groups the user is a member of
+      searchFilter =
+          "(&(objectClass=%s)(%s=%s))".formatted(groupObjectClass, groupMemberAttribute, userDN);
+
+      searchControls = new SearchControls();
+      searchControls.setSearchScope(SearchControls.SUBTREE_SCOPE);
+      searchControls.setReturningObjFlag(false);
+      searchControls.setReturningAttributes(new String[] {groupNameAttribute});
+
+      searchResults = dirContext.search(groupBaseDN, searchFilter, searchControls);
+
+      List<String> groupNames = new ArrayList<>();
+
+      while (searchResults.hasMore()) {
+        SearchResult searchResult = searchResults.next();
+
+        if (searchResult.getAttributes().get(groupNameAttribute) != null) {
+          groupNames.add(
+              String.valueOf(searchResult.getAttributes().get(groupNameAttribute).get())
+                  .toLowerCase());
+        }
+      }
+
+      // Retrieve the role codes and function codes for the groups using a single query
+      return buildAuthorizationContext(
+          user,
+          groupNames.isEmpty()
+              ? List.of()
+              : getGroupRepository()
+                  .findRoleAndFunctionCodesByUserDirectoryIdAndGroupNames(
+                      getUserDirectoryId(), groupNames));
+    } catch (UserNotFoundException e) {
+      throw e;
+    } catch (Throwable e) {
+      throw new ServiceUnavailableException(
+          "Failed to retrieve the authorization context for the user ("
+              + username
+              + ") for the user directory ("
+              + getUserDirectoryId()
+              + ")",
+          e);
+    } finally {
+      JNDIUtil.close(searchResults);
+      JNDIUtil.close(dirContext);
+    }
+  }
+
   @Override
   public UserDirectoryCapabilities getCapabilities() {
     return capabilities;
@@ -1133,7 +1331,7 @@ public class LDAPUserDirectoryProvider extends UserDirectoryProviderBase {
     NamingEnumeration<SearchResult> searchResults = null;
 
     try {
-      dirContext = getDirContext(bindDN, bindPassword);
+      dirContext = getDirContext();
 
       LdapName userDN = getUserDN(dirContext, username);
 
@@ -1192,7 +1390,7 @@ public class LDAPUserDirectoryProvider extends UserDirectoryProviderBase {
     NamingEnumeration<SearchResult> searchResults = null;
 
     try {
-      dirContext = getDirContext(bindDN, bindPassword);
+      dirContext = getDirContext();
 
       String searchFilter =
           "(&(objectClass=%s)(%s=%s))".formatted(groupObjectClass, groupNameAttribute, groupName);
@@ -1231,7 +1429,7 @@ public class LDAPUserDirectoryProvider extends UserDirectoryProviderBase {
     NamingEnumeration<SearchResult> searchResults = null;
 
     try {
-      dirContext = getDirContext(bindDN, bindPassword);
+      dirContext = getDirContext();
 
       String searchFilter;
       if (StringUtils.hasText(groupNamePrefixFilter)) {
@@ -1280,7 +1478,7 @@ public class LDAPUserDirectoryProvider extends UserDirectoryProviderBase {
     NamingEnumeration<SearchResult> searchResults = null;
 
     try {
-      dirContext = getDirContext(bindDN, bindPassword);
+      dirContext = getDirContext();
 
       LdapName userDN = getUserDN(dirContext, username);
 
@@ -1332,7 +1530,7 @@ public class LDAPUserDirectoryProvider extends UserDirectoryProviderBase {
     NamingEnumeration<SearchResult> searchResults = null;
 
     try {
-      dirContext = getDirContext(bindDN, bindPassword);
+      dirContext = getDirContext();
 
       String searchFilter;
       if (StringUtils.hasText(groupNamePrefixFilter)) {
@@ -1384,7 +1582,7 @@ public class LDAPUserDirectoryProvider extends UserDirectoryProviderBase {
     NamingEnumeration<SearchResult> searchResults = null;
 
     try {
-      dirContext = getDirContext(bindDN, bindPassword);
+      dirContext = getDirContext();
 
       String searchFilter;
       if (StringUtils.hasText(filter) && StringUtils.hasText(groupNamePrefixFilter)) {
@@ -1466,7 +1664,7 @@ public class LDAPUserDirectoryProvider extends UserDirectoryProviderBase {
     NamingEnumeration<SearchResult> searchResults = null;
 
     try {
-      dirContext = getDirContext(bindDN, bindPassword);
+      dirContext = getDirContext();
 
       LdapName userDN = getUserDN(dirContext, username);
 
@@ -1514,7 +1712,7 @@ public class LDAPUserDirectoryProvider extends UserDirectoryProviderBase {
     NamingEnumeration<SearchResult> searchResults = null;
 
     try {
-      dirContext = getDirContext(bindDN, bindPassword);
+      dirContext = getDirContext();
 
       String searchFilter =
           "(&(objectClass=%s)(%s=%s))".formatted(groupObjectClass, groupNameAttribute, groupName);
@@ -1584,7 +1782,7 @@ public class LDAPUserDirectoryProvider extends UserDirectoryProviderBase {
     NamingEnumeration<SearchResult> searchResults = null;
 
     try {
-      dirContext = getDirContext(bindDN, bindPassword);
+      dirContext = getDirContext();
 
       if (StringUtils.hasText(filter)) {
         filter = filter.toLowerCase();
@@ -1690,7 +1888,7 @@ public class LDAPUserDirectoryProvider extends UserDirectoryProviderBase {
     DirContext dirContext = null;
 
     try {
-      dirContext = getDirContext(bindDN, bindPassword);
+      dirContext = getDirContext();
 
       LdapName groupDN = getGroupDN(dirContext, groupName);
 
@@ -1729,7 +1927,7 @@ public class LDAPUserDirectoryProvider extends UserDirectoryProviderBase {
     NamingEnumeration<SearchResult> searchResults = null;
 
     try {
-      dirContext = getDirContext(bindDN, bindPassword);
+      dirContext = getDirContext();
 
       LdapName userDN = getUserDN(dirContext, username);
 
@@ -1787,7 +1985,7 @@ public class LDAPUserDirectoryProvider extends UserDirectoryProviderBase {
     DirContext dirContext = null;
 
     try {
-      dirContext = getDirContext(bindDN, bindPassword);
+      dirContext = getDirContext();
 
       LdapName groupDN = getGroupDN(dirContext, groupName);
 
@@ -1828,7 +2026,7 @@ public class LDAPUserDirectoryProvider extends UserDirectoryProviderBase {
     DirContext dirContext = null;
 
     try {
-      dirContext = getDirContext(bindDN, bindPassword);
+      dirContext = getDirContext();
 
       User user = getUser(dirContext, username);
 
@@ -1859,7 +2057,7 @@ public class LDAPUserDirectoryProvider extends UserDirectoryProviderBase {
 
     try {
       // TODO: MAKE THIS IMPLEMENTATION MORE EFFICIENT AND DO NOT RETRIEVE THE WHOLE USER -- MARCUS
-      dirContext = getDirContext(bindDN, bindPassword);
+      dirContext = getDirContext();
 
       User user = getUser(dirContext, username);
 
@@ -1899,7 +2097,7 @@ public class LDAPUserDirectoryProvider extends UserDirectoryProviderBase {
     NamingEnumeration<SearchResult> searchResults = null;
 
     try {
-      dirContext = getDirContext(bindDN, bindPassword);
+      dirContext = getDirContext();
 
       String searchFilter = "(objectClass=%s)".formatted(userObjectClass);
 
@@ -1938,7 +2136,7 @@ public class LDAPUserDirectoryProvider extends UserDirectoryProviderBase {
     NamingEnumeration<SearchResult> searchResults = null;
 
     try {
-      dirContext = getDirContext(bindDN, bindPassword);
+      dirContext = getDirContext();
 
       String searchFilter;
 
@@ -2021,7 +2219,7 @@ public class LDAPUserDirectoryProvider extends UserDirectoryProviderBase {
     NamingEnumeration<SearchResult> searchResults = null;
 
     try {
-      dirContext = getDirContext(bindDN, bindPassword);
+      dirContext = getDirContext();
 
       String searchFilter =
           "(&(objectClass=%s)(%s=%s))".formatted(userObjectClass, userUsernameAttribute, username);
@@ -2054,7 +2252,7 @@ public class LDAPUserDirectoryProvider extends UserDirectoryProviderBase {
     DirContext dirContext = null;
 
     try {
-      dirContext = getDirContext(bindDN, bindPassword);
+      dirContext = getDirContext();
 
       LdapName userDN = getUserDN(dirContext, username);
 
@@ -2127,7 +2325,7 @@ public class LDAPUserDirectoryProvider extends UserDirectoryProviderBase {
     DirContext dirContext = null;
 
     try {
-      dirContext = getDirContext(bindDN, bindPassword);
+      dirContext = getDirContext();
 
       LdapName groupDN = getGroupDN(dirContext, groupName);
 
@@ -2169,7 +2367,7 @@ public class LDAPUserDirectoryProvider extends UserDirectoryProviderBase {
     DirContext dirContext = null;
 
     try {
-      dirContext = getDirContext(bindDN, bindPassword);
+      dirContext = getDirContext();
 
       LdapName userDN = getUserDN(dirContext, username);
 
@@ -2242,7 +2440,7 @@ public class LDAPUserDirectoryProvider extends UserDirectoryProviderBase {
     DirContext dirContext = null;
 
     try {
-      dirContext = getDirContext(bindDN, bindPassword);
+      dirContext = getDirContext();
 
       LdapName userDN = getUserDN(dirContext, username);
 
@@ -2281,6 +2479,86 @@ public class LDAPUserDirectoryProvider extends UserDirectoryProviderBase {
     }
   }
 
+  /**
+   * Set the meter registry the connection pool metrics should be registered with.
+   *
+   * @param meterRegistry the meter registry
+   */
+  @Autowired(required = false)
+  public void setMeterRegistry(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+
+    synchronized (meters) {
+      for (LDAPConnectionPool pool : List.of(connectionPool, authenticationConnectionPool)) {
+        /*
+         * Tag the meters with the ID for this provider instance, so that the meters for the
+         * provider that replaces this provider when the user directories are reloaded are not
+         * resolved to, and then removed with, the meters for this provider.
+         */
+        Tags tags = Tags.of("pool", pool.getName(), "instance", instanceId);
+
+        meters.add(
+            Gauge.builder("ldap.connections.active", pool, LDAPConnectionPool::getActiveCount)
+                .tags(tags)
+                .description("Number of LDAP connections in use")
+                .register(meterRegistry));
+
+        meters.add(
+            Gauge.builder("ldap.connections.idle", pool, LDAPConnectionPool::getIdleCount)
+                .tags(tags)
+                .description("Number of idle LDAP connections in the pool")
+                .register(meterRegistry));
+
+        meters.add(
+            Gauge.builder("ldap.connections.max", pool, LDAPConnectionPool::getMaxSize)
+                .tags(tags)
+                .description("Maximum number of LDAP connections in the pool")
+                .register(meterRegistry));
+
+        meters.add(
+            Gauge.builder("ldap.connections.awaiting", pool, LDAPConnectionPool::getAwaitingCount)
+                .tags(tags)
+                .description("Number of threads blocked, waiting to acquire an LDAP connection")
+                .register(meterRegistry));
+
+        meters.add(
+            Gauge.builder("ldap.connections.created", pool, LDAPConnectionPool::getCreatedCount)
+                .tags(tags)
+                .description("Number of LDAP connections created")
+                .register(meterRegistry));
+
+        meters.add(
+            Gauge.builder(
+                    "ldap.connections.destroyed", pool, LDAPConnectionPool::getDestroyedCount)
+                .tags(tags)
+                .description("Number of LDAP connections destroyed")
+                .register(meterRegistry));
+
+        meters.add(
+            Gauge.builder("ldap.connections.invalid", pool, LDAPConnectionPool::getInvalidCount)
+                .tags(tags)
+                .description("Number of LDAP connections removed from the pool for being invalid")
+                .register(meterRegistry));
+
+        meters.add(
+            Gauge.builder("ldap.connections.timeouts", pool, LDAPConnectionPool::getTimeoutCount)
+                .tags(tags)
+                .description("Number of times a thread timed out acquiring an LDAP connection")
+                .register(meterRegistry));
+
+        Timer acquireTimer =
+            Timer.builder("ldap.connections.acquire")
+                .tags(tags)
+                .description("Time threads waited to acquire an LDAP connection")
+                .register(meterRegistry);
+
+        pool.setAcquireTimer(acquireTimer);
+
+        meters.add(acquireTimer);
+      }
+    }
+  }
+
   @Override
   public void updateGroup(Group group) throws GroupNotFoundException, ServiceUnavailableException {
     if (!capabilities.getSupportsGroupAdministration()) {
@@ -2292,7 +2570,7 @@ public class LDAPUserDirectoryProvider extends UserDirectoryProviderBase {
     DirContext dirContext = null;
 
     try {
-      dirContext = getDirContext(bindDN, bindPassword);
+      dirContext = getDirContext();
 
       LdapName groupDN = getGroupDN(dirContext, group.getName());
 
@@ -2354,7 +2632,7 @@ public class LDAPUserDirectoryProvider extends UserDirectoryProviderBase {
     DirContext dirContext = null;
 
     try {
-      dirContext = getDirContext(bindDN, bindPassword);
+      dirContext = getDirContext();
 
       LdapName userDN = getUserDN(dirContext, user.getUsername());
 
@@ -2522,32 +2800,9 @@ public class LDAPUserDirectoryProvider extends UserDirectoryProviderBase {
     return user;
   }
 
-  private DirContext getDirContext(String userDN, String password)
-      throws ServiceUnavailableException {
+  private DirContext getDirContext() throws ServiceUnavailableException {
     try {
-      String url = useSSL ? "ldaps://" : "ldap://";
-      url += host;
-      url += ":";
-      url += port;
-
-      String connectionType = "simple";
-
-      Hashtable<String, String> environment = new Hashtable<>();
-
-      environment.put(Context.INITIAL_CONTEXT_FACTORY, "com.sun.jndi.ldap.LdapCtxFactory");
-      environment.put(Context.PROVIDER_URL, url);
-      environment.put(Context.SECURITY_AUTHENTICATION, connectionType);
-      environment.put(Context.SECURITY_PRINCIPAL, userDN);
-      environment.put(Context.SECURITY_CREDENTIALS, password);
-      environment.put(Context.REFERRAL, "follow");
-
-      // Set connection and read timeouts
-      environment.put(
-          "com.sun.jndi.ldap.connect.timeout", "15000"); // 15 seconds connection timeout
-      environment.put(
-          "com.sun.jndi.ldap.read.timeout", "60000"); // 60 seconds read timeout (search timeout)
-
-      return new InitialDirContext(environment);
+      return connectionPool.getConnection();
     } catch (Throwable e) {
       throw new ServiceUnavailableException(
           "Failed to retrieve the JNDI directory context for the user directory (%s)"
@@ -2556,6 +2811,31 @@ public class LDAPUserDirectoryProvider extends UserDirectoryProviderBase {
     }
   }
 
+  private Hashtable<String, String> getEnvironment(String userDN, String password) {
+    String url = useSSL ? "ldaps://" : "ldap://";
+    url += host;
+    url += ":";
+    url += port;
+
+    String connectionType = "simple";
+
+    Hashtable<String, String> environment = new Hashtable<>();
+
+    environment.put(Context.INITIAL_CONTEXT_FACTORY, "com.sun.jndi.ldap.LdapCtxFactory");
+    environment.put(Context.PROVIDER_URL, url);
+    environment.put(Context.SECURITY_AUTHENTICATION, connectionType);
+    environment.put(Context.SECURITY_PRINCIPAL, userDN);
+    environment.put(Context.SECURITY_CREDENTIALS, password);
+    environment.put(Context.REFERRAL, "follow");
+
+    // Set connection and read timeouts
+    environment.put("com.sun.jndi.ldap.connect.timeout", "15000"); // 15 seconds connection timeout
+    environment.put(
+        "com.sun.jndi.ldap.read.timeout", "60000"); // 60 seconds read timeout (search timeout)
+
+    return environment;
+  }
+
   private LdapName getGroupDN(DirContext dirContext, String groupName)
       throws ServiceUnavailableException {
     NamingEnumeration<SearchResult> searchResults = null;
@@ -2705,4 +2985,17 @@ public class LDAPUserDirectoryProvider extends UserDirectoryProviderBase {
       JNDIUtil.close(searchResults);
     }
   }
+
+  private DirContext getUserDirContext(String userDN, String password)
+      throws ServiceUnavailableException {
+    try {
+      return authenticationConnectionPool.getConnection(userDN, password);
+    } catch (Throwable e) {
+      throw new ServiceUnavailableException(
+          "Failed to retrieve the JNDI directory context for the user (%s) for the user "
+                  .formatted(userDN)
+              + "directory (%s)".formatted(getUserDirectoryId()),
+          e);
+    }
+  }
 }
@@ -0,0 +1,161 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package digital.inception.security.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlElement;
+import jakarta.xml.bind.annotation.XmlElementWrapper;
+import jakarta.xml.bind.annotation.XmlRootElement;
+import jakarta.xml.bind.annotation.XmlType;
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * The {@code RevokedTokenChanges} class holds the results of a request to retrieve the changes to
+ * the revoked tokens since a previously retrieved revocation version.
+ *
+ * <p>When {@code complete} is {@code true} the revoked tokens are the complete set of unexpired
+ * revoked tokens and replace any revoked tokens held by the caller. Otherwise, the revoked tokens
+ * are the tokens that were revoked, and the reinstated token IDs are the IDs for the tokens that
+ * were reinstated, since the requested revocation version. Changes may be repeated in subsequent
+ * results and must be applied idempotently.
+ *
+ * @author Marcus Portmann
+ */
+@Schema(
+    description =
+        "The results of a request to retrieve the changes to the revoked tokens since a "
+            + "previously retrieved revocation version")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonPropertyOrder({"version", "complete", "revokedTokens", "reinstatedTokenIds"})
+@XmlRootElement(name = "RevokedTokenChanges", namespace = "https://inception.digital/security")
+@XmlType(
+    name = "RevokedTokenChanges",
+    namespace = "https://inception.digital/security",
+    propOrder = {"version", "complete", "revokedTokens", "reinstatedTokenIds"})
+@XmlAccessorType(XmlAccessType.FIELD)
+@SuppressWarnings({"unused"})
+public class RevokedTokenChanges implements Serializable {
+
+  @Serial private static final long serialVersionUID = 1000000;
+
+  /** Are the revoked tokens the complete set of unexpired revoked tokens? */
+  @Schema(
+      description = "Are the revoked tokens the complete set of unexpired revoked tokens",
+      requiredMode = Schema.RequiredMode.REQUIRED)
+  @JsonProperty(required = true)
+  @XmlElement(name = "Complete", required = true)
+  private boolean complete;
+
+  /** The IDs for the tokens that were reinstated. */
+  @Schema(
+      description = "The IDs for the tokens that were reinstated",
+      requiredMode = Schema.RequiredMode.REQUIRED)
+  @JsonProperty(required = true)
+  @XmlElementWrapper(name = "ReinstatedTokenIds", required = true)
+  @XmlElement(name = "ReinstatedTokenId", required = true)
+  private List<String> reinstatedTokenIds;
+
+  /** The revoked tokens. */
+  @Schema(description = "The revoked tokens", requiredMode = Schema.RequiredMode.REQUIRED)
+  @JsonProperty(required = true)
+  @XmlElementWrapper(name = "RevokedTokens", required = true)
+  @XmlElement(name = "RevokedToken", required = true)
+  private List<RevokedToken> revokedTokens;
+
+  /**
+   * The revocation version, which should be specified when requesting the next changes to the
+   * revoked tokens.
+   */
+  @Schema(
+      description =
+          "The revocation version, which should be specified when requesting the next changes "
+              + "to the revoked tokens",
+      requiredMode = Schema.RequiredMode.REQUIRED)
+  @JsonProperty(required = true)
+  @XmlElement(name = "Version", required = true)
+  private long version;
+
+  /** Constructs a new {@code RevokedTokenChanges}. */
+  public RevokedTokenChanges() {}
+
+  /**
+   * Constructs a new {@code RevokedTokenChanges}.
+   *
+   * @param version the revocation version, which should be specified when requesting the next
+   *     changes to the revoked tokens
+   * @param complete are the revoked tokens the complete set of unexpired revoked tokens
+   * @param revokedTokens the revoked tokens
+   * @param reinstatedTokenIds the IDs for the tokens that were reinstated
+   */
+  @JsonCreator(mode = JsonCreator.Mode.DISABLED)
+  public RevokedTokenChanges(
+      long version,
+      boolean complete,
+      List<RevokedToken> revokedTokens,
+      List<String> reinstatedTokenIds) {
+    this.version = version;
+    this.complete = complete;
+    this.revokedTokens = revokedTokens;
+    this.reinstatedTokenIds = reinstatedTokenIds;
+  }
+
+  /**
+   * Returns the IDs for the tokens that were reinstated.
+   *
+   * @return the IDs for the tokens that were reinstated
+   */
+  public List<String> getReinstatedTokenIds() {
+    return reinstatedTokenIds;
+  }
+
+  /**
+   * Returns the revoked tokens.
+   *
+   * @return the revoked tokens
+   */
+  public List<RevokedToken> getRevokedTokens() {
+    return revokedTokens;
+  }
+
+  /**
+   * Returns the revocation version, which should be specified when requesting the next changes to
+   * the revoked tokens.
+   *
+   * @return the revocation version
+   */
+  public long getVersion() {
+    return version;
+  }
+
+  /**
+   * Returns whether the revoked tokens are the complete set of unexpired revoked tokens.
+   *
+   * @return {@code true} if the revoked tokens are the complete set of unexpired revoked tokens or
+   *     {@code false} if they are the changes since the requested revocation version
+   */
+  public boolean isComplete() {
+    return complete;
+  }
+}
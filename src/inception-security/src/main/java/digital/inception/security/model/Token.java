@@ -18,6 +18,7 @@ package digital.inception.security.model;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
@@ -40,6 +41,7 @@ import jakarta.xml.bind.annotation.XmlElement;
 import jakarta.xml.bind.annotation.XmlElementWrapper;
 import jakarta.xml.bind.annotation.XmlRootElement;
 import jakarta.xml.bind.annotation.XmlSchemaType;
+import jakarta.xml.bind.annotation.XmlTransient;
 import jakarta.xml.bind.annotation.XmlType;
 import jakarta.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
 import java.io.Serial;
@@ -160,6 +162,12 @@ public class Token implements Serializable {
   @Column(name = "name", length = 100, nullable = false)
   private String name;
 
+  /** The date and time the revocation status for the token last changed. */
+  @JsonIgnore
+  @XmlTransient
+  @Column(name = "revocation_changed")
+  private OffsetDateTime revocationChanged;
+
   /** The date the token was revoked. */
   @Schema(description = "The ISO 8601 format date value for the date the token was revoked")
   @JsonProperty
@@ -413,6 +421,15 @@ public class Token implements Serializable {
     return name;
   }
 
+  /**
+   * Returns the date and time the revocation status for the token last changed.
+   *
+   * @return the date and time the revocation status for the token last changed
+   */
+  public OffsetDateTime getRevocationChanged() {
+    return revocationChanged;
+  }
+
   /**
    * Returns the date the token was revoked.
    *
@@ -503,6 +520,15 @@ public class Token implements Serializable {
     this.name = name;
   }
 
+  /**
+   * Sets the date and time the revocation status for the token last changed.
+   *
+   * @param revocationChanged the date and time the revocation status for the token last changed
+   */
+  public void setRevocationChanged(OffsetDateTime revocationChanged) {
+    this.revocationChanged = revocationChanged;
+  }
+
   /**
    * Sets the date the token was revoked.
    *
@@ -166,8 +166,8 @@ public class User implements Serializable {
   @Schema(description = "The password or encoded password for the user")
   @JsonProperty
   @XmlElement(name = "Password")
-  @Size(max = 100)
-  @Column(name = "encoded_password", length = 100, nullable = false)
+  @Size(max = 255)
+  @Column(name = "encoded_password", length = 255, nullable = false)
   private String password;
 
   /**
@@ -19,7 +19,6 @@ package digital.inception.security.model;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
-import java.util.UUID;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 
@@ -42,16 +41,8 @@ public class UserDetails implements org.springframework.security.core.userdetail
    * @param user the user
    * @param roleCodes the codes for the roles that the user has been assigned
    * @param functionCodes the function codes for the user
-   * @param tenantIds the IDs for the tenants the user is associated with
-   * @param userDirectoryIds the list of IDs for the user user directories the user is associated
-   *     with as a result of being associated with one or more tenants
    */
-  UserDetails(
-      User user,
-      List<String> roleCodes,
-      List<String> functionCodes,
-      List<UUID> tenantIds,
-      List<UUID> userDirectoryIds) {
+  UserDetails(User user, List<String> roleCodes, List<String> functionCodes) {
     this.user = user;
 
     // Build the list of granted authorities
@@ -18,10 +18,6 @@ package digital.inception.security.model;
 
 import digital.inception.security.exception.UserNotFoundException;
 import digital.inception.security.service.SecurityService;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Optional;
-import java.util.UUID;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Component;
@@ -60,52 +56,17 @@ public class UserDetailsService
   @Override
   public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
     try {
-      Optional<UUID> userDirectoryIdOptional = securityService.getUserDirectoryIdForUser(username);
+      AuthorizationContext authorizationContext = securityService.getAuthorizationContext(username);
 
-      if (userDirectoryIdOptional.isEmpty()) {
-        throw new UsernameNotFoundException(
-            "Failed to retrieve the details for the user ("
-                + username
-                + "): The user is not associated with any of the configured user directories");
-      } else {
-        UUID userDirectoryId = userDirectoryIdOptional.get();
-
-        // Retrieve the details for the user
-        User user = securityService.getUser(userDirectoryId, username);
-
-        // Retrieve the function codes for the user
-        List<String> functionCodes =
-            securityService.getFunctionCodesForUser(userDirectoryId, username);
-
-        // Retrieve the list of IDs for the tenants the user is associated with
-        List<UUID> tenantIds = securityService.getTenantIdsForUserDirectory(userDirectoryId);
-
-        /*
-         * Retrieve the list of IDs for the user directories the user is associated with as a result
-         * of being associated with one or more tenants.
-         */
-        List<UUID> userDirectoryIdsForTenants = new ArrayList<>();
-
-        for (var tenantId : tenantIds) {
-          // Retrieve the list of user directories associated with the tenant
-          var userDirectoryIdsForTenant = securityService.getUserDirectoryIdsForTenant(tenantId);
-
-          userDirectoryIdsForTenants.addAll(userDirectoryIdsForTenant);
-        }
-
-        // Retrieve the list of roles for the user
-        List<String> roleCodes = securityService.getRoleCodesForUser(userDirectoryId, username);
-
-        return new digital.inception.security.model.UserDetails(
-            user, roleCodes, functionCodes, tenantIds, userDirectoryIdsForTenants);
-      }
+      return new digital.inception.security.model.UserDetails(
+          authorizationContext.user(),
+          authorizationContext.roleCodes(),
+          authorizationContext.functionCodes());
     } catch (UserNotFoundException e) {
       throw new UsernameNotFoundException(
           "Failed to retrieve the details for the user ("
               + username
               + "): The user could not be found");
-    } catch (UsernameNotFoundException e) {
-      throw e;
     } catch (Throwable e) {
       throw new RuntimeException(
           "Failed to retrieve the details for the user (" + username + ")", e);
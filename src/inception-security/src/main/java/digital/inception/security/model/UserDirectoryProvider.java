@@ -32,6 +32,7 @@ import digital.inception.security.exception.RoleNotFoundException;
 import digital.inception.security.exception.UserLockedException;
 import digital.inception.security.exception.UserNotFoundException;
 import java.util.List;
+import java.util.Map;
 
 /**
  * The {@code UserDirectoryProvider} interface defines the functionality provided by a user
@@ -187,6 +188,20 @@ public interface UserDirectoryProvider {
   List<User> findUsers(List<UserAttribute> userAttributes)
       throws InvalidAttributeException, ServiceUnavailableException;
 
+  /**
+   * Retrieve the authorization context for the user, i.e. the user, the codes for the roles and
+   * functions assigned to the user, and the IDs for the tenants the user directory is associated
+   * with, in a single pass against the user directory.
+   *
+   * @param username the username for the user
+   * @return the authorization context for the user
+   * @throws UserNotFoundException if the user could not be found
+   * @throws ServiceUnavailableException if the authorization context could not be retrieved for
+   *     the user
+   */
+  AuthorizationContext getAuthorizationContext(String username)
+      throws UserNotFoundException, ServiceUnavailableException;
+
   /**
    * Retrieve the capabilities the user directory supports.
    *
@@ -236,6 +251,18 @@ public interface UserDirectoryProvider {
   List<String> getGroupNamesForUser(String username)
       throws UserNotFoundException, ServiceUnavailableException;
 
+  /**
+   * Retrieve the names of the groups the users are members of.
+   *
+   * @param usernames the usernames for the users
+   * @return the names of the groups the users are members of keyed by username, with an empty list
+   *     for users that could not be found or are not members of any groups
+   * @throws ServiceUnavailableException if the names of the groups the users are members of could
+   *     not be retrieved
+   */
+  Map<String, List<String>> getGroupNamesForUsers(List<String> usernames)
+      throws ServiceUnavailableException;
+
   /**
    * Retrieve all the groups.
    *
@@ -324,6 +351,18 @@ public interface UserDirectoryProvider {
   List<String> getRoleCodesForUser(String username)
       throws UserNotFoundException, ServiceUnavailableException;
 
+  /**
+   * Retrieve the codes for the roles that have been assigned to the users.
+   *
+   * @param usernames the usernames for the users
+   * @return the codes for the roles that have been assigned to the users keyed by username, with an
+   *     empty list for users that could not be found or have not been assigned any roles
+   * @throws ServiceUnavailableException if the codes for the roles that have been assigned to the
+   *     users could not be retrieved
+   */
+  Map<String, List<String>> getRoleCodesForUsers(List<String> usernames)
+      throws ServiceUnavailableException;
+
   /**
    * Retrieve the roles that have been assigned to the group.
    *
@@ -16,10 +16,19 @@
 
 package digital.inception.security.model;
 
+import digital.inception.core.exception.ServiceUnavailableException;
+import digital.inception.security.exception.UserNotFoundException;
 import digital.inception.security.persistence.jpa.GroupRepository;
 import digital.inception.security.persistence.jpa.RoleRepository;
 import digital.inception.security.persistence.jpa.UserRepository;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -77,6 +86,34 @@ public abstract class UserDirectoryProviderBase implements UserDirectoryProvider
     return groupRepository;
   }
 
+  /**
+   * Retrieve the names of the groups the users are members of.
+   *
+   * <p>This default implementation retrieves the group names for each user in turn and should be
+   * overridden by user directory providers that can retrieve the group names for all the users
+   * with a single query.
+   *
+   * @param usernames the usernames for the users
+   * @return the names of the groups the users are members of keyed by username
+   * @throws ServiceUnavailableException if the names of the groups the users are members of could
+   *     not be retrieved
+   */
+  @Override
+  public Map<String, List<String>> getGroupNamesForUsers(List<String> usernames)
+      throws ServiceUnavailableException {
+    Map<String, List<String>> groupNamesForUsers = new LinkedHashMap<>();
+
+    for (String username : usernames) {
+      try {
+        groupNamesForUsers.put(username, getGroupNamesForUser(username));
+      } catch (UserNotFoundException e) {
+        groupNamesForUsers.put(username, List.of());
+      }
+    }
+
+    return groupNamesForUsers;
+  }
+
   /**
    * Returns the parameters for the user directory.
    *
@@ -86,6 +123,34 @@ public abstract class UserDirectoryProviderBase implements UserDirectoryProvider
     return parameters;
   }
 
+  /**
+   * Retrieve the codes for the roles that have been assigned to the users.
+   *
+   * <p>This default implementation retrieves the role codes for each user in turn and should be
+   * overridden by user directory providers that can retrieve the role codes for all the users with
+   * a single query.
+   *
+   * @param usernames the usernames for the users
+   * @return the codes for the roles that have been assigned to the users keyed by username
+   * @throws ServiceUnavailableException if the codes for the roles that have been assigned to the
+   *     users could not be retrieved
+   */
+  @Override
+  public Map<String, List<String>> getRoleCodesForUsers(List<String> usernames)
+      throws ServiceUnavailableException {
+    Map<String, List<String>> roleCodesForUsers = new LinkedHashMap<>();
+
+    for (String username : usernames) {
+      try {
+        roleCodesForUsers.put(username, getRoleCodesForUser(username));
+      } catch (UserNotFoundException e) {
+        roleCodesForUsers.put(username, List.of());
+      }
+    }
+
+    return roleCodesForUsers;
+  }
+
   /**
    * Returns the Role Repository.
    *
@@ -113,6 +178,71 @@ public abstract class UserDirectoryProviderBase implements UserDirectoryProvider
     return userRepository;
   }
 
+  /**
+   * Build the authorization context for the user.
+   *
+   * @param user the user
+   * @param roleAndFunctionCodes the role codes and function codes for the user, where each row
+   *     contains a role code and a function code, which is {@code null} if the role has no
+   *     functions
+   * @return the authorization context for the user
+   */
+  protected AuthorizationContext buildAuthorizationContext(
+      User user, List<Object[]> roleAndFunctionCodes) {
+    Set<String> roleCodes = new LinkedHashSet<>();
+    Set<String> functionCodes = new LinkedHashSet<>();
+
+    for (Object[] roleAndFunctionCode : roleAndFunctionCodes) {
+      roleCodes.add((String) roleAndFunctionCode[0]);
+
+      if (roleAndFunctionCode[1] != null) {
+        functionCodes.add((String) roleAndFunctionCode[1]);
+      }
+    }
+
+    return new AuthorizationContext(
+        userDirectoryId,
+        user,
+        new ArrayList<>(roleCodes),
+        new ArrayList<>(functionCodes),
+        userRepository.findTenantIdsByUserDirectoryId(userDirectoryId));
+  }
+
+  /**
+   * Group the values returned by a query for multiple users by the usernames that were requested.
+   *
+   * <p>Usernames are matched case-insensitively, and every requested username is included in the
+   * result, with an empty list if there are no values for the user.
+   *
+   * @param usernames the usernames that were requested
+   * @param usernamesAndValues the rows returned by the query, where each row contains a username
+   *     and a value
+   * @return the values keyed by the usernames that were requested
+   */
+  protected Map<String, List<String>> groupByUsername(
+      List<String> usernames, List<Object[]> usernamesAndValues) {
+    Map<String, List<String>> valuesForLowercaseUsernames = new HashMap<>();
+
+    for (Object[] usernameAndValue : usernamesAndValues) {
+      valuesForLowercaseUsernames
+          .computeIfAbsent(
+              ((String) usernameAndValue[0]).toLowerCase(Locale.ENGLISH),
+              key -> new ArrayList<>())
+          .add((String) usernameAndValue[1]);
+    }
+
+    Map<String, List<String>> valuesForUsernames = new LinkedHashMap<>();
+
+    for (String username : usernames) {
+      valuesForUsernames.put(
+          username,
+          valuesForLowercaseUsernames.getOrDefault(
+              username.toLowerCase(Locale.ENGLISH), List.of()));
+    }
+
+    return valuesForUsernames;
+  }
+
   /**
    * Checks whether the specified value is {@code null} or blank.
    *
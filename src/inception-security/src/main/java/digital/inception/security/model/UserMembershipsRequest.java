@@ -0,0 +1,101 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package digital.inception.security.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlElement;
+import jakarta.xml.bind.annotation.XmlElementWrapper;
+import jakarta.xml.bind.annotation.XmlRootElement;
+import jakarta.xml.bind.annotation.XmlType;
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The {@code UserMembershipsRequest} class holds the information for a request to retrieve the
+ * group memberships or role assignments for a number of users.
+ *
+ * @author Marcus Portmann
+ */
+@Schema(
+    description =
+        "A request to retrieve the group memberships or role assignments for a number of users")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonPropertyOrder({"usernames"})
+@XmlRootElement(name = "UserMembershipsRequest", namespace = "https://inception.digital/security")
+@XmlType(
+    name = "UserMembershipsRequest",
+    namespace = "https://inception.digital/security",
+    propOrder = {"usernames"})
+@XmlAccessorType(XmlAccessType.FIELD)
+public class UserMembershipsRequest implements Serializable {
+
+  /** The maximum number of users for a request. */
+  public static final int MAX_USERNAMES = 1000;
+
+  @Serial private static final long serialVersionUID = 1000000;
+
+  /** The usernames for the users. */
+  @Schema(description = "The usernames for the users", requiredMode = Schema.RequiredMode.REQUIRED)
+  @JsonProperty(required = true)
+  @XmlElementWrapper(name = "Usernames", required = true)
+  @XmlElement(name = "Username", required = true)
+  @NotNull
+  @Size(max = MAX_USERNAMES)
+  private List<@NotBlank @Size(max = 100) String> usernames = new ArrayList<>();
+
+  /** Constructs a new {@code UserMembershipsRequest}. */
+  public UserMembershipsRequest() {}
+
+  /**
+   * Constructs a new {@code UserMembershipsRequest}.
+   *
+   * @param usernames the usernames for the users
+   */
+  @JsonCreator(mode = JsonCreator.Mode.DISABLED)
+  public UserMembershipsRequest(List<String> usernames) {
+    this.usernames = usernames;
+  }
+
+  /**
+   * Returns the usernames for the users.
+   *
+   * @return the usernames for the users
+   */
+  public List<String> getUsernames() {
+    return usernames;
+  }
+
+  /**
+   * Set the usernames for the users.
+   *
+   * @param usernames the usernames for the users
+   */
+  public void setUsernames(List<String> usernames) {
+    this.usernames = usernames;
+  }
+}
@@ -181,6 +181,21 @@ public interface GroupRepository
   @Query("select r.code from Group g join g.roles as r where g.id = :groupId")
   List<String> findRoleCodesByGroupId(@Param("groupId") UUID groupId);
 
+  /**
+   * Find the codes for the roles, and the codes for the functions associated with these roles,
+   * associated with the groups for the user directory.
+   *
+   * @param userDirectoryId the ID for the user directory
+   * @param groupNames the lowercase group names
+   * @return the role codes and function codes, where each row contains a role code and a function
+   *     code, which is {@code null} if the role has no functions
+   */
+  @Query(
+      "select distinct r.code, f.code from Group g join g.roles as r left join r.functions as f "
+          + "where g.userDirectoryId = :userDirectoryId and lower(g.name) in :groupNames")
+  List<Object[]> findRoleAndFunctionCodesByUserDirectoryIdAndGroupNames(
+      @Param("userDirectoryId") UUID userDirectoryId, @Param("groupNames") List<String> groupNames);
+
   /**
    * Find the codes for the roles associated with the groups for the user directory.
    *
@@ -103,6 +103,16 @@ public interface TenantRepository
   @Query("select ud.id from UserDirectory ud join ud.tenants as o where o.id = :tenantId")
   List<UUID> findUserDirectoryIdsById(@Param("tenantId") UUID tenantId);
 
+  /**
+   * Find the IDs for the user directories for the tenants.
+   *
+   * @param tenantIds the IDs for the tenants
+   * @return the IDs for the user directories for the tenants
+   */
+  @Query(
+      "select distinct ud.id from UserDirectory ud join ud.tenants as o where o.id in :tenantIds")
+  List<UUID> findUserDirectoryIdsByIds(@Param("tenantIds") List<UUID> tenantIds);
+
   /**
    * Remove the user directory from the tenant
    *
@@ -19,6 +19,7 @@ package digital.inception.security.persistence.jpa;
 import digital.inception.security.model.RevokedToken;
 import digital.inception.security.model.Token;
 import java.time.LocalDate;
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -49,6 +50,16 @@ public interface TokenRepository extends JpaRepository<Token, String> {
    */
   List<Token> findAllByOrderByNameAsc();
 
+  /**
+   * Find the date and time the revocation status for a token was last changed.
+   *
+   * @return an {@link Optional} containing the date and time the revocation status for a token was
+   *     last changed or an empty {@link Optional} if the revocation status for no token has been
+   *     changed
+   */
+  @Query("select max(t.revocationChanged) from Token t")
+  Optional<OffsetDateTime> findLatestRevocationChange();
+
   /**
    * Find the name of the token.
    *
@@ -59,6 +70,18 @@ public interface TokenRepository extends JpaRepository<Token, String> {
   @Query("select t.name from Token t where t.id = :tokenId")
   Optional<String> findNameById(@Param("tokenId") String tokenId);
 
+  /**
+   * Find the IDs for the tokens that were reinstated after the specified date and time.
+   *
+   * @param changedAfter the date and time after which the tokens were reinstated
+   * @return the IDs for the tokens that were reinstated after the specified date and time
+   */
+  @Query(
+      "select t.id from Token t where t.revocationDate is null "
+          + "and t.revocationChanged > :changedAfter")
+  List<String> findReinstatedTokenIdsChangedAfter(
+      @Param("changedAfter") OffsetDateTime changedAfter);
+
   /**
    * Find the revoked tokens.
    *
@@ -70,26 +93,63 @@ public interface TokenRepository extends JpaRepository<Token, String> {
           + "where t.revocationDate is not null order by t.revocationDate desc")
   List<RevokedToken> findRevokedTokens();
 
+  /**
+   * Find the unexpired revoked tokens.
+   *
+   * @param today the current date used to exclude expired tokens
+   * @return the unexpired revoked tokens
+   */
+  @Query(
+      "select new digital.inception.security.model.RevokedToken(t.id, t.type, t.name, t.issued, "
+          + "t.validFromDate, t.expiryDate, t.revocationDate) from Token t "
+          + "where t.revocationDate is not null "
+          + "and (t.expiryDate is null or t.expiryDate >= :today)")
+  List<RevokedToken> findUnexpiredRevokedTokens(@Param("today") LocalDate today);
+
+  /**
+   * Find the unexpired tokens that were revoked after the specified date and time.
+   *
+   * @param changedAfter the date and time after which the tokens were revoked
+   * @param today the current date used to exclude expired tokens
+   * @return the unexpired tokens that were revoked after the specified date and time
+   */
+  @Query(
+      "select new digital.inception.security.model.RevokedToken(t.id, t.type, t.name, t.issued, "
+          + "t.validFromDate, t.expiryDate, t.revocationDate) from Token t "
+          + "where t.revocationDate is not null and t.revocationChanged > :changedAfter "
+          + "and (t.expiryDate is null or t.expiryDate >= :today)")
+  List<RevokedToken> findUnexpiredRevokedTokensChangedAfter(
+      @Param("changedAfter") OffsetDateTime changedAfter, @Param("today") LocalDate today);
+
   /**
    * Reinstate the token.
    *
    * @param tokenId the ID for the token
+   * @param changed the date and time the token was reinstated
    * @return the number of tokens reinstated
    */
   @Transactional
   @Modifying(clearAutomatically = true, flushAutomatically = true)
-  @Query("update Token t set t.revocationDate = null where t.id = :tokenId")
-  int reinstateToken(@Param("tokenId") String tokenId);
+  @Query(
+      "update Token t set t.revocationDate = null, t.revocationChanged = :changed "
+          + "where t.id = :tokenId")
+  int reinstateToken(@Param("tokenId") String tokenId, @Param("changed") OffsetDateTime changed);
 
   /**
    * Revoke the token.
    *
    * @param tokenId the ID for the token
    * @param revoked the revocation date
+   * @param changed the date and time the token was revoked
    * @return the number of tokens revoked
    */
   @Transactional
   @Modifying(clearAutomatically = true, flushAutomatically = true)
-  @Query("update Token t set t.revocationDate = :revoked where t.id = :tokenId")
-  int revokeToken(@Param("tokenId") String tokenId, @Param("revoked") LocalDate revoked);
+  @Query(
+      "update Token t set t.revocationDate = :revoked, t.revocationChanged = :changed "
+          + "where t.id = :tokenId")
+  int revokeToken(
+      @Param("tokenId") String tokenId,
+      @Param("revoked") LocalDate revoked,
+      @Param("changed") OffsetDateTime changed);
 }
@@ -114,6 +114,22 @@ public interface UserRepository
   @Query("select g.name from User u join u.groups as g where u.id = :userId")
   List<String> findGroupNamesByUserId(@Param("userId") UUID userId);
 
+  /**
+   * Find the usernames and group names for the users with the specified usernames.
+   *
+   * @param userDirectoryId the ID for the user directory
+   * @param lowercaseUsernames the lowercase usernames for the users
+   * @return the usernames and group names for the users, where each row contains a username and
+   *     the name of a group the user is a member of
+   */
+  @Query(
+      "select u.username, g.name from User u join u.groups as g "
+          + "where u.userDirectoryId = :userDirectoryId "
+          + "and lower(u.username) in :lowercaseUsernames")
+  List<Object[]> findUsernamesAndGroupNamesByUserDirectoryIdAndUsernames(
+      @Param("userDirectoryId") UUID userDirectoryId,
+      @Param("lowercaseUsernames") List<String> lowercaseUsernames);
+
   /**
    * Find the groups for the user.
    *
@@ -166,6 +182,18 @@ public interface UserRepository
   List<String> findPasswordHistory(
       @Param("userId") UUID userId, @Param("after") OffsetDateTime after);
 
+  /**
+   * Find the role codes, and the codes for the functions associated with these roles, for the user.
+   *
+   * @param userId the ID for the user
+   * @return the role codes and function codes for the user, where each row contains a role code
+   *     and a function code, which is {@code null} if the role has no functions
+   */
+  @Query(
+      "select r.code, f.code from User u join u.groups as g join g.roles as r "
+          + "left join r.functions as f where u.id = :userId")
+  List<Object[]> findRoleAndFunctionCodesByUserId(@Param("userId") UUID userId);
+
   /**
    * Find the role codes for the user.
    *
@@ -175,6 +203,31 @@ public interface UserRepository
   @Query("select r.code from User u join u.groups as g join g.roles as r where u.id = :userId")
   List<String> findRoleCodesByUserId(@Param("userId") UUID userId);
 
+  /**
+   * Find the usernames and role codes for the users with the specified usernames.
+   *
+   * @param userDirectoryId the ID for the user directory
+   * @param lowercaseUsernames the lowercase usernames for the users
+   * @return the usernames and role codes for the users, where each row contains a username and
+   *     the code for a role assigned to the user through the groups the user is a member of
+   */
+  @Query(
+      "select distinct u.username, r.code from User u join u.groups as g join g.roles as r "
+          + "where u.userDirectoryId = :userDirectoryId "
+          + "and lower(u.username) in :lowercaseUsernames")
+  List<Object[]> findUsernamesAndRoleCodesByUserDirectoryIdAndUsernames(
+      @Param("userDirectoryId") UUID userDirectoryId,
+      @Param("lowercaseUsernames") List<String> lowercaseUsernames);
+
+  /**
+   * Find the IDs for the tenants for the user directory.
+   *
+   * @param userDirectoryId the ID for the user directory
+   * @return the IDs for the tenants for the user directory
+   */
+  @Query("select t.id from Tenant t join t.userDirectories as ud where ud.id = :userDirectoryId")
+  List<UUID> findTenantIdsByUserDirectoryId(@Param("userDirectoryId") UUID userDirectoryId);
+
   /**
    * Find the ID for the user directory for the user with the specified username.
    *
@@ -254,4 +307,24 @@ public interface UserRepository
       @Param("usersPasswordHistoryId") UUID usersPasswordHistoryId,
       @Param("userId") UUID userId,
       @Param("encodedPassword") String encodedPassword);
+
+  /**
+   * Replace the encoded password for the user with an equivalent encoded password, e.g. one
+   * created using stronger password hashing parameters, if the encoded password has not been
+   * changed in the interim.
+   *
+   * @param userId the ID for the user
+   * @param existingPassword the existing encoded password
+   * @param password the new encoded password
+   * @return the number of users that were updated
+   */
+  @Transactional
+  @Modifying(clearAutomatically = true, flushAutomatically = true)
+  @Query(
+      "update User u set u.password = :password where u.id = :userId "
+          + "and u.password = :existingPassword")
+  int updatePassword(
+      @Param("userId") UUID userId,
+      @Param("existingPassword") String existingPassword,
+      @Param("password") String password);
 }
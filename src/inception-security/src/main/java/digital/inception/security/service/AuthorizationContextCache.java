@@ -0,0 +1,279 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package digital.inception.security.service;
+
+import digital.inception.core.time.ApplicationClock;
+import digital.inception.security.model.AuthorizationContext;
+import digital.inception.security.model.User;
+import digital.inception.security.model.UserStatus;
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+/**
+ * The {@code AuthorizationContextCache} class caches the authorization contexts for users, keyed by
+ * the lowercase username, in the {@code authorizationContexts} cache provided by the application's
+ * Spring {@link CacheManager}.
+ *
+ * <p>The cache holds an immutable, serializable snapshot of each authorization context rather than
+ * the {@code User} entity it was built from. The snapshot excludes the password hash and password
+ * history state, and every cache hit returns a new {@code User} instance, so callers cannot modify
+ * the cached state.
+ *
+ * <p>The size, eviction and distribution of the snapshots are governed by the configuration for
+ * the cache. Each snapshot records when it expires, so the configured time-to-live applies with any
+ * cache provider. Authorization contexts are not cached if no cache manager is available. An
+ * authorization context built while the user, their groups or their roles were being changed is
+ * removed again once cached, using a version number that every eviction increments.
+ *
+ * @author Marcus Portmann
+ */
+final class AuthorizationContextCache {
+
+  /** The name of the cache for the authorization contexts. */
+  static final String CACHE_NAME = "authorizationContexts";
+
+  /** The provider for the optional cache manager. */
+  private final ObjectProvider<CacheManager> cacheManagerProvider;
+
+  /** The time-to-live for cached authorization contexts. */
+  private final Duration ttl;
+
+  /** The version, which is incremented whenever authorization contexts are evicted. */
+  private final AtomicLong version = new AtomicLong();
+
+  /**
+   * Constructs a new {@code AuthorizationContextCache}.
+   *
+   * @param cacheManagerProvider the provider for the optional cache manager
+   * @param ttl the time-to-live for cached authorization contexts
+   */
+  AuthorizationContextCache(ObjectProvider<CacheManager> cacheManagerProvider, Duration ttl) {
+    this.cacheManagerProvider = cacheManagerProvider;
+    this.ttl = ttl;
+  }
+
+  /** Remove all cached authorization contexts. */
+  void clear() {
+    version.incrementAndGet();
+
+    Cache cache = getCache();
+
+    if (cache != null) {
+      cache.clear();
+    }
+  }
+
+  /**
+   * Remove the cached authorization context for the user.
+   *
+   * @param username the username for the user
+   */
+  void evict(String username) {
+    version.incrementAndGet();
+
+    Cache cache = getCache();
+
+    if (cache != null) {
+      cache.evict(toKey(username));
+    }
+  }
+
+  /**
+   * Retrieve the cached authorization context for the user.
+   *
+   * @param username the username for the user
+   * @return the cached authorization context for the user or {@code null} if there is no valid
+   *     cached authorization context for the user
+   */
+  AuthorizationContext get(String username) {
+    Cache cache = getCache();
+
+    if (cache == null) {
+      return null;
+    }
+
+    CachedAuthorizationContext cachedAuthorizationContext =
+        cache.get(toKey(username), CachedAuthorizationContext.class);
+
+    if ((cachedAuthorizationContext == null)
+        || (!ApplicationClock.instant().isBefore(cachedAuthorizationContext.expires()))) {
+      return null;
+    }
+
+    return cachedAuthorizationContext.toAuthorizationContext();
+  }
+
+  /**
+   * Returns the version, which must be retrieved before building the authorization context for a
+   * user and passed to {@link #put(String, AuthorizationContext, long)}.
+   *
+   * @return the version
+   */
+  long getVersion() {
+    return version.get();
+  }
+
+  /**
+   * Cache the authorization context for the user.
+   *
+   * @param username the username for the user
+   * @param authorizationContext the authorization context for the user
+   * @param expectedVersion the version retrieved before the authorization context was built
+   */
+  void put(String username, AuthorizationContext authorizationContext, long expectedVersion) {
+    Cache cache = getCache();
+
+    if (cache == null) {
+      return;
+    }
+
+    String key = toKey(username);
+
+    cache.put(
+        key,
+        CachedAuthorizationContext.of(authorizationContext, ApplicationClock.instant().plus(ttl)));
+
+    // Discard the authorization context if the user was changed while it was being built
+    if (version.get() != expectedVersion) {
+      cache.evict(key);
+    }
+  }
+
+  private Cache getCache() {
+    if (ttl.isNegative() || ttl.isZero()) {
+      return null;
+    }
+
+    CacheManager cacheManager = cacheManagerProvider.getIfAvailable();
+
+    return (cacheManager != null) ? cacheManager.getCache(CACHE_NAME) : null;
+  }
+
+  private String toKey(String username) {
+    return username.toLowerCase(Locale.ROOT);
+  }
+
+  /**
+   * An immutable snapshot of an authorization context.
+   *
+   * @param userDirectoryId the ID for the user directory the user is associated with
+   * @param user the snapshot of the user
+   * @param roleCodes the codes for the roles assigned to the user
+   * @param functionCodes the codes for the functions assigned to the user
+   * @param tenantIds the IDs for the tenants the user is associated with
+   * @param expires the date and time the authorization context expires
+   */
+  private record CachedAuthorizationContext(
+      UUID userDirectoryId,
+      CachedUser user,
+      List<String> roleCodes,
+      List<String> functionCodes,
+      List<UUID> tenantIds,
+      Instant expires)
+      implements Serializable {
+
+    @Serial private static final long serialVersionUID = 1000000;
+
+    static CachedAuthorizationContext of(
+        AuthorizationContext authorizationContext, Instant expires) {
+      // The lists are already immutable copies made by the AuthorizationContext constructor
+      return new CachedAuthorizationContext(
+          authorizationContext.userDirectoryId(),
+          CachedUser.of(authorizationContext.user()),
+          authorizationContext.roleCodes(),
+          authorizationContext.functionCodes(),
+          authorizationContext.tenantIds(),
+          expires);
+    }
+
+    AuthorizationContext toAuthorizationContext() {
+      return new AuthorizationContext(
+          userDirectoryId, user.toUser(), roleCodes, functionCodes, tenantIds);
+    }
+  }
+
+  /**
+   * An immutable snapshot of the identity, status and expiry information for a user, which
+   * excludes the password hash for the user.
+   *
+   * @param id the ID for the user
+   * @param userDirectoryId the ID for the user directory the user is associated with
+   * @param username the username for the user
+   * @param name the name of the user
+   * @param preferredName the preferred name for the user
+   * @param email the email address for the user
+   * @param phoneNumber the phone number for the user
+   * @param mobileNumber the mobile number for the user
+   * @param status the status for the user
+   * @param passwordExpiry the date and time the password for the user expires
+   */
+  private record CachedUser(
+      UUID id,
+      UUID userDirectoryId,
+      String username,
+      String name,
+      String preferredName,
+      String email,
+      String phoneNumber,
+      String mobileNumber,
+      UserStatus status,
+      OffsetDateTime passwordExpiry)
+      implements Serializable {
+
+    @Serial private static final long serialVersionUID = 1000000;
+
+    static CachedUser of(User user) {
+      return new CachedUser(
+          user.getId(),
+          user.getUserDirectoryId(),
+          user.getUsername(),
+          user.getName(),
+          user.getPreferredName(),
+          user.getEmail(),
+          user.getPhoneNumber(),
+          user.getMobileNumber(),
+          user.getStatus(),
+          user.getPasswordExpiry());
+    }
+
+    User toUser() {
+      User user = new User();
+      user.setId(id);
+      user.setUserDirectoryId(userDirectoryId);
+      user.setUsername(username);
+      user.setName(name);
+      user.setPreferredName(preferredName);
+      user.setEmail(email);
+      user.setPhoneNumber(phoneNumber);
+      user.setMobileNumber(mobileNumber);
+      user.setStatus(status);
+      user.setPasswordExpiry(passwordExpiry);
+
+      return user;
+    }
+  }
+}
@@ -0,0 +1,255 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package digital.inception.security.service;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Arrays;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * The {@code PasswordHashingCalibrator} class measures the password verification time on the host
+ * CPU and selects the password hashing parameters for each supported algorithm that come closest
+ * to a target verification time without exceeding it.
+ *
+ * <p>Run the calibrator on hardware representative of production and copy the reported properties
+ * into the application configuration, e.g.
+ *
+ * <pre>
+ * java -cp ... digital.inception.security.service.PasswordHashingCalibrator 250 19456 1
+ * </pre>
+ *
+ * <p>The arguments are the target verification time in milliseconds (default 250), the Argon2id
+ * memory cost in KiB (default 19456) and the Argon2id parallelism (default 1). The bcrypt
+ * strength, PBKDF2 iteration count and Argon2id iteration count are calibrated; the Argon2id memory
+ * cost is halved if a single iteration already exceeds the target.
+ *
+ * @author Marcus Portmann
+ */
+public final class PasswordHashingCalibrator {
+
+  /** The maximum bcrypt strength. */
+  private static final int MAX_BCRYPT_STRENGTH = 31;
+
+  /** The maximum number of Argon2id iterations considered. */
+  private static final int MAX_ARGON2_ITERATIONS = 64;
+
+  /** The minimum Argon2id memory cost in KiB. */
+  private static final int MIN_ARGON2_MEMORY = 8192;
+
+  /** The minimum bcrypt strength. */
+  private static final int MIN_BCRYPT_STRENGTH = 4;
+
+  /** The PBKDF2 iteration count used to estimate the cost of a single iteration. */
+  private static final int PBKDF2_PROBE_ITERATIONS = 50000;
+
+  /** The password used when measuring the verification time. */
+  private static final String SAMPLE_PASSWORD = "Calibration-Pa55word!";
+
+  /** The number of timed verifications used to compute the median verification time. */
+  private static final int SAMPLES = 5;
+
+  /** The number of untimed verifications used to warm up the JIT compiler. */
+  private static final int WARMUP_SAMPLES = 2;
+
+  private PasswordHashingCalibrator() {}
+
+  /**
+   * Calibrate the Argon2id iteration count, and if required the memory cost, for the target
+   * verification time.
+   *
+   * @param target the target verification time
+   * @param memory the initial Argon2id memory cost in KiB
+   * @param parallelism the Argon2id parallelism
+   * @return the calibrated Argon2id parameters
+   */
+  public static Argon2Parameters calibrateArgon2(Duration target, int memory, int parallelism) {
+    while (true) {
+      Argon2Parameters best = null;
+
+      for (int iterations = 1; iterations <= MAX_ARGON2_ITERATIONS; iterations++) {
+        Duration verificationTime =
+            measure(new Argon2PasswordEncoder(16, 32, parallelism, memory, iterations));
+
+        if (verificationTime.compareTo(target) > 0) {
+          break;
+        }
+
+        best = new Argon2Parameters(memory, iterations, parallelism, verificationTime);
+      }
+
+      if (best != null) {
+        return best;
+      }
+
+      // A single iteration exceeds the target, so reduce the memory cost if possible
+      if ((memory / 2) < MIN_ARGON2_MEMORY) {
+        return new Argon2Parameters(
+            memory,
+            1,
+            parallelism,
+            measure(new Argon2PasswordEncoder(16, 32, parallelism, memory, 1)));
+      }
+
+      memory /= 2;
+    }
+  }
+
+  /**
+   * Calibrate the bcrypt strength for the target verification time.
+   *
+   * @param target the target verification time
+   * @return the calibrated bcrypt parameters
+   */
+  public static Calibration calibrateBcrypt(Duration target) {
+    Calibration best = null;
+
+    for (int strength = MIN_BCRYPT_STRENGTH; strength <= MAX_BCRYPT_STRENGTH; strength++) {
+      Duration verificationTime =
+          measure(new BCryptPasswordEncoder(strength, new SecureRandom()));
+
+      if ((best != null) && (verificationTime.compareTo(target) > 0)) {
+        break;
+      }
+
+      best = new Calibration(strength, verificationTime);
+
+      if (verificationTime.compareTo(target) > 0) {
+        break;
+      }
+    }
+
+    return best;
+  }
+
+  /**
+   * Calibrate the PBKDF2-HMAC-SHA256 iteration count for the target verification time.
+   *
+   * <p>The cost of PBKDF2 is linear in the iteration count, so the iteration count is estimated
+   * from a probe measurement and then confirmed.
+   *
+   * @param target the target verification time
+   * @return the calibrated PBKDF2 parameters
+   */
+  public static Calibration calibratePbkdf2(Duration target) {
+    Duration probe = measure(new Pbkdf2PasswordEncoder(PBKDF2_PROBE_ITERATIONS));
+
+    long iterations =
+        Math.max(
+            1000L,
+            (PBKDF2_PROBE_ITERATIONS * target.toNanos()) / Math.max(1L, probe.toNanos()));
+
+    // Round down to the nearest thousand iterations
+    iterations = Math.min(Integer.MAX_VALUE, (iterations / 1000L) * 1000L);
+
+    return new Calibration(
+        (int) iterations, measure(new Pbkdf2PasswordEncoder((int) iterations)));
+  }
+
+  /**
+   * Calibrate the password hashing parameters on the host CPU and print the corresponding
+   * configuration properties.
+   *
+   * @param args the target verification time in milliseconds, the Argon2id memory cost in KiB and
+   *     the Argon2id parallelism
+   */
+  public static void main(String[] args) {
+    Duration target = Duration.ofMillis((args.length > 0) ? Long.parseLong(args[0]) : 250);
+    int memory = (args.length > 1) ? Integer.parseInt(args[1]) : 19456;
+    int parallelism = (args.length > 2) ? Integer.parseInt(args[2]) : 1;
+
+    System.out.println(
+        "Calibrating password hashing for a target verification time of "
+            + target.toMillis()
+            + " ms on "
+            + Runtime.getRuntime().availableProcessors()
+            + " processors");
+
+    Calibration bcrypt = calibrateBcrypt(target);
+
+    System.out.println();
+    System.out.println("# bcrypt (" + bcrypt.verificationTime().toMillis() + " ms)");
+    System.out.println("inception.security.password-hashing.bcrypt.strength=" + bcrypt.value());
+
+    Calibration pbkdf2 = calibratePbkdf2(target);
+
+    System.out.println();
+    System.out.println("# pbkdf2 (" + pbkdf2.verificationTime().toMillis() + " ms)");
+    System.out.println("inception.security.password-hashing.pbkdf2.iterations=" + pbkdf2.value());
+
+    Argon2Parameters argon2 = calibrateArgon2(target, memory, parallelism);
+
+    System.out.println();
+    System.out.println("# argon2 (" + argon2.verificationTime().toMillis() + " ms)");
+    System.out.println("inception.security.password-hashing.argon2.memory=" + argon2.memory());
+    System.out.println(
+        "inception.security.password-hashing.argon2.iterations=" + argon2.iterations());
+    System.out.println(
+        "inception.security.password-hashing.argon2.parallelism=" + argon2.parallelism());
+  }
+
+  /**
+   * Returns the median time taken by the password encoder to verify a password.
+   *
+   * @param passwordEncoder the password encoder
+   * @return the median verification time
+   */
+  private static Duration measure(PasswordEncoder passwordEncoder) {
+    String encodedPassword = passwordEncoder.encode(SAMPLE_PASSWORD);
+
+    for (int i = 0; i < WARMUP_SAMPLES; i++) {
+      passwordEncoder.matches(SAMPLE_PASSWORD, encodedPassword);
+    }
+
+    long[] samples = new long[SAMPLES];
+
+    for (int i = 0; i < SAMPLES; i++) {
+      long start = System.nanoTime();
+
+      if (!passwordEncoder.matches(SAMPLE_PASSWORD, encodedPassword)) {
+        throw new IllegalStateException("Failed to verify the calibration password");
+      }
+
+      samples[i] = System.nanoTime() - start;
+    }
+
+    Arrays.sort(samples);
+
+    return Duration.ofNanos(samples[SAMPLES / 2]);
+  }
+
+  /**
+   * The calibrated Argon2id parameters.
+   *
+   * @param memory the memory cost in KiB
+   * @param iterations the number of iterations
+   * @param parallelism the parallelism
+   * @param verificationTime the median verification time
+   */
+  public record Argon2Parameters(
+      int memory, int iterations, int parallelism, Duration verificationTime) {}
+
+  /**
+   * The calibrated work factor for a password hashing algorithm with a single cost parameter.
+   *
+   * @param value the bcrypt strength or PBKDF2 iteration count
+   * @param verificationTime the median verification time
+   */
+  public record Calibration(int value, Duration verificationTime) {}
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package digital.inception.security.service;
+
+import digital.inception.core.exception.ServiceUnavailableException;
+
+/**
+ * The {@code PasswordHashingService} interface defines the functionality provided by a Password
+ * Hashing Service implementation, which encodes and verifies user passwords using an adaptive
+ * password hashing algorithm whose parameters are encoded in the stored hash.
+ *
+ * @author Marcus Portmann
+ */
+public interface PasswordHashingService {
+
+  /**
+   * Encode the password using the current password hashing algorithm and parameters.
+   *
+   * @param password the password
+   * @return the encoded password, prefixed with the ID for the password hashing algorithm
+   * @throws ServiceUnavailableException if the password could not be encoded
+   */
+  String encode(String password) throws ServiceUnavailableException;
+
+  /**
+   * Verify that the password matches the encoded password.
+   *
+   * @param password the password
+   * @param encodedPassword the encoded password
+   * @return {@code true} if the password matches the encoded password or {@code false} otherwise
+   * @throws ServiceUnavailableException if the password could not be verified
+   */
+  boolean matches(String password, String encodedPassword) throws ServiceUnavailableException;
+
+  /**
+   * Returns whether the encoded password should be re-encoded using the current password hashing
+   * algorithm and parameters.
+   *
+   * @param encodedPassword the encoded password
+   * @return {@code true} if the encoded password should be re-encoded or {@code false} otherwise
+   */
+  boolean upgradeEncoding(String encodedPassword);
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package digital.inception.security.service;
+
+import digital.inception.core.exception.ServiceUnavailableException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+/**
+ * The {@code PasswordHashingServiceImpl} class provides the Password Hashing Service
+ * implementation.
+ *
+ * <p>Passwords are encoded using the configured algorithm ({@code argon2}, {@code bcrypt} or {@code
+ * pbkdf2}) and stored with an {@code {id}} prefix, so that passwords encoded with any supported
+ * algorithm or parameters can still be verified. Encoded passwords without a prefix are treated as
+ * bcrypt hashes. Encoding and verification are deliberately expensive and run on a bounded,
+ * dedicated pool of threads so that a burst of logins cannot exhaust the request threads.
+ *
+ * @author Marcus Portmann
+ */
+@Service
+public class PasswordHashingServiceImpl implements PasswordHashingService, DisposableBean {
+
+  /** The ID for the Argon2id password hashing algorithm. */
+  public static final String ARGON2 = "argon2";
+
+  /** The ID for the bcrypt password hashing algorithm. */
+  public static final String BCRYPT = "bcrypt";
+
+  /** The ID for the PBKDF2-HMAC-SHA256 password hashing algorithm. */
+  public static final String PBKDF2 = "pbkdf2";
+
+  /** The length of the Argon2id hash in bytes. */
+  private static final int ARGON2_HASH_LENGTH = 32;
+
+  /** The length of the Argon2id salt in bytes. */
+  private static final int ARGON2_SALT_LENGTH = 16;
+
+  /** The executor used to encode and verify passwords. */
+  private final ThreadPoolExecutor executor;
+
+  /** The password encoder. */
+  private final DelegatingPasswordEncoder passwordEncoder;
+
+  /** The maximum amount of time to wait for a password to be encoded or verified. */
+  private final Duration timeout;
+
+  /**
+   * Constructs a new {@code PasswordHashingServiceImpl}.
+   *
+   * @param applicationContext the Spring application context
+   */
+  public PasswordHashingServiceImpl(ApplicationContext applicationContext) {
+    Environment environment = applicationContext.getEnvironment();
+
+    String algorithm =
+        environment.getProperty("inception.security.password-hashing.algorithm", ARGON2);
+
+    Map<String, PasswordEncoder> passwordEncoders = new HashMap<>();
+
+    BCryptPasswordEncoder bcryptPasswordEncoder =
+        new BCryptPasswordEncoder(
+            environment.getProperty(
+                "inception.security.password-hashing.bcrypt.strength", Integer.class, 10),
+            new SecureRandom());
+
+    passwordEncoders.put(BCRYPT, bcryptPasswordEncoder);
+    passwordEncoders.put(
+        PBKDF2,
+        new Pbkdf2PasswordEncoder(
+            environment.getProperty(
+                "inception.security.password-hashing.pbkdf2.iterations", Integer.class, 600000)));
+    passwordEncoders.put(
+        ARGON2,
+        new Argon2PasswordEncoder(
+            ARGON2_SALT_LENGTH,
+            ARGON2_HASH_LENGTH,
+            environment.getProperty(
+                "inception.security.password-hashing.argon2.parallelism", Integer.class, 1),
+            environment.getProperty(
+                "inception.security.password-hashing.argon2.memory", Integer.class, 19456),
+            environment.getProperty(
+                "inception.security.password-hashing.argon2.iterations", Integer.class, 2)));
+
+    if (!passwordEncoders.containsKey(algorithm)) {
+      throw new IllegalStateException(
+          "Invalid password hashing algorithm ("
+              + algorithm
+              + ") specified using the inception.security.password-hashing.algorithm property");
+    }
+
+    this.passwordEncoder = new DelegatingPasswordEncoder(algorithm, passwordEncoders);
+
+    // Encoded passwords created before the algorithm prefix was introduced are bcrypt hashes
+    this.passwordEncoder.setDefaultPasswordEncoderForMatches(bcryptPasswordEncoder);
+
+    int poolSize =
+        environment.getProperty(
+            "inception.security.password-hashing.pool-size",
+            Integer.class,
+            Runtime.getRuntime().availableProcessors());
+
+    this.executor =
+        new ThreadPoolExecutor(
+            poolSize,
+            poolSize,
+            60L,
+            TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(
+                environment.getProperty(
+                    "inception.security.password-hashing.queue-capacity", Integer.class, 100)),
+            Thread.ofPlatform().name("password-hashing-", 1).daemon(true).factory(),
+            new ThreadPoolExecutor.AbortPolicy());
+
+    this.timeout =
+        environment.getProperty(
+            "inception.security.password-hashing.timeout", Duration.class, Duration.ofSeconds(10));
+  }
+
+  @Override
+  public void destroy() {
+    executor.shutdownNow();
+  }
+
+  @Override
+  public String encode(String password) throws ServiceUnavailableException {
+    return execute(() -> passwordEncoder.encode(password), "encode the password");
+  }
+
+  @Override
+  public boolean matches(String password, String encodedPassword)
+      throws ServiceUnavailableException {
+    return execute(
+        () -> passwordEncoder.matches(password, encodedPassword), "verify the password");
+  }
+
+  @Override
+  public boolean upgradeEncoding(String encodedPassword) {
+    try {
+      return passwordEncoder.upgradeEncoding(encodedPassword);
+    } catch (Throwable e) {
+      // An encoded password that cannot be parsed is replaced by a hash in the current format
+      return true;
+    }
+  }
+
+  /**
+   * Execute the password hashing task using the dedicated password hashing executor.
+   *
+   * @param task the password hashing task
+   * @param description the description of the task used in error messages
+   * @param <T> the type of result returned by the task
+   * @return the result of the task
+   * @throws ServiceUnavailableException if the task was rejected because the executor is
+   *     saturated, timed out or failed
+   */
+  private <T> T execute(Callable<T> task, String description)
+      throws ServiceUnavailableException {
+    Future<T> future;
+
+    try {
+      future = executor.submit(task);
+    } catch (RejectedExecutionException e) {
+      throw new ServiceUnavailableException(
+          "Failed to " + description + ": the password hashing capacity has been exhausted", e);
+    }
+
+    try {
+      return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      future.cancel(true);
+
+      throw new ServiceUnavailableException(
+          "Failed to " + description + ": timed out after " + timeout.toMillis() + " ms", e);
+    } catch (InterruptedException e) {
+      future.cancel(true);
+
+      Thread.currentThread().interrupt();
+
+      throw new ServiceUnavailableException(
+          "Failed to " + description + ": interrupted while waiting", e);
+    } catch (ExecutionException e) {
+      throw new ServiceUnavailableException("Failed to " + description, e.getCause());
+    }
+  }
+}
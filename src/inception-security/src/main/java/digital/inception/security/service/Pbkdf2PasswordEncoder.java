@@ -0,0 +1,170 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package digital.inception.security.service;
+
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * The {@code Pbkdf2PasswordEncoder} class implements a PBKDF2-HMAC-SHA256 password encoder that
+ * stores the iteration count and salt alongside the derived key, using the modular crypt format
+ * {@code $pbkdf2-sha256$i=<iterations>$<salt>$<hash>}, so that the iteration count can be raised
+ * without invalidating existing hashes.
+ *
+ * <p>Spring Security's {@code Pbkdf2PasswordEncoder} does not record the iteration count in the
+ * encoded password, which means existing hashes cannot be verified once the iteration count is
+ * changed.
+ *
+ * @author Marcus Portmann
+ */
+final class Pbkdf2PasswordEncoder implements PasswordEncoder {
+
+  /** The PBKDF2 algorithm. */
+  private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+
+  /** The length of the derived key in bytes. */
+  private static final int HASH_LENGTH = 32;
+
+  /** The prefix for encoded passwords. */
+  private static final String PREFIX = "$pbkdf2-sha256$i=";
+
+  /** The length of the salt in bytes. */
+  private static final int SALT_LENGTH = 16;
+
+  /** The number of iterations. */
+  private final int iterations;
+
+  /** The secure random number generator used to generate salts. */
+  private final SecureRandom secureRandom = new SecureRandom();
+
+  /**
+   * Constructs a new {@code Pbkdf2PasswordEncoder}.
+   *
+   * @param iterations the number of iterations
+   */
+  Pbkdf2PasswordEncoder(int iterations) {
+    if (iterations < 1) {
+      throw new IllegalArgumentException("The number of iterations must be greater than zero");
+    }
+
+    this.iterations = iterations;
+  }
+
+  @Override
+  public String encode(CharSequence rawPassword) {
+    byte[] salt = new byte[SALT_LENGTH];
+    secureRandom.nextBytes(salt);
+
+    byte[] hash = deriveKey(rawPassword, salt, iterations);
+
+    Base64.Encoder encoder = Base64.getEncoder().withoutPadding();
+
+    return PREFIX
+        + iterations
+        + "$"
+        + encoder.encodeToString(salt)
+        + "$"
+        + encoder.encodeToString(hash);
+  }
+
+  @Override
+  public boolean matches(CharSequence rawPassword, String encodedPassword) {
+    if ((rawPassword == null) || (encodedPassword == null)) {
+      return false;
+    }
+
+    EncodedPassword decoded = decode(encodedPassword);
+
+    if (decoded == null) {
+      return false;
+    }
+
+    return MessageDigest.isEqual(
+        decoded.hash(), deriveKey(rawPassword, decoded.salt(), decoded.iterations()));
+  }
+
+  @Override
+  public boolean upgradeEncoding(String encodedPassword) {
+    EncodedPassword decoded = decode(encodedPassword);
+
+    return (decoded == null) || (decoded.iterations() < iterations);
+  }
+
+  /**
+   * Decode the iteration count, salt and hash for the encoded password.
+   *
+   * @param encodedPassword the encoded password
+   * @return the decoded password or {@code null} if the encoded password is not a PBKDF2 hash
+   */
+  private static EncodedPassword decode(String encodedPassword) {
+    if ((encodedPassword == null) || (!encodedPassword.startsWith(PREFIX))) {
+      return null;
+    }
+
+    String[] parts = encodedPassword.substring(PREFIX.length()).split("\\$");
+
+    if (parts.length != 3) {
+      return null;
+    }
+
+    try {
+      Base64.Decoder decoder = Base64.getDecoder();
+
+      return new EncodedPassword(
+          Integer.parseInt(parts[0]), decoder.decode(parts[1]), decoder.decode(parts[2]));
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Derive the PBKDF2-HMAC-SHA256 key for the password.
+   *
+   * @param rawPassword the password
+   * @param salt the salt
+   * @param iterations the number of iterations
+   * @return the derived key
+   */
+  private static byte[] deriveKey(CharSequence rawPassword, byte[] salt, int iterations) {
+    char[] password = rawPassword.toString().toCharArray();
+
+    PBEKeySpec keySpec = new PBEKeySpec(password, salt, iterations, HASH_LENGTH * 8);
+
+    try {
+      return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(keySpec).getEncoded();
+    } catch (Throwable e) {
+      throw new IllegalStateException("Failed to derive the PBKDF2 key for the password", e);
+    } finally {
+      keySpec.clearPassword();
+      Arrays.fill(password, '\0');
+    }
+  }
+
+  /**
+   * The decoded iteration count, salt and hash for an encoded password.
+   *
+   * @param iterations the number of iterations
+   * @param salt the salt
+   * @param hash the derived key
+   */
+  private record EncodedPassword(int iterations, byte[] salt, byte[] hash) {}
+}
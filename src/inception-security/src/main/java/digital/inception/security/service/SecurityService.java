@@ -48,6 +48,7 @@ import digital.inception.security.exception.UserDirectoryNotFoundException;
 import digital.inception.security.exception.UserDirectoryTypeNotFoundException;
 import digital.inception.security.exception.UserLockedException;
 import digital.inception.security.exception.UserNotFoundException;
+import digital.inception.security.model.AuthorizationContext;
 import digital.inception.security.model.Function;
 import digital.inception.security.model.GenerateTokenRequest;
 import digital.inception.security.model.Group;
@@ -61,6 +62,7 @@ import digital.inception.security.model.Policy;
 import digital.inception.security.model.PolicySortBy;
 import digital.inception.security.model.PolicySummaries;
 import digital.inception.security.model.RevokedToken;
+import digital.inception.security.model.RevokedTokenChanges;
 import digital.inception.security.model.Role;
 import digital.inception.security.model.Tenant;
 import digital.inception.security.model.Tenants;
@@ -79,6 +81,7 @@ import digital.inception.security.model.UserDirectoryType;
 import digital.inception.security.model.UserSortBy;
 import digital.inception.security.model.Users;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -470,6 +473,25 @@ public interface SecurityService {
   Token generateToken(GenerateTokenRequest generateTokenRequest)
       throws InvalidArgumentException, ServiceUnavailableException;
 
+  /**
+   * Retrieve the authorization context for the user, i.e. the user, the user directory the user is
+   * associated with, the codes for the roles and functions assigned to the user, and the IDs for
+   * the tenants the user is associated with.
+   *
+   * <p>The authorization context is retrieved using a single pass against the user directory the
+   * user is associated with and may be cached for a short period. Cached authorization contexts are
+   * invalidated when the group memberships, roles or tenants for the user change.
+   *
+   * @param username the username for the user
+   * @return the authorization context for the user
+   * @throws InvalidArgumentException if an argument is invalid
+   * @throws UserNotFoundException if the user could not be found
+   * @throws ServiceUnavailableException if the authorization context could not be retrieved for
+   *     the user
+   */
+  AuthorizationContext getAuthorizationContext(String username)
+      throws InvalidArgumentException, UserNotFoundException, ServiceUnavailableException;
+
   /**
    * Retrieve the function.
    *
@@ -554,6 +576,21 @@ public interface SecurityService {
           UserNotFoundException,
           ServiceUnavailableException;
 
+  /**
+   * Retrieve the names of the groups the users are members of.
+   *
+   * @param userDirectoryId the ID for the user directory
+   * @param usernames the usernames for the users
+   * @return the names of the groups the users are members of keyed by username, with an empty list
+   *     for users that could not be found or are not members of any groups
+   * @throws InvalidArgumentException if an argument is invalid
+   * @throws UserDirectoryNotFoundException if the user directory could not be found
+   * @throws ServiceUnavailableException if the names of the groups the users are members of could
+   *     not be retrieved
+   */
+  Map<String, List<String>> getGroupNamesForUsers(UUID userDirectoryId, List<String> usernames)
+      throws InvalidArgumentException, UserDirectoryNotFoundException, ServiceUnavailableException;
+
   /**
    * Retrieve all the groups.
    *
@@ -701,6 +738,19 @@ public interface SecurityService {
       Integer pageSize)
       throws InvalidArgumentException, ServiceUnavailableException;
 
+  /**
+   * Retrieve the changes to the unexpired revoked tokens since the specified revocation version.
+   *
+   * <p>If no revocation version is specified, or the revocation version is not recognized, the
+   * complete set of unexpired revoked tokens is returned.
+   *
+   * @param since the optional revocation version returned by a previous request, after which the
+   *     changes to the revoked tokens should be retrieved
+   * @return the changes to the unexpired revoked tokens
+   * @throws ServiceUnavailableException if the changes to the revoked tokens could not be retrieved
+   */
+  RevokedTokenChanges getRevokedTokenChanges(Long since) throws ServiceUnavailableException;
+
   /**
    * Retrieve the revoked tokens.
    *
@@ -745,6 +795,21 @@ public interface SecurityService {
           UserNotFoundException,
           ServiceUnavailableException;
 
+  /**
+   * Retrieve the codes for the roles that have been assigned to the users.
+   *
+   * @param userDirectoryId the ID for the user directory
+   * @param usernames the usernames for the users
+   * @return the codes for the roles that have been assigned to the users keyed by username, with an
+   *     empty list for users that could not be found or have not been assigned any roles
+   * @throws InvalidArgumentException if an argument is invalid
+   * @throws UserDirectoryNotFoundException if the user directory could not be found
+   * @throws ServiceUnavailableException if the codes for the roles that have been assigned to the
+   *     users could not be retrieved
+   */
+  Map<String, List<String>> getRoleCodesForUsers(UUID userDirectoryId, List<String> usernames)
+      throws InvalidArgumentException, UserDirectoryNotFoundException, ServiceUnavailableException;
+
   /**
    * Retrieve all the roles.
    *
@@ -66,6 +66,7 @@ import digital.inception.security.exception.UserDirectoryNotFoundException;
 import digital.inception.security.exception.UserDirectoryTypeNotFoundException;
 import digital.inception.security.exception.UserLockedException;
 import digital.inception.security.exception.UserNotFoundException;
+import digital.inception.security.model.AuthorizationContext;
 import digital.inception.security.model.Function;
 import digital.inception.security.model.GenerateTokenRequest;
 import digital.inception.security.model.Group;
@@ -83,6 +84,7 @@ import digital.inception.security.model.PolicySortBy;
 import digital.inception.security.model.PolicySummaries;
 import digital.inception.security.model.PolicyType;
 import digital.inception.security.model.RevokedToken;
+import digital.inception.security.model.RevokedTokenChanges;
 import digital.inception.security.model.Role;
 import digital.inception.security.model.Tenant;
 import digital.inception.security.model.Tenants;
@@ -117,6 +119,7 @@ import digital.inception.security.persistence.jpa.UserDirectoryTypeRepository;
 import digital.inception.security.persistence.jpa.UserRepository;
 import digital.inception.security.store.PolicyStore;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import jakarta.persistence.criteria.Predicate;
 import java.io.ByteArrayInputStream;
 import java.lang.reflect.Constructor;
@@ -125,9 +128,12 @@ import java.nio.charset.StandardCharsets;
 import java.security.SecureRandom;
 import java.security.interfaces.RSAPrivateKey;
 import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
@@ -136,13 +142,22 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import javax.xml.XMLConstants;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.transform.stream.StreamSource;
 import javax.xml.validation.Schema;
 import javax.xml.validation.SchemaFactory;
+import org.springframework.cache.CacheManager;
 import org.springframework.context.ApplicationContext;
 import org.springframework.core.io.ResourceLoader;
 import org.springframework.data.domain.Page;
@@ -180,6 +195,22 @@ public class SecurityServiceImpl extends AbstractServiceBase implements Security
   private static final String PASSWORD_RESET_MAIL_TEMPLATE_ID =
       "Inception.Security.PasswordResetMail";
 
+  /**
+   * The period before the requested revocation version that is included when retrieving the
+   * changes to the revoked tokens, which accommodates revocations that are committed out of order.
+   */
+  private static final Duration REVOKED_TOKEN_CHANGES_OVERLAP = Duration.ofMinutes(1);
+
+  /**
+   * The delay before the resources held by the user directories replaced when the user directories
+   * are reloaded are released, which allows the requests that are still using the previous user
+   * directories to complete.
+   */
+  private static final Duration USER_DIRECTORY_CLOSE_DELAY = Duration.ofSeconds(60);
+
+  /** The cache of the authorization contexts for users. */
+  private final AuthorizationContextCache authorizationContextCache;
+
   /** The Function Repository. */
   private final FunctionRepository functionRepository;
 
@@ -224,6 +255,16 @@ public class SecurityServiceImpl extends AbstractServiceBase implements Security
   /** The User Directory Summary Repository. */
   private final UserDirectorySummaryRepository userDirectorySummaryRepository;
 
+  /** The cache of the IDs for the user directories users are associated with. */
+  private final UserDirectoryResolutionCache userDirectoryResolutionCache;
+
+  /** The executor used to check the external user directories for a user in parallel. */
+  private final ExecutorService userDirectoryResolutionExecutor =
+      Executors.newVirtualThreadPerTaskExecutor();
+
+  /** The maximum time to wait when checking the external user directories for a user. */
+  private final Duration userDirectoryResolutionTimeout;
+
   /** The User Directory Type Repository. */
   private final UserDirectoryTypeRepository userDirectoryTypeRepository;
 
@@ -293,6 +334,40 @@ public class SecurityServiceImpl extends AbstractServiceBase implements Security
     this.userDirectoryTypeRepository = userDirectoryTypeRepository;
     this.userRepository = userRepository;
 
+    this.userDirectoryResolutionCache =
+        new UserDirectoryResolutionCache(
+            applicationContext.getBeanProvider(CacheManager.class),
+            applicationContext
+                .getEnvironment()
+                .getProperty(
+                    "inception.security.user-directory-resolution.cache-ttl",
+                    Duration.class,
+                    Duration.ofMinutes(5)),
+            applicationContext
+                .getEnvironment()
+                .getProperty(
+                    "inception.security.user-directory-resolution.negative-cache-ttl",
+                    Duration.class,
+                    Duration.ofSeconds(30)));
+
+    this.authorizationContextCache =
+        new AuthorizationContextCache(
+            applicationContext.getBeanProvider(CacheManager.class),
+            applicationContext
+                .getEnvironment()
+                .getProperty(
+                    "inception.security.authorization-context.cache-ttl",
+                    Duration.class,
+                    Duration.ofSeconds(30)));
+
+    this.userDirectoryResolutionTimeout =
+        applicationContext
+            .getEnvironment()
+            .getProperty(
+                "inception.security.user-directory-resolution.timeout",
+                Duration.class,
+                Duration.ofSeconds(10));
+
     if (StringUtils.hasText(
         applicationContext.getEnvironment().getProperty("inception.security.jwt.rsa-key-id"))) {
       this.jwtRsaKeyId =
@@ -392,6 +467,8 @@ public class SecurityServiceImpl extends AbstractServiceBase implements Security
     }
 
     userDirectory.addMemberToGroup(groupName, memberType, memberName);
+
+    invalidateAuthorizationContexts(memberType, memberName);
   }
 
   @Override
@@ -420,6 +497,8 @@ public class SecurityServiceImpl extends AbstractServiceBase implements Security
     }
 
     userDirectory.addRoleToGroup(groupName, roleCode);
+
+    authorizationContextCache.clear();
   }
 
   @Override
@@ -450,6 +529,8 @@ public class SecurityServiceImpl extends AbstractServiceBase implements Security
       }
 
       tenantRepository.addUserDirectoryToTenant(tenantId, userDirectoryId);
+
+      authorizationContextCache.clear();
     } catch (TenantNotFoundException | UserDirectoryNotFoundException e) {
       throw e;
     } catch (Throwable e) {
@@ -489,6 +570,8 @@ public class SecurityServiceImpl extends AbstractServiceBase implements Security
     }
 
     userDirectory.addUserToGroup(groupName, username);
+
+    authorizationContextCache.evict(username);
   }
 
   @Override
@@ -524,6 +607,8 @@ public class SecurityServiceImpl extends AbstractServiceBase implements Security
 
     userDirectory.adminChangePassword(
         username, newPassword, expirePassword, lockUser, resetPasswordHistory, reason);
+
+    authorizationContextCache.evict(username);
   }
 
   @Override
@@ -543,50 +628,37 @@ public class SecurityServiceImpl extends AbstractServiceBase implements Security
     }
 
     try {
-      // First check if this is an internal user and if so determine the user directory ID
-      Optional<UUID> internalUserDirectoryIdOptional = getInternalUserDirectoryIdForUser(username);
-
-      if (internalUserDirectoryIdOptional.isPresent()) {
-        UUID internalUserDirectoryId = internalUserDirectoryIdOptional.get();
+      Optional<UUID> userDirectoryIdOptional = resolveUserDirectoryIdForUser(username);
 
-        UserDirectoryProvider internalUserDirectory = userDirectories.get(internalUserDirectoryId);
+      if (userDirectoryIdOptional.isEmpty()) {
+        throw new UserNotFoundException(username);
+      }
 
-        if (internalUserDirectory == null) {
-          throw new ServiceUnavailableException(
-              "The user directory ID ("
-                  + internalUserDirectoryId
-                  + ") for the internal user ("
-                  + username
-                  + ") is invalid");
-        } else {
-          internalUserDirectory.authenticate(username, password);
-
-          return internalUserDirectoryId;
-        }
-      } else {
+      try {
+        return authenticateWithUserDirectory(userDirectoryIdOptional.get(), username, password);
+      } catch (UserNotFoundException e) {
         /*
-         * Check the "external" user directories to see if one of them can authenticate this user.
+         * The cached user directory ID for the user may be stale, e.g. if the user was moved to a
+         * different user directory, so retry once using the current user directory ID.
          */
-        for (UUID userDirectoryId : userDirectories.keySet()) {
-          UserDirectoryProvider userDirectory = userDirectories.get(userDirectoryId);
+        userDirectoryResolutionCache.evict(username);
 
-          if (userDirectory != null) {
-            if (!(userDirectory instanceof InternalUserDirectoryProvider)) {
-              if (userDirectory.isExistingUser(username)) {
-                userDirectory.authenticate(username, password);
+        Optional<UUID> currentUserDirectoryIdOptional = resolveUserDirectoryIdForUser(username);
 
-                return userDirectoryId;
-              }
-            }
-          }
+        if (currentUserDirectoryIdOptional.isEmpty()
+            || currentUserDirectoryIdOptional.get().equals(userDirectoryIdOptional.get())) {
+          throw e;
         }
 
-        throw new UserNotFoundException(username);
+        return authenticateWithUserDirectory(
+            currentUserDirectoryIdOptional.get(), username, password);
       }
-    } catch (AuthenticationFailedException
-        | UserNotFoundException
-        | UserLockedException
-        | ExpiredPasswordException e) {
+    } catch (AuthenticationFailedException | UserLockedException e) {
+      // A failed authentication attempt may have locked the user
+      authorizationContextCache.evict(username);
+
+      throw e;
+    } catch (UserNotFoundException | ExpiredPasswordException e) {
       throw e;
     } catch (Throwable e) {
       throw new ServiceUnavailableException(
@@ -614,54 +686,37 @@ public class SecurityServiceImpl extends AbstractServiceBase implements Security
     }
 
     try {
-      // First check if this is an internal user and if so determine the user directory ID
-      Optional<UUID> internalUserDirectoryIdOptional = getInternalUserDirectoryIdForUser(username);
-
-      if (internalUserDirectoryIdOptional.isPresent()) {
-        UUID internalUserDirectoryId = internalUserDirectoryIdOptional.get();
-
-        UserDirectoryProvider internalUserDirectory = userDirectories.get(internalUserDirectoryId);
-
-        if (internalUserDirectory == null) {
-          throw new ServiceUnavailableException(
-              "The user directory ID ("
-                  + internalUserDirectoryId
-                  + ") for the internal user ("
-                  + username
-                  + ") is invalid");
-        } else {
-          internalUserDirectory.changePassword(username, password, newPassword);
-
-          return internalUserDirectoryId;
-        }
-      } else {
-        /*
-         * Check the "external" user directories to see if one of them can change the password for this user.
-         */
-        for (UUID userDirectoryId : userDirectories.keySet()) {
-          UserDirectoryProvider userDirectory = userDirectories.get(userDirectoryId);
-
-          if (userDirectory != null) {
-            if (!(userDirectory instanceof InternalUserDirectoryProvider)) {
-              if (userDirectory.isExistingUser(username)) {
-                userDirectory.changePassword(username, password, newPassword);
-
-                return userDirectoryId;
-              }
-            }
-          }
-        }
+      Optional<UUID> userDirectoryIdOptional = resolveUserDirectoryIdForUser(username);
 
+      if (userDirectoryIdOptional.isEmpty()) {
         throw new AuthenticationFailedException(
             "Authentication failed while attempting to change the password for the user ("
                 + username
                 + ")");
       }
+
+      UserDirectoryProvider userDirectory = userDirectories.get(userDirectoryIdOptional.get());
+
+      if (userDirectory == null) {
+        throw new ServiceUnavailableException(
+            "The user directory ID ("
+                + userDirectoryIdOptional.get()
+                + ") for the user ("
+                + username
+                + ") is invalid");
+      }
+
+      userDirectory.changePassword(username, password, newPassword);
+
+      return userDirectoryIdOptional.get();
     } catch (AuthenticationFailedException | UserLockedException | ExistingPasswordException e) {
       throw e;
     } catch (Throwable e) {
       throw new ServiceUnavailableException(
           "Failed to change the password for the user (" + username + ")", e);
+    } finally {
+      // The password change, or a failed attempt that locked the user, changes the user status
+      authorizationContextCache.evict(username);
     }
   }
 
@@ -766,11 +821,15 @@ public class SecurityServiceImpl extends AbstractServiceBase implements Security
       throw new UserDirectoryNotFoundException(user.getUserDirectoryId());
     }
 
-    if (getUserDirectoryIdForUser(user.getUsername()).isPresent()) {
+    if (findUserDirectoryIdForUser(user.getUsername()).isPresent()) {
       throw new DuplicateUserException(user.getUsername());
     }
 
-    userDirectory.createUser(user, expiredPassword, userLocked);
+    try {
+      userDirectory.createUser(user, expiredPassword, userLocked);
+    } finally {
+      userDirectoryResolutionCache.evict(user.getUsername());
+    }
   }
 
   @Override
@@ -818,6 +877,8 @@ public class SecurityServiceImpl extends AbstractServiceBase implements Security
       }
 
       functionRepository.deleteById(functionCode);
+
+      authorizationContextCache.clear();
     } catch (FunctionNotFoundException e) {
       throw e;
     } catch (Throwable e) {
@@ -848,6 +909,8 @@ public class SecurityServiceImpl extends AbstractServiceBase implements Security
     }
 
     userDirectory.deleteGroup(groupName);
+
+    authorizationContextCache.clear();
   }
 
   @Override
@@ -873,6 +936,8 @@ public class SecurityServiceImpl extends AbstractServiceBase implements Security
       }
 
       tenantRepository.deleteById(tenantId);
+
+      authorizationContextCache.clear();
     } catch (TenantNotFoundException e) {
       throw e;
     } catch (Throwable e) {
@@ -920,7 +985,12 @@ public class SecurityServiceImpl extends AbstractServiceBase implements Security
       throw new UserDirectoryNotFoundException(userDirectoryId);
     }
 
-    userDirectory.deleteUser(username);
+    try {
+      userDirectory.deleteUser(username);
+    } finally {
+      userDirectoryResolutionCache.evict(username);
+      authorizationContextCache.evict(username);
+    }
   }
 
   @Override
@@ -962,6 +1032,12 @@ public class SecurityServiceImpl extends AbstractServiceBase implements Security
     }
   }
 
+  /** Shutdown the Security Service. */
+  @PreDestroy
+  public void destroy() {
+    userDirectoryResolutionExecutor.shutdownNow();
+  }
+
   @Override
   public List<User> findUsers(UUID userDirectoryId, List<UserAttribute> userAttributes)
       throws InvalidArgumentException,
@@ -1096,6 +1172,52 @@ public class SecurityServiceImpl extends AbstractServiceBase implements Security
     }
   }
 
+  @Override
+  public AuthorizationContext getAuthorizationContext(String username)
+      throws InvalidArgumentException, UserNotFoundException, ServiceUnavailableException {
+    if (!StringUtils.hasText(username)) {
+      throw new InvalidArgumentException("username");
+    }
+
+    AuthorizationContext cachedAuthorizationContext = authorizationContextCache.get(username);
+
+    if (cachedAuthorizationContext != null) {
+      return cachedAuthorizationContext;
+    }
+
+    long cacheVersion = authorizationContextCache.getVersion();
+
+    try {
+      Optional<UUID> userDirectoryIdOptional = resolveUserDirectoryIdForUser(username);
+
+      if (userDirectoryIdOptional.isEmpty()) {
+        throw new UserNotFoundException(username);
+      }
+
+      UserDirectoryProvider userDirectory = userDirectories.get(userDirectoryIdOptional.get());
+
+      if (userDirectory == null) {
+        throw new ServiceUnavailableException(
+            "The user directory ID ("
+                + userDirectoryIdOptional.get()
+                + ") for the user ("
+                + username
+                + ") is invalid");
+      }
+
+      AuthorizationContext authorizationContext = userDirectory.getAuthorizationContext(username);
+
+      authorizationContextCache.put(username, authorizationContext, cacheVersion);
+
+      return authorizationContext;
+    } catch (UserNotFoundException e) {
+      throw e;
+    } catch (Throwable e) {
+      throw new ServiceUnavailableException(
+          "Failed to retrieve the authorization context for the user (" + username + ")", e);
+    }
+  }
+
   @Override
   public Function getFunction(String functionCode)
       throws InvalidArgumentException, FunctionNotFoundException, ServiceUnavailableException {
@@ -1213,6 +1335,32 @@ public class SecurityServiceImpl extends AbstractServiceBase implements Security
     return userDirectory.getGroupNamesForUser(username);
   }
 
+  @Override
+  public Map<String, List<String>> getGroupNamesForUsers(
+      UUID userDirectoryId, List<String> usernames)
+      throws InvalidArgumentException, UserDirectoryNotFoundException, ServiceUnavailableException {
+    if (userDirectoryId == null) {
+      throw new InvalidArgumentException("userDirectoryId");
+    }
+
+    if ((usernames == null)
+        || usernames.stream().anyMatch(username -> !StringUtils.hasText(username))) {
+      throw new InvalidArgumentException("usernames");
+    }
+
+    UserDirectoryProvider userDirectory = userDirectories.get(userDirectoryId);
+
+    if (userDirectory == null) {
+      throw new UserDirectoryNotFoundException(userDirectoryId);
+    }
+
+    if (usernames.isEmpty()) {
+      return Map.of();
+    }
+
+    return userDirectory.getGroupNamesForUsers(usernames);
+  }
+
   @Override
   public List<Group> getGroups(UUID userDirectoryId)
       throws InvalidArgumentException, UserDirectoryNotFoundException, ServiceUnavailableException {
@@ -1377,6 +1525,38 @@ public class SecurityServiceImpl extends AbstractServiceBase implements Security
     return policyDataStore.getPolicySummaries(filter, sortBy, sortDirection, pageIndex, pageSize);
   }
 
+  @Override
+  public RevokedTokenChanges getRevokedTokenChanges(Long since)
+      throws ServiceUnavailableException {
+    try {
+      long version =
+          tokenRepository
+              .findLatestRevocationChange()
+              .map(changed -> changed.toInstant().toEpochMilli())
+              .orElse(0L);
+
+      LocalDate today = ApplicationClock.today();
+
+      if ((since == null) || (since <= 0) || (since > version)) {
+        return new RevokedTokenChanges(
+            version, true, tokenRepository.findUnexpiredRevokedTokens(today), List.of());
+      }
+
+      OffsetDateTime changedAfter =
+          OffsetDateTime.ofInstant(Instant.ofEpochMilli(since), ZoneOffset.UTC)
+              .minus(REVOKED_TOKEN_CHANGES_OVERLAP);
+
+      return new RevokedTokenChanges(
+          version,
+          false,
+          tokenRepository.findUnexpiredRevokedTokensChangedAfter(changedAfter, today),
+          tokenRepository.findReinstatedTokenIdsChangedAfter(changedAfter));
+    } catch (Throwable e) {
+      throw new ServiceUnavailableException(
+          "Failed to retrieve the changes to the revoked tokens", e);
+    }
+  }
+
   @Override
   public List<RevokedToken> getRevokedTokens() throws ServiceUnavailableException {
     try {
@@ -1432,6 +1612,32 @@ public class SecurityServiceImpl extends AbstractServiceBase implements Security
     return userDirectory.getRoleCodesForUser(username);
   }
 
+  @Override
+  public Map<String, List<String>> getRoleCodesForUsers(
+      UUID userDirectoryId, List<String> usernames)
+      throws InvalidArgumentException, UserDirectoryNotFoundException, ServiceUnavailableException {
+    if (userDirectoryId == null) {
+      throw new InvalidArgumentException("userDirectoryId");
+    }
+
+    if ((usernames == null)
+        || usernames.stream().anyMatch(username -> !StringUtils.hasText(username))) {
+      throw new InvalidArgumentException("usernames");
+    }
+
+    UserDirectoryProvider userDirectory = userDirectories.get(userDirectoryId);
+
+    if (userDirectory == null) {
+      throw new UserDirectoryNotFoundException(userDirectoryId);
+    }
+
+    if (usernames.isEmpty()) {
+      return Map.of();
+    }
+
+    return userDirectory.getRoleCodesForUsers(usernames);
+  }
+
   @Override
   public List<Role> getRoles() throws ServiceUnavailableException {
     try {
@@ -1965,29 +2171,7 @@ public class SecurityServiceImpl extends AbstractServiceBase implements Security
     }
 
     try {
-      // First check if this is an internal user and if so determine the user directory ID
-      Optional<UUID> internalUserDirectoryIdOptional = getInternalUserDirectoryIdForUser(username);
-
-      if (internalUserDirectoryIdOptional.isPresent()) {
-        return internalUserDirectoryIdOptional;
-      } else {
-        /*
-         * Check the "external" user directories to see if the user is associated with one of them.
-         */
-        for (UUID userDirectoryId : userDirectories.keySet()) {
-          UserDirectoryProvider userDirectory = userDirectories.get(userDirectoryId);
-
-          if (userDirectory != null) {
-            if (!(userDirectory instanceof InternalUserDirectoryProvider)) {
-              if (userDirectory.isExistingUser(username)) {
-                return Optional.of(userDirectoryId);
-              }
-            }
-          }
-        }
-
-        return Optional.empty();
-      }
+      return resolveUserDirectoryIdForUser(username);
     } catch (Throwable e) {
       throw new ServiceUnavailableException(
           "Failed to retrieve the user directory ID for the user (" + username + ")", e);
@@ -2026,9 +2210,7 @@ public class SecurityServiceImpl extends AbstractServiceBase implements Security
     }
 
     try {
-      List<UUID> userDirectoryIdsForUser = new ArrayList<>();
-
-      Optional<UUID> userDirectoryIdOptional = getUserDirectoryIdForUser(username);
+      Optional<UUID> userDirectoryIdOptional = resolveUserDirectoryIdForUser(username);
 
       if (userDirectoryIdOptional.isEmpty()) {
         throw new UserNotFoundException(username);
@@ -2038,20 +2220,18 @@ public class SecurityServiceImpl extends AbstractServiceBase implements Security
        * Retrieve the list of IDs for the tenants the user is associated with as a result
        * of their user directory being associated with these tenants.
        */
-      List<UUID> tenantIds = getTenantIdsForUserDirectory(userDirectoryIdOptional.get());
+      List<UUID> tenantIds =
+          userDirectoryRepository.findTenantIdsById(userDirectoryIdOptional.get());
+
+      if (tenantIds.isEmpty()) {
+        return new ArrayList<>();
+      }
 
       /*
        * Retrieve the list of IDs for the user directories the user is associated with as a result
-       * of being associated with one or more tenants.
+       * of being associated with one or more tenants using a single query.
        */
-      for (var tenantId : tenantIds) {
-        // Retrieve the list of user directories associated with the tenant
-        var userDirectoryIdsForTenant = getUserDirectoryIdsForTenant(tenantId);
-
-        userDirectoryIdsForUser.addAll(userDirectoryIdsForTenant);
-      }
-
-      return userDirectoryIdsForUser;
+      return tenantRepository.findUserDirectoryIdsByIds(tenantIds);
     } catch (UserNotFoundException e) {
       throw e;
     } catch (Throwable e) {
@@ -2428,7 +2608,7 @@ public class SecurityServiceImpl extends AbstractServiceBase implements Security
     }
 
     try {
-      if (tokenRepository.reinstateToken(tokenId) == 0) {
+      if (tokenRepository.reinstateToken(tokenId, ApplicationClock.offsetNow()) == 0) {
         throw new TokenNotFoundException(tokenId);
       }
     } catch (TokenNotFoundException e) {
@@ -2524,7 +2704,33 @@ public class SecurityServiceImpl extends AbstractServiceBase implements Security
         }
       }
 
+      Map<UUID, UserDirectoryProvider> previousUserDirectories = this.userDirectories;
+
       this.userDirectories = reloadedUserDirectories;
+
+      userDirectoryResolutionCache.clear();
+      authorizationContextCache.clear();
+
+      /*
+       * Release the resources, e.g. connection pools, held by the previous user directories once
+       * the requests that retrieved them before the reload have had time to complete.
+       */
+      Executor closeExecutor =
+          CompletableFuture.delayedExecutor(
+              USER_DIRECTORY_CLOSE_DELAY.toMillis(), TimeUnit.MILLISECONDS);
+
+      for (UserDirectoryProvider previousUserDirectory : previousUserDirectories.values()) {
+        if (previousUserDirectory instanceof AutoCloseable closeableUserDirectory) {
+          closeExecutor.execute(
+              () -> {
+                try {
+                  closeableUserDirectory.close();
+                } catch (Throwable e) {
+                  log.warn("Failed to close the previous user directory", e);
+                }
+              });
+        }
+      }
     } catch (Throwable e) {
       throw new ServiceUnavailableException("Failed to reload the user directories", e);
     }
@@ -2561,6 +2767,8 @@ public class SecurityServiceImpl extends AbstractServiceBase implements Security
     }
 
     userDirectory.removeMemberFromGroup(groupName, memberType, memberName);
+
+    invalidateAuthorizationContexts(memberType, memberName);
   }
 
   @Override
@@ -2589,6 +2797,8 @@ public class SecurityServiceImpl extends AbstractServiceBase implements Security
     }
 
     userDirectory.removeRoleFromGroup(groupName, roleCode);
+
+    authorizationContextCache.clear();
   }
 
   @Override
@@ -2615,6 +2825,8 @@ public class SecurityServiceImpl extends AbstractServiceBase implements Security
       }
 
       tenantRepository.removeUserDirectoryFromTenant(tenantId, userDirectoryId);
+
+      authorizationContextCache.clear();
     } catch (TenantNotFoundException | TenantUserDirectoryNotFoundException e) {
       throw e;
     } catch (Throwable e) {
@@ -2654,6 +2866,8 @@ public class SecurityServiceImpl extends AbstractServiceBase implements Security
     }
 
     userDirectory.removeUserFromGroup(groupName, username);
+
+    authorizationContextCache.evict(username);
   }
 
   @Override
@@ -2694,6 +2908,8 @@ public class SecurityServiceImpl extends AbstractServiceBase implements Security
 
           userDirectory.resetPassword(username, newPassword);
 
+          authorizationContextCache.evict(username);
+
           return;
         }
       }
@@ -2715,7 +2931,9 @@ public class SecurityServiceImpl extends AbstractServiceBase implements Security
     }
 
     try {
-      if (tokenRepository.revokeToken(tokenId, LocalDate.now()) == 0) {
+      if (tokenRepository.revokeToken(
+              tokenId, ApplicationClock.today(), ApplicationClock.offsetNow())
+          == 0) {
         throw new TokenNotFoundException(tokenId);
       }
     } catch (TokenNotFoundException e) {
@@ -2814,6 +3032,8 @@ public class SecurityServiceImpl extends AbstractServiceBase implements Security
     }
 
     userDirectory.updateUser(user, expirePassword, lockUser);
+
+    authorizationContextCache.evict(user.getUsername());
   }
 
   @Override
@@ -2837,6 +3057,120 @@ public class SecurityServiceImpl extends AbstractServiceBase implements Security
     }
   }
 
+  private UUID authenticateWithUserDirectory(UUID userDirectoryId, String username, String password)
+      throws AuthenticationFailedException,
+          UserLockedException,
+          ExpiredPasswordException,
+          UserNotFoundException,
+          ServiceUnavailableException {
+    UserDirectoryProvider userDirectory = userDirectories.get(userDirectoryId);
+
+    if (userDirectory == null) {
+      throw new ServiceUnavailableException(
+          "The user directory ID ("
+              + userDirectoryId
+              + ") for the user ("
+              + username
+              + ") is invalid");
+    }
+
+    userDirectory.authenticate(username, password);
+
+    return userDirectoryId;
+  }
+
+  /**
+   * Returns the ID for the user directory the user with the specified username is associated with
+   * without using the user directory resolution cache.
+   *
+   * <p>Internal users are resolved using a single database query. If the user is not an internal
+   * user, the "external" user directories are checked in parallel. The results are considered in
+   * the order of the user directories, so if the user exists in more than one user directory the
+   * first of them is returned, regardless of which user directory responds first.
+   *
+   * @param username the username for the user
+   * @return an {@link Optional} containing the ID for the user directory the user is associated
+   *     with or an empty {@link Optional} if the user could not be found
+   * @throws ServiceUnavailableException if the user directory ID could not be retrieved for the
+   *     user, e.g. because one of the user directories failed or did not respond in time
+   */
+  private Optional<UUID> findUserDirectoryIdForUser(String username)
+      throws ServiceUnavailableException {
+    // First check if this is an internal user and if so determine the user directory ID
+    Optional<UUID> internalUserDirectoryIdOptional = getInternalUserDirectoryIdForUser(username);
+
+    if (internalUserDirectoryIdOptional.isPresent()) {
+      return internalUserDirectoryIdOptional;
+    }
+
+    List<Map.Entry<UUID, UserDirectoryProvider>> externalUserDirectories =
+        userDirectories.entrySet().stream()
+            .filter(entry -> !(entry.getValue() instanceof InternalUserDirectoryProvider))
+            .toList();
+
+    if (externalUserDirectories.isEmpty()) {
+      return Optional.empty();
+    }
+
+    if (externalUserDirectories.size() == 1) {
+      Map.Entry<UUID, UserDirectoryProvider> externalUserDirectory =
+          externalUserDirectories.getFirst();
+
+      return externalUserDirectory.getValue().isExistingUser(username)
+          ? Optional.of(externalUserDirectory.getKey())
+          : Optional.empty();
+    }
+
+    /*
+     * Check the "external" user directories in parallel to see if the user is associated with one
+     * of them.
+     */
+    List<Future<Optional<UUID>>> futures = new ArrayList<>();
+
+    for (Map.Entry<UUID, UserDirectoryProvider> externalUserDirectory : externalUserDirectories) {
+      futures.add(
+          userDirectoryResolutionExecutor.submit(
+              () ->
+                  externalUserDirectory.getValue().isExistingUser(username)
+                      ? Optional.of(externalUserDirectory.getKey())
+                      : Optional.empty()));
+    }
+
+    long deadline = System.nanoTime() + userDirectoryResolutionTimeout.toNanos();
+
+    try {
+      // Wait for the results in the order of the user directories so the first match wins
+      for (int i = 0; i < futures.size(); i++) {
+        Optional<UUID> userDirectoryIdOptional =
+            futures.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+
+        if (userDirectoryIdOptional.isPresent()) {
+          return userDirectoryIdOptional;
+        }
+      }
+    } catch (TimeoutException e) {
+      throw new ServiceUnavailableException(
+          "Timed out after "
+              + userDirectoryResolutionTimeout.toMillis()
+              + " ms checking the user directories for the user ("
+              + username
+              + ")");
+    } catch (ExecutionException e) {
+      throw new ServiceUnavailableException(
+          "Failed to check one or more user directories for the user (" + username + ")",
+          e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+
+      throw new ServiceUnavailableException(
+          "Interrupted while checking the user directories for the user (" + username + ")", e);
+    } finally {
+      futures.forEach(future -> future.cancel(true));
+    }
+
+    return Optional.empty();
+  }
+
   /**
    * Returns the ID for the internal user directory the internal user with the specified username is
    * associated with.
@@ -2861,6 +3195,20 @@ public class SecurityServiceImpl extends AbstractServiceBase implements Security
     }
   }
 
+  /**
+   * Invalidate the cached authorization contexts affected by a change to the members of a group.
+   *
+   * @param memberType the group member type
+   * @param memberName the name of the group member
+   */
+  private void invalidateAuthorizationContexts(GroupMemberType memberType, String memberName) {
+    if (memberType == GroupMemberType.USER) {
+      authorizationContextCache.evict(memberName);
+    } else {
+      authorizationContextCache.clear();
+    }
+  }
+
   /**
    * Checks whether the specified value is {@code null} or blank.
    *
@@ -2909,6 +3257,38 @@ public class SecurityServiceImpl extends AbstractServiceBase implements Security
     return userDirectory;
   }
 
+  /**
+   * Returns the ID for the user directory the user with the specified username is associated with
+   * using the user directory resolution cache.
+   *
+   * @param username the username for the user
+   * @return an {@link Optional} containing the ID for the user directory the user is associated
+   *     with or an empty {@link Optional} if the user could not be found
+   * @throws ServiceUnavailableException if the user directory ID could not be retrieved for the
+   *     user
+   */
+  private Optional<UUID> resolveUserDirectoryIdForUser(String username)
+      throws ServiceUnavailableException {
+    Optional<UUID> cachedUserDirectoryIdOptional = userDirectoryResolutionCache.get(username);
+
+    if (cachedUserDirectoryIdOptional != null) {
+      return cachedUserDirectoryIdOptional;
+    }
+
+    /*
+     * Capture the version of the cache before resolving the user directory, so that a resolution
+     * that raced with the creation or deletion of a user, which evicts the cached resolution, is
+     * not cached.
+     */
+    long cacheVersion = userDirectoryResolutionCache.getVersion();
+
+    Optional<UUID> userDirectoryIdOptional = findUserDirectoryIdForUser(username);
+
+    userDirectoryResolutionCache.put(username, userDirectoryIdOptional.orElse(null), cacheVersion);
+
+    return userDirectoryIdOptional;
+  }
+
   private void sendPasswordResetEmail(User user, String resetPasswordUrl, String securityCode)
       throws ServiceUnavailableException {
     try {
@@ -2924,7 +3304,7 @@ public class SecurityServiceImpl extends AbstractServiceBase implements Security
                 + "&securityCode="
                 + URLEncoder.encode(securityCode, StandardCharsets.UTF_8));
 
-        mailService.sendMail(
+        mailService.queueMail(
             Collections.singletonList(user.getEmail()),
             "Password Reset",
             "no-reply@inception.digital",
@@ -0,0 +1,197 @@
+/*
+ * Copyright Marcus Portmann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package digital.inception.security.service;
+
+import digital.inception.core.time.ApplicationClock;
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+/**
+ * The {@code UserDirectoryResolutionCache} class caches which user directory each user belongs to,
+ * keyed by the lowercase username, in the {@code userDirectoryResolutions} cache provided by the
+ * application's Spring {@link CacheManager}.
+ *
+ * <p>The size, eviction and distribution of the cached resolutions are governed by the
+ * configuration for the cache, e.g. the Hazelcast map configuration. Each resolution records when
+ * it expires, so that the separate time-to-live values for users that were found and users that
+ * were not found apply whatever cache provider is used. Nothing is cached if no cache manager is
+ * available.
+ *
+ * <p>A resolution started before a user was created or deleted must not replace the eviction for
+ * that change. Evictions increment a version number, and a resolution is removed again if the
+ * version changed while it was being resolved.
+ *
+ * @author Marcus Portmann
+ */
+final class UserDirectoryResolutionCache {
+
+  /** The name of the cache for the user directory resolutions. */
+  static final String CACHE_NAME = "userDirectoryResolutions";
+
+  /** The provider for the optional cache manager. */
+  private final ObjectProvider<CacheManager> cacheManagerProvider;
+
+  /** The time-to-live for cached resolutions for users that were not found. */
+  private final Duration negativeTtl;
+
+  /** The time-to-live for cached resolutions for users that were found. */
+  private final Duration ttl;
+
+  /** The version, which is incremented whenever resolutions are evicted. */
+  private final AtomicLong version = new AtomicLong();
+
+  /**
+   * Constructs a new {@code UserDirectoryResolutionCache}.
+   *
+   * @param cacheManagerProvider the provider for the optional cache manager
+   * @param ttl the time-to-live for cached resolutions for users that were found
+   * @param negativeTtl the time-to-live for cached resolutions for users that were not found
+   */
+  UserDirectoryResolutionCache(
+      ObjectProvider<CacheManager> cacheManagerProvider, Duration ttl, Duration negativeTtl) {
+    this.cacheManagerProvider = cacheManagerProvider;
+    this.ttl = ttl;
+    this.negativeTtl = negativeTtl;
+  }
+
+  /** Remove all cached resolutions. */
+  void clear() {
+    version.incrementAndGet();
+
+    Cache cache = getCache();
+
+    if (cache != null) {
+      cache.clear();
+    }
+  }
+
+  /**
+   * Remove the cached resolution for the user.
+   *
+   * @param username the username for the user
+   */
+  void evict(String username) {
+    version.incrementAndGet();
+
+    Cache cache = getCache();
+
+    if (cache != null) {
+      cache.evict(toKey(username));
+    }
+  }
+
+  /**
+   * Retrieve the cached resolution for the user.
+   *
+   * @param username the username for the user
+   * @return {@code null} if there is no valid cached resolution for the user, an empty {@link
+   *     Optional} if the user was not found in any user directory, or an {@link Optional}
+   *     containing the ID for the user directory the user is associated with
+   */
+  @SuppressWarnings("OptionalAssignedToNull")
+  Optional<UUID> get(String username) {
+    Cache cache = getCache();
+
+    if (cache == null) {
+      return null;
+    }
+
+    Resolution resolution = cache.get(toKey(username), Resolution.class);
+
+    if ((resolution == null) || (!ApplicationClock.instant().isBefore(resolution.expires()))) {
+      return null;
+    }
+
+    return Optional.ofNullable(resolution.userDirectoryId());
+  }
+
+  /**
+   * Returns the version, which must be retrieved before resolving the user directory for a user
+   * and passed to {@link #put(String, UUID, long)}.
+   *
+   * @return the version
+   */
+  long getVersion() {
+    return version.get();
+  }
+
+  /**
+   * Cache the resolution for the user.
+   *
+   * @param username the username for the user
+   * @param userDirectoryId the ID for the user directory the user is associated with or {@code
+   *     null} if the user was not found in any user directory
+   * @param expectedVersion the version retrieved before the user directory was resolved
+   */
+  void put(String username, UUID userDirectoryId, long expectedVersion) {
+    Duration resolutionTtl = (userDirectoryId != null) ? ttl : negativeTtl;
+
+    if (resolutionTtl.isNegative() || resolutionTtl.isZero()) {
+      return;
+    }
+
+    Cache cache = getCache();
+
+    if (cache == null) {
+      return;
+    }
+
+    String key = toKey(username);
+
+    cache.put(key, new Resolution(userDirectoryId, ApplicationClock.instant().plus(resolutionTtl)));
+
+    // Discard the resolution if resolutions were evicted while it was being resolved
+    if (version.get() != expectedVersion) {
+      cache.evict(key);
+    }
+  }
+
+  private Cache getCache() {
+    if (ttl.isNegative() || ttl.isZero()) {
+      return null;
+    }
+
+    CacheManager cacheManager = cacheManagerProvider.getIfAvailable();
+
+    return (cacheManager != null) ? cacheManager.getCache(CACHE_NAME) : null;
+  }
+
+  private String toKey(String username) {
+    return username.toLowerCase(Locale.ROOT);
+  }
+
+  /**
+   * A cached resolution.
+   *
+   * @param userDirectoryId the ID for the user directory or {@code null} if the user was not found
+   * @param expires the date and time the resolution expires
+   */
+  private record Resolution(UUID userDirectoryId, Instant expires) implements Serializable {
+
+    @Serial private static final long serialVersionUID = 1000000;
+  }
+}
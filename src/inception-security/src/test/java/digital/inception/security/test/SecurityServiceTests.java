@@ -18,7 +18,10 @@ package digital.inception.security.test;
 
 import static digital.inception.test.Assert.assertEqualsToMillisecond;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
@@ -44,6 +47,7 @@ import digital.inception.security.exception.TokenNotFoundException;
 import digital.inception.security.exception.UserDirectoryNotFoundException;
 import digital.inception.security.exception.UserLockedException;
 import digital.inception.security.exception.UserNotFoundException;
+import digital.inception.security.model.AuthorizationContext;
 import digital.inception.security.model.Function;
 import digital.inception.security.model.GenerateTokenRequest;
 import digital.inception.security.model.Group;
@@ -59,6 +63,7 @@ import digital.inception.security.model.PolicySummaries;
 import digital.inception.security.model.PolicySummary;
 import digital.inception.security.model.PolicyType;
 import digital.inception.security.model.RevokedToken;
+import digital.inception.security.model.RevokedTokenChanges;
 import digital.inception.security.model.Role;
 import digital.inception.security.model.Tenant;
 import digital.inception.security.model.TenantStatus;
@@ -80,17 +85,23 @@ import digital.inception.security.model.UserDirectoryType;
 import digital.inception.security.model.UserSortBy;
 import digital.inception.security.model.UserStatus;
 import digital.inception.security.model.Users;
+import digital.inception.security.service.PasswordHashingService;
 import digital.inception.security.service.SecurityService;
 import digital.inception.security.service.SecurityServiceImpl;
 import digital.inception.test.InceptionExtension;
 import digital.inception.test.TestConfiguration;
 import java.security.SecureRandom;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import javax.sql.DataSource;
 import org.junit.jupiter.api.Test;
@@ -98,6 +109,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.test.context.ConfigDataApplicationContextInitializer;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.TestExecutionListeners;
@@ -135,6 +148,12 @@ public class SecurityServiceTests {
 
   private static int userDirectoryCount;
 
+  /** The cache manager. */
+  @Autowired CacheManager cacheManager;
+
+  /** The Password Hashing Service. */
+  @Autowired PasswordHashingService passwordHashingService;
+
   /** The Security Service. */
   @Autowired SecurityService securityService;
 
@@ -226,6 +245,92 @@ public class SecurityServiceTests {
     securityService.authenticate(user.getUsername(), "Password2");
   }
 
+  /** Test the authorization context functionality. */
+  @Test
+  public void authorizationContextTest() throws Exception {
+    User user = getTestUserDetails(SecurityServiceImpl.DEFAULT_USER_DIRECTORY_ID);
+
+    securityService.createUser(user, false, false);
+
+    AuthorizationContext authorizationContext =
+        securityService.getAuthorizationContext(user.getUsername());
+
+    assertEquals(
+        SecurityServiceImpl.DEFAULT_USER_DIRECTORY_ID,
+        authorizationContext.userDirectoryId(),
+        "The correct user directory ID was not retrieved for the user");
+    assertEquals(
+        user.getUsername(),
+        authorizationContext.user().getUsername(),
+        "The correct user was not retrieved");
+    assertTrue(
+        authorizationContext.roleCodes().isEmpty(),
+        "Incorrectly retrieved role codes for a user that is not a member of any groups");
+
+    securityService.addUserToGroup(
+        SecurityServiceImpl.DEFAULT_USER_DIRECTORY_ID, "Administrators", user.getUsername());
+
+    authorizationContext = securityService.getAuthorizationContext(user.getUsername());
+
+    assertEquals(
+        Set.copyOf(
+            securityService.getRoleCodesForUser(
+                SecurityServiceImpl.DEFAULT_USER_DIRECTORY_ID, user.getUsername())),
+        Set.copyOf(authorizationContext.roleCodes()),
+        "The correct role codes were not retrieved for the user");
+    assertFalse(
+        authorizationContext.roleCodes().isEmpty(),
+        "The cached authorization context was not invalidated when the user was added to a group");
+    assertEquals(
+        Set.copyOf(
+            securityService.getFunctionCodesForUser(
+                SecurityServiceImpl.DEFAULT_USER_DIRECTORY_ID, user.getUsername())),
+        Set.copyOf(authorizationContext.functionCodes()),
+        "The correct function codes were not retrieved for the user");
+    assertEquals(
+        Set.copyOf(
+            securityService.getTenantIdsForUserDirectory(
+                SecurityServiceImpl.DEFAULT_USER_DIRECTORY_ID)),
+        Set.copyOf(authorizationContext.tenantIds()),
+        "The correct tenant IDs were not retrieved for the user");
+
+    assertNotNull(
+        cacheManager.getCache("authorizationContexts").get(user.getUsername().toLowerCase()),
+        "The authorization context was not cached using the cache manager");
+
+    // The cached authorization context must be an immutable snapshot without the password hash
+    authorizationContext.user().setStatus(UserStatus.LOCKED);
+
+    authorizationContext = securityService.getAuthorizationContext(user.getUsername());
+
+    assertNull(
+        authorizationContext.user().getPassword(),
+        "The password hash for the user was cached with the authorization context");
+    assertEquals(
+        UserStatus.ACTIVE,
+        authorizationContext.user().getStatus(),
+        "The cached authorization context was modified through the returned user");
+
+    // Changing the password for the user must evict the cached authorization context
+    securityService.adminChangePassword(
+        SecurityServiceImpl.DEFAULT_USER_DIRECTORY_ID,
+        user.getUsername(),
+        "Password2",
+        true,
+        false,
+        true,
+        PasswordChangeReason.ADMINISTRATIVE);
+
+    assertNotEquals(
+        authorizationContext.user().getPasswordExpiry(),
+        securityService.getAuthorizationContext(user.getUsername()).user().getPasswordExpiry(),
+        "The cached authorization context was not invalidated when the password was changed");
+
+    assertThrows(
+        UserNotFoundException.class,
+        () -> securityService.getAuthorizationContext("INVALID_USERNAME"));
+  }
+
   /** Test the change user password functionality. */
   @Test
   public void changePasswordTest() throws Exception {
@@ -733,6 +838,66 @@ public class SecurityServiceTests {
             + ")");
   }
 
+  /** Test the functionality to retrieve the group names and role codes for multiple users. */
+  @Test
+  public void groupMembershipForUsersTest() throws Exception {
+    Tenant tenant = getTestTenantDetails();
+
+    Optional<UserDirectory> userDirectoryOptional = securityService.createTenant(tenant, true);
+
+    if (userDirectoryOptional.isEmpty()) {
+      fail("Failed to retrieve the new user directory for the new tenant");
+    }
+
+    UserDirectory userDirectory = userDirectoryOptional.get();
+
+    Group group = getTestGroupDetails(userDirectory.getId());
+
+    securityService.createGroup(group);
+
+    User firstUser = getTestUserDetails(userDirectory.getId());
+
+    securityService.createUser(firstUser, false, false);
+    securityService.addUserToGroup(userDirectory.getId(), group.getName(), firstUser.getUsername());
+
+    User secondUser = getTestUserDetails(userDirectory.getId());
+
+    securityService.createUser(secondUser, false, false);
+
+    List<String> usernames =
+        List.of(firstUser.getUsername().toUpperCase(), secondUser.getUsername(), "unknown");
+
+    Map<String, List<String>> groupNamesForUsers =
+        securityService.getGroupNamesForUsers(userDirectory.getId(), usernames);
+
+    assertEquals(
+        3, groupNamesForUsers.size(), "The group names were not retrieved for all the users");
+    assertEquals(
+        List.of(group.getName()),
+        groupNamesForUsers.get(usernames.get(0)),
+        "The correct group names were not retrieved for the user ("
+            + firstUser.getUsername()
+            + ")");
+    assertTrue(
+        groupNamesForUsers.get(usernames.get(1)).isEmpty(),
+        "Group names were retrieved for the user (" + secondUser.getUsername() + ")");
+    assertTrue(
+        groupNamesForUsers.get(usernames.get(2)).isEmpty(),
+        "Group names were retrieved for an unknown user");
+
+    Map<String, List<String>> roleCodesForUsers =
+        securityService.getRoleCodesForUsers(
+            SecurityServiceImpl.DEFAULT_USER_DIRECTORY_ID,
+            List.of(SecurityServiceImpl.ADMINISTRATOR_USERNAME));
+
+    assertEquals(
+        List.of(SecurityServiceImpl.ADMINISTRATOR_ROLE_CODE),
+        roleCodesForUsers.get(SecurityServiceImpl.ADMINISTRATOR_USERNAME),
+        "The correct role codes were not retrieved for the user ("
+            + SecurityServiceImpl.ADMINISTRATOR_USERNAME
+            + ")");
+  }
+
   /** Test the group membership functionality. */
   @Test
   public void groupMembershipTest() throws Exception {
@@ -915,6 +1080,74 @@ public class SecurityServiceTests {
         });
   }
 
+  /** Test the upgrade of legacy password encodings when a user is authenticated. */
+  @Test
+  public void passwordEncodingUpgradeTest() throws Exception {
+    Tenant tenant = getTestTenantDetails();
+
+    Optional<UserDirectory> userDirectoryOptional = securityService.createTenant(tenant, true);
+
+    if (userDirectoryOptional.isEmpty()) {
+      fail("Failed to retrieve the new user directory for the new tenant");
+    }
+
+    UserDirectory userDirectory = userDirectoryOptional.get();
+
+    User user = getTestUserDetails(userDirectory.getId());
+
+    String password = user.getPassword();
+
+    securityService.createUser(user, false, false);
+
+    String encodedPassword = getEncodedPassword(user.getId());
+
+    assertTrue(
+        passwordHashingService.matches(password, encodedPassword),
+        "The password does not match the encoded password for the new user");
+    assertFalse(
+        passwordHashingService.upgradeEncoding(encodedPassword),
+        "The encoded password for the new user does not use the current password hashing "
+            + "algorithm and parameters");
+
+    // Replace the encoded password with an unprefixed bcrypt hash, as stored by earlier versions
+    String legacyEncodedPassword =
+        new BCryptPasswordEncoder(4, new SecureRandom()).encode(password);
+
+    try (Connection connection = dataSource.getConnection();
+        PreparedStatement statement =
+            connection.prepareStatement(
+                "UPDATE security_users SET encoded_password=? WHERE id=?")) {
+      statement.setString(1, legacyEncodedPassword);
+      statement.setObject(2, user.getId());
+
+      assertEquals(1, statement.executeUpdate(), "Failed to update the encoded password");
+    }
+
+    assertTrue(
+        passwordHashingService.upgradeEncoding(legacyEncodedPassword),
+        "The legacy encoded password was not flagged for an upgrade");
+
+    assertEquals(
+        userDirectory.getId(),
+        securityService.authenticate(user.getUsername(), password),
+        "The correct user directory ID was not returned when authenticating the user");
+
+    String upgradedEncodedPassword = getEncodedPassword(user.getId());
+
+    assertFalse(
+        legacyEncodedPassword.equals(upgradedEncodedPassword),
+        "The legacy encoded password was not upgraded when the user was authenticated");
+    assertFalse(
+        passwordHashingService.upgradeEncoding(upgradedEncodedPassword),
+        "The upgraded encoded password does not use the current password hashing algorithm and "
+            + "parameters");
+
+    assertEquals(
+        userDirectory.getId(),
+        securityService.authenticate(user.getUsername(), password),
+        "The correct user directory ID was not returned when authenticating the user");
+  }
+
   /** Test the password reset functionality. */
   @Test
   public void passwordResetTest() throws Exception {
@@ -1372,7 +1605,10 @@ public class SecurityServiceTests {
 
     Token retrievedRevokedToken = securityService.getToken(token.getId());
 
-    assertNotNull(retrievedRevokedToken.getRevocationDate());
+    assertEquals(
+        ApplicationClock.today(),
+        retrievedRevokedToken.getRevocationDate(),
+        "The revocation date was not set using the application clock");
 
     List<RevokedToken> revokedTokens = securityService.getRevokedTokens();
 
@@ -1380,6 +1616,45 @@ public class SecurityServiceTests {
 
     compareTokenToRevokedToken(retrievedRevokedToken, revokedTokens.get(0));
 
+    RevokedTokenChanges revokedTokenChanges = securityService.getRevokedTokenChanges(null);
+
+    assertTrue(
+        revokedTokenChanges.isComplete(),
+        "The complete set of revoked tokens was not retrieved when no version was specified");
+    assertEquals(
+        1,
+        revokedTokenChanges.getRevokedTokens().size(),
+        "The correct number of revoked tokens was not retrieved");
+    assertTrue(revokedTokenChanges.getVersion() > 0, "The revocation version was not retrieved");
+
+    long version = revokedTokenChanges.getVersion();
+
+    securityService.revokeToken(expiringToken.getId());
+
+    revokedTokenChanges = securityService.getRevokedTokenChanges(version);
+
+    assertFalse(
+        revokedTokenChanges.isComplete(),
+        "The changes to the revoked tokens were not retrieved when a version was specified");
+    assertTrue(
+        revokedTokenChanges.getRevokedTokens().stream()
+            .anyMatch(revokedToken -> revokedToken.getId().equals(expiringToken.getId())),
+        "The newly revoked token was not included in the changes to the revoked tokens");
+    assertTrue(
+        revokedTokenChanges.getVersion() >= version, "The revocation version did not increase");
+
+    securityService.reinstateToken(expiringToken.getId());
+
+    revokedTokenChanges = securityService.getRevokedTokenChanges(version);
+
+    assertTrue(
+        revokedTokenChanges.getReinstatedTokenIds().contains(expiringToken.getId()),
+        "The reinstated token was not included in the changes to the revoked tokens");
+    assertFalse(
+        revokedTokenChanges.getRevokedTokens().stream()
+            .anyMatch(revokedToken -> revokedToken.getId().equals(expiringToken.getId())),
+        "The reinstated token was included in the revoked tokens");
+
     securityService.deleteToken(token.getId());
 
     try {
@@ -1390,6 +1665,63 @@ public class SecurityServiceTests {
     }
   }
 
+  /** Test the user directory resolution functionality. */
+  @Test
+  public void userDirectoryResolutionTest() throws Exception {
+    Tenant tenant = getTestTenantDetails();
+
+    Optional<UserDirectory> userDirectoryOptional = securityService.createTenant(tenant, true);
+
+    if (userDirectoryOptional.isEmpty()) {
+      fail("Failed to retrieve the new user directory for the new tenant");
+    }
+
+    UserDirectory userDirectory = userDirectoryOptional.get();
+
+    User user = getTestUserDetails(userDirectory.getId());
+
+    assertTrue(
+        securityService.getUserDirectoryIdForUser(user.getUsername()).isEmpty(),
+        "Incorrectly retrieved the user directory ID for a user that does not exist");
+
+    String password = user.getPassword();
+
+    securityService.createUser(user, false, false);
+
+    assertEquals(
+        Optional.of(userDirectory.getId()),
+        securityService.getUserDirectoryIdForUser(user.getUsername()),
+        "The correct user directory ID was not retrieved for the new user");
+
+    assertEquals(
+        Optional.of(userDirectory.getId()),
+        securityService.getUserDirectoryIdForUser(user.getUsername().toUpperCase()),
+        "The correct user directory ID was not retrieved for the new user");
+
+    Cache userDirectoryResolutionsCache = cacheManager.getCache("userDirectoryResolutions");
+
+    assertNotNull(
+        userDirectoryResolutionsCache, "The user directory resolutions cache was not found");
+    assertNotNull(
+        userDirectoryResolutionsCache.get(user.getUsername().toLowerCase()),
+        "The user directory resolution was not cached using the cache manager");
+
+    assertEquals(
+        userDirectory.getId(),
+        securityService.authenticate(user.getUsername(), password),
+        "The correct user directory ID was not returned when authenticating the user");
+
+    securityService.deleteUser(userDirectory.getId(), user.getUsername());
+
+    assertNull(
+        userDirectoryResolutionsCache.get(user.getUsername().toLowerCase()),
+        "The cached user directory resolution was not evicted for the deleted user");
+
+    assertTrue(
+        securityService.getUserDirectoryIdForUser(user.getUsername()).isEmpty(),
+        "Incorrectly retrieved the user directory ID for a deleted user");
+  }
+
   /** Test the user directory tenant mapping functionality. */
   @Test
   public void userDirectoryTenantMappingTest() throws Exception {
@@ -2015,6 +2347,22 @@ public class SecurityServiceTests {
     }
   }
 
+  private String getEncodedPassword(UUID userId) throws Exception {
+    try (Connection connection = dataSource.getConnection();
+        PreparedStatement statement =
+            connection.prepareStatement("SELECT encoded_password FROM security_users WHERE id=?")) {
+      statement.setObject(1, userId);
+
+      try (ResultSet rs = statement.executeQuery()) {
+        if (rs.next()) {
+          return rs.getString(1);
+        } else {
+          throw new RuntimeException("Failed to retrieve the encoded password for the user");
+        }
+      }
+    }
+  }
+
   private GenerateTokenRequest getGenerateExpiringTokenRequest() {
     List<TokenClaim> tokenClaims = new ArrayList<>();
 